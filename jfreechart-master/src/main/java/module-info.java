@@ -3,6 +3,9 @@
  */
 module org.jfree.chart {
     requires java.desktop;
+    requires static java.management;
+    requires static jdk.jfr;
+    requires static jdk.management;
     exports org.jfree.chart;
     exports org.jfree.chart.annotations;
     exports org.jfree.chart.api;
@@ -138,7 +138,7 @@ import org.jfree.data.xy.XYZDataset;
 public abstract class ChartFactory {
 
     /** The chart theme. */
-    private static ChartTheme currentTheme = new StandardChartTheme("JFree");
+    private static volatile ChartTheme currentTheme = new StandardChartTheme("JFree");
 
     /**
      * Returns the current chart theme used by the factory.
@@ -36,7 +36,11 @@
 
 package org.jfree.chart;
 
+import java.awt.Graphics2D;
 import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import org.jfree.chart.event.ChartDrawMetrics;
 
 /**
  * Special rendering hints that can be used internally by JFreeChart or by
@@ -62,6 +66,42 @@ public final class ChartHints {
      * The key for a hint that ends an element.
      */
     public static final Key KEY_END_ELEMENT = new ChartHints.Key(1);
+
+    /**
+     * The key for a hint that carries the {@link ChartDrawMetrics} recorder
+     * for the chart being drawn (the value is {@code null} when the drawing
+     * is not being recorded).
+     *
+     * @since 2.0
+     */
+    public static final Key KEY_DRAW_METRICS = new ChartHints.Key(2);
+
+    /**
+     * The key for a hint that carries a {@link BooleanSupplier} that
+     * returns {@code true} when the drawing is no longer required (for
+     * example, because a newer frame has been requested).  Plots check it
+     * while they draw the data items and stop drawing, leaving the output
+     * incomplete, once it returns {@code true}.
+     *
+     * @since 2.0
+     */
+    public static final Key KEY_DRAW_CANCELLED = new ChartHints.Key(3);
+
+    /**
+     * Returns {@code true} if the {@link #KEY_DRAW_CANCELLED} hint for the
+     * specified target indicates that the drawing is no longer required.
+     *
+     * @param g2  the graphics target ({@code null} not permitted).
+     *
+     * @return A boolean.
+     *
+     * @since 2.0
+     */
+    public static boolean isDrawCancelled(Graphics2D g2) {
+        Object hint = g2.getRenderingHint(KEY_DRAW_CANCELLED);
+        return hint instanceof BooleanSupplier
+                && ((BooleanSupplier) hint).getAsBoolean();
+    }
     
     /**
      * A key for rendering hints that can be used with JFreeChart (in 
@@ -94,6 +134,10 @@ public final class ChartHints {
                             || val instanceof Map;
                 case 1:
                     return val == null || val instanceof Object;
+                case 2:
+                    return val == null || val instanceof ChartDrawMetrics;
+                case 3:
+                    return val == null || val instanceof BooleanSupplier;
                 default:
                     throw new RuntimeException("Not possible!");
             }
@@ -81,6 +81,8 @@ import org.jfree.chart.entity.EntityCollection;
 import org.jfree.chart.entity.JFreeChartEntity;
 import org.jfree.chart.event.ChartChangeEvent;
 import org.jfree.chart.event.ChartChangeListener;
+import org.jfree.chart.event.ChartDrawMetrics;
+import org.jfree.chart.event.ChartDrawMetricsListener;
 import org.jfree.chart.event.ChartProgressEvent;
 import org.jfree.chart.event.ChartProgressEventType;
 import org.jfree.chart.event.ChartProgressListener;
@@ -213,6 +215,9 @@ public class JFreeChart implements Drawable, TitleChangeListener,
     /** Storage for registered progress listeners. */
     private transient EventListenerList progressListeners;
 
+    /** Storage for registered draw metrics listeners. */
+    private transient EventListenerList drawMetricsListeners;
+
     /**
      * A flag that can be used to enable/disable notification of chart change
      * events.
@@ -285,6 +290,7 @@ public class JFreeChart implements Drawable, TitleChangeListener,
         // create storage for listeners...
         this.progressListeners = new EventListenerList();
         this.changeListeners = new EventListenerList();
+        this.drawMetricsListeners = new EventListenerList();
         this.notify = true;  // default is to notify listeners when the
                              // chart changes
 
@@ -1025,7 +1031,54 @@ public class JFreeChart implements Drawable, TitleChangeListener,
 
         notifyListeners(new ChartProgressEvent(this, this,
                 ChartProgressEventType.DRAWING_STARTED, 0));
-        
+
+        ChartDrawMetrics metrics = ChartDrawMetrics.start(this,
+                this.drawMetricsListeners.getListenerCount() > 0);
+        if (metrics == null) {
+            drawChart(g2, chartArea, anchor, info, null);
+        } else {
+            // the renderers find the recorder through the graphics device
+            // and the entity collection, which also counts the entities
+            Object savedMetrics = g2.getRenderingHint(
+                    ChartHints.KEY_DRAW_METRICS);
+            EntityCollection savedEntities = info != null
+                    ? info.getEntityCollection() : null;
+            g2.setRenderingHint(ChartHints.KEY_DRAW_METRICS, metrics);
+            if (savedEntities != null) {
+                info.setEntityCollection(metrics.meter(savedEntities));
+            }
+            try {
+                drawChart(g2, chartArea, anchor, info, metrics);
+            } finally {
+                if (savedEntities != null) {
+                    info.setEntityCollection(savedEntities);
+                }
+                g2.setRenderingHint(ChartHints.KEY_DRAW_METRICS,
+                        savedMetrics);
+                metrics.finish();
+            }
+            notifyListeners(metrics);
+        }
+
+        notifyListeners(new ChartProgressEvent(this, this,
+                ChartProgressEventType.DRAWING_FINISHED, 100));
+    }
+
+    /**
+     * Draws the chart (this is the body of the
+     * {@link #draw(Graphics2D, Rectangle2D, Point2D, ChartRenderingInfo)}
+     * method).
+     *
+     * @param g2  the graphics device.
+     * @param chartArea  the area within which the chart should be drawn.
+     * @param anchor  the anchor point ({@code null} permitted).
+     * @param info  records info about the drawing ({@code null} permitted).
+     * @param metrics  the draw metrics recorder ({@code null} permitted).
+     */
+    private void drawChart(Graphics2D g2, Rectangle2D chartArea,
+            Point2D anchor, ChartRenderingInfo info,
+            ChartDrawMetrics metrics) {
+
         if (this.elementHinting) {
             Map<String, String> m = new HashMap<>();
             if (this.id != null) {
@@ -1052,6 +1105,10 @@ public class JFreeChart implements Drawable, TitleChangeListener,
         g2.clip(chartArea);
 
         g2.addRenderingHints(this.renderingHints);
+        if (metrics != null) {
+            // restore the recorder, in case the chart's hints replaced it
+            g2.setRenderingHint(ChartHints.KEY_DRAW_METRICS, metrics);
+        }
 
         // draw the chart background...
         if (this.backgroundPaint != null) {
@@ -1093,20 +1150,30 @@ public class JFreeChart implements Drawable, TitleChangeListener,
         this.padding.trim(nonTitleArea);
 
         if (this.title != null && this.title.isVisible()) {
+            long start = System.nanoTime();
             EntityCollection e = drawTitle(this.title, g2, nonTitleArea,
                     (entities != null));
             if (e != null && entities != null) {
                 entities.addAll(e);
             }
+            if (metrics != null) {
+                metrics.recordPhase(ChartDrawMetrics.Phase.TITLES, start);
+            }
         }
 
         for (Title currentTitle : this.subtitles) {
             if (currentTitle.isVisible()) {
+                long start = System.nanoTime();
                 EntityCollection e = drawTitle(currentTitle, g2, nonTitleArea,
                         (entities != null));
                 if (e != null && entities != null) {
                     entities.addAll(e);
                 }
+                if (metrics != null) {
+                    metrics.recordPhase(currentTitle instanceof LegendTitle
+                            ? ChartDrawMetrics.Phase.LEGEND
+                            : ChartDrawMetrics.Phase.TITLES, start);
+                }
             }
         }
 
@@ -1122,9 +1189,6 @@ public class JFreeChart implements Drawable, TitleChangeListener,
         if (this.elementHinting) {         
             g2.setRenderingHint(ChartHints.KEY_END_ELEMENT, Boolean.TRUE);            
         }
-
-        notifyListeners(new ChartProgressEvent(this, this,
-                ChartProgressEventType.DRAWING_FINISHED, 100));
     }
 
     /**
@@ -1449,6 +1513,55 @@ public class JFreeChart implements Drawable, TitleChangeListener,
         }
     }
 
+    /**
+     * Registers an object to receive the {@link ChartDrawMetrics} recorded
+     * each time the chart is drawn.  Recording only takes place while at
+     * least one listener is registered (or while the
+     * {@link org.jfree.chart.event.ChartDrawEvent} is enabled in a flight
+     * recording).
+     *
+     * @param listener  the listener ({@code null} not permitted).
+     *
+     * @see #removeDrawMetricsListener(ChartDrawMetricsListener)
+     *
+     * @since 2.0
+     */
+    public void addDrawMetricsListener(ChartDrawMetricsListener listener) {
+        Args.nullNotPermitted(listener, "listener");
+        this.drawMetricsListeners.add(ChartDrawMetricsListener.class,
+                listener);
+    }
+
+    /**
+     * Deregisters a draw metrics listener.
+     *
+     * @param listener  the listener.
+     *
+     * @see #addDrawMetricsListener(ChartDrawMetricsListener)
+     *
+     * @since 2.0
+     */
+    public void removeDrawMetricsListener(ChartDrawMetricsListener listener) {
+        this.drawMetricsListeners.remove(ChartDrawMetricsListener.class,
+                listener);
+    }
+
+    /**
+     * Sends the metrics for a completed drawing to all registered draw
+     * metrics listeners.
+     *
+     * @param metrics  the metrics.
+     */
+    private void notifyListeners(ChartDrawMetrics metrics) {
+        Object[] listeners = this.drawMetricsListeners.getListenerList();
+        for (int i = listeners.length - 2; i >= 0; i -= 2) {
+            if (listeners[i] == ChartDrawMetricsListener.class) {
+                ((ChartDrawMetricsListener) listeners[i + 1]).chartDrawn(
+                        metrics);
+            }
+        }
+    }
+
     /**
      * Receives notification that a chart title has changed, and passes this
      * on to registered listeners.
@@ -1582,6 +1695,7 @@ public class JFreeChart implements Drawable, TitleChangeListener,
         this.backgroundPaint = SerialUtils.readPaint(stream);
         this.progressListeners = new EventListenerList();
         this.changeListeners = new EventListenerList();
+        this.drawMetricsListeners = new EventListenerList();
         this.renderingHints = new RenderingHints(
                 RenderingHints.KEY_ANTIALIASING,
                 RenderingHints.VALUE_ANTIALIAS_ON);
@@ -1635,6 +1749,7 @@ public class JFreeChart implements Drawable, TitleChangeListener,
 
         chart.progressListeners = new EventListenerList();
         chart.changeListeners = new EventListenerList();
+        chart.drawMetricsListeners = new EventListenerList();
         return chart;
     }
 
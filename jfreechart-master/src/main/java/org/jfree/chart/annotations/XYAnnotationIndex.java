@@ -0,0 +1,106 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------
+ * XYAnnotationIndex.java
+ * ----------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.annotations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.internal.IntervalIndex;
+import org.jfree.data.Range;
+
+/**
+ * An index of {@link XYAnnotation} instances that is used by plots and
+ * renderers to skip the annotations that lie entirely outside the current
+ * axis ranges.  Annotations that implement {@link XYAnnotationBoundsInfo}
+ * are indexed by their x-range and then tested against their y-range, while
+ * all other annotations are always returned (their extent is not known).
+ * The index is not updated when the annotations change, so the owner should
+ * discard it and create a new one after any change.
+ */
+public class XYAnnotationIndex {
+
+    /** The annotations indexed by x-range. */
+    private final IntervalIndex<XYAnnotation> index;
+
+    /**
+     * Creates a new index for the specified annotations.
+     *
+     * @param annotations  the annotations ({@code null} not permitted).
+     */
+    public XYAnnotationIndex(List<? extends XYAnnotation> annotations) {
+        this.index = new IntervalIndex<>(annotations, a -> {
+            if (a instanceof XYAnnotationBoundsInfo) {
+                return ((XYAnnotationBoundsInfo) a).getXRange();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Returns the annotations that may be visible within the current ranges
+     * of the specified axes, in the order they were supplied.  If either
+     * axis is {@code null}, all the annotations are returned.
+     *
+     * @param xAxis  the x-axis ({@code null} permitted).
+     * @param yAxis  the y-axis ({@code null} permitted).
+     *
+     * @return The annotations (possibly empty, never {@code null}).
+     */
+    public List<XYAnnotation> getVisibleAnnotations(ValueAxis xAxis,
+            ValueAxis yAxis) {
+        if (xAxis == null || yAxis == null) {
+            return this.index.query(new Range(Double.NEGATIVE_INFINITY,
+                    Double.POSITIVE_INFINITY));
+        }
+        List<XYAnnotation> candidates = this.index.query(xAxis.getRange());
+        Range yRange = yAxis.getRange();
+        List<XYAnnotation> result = new ArrayList<>(candidates.size());
+        for (XYAnnotation a : candidates) {
+            if (a instanceof XYAnnotationBoundsInfo) {
+                Range r = ((XYAnnotationBoundsInfo) a).getYRange();
+                if (r != null && (r.getUpperBound() < yRange.getLowerBound()
+                        || r.getLowerBound() > yRange.getUpperBound())) {
+                    continue;
+                }
+            }
+            result.add(a);
+        }
+        return result;
+    }
+
+}
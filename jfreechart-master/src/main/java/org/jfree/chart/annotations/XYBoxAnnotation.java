@@ -58,13 +58,15 @@ import org.jfree.chart.internal.PaintUtils;
 import org.jfree.chart.api.PublicCloneable;
 import org.jfree.chart.internal.Args;
 import org.jfree.chart.internal.SerialUtils;
+import org.jfree.data.Range;
 
 /**
  * A box annotation that can be placed on an {@link XYPlot}.  The
  * box coordinates are specified in data space.
  */
 public class XYBoxAnnotation extends AbstractXYAnnotation
-        implements Cloneable, PublicCloneable, Serializable {
+        implements Cloneable, PublicCloneable, XYAnnotationBoundsInfo,
+        Serializable {
 
     /** For serialization. */
     private static final long serialVersionUID = 6764703772526757457L;
@@ -214,6 +216,40 @@ public class XYBoxAnnotation extends AbstractXYAnnotation
         return fillPaint;
     }
 
+    /**
+     * Returns {@code false}, so that the box is not taken into account
+     * for the auto-range calculations on the axes.  The bounds are used only
+     * to skip drawing the annotation when it lies outside the axis ranges.
+     *
+     * @return {@code false}.
+     */
+    @Override
+    public boolean getIncludeInDataBounds() {
+        return false;
+    }
+
+    /**
+     * Returns the x-range for the annotation.
+     *
+     * @return The range.
+     */
+    @Override
+    public Range getXRange() {
+        return new Range(Math.min(this.x0, this.x1),
+                Math.max(this.x0, this.x1));
+    }
+
+    /**
+     * Returns the y-range for the annotation.
+     *
+     * @return The range.
+     */
+    @Override
+    public Range getYRange() {
+        return new Range(Math.min(this.y0, this.y1),
+                Math.max(this.y0, this.y1));
+    }
+
     /**
      * Draws the annotation.  This method is usually called by the
      * {@link XYPlot} class, you shouldn't need to call it directly.
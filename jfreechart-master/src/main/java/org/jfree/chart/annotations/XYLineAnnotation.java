@@ -61,13 +61,15 @@ import org.jfree.chart.internal.Args;
 import org.jfree.chart.api.PublicCloneable;
 import org.jfree.chart.internal.SerialUtils;
 import org.jfree.chart.internal.ShapeUtils;
+import org.jfree.data.Range;
 
 /**
  * A simple line annotation that can be placed on an {@link XYPlot}.
  * Instances of this class are immutable.
  */
 public class XYLineAnnotation extends AbstractXYAnnotation
-        implements Cloneable, PublicCloneable, Serializable {
+        implements Cloneable, PublicCloneable, XYAnnotationBoundsInfo,
+        Serializable {
 
     /** For serialization. */
     private static final long serialVersionUID = -80535465244091334L;
@@ -191,6 +193,40 @@ public class XYLineAnnotation extends AbstractXYAnnotation
         return paint;
     }
 
+    /**
+     * Returns {@code false}, so that the line is not taken into account
+     * for the auto-range calculations on the axes.  The bounds are used only
+     * to skip drawing the annotation when it lies outside the axis ranges.
+     *
+     * @return {@code false}.
+     */
+    @Override
+    public boolean getIncludeInDataBounds() {
+        return false;
+    }
+
+    /**
+     * Returns the x-range for the annotation.
+     *
+     * @return The range.
+     */
+    @Override
+    public Range getXRange() {
+        return new Range(Math.min(this.x1, this.x2),
+                Math.max(this.x1, this.x2));
+    }
+
+    /**
+     * Returns the y-range for the annotation.
+     *
+     * @return The range.
+     */
+    @Override
+    public Range getYRange() {
+        return new Range(Math.min(this.y1, this.y2),
+                Math.max(this.y1, this.y2));
+    }
+
     /**
      * Draws the annotation.  This method is called by the {@link XYPlot}
      * class, you won't normally need to call it yourself.
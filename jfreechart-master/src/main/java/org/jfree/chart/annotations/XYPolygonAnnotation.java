@@ -61,13 +61,15 @@ import org.jfree.chart.internal.PaintUtils;
 import org.jfree.chart.internal.Args;
 import org.jfree.chart.api.PublicCloneable;
 import org.jfree.chart.internal.SerialUtils;
+import org.jfree.data.Range;
 
 /**
  * A polygon annotation that can be placed on an {@link XYPlot}.  The
  * polygon coordinates are specified in data space.
  */
 public class XYPolygonAnnotation extends AbstractXYAnnotation
-        implements Cloneable, PublicCloneable, Serializable {
+        implements Cloneable, PublicCloneable, XYAnnotationBoundsInfo,
+        Serializable {
 
     /** For serialization. */
     private static final long serialVersionUID = -6984203651995900036L;
@@ -179,6 +181,59 @@ public class XYPolygonAnnotation extends AbstractXYAnnotation
         return this.outlinePaint;
     }
 
+    /**
+     * Returns {@code false}, so that the polygon is not taken into account
+     * for the auto-range calculations on the axes.  The bounds are used only
+     * to skip drawing the annotation when it lies outside the axis ranges.
+     *
+     * @return {@code false}.
+     */
+    @Override
+    public boolean getIncludeInDataBounds() {
+        return false;
+    }
+
+    /**
+     * Returns the x-range for the annotation.
+     *
+     * @return The range ({@code null} if the polygon has no points).
+     */
+    @Override
+    public Range getXRange() {
+        return coordinateRange(0);
+    }
+
+    /**
+     * Returns the y-range for the annotation.
+     *
+     * @return The range ({@code null} if the polygon has no points).
+     */
+    @Override
+    public Range getYRange() {
+        return coordinateRange(1);
+    }
+
+    /**
+     * Returns the range of the x-coordinates (if {@code offset} is 0) or
+     * y-coordinates (if {@code offset} is 1) of the polygon.
+     *
+     * @param offset  the offset of the first coordinate.
+     *
+     * @return The range ({@code null} if the polygon has no points).
+     */
+    private Range coordinateRange(int offset) {
+        if (this.polygon.length == 0) {
+            return null;
+        }
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = offset; i < this.polygon.length; i += 2) {
+            min = Math.min(min, this.polygon[i]);
+            max = Math.max(max, this.polygon[i]);
+        }
+        return new Range(min, max);
+    }
+
     /**
      * Draws the annotation.  This method is usually called by the
      * {@link XYPlot} class, you shouldn't need to call it directly.
@@ -62,13 +62,15 @@ import org.jfree.chart.internal.PaintUtils;
 import org.jfree.chart.internal.Args;
 import org.jfree.chart.api.PublicCloneable;
 import org.jfree.chart.internal.SerialUtils;
+import org.jfree.data.Range;
 
 /**
  * A simple {@code Shape} annotation that can be placed on an
  * {@link XYPlot}.  The shape coordinates are specified in data space.
  */
 public class XYShapeAnnotation extends AbstractXYAnnotation
-        implements Cloneable, PublicCloneable, Serializable {
+        implements Cloneable, PublicCloneable, XYAnnotationBoundsInfo,
+        Serializable {
 
     /** For serialization. */
     private static final long serialVersionUID = -8553218317600684041L;
@@ -127,6 +129,42 @@ public class XYShapeAnnotation extends AbstractXYAnnotation
         this.fillPaint = fillPaint;
     }
 
+    /**
+     * Returns {@code false}, so that the shape is not taken into account
+     * for the auto-range calculations on the axes.  The bounds are used only
+     * to skip drawing the annotation when it lies outside the axis ranges.
+     *
+     * @return {@code false}.
+     */
+    @Override
+    public boolean getIncludeInDataBounds() {
+        return false;
+    }
+
+    /**
+     * Returns the x-range for the annotation (the horizontal extent of the
+     * shape's bounds, in data space).
+     *
+     * @return The range.
+     */
+    @Override
+    public Range getXRange() {
+        Rectangle2D bounds = this.shape.getBounds2D();
+        return new Range(bounds.getMinX(), bounds.getMaxX());
+    }
+
+    /**
+     * Returns the y-range for the annotation (the vertical extent of the
+     * shape's bounds, in data space).
+     *
+     * @return The range.
+     */
+    @Override
+    public Range getYRange() {
+        Rectangle2D bounds = this.shape.getBounds2D();
+        return new Range(bounds.getMinY(), bounds.getMaxY());
+    }
+
     /**
      * Draws the annotation.  This method is usually called by the
      * {@link XYPlot} class, you shouldn't need to call it directly.
@@ -136,7 +136,10 @@ public class NumberAxis extends ValueAxis implements Cloneable, Serializable {
         this.rangeType = RangeType.FULL;
         this.autoRangeIncludesZero = DEFAULT_AUTO_RANGE_INCLUDES_ZERO;
         this.autoRangeStickyZero = DEFAULT_AUTO_RANGE_STICKY_ZERO;
-        this.tickUnit = DEFAULT_TICK_UNIT;
+        // a tick unit of our own: the formatter in DEFAULT_TICK_UNIT would
+        // be shared by every axis, and formatters are not thread-safe
+        this.tickUnit = new NumberTickUnit(DEFAULT_TICK_UNIT.getSize(),
+                new DecimalFormat("0"));
         this.numberFormatOverride = null;
         this.markerBand = null;
     }
@@ -45,8 +45,8 @@
 
 package org.jfree.chart.encoders;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Factory class for returning {@link ImageEncoder}s for different
@@ -54,8 +54,12 @@ import java.util.Map;
  */
 public class ImageEncoderFactory {
 
-    /** Storage for the encoders. */
-    private static Map<String, String> encoders = null;
+    /**
+     * Storage for the encoders (a concurrent map, since charts may be
+     * encoded on several threads).
+     */
+    private static final Map<String, String> encoders
+            = new ConcurrentHashMap<>();
 
     static {
         init();
@@ -66,7 +70,6 @@ public class ImageEncoderFactory {
      * SunPNGEncoderAdapter class is available).
      */
     private static void init() {
-        encoders = new HashMap<>();
         encoders.put("jpeg", "org.jfree.chart.encoders.SunJPEGEncoderAdapter");
         encoders.put("png", "org.jfree.chart.encoders.SunPNGEncoderAdapter");
     }
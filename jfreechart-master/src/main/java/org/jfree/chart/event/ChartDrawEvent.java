@@ -0,0 +1,129 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------
+ * ChartDrawEvent.java
+ * -------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * A JDK Flight Recorder event that is committed each time a chart is drawn
+ * while the event is enabled in a recording.  The fields are copied from
+ * the {@link ChartDrawMetrics} for the drawing, and the event duration is
+ * the total drawing time.
+ * <p>
+ * The {@code jdk.jfr} module is optional for this library:  when it is not
+ * available this class is never loaded and no events are recorded.  On the
+ * module path, add it with {@code --add-modules jdk.jfr} if nothing else
+ * requires it.
+ *
+ * @since 2.0
+ */
+@Name("org.jfree.chart.ChartDraw")
+@Label("Chart Draw")
+@Category("JFreeChart")
+@Description("The drawing of a chart, broken down by phase")
+public final class ChartDrawEvent extends Event {
+
+    /** The chart id. */
+    @Label("Chart ID")
+    String chartId;
+
+    /** The time spent on the title and subtitles. */
+    @Label("Titles Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long titlesTime;
+
+    /** The time spent on the legend(s). */
+    @Label("Legend Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long legendTime;
+
+    /** The time spent reserving space for the axes. */
+    @Label("Axis Layout Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long axisLayoutTime;
+
+    /** The time spent drawing the axes. */
+    @Label("Axes Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long axesTime;
+
+    /** The time spent in the dataset rendering passes. */
+    @Label("Rendering Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long renderingTime;
+
+    /** The time spent drawing annotations. */
+    @Label("Annotations Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long annotationsTime;
+
+    /** The time spent creating item entities. */
+    @Label("Entities Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long entitiesTime;
+
+    /** The number of items passed to the renderers. */
+    @Label("Items Drawn")
+    long itemsDrawn;
+
+    /** The number of items skipped outside the axis range. */
+    @Label("Items Skipped")
+    long itemsSkipped;
+
+    /** The number of entities collected. */
+    @Label("Entities")
+    long entityCount;
+
+    /** The bytes allocated by the drawing thread (-1 if not available). */
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+
+    /**
+     * Creates a new event.
+     */
+    ChartDrawEvent() {
+        // fields are set by ChartDrawMetrics
+    }
+
+}
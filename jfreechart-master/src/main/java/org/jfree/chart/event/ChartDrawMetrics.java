@@ -0,0 +1,557 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------
+ * ChartDrawMetrics.java
+ * ---------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.event;
+
+import java.awt.Graphics2D;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jfree.chart.ChartHints;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.entity.ChartEntity;
+import org.jfree.chart.entity.EntityCollection;
+import org.jfree.chart.internal.Args;
+import org.jfree.chart.plot.Plot;
+
+/**
+ * Records where the time goes while a chart is drawn.  An instance is
+ * created by {@link JFreeChart#draw(Graphics2D, java.awt.geom.Rectangle2D,
+ * java.awt.geom.Point2D, org.jfree.chart.ChartRenderingInfo)} only when a
+ * {@link ChartDrawMetricsListener} is registered with the chart or the
+ * {@link ChartDrawEvent} is enabled in a flight recording, so drawing is not
+ * slowed down otherwise.  The flight recorder event and the allocation
+ * counter are optional:  they are used only when the {@code jdk.jfr} and
+ * {@code jdk.management} modules are present at runtime.  The recorder
+ * travels with the graphics device as the
+ * {@link ChartHints#KEY_DRAW_METRICS} rendering hint, and plots and
+ * renderers look it up with {@link #of(Graphics2D)}.
+ * <p>
+ * The phase times are wall-clock times and may overlap:  the time spent
+ * creating item entities, for example, is also part of the rendering time.
+ * Subplots of a combined plot can be drawn on several threads at once, so
+ * all the recording methods are thread-safe.
+ *
+ * @since 2.0
+ */
+public final class ChartDrawMetrics {
+
+    /**
+     * The phases of drawing a chart that are timed.
+     */
+    public enum Phase {
+
+        /** Layout and drawing of the chart title and the subtitles. */
+        TITLES,
+
+        /** Layout and drawing of the legend(s). */
+        LEGEND,
+
+        /** Reserving space for the axes (including tick refreshes). */
+        AXIS_LAYOUT,
+
+        /** Drawing the axes (including tick refreshes). */
+        AXES,
+
+        /** The dataset rendering passes. */
+        RENDERING,
+
+        /** Drawing the plot and renderer annotations. */
+        ANNOTATIONS,
+
+        /** Creating the item entities (tooltips and URLs included). */
+        ENTITIES
+
+    }
+
+    /**
+     * The record of one rendering pass over one dataset.
+     */
+    public static final class RenderPass {
+
+        /** The plot. */
+        private final Plot plot;
+
+        /** The dataset index. */
+        private final int datasetIndex;
+
+        /** The pass index. */
+        private final int pass;
+
+        /** The time taken (in nanoseconds). */
+        private final long nanos;
+
+        /** The number of items passed to the renderer. */
+        private final long itemsDrawn;
+
+        /** The number of items that were skipped (outside the axis range). */
+        private final long itemsSkipped;
+
+        private RenderPass(Plot plot, int datasetIndex, int pass, long nanos,
+                long itemsDrawn, long itemsSkipped) {
+            this.plot = plot;
+            this.datasetIndex = datasetIndex;
+            this.pass = pass;
+            this.nanos = nanos;
+            this.itemsDrawn = itemsDrawn;
+            this.itemsSkipped = itemsSkipped;
+        }
+
+        /**
+         * Returns the plot that rendered the dataset.
+         *
+         * @return The plot (never {@code null}).
+         */
+        public Plot getPlot() {
+            return this.plot;
+        }
+
+        /**
+         * Returns the index of the dataset within the plot.
+         *
+         * @return The dataset index.
+         */
+        public int getDatasetIndex() {
+            return this.datasetIndex;
+        }
+
+        /**
+         * Returns the pass index (renderers can make several passes).
+         *
+         * @return The pass index.
+         */
+        public int getPass() {
+            return this.pass;
+        }
+
+        /**
+         * Returns the time taken by the pass, in nanoseconds.
+         *
+         * @return The time taken.
+         */
+        public long getNanos() {
+            return this.nanos;
+        }
+
+        /**
+         * Returns the number of items that were passed to the renderer.
+         *
+         * @return The item count.
+         */
+        public long getItemsDrawn() {
+            return this.itemsDrawn;
+        }
+
+        /**
+         * Returns the number of items that were skipped because they lie
+         * outside the visible range of the domain axis.
+         *
+         * @return The item count.
+         */
+        public long getItemsSkipped() {
+            return this.itemsSkipped;
+        }
+
+    }
+
+    /** Can the {@code jdk.jfr} module be used? */
+    private static final boolean FLIGHT_RECORDER = isReadable("jdk.jfr");
+
+    /** Can the modules for the thread allocation counter be used? */
+    private static final boolean ALLOCATION_COUNTER
+            = isReadable("java.management") && isReadable("jdk.management");
+
+    /** The chart being drawn. */
+    private final JFreeChart chart;
+
+    /**
+     * The flight recorder event (a {@link ChartDrawEvent}, typed as an
+     * object so that this class does not depend on {@code jdk.jfr}), or
+     * {@code null}.
+     */
+    private final Object event;
+
+    /** The time spent in each phase (in nanoseconds). */
+    private final AtomicLongArray phaseNanos;
+
+    /** The rendering passes. */
+    private final Queue<RenderPass> passes;
+
+    /** The number of items passed to the renderers. */
+    private final LongAdder itemsDrawn;
+
+    /** The number of items skipped by the plots. */
+    private final LongAdder itemsSkipped;
+
+    /** The number of entities added to the entity collection(s). */
+    private final LongAdder entityCount;
+
+    /** The value of {@code System.nanoTime()} when drawing started. */
+    private long startNanos;
+
+    /** The total drawing time (in nanoseconds). */
+    private long totalNanos;
+
+    /** The allocation counter for the drawing thread when drawing started. */
+    private long startAllocatedBytes;
+
+    /** The bytes allocated by the drawing thread (-1 if not available). */
+    private long allocatedBytes;
+
+    /**
+     * Creates a new recorder.
+     *
+     * @param chart  the chart ({@code null} not permitted).
+     * @param event  the flight recorder event ({@code null} permitted).
+     */
+    private ChartDrawMetrics(JFreeChart chart, Object event) {
+        this.chart = chart;
+        this.event = event;
+        this.phaseNanos = new AtomicLongArray(Phase.values().length);
+        this.passes = new ConcurrentLinkedQueue<>();
+        this.itemsDrawn = new LongAdder();
+        this.itemsSkipped = new LongAdder();
+        this.entityCount = new LongAdder();
+        this.allocatedBytes = -1L;
+    }
+
+    /**
+     * Starts recording the drawing of a chart, if anyone is interested.
+     * This is called by the chart at the start of drawing.
+     *
+     * @param chart  the chart ({@code null} not permitted).
+     * @param listening  a flag that indicates whether the chart has any
+     *     {@link ChartDrawMetricsListener} registered.
+     *
+     * @return A new recorder, or {@code null} if there are no listeners and
+     *     the flight recorder event is not enabled.
+     */
+    public static ChartDrawMetrics start(JFreeChart chart, boolean listening) {
+        Args.nullNotPermitted(chart, "chart");
+        Object event = FLIGHT_RECORDER
+                ? FlightRecording.begin() : null;
+        if (!listening && event == null) {
+            return null;
+        }
+        ChartDrawMetrics metrics = new ChartDrawMetrics(chart, event);
+        metrics.startAllocatedBytes = threadAllocatedBytes();
+        metrics.startNanos = System.nanoTime();
+        return metrics;
+    }
+
+    /**
+     * Stops recording and commits the flight recorder event (if it is
+     * enabled).  This is called by the chart at the end of drawing, on the
+     * same thread that called {@link #start(JFreeChart, boolean)}.
+     */
+    public void finish() {
+        this.totalNanos = System.nanoTime() - this.startNanos;
+        if (this.startAllocatedBytes >= 0) {
+            long bytes = threadAllocatedBytes();
+            if (bytes >= 0) {
+                this.allocatedBytes = bytes - this.startAllocatedBytes;
+            }
+        }
+        if (this.event != null) {
+            FlightRecording.commit(this.event, this);
+        }
+    }
+
+    /**
+     * Returns the recorder that is attached to a graphics device.
+     *
+     * @param g2  the graphics device ({@code null} not permitted).
+     *
+     * @return The recorder, or {@code null} if the drawing is not being
+     *     recorded.
+     */
+    public static ChartDrawMetrics of(Graphics2D g2) {
+        Object hint = g2.getRenderingHint(ChartHints.KEY_DRAW_METRICS);
+        return hint instanceof ChartDrawMetrics ? (ChartDrawMetrics) hint
+                : null;
+    }
+
+    /**
+     * Returns the recorder that is attached to an entity collection by
+     * {@link #meter(EntityCollection)}.
+     *
+     * @param entities  the entity collection ({@code null} permitted).
+     *
+     * @return The recorder, or {@code null} if the drawing is not being
+     *     recorded.
+     */
+    public static ChartDrawMetrics of(EntityCollection entities) {
+        if (entities instanceof MeteredEntityCollection) {
+            return ((MeteredEntityCollection) entities).metrics;
+        }
+        return null;
+    }
+
+    /**
+     * Returns an entity collection that adds to {@code entities} and counts
+     * the entities added.  Renderers can find this recorder again from the
+     * returned collection with {@link #of(EntityCollection)}, which is how
+     * the entity creation time is recorded.
+     *
+     * @param entities  the entity collection ({@code null} not permitted).
+     *
+     * @return The metered collection.
+     */
+    public EntityCollection meter(EntityCollection entities) {
+        Args.nullNotPermitted(entities, "entities");
+        if (of(entities) == this) {
+            return entities;
+        }
+        return new MeteredEntityCollection(entities, this);
+    }
+
+    /**
+     * Adds the time elapsed since {@code startNanos} to a phase.
+     *
+     * @param phase  the phase ({@code null} not permitted).
+     * @param startNanos  the value of {@code System.nanoTime()} when the
+     *     phase started.
+     */
+    public void recordPhase(Phase phase, long startNanos) {
+        this.phaseNanos.addAndGet(phase.ordinal(),
+                System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Records one rendering pass over a dataset.
+     *
+     * @param plot  the plot ({@code null} not permitted).
+     * @param datasetIndex  the dataset index.
+     * @param pass  the pass index.
+     * @param startNanos  the value of {@code System.nanoTime()} when the
+     *     pass started.
+     * @param drawn  the number of items passed to the renderer.
+     * @param skipped  the number of items skipped.
+     */
+    public void recordPass(Plot plot, int datasetIndex, int pass,
+            long startNanos, long drawn, long skipped) {
+        long nanos = System.nanoTime() - startNanos;
+        this.passes.add(new RenderPass(plot, datasetIndex, pass, nanos, drawn,
+                skipped));
+        this.itemsDrawn.add(drawn);
+        this.itemsSkipped.add(skipped);
+    }
+
+    /**
+     * Returns the chart being drawn.
+     *
+     * @return The chart (never {@code null}).
+     */
+    public JFreeChart getChart() {
+        return this.chart;
+    }
+
+    /**
+     * Returns the time spent in a phase, in nanoseconds.
+     *
+     * @param phase  the phase ({@code null} not permitted).
+     *
+     * @return The time.
+     */
+    public long getNanos(Phase phase) {
+        Args.nullNotPermitted(phase, "phase");
+        return this.phaseNanos.get(phase.ordinal());
+    }
+
+    /**
+     * Returns the total drawing time, in nanoseconds (this is zero until
+     * drawing has finished).
+     *
+     * @return The time.
+     */
+    public long getTotalNanos() {
+        return this.totalNanos;
+    }
+
+    /**
+     * Returns the rendering passes in the order they finished.
+     *
+     * @return A new list of the passes.
+     */
+    public List<RenderPass> getPasses() {
+        return new ArrayList<>(this.passes);
+    }
+
+    /**
+     * Returns the total number of items passed to the renderers.
+     *
+     * @return The item count.
+     */
+    public long getItemsDrawn() {
+        return this.itemsDrawn.sum();
+    }
+
+    /**
+     * Returns the total number of items skipped because they lie outside
+     * the visible range of the domain axis.
+     *
+     * @return The item count.
+     */
+    public long getItemsSkipped() {
+        return this.itemsSkipped.sum();
+    }
+
+    /**
+     * Returns the number of entities that were added to the chart's entity
+     * collection (zero if no entities were collected).
+     *
+     * @return The entity count.
+     */
+    public long getEntityCount() {
+        return this.entityCount.sum();
+    }
+
+    /**
+     * Returns the number of bytes allocated by the thread that drew the
+     * chart while it was drawing.  This excludes allocations made on other
+     * threads (subplots of a combined plot can be drawn in parallel) and is
+     * -1 if the JVM does not support per-thread allocation counters (or the
+     * {@code jdk.management} module is not available).
+     *
+     * @return The byte count, or -1.
+     */
+    public long getAllocatedBytes() {
+        return this.allocatedBytes;
+    }
+
+    /**
+     * Returns the number of bytes allocated so far by the current thread,
+     * or -1 if the JVM cannot tell.
+     *
+     * @return The byte count, or -1.
+     */
+    private static long threadAllocatedBytes() {
+        return ALLOCATION_COUNTER
+                ? AllocationCounter.threadAllocatedBytes() : -1L;
+    }
+
+    /**
+     * Returns {@code true} if this library can use a module at runtime.  The
+     * optional modules are declared with {@code requires static}, so they
+     * may be missing (from a jlink image, say) or not resolved, and the
+     * classes that use them must not be loaded in that case.
+     *
+     * @param name  the module name.
+     *
+     * @return A boolean.
+     */
+    private static boolean isReadable(String name) {
+        Module module = ChartDrawMetrics.class.getModule();
+        ModuleLayer layer = module.getLayer();
+        if (layer == null) {
+            layer = ModuleLayer.boot();
+        }
+        return layer.findModule(name).map(module::canRead).orElse(false);
+    }
+
+    /**
+     * An entity collection that counts the entities added to another
+     * collection and carries the recorder to the renderers.
+     */
+    private static final class MeteredEntityCollection
+            implements EntityCollection {
+
+        /** The underlying collection. */
+        private final EntityCollection entities;
+
+        /** The recorder. */
+        private final ChartDrawMetrics metrics;
+
+        MeteredEntityCollection(EntityCollection entities,
+                ChartDrawMetrics metrics) {
+            this.entities = entities;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void clear() {
+            this.entities.clear();
+        }
+
+        @Override
+        public void add(ChartEntity entity) {
+            this.entities.add(entity);
+            this.metrics.entityCount.increment();
+        }
+
+        @Override
+        public void addAll(EntityCollection collection) {
+            this.entities.addAll(collection);
+            if (of(collection) != this.metrics) {
+                // entities from a subplot tile were counted as they were added
+                this.metrics.entityCount.add(collection.getEntityCount());
+            }
+        }
+
+        @Override
+        public ChartEntity getEntity(double x, double y) {
+            return this.entities.getEntity(x, y);
+        }
+
+        @Override
+        public ChartEntity getEntity(int index) {
+            return this.entities.getEntity(index);
+        }
+
+        @Override
+        public int getEntityCount() {
+            return this.entities.getEntityCount();
+        }
+
+        @Override
+        public Collection<ChartEntity> getEntities() {
+            return this.entities.getEntities();
+        }
+
+        @Override
+        public Iterator<ChartEntity> iterator() {
+            return this.entities.iterator();
+        }
+
+    }
+
+}
@@ -0,0 +1,95 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------
+ * FlightRecording.java
+ * --------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.event;
+
+/**
+ * Creates and commits the {@link ChartDrawEvent} for a {@link
+ * ChartDrawMetrics} recorder.  This is the only class (apart from the event
+ * itself) that uses {@code jdk.jfr}, and it is loaded only when that module
+ * is available.
+ */
+final class FlightRecording {
+
+    private FlightRecording() {
+        // no need to instantiate this
+    }
+
+    /**
+     * Starts a new event, if the event is enabled.
+     *
+     * @return The event (a {@link ChartDrawEvent}) or {@code null}.
+     */
+    static Object begin() {
+        ChartDrawEvent event = new ChartDrawEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends an event and commits it with the values from the recorder.
+     *
+     * @param event  the event returned by {@link #begin()}.
+     * @param metrics  the recorder.
+     */
+    static void commit(Object event, ChartDrawMetrics metrics) {
+        ChartDrawEvent e = (ChartDrawEvent) event;
+        e.end();
+        if (e.shouldCommit()) {
+            e.chartId = metrics.getChart().getID();
+            e.titlesTime = metrics.getNanos(ChartDrawMetrics.Phase.TITLES);
+            e.legendTime = metrics.getNanos(ChartDrawMetrics.Phase.LEGEND);
+            e.axisLayoutTime = metrics.getNanos(
+                    ChartDrawMetrics.Phase.AXIS_LAYOUT);
+            e.axesTime = metrics.getNanos(ChartDrawMetrics.Phase.AXES);
+            e.renderingTime = metrics.getNanos(
+                    ChartDrawMetrics.Phase.RENDERING);
+            e.annotationsTime = metrics.getNanos(
+                    ChartDrawMetrics.Phase.ANNOTATIONS);
+            e.entitiesTime = metrics.getNanos(
+                    ChartDrawMetrics.Phase.ENTITIES);
+            e.itemsDrawn = metrics.getItemsDrawn();
+            e.itemsSkipped = metrics.getItemsSkipped();
+            e.entityCount = metrics.getEntityCount();
+            e.allocatedBytes = metrics.getAllocatedBytes();
+            e.commit();
+        }
+    }
+
+}
@@ -0,0 +1,221 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------
+ * IntervalIndex.java
+ * ------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import org.jfree.data.Range;
+
+/**
+ * A static index of items by the interval (in data space) that each item
+ * covers, used to find the markers and annotations that are visible in the
+ * current axis range without testing every item.  The index is built once
+ * from a list of items and is not updated when the items change, so the
+ * owner must discard it and build a new one after any change.
+ * <p>
+ * Items are sorted by the lower bound of their interval, alongside a running
+ * maximum of the upper bounds.  A query finds the candidates with two binary
+ * searches, so the cost is O(log n) plus the number of candidates.  Items
+ * with no interval (for example, annotations that do not implement
+ * {@code XYAnnotationBoundsInfo}) are returned by every query.
+ *
+ * @param <T>  the item type.
+ */
+public class IntervalIndex<T> {
+
+    /** The items, in their original order. */
+    private final List<T> items;
+
+    /** The indices of the items with an interval, sorted by lower bound. */
+    private final int[] sorted;
+
+    /** The lower bound for each sorted item. */
+    private final double[] lowers;
+
+    /** The upper bound for each sorted item. */
+    private final double[] uppers;
+
+    /** The running maximum of {@code uppers}. */
+    private final double[] maxUppers;
+
+    /** The indices of the items with no interval. */
+    private final int[] unbounded;
+
+    /**
+     * Creates a new index.
+     *
+     * @param items  the items ({@code null} not permitted).
+     * @param extent  a function that returns the interval for an item, or
+     *     {@code null} if the item should always be included (an interval
+     *     with a {@code NaN} bound is treated the same way)
+     *     ({@code null} not permitted).
+     */
+    public IntervalIndex(List<? extends T> items,
+            Function<? super T, Range> extent) {
+        Args.nullNotPermitted(items, "items");
+        Args.nullNotPermitted(extent, "extent");
+        this.items = new ArrayList<>(items);
+        int n = this.items.size();
+        double[] lo = new double[n];
+        double[] hi = new double[n];
+        Integer[] bounded = new Integer[n];
+        int[] free = new int[n];
+        int boundedCount = 0;
+        int freeCount = 0;
+        for (int i = 0; i < n; i++) {
+            Range r = extent.apply(this.items.get(i));
+            if (r == null || Double.isNaN(r.getLowerBound())
+                    || Double.isNaN(r.getUpperBound())) {
+                free[freeCount++] = i;
+            } else {
+                lo[i] = r.getLowerBound();
+                hi[i] = r.getUpperBound();
+                bounded[boundedCount++] = i;
+            }
+        }
+        Arrays.sort(bounded, 0, boundedCount,
+                (a, b) -> Double.compare(lo[a], lo[b]));
+        this.sorted = new int[boundedCount];
+        this.lowers = new double[boundedCount];
+        this.uppers = new double[boundedCount];
+        this.maxUppers = new double[boundedCount];
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < boundedCount; i++) {
+            int item = bounded[i];
+            this.sorted[i] = item;
+            this.lowers[i] = lo[item];
+            this.uppers[i] = hi[item];
+            max = Math.max(max, hi[item]);
+            this.maxUppers[i] = max;
+        }
+        this.unbounded = Arrays.copyOf(free, freeCount);
+    }
+
+    /**
+     * Returns the number of items in the index.
+     *
+     * @return The item count.
+     */
+    public int size() {
+        return this.items.size();
+    }
+
+    /**
+     * Returns the items with an interval that intersects the specified
+     * range (bounds included), together with the items that have no
+     * interval.  The items are returned in their original order.
+     *
+     * @param range  the range ({@code null} not permitted).
+     *
+     * @return A list of items (possibly empty, never {@code null}).
+     */
+    public List<T> query(Range range) {
+        Args.nullNotPermitted(range, "range");
+        double lower = range.getLowerBound();
+        double upper = range.getUpperBound();
+        // candidates have lowers[i] <= upper and maxUppers[i] >= lower
+        int end = firstAbove(this.lowers, upper);
+        int start = firstNotBelow(this.maxUppers, lower);
+        int[] hits = new int[Math.max(end - start, 0)
+                + this.unbounded.length];
+        int count = 0;
+        for (int i = start; i < end; i++) {
+            if (this.uppers[i] >= lower) {
+                hits[count++] = this.sorted[i];
+            }
+        }
+        System.arraycopy(this.unbounded, 0, hits, count,
+                this.unbounded.length);
+        count += this.unbounded.length;
+        Arrays.sort(hits, 0, count);
+        List<T> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(this.items.get(hits[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the index of the first element in a sorted array that is
+     * greater than {@code value}.
+     *
+     * @param array  the array (in ascending order).
+     * @param value  the value.
+     *
+     * @return The index (the array length if there is no such element).
+     */
+    private static int firstAbove(double[] array, double value) {
+        int low = 0;
+        int high = array.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (array[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the first element in a sorted array that is
+     * greater than or equal to {@code value}.
+     *
+     * @param array  the array (in ascending order).
+     * @param value  the value.
+     *
+     * @return The index (the array length if there is no such element).
+     */
+    private static int firstNotBelow(double[] array, double value) {
+        int low = 0;
+        int high = array.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (array[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+}
@@ -71,6 +71,7 @@ import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.TreeMap;
 import org.jfree.chart.ChartElementVisitor;
+import org.jfree.chart.ChartHints;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.legend.LegendItemCollection;
 import org.jfree.chart.annotations.Annotation;
@@ -88,6 +89,7 @@ import org.jfree.chart.axis.ValueTick;
 import org.jfree.chart.event.AnnotationChangeEvent;
 import org.jfree.chart.event.AnnotationChangeListener;
 import org.jfree.chart.event.ChartChangeEventType;
+import org.jfree.chart.event.ChartDrawMetrics;
 import org.jfree.chart.event.PlotChangeEvent;
 import org.jfree.chart.event.RendererChangeEvent;
 import org.jfree.chart.event.RendererChangeListener;
@@ -3277,7 +3279,12 @@ public class CategoryPlot<R extends Comparable<R>, C extends Comparable<C>>
         insets.trim(area);
 
         // calculate the data area...
+        ChartDrawMetrics metrics = ChartDrawMetrics.of(g2);
+        long start = System.nanoTime();
         AxisSpace space = calculateAxisSpace(g2, area);
+        if (metrics != null) {
+            metrics.recordPhase(ChartDrawMetrics.Phase.AXIS_LAYOUT, start);
+        }
         Rectangle2D dataArea = space.shrink(area, null);
         this.axisOffset.trim(dataArea);
         dataArea = integerise(dataArea);
@@ -3295,7 +3302,11 @@ public class CategoryPlot<R extends Comparable<R>, C extends Comparable<C>>
             drawBackground(g2, dataArea);
         }
 
+        start = System.nanoTime();
         Map<Axis, AxisState> axisStateMap = drawAxes(g2, area, dataArea, state);
+        if (metrics != null) {
+            metrics.recordPhase(ChartDrawMetrics.Phase.AXES, start);
+        }
 
         // the anchor point is typically the point where the mouse last
         // clicked - the crosshairs will be driven off this point...
@@ -3381,10 +3392,14 @@ public class CategoryPlot<R extends Comparable<R>, C extends Comparable<C>>
 
         DatasetRenderingOrder order = getDatasetRenderingOrder();
         List<Integer> datasetIndices = getDatasetIndices(order);
+        start = System.nanoTime();
         for (int i : datasetIndices) {
             foundData = render(g2, dataArea, i, state, crosshairState)
                     || foundData;
         }
+        if (metrics != null) {
+            metrics.recordPhase(ChartDrawMetrics.Phase.RENDERING, start);
+        }
 
         // draw the foreground markers...
         List<Integer> rendererIndices = getRendererIndices(order);
@@ -3396,7 +3411,11 @@ public class CategoryPlot<R extends Comparable<R>, C extends Comparable<C>>
         }
 
         // draw the annotations (if any)...
+        start = System.nanoTime();
         drawAnnotations(g2, dataArea);
+        if (metrics != null) {
+            metrics.recordPhase(ChartDrawMetrics.Phase.ANNOTATIONS, start);
+        }
 
         if (this.shadowGenerator != null && !suppressShadow) {
             BufferedImage shadowImage = this.shadowGenerator.createDropShadow(
@@ -3651,9 +3670,17 @@ public class CategoryPlot<R extends Comparable<R>, C extends Comparable<C>>
 		int columnCount = currentDataset.getColumnCount();
 		int rowCount = currentDataset.getRowCount();
 		int passCount = renderer.getPassCount();
+		ChartDrawMetrics metrics = ChartDrawMetrics.of(g2);
 		for (int pass = 0; pass < passCount; pass++) {
+			long passStart = System.nanoTime();
+			long cells = 0;
+			boolean cancelled = false;
 			if (this.columnRenderingOrder == SortOrder.ASCENDING) {
 				for (int column = 0; column < columnCount; column++) {
+					if (ChartHints.isDrawCancelled(g2)) {
+						cancelled = true;
+						break;
+					}
 					if (this.rowRenderingOrder == SortOrder.ASCENDING) {
 						for (int row = 0; row < rowCount; row++) {
 							renderer.drawItem(g2, state, dataArea, this, domainAxis, rangeAxis, currentDataset, row,
@@ -3665,9 +3692,14 @@ public class CategoryPlot<R extends Comparable<R>, C extends Comparable<C>>
 									column, pass);
 						}
 					}
+					cells += rowCount;
 				}
 			} else {
 				for (int column = columnCount - 1; column >= 0; column--) {
+					if (ChartHints.isDrawCancelled(g2)) {
+						cancelled = true;
+						break;
+					}
 					if (this.rowRenderingOrder == SortOrder.ASCENDING) {
 						for (int row = 0; row < rowCount; row++) {
 							renderer.drawItem(g2, state, dataArea, this, domainAxis, rangeAxis, currentDataset, row,
@@ -3679,8 +3711,16 @@ public class CategoryPlot<R extends Comparable<R>, C extends Comparable<C>>
 									column, pass);
 						}
 					}
+					cells += rowCount;
 				}
 			}
+			if (metrics != null) {
+				metrics.recordPass(this, index, pass, passStart, cells,
+						0L);
+			}
+			if (cancelled) {
+				return state;
+			}
 		}
 		return state;
 	}
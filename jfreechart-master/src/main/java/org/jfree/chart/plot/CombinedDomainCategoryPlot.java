@@ -75,6 +75,9 @@ public class CombinedDomainCategoryPlot extends CategoryPlot
     /** The gap between subplots. */
     private double gap;
 
+    /** A flag that controls whether the subplots are drawn in parallel. */
+    private boolean parallelRendering;
+
     /** Temporary storage for the subplot areas. */
     private transient Rectangle2D[] subplotAreas;
     // FIXME:  move the above to the plot state
@@ -122,6 +125,38 @@ public class CombinedDomainCategoryPlot extends CategoryPlot
         fireChangeEvent();
     }
 
+    /**
+     * Returns the flag that controls whether the subplots are drawn in
+     * parallel.  The default value is {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @see #setParallelRendering(boolean)
+     */
+    public boolean isParallelRendering() {
+        return this.parallelRendering;
+    }
+
+    /**
+     * Sets the flag that controls whether the subplots are drawn in parallel
+     * and sends a {@link PlotChangeEvent} to all registered listeners.  When
+     * the flag is set, the shared axis is drawn first and then each subplot
+     * is drawn into its own image tile in the common {@code ForkJoinPool},
+     * so this is intended for bitmap output (for example, exporting PNG
+     * images of plots with many subplots).  For other targets (SVG, PDF and
+     * printing) the flag is ignored and the subplots are drawn one after
+     * the other, so that the output stays vector graphics.  The subplots
+     * must not share renderers.
+     *
+     * @param parallel  the new flag value.
+     *
+     * @see #isParallelRendering()
+     */
+    public void setParallelRendering(boolean parallel) {
+        this.parallelRendering = parallel;
+        fireChangeEvent();
+    }
+
     /**
      * Adds a subplot to the combined chart and sends a {@link PlotChangeEvent}
      * to all registered listeners.
@@ -445,19 +480,25 @@ public class CombinedDomainCategoryPlot extends CategoryPlot
         parentState.getSharedAxisStates().put(axis, axisState);
 
         // draw all the subplots
-        for (int i = 0; i < this.subplots.size(); i++) {
-            CategoryPlot plot = (CategoryPlot) this.subplots.get(i);
-            PlotRenderingInfo subplotInfo = null;
-            if (info != null) {
-                subplotInfo = new PlotRenderingInfo(info.getOwner());
-                info.addSubplotInfo(subplotInfo);
-            }
-            Point2D subAnchor = null;
-            if (anchor != null && this.subplotAreas[i].contains(anchor)) {
-                subAnchor = anchor;
+        if (this.parallelRendering && this.subplots.size() > 1
+                && SubplotTiles.isSupported(g2)) {
+            SubplotTiles.draw(g2, this.subplots, this.subplotAreas, anchor,
+                    true, parentState, info);
+        } else {
+            for (int i = 0; i < this.subplots.size(); i++) {
+                CategoryPlot plot = (CategoryPlot) this.subplots.get(i);
+                PlotRenderingInfo subplotInfo = null;
+                if (info != null) {
+                    subplotInfo = new PlotRenderingInfo(info.getOwner());
+                    info.addSubplotInfo(subplotInfo);
+                }
+                Point2D subAnchor = null;
+                if (anchor != null && this.subplotAreas[i].contains(anchor)) {
+                    subAnchor = anchor;
+                }
+                plot.draw(g2, this.subplotAreas[i], subAnchor, parentState,
+                        subplotInfo);
             }
-            plot.draw(g2, this.subplotAreas[i], subAnchor, parentState,
-                    subplotInfo);
         }
 
         if (info != null) {
@@ -637,6 +678,9 @@ public class CombinedDomainCategoryPlot extends CategoryPlot
         if (this.gap != that.gap) {
             return false;
         }
+        if (this.parallelRendering != that.parallelRendering) {
+            return false;
+        }
         if (!Objects.equals(this.subplots, that.subplots)) {
             return false;
         }
@@ -76,6 +76,9 @@ public class CombinedRangeCategoryPlot extends CategoryPlot
     /** The gap between subplots. */
     private double gap;
 
+    /** A flag that controls whether the subplots are drawn in parallel. */
+    private boolean parallelRendering;
+
     /** Temporary storage for the subplot areas. */
     private transient Rectangle2D[] subplotArea;  // TODO: move to plot state
 
@@ -117,6 +120,38 @@ public class CombinedRangeCategoryPlot extends CategoryPlot
         fireChangeEvent();
     }
 
+    /**
+     * Returns the flag that controls whether the subplots are drawn in
+     * parallel.  The default value is {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @see #setParallelRendering(boolean)
+     */
+    public boolean isParallelRendering() {
+        return this.parallelRendering;
+    }
+
+    /**
+     * Sets the flag that controls whether the subplots are drawn in parallel
+     * and sends a {@link PlotChangeEvent} to all registered listeners.  When
+     * the flag is set, the shared axis is drawn first and then each subplot
+     * is drawn into its own image tile in the common {@code ForkJoinPool},
+     * so this is intended for bitmap output (for example, exporting PNG
+     * images of plots with many subplots).  For other targets (SVG, PDF and
+     * printing) the flag is ignored and the subplots are drawn one after
+     * the other, so that the output stays vector graphics.  The subplots
+     * must not share renderers.
+     *
+     * @param parallel  the new flag value.
+     *
+     * @see #isParallelRendering()
+     */
+    public void setParallelRendering(boolean parallel) {
+        this.parallelRendering = parallel;
+        fireChangeEvent();
+    }
+
     /**
      * Adds a subplot (with a default 'weight' of 1) and sends a
      * {@link PlotChangeEvent} to all registered listeners.
@@ -345,19 +380,25 @@ public class CombinedRangeCategoryPlot extends CategoryPlot
         parentState.getSharedAxisStates().put(axis, state);
 
         // draw all the charts
-        for (int i = 0; i < this.subplots.size(); i++) {
-            CategoryPlot plot = this.subplots.get(i);
-            PlotRenderingInfo subplotInfo = null;
-            if (info != null) {
-                subplotInfo = new PlotRenderingInfo(info.getOwner());
-                info.addSubplotInfo(subplotInfo);
-            }
-            Point2D subAnchor = null;
-            if (anchor != null && this.subplotArea[i].contains(anchor)) {
-                subAnchor = anchor;
+        if (this.parallelRendering && this.subplots.size() > 1
+                && SubplotTiles.isSupported(g2)) {
+            SubplotTiles.draw(g2, this.subplots, this.subplotArea, anchor,
+                    true, parentState, info);
+        } else {
+            for (int i = 0; i < this.subplots.size(); i++) {
+                CategoryPlot plot = this.subplots.get(i);
+                PlotRenderingInfo subplotInfo = null;
+                if (info != null) {
+                    subplotInfo = new PlotRenderingInfo(info.getOwner());
+                    info.addSubplotInfo(subplotInfo);
+                }
+                Point2D subAnchor = null;
+                if (anchor != null && this.subplotArea[i].contains(anchor)) {
+                    subAnchor = anchor;
+                }
+                plot.draw(g2, this.subplotArea[i], subAnchor, parentState,
+                        subplotInfo);
             }
-            plot.draw(g2, this.subplotArea[i], subAnchor, parentState,
-                    subplotInfo);
         }
 
         if (info != null) {
@@ -501,6 +542,9 @@ public class CombinedRangeCategoryPlot extends CategoryPlot
         if (this.gap != that.gap) {
             return false;
         }
+        if (this.parallelRendering != that.parallelRendering) {
+            return false;
+        }
         if (!Objects.equals(this.subplots, that.subplots)) {
             return false;
         }
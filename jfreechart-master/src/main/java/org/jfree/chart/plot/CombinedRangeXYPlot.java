@@ -81,6 +81,9 @@ public class CombinedRangeXYPlot<S extends Comparable<S>> extends XYPlot<S>
     /** The gap between subplots. */
     private double gap = 5.0;
 
+    /** A flag that controls whether the subplots are drawn in parallel. */
+    private boolean parallelRendering;
+
     /** Temporary storage for the subplot areas. */
     private transient Rectangle2D[] subplotAreas;
 
@@ -133,6 +136,38 @@ public class CombinedRangeXYPlot<S extends Comparable<S>> extends XYPlot<S>
     public void setGap(double gap) {
         this.gap = gap;
     }
+
+    /**
+     * Returns the flag that controls whether the subplots are drawn in
+     * parallel.  The default value is {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @see #setParallelRendering(boolean)
+     */
+    public boolean isParallelRendering() {
+        return this.parallelRendering;
+    }
+
+    /**
+     * Sets the flag that controls whether the subplots are drawn in parallel
+     * and sends a {@link PlotChangeEvent} to all registered listeners.  When
+     * the flag is set, the shared axis is drawn first and then each subplot
+     * is drawn into its own image tile in the common {@code ForkJoinPool},
+     * so this is intended for bitmap output (for example, exporting PNG
+     * images of plots with many subplots).  For other targets (SVG, PDF and
+     * printing) the flag is ignored and the subplots are drawn one after
+     * the other, so that the output stays vector graphics.  The subplots
+     * must not share renderers.
+     *
+     * @param parallel  the new flag value.
+     *
+     * @see #isParallelRendering()
+     */
+    public void setParallelRendering(boolean parallel) {
+        this.parallelRendering = parallel;
+        fireChangeEvent();
+    }
     
     /**
      * Returns {@code true} if the domain is pannable for at least one subplot,
@@ -379,15 +414,21 @@ public class CombinedRangeXYPlot<S extends Comparable<S>> extends XYPlot<S>
         parentState.getSharedAxisStates().put(axis, axisState);
 
         // draw all the charts
-        for (int i = 0; i < this.subplots.size(); i++) {
-            XYPlot plot = (XYPlot) this.subplots.get(i);
-            PlotRenderingInfo subplotInfo = null;
-            if (info != null) {
-                subplotInfo = new PlotRenderingInfo(info.getOwner());
-                info.addSubplotInfo(subplotInfo);
+        if (this.parallelRendering && this.subplots.size() > 1
+                && SubplotTiles.isSupported(g2)) {
+            SubplotTiles.draw(g2, this.subplots, this.subplotAreas, anchor,
+                    false, parentState, info);
+        } else {
+            for (int i = 0; i < this.subplots.size(); i++) {
+                XYPlot plot = (XYPlot) this.subplots.get(i);
+                PlotRenderingInfo subplotInfo = null;
+                if (info != null) {
+                    subplotInfo = new PlotRenderingInfo(info.getOwner());
+                    info.addSubplotInfo(subplotInfo);
+                }
+                plot.draw(g2, this.subplotAreas[i], anchor, parentState,
+                        subplotInfo);
             }
-            plot.draw(g2, this.subplotAreas[i], anchor, parentState,
-                    subplotInfo);
         }
 
         if (info != null) {
@@ -666,6 +707,9 @@ public class CombinedRangeXYPlot<S extends Comparable<S>> extends XYPlot<S>
         if (this.gap != that.gap) {
             return false;
         }
+        if (this.parallelRendering != that.parallelRendering) {
+            return false;
+        }
         if (!Objects.equals(this.subplots, that.subplots)) {
             return false;
         }
@@ -70,6 +70,7 @@ import org.jfree.chart.internal.ArrayUtils;
 import org.jfree.chart.internal.PaintUtils;
 import org.jfree.chart.internal.Args;
 import org.jfree.chart.internal.SerialUtils;
+import org.jfree.chart.renderer.ScatterRasterizer;
 import org.jfree.data.Range;
 
 /**
@@ -118,6 +119,14 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
      */
     private boolean rangePannable;
 
+    /**
+     * The rasterizer used to draw the points ({@code null} to fill one
+     * rectangle per point).
+     *
+     * @since 2.0
+     */
+    private ScatterRasterizer rasterizer;
+
     /** The resourceBundle for the localization. */
     protected static ResourceBundle localizationResources
             = ResourceBundle.getBundle("org.jfree.chart.plot.LocalizationBundle");
@@ -432,6 +441,38 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
         fastScatterPlotProduct.setRangeGridlinePaint(paint, this);
     }
 
+    /**
+     * Returns the rasterizer used to draw the points.
+     *
+     * @return The rasterizer (possibly {@code null}).
+     *
+     * @see #setRasterizer(ScatterRasterizer)
+     *
+     * @since 2.0
+     */
+    public ScatterRasterizer getRasterizer() {
+        return this.rasterizer;
+    }
+
+    /**
+     * Sets the rasterizer used to draw the points and sends a
+     * {@link PlotChangeEvent} to all registered listeners.  With a
+     * rasterizer, the points are projected into a pixel buffer (optionally
+     * colored by point density) that is drawn as a single image, which is
+     * much faster for millions of points.  If {@code null} (the default),
+     * each point is filled as a one pixel rectangle.
+     *
+     * @param rasterizer  the rasterizer ({@code null} permitted).
+     *
+     * @see #getRasterizer()
+     *
+     * @since 2.0
+     */
+    public void setRasterizer(ScatterRasterizer rasterizer) {
+        this.rasterizer = rasterizer;
+        fireChangeEvent();
+    }
+
     /**
      * Receives a chart element visitor.
      * 
@@ -518,6 +559,14 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
      */
     public void render(Graphics2D g2, Rectangle2D dataArea,
                        PlotRenderingInfo info, CrosshairState crosshairState) {
+        if (this.rasterizer != null) {
+            if (this.data != null) {
+                this.rasterizer.draw(g2, dataArea, this.domainAxis,
+                        this.rangeAxis, this.data,
+                        this.fastScatterPlotProduct.getPaint());
+            }
+            return;
+        }
         g2.setPaint(this.fastScatterPlotProduct.getPaint());
 
         // if the axes use a linear scale, you can uncomment the code below and
@@ -970,6 +1019,9 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
         if (!Objects.equals(this.fastScatterPlotProduct.getRangeGridlineStroke(), that.fastScatterPlotProduct.getRangeGridlineStroke())) {
             return false;
         }
+        if (!Objects.equals(this.rasterizer, that.rasterizer)) {
+            return false;
+        }
         return true;
     }
 
@@ -999,6 +1051,9 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
             clone.rangeAxis.setPlot(clone);
             clone.rangeAxis.addChangeListener(clone);
         }
+        if (this.rasterizer != null) {
+            clone.rasterizer = (ScatterRasterizer) this.rasterizer.clone();
+        }
         return clone;
 
     }
@@ -0,0 +1,253 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -----------------
+ * SubplotTiles.java
+ * -----------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.plot;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.jfree.chart.ChartRenderingInfo;
+import org.jfree.chart.entity.EntityCollection;
+import org.jfree.chart.entity.StandardEntityCollection;
+import org.jfree.chart.event.ChartDrawMetrics;
+import org.jfree.chart.renderer.MarkerStamper;
+
+/**
+ * Draws the subplots of a combined plot in parallel, for the combined plots
+ * that have the {@code parallelRendering} flag set.  The shared axis is
+ * drawn (and the subplot areas are calculated) by the combined plot as
+ * usual.  Each subplot is then drawn into its own image tile in the common
+ * {@link ForkJoinPool}, with its own {@link ChartRenderingInfo} for the
+ * entities, and the tiles and entities are merged into the target in
+ * subplot order on the calling thread.  Each tile covers only the part of
+ * the subplot area that is inside the target's clip.
+ * <p>
+ * The tiles are bitmaps aligned with the pixels of the target, so this is
+ * only suitable for bitmap output, and the combined plots check
+ * {@link #isSupported(Graphics2D)} before using it.  The subplots are drawn
+ * concurrently, so they must not share renderers (or other objects that
+ * hold state while a plot is drawn), and the chart must not be modified
+ * while it is drawn.
+ */
+final class SubplotTiles {
+
+    /** The margin (in device pixels) around the subplot area in a tile. */
+    private static final int TILE_MARGIN = 16;
+
+    private SubplotTiles() {
+        // no requirement to instantiate
+    }
+
+    /**
+     * Returns {@code true} if the subplots can be drawn in tiles for the
+     * specified target, which is the case for screens and images but not
+     * for vector output (SVG, PDF) or printers.
+     *
+     * @param g2  the graphics target.
+     *
+     * @return A boolean.
+     */
+    static boolean isSupported(Graphics2D g2) {
+        return MarkerStamper.isRasterTarget(g2);
+    }
+
+    /**
+     * Draws the subplots in parallel.
+     *
+     * @param g2  the graphics target.
+     * @param subplots  the subplots.
+     * @param areas  the area for each subplot.
+     * @param anchor  the anchor point ({@code null} permitted).
+     * @param anchorInArea  if {@code true}, the anchor is only passed to
+     *     the subplot whose area contains it, otherwise it is passed to
+     *     every subplot (this must match the combined plot's sequential
+     *     drawing).
+     * @param parentState  the state from the combined plot (including the
+     *     shared axis state).
+     * @param info  the rendering info for the combined plot
+     *     ({@code null} permitted).
+     */
+    static void draw(Graphics2D g2, List<? extends Plot> subplots,
+            Rectangle2D[] areas, Point2D anchor, boolean anchorInArea,
+            PlotState parentState, PlotRenderingInfo info) {
+        AffineTransform t = g2.getTransform();
+        Shape clip = g2.getClip();
+        Rectangle clipBounds = clip != null
+                ? t.createTransformedShape(clip).getBounds() : null;
+        ChartRenderingInfo owner = info != null ? info.getOwner() : null;
+        boolean collectEntities = owner != null
+                && owner.getEntityCollection() != null;
+        ChartDrawMetrics metrics = ChartDrawMetrics.of(g2);
+
+        List<Callable<BufferedImage>> tasks = new ArrayList<>();
+        List<PlotRenderingInfo> subplotInfos = new ArrayList<>();
+        List<Rectangle> tileBounds = new ArrayList<>();
+        for (int i = 0; i < subplots.size(); i++) {
+            Plot plot = subplots.get(i);
+            Rectangle2D area = areas[i];
+            PlotRenderingInfo subplotInfo = null;
+            if (info != null) {
+                EntityCollection tileEntities = null;
+                if (collectEntities) {
+                    tileEntities = new StandardEntityCollection();
+                    if (metrics != null) {
+                        tileEntities = metrics.meter(tileEntities);
+                    }
+                }
+                ChartRenderingInfo tileOwner = new ChartRenderingInfo(
+                        tileEntities);
+                subplotInfo = new PlotRenderingInfo(tileOwner);
+            }
+            subplotInfos.add(subplotInfo);
+            Point2D subAnchor = anchor;
+            if (anchorInArea && anchor != null && !area.contains(anchor)) {
+                subAnchor = null;
+            }
+            // align the tile with the device pixels, so that the subplot
+            // is drawn exactly as it would be drawn directly on g2, and
+            // leave a margin for anything drawn just outside the area (the
+            // outline stroke, or a tick label at the end of an axis), but
+            // no further than the clip
+            Rectangle bounds = t.createTransformedShape(area).getBounds();
+            if (!bounds.isEmpty()) {
+                bounds.grow(TILE_MARGIN, TILE_MARGIN);
+                if (clipBounds != null) {
+                    Rectangle2D.intersect(bounds, clipBounds, bounds);
+                }
+            }
+            tileBounds.add(bounds);
+            PlotRenderingInfo tileInfo = subplotInfo;
+            Point2D tileAnchor = subAnchor;
+            tasks.add(() -> {
+                if (bounds.isEmpty()) {
+                    return null;
+                }
+                BufferedImage tile = new BufferedImage(bounds.width,
+                        bounds.height, BufferedImage.TYPE_INT_ARGB);
+                Graphics2D tg2 = tile.createGraphics();
+                try {
+                    tg2.setRenderingHints(g2.getRenderingHints());
+                    tg2.translate(-bounds.x, -bounds.y);
+                    tg2.transform(t);
+                    plot.draw(tg2, area, tileAnchor, parentState, tileInfo);
+                } finally {
+                    tg2.dispose();
+                }
+                return tile;
+            });
+        }
+
+        List<Future<BufferedImage>> results
+                = ForkJoinPool.commonPool().invokeAll(tasks);
+        for (int i = 0; i < results.size(); i++) {
+            BufferedImage tile = get(results.get(i));
+            if (tile != null) {
+                Rectangle bounds = tileBounds.get(i);
+                g2.setTransform(new AffineTransform());
+                g2.drawImage(tile, bounds.x, bounds.y, null);
+                g2.setTransform(t);
+            }
+            PlotRenderingInfo subplotInfo = subplotInfos.get(i);
+            if (subplotInfo != null) {
+                if (collectEntities) {
+                    EntityCollection entities
+                            = subplotInfo.getOwner().getEntityCollection();
+                    owner.getEntityCollection().addAll(entities);
+                }
+                info.addSubplotInfo(copy(subplotInfo, owner));
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of the rendering info for a subplot tile that belongs
+     * to the chart's rendering info instead of the tile's (the tile's info
+     * only exists to collect the entities on the tile's thread).
+     *
+     * @param tileInfo  the rendering info for the tile.
+     * @param owner  the owner ({@code null} permitted).
+     *
+     * @return The copy.
+     */
+    private static PlotRenderingInfo copy(PlotRenderingInfo tileInfo,
+            ChartRenderingInfo owner) {
+        PlotRenderingInfo result = new PlotRenderingInfo(owner);
+        result.setPlotArea(tileInfo.getPlotArea());
+        result.setDataArea(tileInfo.getDataArea());
+        for (int i = 0; i < tileInfo.getSubplotCount(); i++) {
+            result.addSubplotInfo(copy(tileInfo.getSubplotInfo(i), owner));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the result of a completed task, rethrowing any exception that
+     * was thrown while drawing a subplot.
+     *
+     * @param future  the future.
+     *
+     * @return The tile (possibly {@code null}).
+     */
+    private static BufferedImage get(Future<BufferedImage> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+}
@@ -51,10 +51,12 @@
 package org.jfree.chart.plot;
 
 import org.jfree.chart.ChartElementVisitor;
+import org.jfree.chart.ChartHints;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.annotations.Annotation;
 import org.jfree.chart.annotations.XYAnnotation;
 import org.jfree.chart.annotations.XYAnnotationBoundsInfo;
+import org.jfree.chart.annotations.XYAnnotationIndex;
 import org.jfree.chart.api.Layer;
 import org.jfree.chart.api.PublicCloneable;
 import org.jfree.chart.api.RectangleEdge;
@@ -63,6 +65,7 @@ import org.jfree.chart.axis.*;
 import org.jfree.chart.event.*;
 import org.jfree.chart.internal.Args;
 import org.jfree.chart.internal.CloneUtils;
+import org.jfree.chart.internal.IntervalIndex;
 import org.jfree.chart.internal.PaintUtils;
 import org.jfree.chart.internal.SerialUtils;
 import org.jfree.chart.legend.LegendItem;
@@ -74,10 +77,15 @@ import org.jfree.chart.renderer.xy.XYItemRendererState;
 import org.jfree.chart.util.ShadowGenerator;
 import org.jfree.data.Range;
 import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.general.DatasetSnapshot;
 import org.jfree.data.general.DatasetUtils;
+import org.jfree.data.general.DatasetView;
+import org.jfree.data.general.SnapshotSource;
+import org.jfree.data.xy.LevelOfDetailXYDataset;
 import org.jfree.data.xy.XYDataset;
 
 import java.awt.*;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
@@ -128,6 +136,12 @@ public class XYPlot<S extends Comparable<S>> extends Plot
     /** The default crosshair paint. */
     public static final Paint DEFAULT_CROSSHAIR_PAINT = Color.BLUE;
 
+    /**
+     * The items are drawn in blocks of 1024 between checks of the
+     * {@link ChartHints#KEY_DRAW_CANCELLED} hint.
+     */
+    private static final int CANCEL_CHECK_MASK = 0x3FF;
+
     /** The resourceBundle for the localization. */
     protected static ResourceBundle localizationResources
             = ResourceBundle.getBundle("org.jfree.chart.plot.LocalizationBundle");
@@ -314,6 +328,20 @@ public class XYPlot<S extends Comparable<S>> extends Plot
      */
     private List<XYAnnotation> annotations;
 
+    /**
+     * An index of the annotations, used to skip the annotations that are
+     * outside the axis ranges (built when required, {@code null} after any
+     * change to the annotations).
+     */
+    private transient XYAnnotationIndex annotationIndex;
+
+    /**
+     * Indices of the marker lists, used to skip the markers that are outside
+     * the axis ranges (built when required, {@code null} after any change to
+     * the markers).
+     */
+    private transient Map<List<Marker>, IntervalIndex<Marker>> markerIndices;
+
     /** The paint used for the domain tick bands (if any). */
     private transient Paint domainTickBandPaint;
 
@@ -369,6 +397,12 @@ public class XYPlot<S extends Comparable<S>> extends Plot
      */
     private ShadowGenerator shadowGenerator;
 
+    /**
+     * A flag that controls whether datasets that can provide a snapshot
+     * are drawn from one.
+     */
+    private boolean datasetSnapshots;
+
     /**
      * Creates a new {@code XYPlot} instance with no dataset, no axes and
      * no renderer.  You should specify these items before using the plot.
@@ -1215,6 +1249,17 @@ public class XYPlot<S extends Comparable<S>> extends Plot
      * @return The index or -1.
      */
     public int indexOf(XYDataset<S> dataset) {
+        if (dataset instanceof DatasetView) {
+            // renderers drawing a snapshot or other view look up the index
+            // of the source
+            Object source = ((DatasetView) dataset).getSource();
+            for (Map.Entry<Integer, XYDataset<S>> entry
+                    : this.datasets.entrySet()) {
+                if (source == entry.getValue()) {
+                    return entry.getKey();
+                }
+            }
+        }
         for (Map.Entry<Integer, XYDataset<S>> entry: this.datasets.entrySet()) {
             if (dataset == entry.getValue()) {
                 return entry.getKey();
@@ -2180,6 +2225,7 @@ public class XYPlot<S extends Comparable<S>> extends Plot
      * @see #addDomainMarker(int, Marker, Layer)
      */
     public void clearDomainMarkers() {
+        invalidateOverlayIndices();
         if (this.backgroundDomainMarkers != null) {
             Set<Integer> keys = this.backgroundDomainMarkers.keySet();
             for (Integer key : keys) {
@@ -2206,6 +2252,7 @@ public class XYPlot<S extends Comparable<S>> extends Plot
      * @see #clearRangeMarkers(int)
      */
     public void clearDomainMarkers(int index) {
+        invalidateOverlayIndices();
         if (this.backgroundDomainMarkers != null) {
             List<Marker> markers = this.backgroundDomainMarkers.get(index);
             if (markers != null) {
@@ -2261,6 +2308,7 @@ public class XYPlot<S extends Comparable<S>> extends Plot
      */
     public void addDomainMarker(int index, Marker marker, Layer layer,
             boolean notify) {
+        invalidateOverlayIndices();
         Args.nullNotPermitted(marker, "marker");
         Args.nullNotPermitted(layer, "layer");
         List<Marker> markers;
@@ -2342,6 +2390,7 @@ public class XYPlot<S extends Comparable<S>> extends Plot
      */
     public boolean removeDomainMarker(int index, Marker marker, Layer layer,
             boolean notify) {
+        invalidateOverlayIndices();
         List<Marker> markers;
         if (layer == Layer.FOREGROUND) {
             markers = this.foregroundDomainMarkers.get(index);
@@ -2396,6 +2445,7 @@ public class XYPlot<S extends Comparable<S>> extends Plot
      * @see #clearRangeMarkers()
      */
     public void clearRangeMarkers() {
+        invalidateOverlayIndices();
         if (this.backgroundRangeMarkers != null) {
             Set<Integer> keys = this.backgroundRangeMarkers.keySet();
             for (Integer key : keys) {
@@ -2445,6 +2495,7 @@ public class XYPlot<S extends Comparable<S>> extends Plot
      */
     public void addRangeMarker(int index, Marker marker, Layer layer,
             boolean notify) {
+        invalidateOverlayIndices();
         List<Marker> markers;
         if (layer == Layer.FOREGROUND) {
             markers = this.foregroundRangeMarkers.get(index);
@@ -2475,6 +2526,7 @@ public class XYPlot<S extends Comparable<S>> extends Plot
      * @param index  the renderer index.
      */
     public void clearRangeMarkers(int index) {
+        invalidateOverlayIndices();
         if (this.backgroundRangeMarkers != null) {
             List<Marker> markers = this.backgroundRangeMarkers.get(index);
             if (markers != null) {
@@ -2552,6 +2604,7 @@ public class XYPlot<S extends Comparable<S>> extends Plot
      */
     public boolean removeRangeMarker(int index, Marker marker, Layer layer,
             boolean notify) {
+        invalidateOverlayIndices();
         Args.nullNotPermitted(marker, "marker");
         Args.nullNotPermitted(layer, "layer");
         List<Marker> markers;
@@ -2591,6 +2644,7 @@ public class XYPlot<S extends Comparable<S>> extends Plot
      * @param notify  notify listeners?
      */
     public void addAnnotation(XYAnnotation annotation, boolean notify) {
+        invalidateOverlayIndices();
         Args.nullNotPermitted(annotation, "annotation");
         this.annotations.add(annotation);
         annotation.addChangeListener(this);
@@ -2624,6 +2678,7 @@ public class XYPlot<S extends Comparable<S>> extends Plot
      * @return A boolean (indicates whether or not the annotation was removed).
      */
     public boolean removeAnnotation(XYAnnotation annotation, boolean notify) {
+        invalidateOverlayIndices();
         Args.nullNotPermitted(annotation, "annotation");
         boolean removed = this.annotations.remove(annotation);
         annotation.removeChangeListener(this);
@@ -2651,6 +2706,7 @@ public class XYPlot<S extends Comparable<S>> extends Plot
      * @see #addAnnotation(XYAnnotation)
      */
     public void clearAnnotations() {
+        invalidateOverlayIndices();
         for (XYAnnotation annotation : this.annotations) {
             annotation.removeChangeListener(this);
         }
@@ -2678,6 +2734,41 @@ public class XYPlot<S extends Comparable<S>> extends Plot
         fireChangeEvent();
     }
 
+    /**
+     * Returns the flag that controls whether datasets that implement
+     * {@link SnapshotSource} are drawn from a snapshot.  The default value
+     * is {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @see #setDatasetSnapshots(boolean)
+     *
+     * @since 2.0
+     */
+    public boolean isDatasetSnapshots() {
+        return this.datasetSnapshots;
+    }
+
+    /**
+     * Sets the flag that controls whether datasets that implement
+     * {@link SnapshotSource} are drawn from a snapshot, and sends a
+     * {@link PlotChangeEvent} to all registered listeners.  When the flag
+     * is set, the plot takes a snapshot of each such dataset before drawing
+     * it, and the renderer sees the same data for every pass and series
+     * even while other threads add data to the dataset.  Taking a snapshot
+     * copies only the data added since the previous one.  Entities created
+     * while drawing refer to the snapshot rather than the dataset (see
+     * {@link DatasetSnapshot#getSource()}).
+     *
+     * @param snapshots  the new flag value.
+     *
+     * @since 2.0
+     */
+    public void setDatasetSnapshots(boolean snapshots) {
+        this.datasetSnapshots = snapshots;
+        fireChangeEvent();
+    }
+
     /**
      * Calculates the space required for all the axes in the plot.
      *
@@ -2861,7 +2952,12 @@ public class XYPlot<S extends Comparable<S>> extends Plot
         RectangleInsets insets = getInsets();
         insets.trim(area);
 
+        ChartDrawMetrics metrics = ChartDrawMetrics.of(g2);
+        long start = System.nanoTime();
         AxisSpace space = calculateAxisSpace(g2, area);
+        if (metrics != null) {
+            metrics.recordPhase(ChartDrawMetrics.Phase.AXIS_LAYOUT, start);
+        }
         Rectangle2D dataArea = space.shrink(area, null);
         this.axisOffset.trim(dataArea);
 
@@ -2876,7 +2972,11 @@ public class XYPlot<S extends Comparable<S>> extends Plot
 
         // draw the plot background and axes...
         drawBackground(g2, dataArea);
+        start = System.nanoTime();
         Map<Axis, AxisState> axisStateMap = drawAxes(g2, area, dataArea, info);
+        if (metrics != null) {
+            metrics.recordPhase(ChartDrawMetrics.Phase.AXES, start);
+        }
 
         PlotOrientation orient = getOrientation();
 
@@ -2987,6 +3087,7 @@ public class XYPlot<S extends Comparable<S>> extends Plot
         List<Integer> datasetIndices = getDatasetIndices(order);
 
         // draw background annotations
+        start = System.nanoTime();
         for (int i : rendererIndices) {
             XYItemRenderer renderer = getRenderer(i);
             if (renderer != null) {
@@ -2996,14 +3097,22 @@ public class XYPlot<S extends Comparable<S>> extends Plot
                         Layer.BACKGROUND, info);
             }
         }
+        if (metrics != null) {
+            metrics.recordPhase(ChartDrawMetrics.Phase.ANNOTATIONS, start);
+        }
 
         // render data items...
+        start = System.nanoTime();
         for (int datasetIndex : datasetIndices) {
             foundData = render(g2, dataArea, datasetIndex, info, 
                     crosshairState) || foundData;
         }
+        if (metrics != null) {
+            metrics.recordPhase(ChartDrawMetrics.Phase.RENDERING, start);
+        }
 
         // draw foreground annotations
+        start = System.nanoTime();
         for (int i : rendererIndices) {
             XYItemRenderer renderer = getRenderer(i);
             if (renderer != null) {
@@ -3013,6 +3122,9 @@ public class XYPlot<S extends Comparable<S>> extends Plot
                             Layer.FOREGROUND, info);
             }
         }
+        if (metrics != null) {
+            metrics.recordPhase(ChartDrawMetrics.Phase.ANNOTATIONS, start);
+        }
 
         // draw domain crosshair if required...
         int datasetIndex = crosshairState.getDatasetIndex();
@@ -3067,7 +3179,11 @@ public class XYPlot<S extends Comparable<S>> extends Plot
             drawRangeMarkers(g2, dataArea, i, Layer.FOREGROUND);
         }
 
+        start = System.nanoTime();
         drawAnnotations(g2, dataArea, info);
+        if (metrics != null) {
+            metrics.recordPhase(ChartDrawMetrics.Phase.ANNOTATIONS, start);
+        }
         if (this.shadowGenerator != null && !suppressShadow) {
             BufferedImage shadowImage
                     = this.shadowGenerator.createDropShadow(dataImage);
@@ -3429,18 +3545,52 @@ public class XYPlot<S extends Comparable<S>> extends Plot
                 }
             }
 
+            if (dataset instanceof LevelOfDetailXYDataset) {
+                // the levels for this pass are fixed in a view, leaving the
+                // dataset unchanged for other plots and threads; the axis
+                // length is measured in device pixels, so a scaled-down
+                // frame draws fewer items
+                AffineTransform t = g2.getTransform();
+                double pixels = this.orientation == PlotOrientation.VERTICAL
+                        ? dataArea.getWidth() * Math.hypot(t.getScaleX(),
+                                t.getShearY())
+                        : dataArea.getHeight() * Math.hypot(t.getShearX(),
+                                t.getScaleY());
+                LevelOfDetailXYDataset<S> lod
+                        = (LevelOfDetailXYDataset<S>) dataset;
+                dataset = lod.getLevelView(xAxis.getRange(), pixels);
+            }
+            if (this.datasetSnapshots && dataset instanceof SnapshotSource) {
+                // pin one consistent view of the data for all the passes
+                Object snapshot = ((SnapshotSource<?>) dataset).snapshot();
+                if (snapshot instanceof XYDataset) {
+                    // a snapshot presents the series of its source, so it
+                    // has the same series key type
+                    @SuppressWarnings("unchecked")
+                    XYDataset<S> xySnapshot = (XYDataset<S>) snapshot;
+                    dataset = xySnapshot;
+                }
+            }
             XYItemRendererState state = renderer.initialise(g2, dataArea, this,
                     dataset, info);
             int passCount = renderer.getPassCount();
+            ChartDrawMetrics metrics = ChartDrawMetrics.of(g2);
 
             SeriesRenderingOrder seriesOrder = getSeriesRenderingOrder();
             if (seriesOrder == SeriesRenderingOrder.REVERSE) {
                 //render series in reverse order
                 for (int pass = 0; pass < passCount; pass++) {
+                    long passStart = System.nanoTime();
+                    long drawn = 0L;
+                    long skipped = 0L;
                     int seriesCount = dataset.getSeriesCount();
                     for (int series = seriesCount - 1; series >= 0; series--) {
+                        if (ChartHints.isDrawCancelled(g2)) {
+                            return foundData;
+                        }
+                        int itemCount = dataset.getItemCount(series);
                         int firstItem = 0;
-                        int lastItem = dataset.getItemCount(series) - 1;
+                        int lastItem = itemCount - 1;
                         if (lastItem == -1) {
                             continue;
                         }
@@ -3451,9 +3601,16 @@ public class XYPlot<S extends Comparable<S>> extends Plot
                             firstItem = Math.max(itemBounds[0] - 1, 0);
                             lastItem = Math.min(itemBounds[1] + 1, lastItem);
                         }
+                        int liveCount = Math.max(lastItem - firstItem + 1, 0);
+                        drawn += liveCount;
+                        skipped += itemCount - liveCount;
                         state.startSeriesPass(dataset, series, firstItem,
                                 lastItem, pass, passCount);
                         for (int item = firstItem; item <= lastItem; item++) {
+                            if ((item & CANCEL_CHECK_MASK) == 0
+                                    && ChartHints.isDrawCancelled(g2)) {
+                                return foundData;
+                            }
                             renderer.drawItem(g2, state, dataArea, info,
                                     this, xAxis, yAxis, dataset, series, item,
                                     crosshairState, pass);
@@ -3461,15 +3618,26 @@ public class XYPlot<S extends Comparable<S>> extends Plot
                         state.endSeriesPass(dataset, series, firstItem,
                                 lastItem, pass, passCount);
                     }
+                    if (metrics != null) {
+                        metrics.recordPass(this, index, pass, passStart,
+                                drawn, skipped);
+                    }
                 }
             }
             else {
                 //render series in forward order
                 for (int pass = 0; pass < passCount; pass++) {
+                    long passStart = System.nanoTime();
+                    long drawn = 0L;
+                    long skipped = 0L;
                     int seriesCount = dataset.getSeriesCount();
                     for (int series = 0; series < seriesCount; series++) {
+                        if (ChartHints.isDrawCancelled(g2)) {
+                            return foundData;
+                        }
+                        int itemCount = dataset.getItemCount(series);
                         int firstItem = 0;
-                        int lastItem = dataset.getItemCount(series) - 1;
+                        int lastItem = itemCount - 1;
                         if (state.getProcessVisibleItemsOnly()) {
                             int[] itemBounds = RendererUtils.findLiveItems(
                                     dataset, series, xAxis.getLowerBound(),
@@ -3477,9 +3645,16 @@ public class XYPlot<S extends Comparable<S>> extends Plot
                             firstItem = Math.max(itemBounds[0] - 1, 0);
                             lastItem = Math.min(itemBounds[1] + 1, lastItem);
                         }
+                        int liveCount = Math.max(lastItem - firstItem + 1, 0);
+                        drawn += liveCount;
+                        skipped += itemCount - liveCount;
                         state.startSeriesPass(dataset, series, firstItem,
                                 lastItem, pass, passCount);
                         for (int item = firstItem; item <= lastItem; item++) {
+                            if ((item & CANCEL_CHECK_MASK) == 0
+                                    && ChartHints.isDrawCancelled(g2)) {
+                                return foundData;
+                            }
                             renderer.drawItem(g2, state, dataArea, info,
                                     this, xAxis, yAxis, dataset, series, item,
                                     crosshairState, pass);
@@ -3487,6 +3662,10 @@ public class XYPlot<S extends Comparable<S>> extends Plot
                         state.endSeriesPass(dataset, series, firstItem,
                                 lastItem, pass, passCount);
                     }
+                    if (metrics != null) {
+                        metrics.recordPass(this, index, pass, passStart,
+                                drawn, skipped);
+                    }
                 }
             }
         }
@@ -3660,7 +3839,8 @@ public class XYPlot<S extends Comparable<S>> extends Plot
     }
 
     /**
-     * Draws the annotations for the plot.
+     * Draws the annotations for the plot, skipping any that are known to lie
+     * outside the current axis ranges.
      *
      * @param g2  the graphics device.
      * @param dataArea  the data area.
@@ -3669,9 +3849,13 @@ public class XYPlot<S extends Comparable<S>> extends Plot
     public void drawAnnotations(Graphics2D g2, Rectangle2D dataArea,
                                 PlotRenderingInfo info) {
 
-        for (XYAnnotation annotation : this.annotations) {
-            ValueAxis xAxis = getDomainAxis();
-            ValueAxis yAxis = getRangeAxis();
+        ValueAxis xAxis = getDomainAxis();
+        ValueAxis yAxis = getRangeAxis();
+        if (this.annotationIndex == null) {
+            this.annotationIndex = new XYAnnotationIndex(this.annotations);
+        }
+        for (XYAnnotation annotation
+                : this.annotationIndex.getVisibleAnnotations(xAxis, yAxis)) {
             annotation.draw(g2, this, dataArea, xAxis, yAxis, 0, info);
         }
 
@@ -3698,10 +3882,12 @@ public class XYPlot<S extends Comparable<S>> extends Plot
         if (index >= getDatasetCount()) {
             return;
         }
-        Collection<Marker> markers = getDomainMarkers(index, layer);
+        List<Marker> markers = layer == Layer.FOREGROUND
+                ? this.foregroundDomainMarkers.get(index)
+                : this.backgroundDomainMarkers.get(index);
         ValueAxis axis = getDomainAxisForDataset(index);
         if (markers != null && axis != null) {
-            for (Marker marker : markers) {
+            for (Marker marker : getVisibleMarkers(markers, axis)) {
                 r.drawDomainMarker(g2, this, axis, marker, dataArea);
             }
         }
@@ -3729,15 +3915,70 @@ public class XYPlot<S extends Comparable<S>> extends Plot
         if (index >= getDatasetCount()) {
             return;
         }
-        Collection<Marker> markers = getRangeMarkers(index, layer);
+        List<Marker> markers = layer == Layer.FOREGROUND
+                ? this.foregroundRangeMarkers.get(index)
+                : this.backgroundRangeMarkers.get(index);
         ValueAxis axis = getRangeAxisForDataset(index);
         if (markers != null && axis != null) {
-            for (Marker marker : markers) {
+            for (Marker marker : getVisibleMarkers(markers, axis)) {
                 r.drawRangeMarker(g2, this, axis, marker, dataArea);
             }
         }
     }
 
+    /**
+     * Returns the markers from a marker list that may be visible within the
+     * current range of an axis.  The markers are found using an index that
+     * is built on first use and discarded whenever the markers change.
+     *
+     * @param markers  the markers.
+     * @param axis  the axis.
+     *
+     * @return The visible markers.
+     */
+    private List<Marker> getVisibleMarkers(List<Marker> markers,
+            ValueAxis axis) {
+        if (this.markerIndices == null) {
+            this.markerIndices = new IdentityHashMap<>();
+        }
+        IntervalIndex<Marker> index = this.markerIndices.computeIfAbsent(
+                markers, m -> new IntervalIndex<>(m, XYPlot::markerExtent));
+        return index.query(axis.getRange());
+    }
+
+    /**
+     * Returns the interval (in data space) covered by a marker, or
+     * {@code null} if the marker is not a {@link ValueMarker} or an
+     * {@link IntervalMarker} (so that it is always drawn).
+     *
+     * @param marker  the marker.
+     *
+     * @return The interval (possibly {@code null}).
+     */
+    private static Range markerExtent(Marker marker) {
+        if (marker instanceof ValueMarker) {
+            double v = ((ValueMarker) marker).getValue();
+            return new Range(v, v);
+        }
+        if (marker instanceof IntervalMarker) {
+            IntervalMarker im = (IntervalMarker) marker;
+            double start = im.getStartValue();
+            double end = im.getEndValue();
+            return new Range(Math.min(start, end), Math.max(start, end));
+        }
+        return null;
+    }
+
+    /**
+     * Discards the indices used to skip the annotations and markers that are
+     * outside the axis ranges.  This method is called whenever the
+     * annotations or markers change.
+     */
+    private void invalidateOverlayIndices() {
+        this.annotationIndex = null;
+        this.markerIndices = null;
+    }
+
     /**
      * Returns the list of domain markers (read only) for the specified layer.
      *
@@ -4118,6 +4359,7 @@ public class XYPlot<S extends Comparable<S>> extends Plot
      */
     @Override
     public void annotationChanged(AnnotationChangeEvent event) {
+        invalidateOverlayIndices();
         if (getParent() != null) {
             getParent().annotationChanged(event);
         }
@@ -4127,6 +4369,18 @@ public class XYPlot<S extends Comparable<S>> extends Plot
         }
     }
 
+    /**
+     * Receives notification of a change to a marker that is assigned to the
+     * plot.
+     *
+     * @param event  the event.
+     */
+    @Override
+    public void markerChanged(MarkerChangeEvent event) {
+        invalidateOverlayIndices();
+        super.markerChanged(event);
+    }
+
     /**
      * Receives notification of a change to the plot's dataset.
      * <P>
@@ -5081,6 +5335,9 @@ public class XYPlot<S extends Comparable<S>> extends Plot
         if (!Objects.equals(this.shadowGenerator, that.shadowGenerator)) {
             return false;
         }
+        if (this.datasetSnapshots != that.datasetSnapshots) {
+            return false;
+        }
         return super.equals(obj);
     }
 
@@ -5141,6 +5398,7 @@ public class XYPlot<S extends Comparable<S>> extends Plot
         hash = 43 * hash + this.weight;
         hash = 43 * hash + Objects.hashCode(this.fixedLegendItems);
         hash = 43 * hash + Objects.hashCode(this.shadowGenerator);
+        hash = 43 * hash + (this.datasetSnapshots ? 1 : 0);
         return hash;
     }
 
@@ -5202,6 +5460,8 @@ public class XYPlot<S extends Comparable<S>> extends Plot
         clone.backgroundRangeMarkers = CloneUtils.clone(
                 this.backgroundRangeMarkers);
         clone.annotations = CloneUtils.cloneList(this.annotations);
+        clone.annotationIndex = null;
+        clone.markerIndices = null;
         if (this.fixedDomainAxisSpace != null) {
             clone.fixedDomainAxisSpace = CloneUtils.clone(
                     this.fixedDomainAxisSpace);
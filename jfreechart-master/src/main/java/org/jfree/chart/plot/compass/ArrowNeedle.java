@@ -39,6 +39,7 @@ package org.jfree.chart.plot.compass;
 
 import java.awt.Graphics2D;
 import java.awt.Shape;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.GeneralPath;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
@@ -104,16 +105,18 @@ public class ArrowNeedle extends MeterNeedle implements Cloneable,
         shape1.lineTo(x - getSize(), minY);
         shape1.closePath();
 
+        AffineTransform transform = null;
         if ((rotate != null) && (angle != 0)) {
-            getTransform().setToRotation(angle, rotate.getX(), rotate.getY());
-            d = getTransform().createTransformedShape(shape);
+            transform = AffineTransform.getRotateInstance(angle,
+                    rotate.getX(), rotate.getY());
+            d = transform.createTransformedShape(shape);
         } else {
             d = shape;
         }
         defaultDisplay(g2, d);
 
         if ((rotate != null) && (angle != 0)) {
-            d = getTransform().createTransformedShape(shape1);
+            d = transform.createTransformedShape(shape1);
         } else {
             d = shape1;
         }
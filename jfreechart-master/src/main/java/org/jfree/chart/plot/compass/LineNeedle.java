@@ -39,6 +39,7 @@ package org.jfree.chart.plot.compass;
 
 import java.awt.Graphics2D;
 import java.awt.Shape;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
@@ -73,8 +74,9 @@ public class LineNeedle extends MeterNeedle implements Cloneable, Serializable {
 
         if ((rotate != null) && (angle != 0)) {
             /// we have rotation
-            getTransform().setToRotation(angle, rotate.getX(), rotate.getY());
-            s = getTransform().createTransformedShape(s);
+            AffineTransform transform = AffineTransform.getRotateInstance(
+                    angle, rotate.getX(), rotate.getY());
+            s = transform.createTransformedShape(s);
         }
 
         defaultDisplay(g2, s);
@@ -88,7 +88,14 @@ public abstract class MeterNeedle implements Serializable {
     /** Scalar to apply to locate the rotation y point. */
     private double rotateY = 0.5;
 
-    /** A transform. */
+    /**
+     * A transform.
+     *
+     * @deprecated This transform is shared by all needles, so it is not safe
+     *     to use when charts are drawn on several threads.  The needles in
+     *     this package now create their own transforms.
+     */
+    @Deprecated
     protected static AffineTransform transform = new AffineTransform();
 
     /**
@@ -323,7 +330,12 @@ public abstract class MeterNeedle implements Serializable {
      * Returns the transform.
      *
      * @return The transform.
+     *
+     * @deprecated The transform is shared by all needles, so it is not safe
+     *     to use when charts are drawn on several threads.  Create a
+     *     transform in {@code drawNeedle()} instead.
      */
+    @Deprecated
     public AffineTransform getTransform() {
         return MeterNeedle.transform;
     }
@@ -38,6 +38,7 @@
 package org.jfree.chart.plot.compass;
 
 import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Area;
 import java.awt.geom.Ellipse2D;
 import java.awt.geom.GeneralPath;
@@ -94,8 +95,9 @@ public class MiddlePinNeedle extends MeterNeedle implements Cloneable,
         shape.add(new Area(pointer));
         if ((rotate != null) && (angle != 0)) {
             /// we have rotation
-            getTransform().setToRotation(angle, rotate.getX(), rotate.getY());
-            shape.transform(getTransform());
+            AffineTransform transform = AffineTransform.getRotateInstance(
+                    angle, rotate.getX(), rotate.getY());
+            shape.transform(transform);
         }
 
         defaultDisplay(g2, shape);
@@ -38,6 +38,7 @@
 package org.jfree.chart.plot.compass;
 
 import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Arc2D;
 import java.awt.geom.Area;
 import java.awt.geom.Point2D;
@@ -80,8 +81,9 @@ public class PlumNeedle extends MeterNeedle implements Cloneable, Serializable {
 
         if ((rotate != null) && (angle != 0)) {
             /// we have rotation houston, please spin me
-            getTransform().setToRotation(angle, rotate.getX(), rotate.getY());
-            s.transform(getTransform());
+            AffineTransform transform = AffineTransform.getRotateInstance(
+                    angle, rotate.getX(), rotate.getY());
+            s.transform(transform);
         }
 
         defaultDisplay(g2, s);
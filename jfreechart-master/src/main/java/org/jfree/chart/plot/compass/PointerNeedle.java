@@ -38,6 +38,7 @@
 package org.jfree.chart.plot.compass;
 
 import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.GeneralPath;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
@@ -86,9 +87,10 @@ public class PointerNeedle extends MeterNeedle implements Cloneable,
 
         if ((rotate != null) && (angle != 0)) {
             /// we have rotation huston, please spin me
-            getTransform().setToRotation(angle, rotate.getX(), rotate.getY());
-            shape1.transform(getTransform());
-            shape2.transform(getTransform());
+            AffineTransform transform = AffineTransform.getRotateInstance(
+                    angle, rotate.getX(), rotate.getY());
+            shape1.transform(transform);
+            shape2.transform(transform);
         }
 
         if (getFillPaint() != null) {
@@ -38,6 +38,7 @@
 package org.jfree.chart.plot.compass;
 
 import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Arc2D;
 import java.awt.geom.GeneralPath;
 import java.awt.geom.Point2D;
@@ -71,14 +72,15 @@ public class ShipNeedle extends MeterNeedle implements Cloneable, Serializable {
         shape.append(new Arc2D.Double(0.0, -7.0, 10, 14, 154.5, 25.5,
                 Arc2D.OPEN), true);
         shape.closePath();
-        getTransform().setToTranslation(plotArea.getMinX(), plotArea.getMaxY());
-        getTransform().scale(plotArea.getWidth(), plotArea.getHeight() / 3);
-        shape.transform(getTransform());
+        AffineTransform transform = AffineTransform.getTranslateInstance(
+                plotArea.getMinX(), plotArea.getMaxY());
+        transform.scale(plotArea.getWidth(), plotArea.getHeight() / 3);
+        shape.transform(transform);
 
         if ((rotate != null) && (angle != 0)) {
             /// we have rotation
-            getTransform().setToRotation(angle, rotate.getX(), rotate.getY());
-            shape.transform(getTransform());
+            transform.setToRotation(angle, rotate.getX(), rotate.getY());
+            shape.transform(transform);
         }
 
         defaultDisplay(g2, shape);
@@ -473,30 +473,46 @@ public class FlowPlot extends Plot implements Cloneable, PublicCloneable,
         // use default JFreeChart background handling
         drawBackground(g2, area);
 
+        FlowDataset<?> dataset = this.dataset;
+        drawFlows(g2, area, entities, dataset);
+    }
+
+    /**
+     * Draws the nodes, flows and labels for the dataset (this is a separate
+     * method so that the node keys can be typed).
+     *
+     * @param <K>  the type of the node keys.
+     * @param g2  the graphics target.
+     * @param area  the plot area (after the insets are trimmed).
+     * @param entities  the entity collection ({@code null} permitted).
+     * @param dataset  the dataset.
+     */
+    private <K extends Comparable<K>> void drawFlows(Graphics2D g2,
+            Rectangle2D area, EntityCollection entities,
+            FlowDataset<K> dataset) {
         double flow2d = flow2d(area);
 		double nodeMargin2d = this.nodeMargin * area.getHeight();
-        int stageCount = this.dataset.getStageCount();
+        int stageCount = dataset.getStageCount();
         double stageWidth = (area.getWidth() - ((stageCount + 1) * this.nodeWidth)) / stageCount;
         double flowOffset = area.getWidth() * this.flowMargin;
         
-        Map<NodeKey, Rectangle2D> nodeRects = new HashMap<>();
-        boolean hasNodeSelections = FlowDatasetUtils.hasNodeSelections(this.dataset);
-        boolean hasFlowSelections = FlowDatasetUtils.hasFlowSelections(this.dataset);
+        Map<NodeKey<K>, Rectangle2D> nodeRects = new HashMap<>();
+        boolean hasNodeSelections = FlowDatasetUtils.hasNodeSelections(dataset);
+        boolean hasFlowSelections = FlowDatasetUtils.hasFlowSelections(dataset);
         
         // iterate over all the stages, we can render the source node rects and
         // the flows ... we should add the destination node rects last, then
         // in a final pass add the labels
-        for (int stage = 0; stage < this.dataset.getStageCount(); stage++) {
+        for (int stage = 0; stage < dataset.getStageCount(); stage++) {
             
             double stageLeft = area.getX() + (stage + 1) * this.nodeWidth + (stage * stageWidth);
             double stageRight = stageLeft + stageWidth;
             
             // calculate the source node and flow rectangles
-            Map<FlowKey, Rectangle2D> sourceFlowRects = new HashMap<>();
+            Map<FlowKey<K>, Rectangle2D> sourceFlowRects = new HashMap<>();
             double nodeY = area.getY();
-            for (Object s : this.dataset.getSources(stage)) {
-                Rectangle2D nodeRect = nodeRect(flow2d, stage, stageLeft, nodeY, s);
-				Comparable source = (Comparable) s;
+            for (K source : dataset.getSources(stage)) {
+                Rectangle2D nodeRect = nodeRect(flow2d, stage, stageLeft, nodeY, source);
                 double inflow = FlowDatasetUtils.calculateInflow(dataset, source, stage);
                 double outflow = FlowDatasetUtils.calculateOutflow(dataset, source, stage);
                 double nodeHeight = (Math.max(inflow, outflow) * flow2d);
@@ -505,9 +521,8 @@ public class FlowPlot extends Plot implements Cloneable, PublicCloneable,
                 }
                 nodeRects.put(new NodeKey<>(stage, source), nodeRect);
                 double y = nodeY;
-                for (Object d : this.dataset.getDestinations(stage)) {
-                    Comparable destination = (Comparable) d;
-                    Number flow = this.dataset.getFlow(stage, source, destination);
+                for (K destination : FlowDatasetUtils.getFlowDestinations(dataset, stage, source)) {
+                    Number flow = dataset.getFlow(stage, source, destination);
                     if (flow != null) {
                         double height = flow.doubleValue() * flow2d;
                         Rectangle2D rect = new Rectangle2D.Double(stageLeft - nodeWidth, y, nodeWidth, height);
@@ -519,18 +534,16 @@ public class FlowPlot extends Plot implements Cloneable, PublicCloneable,
             }
             
             // calculate the destination rectangles
-            Map<FlowKey, Rectangle2D> destFlowRects = new HashMap<>();
+            Map<FlowKey<K>, Rectangle2D> destFlowRects = new HashMap<>();
             nodeY = area.getY();
-            for (Object d : this.dataset.getDestinations(stage)) {
-                Comparable destination = (Comparable) d;
+            for (K destination : dataset.getDestinations(stage)) {
                 double inflow = FlowDatasetUtils.calculateInflow(dataset, destination, stage + 1);
                 double outflow = FlowDatasetUtils.calculateOutflow(dataset, destination, stage + 1);
                 double nodeHeight = Math.max(inflow, outflow) * flow2d;
                 nodeRects.put(new NodeKey<>(stage + 1, destination), new Rectangle2D.Double(stageRight, nodeY, nodeWidth, nodeHeight));
                 double y = nodeY;
-                for (Object s : this.dataset.getSources(stage)) {
-                    Comparable source = (Comparable) s;
-                    Number flow = this.dataset.getFlow(stage, source, destination);
+                for (K source : FlowDatasetUtils.getFlowSources(dataset, stage, destination)) {
+                    Number flow = dataset.getFlow(stage, source, destination);
                     if (flow != null) {
                         double height = flow.doubleValue() * flow2d;
                         Rectangle2D rect = new Rectangle2D.Double(stageRight, y, nodeWidth, height);
@@ -541,9 +554,8 @@ public class FlowPlot extends Plot implements Cloneable, PublicCloneable,
                 nodeY = nodeY + nodeHeight + nodeMargin2d;
             }
         
-            for (Object s : this.dataset.getSources(stage)) {
-                Comparable source = (Comparable) s;
-                NodeKey nodeKey = new NodeKey<>(stage, source);
+            for (K source : dataset.getSources(stage)) {
+                NodeKey<K> nodeKey = new NodeKey<>(stage, source);
                 Rectangle2D nodeRect = nodeRects.get(nodeKey);
                 Color ncol = lookupNodeColor(nodeKey);
                 if (hasNodeSelections) {
@@ -555,9 +567,8 @@ public class FlowPlot extends Plot implements Cloneable, PublicCloneable,
                 g2.setPaint(ncol);
                 g2.fill(nodeRect);
                                 
-                for (Object d : this.dataset.getDestinations(stage)) {
-                    Comparable destination = (Comparable) d;
-                    FlowKey flowKey = new FlowKey<>(stage, source, destination);
+                for (K destination : FlowDatasetUtils.getFlowDestinations(dataset, stage, source)) {
+                    FlowKey<K> flowKey = new FlowKey<>(stage, source, destination);
                     Rectangle2D sourceRect = sourceFlowRects.get(flowKey);
                     if (sourceRect == null) { 
                         continue; 
@@ -586,10 +597,9 @@ public class FlowPlot extends Plot implements Cloneable, PublicCloneable,
         }
         
         // now draw the destination nodes
-        int lastStage = this.dataset.getStageCount() - 1;
-        for (Object d : this.dataset.getDestinations(lastStage)) {
-            Comparable destination = (Comparable) d;
-            NodeKey nodeKey = new NodeKey<>(lastStage + 1, destination);
+        int lastStage = dataset.getStageCount() - 1;
+        for (K destination : dataset.getDestinations(lastStage)) {
+            NodeKey<K> nodeKey = new NodeKey<>(lastStage + 1, destination);
             Rectangle2D nodeRect = nodeRects.get(nodeKey);
             if (nodeRect != null) {
                 Color ncol = ncol(hasNodeSelections, nodeKey);
@@ -604,9 +614,9 @@ public class FlowPlot extends Plot implements Cloneable, PublicCloneable,
         // now draw all the labels over top of everything else
         g2.setFont(this.defaultNodeLabelFont);
         g2.setPaint(this.defaultNodeLabelPaint);
-        for (NodeKey key : nodeRects.keySet()) {
+        for (NodeKey<K> key : nodeRects.keySet()) {
             Rectangle2D r = nodeRects.get(key);
-            if (key.getStage() < this.dataset.getStageCount()) {
+            if (key.getStage() < dataset.getStageCount()) {
                 TextUtils.drawAlignedString(key.getNode().toString(), g2, 
                         (float) (r.getMaxX() + flowOffset + this.nodeLabelOffsetX), 
                         (float) labelY(r), TextAnchor.CENTER_LEFT);                
@@ -627,8 +637,8 @@ public class FlowPlot extends Plot implements Cloneable, PublicCloneable,
 		return nodeRect;
 	}
 
-	private GradientPaint gp(boolean hasFlowSelections, Map<FlowKey, Rectangle2D> destFlowRects, NodeKey nodeKey,
-			Color ncol, FlowKey flowKey, Rectangle2D sourceRect) {
+	private <K extends Comparable<K>> GradientPaint gp(boolean hasFlowSelections, Map<FlowKey<K>, Rectangle2D> destFlowRects, NodeKey<K> nodeKey,
+			Color ncol, FlowKey<K> flowKey, Rectangle2D sourceRect) {
 		Rectangle2D destRect = destFlowRects.get(flowKey);
 		Color nc = lookupNodeColor(nodeKey);
 		if (hasFlowSelections) {
@@ -103,6 +103,13 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
 
 	private transient AbstractRendererProduct abstractRendererProduct = new AbstractRendererProduct();
 
+    /**
+     * The resolved series paints, strokes, shapes and visibility flags,
+     * filled in as they are looked up and discarded whenever one of them
+     * changes (possibly {@code null}).
+     */
+    private transient SeriesAttributeCache attributeCache;
+
 	/** For serialization. */
     private static final long serialVersionUID = -828267569428206075L;
 
@@ -415,7 +422,7 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
      * @return A boolean.
      */
     public boolean getItemVisible(int series, int item) {
-        return abstractRendererProduct2.isSeriesVisible(series);
+        return isSeriesVisible(series);
     }
 
     /**
@@ -429,7 +436,30 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
      * @return A boolean.
      */
     public boolean isSeriesVisible(int series) {
-        return abstractRendererProduct2.isSeriesVisible(series);
+        SeriesAttributeCache cache = getAttributeCache();
+        Boolean visible = cache.getVisible(series);
+        if (visible == null) {
+            visible = abstractRendererProduct2.isSeriesVisible(series);
+            cache.putVisible(series, visible);
+        }
+        return visible;
+    }
+
+    /**
+     * Returns the cache of resolved series attributes, creating it if
+     * necessary.  The lookup methods fill in the cache as they go, and
+     * every change to a cached attribute discards it, so that the renderers
+     * resolve each attribute once per series rather than once per item.
+     *
+     * @return The cache (never {@code null}).
+     */
+    private SeriesAttributeCache getAttributeCache() {
+        SeriesAttributeCache cache = this.attributeCache;
+        if (cache == null) {
+            cache = new SeriesAttributeCache();
+            this.attributeCache = cache;
+        }
+        return cache;
     }
 
     /**
@@ -471,6 +501,7 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
      */
     public void setSeriesVisible(int series, Boolean visible, boolean notify) {
         this.abstractRendererProduct2.getSeriesVisibleMap().put(series, visible);
+        this.attributeCache = null;
         if (notify) {
             // we create an event with a special flag set...the purpose of
             // this is to communicate to the plot (the default receiver of
@@ -516,6 +547,7 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
      */
     public void setDefaultSeriesVisible(boolean visible, boolean notify) {
         abstractRendererProduct2.setDefaultSeriesVisible(visible);
+        this.attributeCache = null;
         if (notify) {
             // we create an event with a special flag set...the purpose of
             // this is to communicate to the plot (the default receiver of
@@ -653,7 +685,12 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
      */
     public Paint lookupSeriesPaint(int series) {
 
-        Paint seriesPaint = getSeriesPaint(series);
+        SeriesAttributeCache cache = getAttributeCache();
+        Paint seriesPaint = cache.getPaint(series);
+        if (seriesPaint != null) {
+            return seriesPaint;
+        }
+        seriesPaint = getSeriesPaint(series);
         if (seriesPaint == null && this.autoPopulateSeriesPaint) {
             DrawingSupplier supplier = getDrawingSupplier();
             if (supplier != null) {
@@ -663,7 +700,13 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
         }
         if (seriesPaint == null) {
             seriesPaint = this.defaultPaint;
+            if (this.autoPopulateSeriesPaint) {
+                // not cached, the series paint can still be populated once
+                // there is a drawing supplier
+                return seriesPaint;
+            }
         }
+        cache.putPaint(series, seriesPaint);
         return seriesPaint;
 
     }
@@ -706,6 +749,7 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
      */
     public void setSeriesPaint(int series, Paint paint, boolean notify) {
         this.seriesPaintMap.put(series, paint);
+        this.attributeCache = null;
         if (notify) {
             fireChangeEvent();
         }
@@ -719,6 +763,7 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
      */
     public void clearSeriesPaints(boolean notify) {
         this.seriesPaintMap.clear();
+        this.attributeCache = null;
         if (notify) {
             fireChangeEvent();
         }
@@ -759,6 +804,7 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
      */
     public void setDefaultPaint(Paint paint, boolean notify) {
         this.defaultPaint = paint;
+        this.attributeCache = null;
         if (notify) {
             fireChangeEvent();
         }
@@ -786,6 +832,7 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
      */
     public void setAutoPopulateSeriesPaint(boolean auto) {
         this.autoPopulateSeriesPaint = auto;
+        this.attributeCache = null;
     }
 
     //// FILL PAINT //////////////////////////////////////////////////////////
@@ -1118,7 +1165,12 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
      */
     public Stroke lookupSeriesStroke(int series) {
 
-        Stroke result = getSeriesStroke(series);
+        SeriesAttributeCache cache = getAttributeCache();
+        Stroke result = cache.getStroke(series);
+        if (result != null) {
+            return result;
+        }
+        result = getSeriesStroke(series);
         if (result == null && this.autoPopulateSeriesStroke) {
             DrawingSupplier supplier = getDrawingSupplier();
             if (supplier != null) {
@@ -1128,7 +1180,11 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
         }
         if (result == null) {
             result = this.defaultStroke;
+            if (this.autoPopulateSeriesStroke) {
+                return result;
+            }
         }
+        cache.putStroke(series, result);
         return result;
 
     }
@@ -1171,6 +1227,7 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
      */
     public void setSeriesStroke(int series, Stroke stroke, boolean notify) {
         this.seriesStrokeMap.put(series, stroke);
+        this.attributeCache = null;
         if (notify) {
             fireChangeEvent();
         }
@@ -1184,6 +1241,7 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
      */
     public void clearSeriesStrokes(boolean notify) {
         this.seriesStrokeMap.clear();
+        this.attributeCache = null;
         if (notify) {
             fireChangeEvent();
         }
@@ -1225,6 +1283,7 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
     public void setDefaultStroke(Stroke stroke, boolean notify) {
         Args.nullNotPermitted(stroke, "stroke");
         this.defaultStroke = stroke;
+        this.attributeCache = null;
         if (notify) {
             fireChangeEvent();
         }
@@ -1252,6 +1311,7 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
      */
     public void setAutoPopulateSeriesStroke(boolean auto) {
         this.autoPopulateSeriesStroke = auto;
+        this.attributeCache = null;
     }
 
     // OUTLINE STROKE
@@ -1432,7 +1492,12 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
      */
     public Shape lookupSeriesShape(int series) {
 
-        Shape result = getSeriesShape(series);
+        SeriesAttributeCache cache = getAttributeCache();
+        Shape result = cache.getShape(series);
+        if (result != null) {
+            return result;
+        }
+        result = getSeriesShape(series);
         if (result == null && this.autoPopulateSeriesShape) {
             DrawingSupplier supplier = getDrawingSupplier();
             if (supplier != null) {
@@ -1442,7 +1507,11 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
         }
         if (result == null) {
             result = this.defaultShape;
+            if (this.autoPopulateSeriesShape) {
+                return result;
+            }
         }
+        cache.putShape(series, result);
         return result;
 
     }
@@ -1485,6 +1554,7 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
      */
     public void setSeriesShape(int series, Shape shape, boolean notify) {
         this.seriesShapeMap.put(series, shape);
+        this.attributeCache = null;
         if (notify) {
             fireChangeEvent();
         }
@@ -1526,6 +1596,7 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
     public void setDefaultShape(Shape shape, boolean notify) {
         Args.nullNotPermitted(shape, "shape");
         this.defaultShape = shape;
+        this.attributeCache = null;
         if (notify) {
             fireChangeEvent();
         }
@@ -1553,6 +1624,7 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
      */
     public void setAutoPopulateSeriesShape(boolean auto) {
         this.autoPopulateSeriesShape = auto;
+        this.attributeCache = null;
     }
 
     // ITEM LABEL VISIBILITY...
@@ -1579,9 +1651,14 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
      * @return A boolean.
      */
     public boolean isSeriesItemLabelsVisible(int series) {
-        Boolean b = this.seriesItemLabelsVisibleMap.get(series);
+        SeriesAttributeCache cache = getAttributeCache();
+        Boolean b = cache.getItemLabelsVisible(series);
         if (b == null) {
-            return this.defaultItemLabelsVisible;
+            b = this.seriesItemLabelsVisibleMap.get(series);
+            if (b == null) {
+                b = this.defaultItemLabelsVisible;
+            }
+            cache.putItemLabelsVisible(series, b);
         }
         return b;
     }
@@ -1619,6 +1696,7 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
      */
     public void setSeriesItemLabelsVisible(int series, Boolean visible, boolean notify) {
         this.seriesItemLabelsVisibleMap.put(series, visible);
+        this.attributeCache = null;
         if (notify) {
             fireChangeEvent();
         }
@@ -1661,6 +1739,7 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
      */
     public void setDefaultItemLabelsVisible(boolean visible, boolean notify) {
         this.defaultItemLabelsVisible = visible;
+        this.attributeCache = null;
         if (notify) {
             fireChangeEvent();
         }
@@ -2637,6 +2716,7 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
      * Sends a {@link RendererChangeEvent} to all registered listeners.
      */
     public void fireChangeEvent() {
+        this.attributeCache = null;
         abstractRendererProduct.notifyListeners(new RendererChangeEvent(this));
     }
 
@@ -2646,6 +2726,7 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
      * @param event  information about the change event.
      */
     public void notifyListeners(RendererChangeEvent event) {
+        this.attributeCache = null;
         abstractRendererProduct.notifyListeners(event);
     }
 
@@ -2862,6 +2943,7 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
 		clone.abstractRendererProduct3 = (AbstractRendererProduct3) this.abstractRendererProduct3.clone();
 		clone.abstractRendererProduct2 = (AbstractRendererProduct2) this.abstractRendererProduct2.clone();
 		clone.abstractRendererProduct = (AbstractRendererProduct) this.abstractRendererProduct.clone();
+        clone.attributeCache = null;
 
         if (this.abstractRendererProduct2.getSeriesVisibleMap() != null) {
             clone.abstractRendererProduct2
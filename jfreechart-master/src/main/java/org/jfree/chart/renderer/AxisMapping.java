@@ -0,0 +1,135 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------
+ * AxisMapping.java
+ * ----------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.renderer;
+
+import java.awt.geom.Rectangle2D;
+
+import org.jfree.chart.api.RectangleEdge;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.internal.Args;
+
+/**
+ * Maps data values to Java2D coordinates for one axis and one data area,
+ * for renderers that project very many values at once.  When the axis is
+ * found to be linear (by checking {@link ValueAxis#valueToJava2D} at a few
+ * points across its range) each value is mapped with a single multiply-add;
+ * otherwise every value goes through {@code valueToJava2D()}.
+ * <p>
+ * A mapping is a snapshot of the axis range at the time it is created, and
+ * it can be used from several threads at once.
+ *
+ * @since 2.0
+ */
+public final class AxisMapping {
+
+    /** Fractions of the axis range used to check that an axis is linear. */
+    private static final double[] PROBES = {0.1, 0.37, 0.5, 0.73, 0.9};
+
+    /** The axis. */
+    private final ValueAxis axis;
+
+    /** The data area. */
+    private final Rectangle2D area;
+
+    /** The axis edge. */
+    private final RectangleEdge edge;
+
+    /** Is the mapping linear? */
+    private final boolean linear;
+
+    /** The Java2D coordinate of the value zero (linear mappings). */
+    private final double offset;
+
+    /** The Java2D units per data unit (linear mappings). */
+    private final double scale;
+
+    /**
+     * Creates a mapping for an axis.
+     *
+     * @param axis  the axis ({@code null} not permitted).
+     * @param area  the data area ({@code null} not permitted).
+     * @param edge  the axis edge ({@code null} not permitted).
+     */
+    public AxisMapping(ValueAxis axis, Rectangle2D area, RectangleEdge edge) {
+        Args.nullNotPermitted(axis, "axis");
+        Args.nullNotPermitted(area, "area");
+        Args.nullNotPermitted(edge, "edge");
+        this.axis = axis;
+        this.area = (Rectangle2D) area.clone();
+        this.edge = edge;
+        double lower = axis.getLowerBound();
+        double upper = axis.getUpperBound();
+        double j0 = axis.valueToJava2D(lower, area, edge);
+        double j1 = axis.valueToJava2D(upper, area, edge);
+        double s = (j1 - j0) / (upper - lower);
+        double o = j0 - s * lower;
+        boolean lin = upper > lower && Double.isFinite(s)
+                && Double.isFinite(o);
+        for (int i = 0; lin && i < PROBES.length; i++) {
+            double v = lower + PROBES[i] * (upper - lower);
+            double j = axis.valueToJava2D(v, area, edge);
+            lin = Math.abs(j - (o + s * v)) <= 1e-6 * (1.0 + Math.abs(j));
+        }
+        this.linear = lin;
+        this.offset = o;
+        this.scale = s;
+    }
+
+    /**
+     * Returns {@code true} if the axis was found to be linear.
+     *
+     * @return A boolean.
+     */
+    public boolean isLinear() {
+        return this.linear;
+    }
+
+    /**
+     * Maps a data value to Java2D space.
+     *
+     * @param value  the data value.
+     *
+     * @return The Java2D coordinate.
+     */
+    public double map(double value) {
+        if (this.linear) {
+            return this.offset + this.scale * value;
+        }
+        return this.axis.valueToJava2D(value, this.area, this.edge);
+    }
+
+}
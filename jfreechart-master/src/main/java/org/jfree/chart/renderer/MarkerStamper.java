@@ -0,0 +1,364 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------
+ * MarkerStamper.java
+ * ------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.renderer;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.Paint;
+import java.awt.PrintGraphics;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.print.PrinterGraphics;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.jfree.chart.internal.Args;
+import org.jfree.chart.util.StreamingSVGGraphics2D;
+
+/**
+ * Draws item shapes (markers) by stamping small pre-rendered images, for
+ * renderers that draw the same series shape at very many points.  Each
+ * distinct combination of shape, paints and stroke is rasterised once (for
+ * each quarter-pixel offset that is actually used) and then copied to the
+ * target with {@code drawImage()}, so no translated shape is created for
+ * each item.
+ * <p>
+ * Stamping is only used when the result matches vector drawing to within a
+ * quarter of a pixel: the target must be a raster (screen or image)
+ * {@code Graphics2D} with a transform that is an integer translation, the
+ * composite must be {@code AlphaComposite.SrcOver} and the paints must be
+ * plain {@code Color} instances.  In every other case (including SVG, PDF
+ * and printer targets) {@link #stamp stamp()} returns {@code false} and the
+ * caller should draw the shape as a vector.
+ * <p>
+ * A stamper holds per-drawing state, so renderers keep one in their
+ * renderer state rather than in the renderer itself.
+ *
+ * @since 2.0
+ */
+public final class MarkerStamper {
+
+    /** The number of sub-pixel offsets per pixel, along each axis. */
+    private static final int PHASES = 4;
+
+    /** The largest sprite area (in pixels) that will be stamped. */
+    private static final int MAX_SPRITE_AREA = 64 * 64;
+
+    /** The maximum number of sprites held before the cache is cleared. */
+    private static final int MAX_SPRITES = 512;
+
+    /** The sprites, keyed by shape, paints, stroke and offset. */
+    private final Map<Key, Sprite> sprites;
+
+    /** A reusable key for sprite lookups. */
+    private final Key probe;
+
+    /** The target that {@link #rasterTarget} was computed for. */
+    private Graphics2D target;
+
+    /** Is {@link #target} a raster target? */
+    private boolean rasterTarget;
+
+    /**
+     * Creates a new stamper with an empty sprite cache.
+     */
+    public MarkerStamper() {
+        this.sprites = new HashMap<>();
+        this.probe = new Key();
+    }
+
+    /**
+     * Returns {@code true} if the specified graphics target renders to
+     * pixels (a screen or an image), and {@code false} for vector targets
+     * such as SVG, PDF and printers.
+     *
+     * @param g2  the graphics target ({@code null} not permitted).
+     *
+     * @return A boolean.
+     */
+    public static boolean isRasterTarget(Graphics2D g2) {
+        Args.nullNotPermitted(g2, "g2");
+        if (g2 instanceof StreamingSVGGraphics2D
+                || g2 instanceof PrinterGraphics
+                || g2 instanceof PrintGraphics) {
+            return false;
+        }
+        // JFreeSVG, OrsonPDF, Batik and friends report an image buffer
+        // device, so they are recognised by name
+        String name = g2.getClass().getName();
+        if (name.contains("SVG") || name.contains("PDF")
+                || name.contains("EPS")) {
+            return false;
+        }
+        GraphicsConfiguration gc = g2.getDeviceConfiguration();
+        if (gc == null) {
+            return false;
+        }
+        int type = gc.getDevice().getType();
+        return type == GraphicsDevice.TYPE_RASTER_SCREEN
+                || type == GraphicsDevice.TYPE_IMAGE_BUFFER;
+    }
+
+    /**
+     * Stamps a shape at the specified location, if that can be done
+     * faithfully on the target.  The fill is drawn first, then the outline,
+     * as the renderers do for vector shapes.
+     *
+     * @param g2  the graphics target ({@code null} not permitted).
+     * @param shape  the shape, centred on the origin ({@code null} not
+     *     permitted).
+     * @param x  the x-coordinate of the item.
+     * @param y  the y-coordinate of the item.
+     * @param fillPaint  the fill paint ({@code null} for no fill).
+     * @param outlinePaint  the outline paint ({@code null} for no outline).
+     * @param outlineStroke  the outline stroke ({@code null} permitted if
+     *     there is no outline).
+     *
+     * @return {@code true} if the shape was stamped, and {@code false} if
+     *     nothing was drawn and the caller should draw the shape itself.
+     */
+    public boolean stamp(Graphics2D g2, Shape shape, double x, double y,
+            Paint fillPaint, Paint outlinePaint, Stroke outlineStroke) {
+        Args.nullNotPermitted(g2, "g2");
+        Args.nullNotPermitted(shape, "shape");
+        if (g2 != this.target) {
+            this.target = g2;
+            this.rasterTarget = isRasterTarget(g2);
+        }
+        if (!this.rasterTarget) {
+            return false;
+        }
+        if (!(fillPaint == null || fillPaint instanceof Color)
+                || !(outlinePaint == null || outlinePaint instanceof Color)
+                || (outlinePaint != null && outlineStroke == null)) {
+            return false;
+        }
+        AffineTransform t = g2.getTransform();
+        if ((t.getType() & ~AffineTransform.TYPE_TRANSLATION) != 0
+                || t.getTranslateX() != Math.rint(t.getTranslateX())
+                || t.getTranslateY() != Math.rint(t.getTranslateY())) {
+            return false;
+        }
+        if (!AlphaComposite.SrcOver.equals(g2.getComposite())) {
+            return false;
+        }
+        double qx = Math.rint(x * PHASES);
+        double qy = Math.rint(y * PHASES);
+        if (Math.abs(qx) > Integer.MAX_VALUE
+                || Math.abs(qy) > Integer.MAX_VALUE) {
+            return false;
+        }
+        int px = Math.floorMod((int) qx, PHASES);
+        int py = Math.floorMod((int) qy, PHASES);
+        this.probe.set(shape, fillPaint, outlinePaint,
+                outlinePaint != null ? outlineStroke : null,
+                g2.getRenderingHint(RenderingHints.KEY_ANTIALIASING),
+                g2.getRenderingHint(RenderingHints.KEY_STROKE_CONTROL),
+                px, py);
+        Sprite sprite = this.sprites.get(this.probe);
+        if (sprite == null) {
+            if (this.sprites.size() >= MAX_SPRITES) {
+                this.sprites.clear();
+            }
+            Key key = this.probe.copy();
+            sprite = createSprite(g2, key);
+            this.sprites.put(key, sprite);
+        }
+        if (sprite.image == null) {
+            return false;
+        }
+        int ix = Math.floorDiv((int) qx, PHASES);
+        int iy = Math.floorDiv((int) qy, PHASES);
+        g2.drawImage(sprite.image, ix + sprite.x, iy + sprite.y, null);
+        return true;
+    }
+
+    /**
+     * Rasterises the shape described by a key.  A sprite without an image
+     * is returned (and cached) for shapes too large to stamp.
+     *
+     * @param g2  the graphics target (for the rendering hints).
+     * @param key  the key.
+     *
+     * @return The sprite (never {@code null}).
+     */
+    private static Sprite createSprite(Graphics2D g2, Key key) {
+        double dx = (double) key.px / PHASES;
+        double dy = (double) key.py / PHASES;
+        Rectangle2D b = key.shape.getBounds2D();
+        if (key.outlinePaint != null) {
+            b = b.createUnion(key.outlineStroke.createStrokedShape(
+                    key.shape).getBounds2D());
+        }
+        // one pixel of slack on each side for antialiasing
+        int x0 = (int) Math.floor(b.getMinX() + dx) - 1;
+        int y0 = (int) Math.floor(b.getMinY() + dy) - 1;
+        int x1 = (int) Math.ceil(b.getMaxX() + dx) + 1;
+        int y1 = (int) Math.ceil(b.getMaxY() + dy) + 1;
+        long area = (long) (x1 - x0) * (y1 - y0);
+        if (x1 <= x0 || y1 <= y0 || area > MAX_SPRITE_AREA) {
+            return new Sprite(null, 0, 0);
+        }
+        BufferedImage image = new BufferedImage(x1 - x0, y1 - y0,
+                BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHints(g2.getRenderingHints());
+            g.translate(dx - x0, dy - y0);
+            if (key.fillPaint != null) {
+                g.setPaint(key.fillPaint);
+                g.fill(key.shape);
+            }
+            if (key.outlinePaint != null) {
+                g.setPaint(key.outlinePaint);
+                g.setStroke(key.outlineStroke);
+                g.draw(key.shape);
+            }
+        } finally {
+            g.dispose();
+        }
+        return new Sprite(image, x0, y0);
+    }
+
+    /**
+     * Returns the number of sprites currently held (for testing).
+     *
+     * @return The sprite count.
+     */
+    int getSpriteCount() {
+        return this.sprites.size();
+    }
+
+    /**
+     * A pre-rendered shape and its offset from the (whole pixel) item
+     * location.
+     */
+    private static final class Sprite {
+
+        /** The image ({@code null} if the shape is not stamped). */
+        final BufferedImage image;
+
+        /** The x-offset of the image. */
+        final int x;
+
+        /** The y-offset of the image. */
+        final int y;
+
+        Sprite(BufferedImage image, int x, int y) {
+            this.image = image;
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    /**
+     * The cache key for a sprite.  Shapes are compared by identity, since
+     * renderers hand out the same shape instance for every item in a
+     * series.  Keys are mutable so that lookups can reuse one instance;
+     * keys held in the cache are copies that are never modified.
+     */
+    private static final class Key {
+
+        Shape shape;
+        Paint fillPaint;
+        Paint outlinePaint;
+        Stroke outlineStroke;
+        Object antialias;
+        Object strokeControl;
+        int px;
+        int py;
+        private int hash;
+
+        void set(Shape shape, Paint fillPaint, Paint outlinePaint,
+                Stroke outlineStroke, Object antialias, Object strokeControl,
+                int px, int py) {
+            this.shape = shape;
+            this.fillPaint = fillPaint;
+            this.outlinePaint = outlinePaint;
+            this.outlineStroke = outlineStroke;
+            this.antialias = antialias;
+            this.strokeControl = strokeControl;
+            this.px = px;
+            this.py = py;
+            int h = System.identityHashCode(shape);
+            h = 31 * h + Objects.hashCode(fillPaint);
+            h = 31 * h + Objects.hashCode(outlinePaint);
+            h = 31 * h + Objects.hashCode(outlineStroke);
+            h = 31 * h + Objects.hashCode(antialias);
+            h = 31 * h + px * PHASES + py;
+            this.hash = h;
+        }
+
+        Key copy() {
+            Key copy = new Key();
+            copy.set(this.shape, this.fillPaint, this.outlinePaint,
+                    this.outlineStroke, this.antialias, this.strokeControl,
+                    this.px, this.py);
+            return copy;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) obj;
+            return this.shape == that.shape && this.px == that.px
+                    && this.py == that.py
+                    && Objects.equals(this.fillPaint, that.fillPaint)
+                    && Objects.equals(this.outlinePaint, that.outlinePaint)
+                    && Objects.equals(this.outlineStroke, that.outlineStroke)
+                    && Objects.equals(this.antialias, that.antialias)
+                    && Objects.equals(this.strokeControl,
+                            that.strokeControl);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+
+}
@@ -39,6 +39,7 @@ package org.jfree.chart.renderer;
 import org.jfree.chart.ChartRenderingInfo;
 import org.jfree.chart.entity.EntityCollection;
 import org.jfree.chart.plot.PlotRenderingInfo;
+import org.jfree.data.general.StackBuffers;
 
 /**
  * Represents the current state of a renderer.
@@ -55,6 +56,12 @@ public class RendererState {
      */
     private boolean elementHinting;
 
+    /** 
+     * The cumulative values used by the stacked renderers (calculated on
+     * demand during the drawing pass, {@code null} until then).
+     */
+    private StackBuffers stackBuffers;
+
     /**
      * Creates a new state object.
      *
@@ -84,6 +91,29 @@ public class RendererState {
         this.elementHinting = hinting;
     }
 
+    /**
+     * Returns the stack buffers for the current drawing pass.
+     * 
+     * @return The stack buffers (possibly {@code null}).
+     * 
+     * @since 2.0
+     */
+    public StackBuffers getStackBuffers() {
+        return this.stackBuffers;
+    }
+
+    /**
+     * Sets the stack buffers for the current drawing pass.  The stacked
+     * renderers calculate these once and then reuse them for every item.
+     * 
+     * @param buffers  the buffers ({@code null} permitted).
+     * 
+     * @since 2.0
+     */
+    public void setStackBuffers(StackBuffers buffers) {
+        this.stackBuffers = buffers;
+    }
+
     /**
      * Returns the plot rendering info.
      *
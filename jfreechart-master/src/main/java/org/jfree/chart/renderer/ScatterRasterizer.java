@@ -0,0 +1,725 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------
+ * ScatterRasterizer.java
+ * ----------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.renderer;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.jfree.chart.api.PublicCloneable;
+import org.jfree.chart.api.RectangleEdge;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.internal.Args;
+import org.jfree.chart.internal.CloneUtils;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.data.xy.ArrayXYDataset;
+import org.jfree.data.xy.XYDataset;
+
+/**
+ * Draws large numbers of scatter points by projecting them straight into
+ * a pixel buffer and then drawing the buffer as a single image, instead of
+ * filling one small rectangle per point.  The points are counted per pixel
+ * (in parallel chunks in the common {@link ForkJoinPool} when there are
+ * enough of them) and each pixel that is hit is then colored either with a
+ * single paint or, if a density paint scale is set, by the number of
+ * points that fell on it.
+ * <p>
+ * The values are mapped to Java2D space with an {@link AxisMapping}, so
+ * linear axes cost a single multiply-add per value.
+ * Because the points are drawn as an image, this is intended for screen
+ * and bitmap output rather than for vector formats such as SVG and PDF.
+ *
+ * @see org.jfree.chart.plot.FastScatterPlot#setRasterizer(ScatterRasterizer)
+ * @see org.jfree.chart.renderer.xy.XYDotRenderer#setRasterizer(ScatterRasterizer)
+ *
+ * @since 2.0
+ */
+public class ScatterRasterizer implements Cloneable, PublicCloneable,
+        Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 3560192845523119405L;
+
+    /** The number of points at which they are counted in parallel. */
+    static final int THRESHOLD = 1 << 16;
+
+    /** The smallest number of points counted by a parallel task. */
+    static final int CHUNK_SIZE = 1 << 15;
+
+    /**
+     * The maximum number of count cells held by all the parallel tasks
+     * together (each task has its own buffer for the whole area).
+     */
+    private static final int BUFFER_BUDGET = 1 << 24;
+
+    /** The number of colors in the density lookup table. */
+    private static final int LUT_SIZE = 256;
+
+    /**
+     * The paint scale used to color the pixels by point density
+     * ({@code null} to use a single paint for every pixel that is hit).
+     */
+    private PaintScale densityPaintScale;
+
+    /**
+     * A flag that controls whether the counts are mapped to the density
+     * paint scale on a log scale (the default) or on a linear scale.
+     */
+    private boolean logDensity;
+
+    /**
+     * Creates a new rasterizer that colors every pixel that is hit with the
+     * series (or plot) paint.
+     */
+    public ScatterRasterizer() {
+        this(null);
+    }
+
+    /**
+     * Creates a new rasterizer that colors each pixel by the number of
+     * points that fall on it.
+     *
+     * @param densityPaintScale  the paint scale ({@code null} permitted).
+     */
+    public ScatterRasterizer(PaintScale densityPaintScale) {
+        this.densityPaintScale = densityPaintScale;
+        this.logDensity = true;
+    }
+
+    /**
+     * Returns the paint scale used to color pixels by point density.
+     *
+     * @return The paint scale (possibly {@code null}).
+     */
+    public PaintScale getDensityPaintScale() {
+        return this.densityPaintScale;
+    }
+
+    /**
+     * Sets the paint scale used to color pixels by point density.  The
+     * lowest count (one point) maps to the lower bound of the scale and the
+     * highest count in the image maps to the upper bound.  If the scale is
+     * {@code null}, every pixel that is hit is drawn with a single paint.
+     *
+     * @param scale  the paint scale ({@code null} permitted).
+     */
+    public void setDensityPaintScale(PaintScale scale) {
+        this.densityPaintScale = scale;
+    }
+
+    /**
+     * Returns the flag that controls whether the point counts are mapped to
+     * the density paint scale on a log scale.
+     *
+     * @return A boolean.
+     */
+    public boolean isLogDensity() {
+        return this.logDensity;
+    }
+
+    /**
+     * Sets the flag that controls whether the point counts are mapped to
+     * the density paint scale on a log scale.
+     *
+     * @param log  the new flag value.
+     */
+    public void setLogDensity(boolean log) {
+        this.logDensity = log;
+    }
+
+    /**
+     * Draws the points of a {@link org.jfree.chart.plot.FastScatterPlot}
+     * (the x-values against a domain axis at the bottom of the data area and
+     * the y-values against a range axis at the left) as single pixels.
+     *
+     * @param g2  the graphics target ({@code null} not permitted).
+     * @param dataArea  the data area ({@code null} not permitted).
+     * @param domainAxis  the domain axis ({@code null} not permitted).
+     * @param rangeAxis  the range axis ({@code null} not permitted).
+     * @param data  the x-values in {@code data[0]} and the y-values in
+     *     {@code data[1]} ({@code null} not permitted).
+     * @param paint  the paint for the points when no density paint scale
+     *     is set ({@code null} not permitted).
+     */
+    public void draw(Graphics2D g2, Rectangle2D dataArea,
+            ValueAxis domainAxis, ValueAxis rangeAxis, float[][] data,
+            Paint paint) {
+        Args.nullNotPermitted(data, "data");
+        Points points = new FloatPoints(data[0], data[1]);
+        draw(g2, dataArea, PlotOrientation.VERTICAL,
+                new AxisMapping(domainAxis, dataArea,
+                        RectangleEdge.BOTTOM),
+                new AxisMapping(rangeAxis, dataArea, RectangleEdge.LEFT),
+                points, 0, Math.min(data[0].length, data[1].length), paint,
+                1, 1);
+    }
+
+    /**
+     * Draws items {@code first} to {@code last} (inclusive) of a series as
+     * dots of the specified size, in the same positions as the
+     * {@link org.jfree.chart.renderer.xy.XYDotRenderer} draws them.
+     *
+     * @param g2  the graphics target ({@code null} not permitted).
+     * @param dataArea  the data area ({@code null} not permitted).
+     * @param orientation  the plot orientation ({@code null} not
+     *     permitted).
+     * @param domainAxis  the domain axis ({@code null} not permitted).
+     * @param domainEdge  the domain axis edge ({@code null} not permitted).
+     * @param rangeAxis  the range axis ({@code null} not permitted).
+     * @param rangeEdge  the range axis edge ({@code null} not permitted).
+     * @param dataset  the dataset ({@code null} not permitted).
+     * @param series  the series index.
+     * @param first  the index of the first item.
+     * @param last  the index of the last item.
+     * @param paint  the paint for the points when no density paint scale
+     *     is set ({@code null} not permitted).
+     * @param dotWidth  the dot width (in the direction of the domain axis).
+     * @param dotHeight  the dot height (in the direction of the range
+     *     axis).
+     */
+    public void draw(Graphics2D g2, Rectangle2D dataArea,
+            PlotOrientation orientation, ValueAxis domainAxis,
+            RectangleEdge domainEdge, ValueAxis rangeAxis,
+            RectangleEdge rangeEdge, XYDataset<?> dataset, int series,
+            int first, int last, Paint paint, int dotWidth, int dotHeight) {
+        Args.nullNotPermitted(dataset, "dataset");
+        Points points;
+        if (dataset instanceof ArrayXYDataset) {
+            ArrayXYDataset<?> ad = (ArrayXYDataset<?>) dataset;
+            points = new ArrayPoints(ad.getXValues(series),
+                    ad.getYValues(series));
+        } else {
+            points = new DatasetPoints(dataset, series);
+        }
+        draw(g2, dataArea, orientation,
+                new AxisMapping(domainAxis, dataArea, domainEdge),
+                new AxisMapping(rangeAxis, dataArea, rangeEdge),
+                points, first, last + 1, paint, dotWidth, dotHeight);
+    }
+
+    /**
+     * Counts the points, colors the pixels and draws the image.
+     *
+     * @param g2  the graphics target.
+     * @param dataArea  the data area.
+     * @param orientation  the plot orientation.
+     * @param domain  the mapping for the x-values.
+     * @param range  the mapping for the y-values.
+     * @param points  the points.
+     * @param from  the index of the first point.
+     * @param to  the index after the last point.
+     * @param paint  the paint.
+     * @param dotWidth  the dot width.
+     * @param dotHeight  the dot height.
+     */
+    private void draw(Graphics2D g2, Rectangle2D dataArea,
+            PlotOrientation orientation, AxisMapping domain,
+            AxisMapping range, Points points, int from, int to, Paint paint,
+            int dotWidth, int dotHeight) {
+        Args.nullNotPermitted(g2, "g2");
+        Args.nullNotPermitted(orientation, "orientation");
+        Args.nullNotPermitted(paint, "paint");
+        int x0 = (int) Math.floor(dataArea.getMinX());
+        int y0 = (int) Math.floor(dataArea.getMinY());
+        int w = (int) Math.ceil(dataArea.getMaxX()) - x0;
+        int h = (int) Math.ceil(dataArea.getMaxY()) - y0;
+        if (w <= 0 || h <= 0 || to <= from) {
+            return;
+        }
+        boolean horizontal = orientation == PlotOrientation.HORIZONTAL;
+        int sw = Math.max(1, horizontal ? dotHeight : dotWidth);
+        int sh = Math.max(1, horizontal ? dotWidth : dotHeight);
+        Grid grid = new Grid(x0 - (sw - 1), y0 - (sh - 1), w + sw - 1,
+                h + sh - 1, horizontal, domain, range,
+                (dotWidth - 1) / 2.0, (dotHeight - 1) / 2.0);
+        int[] counts = count(grid, points, from, to);
+        if (sw > 1 || sh > 1) {
+            counts = spread(counts, grid.width, grid.height, sw, sh);
+        }
+        BufferedImage image = createImage(counts, w, h, x0, y0, paint);
+        g2.drawImage(image, x0, y0, null);
+    }
+
+    /**
+     * Counts the points that fall on each cell of the grid, in parallel if
+     * there are enough points.
+     *
+     * @param grid  the grid.
+     * @param points  the points.
+     * @param from  the index of the first point.
+     * @param to  the index after the last point.
+     *
+     * @return The counts, row by row.
+     */
+    static int[] count(Grid grid, Points points, int from, int to) {
+        int cells = grid.width * grid.height;
+        int tasks = Math.min(ForkJoinPool.getCommonPoolParallelism(),
+                Math.min(BUFFER_BUDGET / cells, (to - from) / CHUNK_SIZE));
+        if (to - from < THRESHOLD || tasks < 2) {
+            int[] counts = new int[cells];
+            grid.count(points, from, to, counts);
+            return counts;
+        }
+        return ForkJoinPool.commonPool().invoke(new CountTask(grid, points,
+                from, to, (to - from + tasks - 1) / tasks));
+    }
+
+    /**
+     * Returns counts where each cell holds the highest count of the dots
+     * that cover it, for dots of {@code sw} by {@code sh} pixels.  The
+     * result covers the top-right {@code (width - sw + 1)} by
+     * {@code (height - sh + 1)} cells of the input.
+     *
+     * @param counts  the counts for the top-left corners of the dots.
+     * @param width  the grid width.
+     * @param height  the grid height.
+     * @param sw  the dot width.
+     * @param sh  the dot height.
+     *
+     * @return The counts for the image.
+     */
+    private static int[] spread(int[] counts, int width, int height, int sw,
+            int sh) {
+        int w = width - sw + 1;
+        int h = height - sh + 1;
+        // maximum along each row, then down each column
+        int[] rows = new int[w * height];
+        for (int y = 0; y < height; y++) {
+            int base = y * width;
+            for (int x = 0; x < w; x++) {
+                int max = 0;
+                for (int k = 0; k < sw; k++) {
+                    max = Math.max(max, counts[base + x + k]);
+                }
+                rows[y * w + x] = max;
+            }
+        }
+        int[] result = new int[w * h];
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                int max = 0;
+                for (int k = 0; k < sh; k++) {
+                    max = Math.max(max, rows[(y + k) * w + x]);
+                }
+                result[y * w + x] = max;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates the image for the counts.
+     *
+     * @param counts  the counts ({@code w * h} cells).
+     * @param w  the image width.
+     * @param h  the image height.
+     * @param x0  the x-coordinate of the image in Java2D space.
+     * @param y0  the y-coordinate of the image in Java2D space.
+     * @param paint  the paint (used when there is no density scale).
+     *
+     * @return The image.
+     */
+    private BufferedImage createImage(int[] counts, int w, int h, int x0,
+            int y0, Paint paint) {
+        BufferedImage image = new BufferedImage(w, h,
+                BufferedImage.TYPE_INT_ARGB);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer())
+                .getData();
+        if (this.densityPaintScale != null) {
+            int max = 0;
+            for (int c : counts) {
+                max = Math.max(max, c);
+            }
+            int[] lut = densityColors();
+            double denominator = this.logDensity ? Math.log(max)
+                    : max - 1;
+            for (int i = 0; i < pixels.length; i++) {
+                int c = counts[i];
+                if (c > 0) {
+                    double t = 0.0;
+                    if (denominator > 0.0) {
+                        t = (this.logDensity ? Math.log(c) : c - 1)
+                                / denominator;
+                    }
+                    pixels[i] = lut[(int) (t * (LUT_SIZE - 1) + 0.5)];
+                }
+            }
+        } else if (paint instanceof Color) {
+            int argb = ((Color) paint).getRGB();
+            for (int i = 0; i < pixels.length; i++) {
+                if (counts[i] > 0) {
+                    pixels[i] = argb;
+                }
+            }
+        } else {
+            // fill the whole image with the paint, then clear the pixels
+            // that no point falls on
+            Graphics2D ig = image.createGraphics();
+            ig.translate(-x0, -y0);
+            ig.setPaint(paint);
+            ig.fillRect(x0, y0, w, h);
+            ig.dispose();
+            for (int i = 0; i < pixels.length; i++) {
+                if (counts[i] == 0) {
+                    pixels[i] = 0;
+                }
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Returns a table of colors from the density paint scale, from the
+     * lower bound to the upper bound.  Paints that are not colors are
+     * replaced by black.
+     *
+     * @return The colors (ARGB).
+     */
+    private int[] densityColors() {
+        int[] lut = new int[LUT_SIZE];
+        double lower = this.densityPaintScale.getLowerBound();
+        double upper = this.densityPaintScale.getUpperBound();
+        for (int i = 0; i < LUT_SIZE; i++) {
+            double v = lower + (upper - lower) * i / (LUT_SIZE - 1);
+            Paint p = this.densityPaintScale.getPaint(v);
+            lut[i] = (p instanceof Color) ? ((Color) p).getRGB() : 0xFF000000;
+        }
+        return lut;
+    }
+
+    /**
+     * Tests this rasterizer for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof ScatterRasterizer)) {
+            return false;
+        }
+        ScatterRasterizer that = (ScatterRasterizer) obj;
+        if (this.logDensity != that.logDensity) {
+            return false;
+        }
+        if (!Objects.equals(this.densityPaintScale, that.densityPaintScale)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code for this instance.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 53 * hash + Objects.hashCode(this.densityPaintScale);
+        hash = 53 * hash + (this.logDensity ? 1 : 0);
+        return hash;
+    }
+
+    /**
+     * Returns a clone of this rasterizer.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if the density paint scale cannot
+     *     be cloned.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        ScatterRasterizer clone = (ScatterRasterizer) super.clone();
+        clone.densityPaintScale = CloneUtils.copy(this.densityPaintScale);
+        return clone;
+    }
+
+    /**
+     * A source of (x, y) points.
+     */
+    interface Points {
+
+        /**
+         * Returns the x-value of a point.
+         *
+         * @param i  the point index.
+         *
+         * @return The x-value.
+         */
+        double x(int i);
+
+        /**
+         * Returns the y-value of a point.
+         *
+         * @param i  the point index.
+         *
+         * @return The y-value.
+         */
+        double y(int i);
+
+    }
+
+    /**
+     * Points held in arrays of floats.
+     */
+    static final class FloatPoints implements Points {
+
+        /** The x-values. */
+        private final float[] xValues;
+
+        /** The y-values. */
+        private final float[] yValues;
+
+        FloatPoints(float[] xValues, float[] yValues) {
+            this.xValues = xValues;
+            this.yValues = yValues;
+        }
+
+        @Override
+        public double x(int i) {
+            return this.xValues[i];
+        }
+
+        @Override
+        public double y(int i) {
+            return this.yValues[i];
+        }
+
+    }
+
+    /**
+     * Points held in arrays of doubles.
+     */
+    static final class ArrayPoints implements Points {
+
+        /** The x-values. */
+        private final double[] xValues;
+
+        /** The y-values. */
+        private final double[] yValues;
+
+        ArrayPoints(double[] xValues, double[] yValues) {
+            this.xValues = xValues;
+            this.yValues = yValues;
+        }
+
+        @Override
+        public double x(int i) {
+            return this.xValues[i];
+        }
+
+        @Override
+        public double y(int i) {
+            return this.yValues[i];
+        }
+
+    }
+
+    /**
+     * The points in one series of a dataset.
+     */
+    static final class DatasetPoints implements Points {
+
+        /** The dataset. */
+        private final XYDataset<?> dataset;
+
+        /** The series index. */
+        private final int series;
+
+        DatasetPoints(XYDataset<?> dataset, int series) {
+            this.dataset = dataset;
+            this.series = series;
+        }
+
+        @Override
+        public double x(int i) {
+            return this.dataset.getXValue(this.series, i);
+        }
+
+        @Override
+        public double y(int i) {
+            return this.dataset.getYValue(this.series, i);
+        }
+
+    }
+
+    /**
+     * A grid of count cells covering the data area (extended up and to the
+     * left by the dot size less one pixel).
+     */
+    static final class Grid {
+
+        /** The x-coordinate of the first cell in Java2D space. */
+        final int x0;
+
+        /** The y-coordinate of the first cell in Java2D space. */
+        final int y0;
+
+        /** The number of cells across. */
+        final int width;
+
+        /** The number of cells down. */
+        final int height;
+
+        /** Are the x-values drawn vertically? */
+        final boolean horizontal;
+
+        /** The mapping for the x-values. */
+        final AxisMapping domain;
+
+        /** The mapping for the y-values. */
+        final AxisMapping range;
+
+        /** The adjustment for the x-values (half the dot width less 1). */
+        final double adjX;
+
+        /** The adjustment for the y-values (half the dot height less 1). */
+        final double adjY;
+
+        Grid(int x0, int y0, int width, int height, boolean horizontal,
+                AxisMapping domain, AxisMapping range, double adjX,
+                double adjY) {
+            this.x0 = x0;
+            this.y0 = y0;
+            this.width = width;
+            this.height = height;
+            this.horizontal = horizontal;
+            this.domain = domain;
+            this.range = range;
+            this.adjX = adjX;
+            this.adjY = adjY;
+        }
+
+        /**
+         * Adds the points to the counts.
+         *
+         * @param points  the points.
+         * @param from  the index of the first point.
+         * @param to  the index after the last point.
+         * @param counts  the counts.
+         */
+        void count(Points points, int from, int to, int[] counts) {
+            for (int i = from; i < to; i++) {
+                double x = points.x(i);
+                double y = points.y(i);
+                if (Double.isNaN(x) || Double.isNaN(y)) {
+                    continue;
+                }
+                double tx = this.domain.map(x) - this.adjX;
+                double ty = this.range.map(y) - this.adjY;
+                double px = this.horizontal ? ty : tx;
+                double py = this.horizontal ? tx : ty;
+                // the same truncation as Graphics2D.fillRect((int) px, ...)
+                if (px > Integer.MIN_VALUE && px < Integer.MAX_VALUE
+                        && py > Integer.MIN_VALUE && py < Integer.MAX_VALUE) {
+                    int cx = (int) px - this.x0;
+                    int cy = (int) py - this.y0;
+                    if (cx >= 0 && cx < this.width && cy >= 0
+                            && cy < this.height) {
+                        counts[cy * this.width + cx]++;
+                    }
+                }
+            }
+        }
+
+    }
+
+    /**
+     * A task that counts a run of points, splitting the run in two until
+     * it is no longer than the chunk length.
+     */
+    private static final class CountTask extends RecursiveTask<int[]> {
+
+        /** The grid. */
+        private final Grid grid;
+
+        /** The points. */
+        private final Points points;
+
+        /** The index of the first point. */
+        private final int from;
+
+        /** The index after the last point. */
+        private final int to;
+
+        /** The maximum number of points counted without splitting. */
+        private final int chunk;
+
+        CountTask(Grid grid, Points points, int from, int to, int chunk) {
+            this.grid = grid;
+            this.points = points;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (this.to - this.from <= this.chunk) {
+                int[] counts = new int[this.grid.width * this.grid.height];
+                this.grid.count(this.points, this.from, this.to, counts);
+                return counts;
+            }
+            int mid = (this.from + this.to) >>> 1;
+            CountTask left = new CountTask(this.grid, this.points, this.from,
+                    mid, this.chunk);
+            left.fork();
+            int[] counts = new CountTask(this.grid, this.points, mid,
+                    this.to, this.chunk).compute();
+            int[] other = left.join();
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other[i];
+            }
+            return counts;
+        }
+
+    }
+
+}
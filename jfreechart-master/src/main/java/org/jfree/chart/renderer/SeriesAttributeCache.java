@@ -0,0 +1,257 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------------
+ * SeriesAttributeCache.java
+ * -------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.renderer;
+
+import java.awt.Paint;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.util.Arrays;
+
+/**
+ * The resolved paint, stroke, shape and visibility of each series, held in
+ * arrays indexed by series so that the renderers can look them up once per
+ * item without going through the per-series maps, the auto-populate flags
+ * and the defaults each time.  The entries are filled in as they are looked
+ * up, and {@link AbstractRenderer} discards the whole cache whenever any of
+ * these attributes changes.
+ */
+final class SeriesAttributeCache {
+
+    /** The value for a flag that has not been resolved yet. */
+    private static final byte UNKNOWN = 0;
+
+    /** The value for a flag that is {@code false}. */
+    private static final byte FALSE = 1;
+
+    /** The value for a flag that is {@code true}. */
+    private static final byte TRUE = 2;
+
+    /** The series paints. */
+    private Paint[] paints = new Paint[0];
+
+    /** The series strokes. */
+    private Stroke[] strokes = new Stroke[0];
+
+    /** The series shapes. */
+    private Shape[] shapes = new Shape[0];
+
+    /** The series visibility flags. */
+    private byte[] visible = new byte[0];
+
+    /** The series item label visibility flags. */
+    private byte[] itemLabelsVisible = new byte[0];
+
+    /**
+     * Returns the capacity needed to hold an entry for a series.
+     *
+     * @param length  the current length.
+     * @param series  the series index (zero or greater).
+     *
+     * @return The new length.
+     */
+    private static int capacity(int length, int series) {
+        return Math.max(series + 1, Math.min(length * 2, series + 64));
+    }
+
+    /**
+     * Returns the resolved paint for a series.
+     *
+     * @param series  the series index.
+     *
+     * @return The paint ({@code null} if not resolved yet).
+     */
+    Paint getPaint(int series) {
+        Paint[] a = this.paints;
+        return (series >= 0 && series < a.length) ? a[series] : null;
+    }
+
+    /**
+     * Records the resolved paint for a series.
+     *
+     * @param series  the series index.
+     * @param paint  the paint.
+     */
+    void putPaint(int series, Paint paint) {
+        if (series < 0) {
+            return;
+        }
+        Paint[] a = this.paints;
+        if (series >= a.length) {
+            a = Arrays.copyOf(a, capacity(a.length, series));
+        }
+        a[series] = paint;
+        this.paints = a;
+    }
+
+    /**
+     * Returns the resolved stroke for a series.
+     *
+     * @param series  the series index.
+     *
+     * @return The stroke ({@code null} if not resolved yet).
+     */
+    Stroke getStroke(int series) {
+        Stroke[] a = this.strokes;
+        return (series >= 0 && series < a.length) ? a[series] : null;
+    }
+
+    /**
+     * Records the resolved stroke for a series.
+     *
+     * @param series  the series index.
+     * @param stroke  the stroke.
+     */
+    void putStroke(int series, Stroke stroke) {
+        if (series < 0) {
+            return;
+        }
+        Stroke[] a = this.strokes;
+        if (series >= a.length) {
+            a = Arrays.copyOf(a, capacity(a.length, series));
+        }
+        a[series] = stroke;
+        this.strokes = a;
+    }
+
+    /**
+     * Returns the resolved shape for a series.
+     *
+     * @param series  the series index.
+     *
+     * @return The shape ({@code null} if not resolved yet).
+     */
+    Shape getShape(int series) {
+        Shape[] a = this.shapes;
+        return (series >= 0 && series < a.length) ? a[series] : null;
+    }
+
+    /**
+     * Records the resolved shape for a series.
+     *
+     * @param series  the series index.
+     * @param shape  the shape.
+     */
+    void putShape(int series, Shape shape) {
+        if (series < 0) {
+            return;
+        }
+        Shape[] a = this.shapes;
+        if (series >= a.length) {
+            a = Arrays.copyOf(a, capacity(a.length, series));
+        }
+        a[series] = shape;
+        this.shapes = a;
+    }
+
+    /**
+     * Returns the resolved visibility of a series.
+     *
+     * @param series  the series index.
+     *
+     * @return The flag ({@code null} if not resolved yet).
+     */
+    Boolean getVisible(int series) {
+        return get(this.visible, series);
+    }
+
+    /**
+     * Records the resolved visibility of a series.
+     *
+     * @param series  the series index.
+     * @param flag  the flag.
+     */
+    void putVisible(int series, boolean flag) {
+        this.visible = put(this.visible, series, flag);
+    }
+
+    /**
+     * Returns the resolved item label visibility of a series.
+     *
+     * @param series  the series index.
+     *
+     * @return The flag ({@code null} if not resolved yet).
+     */
+    Boolean getItemLabelsVisible(int series) {
+        return get(this.itemLabelsVisible, series);
+    }
+
+    /**
+     * Records the resolved item label visibility of a series.
+     *
+     * @param series  the series index.
+     * @param flag  the flag.
+     */
+    void putItemLabelsVisible(int series, boolean flag) {
+        this.itemLabelsVisible = put(this.itemLabelsVisible, series, flag);
+    }
+
+    /**
+     * Returns a flag from an array.
+     *
+     * @param a  the array.
+     * @param series  the series index.
+     *
+     * @return The flag ({@code null} if not resolved yet).
+     */
+    private static Boolean get(byte[] a, int series) {
+        if (series < 0 || series >= a.length || a[series] == UNKNOWN) {
+            return null;
+        }
+        return a[series] == TRUE;
+    }
+
+    /**
+     * Records a flag in an array, growing the array if necessary.
+     *
+     * @param a  the array.
+     * @param series  the series index.
+     * @param flag  the flag.
+     *
+     * @return The array (possibly a new one).
+     */
+    private static byte[] put(byte[] a, int series, boolean flag) {
+        if (series < 0) {
+            return a;
+        }
+        if (series >= a.length) {
+            a = Arrays.copyOf(a, capacity(a.length, series));
+        }
+        a[series] = flag ? TRUE : FALSE;
+        return a;
+    }
+
+}
@@ -64,6 +64,7 @@ import org.jfree.chart.axis.CategoryAxis;
 import org.jfree.chart.axis.ValueAxis;
 import org.jfree.chart.entity.CategoryItemEntity;
 import org.jfree.chart.entity.EntityCollection;
+import org.jfree.chart.event.ChartDrawMetrics;
 import org.jfree.chart.event.RendererChangeEvent;
 import org.jfree.chart.labels.CategoryItemLabelGenerator;
 import org.jfree.chart.labels.CategorySeriesLabelGenerator;
@@ -1603,6 +1604,8 @@ public abstract class AbstractCategoryItemRenderer extends AbstractRenderer
         if (!getItemCreateEntity(row, column)) {
             return;
         }
+        ChartDrawMetrics metrics = ChartDrawMetrics.of(entities);
+        long start = metrics != null ? System.nanoTime() : 0L;
         String tip = null;
         CategoryToolTipGenerator tipster = getToolTipGenerator(row, column);
         if (tipster != null) {
@@ -1616,6 +1619,9 @@ public abstract class AbstractCategoryItemRenderer extends AbstractRenderer
         CategoryItemEntity entity = new CategoryItemEntity(hotspot, tip, url,
                 dataset, dataset.getRowKey(row), dataset.getColumnKey(column));
         entities.add(entity);
+        if (metrics != null) {
+            metrics.recordPhase(ChartDrawMetrics.Phase.ENTITIES, start);
+        }
     }
 
     /**
@@ -1638,6 +1644,8 @@ public abstract class AbstractCategoryItemRenderer extends AbstractRenderer
         if (!getItemCreateEntity(row, column)) {
             return;
         }
+        ChartDrawMetrics metrics = ChartDrawMetrics.of(entities);
+        long start = metrics != null ? System.nanoTime() : 0L;
         Shape s = hotspot;
         if (hotspot == null) {
             double r = getDefaultEntityRadius();
@@ -1662,6 +1670,9 @@ public abstract class AbstractCategoryItemRenderer extends AbstractRenderer
         CategoryItemEntity entity = new CategoryItemEntity(s, tip, url,
                 dataset, dataset.getRowKey(row), dataset.getColumnKey(column));
         entities.add(entity);
+        if (metrics != null) {
+            metrics.recordPhase(ChartDrawMetrics.Phase.ENTITIES, start);
+        }
     }
 
 }
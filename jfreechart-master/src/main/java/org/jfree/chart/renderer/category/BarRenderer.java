@@ -103,7 +103,7 @@ public class BarRenderer extends AbstractCategoryItemRenderer
     /**
      * The default bar painter assigned to each new instance of this renderer.
      */
-    private static BarPainter defaultBarPainter = new GradientBarPainter();
+    private static volatile BarPainter defaultBarPainter = new GradientBarPainter();
 
     /**
      * Returns the default bar painter.
@@ -127,7 +127,7 @@ public class BarRenderer extends AbstractCategoryItemRenderer
     /**
      * The default value for the initialisation of the shadowsVisible flag.
      */
-    private static boolean defaultShadowsVisible = true;
+    private static volatile boolean defaultShadowsVisible = true;
 
     /**
      * Returns the default value for the {@code shadowsVisible} flag.
@@ -54,6 +54,7 @@ import org.jfree.data.KeyToGroupMap;
 import org.jfree.data.Range;
 import org.jfree.data.category.CategoryDataset;
 import org.jfree.data.general.DatasetUtils;
+import org.jfree.data.general.StackBuffers;
 
 /**
  * A renderer that draws stacked bars within groups.  This will probably be
@@ -242,30 +243,13 @@ public class GroupedStackedBarRenderer extends StackedBarRenderer
         }
 
         double value = dataValue.doubleValue();
-        Comparable group = this.seriesToGroupMap.getGroup(
-                dataset.getRowKey(row));
         PlotOrientation orientation = plot.getOrientation();
         double barW0 = calculateBarW0(plot, orientation, dataArea, domainAxis,
                 state, row, column);
 
-        double positiveBase = 0.0;
-        double negativeBase = 0.0;
-
-        for (int i = 0; i < row; i++) {
-            if (group.equals(this.seriesToGroupMap.getGroup(
-                    dataset.getRowKey(i)))) {
-                Number v = dataset.getValue(i, column);
-                if (v != null) {
-                    double d = v.doubleValue();
-                    if (d > 0) {
-                        positiveBase = positiveBase + d;
-                    }
-                    else {
-                        negativeBase = negativeBase + d;
-                    }
-                }
-            }
-        }
+        StackBuffers buffers = getStackBuffers(state, dataset);
+        double positiveBase = buffers.getPositiveBase(row, column);
+        double negativeBase = buffers.getNegativeBase(row, column);
 
         double translatedBase;
         double translatedValue;
@@ -333,6 +317,31 @@ public class GroupedStackedBarRenderer extends StackedBarRenderer
 
     }
 
+    /**
+     * Returns the stack buffers for the dataset, calculating them the first
+     * time they are needed in the current drawing pass.  Each group of
+     * series is stacked separately.
+     *
+     * @param state  the renderer state ({@code null} not permitted).
+     * @param dataset  the dataset ({@code null} not permitted).
+     *
+     * @return The stack buffers.
+     */
+    private StackBuffers getStackBuffers(CategoryItemRendererState state,
+            CategoryDataset dataset) {
+        StackBuffers buffers = state.getStackBuffers();
+        if (buffers == null || !buffers.isFor(dataset)) {
+            int[] groups = new int[dataset.getRowCount()];
+            for (int r = 0; r < groups.length; r++) {
+                groups[r] = this.seriesToGroupMap.getGroupIndex(
+                        this.seriesToGroupMap.getGroup(dataset.getRowKey(r)));
+            }
+            buffers = StackBuffers.create(dataset, null, groups, false);
+            state.setStackBuffers(buffers);
+        }
+        return buffers;
+    }
+
     /**
      * Tests this renderer for equality with an arbitrary object.
      *
@@ -58,6 +58,8 @@ import org.jfree.chart.entity.EntityCollection;
 import org.jfree.chart.event.RendererChangeEvent;
 import org.jfree.chart.plot.CategoryPlot;
 import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.PlotRenderingInfo;
+import org.jfree.chart.renderer.MarkerStamper;
 import org.jfree.chart.api.PublicCloneable;
 import org.jfree.chart.internal.ShapeUtils;
 import org.jfree.data.category.CategoryDataset;
@@ -134,6 +136,47 @@ public class LineAndShapeRenderer extends AbstractCategoryItemRenderer
      */
     private double itemMargin;
 
+    /**
+     * A flag that controls whether item shapes are stamped from
+     * pre-rendered images on raster targets.
+     */
+    private boolean markerStamping;
+
+    /**
+     * State information for the renderer.
+     *
+     * @since 2.0
+     */
+    protected static class State extends CategoryItemRendererState {
+
+        /** The marker stamper (created when first needed). */
+        private MarkerStamper markerStamper;
+
+        /**
+         * Creates a new state instance.
+         *
+         * @param info  collects plot rendering information ({@code null}
+         *              permitted).
+         */
+        public State(PlotRenderingInfo info) {
+            super(info);
+        }
+
+        /**
+         * Returns the marker stamper for this drawing, creating it if
+         * necessary.
+         *
+         * @return The marker stamper (never {@code null}).
+         */
+        public MarkerStamper getMarkerStamper() {
+            if (this.markerStamper == null) {
+                this.markerStamper = new MarkerStamper();
+            }
+            return this.markerStamper;
+        }
+
+    }
+
     /**
      * Creates a renderer with both lines and shapes visible by default.
      */
@@ -556,6 +599,54 @@ public class LineAndShapeRenderer extends AbstractCategoryItemRenderer
         fireChangeEvent();
     }
 
+    /**
+     * Returns the flag that controls whether item shapes are stamped from
+     * pre-rendered images.  The default value is {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @see #setMarkerStamping(boolean)
+     *
+     * @since 2.0
+     */
+    public boolean getMarkerStamping() {
+        return this.markerStamping;
+    }
+
+    /**
+     * Sets the flag that controls whether item shapes are stamped from
+     * pre-rendered images (see {@link MarkerStamper}), and sends a
+     * {@link RendererChangeEvent} to all registered listeners.  Vector
+     * targets (SVG, PDF and printers) always get exact vector shapes.
+     *
+     * @param flag  the flag.
+     *
+     * @see #getMarkerStamping()
+     *
+     * @since 2.0
+     */
+    public void setMarkerStamping(boolean flag) {
+        this.markerStamping = flag;
+        fireChangeEvent();
+    }
+
+    /**
+     * Creates a new state instance.  This method is called from
+     * {@link #initialise(Graphics2D, Rectangle2D, CategoryPlot, int,
+     * PlotRenderingInfo)}, and we override it so that the state can hold a
+     * {@link MarkerStamper}.
+     *
+     * @param info  the plot rendering info ({@code null} is permitted).
+     *
+     * @return A new state instance.
+     *
+     * @since 2.0
+     */
+    @Override
+    protected CategoryItemRendererState createState(PlotRenderingInfo info) {
+        return new State(info);
+    }
+
     /**
      * Returns a legend item for a series.
      *
@@ -725,14 +816,24 @@ public class LineAndShapeRenderer extends AbstractCategoryItemRenderer
 
         if (pass == 1) {
             Shape shape = getItemShape(row, column);
+            double xx = x1;
+            double yy = y1;
             if (orientation == PlotOrientation.HORIZONTAL) {
-                shape = ShapeUtils.createTranslatedShape(shape, y1, x1);
+                xx = y1;
+                yy = x1;
+            }
+
+            boolean stamped = false;
+            if (this.markerStamping && state instanceof State
+                    && getItemShapeVisible(row, column)) {
+                stamped = stampShape(g2, ((State) state).getMarkerStamper(),
+                        shape, xx, yy, row, column);
             }
-            else if (orientation == PlotOrientation.VERTICAL) {
-                shape = ShapeUtils.createTranslatedShape(shape, x1, y1);
+            if (!stamped || state.getEntityCollection() != null) {
+                shape = ShapeUtils.createTranslatedShape(shape, xx, yy);
             }
 
-            if (getItemShapeVisible(row, column)) {
+            if (!stamped && getItemShapeVisible(row, column)) {
                 if (getItemShapeFilled(row, column)) {
                     if (this.useFillPaint) {
                         g2.setPaint(getItemFillPaint(row, column));
@@ -781,6 +882,40 @@ public class LineAndShapeRenderer extends AbstractCategoryItemRenderer
 
     }
 
+    /**
+     * Stamps the shape for an item at the specified location, if the
+     * stamper can do so on the current target.
+     *
+     * @param g2  the graphics device.
+     * @param stamper  the marker stamper.
+     * @param shape  the (untranslated) item shape.
+     * @param x  the x-coordinate for the item.
+     * @param y  the y-coordinate for the item.
+     * @param row  the row index (zero-based).
+     * @param column  the column index (zero-based).
+     *
+     * @return {@code true} if the shape was stamped, and {@code false} if
+     *     it should be drawn as a vector.
+     */
+    private boolean stampShape(Graphics2D g2, MarkerStamper stamper,
+            Shape shape, double x, double y, int row, int column) {
+        Paint fillPaint = null;
+        if (getItemShapeFilled(row, column)) {
+            fillPaint = this.useFillPaint ? getItemFillPaint(row, column)
+                    : getItemPaint(row, column);
+        }
+        Paint outlinePaint = null;
+        Stroke outlineStroke = null;
+        if (this.drawOutlines) {
+            outlinePaint = this.useOutlinePaint
+                    ? getItemOutlinePaint(row, column)
+                    : getItemPaint(row, column);
+            outlineStroke = getItemOutlineStroke(row, column);
+        }
+        return stamper.stamp(g2, shape, x, y, fillPaint, outlinePaint,
+                outlineStroke);
+    }
+
     /**
      * Tests this renderer for equality with an arbitrary object.
      *
@@ -826,6 +961,9 @@ public class LineAndShapeRenderer extends AbstractCategoryItemRenderer
         if (this.itemMargin != that.itemMargin) {
             return false;
         }
+        if (this.markerStamping != that.markerStamping) {
+            return false;
+        }
         return super.equals(obj);
     }
 
@@ -57,6 +57,7 @@ import org.jfree.data.DataUtils;
 import org.jfree.data.Range;
 import org.jfree.data.category.CategoryDataset;
 import org.jfree.data.general.DatasetUtils;
+import org.jfree.data.general.StackBuffers;
 
 /**
  * A renderer that draws stacked area charts for a {@link CategoryPlot}.
@@ -178,18 +179,16 @@ public class StackedAreaRenderer extends AreaRenderer
         Shape entityArea;
         EntityCollection entities = state.getEntityCollection();
 
+        StackBuffers buffers = getStackBuffers(state, dataset);
         double y1 = 0.0;
         Number n = dataset.getValue(row, column);
         if (n != null) {
             y1 = n.doubleValue();
             if (this.renderAsPercentages) {
-                double total = DataUtils.calculateColumnTotal(dataset,
-                        column, state.getVisibleSeriesArray());
-                y1 = y1 / total;
+                y1 = y1 / buffers.getTotal(column);
             }
         }
-        double[] stack1 = getStackValues(dataset, row, column,
-                state.getVisibleSeriesArray());
+        double[] stack1 = getStackValues(buffers, row, column);
 
 
         // leave the y values (y1, y0) untranslated as it is going to be be
@@ -206,13 +205,11 @@ public class StackedAreaRenderer extends AreaRenderer
         if (n != null) {
             y0 = n.doubleValue();
             if (this.renderAsPercentages) {
-                double total = DataUtils.calculateColumnTotal(dataset,
-                        Math.max(column - 1, 0), state.getVisibleSeriesArray());
-                y0 = y0 / total;
+                y0 = y0 / buffers.getTotal(Math.max(column - 1, 0));
             }
         }
-        double[] stack0 = getStackValues(dataset, row, Math.max(column - 1, 0),
-                state.getVisibleSeriesArray());
+        double[] stack0 = getStackValues(buffers, row,
+                Math.max(column - 1, 0));
 
         // FIXME: calculate xx0
         double xx0 = domainAxis.getCategoryStart(column, getColumnCount(),
@@ -224,14 +221,12 @@ public class StackedAreaRenderer extends AreaRenderer
         if (n != null) {
             y2 = n.doubleValue();
             if (this.renderAsPercentages) {
-                double total = DataUtils.calculateColumnTotal(dataset,
-                        Math.min(column + 1, itemCount - 1),
-                        state.getVisibleSeriesArray());
-                y2 = y2 / total;
+                y2 = y2 / buffers.getTotal(Math.min(column + 1,
+                        itemCount - 1));
             }
         }
-        double[] stack2 = getStackValues(dataset, row, Math.min(column + 1,
-                itemCount - 1), state.getVisibleSeriesArray());
+        double[] stack2 = getStackValues(buffers, row, Math.min(column + 1,
+                itemCount - 1));
 
         double xx2 = domainAxis.getCategoryEnd(column, getColumnCount(),
                 dataArea, plot.getDomainAxisEdge());
@@ -378,7 +373,15 @@ public class StackedAreaRenderer extends AreaRenderer
      * @return An array containing the cumulative negative and positive values
      *     for all series values up to but excluding {@code series}
      *     for {@code index}.
+     *
+     * @deprecated This method is no longer called by
+     *     {@link #drawItem(Graphics2D, CategoryItemRendererState,
+     *     Rectangle2D, CategoryPlot, CategoryAxis, ValueAxis,
+     *     CategoryDataset, int, int, int)}, which looks up the stacked
+     *     values in the {@link StackBuffers} for the drawing pass, so
+     *     overriding it has no effect on the chart.
      */
+    @Deprecated
     protected double[] getStackValues(CategoryDataset dataset,
             int series, int index, int[] validRows) {
         double[] result = new double[2];
@@ -410,6 +413,48 @@ public class StackedAreaRenderer extends AreaRenderer
         return result;
     }
 
+    /**
+     * Returns the stack buffers for the dataset, calculating them the first
+     * time they are needed in the current drawing pass.  Only the visible
+     * series are stacked (and included in the totals for percentages).
+     *
+     * @param state  the renderer state ({@code null} not permitted).
+     * @param dataset  the dataset ({@code null} not permitted).
+     *
+     * @return The stack buffers.
+     */
+    private StackBuffers getStackBuffers(CategoryItemRendererState state,
+            CategoryDataset dataset) {
+        StackBuffers buffers = state.getStackBuffers();
+        if (buffers == null || !buffers.isFor(dataset)) {
+            buffers = StackBuffers.create(dataset,
+                    state.getVisibleSeriesArray(), null,
+                    this.renderAsPercentages);
+            state.setStackBuffers(buffers);
+        }
+        return buffers;
+    }
+
+    /**
+     * Returns the stacked values (one positive and one negative) of the
+     * visible series up to, but not including, {@code series} for the
+     * specified item, looked up in the stack buffers.
+     *
+     * @param buffers  the stack buffers ({@code null} not permitted).
+     * @param series  the series index.
+     * @param index  the item index.
+     *
+     * @return An array containing the cumulative negative and positive
+     *     values.
+     */
+    private double[] getStackValues(StackBuffers buffers, int series,
+            int index) {
+        double[] result = new double[2];
+        result[0] = buffers.getNegativeBase(series, index);
+        result[1] = buffers.getPositiveBase(series, index);
+        return result;
+    }
+
     /**
      * Returns a pair of "stack" values calculated as the mean of the two
      * specified stack value pairs.
@@ -55,9 +55,9 @@ import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.api.RectangleEdge;
 import org.jfree.chart.text.TextAnchor;
 import org.jfree.chart.api.PublicCloneable;
-import org.jfree.data.DataUtils;
 import org.jfree.data.Range;
 import org.jfree.data.category.CategoryDataset;
+import org.jfree.data.general.StackBuffers;
 import org.jfree.data.general.DatasetUtils;
 
 /**
@@ -245,11 +245,9 @@ public class StackedBarRenderer extends BarRenderer
         }
 
         double value = dataValue.doubleValue();
-        double total = 0.0;  // only needed if calculating percentages
+        StackBuffers buffers = getStackBuffers(state, dataset);
         if (this.renderAsPercentages) {
-            total = DataUtils.calculateColumnTotal(dataset, column,
-                    state.getVisibleSeriesArray());
-            value = value / total;
+            value = value / buffers.getTotal(column);
         }
 
         PlotOrientation orientation = plot.getOrientation();
@@ -257,24 +255,8 @@ public class StackedBarRenderer extends BarRenderer
                 dataArea, plot.getDomainAxisEdge())
                 - state.getBarWidth() / 2.0;
 
-        double positiveBase = getBase();
-        double negativeBase = positiveBase;
-
-        for (int i = 0; i < row; i++) {
-            Number v = dataset.getValue(i, column);
-            if (v != null && isSeriesVisible(i)) {
-                double d = v.doubleValue();
-                if (this.renderAsPercentages) {
-                    d = d / total;
-                }
-                if (d > 0) {
-                    positiveBase = positiveBase + d;
-                }
-                else {
-                    negativeBase = negativeBase + d;
-                }
-            }
-        }
+        double positiveBase = getBase() + buffers.getPositiveBase(row, column);
+        double negativeBase = getBase() + buffers.getNegativeBase(row, column);
 
         double translatedBase;
         double translatedValue;
@@ -351,6 +333,28 @@ public class StackedBarRenderer extends BarRenderer
         }
     }
 
+    /**
+     * Returns the stack buffers for the dataset, calculating them the first
+     * time they are needed in the current drawing pass.  Only the visible
+     * series are stacked (and included in the totals for percentages).
+     *
+     * @param state  the renderer state ({@code null} not permitted).
+     * @param dataset  the dataset ({@code null} not permitted).
+     *
+     * @return The stack buffers.
+     */
+    private StackBuffers getStackBuffers(CategoryItemRendererState state,
+            CategoryDataset dataset) {
+        StackBuffers buffers = state.getStackBuffers();
+        if (buffers == null || !buffers.isFor(dataset)) {
+            buffers = StackBuffers.create(dataset,
+                    state.getVisibleSeriesArray(), null,
+                    this.renderAsPercentages);
+            state.setStackBuffers(buffers);
+        }
+        return buffers;
+    }
+
     /**
      * Tests this renderer for equality with an arbitrary object.
      *
@@ -66,11 +66,13 @@ import org.jfree.chart.legend.LegendItem;
 import org.jfree.chart.legend.LegendItemCollection;
 import org.jfree.chart.annotations.Annotation;
 import org.jfree.chart.annotations.XYAnnotation;
+import org.jfree.chart.annotations.XYAnnotationIndex;
 import org.jfree.chart.axis.ValueAxis;
 import org.jfree.chart.entity.EntityCollection;
 import org.jfree.chart.entity.XYItemEntity;
 import org.jfree.chart.event.AnnotationChangeEvent;
 import org.jfree.chart.event.AnnotationChangeListener;
+import org.jfree.chart.event.ChartDrawMetrics;
 import org.jfree.chart.event.RendererChangeEvent;
 import org.jfree.chart.labels.ItemLabelPosition;
 import org.jfree.chart.labels.StandardXYSeriesLabelGenerator;
@@ -146,6 +148,19 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer
      */
     private List<XYAnnotation> foregroundAnnotations;
 
+    /**
+     * An index of the background annotations, used to skip the annotations
+     * that are outside the axis ranges ({@code null} until required and
+     * after any change to the annotations).
+     */
+    private transient XYAnnotationIndex backgroundIndex;
+
+    /**
+     * An index of the foreground annotations ({@code null} until required
+     * and after any change to the annotations).
+     */
+    private transient XYAnnotationIndex foregroundIndex;
+
     /** The legend item label generator. */
     private XYSeriesLabelGenerator legendItemLabelGenerator;
 
@@ -434,6 +449,7 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer
      */
     @Override
     public void addAnnotation(XYAnnotation annotation, Layer layer) {
+        invalidateAnnotationIndices();
         Args.nullNotPermitted(annotation, "annotation");
         Args.nullNotPermitted(layer, "layer");
         switch (layer) {
@@ -464,6 +480,7 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer
      */
     @Override
     public boolean removeAnnotation(XYAnnotation annotation) {
+        invalidateAnnotationIndices();
         boolean removed = this.foregroundAnnotations.remove(annotation);
         removed = removed & this.backgroundAnnotations.remove(annotation);
         annotation.removeChangeListener(this);
@@ -477,6 +494,7 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer
      */
     @Override
     public void removeAnnotations() {
+        invalidateAnnotationIndices();
         for (XYAnnotation annotation : this.foregroundAnnotations) {
             annotation.removeChangeListener(this);
         }
@@ -497,9 +515,19 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer
      */
     @Override
     public void annotationChanged(AnnotationChangeEvent event) {
+        invalidateAnnotationIndices();
         fireChangeEvent();
     }
 
+    /**
+     * Discards the indices used to skip the annotations that are outside the
+     * axis ranges.  This method is called whenever the annotations change.
+     */
+    private void invalidateAnnotationIndices() {
+        this.backgroundIndex = null;
+        this.foregroundIndex = null;
+    }
+
     /**
      * Returns a collection of the annotations that are assigned to the
      * renderer.
@@ -1369,6 +1397,7 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer
         clone.legendItemURLGenerator = CloneUtils.clone(this.legendItemURLGenerator);
         clone.foregroundAnnotations = CloneUtils.cloneList(this.foregroundAnnotations);
         clone.backgroundAnnotations = CloneUtils.cloneList(this.backgroundAnnotations);
+        clone.invalidateAnnotationIndices();
         return clone;
     }
 
@@ -1536,7 +1565,8 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer
     }
 
     /**
-     * Draws all the annotations for the specified layer.
+     * Draws the annotations for the specified layer, skipping any that are
+     * known to lie outside the current axis ranges.
      *
      * @param g2  the graphics device.
      * @param dataArea  the data area.
@@ -1550,18 +1580,28 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer
             ValueAxis domainAxis, ValueAxis rangeAxis, Layer layer,
             PlotRenderingInfo info) {
         Args.nullNotPermitted(layer, "layer");
-        List<XYAnnotation> toDraw = new ArrayList<>();
+        XYAnnotationIndex annotationIndex;
         switch (layer) {
             case FOREGROUND:
-                toDraw.addAll(this.foregroundAnnotations);
+                if (this.foregroundIndex == null) {
+                    this.foregroundIndex = new XYAnnotationIndex(
+                            this.foregroundAnnotations);
+                }
+                annotationIndex = this.foregroundIndex;
                 break;
             case BACKGROUND:
-                toDraw.addAll(this.backgroundAnnotations);
+                if (this.backgroundIndex == null) {
+                    this.backgroundIndex = new XYAnnotationIndex(
+                            this.backgroundAnnotations);
+                }
+                annotationIndex = this.backgroundIndex;
                 break;
             default:
                 // should not get here
                 throw new RuntimeException("Unknown layer.");
         }
+        List<XYAnnotation> toDraw = annotationIndex.getVisibleAnnotations(
+                domainAxis, rangeAxis);
         int index = this.plot.getIndexOf(this);
         for (XYAnnotation annotation : toDraw) {
             annotation.draw(g2, this.plot, dataArea, domainAxis, rangeAxis,
@@ -1594,6 +1634,8 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer
         if (!getItemCreateEntity(series, item)) {
             return;
         }
+        ChartDrawMetrics metrics = ChartDrawMetrics.of(entities);
+        long start = metrics != null ? System.nanoTime() : 0L;
 
         // if not hotspot is provided, we create a default based on the 
         // provided data coordinates (which are already in Java2D space)
@@ -1614,6 +1656,9 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer
         XYItemEntity entity = new XYItemEntity(hotspot, dataset, series, item,
                 tip, url);
         entities.add(entity);
+        if (metrics != null) {
+            metrics.recordPhase(ChartDrawMetrics.Phase.ENTITIES, start);
+        }
     }
 
     /**
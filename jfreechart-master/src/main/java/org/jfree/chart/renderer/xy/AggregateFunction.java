@@ -0,0 +1,62 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------
+ * AggregateFunction.java
+ * ----------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.renderer.xy;
+
+/**
+ * The function used by an {@link XYAggregateRenderer} to combine the data
+ * items that fall on the same pixel.
+ *
+ * @since 2.0
+ */
+public enum AggregateFunction {
+
+    /** The number of items. */
+    COUNT,
+
+    /**
+     * The sum of the item values (the z-values for an
+     * {@link org.jfree.data.xy.XYZDataset}, otherwise the y-values).
+     */
+    SUM,
+
+    /**
+     * The mean of the item values (the z-values for an
+     * {@link org.jfree.data.xy.XYZDataset}, otherwise the y-values).
+     */
+    MEAN
+
+}
@@ -0,0 +1,63 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------
+ * AggregateShading.java
+ * ---------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.renderer.xy;
+
+/**
+ * The way an {@link XYAggregateRenderer} maps aggregate values onto its
+ * paint scale.
+ *
+ * @since 2.0
+ */
+public enum AggregateShading {
+
+    /** The values are mapped linearly from the lowest to the highest. */
+    LINEAR,
+
+    /**
+     * The values are mapped on a log scale (after shifting them so that the
+     * lowest value is zero), which brings out detail in sparse regions.
+     */
+    LOG,
+
+    /**
+     * Histogram equalization: each value is mapped according to the
+     * fraction of pixels with a lower value, so that every color in the
+     * scale is used for roughly the same number of pixels.
+     */
+    EQ_HIST
+
+}
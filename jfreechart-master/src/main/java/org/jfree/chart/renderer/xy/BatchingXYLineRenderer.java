@@ -0,0 +1,509 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------------
+ * BatchingXYLineRenderer.java
+ * ----------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.renderer.xy;
+
+import java.awt.BasicStroke;
+import java.awt.Graphics2D;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+import org.jfree.chart.api.PublicCloneable;
+import org.jfree.chart.api.RectangleEdge;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.internal.Args;
+import org.jfree.chart.internal.CloneUtils;
+import org.jfree.chart.internal.HashUtils;
+import org.jfree.chart.internal.LineUtils;
+import org.jfree.chart.internal.SerialUtils;
+import org.jfree.chart.internal.ShapeUtils;
+import org.jfree.chart.plot.CrosshairState;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.PlotRenderingInfo;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.data.xy.XYDataset;
+
+/**
+ * A renderer that draws each series as a single line path.  When the plot
+ * asks for the first item of a series, the renderer walks all the items in
+ * the pass in one loop, converts them to Java2D space and builds one
+ * pre-sized {@link Path2D.Double}, which is then stroked with a single
+ * {@code draw()} call.  While building the path the renderer:
+ * <ul>
+ * <li>drops points that fall within the pixel tolerance of the previous
+ * vertex;</li>
+ * <li>merges runs of points that lie (within the tolerance) on a straight
+ * line into one segment;</li>
+ * <li>clips segments to the data area (extended by the stroke width), so
+ * that off-screen parts of the series are never stroked.</li>
+ * </ul>
+ * The result differs from {@link XYLineAndShapeRenderer} by at most the pixel
+ * tolerance, which can be set to zero to keep every point.  This renderer
+ * draws lines only, does not create chart entities or update the crosshair
+ * state, and uses the paint and stroke of the first item for the whole
+ * series.  It is designed for use with the {@link XYPlot} class.
+ *
+ * @since 2.0
+ */
+public class BatchingXYLineRenderer extends AbstractXYItemRenderer
+        implements XYItemRenderer, Cloneable, PublicCloneable, Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -4433421067738361938L;
+
+    /** The shape that is used to represent a line in the legend. */
+    private transient Shape legendLine;
+
+    /** The tolerance (in Java2D units) used to simplify the line. */
+    private double tolerance;
+
+    /**
+     * Creates a new renderer with a tolerance of half a pixel.
+     */
+    public BatchingXYLineRenderer() {
+        this.tolerance = 0.5;
+        this.legendLine = new Line2D.Double(-7.0, 0.0, 7.0, 0.0);
+        setDefaultLegendShape(this.legendLine);
+        setTreatLegendShapeAsLine(true);
+    }
+
+    /**
+     * Returns the tolerance (in Java2D units) used to simplify the line.
+     * The default value is {@code 0.5}.
+     *
+     * @return The tolerance.
+     *
+     * @see #setTolerance(double)
+     */
+    public double getTolerance() {
+        return this.tolerance;
+    }
+
+    /**
+     * Sets the tolerance (in Java2D units) used to simplify the line and
+     * sends a change event to all registered listeners.  Points closer than
+     * this to the previous vertex are dropped, and points within half this
+     * distance of a straight run are merged into it.  A value of zero keeps
+     * every point.
+     *
+     * @param tolerance  the tolerance (must be finite and &gt;= 0).
+     *
+     * @see #getTolerance()
+     */
+    public void setTolerance(double tolerance) {
+        Args.requireFinite(tolerance, "tolerance");
+        Args.requireNonNegative(tolerance, "tolerance");
+        this.tolerance = tolerance;
+        fireChangeEvent();
+    }
+
+    /**
+     * Returns the number of passes through the data that the renderer
+     * requires in order to draw the chart.
+     *
+     * @return The pass count.
+     */
+    @Override
+    public int getPassCount() {
+        return 1;
+    }
+
+    /**
+     * Records the state for the renderer.  The path and the simplification
+     * state are reused for every series.
+     */
+    public static class State extends XYItemRendererState {
+
+        /** The path for the current series. */
+        Path2D.Double path;
+
+        /** The number of segments the path was sized for. */
+        int capacity;
+
+        /** The clipping rectangle (the data area plus a margin). */
+        final Rectangle2D clip = new Rectangle2D.Double();
+
+        /** The simplification tolerance. */
+        double tolerance;
+
+        /** Is there a current anchor (the last vertex passed on)? */
+        boolean hasAnchor;
+
+        /** The anchor x-coordinate. */
+        double anchorX;
+
+        /** The anchor y-coordinate. */
+        double anchorY;
+
+        /** Is there a pending vertex (the end of the current run)? */
+        boolean hasPending;
+
+        /** The pending x-coordinate. */
+        double pendingX;
+
+        /** The pending y-coordinate. */
+        double pendingY;
+
+        /** The x-component of the unit direction of the current run. */
+        double dirX;
+
+        /** The y-component of the unit direction of the current run. */
+        double dirY;
+
+        /** The distance of the pending vertex along the current run. */
+        double runLength;
+
+        /** Is the pen at a point that the path can continue from? */
+        boolean penDown;
+
+        /** The pen x-coordinate. */
+        double penX;
+
+        /** The pen y-coordinate. */
+        double penY;
+
+        /**
+         * Creates a new state instance.
+         *
+         * @param info  the plot rendering info.
+         */
+        public State(PlotRenderingInfo info) {
+            super(info);
+        }
+
+        /**
+         * Prepares an empty path that can hold the specified number of
+         * segments without growing.
+         *
+         * @param segments  the expected number of segments.
+         */
+        void resetPath(int segments) {
+            if (this.path == null || this.capacity < segments) {
+                this.path = new Path2D.Double(Path2D.WIND_NON_ZERO, segments);
+                this.capacity = segments;
+            } else {
+                this.path.reset();
+            }
+            this.hasAnchor = false;
+            this.hasPending = false;
+            this.penDown = false;
+        }
+
+        /**
+         * Adds a point (in Java2D space) to the line.
+         *
+         * @param x  the x-coordinate.
+         * @param y  the y-coordinate.
+         */
+        void addPoint(double x, double y) {
+            if (!this.hasAnchor) {
+                this.anchorX = x;
+                this.anchorY = y;
+                this.hasAnchor = true;
+                return;
+            }
+            if (this.hasPending) {
+                double vx = x - this.anchorX;
+                double vy = y - this.anchorY;
+                double along = vx * this.dirX + vy * this.dirY;
+                double across = Math.abs(vx * this.dirY - vy * this.dirX);
+                if (along >= this.runLength
+                        && across < this.tolerance / 2.0) {
+                    // extends the current straight run
+                    this.pendingX = x;
+                    this.pendingY = y;
+                    this.runLength = along;
+                    return;
+                }
+                if (Math.hypot(x - this.pendingX, y - this.pendingY)
+                        < this.tolerance) {
+                    return;
+                }
+                segment(this.anchorX, this.anchorY, this.pendingX,
+                        this.pendingY);
+                this.anchorX = this.pendingX;
+                this.anchorY = this.pendingY;
+            }
+            double dx = x - this.anchorX;
+            double dy = y - this.anchorY;
+            double length = Math.hypot(dx, dy);
+            if (length < this.tolerance || length == 0.0) {
+                return;
+            }
+            this.pendingX = x;
+            this.pendingY = y;
+            this.dirX = dx / length;
+            this.dirY = dy / length;
+            this.runLength = length;
+            this.hasPending = true;
+        }
+
+        /**
+         * Ends the current line (at a gap in the data or at the end of the
+         * series).
+         */
+        void endLine() {
+            if (this.hasPending) {
+                segment(this.anchorX, this.anchorY, this.pendingX,
+                        this.pendingY);
+            }
+            this.hasAnchor = false;
+            this.hasPending = false;
+            this.penDown = false;
+        }
+
+        /**
+         * Appends a segment to the path, clipped to the clipping rectangle.
+         *
+         * @param x0  the start x-coordinate.
+         * @param y0  the start y-coordinate.
+         * @param x1  the end x-coordinate.
+         * @param y1  the end y-coordinate.
+         */
+        private void segment(double x0, double y0, double x1, double y1) {
+            int out0 = this.clip.outcode(x0, y0);
+            int out1 = this.clip.outcode(x1, y1);
+            if ((out0 & out1) != 0) {
+                this.penDown = false;
+                return;
+            }
+            boolean clipped = (out0 | out1) != 0;
+            if (clipped) {
+                this.workingLine.setLine(x0, y0, x1, y1);
+                if (!LineUtils.clipLine(this.workingLine, this.clip)) {
+                    this.penDown = false;
+                    return;
+                }
+                x0 = this.workingLine.getX1();
+                y0 = this.workingLine.getY1();
+                x1 = this.workingLine.getX2();
+                y1 = this.workingLine.getY2();
+            }
+            if (!this.penDown || this.penX != x0 || this.penY != y0) {
+                this.path.moveTo(x0, y0);
+            }
+            this.path.lineTo(x1, y1);
+            this.penX = x1;
+            this.penY = y1;
+            this.penDown = true;
+        }
+
+    }
+
+    /**
+     * Initialises the renderer.
+     *
+     * @param g2  the graphics device.
+     * @param dataArea  the area inside the axes.
+     * @param plot  the plot.
+     * @param data  the data.
+     * @param info  an optional info collection object to return data back to
+     *              the caller.
+     *
+     * @return The renderer state.
+     */
+    @Override
+    public XYItemRendererState initialise(Graphics2D g2,
+            Rectangle2D dataArea, XYPlot plot, XYDataset data,
+            PlotRenderingInfo info) {
+        State state = new State(info);
+        state.tolerance = this.tolerance;
+        return state;
+    }
+
+    /**
+     * Draws the line for a series.  All the work is done when this method
+     * is called for the first item of the series pass; calls for the
+     * remaining items return immediately.
+     *
+     * @param g2  the graphics device.
+     * @param state  the renderer state.
+     * @param dataArea  the area within which the data is being drawn.
+     * @param info  collects information about the drawing.
+     * @param plot  the plot (can be used to obtain standard color
+     *              information etc).
+     * @param domainAxis  the domain axis.
+     * @param rangeAxis  the range axis.
+     * @param dataset  the dataset.
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     * @param crosshairState  crosshair information for the plot
+     *                        ({@code null} permitted).
+     * @param pass  the pass index.
+     */
+    @Override
+    public void drawItem(Graphics2D g2, XYItemRendererState state,
+            Rectangle2D dataArea, PlotRenderingInfo info, XYPlot plot,
+            ValueAxis domainAxis, ValueAxis rangeAxis, XYDataset dataset,
+            int series, int item, CrosshairState crosshairState, int pass) {
+
+        State s = (State) state;
+        if (item != s.getFirstItemIndex() || !isSeriesVisible(series)) {
+            return;
+        }
+        int first = s.getFirstItemIndex();
+        int last = s.getLastItemIndex();
+        Stroke stroke = getItemStroke(series, first);
+        double margin = 2.0;
+        if (stroke instanceof BasicStroke) {
+            margin += ((BasicStroke) stroke).getLineWidth();
+        }
+        s.clip.setRect(dataArea.getX() - margin, dataArea.getY() - margin,
+                dataArea.getWidth() + 2 * margin,
+                dataArea.getHeight() + 2 * margin);
+
+        // after simplification there are rarely more vertices than a few
+        // per pixel along the data area's edges
+        int bound = 2 * (int) (dataArea.getWidth() + dataArea.getHeight())
+                + 16;
+        s.resetPath(Math.min(last - first + 1, bound));
+
+        RectangleEdge xAxisLocation = plot.getDomainAxisEdge();
+        RectangleEdge yAxisLocation = plot.getRangeAxisEdge();
+        boolean vertical = plot.getOrientation() == PlotOrientation.VERTICAL;
+        for (int i = first; i <= last; i++) {
+            double x = dataset.getXValue(series, i);
+            double y = dataset.getYValue(series, i);
+            if (Double.isNaN(x) || Double.isNaN(y)) {
+                s.endLine();
+                continue;
+            }
+            double transX = domainAxis.valueToJava2D(x, dataArea,
+                    xAxisLocation);
+            double transY = rangeAxis.valueToJava2D(y, dataArea,
+                    yAxisLocation);
+            if (Double.isNaN(transX) || Double.isNaN(transY)) {
+                s.endLine();
+                continue;
+            }
+            if (vertical) {
+                s.addPoint(transX, transY);
+            } else {
+                s.addPoint(transY, transX);
+            }
+        }
+        s.endLine();
+
+        if (s.path.getCurrentPoint() != null) {
+            g2.setStroke(stroke);
+            g2.setPaint(getItemPaint(series, first));
+            g2.draw(s.path);
+        }
+    }
+
+    /**
+     * Returns a clone of the renderer.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if the clone cannot be created.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        BatchingXYLineRenderer clone = (BatchingXYLineRenderer) super.clone();
+        clone.legendLine = CloneUtils.clone(this.legendLine);
+        return clone;
+    }
+
+    /**
+     * Tests this renderer for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return {@code true} or {@code false}.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof BatchingXYLineRenderer)) {
+            return false;
+        }
+        BatchingXYLineRenderer that = (BatchingXYLineRenderer) obj;
+        if (this.tolerance != that.tolerance) {
+            return false;
+        }
+        if (!ShapeUtils.equal(this.legendLine, that.legendLine)) {
+            return false;
+        }
+        return super.equals(obj);
+    }
+
+    /**
+     * Returns a hash code for this instance.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        return HashUtils.hashCode(super.hashCode(), this.tolerance);
+    }
+
+    /**
+     * Provides serialization support.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     * @throws ClassNotFoundException  if there is a classpath problem.
+     */
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        this.legendLine = SerialUtils.readShape(stream);
+    }
+
+    /**
+     * Provides serialization support.
+     *
+     * @param stream  the output stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     */
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        stream.defaultWriteObject();
+        SerialUtils.writeShape(this.legendLine, stream);
+    }
+
+}
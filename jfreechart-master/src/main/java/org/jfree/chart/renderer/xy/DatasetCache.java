@@ -0,0 +1,199 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -----------------
+ * DatasetCache.java
+ * -----------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.renderer.xy;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.general.DatasetChangeListener;
+import org.jfree.data.general.DatasetView;
+import org.jfree.data.xy.XYDataset;
+
+/**
+ * Values that a renderer derives from a dataset and keeps between repaints
+ * (fitted splines, aggregate grids), one entry per dataset.  Datasets are
+ * matched by identity (their hash codes change with their data) and only
+ * weakly referenced.
+ * <p>
+ * Each entry listens to its dataset so that the renderer can tell when the
+ * value is out of date.  The listener only weakly references the entry, so a
+ * dataset never keeps a renderer's cached values alive, and it is removed
+ * from the dataset when the entry is purged (the dataset is no longer drawn
+ * by the renderer's plot) or the whole cache is released.
+ *
+ * @param <V> the type of the cached values.
+ */
+final class DatasetCache<V> {
+
+    /** The entries. */
+    private final List<Entry<V>> entries = new ArrayList<>();
+
+    /**
+     * Returns the entry for a dataset, creating it if necessary, and purges
+     * the entries for datasets that have been garbage collected or are no
+     * longer in {@code plot}.  Snapshots and other views are not cached (each
+     * repaint draws a new one) so {@code null} is returned for them.
+     *
+     * @param dataset  the dataset ({@code null} not permitted).
+     * @param plot  the renderer's plot ({@code null} permitted).
+     * @param factory  creates the value for a new entry.
+     *
+     * @return The entry, or {@code null} for a {@link DatasetView}.
+     */
+    Entry<V> get(XYDataset<?> dataset, XYPlot<?> plot, Supplier<V> factory) {
+        if (dataset instanceof DatasetView) {
+            return null;
+        }
+        Entry<V> result = null;
+        Iterator<Entry<V>> iterator = this.entries.iterator();
+        while (iterator.hasNext()) {
+            Entry<V> entry = iterator.next();
+            XYDataset<?> d = entry.dataset.get();
+            if (d == dataset) {
+                result = entry;
+            } else if (d == null) {
+                iterator.remove();
+            } else if (plot != null && !contains(plot, d)) {
+                d.removeChangeListener(entry.listener);
+                iterator.remove();
+            }
+        }
+        if (result == null) {
+            result = new Entry<>(dataset, factory.get());
+            dataset.addChangeListener(result.listener);
+            this.entries.add(result);
+        }
+        return result;
+    }
+
+    /**
+     * Removes all the entries, and their listeners from the datasets.
+     */
+    void release() {
+        for (Entry<V> entry : this.entries) {
+            XYDataset<?> d = entry.dataset.get();
+            if (d != null) {
+                d.removeChangeListener(entry.listener);
+            }
+        }
+        this.entries.clear();
+    }
+
+    /**
+     * Returns the number of entries (for testing).
+     *
+     * @return The entry count.
+     */
+    int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Returns {@code true} if {@code plot} holds {@code dataset}.
+     *
+     * @param plot  the plot.
+     * @param dataset  the dataset.
+     *
+     * @return A boolean.
+     */
+    private static boolean contains(XYPlot<?> plot, XYDataset<?> dataset) {
+        for (XYDataset<?> d : plot.getDatasets().values()) {
+            if (d == dataset) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The cached value for one dataset.
+     *
+     * @param <V> the type of the cached value.
+     */
+    static final class Entry<V> {
+
+        /** The dataset. */
+        private final WeakReference<XYDataset<?>> dataset;
+
+        /** The listener registered with the dataset. */
+        private final Listener listener;
+
+        /** The value. */
+        V value;
+
+        /** Has the dataset changed since the flag was last cleared? */
+        boolean changed;
+
+        Entry(XYDataset<?> dataset, V value) {
+            this.dataset = new WeakReference<>(dataset);
+            this.listener = new Listener(this);
+            this.value = value;
+        }
+
+    }
+
+    /**
+     * Marks an entry as changed.  Once the entry itself has been collected,
+     * the listener removes itself from the dataset at the next change.
+     */
+    private static final class Listener implements DatasetChangeListener {
+
+        /** The entry. */
+        private final WeakReference<Entry<?>> entry;
+
+        Listener(Entry<?> entry) {
+            this.entry = new WeakReference<>(entry);
+        }
+
+        @Override
+        public void datasetChanged(DatasetChangeEvent event) {
+            Entry<?> e = this.entry.get();
+            if (e != null) {
+                e.changed = true;
+            } else if (event.getDataset() != null) {
+                event.getDataset().removeChangeListener(this);
+            }
+        }
+
+    }
+
+}
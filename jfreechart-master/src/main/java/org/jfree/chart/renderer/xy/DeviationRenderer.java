@@ -348,7 +348,7 @@ public class DeviationRenderer extends XYLineAndShapeRenderer {
                 entities = info.getOwner().getEntityCollection();
             }
 
-            drawSecondaryPass(g2, plot, dataset, pass, series, item,
+            drawSecondaryPass(state, g2, plot, dataset, pass, series, item,
                     domainAxis, dataArea, rangeAxis, crosshairState, entities);
         }
     }
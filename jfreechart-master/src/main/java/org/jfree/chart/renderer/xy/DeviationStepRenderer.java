@@ -215,7 +215,7 @@ public class DeviationStepRenderer extends DeviationRenderer {
                 entities = info.getOwner().getEntityCollection();
             }
 
-            drawSecondaryPass(g2, plot, dataset, pass, series, item,
+            drawSecondaryPass(state, g2, plot, dataset, pass, series, item,
                     domainAxis, dataArea, rangeAxis, crosshairState, entities);
         }
     }
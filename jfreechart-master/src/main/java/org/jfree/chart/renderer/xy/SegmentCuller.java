@@ -0,0 +1,477 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------
+ * SegmentCuller.java
+ * ------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.renderer.xy;
+
+import java.awt.BasicStroke;
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.Stroke;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.util.Objects;
+
+import org.jfree.chart.api.RectangleEdge;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.internal.Args;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.renderer.AxisMapping;
+import org.jfree.chart.renderer.MarkerStamper;
+import org.jfree.data.xy.XYDataset;
+
+/**
+ * A geometry pre-pass shared by the line-style XY renderers.  For one pass
+ * through a series, the culler maps every item to Java2D space once (into
+ * primitive arrays), computes Cohen-Sutherland region codes against the data
+ * area and then classifies each segment (from item {@code i - 1} to item
+ * {@code i}) as:
+ * <ul>
+ * <li><i>culled</i> - both ends lie beyond the same edge of the data area
+ * (extended by a margin for the stroke), so nothing of the segment can be
+ * seen;</li>
+ * <li><i>collapsed</i> - both ends lie in the same device pixel, and the
+ * previous segment (drawn with the same item paint and stroke) already
+ * ends in that pixel, so the segment adds nothing that can be seen;</li>
+ * <li>or neither, in which case the renderer draws it as usual.</li>
+ * </ul>
+ * Segments are only collapsed when the renderer asks for it and the target
+ * is a raster target whose transform is at most a translation (see
+ * {@link #canCollapse(Graphics2D)}), since on other targets the pixels are
+ * not known.  Renderers obtain a culler for the current series pass from
+ * {@link XYItemRendererState#getSegmentCuller(Graphics2D, XYPlot,
+ * XYItemRenderer, XYDataset, int, Rectangle2D, ValueAxis, ValueAxis,
+ * double, boolean)}.
+ *
+ * @since 2.0
+ */
+public final class SegmentCuller {
+
+    /** Region code for points left of the area. */
+    private static final int LEFT = 1;
+
+    /** Region code for points right of the area. */
+    private static final int RIGHT = 2;
+
+    /** Region code for points above the area. */
+    private static final int TOP = 4;
+
+    /** Region code for points below the area. */
+    private static final int BOTTOM = 8;
+
+    /** Segment flag: the segment should be drawn (or has a missing end). */
+    private static final byte DRAWN = 0;
+
+    /** Segment flag: the segment lies beyond one edge of the area. */
+    private static final byte CULLED = 1;
+
+    /** Segment flag: the segment lies within an already painted pixel. */
+    private static final byte COLLAPSED = 2;
+
+    /** The Java2D coordinates along the domain axis. */
+    private double[] transX;
+
+    /** The Java2D coordinates along the range axis. */
+    private double[] transY;
+
+    /** The segment flags (the segment ending at each item). */
+    private byte[] flags;
+
+    /** The first item covered. */
+    private int first;
+
+    /** The last item covered (less than {@code first} if none). */
+    private int last;
+
+    /** The dataset. */
+    private XYDataset dataset;
+
+    /** The series index. */
+    private int series;
+
+    /** The margin used for the region codes. */
+    private double margin;
+
+    /** The series pass the culler was built for. */
+    private int passIndex;
+
+    /** A flag that indicates whether segments were collapsed. */
+    private boolean collapse;
+
+    /** The area (without the margin), in screen coordinates. */
+    private double minX, minY, maxX, maxY;
+
+    /** The plot orientation. */
+    private PlotOrientation orientation;
+
+    /**
+     * Creates a new culler that covers no items.
+     */
+    public SegmentCuller() {
+        this.transX = new double[0];
+        this.transY = new double[0];
+        this.flags = new byte[0];
+        this.last = -1;
+        this.passIndex = -1;
+    }
+
+    /**
+     * Returns the smallest distance by which a stroke can paint outside a
+     * line it is applied to (half the width, extended for square caps and
+     * mitred joins), or {@code Double.POSITIVE_INFINITY} for strokes that
+     * are not {@code BasicStroke} instances.
+     *
+     * @param stroke  the stroke ({@code null} not permitted).
+     *
+     * @return The margin.
+     */
+    public static double margin(Stroke stroke) {
+        Args.nullNotPermitted(stroke, "stroke");
+        if (!(stroke instanceof BasicStroke)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        BasicStroke bs = (BasicStroke) stroke;
+        double factor = Math.sqrt(2.0);
+        if (bs.getLineJoin() == BasicStroke.JOIN_MITER) {
+            factor = Math.max(factor, bs.getMiterLimit());
+        }
+        // one extra pixel for antialiasing and stroke normalisation
+        return Math.max(bs.getLineWidth(), 1.0) / 2.0 * factor + 1.0;
+    }
+
+    /**
+     * Returns {@code true} if segments can be collapsed on the specified
+     * target, which requires a raster target (see
+     * {@link MarkerStamper#isRasterTarget(Graphics2D)}) with a transform
+     * that is at most a translation, so that the device pixel for each
+     * point is known.
+     *
+     * @param g2  the graphics target ({@code null} not permitted).
+     *
+     * @return A boolean.
+     */
+    public static boolean canCollapse(Graphics2D g2) {
+        int type = g2.getTransform().getType();
+        return (type & ~AffineTransform.TYPE_TRANSLATION) == 0
+                && MarkerStamper.isRasterTarget(g2);
+    }
+
+    /**
+     * Returns {@code true} if the line from {@code (x0, y0)} to
+     * {@code (x1, y1)} lies entirely beyond one edge of the area (extended
+     * by the margin), using Cohen-Sutherland region codes.
+     *
+     * @param x0  the x-coordinate of the start point.
+     * @param y0  the y-coordinate of the start point.
+     * @param x1  the x-coordinate of the end point.
+     * @param y1  the y-coordinate of the end point.
+     * @param area  the area ({@code null} not permitted).
+     * @param margin  the margin.
+     *
+     * @return A boolean.
+     */
+    public static boolean isOutside(double x0, double y0, double x1,
+            double y1, Rectangle2D area, double margin) {
+        double minX = area.getMinX() - margin;
+        double maxX = area.getMaxX() + margin;
+        double minY = area.getMinY() - margin;
+        double maxY = area.getMaxY() + margin;
+        return (outcode(x0, y0, minX, minY, maxX, maxY)
+                & outcode(x1, y1, minX, minY, maxX, maxY)) != 0;
+    }
+
+    /**
+     * Returns the Cohen-Sutherland region code for a point ({@code 0} for
+     * points inside the bounds and for {@code NaN} coordinates).
+     *
+     * @param x  the x-coordinate.
+     * @param y  the y-coordinate.
+     * @param minX  the minimum x.
+     * @param minY  the minimum y.
+     * @param maxX  the maximum x.
+     * @param maxY  the maximum y.
+     *
+     * @return The region code.
+     */
+    private static int outcode(double x, double y, double minX, double minY,
+            double maxX, double maxY) {
+        int code = 0;
+        if (x < minX) {
+            code = LEFT;
+        } else if (x > maxX) {
+            code = RIGHT;
+        }
+        if (y < minY) {
+            code |= TOP;
+        } else if (y > maxY) {
+            code |= BOTTOM;
+        }
+        return code;
+    }
+
+    /**
+     * Returns {@code true} if this culler was built for the specified
+     * series pass, dataset, series, (at least) margin and collapse flag.
+     *
+     * @param passIndex  the series pass index.
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     * @param margin  the margin.
+     * @param collapse  the collapse flag.
+     *
+     * @return A boolean.
+     */
+    boolean isCurrent(int passIndex, XYDataset dataset, int series,
+            double margin, boolean collapse) {
+        return this.passIndex == passIndex && this.dataset == dataset
+                && this.series == series && margin <= this.margin
+                && this.collapse == collapse;
+    }
+
+    /**
+     * Maps the items from {@code first} to {@code last} of a series and
+     * classifies the segments between them.
+     *
+     * @param passIndex  the series pass index (recorded for
+     *     {@link #isCurrent}).
+     * @param dataset  the dataset ({@code null} not permitted).
+     * @param series  the series index.
+     * @param first  the first item.
+     * @param last  the last item.
+     * @param dataArea  the data area ({@code null} not permitted).
+     * @param orientation  the plot orientation ({@code null} not
+     *     permitted).
+     * @param domainAxis  the domain axis ({@code null} not permitted).
+     * @param domainEdge  the domain axis edge ({@code null} not permitted).
+     * @param rangeAxis  the range axis ({@code null} not permitted).
+     * @param rangeEdge  the range axis edge ({@code null} not permitted).
+     * @param margin  the margin (in Java2D units) added to the data area
+     *     for culling.
+     * @param renderer  the renderer that supplies the item paints and
+     *     strokes when segments are collapsed ({@code null} permitted if
+     *     {@code pixels} is {@code null}).
+     * @param pixels  the transform from Java2D space to device pixels (a
+     *     translation), or {@code null} if no segments are collapsed.
+     */
+    void update(int passIndex, XYDataset dataset, int series, int first,
+            int last, Rectangle2D dataArea, PlotOrientation orientation,
+            ValueAxis domainAxis, RectangleEdge domainEdge,
+            ValueAxis rangeAxis, RectangleEdge rangeEdge, double margin,
+            XYItemRenderer renderer, AffineTransform pixels) {
+        Args.nullNotPermitted(dataset, "dataset");
+        Args.nullNotPermitted(orientation, "orientation");
+        this.passIndex = passIndex;
+        this.dataset = dataset;
+        this.series = series;
+        this.first = first;
+        this.last = last;
+        this.margin = margin;
+        this.collapse = pixels != null;
+        this.orientation = orientation;
+        this.minX = dataArea.getMinX();
+        this.minY = dataArea.getMinY();
+        this.maxX = dataArea.getMaxX();
+        this.maxY = dataArea.getMaxY();
+        int n = Math.max(last - first + 1, 0);
+        if (this.transX.length < n) {
+            this.transX = new double[n];
+            this.transY = new double[n];
+            this.flags = new byte[n];
+        }
+        if (n == 0) {
+            return;
+        }
+        AxisMapping xm = new AxisMapping(domainAxis, dataArea, domainEdge);
+        AxisMapping ym = new AxisMapping(rangeAxis, dataArea, rangeEdge);
+        boolean horizontal = orientation == PlotOrientation.HORIZONTAL;
+        double x0 = this.minX - margin;
+        double y0 = this.minY - margin;
+        double x1 = this.maxX + margin;
+        double y1 = this.maxY + margin;
+        double offsetX = this.collapse ? pixels.getTranslateX() : 0.0;
+        double offsetY = this.collapse ? pixels.getTranslateY() : 0.0;
+        int prevCode = 0;
+        boolean prevGood = false;
+        boolean prevPainted = false;
+        double prevPx = 0.0;
+        double prevPy = 0.0;
+        Paint prevPaint = null;
+        Stroke prevStroke = null;
+        for (int i = 0; i < n; i++) {
+            double x = dataset.getXValue(series, first + i);
+            double y = dataset.getYValue(series, first + i);
+            double tx = Double.NaN;
+            double ty = Double.NaN;
+            if (!Double.isNaN(x) && !Double.isNaN(y)) {
+                tx = xm.map(x);
+                ty = ym.map(y);
+            }
+            this.transX[i] = tx;
+            this.transY[i] = ty;
+            boolean good = !Double.isNaN(tx) && !Double.isNaN(ty);
+            double sx = horizontal ? ty : tx;
+            double sy = horizontal ? tx : ty;
+            int code = good ? outcode(sx, sy, x0, y0, x1, y1) : 0;
+            double px = Math.floor(sx + offsetX);
+            double py = Math.floor(sy + offsetY);
+            Paint paint = null;
+            Stroke stroke = null;
+            if (this.collapse) {
+                paint = renderer.getItemPaint(series, first + i);
+                stroke = renderer.getItemStroke(series, first + i);
+            }
+            byte flag = DRAWN;
+            boolean painted = false;
+            if (good && prevGood) {
+                if ((code & prevCode) != 0) {
+                    flag = CULLED;
+                } else if (this.collapse && prevPainted && px == prevPx
+                        && py == prevPy && Objects.equals(paint, prevPaint)
+                        && Objects.equals(stroke, prevStroke)) {
+                    flag = COLLAPSED;
+                    painted = true;
+                } else {
+                    painted = true;
+                }
+            }
+            this.flags[i] = flag;
+            prevCode = code;
+            prevGood = good;
+            prevPainted = painted;
+            prevPx = px;
+            prevPy = py;
+            prevPaint = paint;
+            prevStroke = stroke;
+        }
+    }
+
+    /**
+     * Returns {@code true} if the culler holds coordinates for an item.
+     *
+     * @param item  the item index.
+     *
+     * @return A boolean.
+     */
+    public boolean contains(int item) {
+        return item >= this.first && item <= this.last;
+    }
+
+    /**
+     * Returns the Java2D coordinate of an item along the domain axis (as
+     * {@code ValueAxis.valueToJava2D()} would compute it), or
+     * {@code Double.NaN} if the x- or y-value is missing.
+     *
+     * @param item  the item index (see {@link #contains(int)}).
+     *
+     * @return The coordinate.
+     */
+    public double getTransX(int item) {
+        return this.transX[item - this.first];
+    }
+
+    /**
+     * Returns the Java2D coordinate of an item along the range axis, or
+     * {@code Double.NaN} if the x- or y-value is missing.
+     *
+     * @param item  the item index (see {@link #contains(int)}).
+     *
+     * @return The coordinate.
+     */
+    public double getTransY(int item) {
+        return this.transY[item - this.first];
+    }
+
+    /**
+     * Returns {@code true} if the segment from item {@code item - 1} to
+     * {@code item} lies beyond one edge of the data area extended by the
+     * specified margin.  Items the culler does not cover return
+     * {@code false}.
+     *
+     * @param item  the item index.
+     * @param margin  the margin.
+     *
+     * @return A boolean.
+     */
+    public boolean isCulled(int item, double margin) {
+        if (!contains(item) || !contains(item - 1)) {
+            return false;
+        }
+        int i = item - this.first;
+        if (margin <= this.margin) {
+            return this.flags[i] == CULLED;
+        }
+        boolean horizontal = this.orientation == PlotOrientation.HORIZONTAL;
+        double x0 = this.minX - margin;
+        double y0 = this.minY - margin;
+        double x1 = this.maxX + margin;
+        double y1 = this.maxY + margin;
+        int c0 = horizontal
+                ? outcode(this.transY[i - 1], this.transX[i - 1], x0, y0, x1, y1)
+                : outcode(this.transX[i - 1], this.transY[i - 1], x0, y0, x1, y1);
+        int c1 = horizontal
+                ? outcode(this.transY[i], this.transX[i], x0, y0, x1, y1)
+                : outcode(this.transX[i], this.transY[i], x0, y0, x1, y1);
+        return (c0 & c1) != 0;
+    }
+
+    /**
+     * Returns {@code true} if the segment from item {@code item - 1} to
+     * {@code item} lies within a single pixel that an earlier segment of
+     * the same run already paints.
+     *
+     * @param item  the item index.
+     *
+     * @return A boolean.
+     */
+    public boolean isCollapsed(int item) {
+        return contains(item) && contains(item - 1)
+                && this.flags[item - this.first] == COLLAPSED;
+    }
+
+    /**
+     * Returns {@code true} if the segment from item {@code item - 1} to
+     * {@code item} need not be drawn, because it is either culled (with
+     * the specified margin) or collapsed.
+     *
+     * @param item  the item index.
+     * @param margin  the margin.
+     *
+     * @return A boolean.
+     */
+    public boolean canSkipSegment(int item, double margin) {
+        return isCollapsed(item) || isCulled(item, margin);
+    }
+
+}
@@ -56,6 +56,8 @@ import org.jfree.chart.api.RectangleEdge;
 import org.jfree.chart.urls.XYURLGenerator;
 import org.jfree.chart.api.PublicCloneable;
 import org.jfree.data.Range;
+import org.jfree.data.general.DatasetUtils;
+import org.jfree.data.general.StackBuffers;
 import org.jfree.data.xy.TableXYDataset;
 import org.jfree.data.xy.XYDataset;
 
@@ -143,20 +145,11 @@ public class StackedXYAreaRenderer2 extends XYAreaRenderer2
         if (dataset == null) {
             return null;
         }
-        double min = Double.POSITIVE_INFINITY;
-        double max = Double.NEGATIVE_INFINITY;
         TableXYDataset d = (TableXYDataset) dataset;
-        int itemCount = d.getItemCount();
-        for (int i = 0; i < itemCount; i++) {
-            double[] stackValues = getStackValues((TableXYDataset) dataset,
-                    d.getSeriesCount(), i);
-            min = Math.min(min, stackValues[0]);
-            max = Math.max(max, stackValues[1]);
-        }
-        if (min == Double.POSITIVE_INFINITY) {
+        if (d.getItemCount() == 0) {
             return null;
         }
-        return new Range(min, max);
+        return DatasetUtils.findStackedRangeBounds(d);
     }
 
     /**
@@ -207,7 +200,8 @@ public class StackedXYAreaRenderer2 extends XYAreaRenderer2
         if (Double.isNaN(y1)) {
             y1 = 0.0;
         }
-        double[] stack1 = getStackValues(tdataset, series, item);
+        StackBuffers buffers = getStackBuffers(state, tdataset);
+        double[] stack1 = getStackValues(buffers, series, item);
 
         // get the previous point and the next point so we can calculate a
         // "hot spot" for the area (used by the chart entity)...
@@ -216,7 +210,7 @@ public class StackedXYAreaRenderer2 extends XYAreaRenderer2
         if (Double.isNaN(y0)) {
             y0 = 0.0;
         }
-        double[] stack0 = getStackValues(tdataset, series, Math.max(item - 1,
+        double[] stack0 = getStackValues(buffers, series, Math.max(item - 1,
                 0));
 
         int itemCount = dataset.getItemCount(series);
@@ -227,7 +221,7 @@ public class StackedXYAreaRenderer2 extends XYAreaRenderer2
         if (Double.isNaN(y2)) {
             y2 = 0.0;
         }
-        double[] stack2 = getStackValues(tdataset, series, Math.min(item + 1,
+        double[] stack2 = getStackValues(buffers, series, Math.min(item + 1,
                 itemCount - 1));
 
         double xleft = (x0 + x1) / 2.0;
@@ -421,11 +415,33 @@ public class StackedXYAreaRenderer2 extends XYAreaRenderer2
     }
 
     /**
-     * Calculates the stacked values (one positive and one negative) of all
+     * Returns the stack buffers for the dataset, calculating them the first
+     * time they are needed in the current drawing pass.
+     *
+     * @param state  the renderer state ({@code null} permitted).
+     * @param dataset  the dataset ({@code null} not permitted).
+     *
+     * @return The stack buffers.
+     */
+    private StackBuffers getStackBuffers(XYItemRendererState state,
+            TableXYDataset dataset) {
+        StackBuffers buffers = (state != null) ? state.getStackBuffers()
+                : null;
+        if (buffers == null || !buffers.isFor(dataset)) {
+            buffers = StackBuffers.create(dataset, null, false);
+            if (state != null) {
+                state.setStackBuffers(buffers);
+            }
+        }
+        return buffers;
+    }
+
+    /**
+     * Returns the stacked values (one positive and one negative) of all
      * series up to, but not including, {@code series} for the specified
      * item. It returns [0.0, 0.0] if {@code series} is the first series.
      *
-     * @param dataset  the dataset ({@code null} not permitted).
+     * @param buffers  the stack buffers ({@code null} not permitted).
      * @param series  the series index.
      * @param index  the item index.
      *
@@ -433,20 +449,11 @@ public class StackedXYAreaRenderer2 extends XYAreaRenderer2
      *     for all series values up to but excluding {@code series}
      *     for {@code index}.
      */
-    private double[] getStackValues(TableXYDataset dataset,
-                                    int series, int index) {
+    private double[] getStackValues(StackBuffers buffers, int series,
+            int index) {
         double[] result = new double[2];
-        for (int i = 0; i < series; i++) {
-            double v = dataset.getYValue(i, index);
-            if (!Double.isNaN(v)) {
-                if (v >= 0.0) {
-                    result[1] += v;
-                }
-                else {
-                    result[0] += v;
-                }
-            }
-        }
+        result[0] = buffers.getNegativeBase(series, index);
+        result[1] = buffers.getPositiveBase(series, index);
         return result;
     }
 
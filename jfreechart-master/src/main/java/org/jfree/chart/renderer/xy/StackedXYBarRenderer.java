@@ -37,6 +37,7 @@ package org.jfree.chart.renderer.xy;
 
 import java.awt.Graphics2D;
 import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
 
 import org.jfree.chart.axis.ValueAxis;
 import org.jfree.chart.entity.EntityCollection;
@@ -52,6 +53,7 @@ import org.jfree.chart.api.RectangleEdge;
 import org.jfree.chart.text.TextAnchor;
 import org.jfree.data.Range;
 import org.jfree.data.general.DatasetUtils;
+import org.jfree.data.general.StackBuffers;
 import org.jfree.data.xy.IntervalXYDataset;
 import org.jfree.data.xy.TableXYDataset;
 import org.jfree.data.xy.XYDataset;
@@ -241,36 +243,18 @@ public class StackedXYBarRenderer extends XYBarRenderer {
             return;
         }
 
-        // if we are rendering the values as percentages, we need to calculate
-        // the total for the current item.  Unfortunately here we end up
-        // repeating the calculation more times than is strictly necessary -
-        // hopefully I'll come back to this and find a way to add the
-        // total(s) to the renderer state.  The other problem is we implicitly
-        // assume the dataset has no negative values...perhaps that can be
-        // fixed too.
-        double total = 0.0;
+        // the totals (for percentages) and the bases for every item are
+        // calculated once per drawing pass and kept in the renderer state.
+        // We implicitly assume the dataset has no negative values when
+        // rendering as percentages...perhaps that can be fixed too.
+        StackBuffers buffers = getStackBuffers(state,
+                (TableXYDataset) dataset);
         if (this.renderAsPercentages) {
-            total = DatasetUtils.calculateStackTotal(
-                    (TableXYDataset) dataset, item);
-            value = value / total;
+            value = value / buffers.getTotal(item);
         }
 
-        double positiveBase = 0.0;
-        double negativeBase = 0.0;
-
-        for (int i = 0; i < series; i++) {
-            double v = dataset.getYValue(i, item);
-            if (!Double.isNaN(v) && isSeriesVisible(i)) {
-                if (this.renderAsPercentages) {
-                    v = v / total;
-                }
-                if (v > 0) {
-                    positiveBase = positiveBase + v;
-                } else {
-                    negativeBase = negativeBase + v;
-                }
-            }
-        }
+        double positiveBase = buffers.getPositiveBase(series, item);
+        double negativeBase = buffers.getNegativeBase(series, item);
 
         double translatedBase;
         double translatedValue;
@@ -370,6 +354,38 @@ public class StackedXYBarRenderer extends XYBarRenderer {
 
     }
 
+    /**
+     * Returns the stack buffers for the dataset, calculating them the first
+     * time they are needed in the current drawing pass.  Only the visible
+     * series are stacked (and included in the totals for percentages).
+     *
+     * @param state  the renderer state ({@code null} permitted).
+     * @param dataset  the dataset ({@code null} not permitted).
+     *
+     * @return The stack buffers.
+     */
+    private StackBuffers getStackBuffers(XYItemRendererState state,
+            TableXYDataset dataset) {
+        StackBuffers buffers = (state != null) ? state.getStackBuffers()
+                : null;
+        if (buffers == null || !buffers.isFor(dataset)) {
+            int seriesCount = dataset.getSeriesCount();
+            int[] visible = new int[seriesCount];
+            int count = 0;
+            for (int s = 0; s < seriesCount; s++) {
+                if (isSeriesVisible(s)) {
+                    visible[count++] = s;
+                }
+            }
+            buffers = StackBuffers.create(dataset,
+                    Arrays.copyOf(visible, count), this.renderAsPercentages);
+            if (state != null) {
+                state.setStackBuffers(buffers);
+            }
+        }
+        return buffers;
+    }
+
     /**
      * Tests this renderer for equality with an arbitrary object.
      *
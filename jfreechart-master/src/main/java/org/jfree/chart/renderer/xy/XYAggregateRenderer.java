@@ -0,0 +1,942 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------------
+ * XYAggregateRenderer.java
+ * ------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.renderer.xy;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.jfree.chart.api.PublicCloneable;
+import org.jfree.chart.api.RectangleEdge;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.event.RendererChangeEvent;
+import org.jfree.chart.internal.Args;
+import org.jfree.chart.plot.CrosshairState;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.PlotRenderingInfo;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.AxisMapping;
+import org.jfree.chart.renderer.LookupPaintScale;
+import org.jfree.chart.renderer.PaintScale;
+import org.jfree.data.xy.XYDataset;
+import org.jfree.data.xy.XYZDataset;
+
+/**
+ * A renderer for very dense data that first aggregates the items of all the
+ * visible series into a grid with one cell per pixel of the data area (the
+ * number of items, or the sum or mean of their values, see
+ * {@link AggregateFunction}), then colors each non-empty cell from a
+ * {@link PaintScale} and draws the grid as a single image.  Unlike drawing
+ * one mark per item, the cost of the drawing does not depend on the number
+ * of items, and dense regions show how dense they are instead of being
+ * overplotted.
+ * <p>
+ * The aggregate values are spread over the paint scale (from its lower
+ * bound to its upper bound) linearly, on a log scale or by histogram
+ * equalization (see {@link AggregateShading}), so a
+ * {@link org.jfree.chart.title.PaintScaleLegend} for the same paint scale
+ * shows the color ramp.
+ * <p>
+ * Large series are aggregated in parallel chunks in the common
+ * {@link ForkJoinPool}.  The grid is kept between drawing passes and reused
+ * until the dataset changes or the view (the data area, axis ranges, series
+ * visibility or aggregate function) changes.  If the {@code appendOnly}
+ * flag is set, a dataset change is assumed to have only added items to the
+ * end of the series, and only the new items are aggregated.
+ * <p>
+ * Item labels, entities, per-item visibility and crosshairs are not
+ * supported by this renderer.
+ *
+ * @since 2.0
+ */
+public class XYAggregateRenderer extends AbstractXYItemRenderer
+        implements XYItemRenderer, Cloneable, PublicCloneable, Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -2471138356913284712L;
+
+    /** The number of items in a series at which they are split up. */
+    static final int THRESHOLD = 1 << 16;
+
+    /** The smallest number of items aggregated by a parallel task. */
+    static final int CHUNK_SIZE = 1 << 15;
+
+    /**
+     * The maximum number of cells held by all the parallel tasks together
+     * (each task has its own grid).
+     */
+    private static final int BUFFER_BUDGET = 1 << 24;
+
+    /** The number of colors taken from the paint scale. */
+    private static final int LUT_SIZE = 256;
+
+    /** The function used to aggregate the items in each pixel. */
+    private AggregateFunction function;
+
+    /** The way the aggregate values are mapped onto the paint scale. */
+    private AggregateShading shading;
+
+    /** The paint scale. */
+    private PaintScale paintScale;
+
+    /**
+     * A flag that indicates that items are only ever added to the end of
+     * the series, so that the grid can be updated with just the new items.
+     */
+    private boolean appendOnly;
+
+    /** The aggregates for each dataset drawn by this renderer. */
+    transient DatasetCache<Aggregate> aggregateCache;
+
+    /**
+     * Creates a new renderer that counts the items in each pixel and shades
+     * the counts with histogram equalization.
+     */
+    public XYAggregateRenderer() {
+        this.function = AggregateFunction.COUNT;
+        this.shading = AggregateShading.EQ_HIST;
+        this.paintScale = createDefaultPaintScale();
+        this.appendOnly = false;
+    }
+
+    /**
+     * Creates the default paint scale, from light blue for the lowest
+     * values to dark blue for the highest, over the range 0.0 to 1.0.
+     *
+     * @return The paint scale.
+     */
+    private static PaintScale createDefaultPaintScale() {
+        LookupPaintScale scale = new LookupPaintScale(0.0, 1.0,
+                new Color(8, 48, 107));
+        for (int i = 0; i < LUT_SIZE; i++) {
+            double t = i / (LUT_SIZE - 1.0);
+            scale.add(t, new Color((int) Math.round(198 + t * (8 - 198)),
+                    (int) Math.round(219 + t * (48 - 219)),
+                    (int) Math.round(239 + t * (107 - 239))));
+        }
+        return scale;
+    }
+
+    /**
+     * Returns the function used to aggregate the items in each pixel.
+     *
+     * @return The function (never {@code null}).
+     *
+     * @see #setFunction(AggregateFunction)
+     */
+    public AggregateFunction getFunction() {
+        return this.function;
+    }
+
+    /**
+     * Sets the function used to aggregate the items in each pixel and sends
+     * a {@link RendererChangeEvent} to all registered listeners.
+     *
+     * @param function  the function ({@code null} not permitted).
+     *
+     * @see #getFunction()
+     */
+    public void setFunction(AggregateFunction function) {
+        Args.nullNotPermitted(function, "function");
+        this.function = function;
+        fireChangeEvent();
+    }
+
+    /**
+     * Returns the way the aggregate values are mapped onto the paint scale.
+     *
+     * @return The shading (never {@code null}).
+     *
+     * @see #setShading(AggregateShading)
+     */
+    public AggregateShading getShading() {
+        return this.shading;
+    }
+
+    /**
+     * Sets the way the aggregate values are mapped onto the paint scale and
+     * sends a {@link RendererChangeEvent} to all registered listeners.
+     *
+     * @param shading  the shading ({@code null} not permitted).
+     *
+     * @see #getShading()
+     */
+    public void setShading(AggregateShading shading) {
+        Args.nullNotPermitted(shading, "shading");
+        this.shading = shading;
+        fireChangeEvent();
+    }
+
+    /**
+     * Returns the paint scale used to color the pixels.
+     *
+     * @return The paint scale (never {@code null}).
+     *
+     * @see #setPaintScale(PaintScale)
+     */
+    public PaintScale getPaintScale() {
+        return this.paintScale;
+    }
+
+    /**
+     * Sets the paint scale used to color the pixels and sends a
+     * {@link RendererChangeEvent} to all registered listeners.  The lowest
+     * aggregate value is drawn with the paint for the lower bound of the
+     * scale and the highest with the paint for the upper bound.  Paints
+     * that are not instances of {@code Color} are drawn as black.
+     *
+     * @param scale  the paint scale ({@code null} not permitted).
+     *
+     * @see #getPaintScale()
+     */
+    public void setPaintScale(PaintScale scale) {
+        Args.nullNotPermitted(scale, "scale");
+        this.paintScale = scale;
+        fireChangeEvent();
+    }
+
+    /**
+     * Returns the flag that indicates that items are only ever appended to
+     * the series in the dataset.
+     *
+     * @return A boolean.
+     *
+     * @see #setAppendOnly(boolean)
+     */
+    public boolean isAppendOnly() {
+        return this.appendOnly;
+    }
+
+    /**
+     * Sets the flag that indicates that items are only ever appended to the
+     * series in the dataset and sends a {@link RendererChangeEvent} to all
+     * registered listeners.  When this flag is set, a dataset change only
+     * adds the items beyond those already aggregated to the grid (as long
+     * as no series has become shorter), so streaming data can be redrawn
+     * without aggregating every item again.  Changes to existing items are
+     * then not picked up until the view changes.
+     *
+     * @param appendOnly  the new flag value.
+     *
+     * @see #isAppendOnly()
+     */
+    public void setAppendOnly(boolean appendOnly) {
+        this.appendOnly = appendOnly;
+        fireChangeEvent();
+    }
+
+    /**
+     * Initialises the renderer and returns a state object that should be
+     * passed to all subsequent calls to the drawItem() method.
+     *
+     * @param g2  the graphics device.
+     * @param dataArea  the area inside the axes.
+     * @param plot  the plot.
+     * @param dataset  the data.
+     * @param info  an optional info collection object to return data back
+     *              to the caller.
+     *
+     * @return A state object.
+     */
+    @Override
+    public XYItemRendererState initialise(Graphics2D g2, Rectangle2D dataArea,
+            XYPlot plot, XYDataset dataset, PlotRenderingInfo info) {
+        return new State(info);
+    }
+
+    /**
+     * Draws the aggregate grid for the whole dataset the first time this
+     * method is called in a drawing pass, and does nothing for the
+     * remaining items.
+     *
+     * @param g2  the graphics device.
+     * @param state  the renderer state.
+     * @param dataArea  the area within which the data is being drawn.
+     * @param info  collects information about the drawing.
+     * @param plot  the plot (can be used to obtain standard color
+     *              information etc).
+     * @param domainAxis  the domain (horizontal) axis.
+     * @param rangeAxis  the range (vertical) axis.
+     * @param dataset  the dataset.
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     * @param crosshairState  crosshair information for the plot
+     *                        ({@code null} permitted).
+     * @param pass  the pass index.
+     */
+    @Override
+    public void drawItem(Graphics2D g2, XYItemRendererState state,
+            Rectangle2D dataArea, PlotRenderingInfo info, XYPlot plot,
+            ValueAxis domainAxis, ValueAxis rangeAxis, XYDataset dataset,
+            int series, int item, CrosshairState crosshairState, int pass) {
+
+        State s = (State) state;
+        if (s.drawn) {
+            return;
+        }
+        s.drawn = true;
+        Aggregate aggregate = aggregate(dataset, dataArea,
+                plot.getOrientation(), domainAxis, plot.getDomainAxisEdge(),
+                rangeAxis, plot.getRangeAxisEdge());
+        if (aggregate != null) {
+            g2.drawImage(createImage(aggregate), aggregate.x0, aggregate.y0,
+                    null);
+        }
+    }
+
+    /**
+     * Returns the aggregate grid for a dataset, bringing the cached grid up
+     * to date if possible and otherwise aggregating all the items again.
+     *
+     * @param dataset  the dataset ({@code null} not permitted).
+     * @param dataArea  the data area ({@code null} not permitted).
+     * @param orientation  the plot orientation ({@code null} not
+     *     permitted).
+     * @param domainAxis  the domain axis ({@code null} not permitted).
+     * @param domainEdge  the domain axis edge ({@code null} not permitted).
+     * @param rangeAxis  the range axis ({@code null} not permitted).
+     * @param rangeEdge  the range axis edge ({@code null} not permitted).
+     *
+     * @return The aggregate (or {@code null} if the data area is empty).
+     */
+    Aggregate aggregate(XYDataset<?> dataset, Rectangle2D dataArea,
+            PlotOrientation orientation, ValueAxis domainAxis,
+            RectangleEdge domainEdge, ValueAxis rangeAxis,
+            RectangleEdge rangeEdge) {
+        Args.nullNotPermitted(dataset, "dataset");
+        int x0 = (int) Math.floor(dataArea.getMinX());
+        int y0 = (int) Math.floor(dataArea.getMinY());
+        int w = (int) Math.ceil(dataArea.getMaxX()) - x0;
+        int h = (int) Math.ceil(dataArea.getMaxY()) - y0;
+        if (w <= 0 || h <= 0) {
+            return null;
+        }
+        int seriesCount = dataset.getSeriesCount();
+        boolean[] visible = new boolean[seriesCount];
+        for (int s = 0; s < seriesCount; s++) {
+            visible[s] = isSeriesVisible(s);
+        }
+        AxisMapping domain = new AxisMapping(domainAxis, dataArea, domainEdge);
+        AxisMapping range = new AxisMapping(rangeAxis, dataArea, rangeEdge);
+        View view = new View(x0, y0, w, h, orientation, domainAxis, domain,
+                rangeAxis, range, this.function, visible);
+
+        if (this.aggregateCache == null) {
+            this.aggregateCache = new DatasetCache<>();
+        }
+        DatasetCache.Entry<Aggregate> cache = this.aggregateCache.get(dataset,
+                getPlot(), () -> null);
+        if (cache == null) {
+            // a snapshot is drawn once, so there is nothing to reuse
+            Aggregate aggregate = new Aggregate(view, seriesCount);
+            aggregate.update(dataset);
+            return aggregate;
+        }
+        Aggregate aggregate = cache.value;
+        boolean reuse = aggregate != null && aggregate.view.equals(view)
+                && (!cache.changed || this.appendOnly)
+                && aggregate.canExtend(dataset);
+        if (!reuse) {
+            aggregate = new Aggregate(view, seriesCount);
+        }
+        aggregate.update(dataset);
+        cache.value = aggregate;
+        cache.changed = false;
+        return aggregate;
+    }
+
+    /**
+     * Sets the plot that the renderer is assigned to.  The cached aggregates
+     * are released (and their listeners removed from the datasets) when the
+     * renderer moves to another plot.
+     *
+     * @param plot  the plot ({@code null} permitted).
+     */
+    @Override
+    public void setPlot(XYPlot plot) {
+        if (plot != getPlot() && this.aggregateCache != null) {
+            this.aggregateCache.release();
+        }
+        super.setPlot(plot);
+    }
+
+    /**
+     * Colors the cells of an aggregate grid.
+     *
+     * @param aggregate  the aggregate.
+     *
+     * @return The image.
+     */
+    private BufferedImage createImage(Aggregate aggregate) {
+        int w = aggregate.view.width;
+        int h = aggregate.view.height;
+        BufferedImage image = new BufferedImage(w, h,
+                BufferedImage.TYPE_INT_ARGB);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer())
+                .getData();
+        double[] t = shade(aggregate.values(), this.shading);
+        int[] lut = new int[LUT_SIZE];
+        double lower = this.paintScale.getLowerBound();
+        double upper = this.paintScale.getUpperBound();
+        for (int i = 0; i < LUT_SIZE; i++) {
+            Paint p = this.paintScale.getPaint(
+                    lower + (upper - lower) * i / (LUT_SIZE - 1));
+            lut[i] = (p instanceof Color) ? ((Color) p).getRGB() : 0xFF000000;
+        }
+        for (int i = 0; i < pixels.length; i++) {
+            if (!Double.isNaN(t[i])) {
+                pixels[i] = lut[(int) (t[i] * (LUT_SIZE - 1) + 0.5)];
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Maps aggregate values to positions from 0.0 to 1.0 on the paint scale.
+     *
+     * @param values  the values ({@code NaN} for empty cells).
+     * @param shading  the shading ({@code null} not permitted).
+     *
+     * @return The positions ({@code NaN} for empty cells).
+     */
+    static double[] shade(double[] values, AggregateShading shading) {
+        double[] result = new double[values.length];
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        int n = 0;
+        for (double v : values) {
+            if (!Double.isNaN(v)) {
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+                n++;
+            }
+        }
+        double[] sorted = null;
+        int lowest = 0;
+        if (shading == AggregateShading.EQ_HIST && n > 0) {
+            sorted = new double[n];
+            int k = 0;
+            for (double v : values) {
+                if (!Double.isNaN(v)) {
+                    sorted[k++] = v;
+                }
+            }
+            Arrays.sort(sorted);
+            lowest = countAtOrBelow(sorted, min);
+        }
+        for (int i = 0; i < values.length; i++) {
+            double v = values[i];
+            double t;
+            if (Double.isNaN(v)) {
+                t = Double.NaN;
+            } else if (max <= min) {
+                t = 0.0;
+            } else if (shading == AggregateShading.LINEAR) {
+                t = (v - min) / (max - min);
+            } else if (shading == AggregateShading.LOG) {
+                t = Math.log1p(v - min) / Math.log1p(max - min);
+            } else {
+                // the fraction of the cells above the lowest value that are
+                // at or below this one
+                t = (countAtOrBelow(sorted, v) - lowest)
+                        / (double) (n - lowest);
+            }
+            result[i] = t;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of values in a sorted array that are less than or
+     * equal to {@code v}.
+     *
+     * @param sorted  the values (in ascending order).
+     * @param v  the value.
+     *
+     * @return The count.
+     */
+    private static int countAtOrBelow(double[] sorted, double v) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= v) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Tests this renderer for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof XYAggregateRenderer)) {
+            return false;
+        }
+        XYAggregateRenderer that = (XYAggregateRenderer) obj;
+        if (this.function != that.function) {
+            return false;
+        }
+        if (this.shading != that.shading) {
+            return false;
+        }
+        if (!this.paintScale.equals(that.paintScale)) {
+            return false;
+        }
+        if (this.appendOnly != that.appendOnly) {
+            return false;
+        }
+        return super.equals(obj);
+    }
+
+    /**
+     * Returns a clone of this renderer.
+     *
+     * @return A clone of this renderer.
+     *
+     * @throws CloneNotSupportedException if there is a problem creating the
+     *     clone.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        XYAggregateRenderer clone = (XYAggregateRenderer) super.clone();
+        if (this.paintScale instanceof PublicCloneable) {
+            PublicCloneable pc = (PublicCloneable) this.paintScale;
+            clone.paintScale = (PaintScale) pc.clone();
+        }
+        clone.aggregateCache = null;
+        return clone;
+    }
+
+    /**
+     * The state for a drawing pass.
+     */
+    static class State extends XYItemRendererState {
+
+        /** Has the grid been drawn in this pass? */
+        boolean drawn;
+
+        /**
+         * Creates a new state.
+         *
+         * @param info  the plot rendering info ({@code null} permitted).
+         */
+        State(PlotRenderingInfo info) {
+            super(info);
+        }
+
+    }
+
+    /**
+     * The things that determine which cell each item falls in.
+     */
+    static final class View {
+
+        /** The x-coordinate of the first cell in Java2D space. */
+        final int x0;
+
+        /** The y-coordinate of the first cell in Java2D space. */
+        final int y0;
+
+        /** The number of cells across. */
+        final int width;
+
+        /** The number of cells down. */
+        final int height;
+
+        /** The plot orientation. */
+        final PlotOrientation orientation;
+
+        /** The domain axis. */
+        final ValueAxis domainAxis;
+
+        /** The mapping for the x-values. */
+        final AxisMapping domain;
+
+        /** The range axis. */
+        final ValueAxis rangeAxis;
+
+        /** The mapping for the y-values. */
+        final AxisMapping range;
+
+        /**
+         * Java2D coordinates for a few values on each axis, so that a
+         * change to the range or the scale of either axis is detected.
+         */
+        final double[] probes;
+
+        /** The aggregate function. */
+        final AggregateFunction function;
+
+        /** The series visibility. */
+        final boolean[] visible;
+
+        View(int x0, int y0, int width, int height,
+                PlotOrientation orientation, ValueAxis domainAxis,
+                AxisMapping domain, ValueAxis rangeAxis, AxisMapping range,
+                AggregateFunction function, boolean[] visible) {
+            this.x0 = x0;
+            this.y0 = y0;
+            this.width = width;
+            this.height = height;
+            this.orientation = orientation;
+            this.domainAxis = domainAxis;
+            this.domain = domain;
+            this.rangeAxis = rangeAxis;
+            this.range = range;
+            this.function = function;
+            this.visible = visible;
+            double dl = domainAxis.getLowerBound();
+            double du = domainAxis.getUpperBound();
+            double rl = rangeAxis.getLowerBound();
+            double ru = rangeAxis.getUpperBound();
+            this.probes = new double[] {dl, du, rl, ru, domain.map(dl),
+                    domain.map(dl + 0.37 * (du - dl)), domain.map(du),
+                    range.map(rl), range.map(rl + 0.37 * (ru - rl)),
+                    range.map(ru)};
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof View)) {
+                return false;
+            }
+            View that = (View) obj;
+            return this.x0 == that.x0 && this.y0 == that.y0
+                    && this.width == that.width && this.height == that.height
+                    && this.orientation == that.orientation
+                    && this.domainAxis == that.domainAxis
+                    && this.rangeAxis == that.rangeAxis
+                    && this.function == that.function
+                    && Arrays.equals(this.probes, that.probes)
+                    && Arrays.equals(this.visible, that.visible);
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = 7;
+            hash = 41 * hash + this.width;
+            hash = 41 * hash + this.height;
+            hash = 41 * hash + Arrays.hashCode(this.probes);
+            return hash;
+        }
+
+    }
+
+    /**
+     * The item counts (and value sums) for each pixel of the data area.
+     */
+    static final class Aggregate {
+
+        /** The view. */
+        final View view;
+
+        /** The x-coordinate of the grid in Java2D space. */
+        final int x0;
+
+        /** The y-coordinate of the grid in Java2D space. */
+        final int y0;
+
+        /** The number of items in each cell. */
+        final int[] counts;
+
+        /** The sum of the values in each cell ({@code null} for counts). */
+        final double[] sums;
+
+        /** The number of items aggregated from each series. */
+        final int[] itemCounts;
+
+        Aggregate(View view, int seriesCount) {
+            this.view = view;
+            this.x0 = view.x0;
+            this.y0 = view.y0;
+            this.counts = new int[view.width * view.height];
+            this.sums = view.function == AggregateFunction.COUNT ? null
+                    : new double[this.counts.length];
+            this.itemCounts = new int[seriesCount];
+        }
+
+        /**
+         * Returns {@code true} if the dataset still has the same series
+         * and none of them has fewer items than have been aggregated.
+         *
+         * @param dataset  the dataset.
+         *
+         * @return A boolean.
+         */
+        boolean canExtend(XYDataset<?> dataset) {
+            if (dataset.getSeriesCount() != this.itemCounts.length) {
+                return false;
+            }
+            for (int s = 0; s < this.itemCounts.length; s++) {
+                if (dataset.getItemCount(s) < this.itemCounts[s]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Aggregates the items in the visible series that have been added
+         * since the last update.
+         *
+         * @param dataset  the dataset.
+         */
+        void update(XYDataset<?> dataset) {
+            for (int s = 0; s < this.itemCounts.length; s++) {
+                int from = this.itemCounts[s];
+                int to = dataset.getItemCount(s);
+                if (this.view.visible[s] && to > from) {
+                    add(dataset, s, from, to);
+                }
+                this.itemCounts[s] = to;
+            }
+        }
+
+        /**
+         * Aggregates a run of items, in parallel if there are enough of
+         * them.
+         *
+         * @param dataset  the dataset.
+         * @param series  the series index.
+         * @param from  the index of the first item.
+         * @param to  the index after the last item.
+         */
+        private void add(XYDataset<?> dataset, int series, int from,
+                int to) {
+            int cells = this.counts.length * (this.sums == null ? 1 : 3);
+            int tasks = Math.min(ForkJoinPool.getCommonPoolParallelism(),
+                    Math.min(BUFFER_BUDGET / cells, (to - from) / CHUNK_SIZE));
+            if (to - from < THRESHOLD || tasks < 2) {
+                accumulate(this.view, dataset, series, from, to, this.counts,
+                        this.sums);
+                return;
+            }
+            Partial p = ForkJoinPool.commonPool().invoke(new AggregateTask(
+                    this.view, dataset, series, from, to,
+                    (to - from + tasks - 1) / tasks));
+            p.addTo(this.counts, this.sums);
+        }
+
+        /**
+         * Returns the aggregate value of each cell.
+         *
+         * @return The values ({@code NaN} for empty cells).
+         */
+        double[] values() {
+            double[] result = new double[this.counts.length];
+            for (int i = 0; i < result.length; i++) {
+                int c = this.counts[i];
+                if (c == 0) {
+                    result[i] = Double.NaN;
+                } else if (this.view.function == AggregateFunction.COUNT) {
+                    result[i] = c;
+                } else if (this.view.function == AggregateFunction.SUM) {
+                    result[i] = this.sums[i];
+                } else {
+                    result[i] = this.sums[i] / c;
+                }
+            }
+            return result;
+        }
+
+    }
+
+    /**
+     * Adds a run of items to a grid.  Items with a {@code NaN} x- or
+     * y-value, or (when summing) a {@code NaN} value, are skipped.
+     *
+     * @param view  the view.
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     * @param from  the index of the first item.
+     * @param to  the index after the last item.
+     * @param counts  the counts.
+     * @param sums  the sums ({@code null} when counting).
+     */
+    static void accumulate(View view, XYDataset<?> dataset, int series,
+            int from, int to, int[] counts, double[] sums) {
+        XYZDataset<?> xyz = (sums != null && dataset instanceof XYZDataset)
+                ? (XYZDataset<?>) dataset : null;
+        boolean horizontal = view.orientation == PlotOrientation.HORIZONTAL;
+        for (int i = from; i < to; i++) {
+            double x = dataset.getXValue(series, i);
+            double y = dataset.getYValue(series, i);
+            if (Double.isNaN(x) || Double.isNaN(y)) {
+                continue;
+            }
+            double v = 0.0;
+            if (sums != null) {
+                v = (xyz != null) ? xyz.getZValue(series, i) : y;
+                if (Double.isNaN(v)) {
+                    continue;
+                }
+            }
+            double tx = view.domain.map(x);
+            double ty = view.range.map(y);
+            double px = horizontal ? ty : tx;
+            double py = horizontal ? tx : ty;
+            if (px > Integer.MIN_VALUE && px < Integer.MAX_VALUE
+                    && py > Integer.MIN_VALUE && py < Integer.MAX_VALUE) {
+                int cx = (int) px - view.x0;
+                int cy = (int) py - view.y0;
+                if (cx >= 0 && cx < view.width && cy >= 0
+                        && cy < view.height) {
+                    int cell = cy * view.width + cx;
+                    counts[cell]++;
+                    if (sums != null) {
+                        sums[cell] += v;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The counts and sums from one parallel task.
+     */
+    private static final class Partial {
+
+        /** The counts. */
+        final int[] counts;
+
+        /** The sums ({@code null} when counting). */
+        final double[] sums;
+
+        Partial(int[] counts, double[] sums) {
+            this.counts = counts;
+            this.sums = sums;
+        }
+
+        /**
+         * Adds these counts and sums to another grid.
+         *
+         * @param counts  the counts.
+         * @param sums  the sums ({@code null} when counting).
+         */
+        void addTo(int[] counts, double[] sums) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += this.counts[i];
+            }
+            if (sums != null) {
+                for (int i = 0; i < sums.length; i++) {
+                    sums[i] += this.sums[i];
+                }
+            }
+        }
+
+    }
+
+    /**
+     * A task that aggregates a run of items, splitting the run in two until
+     * it is no longer than the chunk length.
+     */
+    private static final class AggregateTask extends RecursiveTask<Partial> {
+
+        /** The view. */
+        private final View view;
+
+        /** The dataset. */
+        private final XYDataset<?> dataset;
+
+        /** The series index. */
+        private final int series;
+
+        /** The index of the first item. */
+        private final int from;
+
+        /** The index after the last item. */
+        private final int to;
+
+        /** The maximum number of items aggregated without splitting. */
+        private final int chunk;
+
+        AggregateTask(View view, XYDataset<?> dataset, int series, int from,
+                int to, int chunk) {
+            this.view = view;
+            this.dataset = dataset;
+            this.series = series;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (this.to - this.from <= this.chunk) {
+                int cells = this.view.width * this.view.height;
+                Partial p = new Partial(new int[cells],
+                        this.view.function == AggregateFunction.COUNT ? null
+                        : new double[cells]);
+                accumulate(this.view, this.dataset, this.series, this.from,
+                        this.to, p.counts, p.sums);
+                return p;
+            }
+            int mid = (this.from + this.to) >>> 1;
+            AggregateTask left = new AggregateTask(this.view, this.dataset,
+                    this.series, this.from, mid, this.chunk);
+            left.fork();
+            Partial p = new AggregateTask(this.view, this.dataset,
+                    this.series, mid, this.to, this.chunk).compute();
+            left.join().addTo(p.counts, p.sums);
+            return p;
+        }
+
+    }
+
+}
@@ -523,7 +523,14 @@ public class XYAreaRenderer extends AbstractXYItemRenderer
                 } else if (plot.getOrientation() == PlotOrientation.HORIZONTAL) {
                     areaState.line.setLine(transY0, transX0, transY1, transX1);
                 }
-                g2.draw(areaState.line);
+                // the area itself can't be culled (the fill below a line
+                // above the data area is visible), but the line can
+                if (!SegmentCuller.isOutside(areaState.line.getX1(),
+                        areaState.line.getY1(), areaState.line.getX2(),
+                        areaState.line.getY2(), dataArea,
+                        SegmentCuller.margin(stroke))) {
+                    g2.draw(areaState.line);
+                }
             }
         }
 
@@ -101,7 +101,7 @@ public class XYBarRenderer extends AbstractXYItemRenderer
     /**
      * The default bar painter assigned to each new instance of this renderer.
      */
-    private static XYBarPainter defaultBarPainter = new GradientXYBarPainter();
+    private static volatile XYBarPainter defaultBarPainter = new GradientXYBarPainter();
 
     /**
      * Returns the default bar painter.
@@ -125,7 +125,7 @@ public class XYBarRenderer extends AbstractXYItemRenderer
     /**
      * The default value for the initialisation of the shadowsVisible flag.
      */
-    private static boolean defaultShadowsVisible = true;
+    private static volatile boolean defaultShadowsVisible = true;
 
     /**
      * Returns the default value for the {@code shadowsVisible} flag.
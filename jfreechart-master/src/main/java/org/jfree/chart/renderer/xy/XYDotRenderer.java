@@ -43,6 +43,7 @@ import java.awt.geom.Rectangle2D;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.Objects;
 
 import org.jfree.chart.legend.LegendItem;
 import org.jfree.chart.axis.ValueAxis;
@@ -56,6 +57,7 @@ import org.jfree.chart.internal.Args;
 import org.jfree.chart.api.PublicCloneable;
 import org.jfree.chart.internal.SerialUtils;
 import org.jfree.chart.internal.ShapeUtils;
+import org.jfree.chart.renderer.ScatterRasterizer;
 import org.jfree.data.xy.XYDataset;
 
 /**
@@ -83,6 +85,14 @@ public class XYDotRenderer extends AbstractXYItemRenderer
      */
     private transient Shape legendShape;
 
+    /**
+     * The rasterizer used to draw each series ({@code null} to fill one
+     * rectangle per item).
+     *
+     * @since 2.0
+     */
+    private ScatterRasterizer rasterizer;
+
     /**
      * Constructs a new renderer.
      */
@@ -176,6 +186,43 @@ public class XYDotRenderer extends AbstractXYItemRenderer
         fireChangeEvent();
     }
 
+    /**
+     * Returns the rasterizer used to draw each series.
+     *
+     * @return The rasterizer (possibly {@code null}).
+     *
+     * @see #setRasterizer(ScatterRasterizer)
+     *
+     * @since 2.0
+     */
+    public ScatterRasterizer getRasterizer() {
+        return this.rasterizer;
+    }
+
+    /**
+     * Sets the rasterizer used to draw each series and sends a
+     * {@link RendererChangeEvent} to all registered listeners.  With a
+     * rasterizer, all the visible items in a series are projected into a
+     * pixel buffer that is drawn as a single image, using the series paint
+     * (or a density paint scale).  In that mode the per-item paint and
+     * visibility settings are not applied and the crosshair values are not
+     * updated.  No chart entities are added for the items, even when the
+     * {@link PlotRenderingInfo} is collecting entities (so tool tips and
+     * mouse clicks do not resolve to individual items), because one entity
+     * per item would cost more than the rasterized drawing itself.  If
+     * {@code null} (the default), each item is filled as a rectangle.
+     *
+     * @param rasterizer  the rasterizer ({@code null} permitted).
+     *
+     * @see #getRasterizer()
+     *
+     * @since 2.0
+     */
+    public void setRasterizer(ScatterRasterizer rasterizer) {
+        this.rasterizer = rasterizer;
+        fireChangeEvent();
+    }
+
     /**
      * Draws the visual representation of a single data item.
      *
@@ -200,6 +247,20 @@ public class XYDotRenderer extends AbstractXYItemRenderer
             ValueAxis domainAxis, ValueAxis rangeAxis, XYDataset dataset,
             int series, int item, CrosshairState crosshairState, int pass) {
 
+        if (this.rasterizer != null) {
+            // the whole series is drawn at the first item (no entities are
+            // added, see setRasterizer())
+            if (item == state.getFirstItemIndex() && isSeriesVisible(series)) {
+                this.rasterizer.draw(g2, dataArea, plot.getOrientation(),
+                        domainAxis, plot.getDomainAxisEdge(), rangeAxis,
+                        plot.getRangeAxisEdge(), dataset, series,
+                        state.getFirstItemIndex(), state.getLastItemIndex(),
+                        lookupSeriesPaint(series), this.dotWidth,
+                        this.dotHeight);
+            }
+            return;
+        }
+
         // do nothing if item is not visible
         if (!getItemVisible(series, item)) {
             return;
@@ -324,6 +385,9 @@ public class XYDotRenderer extends AbstractXYItemRenderer
         if (!ShapeUtils.equal(this.legendShape, that.legendShape)) {
             return false;
         }
+        if (!Objects.equals(this.rasterizer, that.rasterizer)) {
+            return false;
+        }
         return super.equals(obj);
     }
 
@@ -336,7 +400,11 @@ public class XYDotRenderer extends AbstractXYItemRenderer
      */
     @Override
     public Object clone() throws CloneNotSupportedException {
-        return super.clone();
+        XYDotRenderer clone = (XYDotRenderer) super.clone();
+        if (this.rasterizer != null) {
+            clone.rasterizer = (ScatterRasterizer) this.rasterizer.clone();
+        }
+        return clone;
     }
 
     /**
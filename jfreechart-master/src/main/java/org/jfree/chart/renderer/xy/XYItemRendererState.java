@@ -48,8 +48,11 @@
 
 package org.jfree.chart.renderer.xy;
 
+import java.awt.Graphics2D;
 import java.awt.geom.Line2D;
+import java.awt.geom.Rectangle2D;
 
+import org.jfree.chart.axis.ValueAxis;
 import org.jfree.chart.plot.PlotRenderingInfo;
 import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.renderer.RendererState;
@@ -88,6 +91,15 @@ public class XYItemRendererState extends RendererState {
      */
     private boolean processVisibleItemsOnly;
 
+    /**
+     * A counter for series passes, used to tell whether the segment culler
+     * is current.
+     */
+    private int seriesPassIndex;
+
+    /** The segment culler (created when first needed). */
+    private SegmentCuller segmentCuller;
+
     /**
      * Creates a new state.
      *
@@ -171,6 +183,54 @@ public class XYItemRendererState extends RendererState {
             int lastItem, int pass, int passCount) {
         this.firstItemIndex = firstItem;
         this.lastItemIndex = lastItem;
+        this.seriesPassIndex++;
+    }
+
+    /**
+     * Returns a segment culler for the items from
+     * {@link #getFirstItemIndex()} to {@link #getLastItemIndex()} of the
+     * current series pass, building it on the first call in each pass.
+     * Line-style renderers use this to skip segments that cannot be seen
+     * without mapping each item to Java2D space more than once.
+     *
+     * @param g2  the graphics target ({@code null} not permitted).
+     * @param plot  the plot ({@code null} not permitted).
+     * @param renderer  the renderer, which supplies the item paints and
+     *     strokes for collapsing ({@code null} not permitted).
+     * @param dataset  the dataset ({@code null} not permitted).
+     * @param series  the series index.
+     * @param dataArea  the data area ({@code null} not permitted).
+     * @param domainAxis  the domain axis ({@code null} not permitted).
+     * @param rangeAxis  the range axis ({@code null} not permitted).
+     * @param margin  the margin (in Java2D units) to add to the data area
+     *     when culling, usually {@link SegmentCuller#margin(
+     *     java.awt.Stroke)} for the series stroke.
+     * @param collapse  collapse segments that lie within a pixel that is
+     *     already painted?  This is ignored for targets where
+     *     {@link SegmentCuller#canCollapse(Graphics2D)} is {@code false}.
+     *
+     * @return The segment culler (never {@code null}).
+     *
+     * @since 2.0
+     */
+    public SegmentCuller getSegmentCuller(Graphics2D g2, XYPlot plot,
+            XYItemRenderer renderer, XYDataset dataset, int series,
+            Rectangle2D dataArea, ValueAxis domainAxis, ValueAxis rangeAxis,
+            double margin, boolean collapse) {
+        if (this.segmentCuller == null) {
+            this.segmentCuller = new SegmentCuller();
+        }
+        collapse = collapse && SegmentCuller.canCollapse(g2);
+        if (!this.segmentCuller.isCurrent(this.seriesPassIndex, dataset,
+                series, margin, collapse)) {
+            this.segmentCuller.update(this.seriesPassIndex, dataset, series,
+                    this.firstItemIndex, this.lastItemIndex, dataArea,
+                    plot.getOrientation(), domainAxis,
+                    plot.getDomainAxisEdge(), rangeAxis,
+                    plot.getRangeAxisEdge(), margin, renderer,
+                    collapse ? g2.getTransform() : null);
+        }
+        return this.segmentCuller;
     }
 
     /**
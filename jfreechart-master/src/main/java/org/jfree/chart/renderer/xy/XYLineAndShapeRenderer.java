@@ -59,6 +59,7 @@ import org.jfree.chart.plot.CrosshairState;
 import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.plot.PlotRenderingInfo;
 import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.MarkerStamper;
 import org.jfree.chart.api.RectangleEdge;
 import org.jfree.chart.internal.LineUtils;
 import org.jfree.chart.internal.Args;
@@ -90,6 +91,23 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
     /** The shape that is used to represent a line in the legend. */
     private transient Shape legendLine;
 
+    /**
+     * A flag that controls whether item shapes are stamped from
+     * pre-rendered images on raster targets.
+     *
+     * @since 2.0
+     */
+    private boolean markerStamping;
+
+    /**
+     * A flag that controls whether line segments that add nothing visible
+     * (because they lie within a pixel that is already painted) are skipped
+     * on raster targets.
+     *
+     * @since 2.0
+     */
+    private boolean segmentCollapsing;
+
     /**
      * Creates a new renderer with both lines and shapes visible.
      */
@@ -120,6 +138,7 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
                                        // default, not outline paint
 
         xYLineAndShapeRendererProduct.setDrawSeriesLineAsPath2(false);
+        this.segmentCollapsing = false;
     }
 
     /**
@@ -515,6 +534,82 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
         xYLineAndShapeRendererProduct.setUseOutlinePaint(flag, this);
     }
 
+    /**
+     * Returns the flag that controls whether item shapes are stamped from
+     * pre-rendered images.  The default value is {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @see #setMarkerStamping(boolean)
+     *
+     * @since 2.0
+     */
+    public boolean getMarkerStamping() {
+        return this.markerStamping;
+    }
+
+    /**
+     * Sets the flag that controls whether item shapes are stamped from
+     * pre-rendered images, and sends a {@link RendererChangeEvent} to all
+     * registered listeners.  When this is {@code true}, each distinct series
+     * shape and paint is rasterised once per drawing and then copied to
+     * each item location (see {@link MarkerStamper}), which is much faster
+     * for series with many visible shapes.  Positions are accurate to a
+     * quarter of a pixel.  Vector targets (SVG, PDF and printers) and
+     * non-trivial transforms, composites and paints always get exact
+     * vector shapes.  The shapes are drawn by
+     * {@link #drawSecondaryPass(XYItemRendererState, Graphics2D, XYPlot,
+     * XYDataset, int, int, int, ValueAxis, Rectangle2D, ValueAxis,
+     * CrosshairState, EntityCollection)}.
+     *
+     * @param flag  the flag.
+     *
+     * @see #getMarkerStamping()
+     *
+     * @since 2.0
+     */
+    public void setMarkerStamping(boolean flag) {
+        this.markerStamping = flag;
+        fireChangeEvent();
+    }
+
+    /**
+     * Returns the flag that controls whether line segments that add nothing
+     * visible are skipped.  The default value is {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @see #setSegmentCollapsing(boolean)
+     *
+     * @since 2.0
+     */
+    public boolean getSegmentCollapsing() {
+        return this.segmentCollapsing;
+    }
+
+    /**
+     * Sets the flag that controls whether line segments that add nothing
+     * visible are skipped, and sends a {@link RendererChangeEvent} to all
+     * registered listeners.  When this is {@code true}, a segment whose ends
+     * lie in the same device pixel is skipped if the previous segment, drawn
+     * with the same item paint and stroke, already ends in that pixel (see
+     * {@link SegmentCuller}).  This only applies to raster targets where
+     * the transform is at most a translation; vector targets (SVG, PDF and
+     * printers) and scaled targets always get every segment.  Because the
+     * remaining segments are joined at the collapsed points, lines can move
+     * by less than one pixel, so this is off by default.
+     *
+     * @param flag  the flag.
+     *
+     * @see #getSegmentCollapsing()
+     *
+     * @since 2.0
+     */
+    public void setSegmentCollapsing(boolean flag) {
+        this.segmentCollapsing = flag;
+        fireChangeEvent();
+    }
+
     /**
      * Records the state for the renderer.  This is used to preserve state
      * information between calls to the drawItem() method for a single chart
@@ -531,6 +626,9 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
          */
         private boolean lastPointGood;
 
+        /** The marker stamper (created when first needed). */
+        private MarkerStamper markerStamper;
+
         /**
          * Creates a new state instance.
          *
@@ -561,6 +659,21 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
             this.lastPointGood = good;
         }
 
+        /**
+         * Returns the marker stamper for this drawing, creating it if
+         * necessary.
+         *
+         * @return The marker stamper (never {@code null}).
+         *
+         * @since 2.0
+         */
+        public MarkerStamper getMarkerStamper() {
+            if (this.markerStamper == null) {
+                this.markerStamper = new MarkerStamper();
+            }
+            return this.markerStamper;
+        }
+
         /**
          * This method is called by the {@link XYPlot} at the start of each
          * series pass.  We reset the state for the current series.
@@ -656,7 +769,7 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
                 entities = info.getOwner().getEntityCollection();
             }
 
-            drawSecondaryPass(g2, plot, dataset, pass, series, item,
+            drawSecondaryPass(state, g2, plot, dataset, pass, series, item,
                     domainAxis, dataArea, rangeAxis, crosshairState, entities);
         }
     }
@@ -715,27 +828,44 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
             return;
         }
 
-        // get the data point...
-        double x1 = dataset.getXValue(series, item);
-        double y1 = dataset.getYValue(series, item);
-        if (Double.isNaN(y1) || Double.isNaN(x1)) {
-            return;
+        // segments are clipped to the data area below, so the culler needs
+        // no margin
+        SegmentCuller culler = state.getSegmentCuller(g2, plot, this,
+                dataset, series, dataArea, domainAxis, rangeAxis, 0.0,
+                this.segmentCollapsing);
+        double transX0, transY0, transX1, transY1;
+        if (culler.contains(item - 1) && culler.contains(item)) {
+            if (culler.canSkipSegment(item, 0.0)) {
+                return;
+            }
+            transX0 = culler.getTransX(item - 1);
+            transY0 = culler.getTransY(item - 1);
+            transX1 = culler.getTransX(item);
+            transY1 = culler.getTransY(item);
         }
+        else {
+            // get the data point...
+            double x1 = dataset.getXValue(series, item);
+            double y1 = dataset.getYValue(series, item);
+            if (Double.isNaN(y1) || Double.isNaN(x1)) {
+                return;
+            }
 
-        double x0 = dataset.getXValue(series, item - 1);
-        double y0 = dataset.getYValue(series, item - 1);
-        if (Double.isNaN(y0) || Double.isNaN(x0)) {
-            return;
-        }
+            double x0 = dataset.getXValue(series, item - 1);
+            double y0 = dataset.getYValue(series, item - 1);
+            if (Double.isNaN(y0) || Double.isNaN(x0)) {
+                return;
+            }
 
-        RectangleEdge xAxisLocation = plot.getDomainAxisEdge();
-        RectangleEdge yAxisLocation = plot.getRangeAxisEdge();
+            RectangleEdge xAxisLocation = plot.getDomainAxisEdge();
+            RectangleEdge yAxisLocation = plot.getRangeAxisEdge();
 
-        double transX0 = domainAxis.valueToJava2D(x0, dataArea, xAxisLocation);
-        double transY0 = rangeAxis.valueToJava2D(y0, dataArea, yAxisLocation);
+            transX0 = domainAxis.valueToJava2D(x0, dataArea, xAxisLocation);
+            transY0 = rangeAxis.valueToJava2D(y0, dataArea, yAxisLocation);
 
-        double transX1 = domainAxis.valueToJava2D(x1, dataArea, xAxisLocation);
-        double transY1 = rangeAxis.valueToJava2D(y1, dataArea, yAxisLocation);
+            transX1 = domainAxis.valueToJava2D(x1, dataArea, xAxisLocation);
+            transY1 = rangeAxis.valueToJava2D(y1, dataArea, yAxisLocation);
+        }
 
         // only draw if we have good values
         if (Double.isNaN(transX0) || Double.isNaN(transY0)
@@ -797,16 +927,29 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
             int series, int item, ValueAxis domainAxis, ValueAxis rangeAxis,
             Rectangle2D dataArea) {
 
-        RectangleEdge xAxisLocation = plot.getDomainAxisEdge();
-        RectangleEdge yAxisLocation = plot.getRangeAxisEdge();
-
-        // get the data point...
-        double x1 = dataset.getXValue(series, item);
-        double y1 = dataset.getYValue(series, item);
-        double transX1 = domainAxis.valueToJava2D(x1, dataArea, xAxisLocation);
-        double transY1 = rangeAxis.valueToJava2D(y1, dataArea, yAxisLocation);
-
         State s = (State) state;
+        // the path is drawn with the stroke for the last item
+        double margin = SegmentCuller.margin(getItemStroke(series,
+                s.getLastItemIndex()));
+        SegmentCuller culler = state.getSegmentCuller(g2, plot, this,
+                dataset, series, dataArea, domainAxis, rangeAxis, margin,
+                this.segmentCollapsing);
+        double transX1, transY1;
+        if (culler.contains(item)) {
+            transX1 = culler.getTransX(item);
+            transY1 = culler.getTransY(item);
+        }
+        else {
+            RectangleEdge xAxisLocation = plot.getDomainAxisEdge();
+            RectangleEdge yAxisLocation = plot.getRangeAxisEdge();
+
+            // get the data point...
+            double x1 = dataset.getXValue(series, item);
+            double y1 = dataset.getYValue(series, item);
+            transX1 = domainAxis.valueToJava2D(x1, dataArea, xAxisLocation);
+            transY1 = rangeAxis.valueToJava2D(y1, dataArea, yAxisLocation);
+        }
+
         // update path to reflect latest point
         if (!Double.isNaN(transX1) && !Double.isNaN(transY1)) {
             float x = (float) transX1;
@@ -816,12 +959,13 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
                 x = (float) transY1;
                 y = (float) transX1;
             }
-            if (s.isLastPointGood()) {
-                s.seriesPath.lineTo(x, y);
-            }
-            else {
+            if (!s.isLastPointGood() || culler.isCulled(item, margin)) {
                 s.seriesPath.moveTo(x, y);
             }
+            else if (!culler.isCollapsed(item)) {
+                // (collapsed points add nothing visible to the path)
+                s.seriesPath.lineTo(x, y);
+            }
             s.setLastPointGood(true);
         } else {
             s.setLastPointGood(false);
@@ -856,6 +1000,74 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
             XYDataset dataset, int pass, int series, int item,
             ValueAxis domainAxis, Rectangle2D dataArea, ValueAxis rangeAxis,
             CrosshairState crosshairState, EntityCollection entities) {
+        drawItemShape(null, g2, plot, dataset, series, item, domainAxis,
+                dataArea, rangeAxis, crosshairState, entities);
+    }
+
+    /**
+     * Draws the item shapes and adds chart entities (second pass).  This is
+     * the method called by {@code drawItem()}.  If marker stamping is
+     * enabled (see {@link #setMarkerStamping(boolean)}) and the state is a
+     * {@link State}, the shapes are stamped with the state's
+     * {@link MarkerStamper}.  Otherwise this method calls
+     * {@link #drawSecondaryPass(Graphics2D, XYPlot, XYDataset, int, int,
+     * int, ValueAxis, Rectangle2D, ValueAxis, CrosshairState,
+     * EntityCollection)}, so subclasses that override that method but
+     * also want marker stamping should override this method instead.
+     *
+     * @param state  the renderer state ({@code null} permitted).
+     * @param g2  the graphics device.
+     * @param plot  the plot (can be used to obtain standard color
+     *              information etc).
+     * @param dataset  the dataset.
+     * @param pass  the pass.
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     * @param domainAxis  the domain axis.
+     * @param dataArea  the area within which the data is being drawn.
+     * @param rangeAxis  the range axis.
+     * @param crosshairState  the crosshair state.
+     * @param entities the entity collection.
+     *
+     * @since 2.0
+     */
+    protected void drawSecondaryPass(XYItemRendererState state,
+            Graphics2D g2, XYPlot plot, XYDataset dataset, int pass,
+            int series, int item, ValueAxis domainAxis, Rectangle2D dataArea,
+            ValueAxis rangeAxis, CrosshairState crosshairState,
+            EntityCollection entities) {
+        if (this.markerStamping && state instanceof State) {
+            drawItemShape(((State) state).getMarkerStamper(), g2, plot,
+                    dataset, series, item, domainAxis, dataArea, rangeAxis,
+                    crosshairState, entities);
+        }
+        else {
+            drawSecondaryPass(g2, plot, dataset, pass, series, item,
+                    domainAxis, dataArea, rangeAxis, crosshairState,
+                    entities);
+        }
+    }
+
+    /**
+     * Draws the shape for an item and adds its entity, stamping the shape
+     * if a stamper is supplied and the target allows it.
+     *
+     * @param stamper  the marker stamper ({@code null} permitted).
+     * @param g2  the graphics device.
+     * @param plot  the plot.
+     * @param dataset  the dataset.
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     * @param domainAxis  the domain axis.
+     * @param dataArea  the data area.
+     * @param rangeAxis  the range axis.
+     * @param crosshairState  the crosshair state.
+     * @param entities the entity collection ({@code null} permitted).
+     */
+    private void drawItemShape(MarkerStamper stamper, Graphics2D g2,
+            XYPlot plot, XYDataset dataset, int series, int item,
+            ValueAxis domainAxis, Rectangle2D dataArea, ValueAxis rangeAxis,
+            CrosshairState crosshairState, EntityCollection entities) {
 
         Shape entityArea = null;
 
@@ -872,47 +1084,49 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
         double transX1 = domainAxis.valueToJava2D(x1, dataArea, xAxisLocation);
         double transY1 = rangeAxis.valueToJava2D(y1, dataArea, yAxisLocation);
 
+        double xx = transX1;
+        double yy = transY1;
+        if (orientation == PlotOrientation.HORIZONTAL) {
+            xx = transY1;
+            yy = transX1;
+        }
+
         if (xYLineAndShapeRendererProduct.getItemShapeVisible(series, item)) {
             Shape shape = getItemShape(series, item);
-            if (orientation == PlotOrientation.HORIZONTAL) {
-                shape = ShapeUtils.createTranslatedShape(shape, transY1,
-                        transX1);
-            }
-            else if (orientation == PlotOrientation.VERTICAL) {
-                shape = ShapeUtils.createTranslatedShape(shape, transX1,
-                        transY1);
-            }
-            entityArea = shape;
-            if (shape.intersects(dataArea)) {
-                if (xYLineAndShapeRendererProduct.getItemShapeFilled(series, item)) {
-                    if (this.xYLineAndShapeRendererProduct.getUseFillPaint()) {
-                        g2.setPaint(getItemFillPaint(series, item));
-                    }
-                    else {
-                        g2.setPaint(getItemPaint(series, item));
-                    }
-                    g2.fill(shape);
+            if (stamper != null && stampShape(g2, stamper, shape, xx, yy,
+                    dataArea, series, item)) {
+                if (entities != null) {
+                    entityArea = ShapeUtils.createTranslatedShape(shape, xx,
+                            yy);
                 }
-                if (this.xYLineAndShapeRendererProduct.getDrawOutlines()) {
-                    if (getUseOutlinePaint()) {
-                        g2.setPaint(getItemOutlinePaint(series, item));
+            }
+            else {
+                shape = ShapeUtils.createTranslatedShape(shape, xx, yy);
+                entityArea = shape;
+                if (shape.intersects(dataArea)) {
+                    if (xYLineAndShapeRendererProduct.getItemShapeFilled(series, item)) {
+                        if (this.xYLineAndShapeRendererProduct.getUseFillPaint()) {
+                            g2.setPaint(getItemFillPaint(series, item));
+                        }
+                        else {
+                            g2.setPaint(getItemPaint(series, item));
+                        }
+                        g2.fill(shape);
                     }
-                    else {
-                        g2.setPaint(getItemPaint(series, item));
+                    if (this.xYLineAndShapeRendererProduct.getDrawOutlines()) {
+                        if (getUseOutlinePaint()) {
+                            g2.setPaint(getItemOutlinePaint(series, item));
+                        }
+                        else {
+                            g2.setPaint(getItemPaint(series, item));
+                        }
+                        g2.setStroke(getItemOutlineStroke(series, item));
+                        g2.draw(shape);
                     }
-                    g2.setStroke(getItemOutlineStroke(series, item));
-                    g2.draw(shape);
                 }
             }
         }
 
-        double xx = transX1;
-        double yy = transY1;
-        if (orientation == PlotOrientation.HORIZONTAL) {
-            xx = transY1;
-            yy = transX1;
-        }
-
         // draw the item label if there is one...
         if (isItemLabelVisible(series, item)) {
             drawItemLabel(g2, orientation, dataset, series, item, xx, yy,
@@ -930,6 +1144,49 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
         }
     }
 
+    /**
+     * Stamps the shape for an item at the specified location, if the
+     * stamper can do so on the current target.  Shapes that lie entirely
+     * outside the data area are skipped (and count as stamped).
+     *
+     * @param g2  the graphics device.
+     * @param stamper  the marker stamper.
+     * @param shape  the (untranslated) item shape.
+     * @param x  the x-coordinate for the item.
+     * @param y  the y-coordinate for the item.
+     * @param dataArea  the data area.
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return {@code true} if nothing more needs to be drawn, and
+     *     {@code false} if the shape should be drawn as a vector.
+     */
+    private boolean stampShape(Graphics2D g2, MarkerStamper stamper,
+            Shape shape, double x, double y, Rectangle2D dataArea,
+            int series, int item) {
+        Rectangle2D b = shape.getBounds2D();
+        if (!dataArea.intersects(b.getX() + x, b.getY() + y, b.getWidth(),
+                b.getHeight())) {
+            return true;
+        }
+        Paint fillPaint = null;
+        if (xYLineAndShapeRendererProduct.getItemShapeFilled(series, item)) {
+            fillPaint = this.xYLineAndShapeRendererProduct.getUseFillPaint()
+                    ? getItemFillPaint(series, item)
+                    : getItemPaint(series, item);
+        }
+        Paint outlinePaint = null;
+        Stroke outlineStroke = null;
+        if (this.xYLineAndShapeRendererProduct.getDrawOutlines()) {
+            outlinePaint = getUseOutlinePaint()
+                    ? getItemOutlinePaint(series, item)
+                    : getItemPaint(series, item);
+            outlineStroke = getItemOutlineStroke(series, item);
+        }
+        return stamper.stamp(g2, shape, x, y, fillPaint, outlinePaint,
+                outlineStroke);
+    }
+
 
     /**
      * Returns a legend item for the specified series.
@@ -1067,6 +1324,12 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
         if (this.xYLineAndShapeRendererProduct.getUseFillPaint() != that.xYLineAndShapeRendererProduct.getUseFillPaint()) {
             return false;
         }
+        if (this.markerStamping != that.markerStamping) {
+            return false;
+        }
+        if (this.segmentCollapsing != that.segmentCollapsing) {
+            return false;
+        }
         if (this.xYLineAndShapeRendererProduct.getDrawSeriesLineAsPath() != that.xYLineAndShapeRendererProduct.getDrawSeriesLineAsPath()) {
             return false;
         }
@@ -45,7 +45,10 @@ import java.awt.geom.GeneralPath;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import org.jfree.chart.axis.ValueAxis;
@@ -99,7 +102,13 @@ public class XYSplineRenderer extends XYLineAndShapeRenderer {
         /** The area to fill under the curve. */
         public GeneralPath fillArea;
         
-        /** The points. */
+        /** 
+         * The points.
+         * 
+         * @deprecated The renderer no longer collects points here, the 
+         *     spline is fitted in data space and cached by the renderer.
+         */
+        @Deprecated
         public List<Point2D> points;
         
         /**
@@ -114,6 +123,15 @@ public class XYSplineRenderer extends XYLineAndShapeRenderer {
         }
     }
     
+    /** 
+     * The Java2D length that one line segment of the spline should cover
+     * on long intervals.
+     */
+    private static final double UNITS_PER_SEGMENT = 4.0;
+
+    /** The maximum number of line segments for one spline interval. */
+    private static final int MAX_SEGMENTS = 4096;
+
     /**
      * Resolution of splines (number of line segments between points)
      */
@@ -126,6 +144,9 @@ public class XYSplineRenderer extends XYLineAndShapeRenderer {
     private FillType fillType;
 
     private GradientPaintTransformer gradientPaintTransformer;
+
+    /** The fitted splines for each dataset (not serialized). */
+    transient DatasetCache<Map<Integer, Spline>> splineCache;
     
     /**
      * Creates a new instance with the precision attribute defaulting to 5 
@@ -168,7 +189,8 @@ public class XYSplineRenderer extends XYLineAndShapeRenderer {
 
     /**
      * Returns the number of line segments used to approximate the spline
-     * curve between data points.
+     * curve between data points.  Intervals shorter than this many Java2D
+     * units use fewer segments, and long intervals use more.
      *
      * @return The number of line segments.
      *
@@ -277,6 +299,11 @@ public class XYSplineRenderer extends XYLineAndShapeRenderer {
      * connecting the items. Instead of drawing separate lines,
      * a GeneralPath is constructed and drawn at the end of
      * the series painting.
+     * <br><br>
+     * The spline is fitted once per series in data space and cached until
+     * the dataset changes; each repaint only evaluates it over the visible
+     * part of the domain axis, with the number of line segments per
+     * interval chosen from the interval's length in Java2D space.
      *
      * @param g2  the graphics device.
      * @param state  the renderer state.
@@ -296,183 +323,312 @@ public class XYSplineRenderer extends XYLineAndShapeRenderer {
             int series, int item, ValueAxis xAxis, ValueAxis yAxis,
             Rectangle2D dataArea) {
 
+        if (item != state.getLastItemIndex()) {
+            return;
+        }
+        Spline spline = getSpline(dataset, series);
+        int n = spline.count;
+        if (n < 2) {
+            return;
+        }
+        double[] knots = spline.x;
+        double lower = Math.max(xAxis.getLowerBound(), knots[0]);
+        double upper = Math.min(xAxis.getUpperBound(), knots[n - 1]);
+        if (!(lower < upper)) {
+            return;
+        }
         XYSplineState s = (XYSplineState) state;
         RectangleEdge xAxisLocation = plot.getDomainAxisEdge();
         RectangleEdge yAxisLocation = plot.getRangeAxisEdge();
+        boolean horizontal = plot.getOrientation() 
+                == PlotOrientation.HORIZONTAL;
+        boolean fill = this.fillType != FillType.NONE;
+        double base = 0.0;
+        if (this.fillType == FillType.TO_ZERO) {
+            base = yAxis.valueToJava2D(0.0, dataArea, yAxisLocation);
+        } else if (this.fillType == FillType.TO_LOWER_BOUND) {
+            base = yAxis.valueToJava2D(yAxis.getLowerBound(), dataArea, 
+                    yAxisLocation);
+        } else if (this.fillType == FillType.TO_UPPER_BOUND) {
+            base = yAxis.valueToJava2D(yAxis.getUpperBound(), dataArea, 
+                    yAxisLocation);
+        }
 
-        // get the data points
-        double x1 = dataset.getXValue(series, item);
-        double y1 = dataset.getYValue(series, item);
-        double transX1 = xAxis.valueToJava2D(x1, dataArea, xAxisLocation);
-        double transY1 = yAxis.valueToJava2D(y1, dataArea, yAxisLocation);
-
-        // Collect points
-        if (!Double.isNaN(transX1) && !Double.isNaN(transY1)) {
-            Point2D p = plot.getOrientation() == PlotOrientation.HORIZONTAL 
-                ? new Point2D.Float((float) transY1, (float) transX1) 
-                : new Point2D.Float((float) transX1, (float) transY1);
-            if (!s.points.contains(p))
-                s.points.add(p);
+        // find the interval containing the lower bound
+        int i = Arrays.binarySearch(knots, 0, n, lower);
+        if (i < 0) {
+            i = -i - 2;
         }
-        
-        if (item == dataset.getItemCount(series) - 1) {     // construct path
-            if (s.points.size() > 1) {
-                Point2D origin;
-                if (this.fillType == FillType.TO_ZERO) {
-                    float xz = (float) xAxis.valueToJava2D(0, dataArea, 
-                            yAxisLocation);
-                    float yz = (float) yAxis.valueToJava2D(0, dataArea, 
-                            yAxisLocation);
-                    origin = plot.getOrientation() == PlotOrientation.HORIZONTAL
-                            ? new Point2D.Float(yz, xz) 
-                            : new Point2D.Float(xz, yz);
-                } else if (this.fillType == FillType.TO_LOWER_BOUND) {
-                    float xlb = (float) xAxis.valueToJava2D(
-                            xAxis.getLowerBound(), dataArea, xAxisLocation);
-                    float ylb = (float) yAxis.valueToJava2D(
-                            yAxis.getLowerBound(), dataArea, yAxisLocation);
-                    origin = plot.getOrientation() == PlotOrientation.HORIZONTAL
-                            ? new Point2D.Float(ylb, xlb) 
-                            : new Point2D.Float(xlb, ylb);
-                } else {// fillType == TO_UPPER_BOUND
-                    float xub = (float) xAxis.valueToJava2D(
-                            xAxis.getUpperBound(), dataArea, xAxisLocation);
-                    float yub = (float) yAxis.valueToJava2D(
-                            yAxis.getUpperBound(), dataArea, yAxisLocation);
-                    origin = plot.getOrientation() == PlotOrientation.HORIZONTAL
-                            ? new Point2D.Float(yub, xub)
-                            : new Point2D.Float(xub, yub);
+        i = Math.min(i, n - 2);
+
+        double t = lower;
+        double tx = xAxis.valueToJava2D(t, dataArea, xAxisLocation);
+        double ty = yAxis.valueToJava2D(spline.value(i, t), dataArea, 
+                yAxisLocation);
+        double firstX = tx;
+        if (horizontal) {
+            s.seriesPath.moveTo(ty, tx);
+        } else {
+            s.seriesPath.moveTo(tx, ty);
+        }
+        if (fill) {
+            if (horizontal) {
+                s.fillArea.moveTo(base, tx);
+                s.fillArea.lineTo(ty, tx);
+            } else {
+                s.fillArea.moveTo(tx, base);
+                s.fillArea.lineTo(tx, ty);
+            }
+        }
+        for (; i < n - 1 && knots[i] < upper; i++) {
+            double start = t;
+            double end = Math.min(knots[i + 1], upper);
+            double endX = xAxis.valueToJava2D(end, dataArea, xAxisLocation);
+            double endY = yAxis.valueToJava2D(spline.value(i, end), dataArea, 
+                    yAxisLocation);
+            int segments = segmentCount(Math.hypot(endX - tx, endY - ty));
+            for (int j = 1; j <= segments; j++) {
+                t = j == segments ? end 
+                        : start + (end - start) * j / segments;
+                tx = j == segments ? endX 
+                        : xAxis.valueToJava2D(t, dataArea, xAxisLocation);
+                ty = j == segments ? endY : yAxis.valueToJava2D(
+                        spline.value(i, t), dataArea, yAxisLocation);
+                if (Double.isNaN(tx) || Double.isNaN(ty)) {
+                    continue;
                 }
-                
-                // we need at least two points to draw something
-                Point2D cp0 = s.points.get(0);
-                s.seriesPath.moveTo(cp0.getX(), cp0.getY());
-                if (this.fillType != FillType.NONE) {
-                    if (plot.getOrientation() == PlotOrientation.HORIZONTAL) {
-                        s.fillArea.moveTo(origin.getX(), cp0.getY());
+                if (horizontal) {
+                    s.seriesPath.lineTo(ty, tx);
+                } else {
+                    s.seriesPath.lineTo(tx, ty);
+                }
+                if (fill) {
+                    if (horizontal) {
+                        s.fillArea.lineTo(ty, tx);
                     } else {
-                        s.fillArea.moveTo(cp0.getX(), origin.getY());
+                        s.fillArea.lineTo(tx, ty);
                     }
-                    s.fillArea.lineTo(cp0.getX(), cp0.getY());
                 }
-                if (s.points.size() == 2) {
-                    // we need at least 3 points to spline. Draw simple line
-                    // for two points
-                    Point2D cp1 = s.points.get(1);
-                    if (this.fillType != FillType.NONE) {
-                        s.fillArea.lineTo(cp1.getX(), cp1.getY());
-                        s.fillArea.lineTo(cp1.getX(), origin.getY());
-                        s.fillArea.closePath();
-                    }
-                    s.seriesPath.lineTo(cp1.getX(), cp1.getY());
-                } else {
-                    // construct spline
-                    int np = s.points.size(); // number of points
-                    float[] d = new float[np]; // Newton form coefficients
-                    float[] x = new float[np]; // x-coordinates of nodes
-                    float y, oldy;
-                    float t, oldt;
-
-                    float[] a = new float[np];
-                    float t1;
-                    float t2;
-                    float[] h = new float[np];
-
-                    for (int i = 0; i < np; i++) {
-                        Point2D.Float cpi = (Point2D.Float) s.points.get(i);
-                        x[i] = cpi.x;
-                        d[i] = cpi.y;
-                    }
+            }
+        }
+
+        // fill under the curve...
+        if (fill) {
+            if (horizontal) {
+                s.fillArea.lineTo(base, tx);
+            } else {
+                s.fillArea.lineTo(tx, base);
+            }
+            s.fillArea.closePath();
+            Paint fp = getSeriesFillPaint(series);
+            if (this.gradientPaintTransformer != null 
+                    && fp instanceof GradientPaint) {
+                GradientPaint gp = this.gradientPaintTransformer
+                        .transform((GradientPaint) fp, s.fillArea);
+                g2.setPaint(gp);
+            } else {
+                g2.setPaint(fp);                        
+            }
+            g2.fill(s.fillArea);
+            s.fillArea.reset();
+        }
+        // then draw the line...
+        drawFirstPassShape(g2, pass, series, item, s.seriesPath);
+    }
 
-                    for (int i = 1; i <= np - 1; i++)
-                        h[i] = x[i] - x[i - 1];
+    /**
+     * Returns the number of line segments used to draw a spline interval
+     * with the specified length in Java2D units.  Short intervals use at
+     * most one segment per unit (and at most {@code precision} segments),
+     * long intervals use at least {@code precision} segments and one per
+     * {@link #UNITS_PER_SEGMENT} units.
+     *
+     * @param length  the length of the interval in Java2D units.
+     *
+     * @return The segment count (at least 1).
+     */
+    private int segmentCount(double length) {
+        if (!(length > 1.0)) {
+            return 1;
+        }
+        double segments = Math.max(Math.min(this.precision, 
+                Math.ceil(length)), Math.ceil(length / UNITS_PER_SEGMENT));
+        return (int) Math.min(segments, MAX_SEGMENTS);
+    }
 
-                    float[] sub = new float[np - 1];
-                    float[] diag = new float[np - 1];
-                    float[] sup = new float[np - 1];
+    /**
+     * Returns the spline for a series, fitting it if the cached spline is
+     * missing or out of date.
+     *
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     *
+     * @return The spline.
+     */
+    private Spline getSpline(XYDataset dataset, int series) {
+        if (this.splineCache == null) {
+            this.splineCache = new DatasetCache<>();
+        }
+        DatasetCache.Entry<Map<Integer, Spline>> entry
+                = this.splineCache.get(dataset, getPlot(), HashMap::new);
+        if (entry == null) {
+            // a snapshot is drawn once, so there is nothing to reuse
+            return new Spline(dataset, series);
+        }
+        if (entry.changed) {
+            entry.value.clear();
+            entry.changed = false;
+        }
+        Spline spline = entry.value.get(series);
+        if (spline == null 
+                || spline.itemCount != dataset.getItemCount(series)) {
+            spline = new Spline(dataset, series);
+            entry.value.put(series, spline);
+        }
+        return spline;
+    }
 
-                    for (int i = 1; i <= np - 2; i++) {
-                        diag[i] = (h[i] + h[i + 1]) / 3;
-                        sup[i] = h[i + 1] / 6;
-                        sub[i] = h[i] / 6;
-                        a[i] = (d[i + 1] - d[i]) / h[i + 1]
-                                   - (d[i] - d[i - 1]) / h[i];
-                    }
-                    solveTridiag(sub, diag, sup, a, np - 2);
-
-                    // note that a[0]=a[np-1]=0
-                    oldt = x[0];
-                    oldy = d[0];
-                    for (int i = 1; i <= np - 1; i++) {
-                        // loop over intervals between nodes
-                        for (int j = 1; j <= this.precision; j++) {
-                            t1 = (h[i] * j) / this.precision;
-                            t2 = h[i] - t1;
-                            y = ((-a[i - 1] / 6 * (t2 + h[i]) * t1 + d[i - 1])
-                                    * t2 + (-a[i] / 6 * (t1 + h[i]) * t2
-                                    + d[i]) * t1) / h[i];
-                            t = x[i - 1] + t1;
-                            s.seriesPath.lineTo(t, y);
-                            if (this.fillType != FillType.NONE) {
-                                s.fillArea.lineTo(t, y);
-                            }
-                        }
-                    }
+    /**
+     * Sets the plot that the renderer is assigned to.  The cached splines
+     * are released (and their listeners removed from the datasets) when
+     * the renderer moves to another plot.
+     *
+     * @param plot  the plot ({@code null} permitted).
+     */
+    @Override
+    public void setPlot(XYPlot plot) {
+        if (plot != getPlot() && this.splineCache != null) {
+            this.splineCache.release();
+        }
+        super.setPlot(plot);
+    }
+
+    /**
+     * A natural cubic spline through the (x, y) items of a series, stored as
+     * the knots and the second derivative at each knot.
+     */
+    static class Spline {
+
+        /** The number of items in the series when the spline was fitted. */
+        final int itemCount;
+
+        /** The number of knots. */
+        final int count;
+
+        /** The x-values of the knots (ascending, no duplicates). */
+        final double[] x;
+
+        /** The y-values of the knots. */
+        final double[] y;
+
+        /** The second derivative of the spline at each knot. */
+        final double[] m;
+
+        /**
+         * Fits a spline to a series.  Items with a {@code NaN} x- or y-value
+         * are skipped, items are sorted by x-value if necessary, and only
+         * the first of several items with the same x-value is used.
+         *
+         * @param dataset  the dataset.
+         * @param series  the series index.
+         */
+        Spline(XYDataset dataset, int series) {
+            this.itemCount = dataset.getItemCount(series);
+            double[] xs = new double[this.itemCount];
+            double[] ys = new double[this.itemCount];
+            int n = 0;
+            boolean sorted = true;
+            for (int i = 0; i < this.itemCount; i++) {
+                double xv = dataset.getXValue(series, i);
+                double yv = dataset.getYValue(series, i);
+                if (Double.isNaN(xv) || Double.isNaN(yv)) {
+                    continue;
                 }
-                // Add last point @ y=0 for fillPath and close path
-                if (this.fillType != FillType.NONE) {
-                    if (plot.getOrientation() == PlotOrientation.HORIZONTAL) {
-                        s.fillArea.lineTo(origin.getX(), s.points.get(
-                                s.points.size() - 1).getY());
-                    } else {
-                        s.fillArea.lineTo(s.points.get(
-                                s.points.size() - 1).getX(), origin.getY());
-                    }
-                    s.fillArea.closePath();
+                if (n > 0 && xv < xs[n - 1]) {
+                    sorted = false;
+                }
+                xs[n] = xv;
+                ys[n] = yv;
+                n++;
+            }
+            if (!sorted) {
+                Integer[] order = new Integer[n];
+                for (int i = 0; i < n; i++) {
+                    order[i] = i;
+                }
+                double[] keys = xs;
+                Arrays.sort(order, (a, b) -> Double.compare(keys[a], keys[b]));
+                double[] sx = new double[n];
+                double[] sy = new double[n];
+                for (int i = 0; i < n; i++) {
+                    sx[i] = xs[order[i]];
+                    sy[i] = ys[order[i]];
+                }
+                xs = sx;
+                ys = sy;
+            }
+            int count = 0;
+            for (int i = 0; i < n; i++) {
+                if (count == 0 || xs[i] != xs[count - 1]) {
+                    xs[count] = xs[i];
+                    ys[count] = ys[i];
+                    count++;
                 }
+            }
+            this.count = count;
+            this.x = xs;
+            this.y = ys;
+            this.m = new double[Math.max(count, 1)];
+            if (count > 2) {
+                solve();
+            }
+        }
 
-                // fill under the curve...
-                if (this.fillType != FillType.NONE) {
-                    Paint fp = getSeriesFillPaint(series);
-                    if (this.gradientPaintTransformer != null 
-                            && fp instanceof GradientPaint) {
-                        GradientPaint gp = this.gradientPaintTransformer
-                                .transform((GradientPaint) fp, s.fillArea);
-                        g2.setPaint(gp);
-                    } else {
-                        g2.setPaint(fp);                        
-                    }
-                    g2.fill(s.fillArea);
-                    s.fillArea.reset();
+        /**
+         * Solves the tridiagonal system for the second derivatives, with
+         * the natural end conditions m[0] = m[count - 1] = 0.
+         */
+        private void solve() {
+            int n = this.count;
+            double[] diag = new double[n];
+            double[] rhs = new double[n];
+            for (int i = 1; i < n - 1; i++) {
+                double h0 = this.x[i] - this.x[i - 1];
+                double h1 = this.x[i + 1] - this.x[i];
+                diag[i] = 2.0 * (h0 + h1);
+                rhs[i] = 6.0 * ((this.y[i + 1] - this.y[i]) / h1
+                        - (this.y[i] - this.y[i - 1]) / h0);
+                if (i > 1) {
+                    // eliminate the sub-diagonal entry h0
+                    double w = h0 / diag[i - 1];
+                    diag[i] -= w * h0;
+                    rhs[i] -= w * rhs[i - 1];
                 }
-                // then draw the line...
-                drawFirstPassShape(g2, pass, series, item, s.seriesPath);
             }
-            // reset points vector
-            s.points = new ArrayList<>();
+            for (int i = n - 2; i >= 1; i--) {
+                double h1 = this.x[i + 1] - this.x[i];
+                this.m[i] = (rhs[i] - h1 * this.m[i + 1]) / diag[i];
+            }
         }
-    }
-    
-    private void solveTridiag(float[] sub, float[] diag, float[] sup,
-            float[] b, int n) {
-/*      solve linear system with tridiagonal n by n matrix a
-        using Gaussian elimination *without* pivoting
-        where   a(i,i-1) = sub[i]  for 2<=i<=n
-        a(i,i)   = diag[i] for 1<=i<=n
-        a(i,i+1) = sup[i]  for 1<=i<=n-1
-        (the values sub[1], sup[n] are ignored)
-        right hand side vector b[1:n] is overwritten with solution
-        NOTE: 1...n is used in all arrays, 0 is unused */
-        int i;
-/*      factorization and forward substitution */
-        for (i = 2; i <= n; i++) {
-            sub[i] /= diag[i - 1];
-            diag[i] -= sub[i] * sup[i - 1];
-            b[i] -= sub[i] * b[i - 1];
+
+        /**
+         * Returns the value of the spline at {@code t}, which should lie in
+         * the interval between knots {@code i} and {@code i + 1}.
+         *
+         * @param i  the interval index.
+         * @param t  the x-value.
+         *
+         * @return The y-value.
+         */
+        double value(int i, double t) {
+            double h = this.x[i + 1] - this.x[i];
+            double a = (this.x[i + 1] - t) / h;
+            double b = 1.0 - a;
+            return a * this.y[i] + b * this.y[i + 1] 
+                    + ((a * a * a - a) * this.m[i] 
+                    + (b * b * b - b) * this.m[i + 1]) * h * h / 6.0;
         }
-        b[n] /= diag[n];
-        for (i = n - 1; i >= 1; i--)
-            b[i] = (b[i] - sup[i] * b[i + 1]) / diag[i];
+
     }
 
     /**
@@ -502,4 +658,19 @@ public class XYSplineRenderer extends XYLineAndShapeRenderer {
         }
         return super.equals(obj);
     }
+
+    /**
+     * Returns a clone of the renderer.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if the renderer cannot be cloned.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        XYSplineRenderer clone = (XYSplineRenderer) super.clone();
+        clone.splineCache = null;
+        return clone;
+    }
+
 }
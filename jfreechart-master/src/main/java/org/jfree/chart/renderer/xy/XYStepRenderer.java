@@ -200,7 +200,16 @@ public class XYStepRenderer extends XYLineAndShapeRenderer
             double transY0 = (Double.isNaN(y0) ? Double.NaN
                     : rangeAxis.valueToJava2D(y0, dataArea, yAxisLocation));
 
-            if (orientation == PlotOrientation.HORIZONTAL) {
+            // a step lies within the bounding box of its two points, so it
+            // can be skipped whenever the segment between them can
+            double margin = SegmentCuller.margin(seriesStroke);
+            SegmentCuller culler = state.getSegmentCuller(g2, plot, this,
+                    dataset, series, dataArea, domainAxis, rangeAxis, margin,
+                    getSegmentCollapsing());
+            if (culler.canSkipSegment(item, margin)) {
+                // nothing visible to draw
+            }
+            else if (orientation == PlotOrientation.HORIZONTAL) {
                 if (transY0 == transY1) {
                     // this represents the situation
                     // for drawing a horizontal bar.
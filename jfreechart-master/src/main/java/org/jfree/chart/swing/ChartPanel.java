@@ -74,17 +74,17 @@ import java.awt.event.MouseMotionListener;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 import java.awt.print.PageFormat;
 import java.awt.print.Printable;
 import java.awt.print.PrinterException;
 import java.awt.print.PrinterJob;
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -94,6 +94,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 
 import javax.swing.JFileChooser;
 import javax.swing.JMenu;
@@ -105,6 +110,7 @@ import javax.swing.SwingUtilities;
 import javax.swing.ToolTipManager;
 import javax.swing.event.EventListenerList;
 import javax.swing.filechooser.FileNameExtensionFilter;
+import org.jfree.chart.ChartHints;
 import org.jfree.chart.ChartRenderingInfo;
 import org.jfree.chart.ChartTransferable;
 import org.jfree.chart.ChartUtils;
@@ -114,6 +120,7 @@ import org.jfree.chart.swing.editor.ChartEditor;
 import org.jfree.chart.swing.editor.ChartEditorManager;
 import org.jfree.chart.entity.ChartEntity;
 import org.jfree.chart.entity.EntityCollection;
+import org.jfree.chart.entity.StandardEntityCollection;
 import org.jfree.chart.event.ChartChangeEvent;
 import org.jfree.chart.event.ChartChangeListener;
 import org.jfree.chart.event.ChartProgressEvent;
@@ -124,6 +131,7 @@ import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.plot.PlotRenderingInfo;
 import org.jfree.chart.plot.Zoomable;
 import org.jfree.chart.internal.Args;
+import org.jfree.chart.util.ExportUtils;
 
 /**
  * A Swing GUI component for displaying a {@link JFreeChart} object.
@@ -221,6 +229,15 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
     /** Zoom reset (range axis only) action command. */
     public static final String ZOOM_RESET_RANGE_COMMAND = "ZOOM_RESET_RANGE";
 
+    /**
+     * The time (in nanoseconds) that a background render must exceed before
+     * the next frame is first drawn at a reduced resolution.
+     */
+    private static final long PROGRESSIVE_THRESHOLD = 100_000_000L;
+
+    /** The resolution of a coarse frame, relative to the full frame. */
+    private static final double COARSE_RESOLUTION = 0.25;
+
     // default modifiers for zooming, private to avoid constant inlining,
     // publicly available through getDefaultDragModifiersEx()
     private static final int DEFAULT_DRAG_MODIFIERS_EX;
@@ -319,6 +336,24 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
     /** The chart anchor point. */
     protected Point2D anchor;
 
+    /**
+     * A flag that controls whether the chart is drawn into the buffer on a
+     * background thread (see {@link #setAsyncRendering(boolean)}).
+     */
+    private boolean asyncRendering;
+
+    /**
+     * The number of the latest background render requested (renders with
+     * a lower number are stale and their results are discarded).
+     */
+    private transient volatile long renderGeneration;
+
+    /** The time taken by the last full-resolution background render. */
+    private transient volatile long lastRenderNanos;
+
+    /** The executor for background renders (created when required). */
+    private transient ExecutorService renderExecutor;
+
     /** The scale factor used to draw the chart. */
     protected double scaleX;
 
@@ -1366,6 +1401,65 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
         this.refreshBuffer = flag;
     }
 
+    /**
+     * Returns the flag that controls whether the chart is drawn into the
+     * off-screen buffer on a background thread.  The default value is
+     * {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @see #setAsyncRendering(boolean)
+     */
+    public boolean isAsyncRendering() {
+        return this.asyncRendering;
+    }
+
+    /**
+     * Sets the flag that controls whether the chart is drawn into the
+     * off-screen buffer on a background thread, so that the event dispatch
+     * thread is not blocked while a large chart is drawn.  While a new frame
+     * is being drawn, the panel shows the last completed frame (scaled to
+     * the current size).  When the chart changes or the panel is resized
+     * before a frame is complete, the plots stop drawing the frame (see
+     * {@link ChartHints#KEY_DRAW_CANCELLED}), the frame is discarded and
+     * any frames still waiting to be drawn are skipped.  If a
+     * full-resolution frame took longer than {@code 100} milliseconds to
+     * draw, the next frame is first drawn at a quarter of the resolution,
+     * so that something is shown sooner (a
+     * {@link org.jfree.data.xy.LevelOfDetailXYDataset} is drawn at a
+     * coarser level for such a frame, since the levels are selected for
+     * the device resolution).  The chart rendering info is updated in
+     * place, on the event dispatch thread, as each frame is completed.
+     * <p>
+     * This flag has no effect unless the panel uses an off-screen buffer.
+     * The chart's progress listeners are called on the background thread.
+     * <p>
+     * The chart is not copied or locked for a background frame: it is drawn
+     * while the event dispatch thread remains free to modify the chart and
+     * its datasets, so the two threads race.  A change event makes the
+     * frame that is being drawn stale, so a frame that saw a change is
+     * discarded rather than shown (and an exception thrown while drawing a
+     * stale frame is ignored), but a renderer may still read a dataset in
+     * the middle of an update.  Enable this flag only for charts that are
+     * modified on the event dispatch thread and whose datasets tolerate
+     * being read while they change (for example, datasets that are only
+     * appended to, or datasets drawn from snapshots, see
+     * {@link org.jfree.chart.plot.XYPlot#setDatasetSnapshots(boolean)}).
+     *
+     * @param async  the new flag value.
+     *
+     * @see #isAsyncRendering()
+     */
+    public void setAsyncRendering(boolean async) {
+        this.asyncRendering = async;
+        this.renderGeneration++;
+        this.chartBuffer = null;
+        this.chartBufferWidth = 0;
+        this.chartBufferHeight = 0;
+        this.refreshBuffer = true;
+        repaint();
+    }
+
     /**
      * Paints the component by drawing the chart to fill the entire component,
      * but allowing for the insets (which will be non-zero if a border has been
@@ -1434,7 +1528,19 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
             final int scaledHeight = (int) (available.getHeight() * globalScaleY);
 
             // do we need to resize the buffer?
-            if ((this.chartBuffer == null)
+            if (this.asyncRendering) {
+                if (this.refreshBuffer
+                        || this.chartBufferWidth != scaledWidth
+                        || this.chartBufferHeight != scaledHeight) {
+                    // keep showing the last frame until the new one is ready
+                    this.refreshBuffer = false;
+                    this.chartBufferWidth = scaledWidth;
+                    this.chartBufferHeight = scaledHeight;
+                    requestAsyncRender(g2.getDeviceConfiguration(),
+                            available, chartArea, scale, globalScaleX,
+                            globalScaleY);
+                }
+            } else if ((this.chartBuffer == null)
                     || (this.chartBufferWidth != scaledWidth)
                     || (this.chartBufferHeight != scaledHeight)) {
                 this.chartBufferWidth = scaledWidth;
@@ -1483,7 +1589,9 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
             }
 
             // zap the buffer onto the panel...
-            g2.drawImage(this.chartBuffer, insets.left, insets.top, (int) available.getWidth(), (int) available.getHeight(), this);
+            if (this.chartBuffer != null) {
+                g2.drawImage(this.chartBuffer, insets.left, insets.top, (int) available.getWidth(), (int) available.getHeight(), this);
+            }
             g2.addRenderingHints(this.chart.getRenderingHints()); // bug#187
 
         } else { // redrawing the chart every time...
@@ -1513,6 +1621,147 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
         this.anchor = null;
     }
 
+    /**
+     * Requests a new frame to be drawn on the background thread (see
+     * {@link #setAsyncRendering(boolean)}).  Any frame that is still being
+     * drawn (or waiting to be drawn) becomes stale.
+     *
+     * @param gc  the graphics configuration for the buffer image.
+     * @param available  the area available for the chart.
+     * @param chartArea  the area for drawing the chart (before scaling).
+     * @param scale  a flag that indicates whether the chart is scaled.
+     * @param globalScaleX  the x-scale for the device.
+     * @param globalScaleY  the y-scale for the device.
+     */
+    private void requestAsyncRender(GraphicsConfiguration gc,
+            Rectangle2D available, Rectangle2D chartArea, boolean scale,
+            double globalScaleX, double globalScaleY) {
+        if (this.chartBufferWidth <= 0 || this.chartBufferHeight <= 0) {
+            return;
+        }
+        long generation = ++this.renderGeneration;
+        JFreeChart renderChart = this.chart;
+        Point2D renderAnchor = this.anchor;
+        double sx = this.scaleX;
+        double sy = this.scaleY;
+        boolean collectInfo = this.info != null;
+        boolean collectEntities = collectInfo
+                && this.info.getEntityCollection() != null;
+        boolean progressive = this.lastRenderNanos > PROGRESSIVE_THRESHOLD;
+        int width = this.chartBufferWidth;
+        int height = this.chartBufferHeight;
+        if (this.renderExecutor == null) {
+            this.renderExecutor = new ThreadPoolExecutor(0, 1, 1L,
+                    TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                        Thread t = new Thread(r, "ChartPanel-render");
+                        t.setDaemon(true);
+                        return t;
+                    });
+        }
+        this.renderExecutor.execute(() -> {
+            // a coarse pass first (if the last frame was slow), then a full
+            // resolution pass, stopping as soon as the frame is stale
+            for (int pass = progressive ? 0 : 1; pass < 2; pass++) {
+                if (generation != this.renderGeneration) {
+                    return;
+                }
+                double f = pass == 0 ? COARSE_RESOLUTION : 1.0;
+                BufferedImage image = gc.createCompatibleImage(
+                        Math.max((int) (width * f), 1),
+                        Math.max((int) (height * f), 1),
+                        Transparency.TRANSLUCENT);
+                ChartRenderingInfo renderInfo = null;
+                if (collectInfo) {
+                    renderInfo = new ChartRenderingInfo(collectEntities
+                            ? new StandardEntityCollection() : null);
+                }
+                Graphics2D g2 = image.createGraphics();
+                g2.setRenderingHint(ChartHints.KEY_DRAW_CANCELLED,
+                        (BooleanSupplier) () ->
+                                generation != this.renderGeneration);
+                g2.scale(globalScaleX * f, globalScaleY * f);
+                long start = System.nanoTime();
+                try {
+                    if (scale) {
+                        g2.scale(sx, sy);
+                        renderChart.draw(g2, chartArea, renderAnchor,
+                                renderInfo);
+                    } else {
+                        renderChart.draw(g2, new Rectangle2D.Double(0, 0,
+                                available.getWidth(), available.getHeight()),
+                                renderAnchor, renderInfo);
+                    }
+                } catch (RuntimeException e) {
+                    // the chart may have been changed by a newer request
+                    // while this frame was drawn
+                    if (generation == this.renderGeneration) {
+                        Thread t = Thread.currentThread();
+                        t.getUncaughtExceptionHandler().uncaughtException(t,
+                                e);
+                    }
+                    return;
+                } finally {
+                    g2.dispose();
+                }
+                if (generation != this.renderGeneration) {
+                    return;  // the frame may be incomplete
+                }
+                if (pass == 1) {
+                    this.lastRenderNanos = System.nanoTime() - start;
+                }
+                ChartRenderingInfo completedInfo = renderInfo;
+                SwingUtilities.invokeLater(() -> {
+                    if (generation == this.renderGeneration) {
+                        this.chartBuffer = image;
+                        if (completedInfo != null && this.info != null) {
+                            copyRenderingInfo(completedInfo, this.info);
+                        }
+                        repaint();
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Copies the rendering info for a frame drawn on the background thread
+     * into the panel's rendering info, so that references to the panel's
+     * info remain valid.
+     *
+     * @param source  the info for the completed frame.
+     * @param target  the panel's info.
+     */
+    private static void copyRenderingInfo(ChartRenderingInfo source,
+            ChartRenderingInfo target) {
+        target.clear();
+        target.setChartArea(source.getChartArea());
+        copyPlotInfo(source.getPlotInfo(), target.getPlotInfo());
+        EntityCollection entities = target.getEntityCollection();
+        if (entities != null && source.getEntityCollection() != null) {
+            entities.addAll(source.getEntityCollection());
+        }
+    }
+
+    /**
+     * Copies the plot areas and subplot info from one plot rendering info
+     * to another, with the subplot info belonging to the owner of the
+     * target.
+     *
+     * @param source  the source info.
+     * @param target  the target info.
+     */
+    private static void copyPlotInfo(PlotRenderingInfo source,
+            PlotRenderingInfo target) {
+        target.setPlotArea(source.getPlotArea());
+        target.setDataArea(source.getDataArea());
+        for (int i = 0; i < source.getSubplotCount(); i++) {
+            PlotRenderingInfo subplotInfo = new PlotRenderingInfo(
+                    target.getOwner());
+            copyPlotInfo(source.getSubplotInfo(i), subplotInfo);
+            target.addSubplotInfo(subplotInfo);
+        }
+    }
+
     /**
      * Receives notification of changes to the chart, and redraws the chart.
      *
@@ -1521,6 +1770,10 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
     @Override
     public void chartChanged(ChartChangeEvent event) {
         this.refreshBuffer = true;
+        if (this.asyncRendering) {
+            // stop drawing the current frame now, not at the next repaint
+            this.renderGeneration++;
+        }
         Plot plot = this.chart.getPlot();
         if (plot instanceof Zoomable) {
             Zoomable z = (Zoomable) plot;
@@ -2439,9 +2692,9 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
     
     /**
      * Saves the chart in SVG format (a filechooser will be displayed so that
-     * the user can specify the filename).  Note that this method only works
-     * if the JFreeSVG library is on the classpath...if this library is not 
-     * present, the method will fail.
+     * the user can specify the filename).  The chart is streamed to the file
+     * by {@link ExportUtils#writeAsSVG(org.jfree.chart.Drawable, int, int,
+     * File)}.
      *
      * @param f  the file.
      *
@@ -2481,27 +2734,11 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
         }
         
         if (file != null) {
-            // use reflection to get the SVG string
-            String svg = generateSVG(getWidth(), getHeight());
-            BufferedWriter writer = null;
-            Exception originalException = null;
-            try {
-                writer = new BufferedWriter(new FileWriter(file));
-                writer.write("<!DOCTYPE svg PUBLIC \"-//W3C//DTD SVG 1.1//EN\" \"http://www.w3.org/Graphics/SVG/1.1/DTD/svg11.dtd\">\n");
-                writer.write(svg + "\n");
-                writer.flush();
-            } catch (Exception e) {
-                originalException = e;
-            }
             try {
-                if (writer != null) {
-                    writer.close();
-                }
-            } catch (IOException ex) {
-                RuntimeException th = new RuntimeException(ex);
-                if (originalException != null)
-                    th.addSuppressed(originalException);
-                throw th;
+                ExportUtils.writeAsSVG(this.chart, getWidth(), getHeight(),
+                        file);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
             }
         }
     }
@@ -2731,9 +2968,8 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
 
     /**
      * Creates a popup menu for the panel.  This method includes code that
-     * auto-detects JFreeSVG and OrsonPDF (via reflection) and, if they are
-     * present (and the {@code save} argument is {@code true}, adds a menu item
-     * for each.
+     * auto-detects OrsonPDF (via reflection) and, if it is present (and the
+     * {@code save} argument is {@code true}, adds a menu item for it.
      *
      * @param properties  include a menu item for the chart property editor.
      * @param copy include a menu item for copying to the clipboard.
@@ -24,7 +24,7 @@ public class ChartPanelProduct implements Serializable {
 	private JMenuItem zoomResetRangeMenuItem;
 
 	/**
-	* Creates a popup menu for the panel.  This method includes code that auto-detects JFreeSVG and OrsonPDF (via reflection) and, if they are present (and the  {@code  save}  argument is  {@code  true} , adds a menu item for each.
+	* Creates a popup menu for the panel.  This method includes code that auto-detects OrsonPDF (via reflection) and, if it is present (and the  {@code  save}  argument is  {@code  true} , adds a menu item for it.
 	* @param properties   include a menu item for the chart property editor.
 	* @param copy  include a menu item for copying to the clipboard.
 	* @param save   include one or more menu items for saving the chart to supported image formats.
@@ -72,7 +72,7 @@ public class ChartPanelProduct implements Serializable {
 				pngItem.addActionListener(chartPanel);
 				saveSubMenu.add(pngItem);
 			}
-			if (ChartUtils.isJFreeSVGAvailable()) {
+			{
 				JMenuItem svgItem = new JMenuItem(ChartPanel.getLocalizationResources().getString("SVG..."));
 				svgItem.setActionCommand(ChartPanel.SAVE_AS_SVG_COMMAND);
 				svgItem.addActionListener(chartPanel);
@@ -197,4 +197,4 @@ public class ChartPanelProduct implements Serializable {
 		}
 		thisPopup.show(chartPanel, x, y);
 	}
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -41,16 +41,21 @@ import java.awt.Rectangle;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.lang.reflect.Constructor;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import javax.imageio.ImageIO;
 import org.jfree.chart.Drawable;
+import org.jfree.chart.JFreeChart;
 import org.jfree.chart.internal.Args;
 
 /**
@@ -98,42 +103,56 @@ public class ExportUtils {
     }
 
     /**
-     * Writes the current content to the specified file in SVG format.  This 
-     * will only work when the JFreeSVG library is found on the classpath.
-     * Reflection is used to ensure there is no compile-time dependency on
-     * JFreeSVG.
+     * Writes the current content to the specified file in SVG format, using
+     * a {@link StreamingSVGGraphics2D} (no additional libraries are
+     * required).
      * 
      * @param drawable  the drawable ({@code null} not permitted).
      * @param w  the chart width.
      * @param h  the chart height.
      * @param file  the output file ({@code null} not permitted).
+     *
+     * @throws UncheckedIOException if there is an I/O problem.
      */
     public static void writeAsSVG(Drawable drawable, int w, int h, File file) {
-        if (!ExportUtils.isJFreeSVGAvailable()) {
-            throw new IllegalStateException(
-                    "JFreeSVG is not present on the classpath.");
-        }
         Args.nullNotPermitted(drawable, "drawable");
         Args.nullNotPermitted(file, "file");
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writeAsSVG(drawable, w, h, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the current content to the specified writer as an SVG document.
+     * The elements are written as they are drawn, so the document is never
+     * held in memory.  The writer is flushed but not closed.
+     *
+     * @param drawable  the drawable ({@code null} not permitted).
+     * @param w  the chart width.
+     * @param h  the chart height.
+     * @param writer  the writer ({@code null} not permitted).
+     *
+     * @throws IOException if there is an I/O problem.
+     *
+     * @since 2.0
+     */
+    public static void writeAsSVG(Drawable drawable, int w, int h,
+            Writer writer) throws IOException {
+        Args.nullNotPermitted(drawable, "drawable");
+        Args.nullNotPermitted(writer, "writer");
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        StreamingSVGGraphics2D g2 = new StreamingSVGGraphics2D(writer, w, h);
+        // shadows are bitmap effects, so they are not generated for SVG
+        g2.setRenderingHint(JFreeChart.KEY_SUPPRESS_SHADOW_GENERATION, true);
         try {
-            Class<?> svg2Class = Class.forName(
-                    "org.jfree.graphics2d.svg.SVGGraphics2D");
-            Constructor<?> c1 = svg2Class.getConstructor(int.class, int.class);
-            Graphics2D svg2 = (Graphics2D) c1.newInstance(w, h);
-            Rectangle2D drawArea = new Rectangle2D.Double(0, 0, w, h);
-            drawable.draw(svg2, drawArea);
-            Class<?> svgUtilsClass = Class.forName(
-                    "org.jfree.graphics2d.svg.SVGUtils");
-            Method m1 = svg2Class.getMethod("getSVGElement", (Class[]) null);
-            String element = (String) m1.invoke(svg2, (Object[]) null);
-            Method m2 = svgUtilsClass.getMethod("writeToSVG", File.class, 
-                    String.class);
-            m2.invoke(svgUtilsClass, file, element);
-        } catch (ClassNotFoundException | InstantiationException | IllegalAccessException |
-                NoSuchMethodException | SecurityException | IllegalArgumentException |
-                InvocationTargetException ex) {
-            throw new RuntimeException(ex);
+            drawable.draw(g2, new Rectangle2D.Double(0, 0, w, h));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
+        g2.finish();
     }
 
     /**
@@ -0,0 +1,1810 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------------
+ * StreamingSVGGraphics2D.java
+ * ---------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.util;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.GradientPaint;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.LinearGradientPaint;
+import java.awt.MultipleGradientPaint;
+import java.awt.Paint;
+import java.awt.Polygon;
+import java.awt.RadialGradientPaint;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.font.TextLayout;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Area;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.BufferedImageOp;
+import java.awt.image.ColorModel;
+import java.awt.image.ImageObserver;
+import java.awt.image.RenderedImage;
+import java.awt.image.WritableRaster;
+import java.awt.image.renderable.RenderableImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.text.AttributedCharacterIterator;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import javax.imageio.ImageIO;
+import org.jfree.chart.ChartHints;
+import org.jfree.chart.internal.Args;
+
+/**
+ * A {@code Graphics2D} implementation that writes SVG output to a
+ * {@code Writer} as the drawing operations are performed, so that the
+ * document is never held in memory.  To keep the output compact:
+ * <ul>
+ * <li>each distinct combination of paint, stroke, font and opacity is
+ * written once as a CSS class rule, and the elements refer to it by
+ * class name;</li>
+ * <li>gradient paints and clip regions are written once as definitions
+ * that are shared by all the elements that use them;</li>
+ * <li>consecutive line segments drawn with the same style, transform and
+ * clip (as most renderers do when drawing a series one item at a time)
+ * are coalesced into a single {@code path} element.</li>
+ * </ul>
+ * Call {@link #finish()} once drawing is complete to write the end of the
+ * document.  Instances created with {@link #create()} write to the same
+ * document.  Bitmap-only operations ({@code copyArea()} and XOR mode) are
+ * not supported and are ignored, paints other than colors and gradients
+ * are written as black, and the only composites recognised are instances
+ * of {@link AlphaComposite} (the alpha value is used as the opacity).
+ * <p>
+ * The {@link ChartHints#KEY_BEGIN_ELEMENT} and
+ * {@link ChartHints#KEY_END_ELEMENT} hints are recognised (when set via
+ * {@link #setRenderingHint(RenderingHints.Key, Object)}) and write the
+ * start and end of a group element.
+ */
+public class StreamingSVGGraphics2D extends Graphics2D {
+
+    /**
+     * The maximum length of the path data for coalesced line segments
+     * before the path element is written (and a new one started).
+     */
+    private static final int MAX_PATH_LENGTH = 8192;
+
+    /** Powers of ten, used for formatting numbers. */
+    private static final long[] POW10 = {1L, 10L, 100L, 1000L, 10000L};
+
+    /** The document (shared with the instances created from this one). */
+    private final Document document;
+
+    /** The current paint. */
+    private Paint paint;
+
+    /** The last color set (returned by {@link #getColor()}). */
+    private Color color;
+
+    /** The current stroke. */
+    private Stroke stroke;
+
+    /** The current font. */
+    private Font font;
+
+    /** The current composite. */
+    private Composite composite;
+
+    /** The background color (used by {@code clearRect()}). */
+    private Color background;
+
+    /** The rendering hints. */
+    private RenderingHints hints;
+
+    /** The current transform. */
+    private AffineTransform transform;
+
+    /** The clip in device space ({@code null} for no clip). */
+    private Shape clip;
+
+    /** The cached transform attribute (or {@code ""}), see transformAttr(). */
+    private String transformAttr;
+
+    /** The cached clip id ({@code null} for no clip), see clipId(). */
+    private String clipId;
+
+    /** A flag indicating whether or not {@code clipId} is up to date. */
+    private boolean clipIdValid;
+
+    /** The cached style class for drawing lines and shapes. */
+    private String strokeClass;
+
+    /** The cached style classes for filling shapes (by fill rule). */
+    private final String[] fillClass = new String[2];
+
+    /** The cached style class for text. */
+    private String textClass;
+
+    /** The cached start of the path element for coalesced lines. */
+    private String linePrefix;
+
+    /**
+     * Creates a new instance that writes an SVG element with the specified
+     * size to {@code writer}.  The start of the element is written
+     * immediately.  It is recommended that the writer is buffered.
+     *
+     * @param writer  the writer ({@code null} not permitted).
+     * @param width  the width of the SVG element.
+     * @param height  the height of the SVG element.
+     */
+    public StreamingSVGGraphics2D(Writer writer, int width, int height) {
+        Args.nullNotPermitted(writer, "writer");
+        this.document = new Document(writer);
+        this.paint = Color.BLACK;
+        this.color = Color.BLACK;
+        this.stroke = new BasicStroke(1.0f);
+        this.font = new Font(Font.DIALOG, Font.PLAIN, 12);
+        this.composite = AlphaComposite.SrcOver;
+        this.background = Color.BLACK;
+        this.hints = new RenderingHints(null);
+        this.transform = new AffineTransform();
+        this.clip = null;
+        this.document.write("<svg xmlns=\"http://www.w3.org/2000/svg\" "
+                + "xmlns:xlink=\"http://www.w3.org/1999/xlink\" width=\""
+                + width + "\" height=\"" + height + "\" viewBox=\"0 0 "
+                + width + " " + height + "\">\n");
+    }
+
+    /**
+     * Creates a new instance with the same state as {@code parent}, writing
+     * to the same document.
+     *
+     * @param parent  the parent.
+     */
+    private StreamingSVGGraphics2D(StreamingSVGGraphics2D parent) {
+        this.document = parent.document;
+        this.paint = parent.paint;
+        this.color = parent.color;
+        this.stroke = parent.stroke;
+        this.font = parent.font;
+        this.composite = parent.composite;
+        this.background = parent.background;
+        this.hints = (RenderingHints) parent.hints.clone();
+        this.transform = new AffineTransform(parent.transform);
+        this.clip = parent.clip;
+    }
+
+    /**
+     * Writes any pending output and the end of the SVG element, then
+     * flushes (but does not close) the writer.  Nothing should be drawn
+     * after this method is called.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public void finish() throws IOException {
+        try {
+            this.document.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Creates a new graphics object that writes to the same document and
+     * has the same state as this one.
+     *
+     * @return A new graphics object.
+     */
+    @Override
+    public Graphics create() {
+        return new StreamingSVGGraphics2D(this);
+    }
+
+    /**
+     * Does nothing (call {@link #finish()} to complete the document).
+     */
+    @Override
+    public void dispose() {
+        // nothing to do
+    }
+
+    @Override
+    public Paint getPaint() {
+        return this.paint;
+    }
+
+    @Override
+    public void setPaint(Paint paint) {
+        if (paint == null) {
+            return;
+        }
+        this.paint = paint;
+        if (paint instanceof Color) {
+            this.color = (Color) paint;
+        }
+        invalidateStyles();
+    }
+
+    @Override
+    public Color getColor() {
+        return this.color;
+    }
+
+    @Override
+    public void setColor(Color c) {
+        setPaint(c);
+    }
+
+    @Override
+    public Stroke getStroke() {
+        return this.stroke;
+    }
+
+    @Override
+    public void setStroke(Stroke s) {
+        Args.nullNotPermitted(s, "s");
+        this.stroke = s;
+        invalidateStyles();
+    }
+
+    @Override
+    public Font getFont() {
+        return this.font;
+    }
+
+    @Override
+    public void setFont(Font font) {
+        if (font == null) {
+            return;
+        }
+        this.font = font;
+        this.textClass = null;
+    }
+
+    @Override
+    public Composite getComposite() {
+        return this.composite;
+    }
+
+    @Override
+    public void setComposite(Composite comp) {
+        Args.nullNotPermitted(comp, "comp");
+        this.composite = comp;
+        invalidateStyles();
+    }
+
+    /**
+     * Sets the composite to {@code AlphaComposite.SrcOver}.
+     */
+    @Override
+    public void setPaintMode() {
+        setComposite(AlphaComposite.SrcOver);
+    }
+
+    /**
+     * Does nothing (XOR mode is not supported).
+     *
+     * @param c1  ignored.
+     */
+    @Override
+    public void setXORMode(Color c1) {
+        // not supported
+    }
+
+    @Override
+    public Color getBackground() {
+        return this.background;
+    }
+
+    @Override
+    public void setBackground(Color color) {
+        this.background = color;
+    }
+
+    @Override
+    public Object getRenderingHint(RenderingHints.Key hintKey) {
+        return this.hints.get(hintKey);
+    }
+
+    /**
+     * Sets a rendering hint.  The {@link ChartHints#KEY_BEGIN_ELEMENT} and
+     * {@link ChartHints#KEY_END_ELEMENT} hints are not stored, but write
+     * the start and end of a group element.
+     *
+     * @param hintKey  the key.
+     * @param hintValue  the value.
+     */
+    @Override
+    public void setRenderingHint(RenderingHints.Key hintKey,
+            Object hintValue) {
+        if (hintKey == ChartHints.KEY_BEGIN_ELEMENT) {
+            String id = null;
+            String ref = null;
+            if (hintValue instanceof String) {
+                id = (String) hintValue;
+            } else if (hintValue instanceof Map) {
+                Map<?, ?> m = (Map<?, ?>) hintValue;
+                id = (String) m.get("id");
+                ref = (String) m.get("ref");
+            }
+            this.document.beginGroup(id, ref);
+        } else if (hintKey == ChartHints.KEY_END_ELEMENT) {
+            this.document.endGroup();
+        } else {
+            this.hints.put(hintKey, hintValue);
+            invalidateStyles();
+        }
+    }
+
+    @Override
+    public RenderingHints getRenderingHints() {
+        return (RenderingHints) this.hints.clone();
+    }
+
+    @Override
+    public void setRenderingHints(Map<?, ?> hints) {
+        this.hints.clear();
+        this.hints.putAll(hints);
+        invalidateStyles();
+    }
+
+    @Override
+    public void addRenderingHints(Map<?, ?> hints) {
+        this.hints.putAll(hints);
+        invalidateStyles();
+    }
+
+    @Override
+    public FontRenderContext getFontRenderContext() {
+        return this.document.scratch(this.hints).getFontRenderContext();
+    }
+
+    @Override
+    public FontMetrics getFontMetrics(Font f) {
+        return this.document.scratch(this.hints).getFontMetrics(f);
+    }
+
+    /**
+     * Returns the configuration of an in-memory image (there is no device
+     * for SVG output).
+     *
+     * @return The device configuration.
+     */
+    @Override
+    public GraphicsConfiguration getDeviceConfiguration() {
+        return this.document.scratch(this.hints).getDeviceConfiguration();
+    }
+
+    @Override
+    public AffineTransform getTransform() {
+        return new AffineTransform(this.transform);
+    }
+
+    @Override
+    public void setTransform(AffineTransform tx) {
+        this.transform = new AffineTransform(tx);
+        invalidateTransform();
+    }
+
+    @Override
+    public void transform(AffineTransform tx) {
+        this.transform.concatenate(tx);
+        invalidateTransform();
+    }
+
+    @Override
+    public void translate(int x, int y) {
+        translate((double) x, (double) y);
+    }
+
+    @Override
+    public void translate(double tx, double ty) {
+        this.transform.translate(tx, ty);
+        invalidateTransform();
+    }
+
+    @Override
+    public void rotate(double theta) {
+        this.transform.rotate(theta);
+        invalidateTransform();
+    }
+
+    @Override
+    public void rotate(double theta, double x, double y) {
+        this.transform.rotate(theta, x, y);
+        invalidateTransform();
+    }
+
+    @Override
+    public void scale(double sx, double sy) {
+        this.transform.scale(sx, sy);
+        invalidateTransform();
+    }
+
+    @Override
+    public void shear(double shx, double shy) {
+        this.transform.shear(shx, shy);
+        invalidateTransform();
+    }
+
+    @Override
+    public Shape getClip() {
+        if (this.clip == null) {
+            return null;
+        }
+        try {
+            return transformShape(this.transform.createInverse(), this.clip);
+        } catch (NoninvertibleTransformException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void setClip(Shape clip) {
+        this.clip = (clip == null) ? null
+                : transformShape(this.transform, clip);
+        this.clipIdValid = false;
+    }
+
+    @Override
+    public void setClip(int x, int y, int width, int height) {
+        setClip(new Rectangle(x, y, width, height));
+    }
+
+    @Override
+    public void clip(Shape s) {
+        if (this.clip == null) {
+            setClip(s);
+            return;
+        }
+        Shape ds = transformShape(this.transform, s);
+        if (this.clip instanceof Rectangle2D && ds instanceof Rectangle2D) {
+            Rectangle2D r = ((Rectangle2D) this.clip).createIntersection(
+                    (Rectangle2D) ds);
+            this.clip = new Rectangle2D.Double(r.getX(), r.getY(),
+                    Math.max(r.getWidth(), 0.0),
+                    Math.max(r.getHeight(), 0.0));
+        } else {
+            Area a = new Area(this.clip);
+            a.intersect(new Area(ds));
+            this.clip = a;
+        }
+        this.clipIdValid = false;
+    }
+
+    @Override
+    public void clipRect(int x, int y, int width, int height) {
+        clip(new Rectangle(x, y, width, height));
+    }
+
+    @Override
+    public Rectangle getClipBounds() {
+        Shape c = getClip();
+        return (c == null) ? null : c.getBounds();
+    }
+
+    @Override
+    public boolean hit(Rectangle rect, Shape s, boolean onStroke) {
+        Shape shape = onStroke ? this.stroke.createStrokedShape(s) : s;
+        return this.transform.createTransformedShape(shape).intersects(rect);
+    }
+
+    @Override
+    public void draw(Shape s) {
+        if (!(this.stroke instanceof BasicStroke)) {
+            fill(this.stroke.createStrokedShape(s));
+            return;
+        }
+        if (s instanceof Line2D) {
+            Line2D line = (Line2D) s;
+            drawLine(line.getX1(), line.getY1(), line.getX2(), line.getY2());
+            return;
+        }
+        if (isClippedOut()) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder("<path class=\"");
+        sb.append(strokeClass()).append('"').append(transformAttr());
+        sb.append(" d=\"");
+        appendPathData(sb, s);
+        sb.append("\"/>\n");
+        writeElement(sb.toString());
+    }
+
+    @Override
+    public void fill(Shape s) {
+        if (isClippedOut()) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder();
+        if (s instanceof Rectangle2D) {
+            Rectangle2D r = (Rectangle2D) s;
+            if (r.isEmpty()) {
+                return;
+            }
+            sb.append("<rect class=\"").append(fillClass(false)).append('"');
+            sb.append(transformAttr());
+            sb.append(" x=\"");
+            appendNumber(sb, r.getX(), 2);
+            sb.append("\" y=\"");
+            appendNumber(sb, r.getY(), 2);
+            sb.append("\" width=\"");
+            appendNumber(sb, r.getWidth(), 2);
+            sb.append("\" height=\"");
+            appendNumber(sb, r.getHeight(), 2);
+            sb.append("\"/>\n");
+        } else {
+            PathIterator pi = s.getPathIterator(null);
+            boolean evenOdd = pi.getWindingRule() == PathIterator.WIND_EVEN_ODD;
+            sb.append("<path class=\"").append(fillClass(evenOdd));
+            sb.append('"').append(transformAttr()).append(" d=\"");
+            appendPathData(sb, pi);
+            sb.append("\"/>\n");
+        }
+        writeElement(sb.toString());
+    }
+
+    @Override
+    public void drawLine(int x1, int y1, int x2, int y2) {
+        if (this.stroke instanceof BasicStroke) {
+            drawLine((double) x1, (double) y1, (double) x2, (double) y2);
+        } else {
+            draw(new Line2D.Double(x1, y1, x2, y2));
+        }
+    }
+
+    /**
+     * Draws a line segment with the current (basic) stroke, adding it to
+     * the current path element when the style, transform and clip are
+     * unchanged since the previous segment.
+     *
+     * @param x1  the x-coordinate of the start point.
+     * @param y1  the y-coordinate of the start point.
+     * @param x2  the x-coordinate of the end point.
+     * @param y2  the y-coordinate of the end point.
+     */
+    private void drawLine(double x1, double y1, double x2, double y2) {
+        if (isClippedOut()) {
+            return;
+        }
+        if (this.linePrefix == null) {
+            this.linePrefix = "<path class=\"" + strokeClass() + "\""
+                    + transformAttr();
+        }
+        this.document.line(this.linePrefix, clipId(), x1, y1, x2, y2);
+    }
+
+    @Override
+    public void fillRect(int x, int y, int width, int height) {
+        fill(new Rectangle(x, y, width, height));
+    }
+
+    /**
+     * Fills a rectangle with the background color.
+     *
+     * @param x  the x-coordinate.
+     * @param y  the y-coordinate.
+     * @param width  the width.
+     * @param height  the height.
+     */
+    @Override
+    public void clearRect(int x, int y, int width, int height) {
+        Paint savedPaint = this.paint;
+        Color savedColor = this.color;
+        Composite savedComposite = this.composite;
+        setPaint(this.background);
+        setComposite(AlphaComposite.Src);
+        fillRect(x, y, width, height);
+        setPaint(savedPaint);
+        this.color = savedColor;
+        setComposite(savedComposite);
+    }
+
+    @Override
+    public void drawRoundRect(int x, int y, int width, int height,
+            int arcWidth, int arcHeight) {
+        draw(new RoundRectangle2D.Double(x, y, width, height, arcWidth,
+                arcHeight));
+    }
+
+    @Override
+    public void fillRoundRect(int x, int y, int width, int height,
+            int arcWidth, int arcHeight) {
+        fill(new RoundRectangle2D.Double(x, y, width, height, arcWidth,
+                arcHeight));
+    }
+
+    @Override
+    public void drawOval(int x, int y, int width, int height) {
+        draw(new Ellipse2D.Double(x, y, width, height));
+    }
+
+    @Override
+    public void fillOval(int x, int y, int width, int height) {
+        fill(new Ellipse2D.Double(x, y, width, height));
+    }
+
+    @Override
+    public void drawArc(int x, int y, int width, int height, int startAngle,
+            int arcAngle) {
+        draw(new Arc2D.Double(x, y, width, height, startAngle, arcAngle,
+                Arc2D.OPEN));
+    }
+
+    @Override
+    public void fillArc(int x, int y, int width, int height, int startAngle,
+            int arcAngle) {
+        fill(new Arc2D.Double(x, y, width, height, startAngle, arcAngle,
+                Arc2D.PIE));
+    }
+
+    @Override
+    public void drawPolyline(int[] xPoints, int[] yPoints, int nPoints) {
+        if (nPoints < 2) {
+            return;
+        }
+        Path2D path = new Path2D.Double();
+        path.moveTo(xPoints[0], yPoints[0]);
+        for (int i = 1; i < nPoints; i++) {
+            path.lineTo(xPoints[i], yPoints[i]);
+        }
+        draw(path);
+    }
+
+    @Override
+    public void drawPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+        draw(new Polygon(xPoints, yPoints, nPoints));
+    }
+
+    @Override
+    public void fillPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+        fill(new Polygon(xPoints, yPoints, nPoints));
+    }
+
+    @Override
+    public void drawString(String str, int x, int y) {
+        drawString(str, (float) x, (float) y);
+    }
+
+    @Override
+    public void drawString(String str, float x, float y) {
+        Args.nullNotPermitted(str, "str");
+        if (str.isEmpty() || isClippedOut()) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder("<text class=\"");
+        sb.append(textClass()).append('"').append(transformAttr());
+        sb.append(" x=\"");
+        appendNumber(sb, x, 2);
+        sb.append("\" y=\"");
+        appendNumber(sb, y, 2);
+        sb.append("\">");
+        appendEscaped(sb, str);
+        sb.append("</text>\n");
+        writeElement(sb.toString());
+    }
+
+    @Override
+    public void drawString(AttributedCharacterIterator iterator, int x,
+            int y) {
+        drawString(iterator, (float) x, (float) y);
+    }
+
+    /**
+     * Draws an attributed string (as outlines, via
+     * {@link #drawGlyphVector(GlyphVector, float, float)}).
+     *
+     * @param iterator  the string.
+     * @param x  the x-coordinate.
+     * @param y  the y-coordinate.
+     */
+    @Override
+    public void drawString(AttributedCharacterIterator iterator, float x,
+            float y) {
+        TextLayout layout = new TextLayout(iterator, getFontRenderContext());
+        layout.draw(this, x, y);
+    }
+
+    @Override
+    public void drawGlyphVector(GlyphVector g, float x, float y) {
+        fill(g.getOutline(x, y));
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y,
+            ImageObserver observer) {
+        BufferedImage image = toBufferedImage(img, observer);
+        if (image == null) {
+            return false;
+        }
+        writeImage(image, x, y, image.getWidth(), image.getHeight());
+        return true;
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, int width, int height,
+            ImageObserver observer) {
+        BufferedImage image = toBufferedImage(img, observer);
+        if (image == null) {
+            return false;
+        }
+        writeImage(image, x, y, width, height);
+        return true;
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, Color bgcolor,
+            ImageObserver observer) {
+        BufferedImage image = toBufferedImage(img, observer);
+        if (image == null) {
+            return false;
+        }
+        return drawImage(image, x, y, image.getWidth(), image.getHeight(),
+                bgcolor, observer);
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, int width, int height,
+            Color bgcolor, ImageObserver observer) {
+        if (bgcolor != null) {
+            Paint saved = this.paint;
+            Color savedColor = this.color;
+            setPaint(bgcolor);
+            fillRect(x, y, width, height);
+            setPaint(saved);
+            this.color = savedColor;
+        }
+        return drawImage(img, x, y, width, height, observer);
+    }
+
+    @Override
+    public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2,
+            int sx1, int sy1, int sx2, int sy2, ImageObserver observer) {
+        BufferedImage image = toBufferedImage(img, observer);
+        if (image == null) {
+            return false;
+        }
+        int sx = Math.max(Math.min(sx1, sx2), 0);
+        int sy = Math.max(Math.min(sy1, sy2), 0);
+        int sw = Math.min(Math.abs(sx2 - sx1), image.getWidth() - sx);
+        int sh = Math.min(Math.abs(sy2 - sy1), image.getHeight() - sy);
+        if (sw <= 0 || sh <= 0) {
+            return true;
+        }
+        writeImage(image.getSubimage(sx, sy, sw, sh), Math.min(dx1, dx2),
+                Math.min(dy1, dy2), Math.abs(dx2 - dx1),
+                Math.abs(dy2 - dy1));
+        return true;
+    }
+
+    @Override
+    public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2,
+            int sx1, int sy1, int sx2, int sy2, Color bgcolor,
+            ImageObserver observer) {
+        if (bgcolor != null) {
+            Paint saved = this.paint;
+            Color savedColor = this.color;
+            setPaint(bgcolor);
+            fillRect(Math.min(dx1, dx2), Math.min(dy1, dy2),
+                    Math.abs(dx2 - dx1), Math.abs(dy2 - dy1));
+            setPaint(saved);
+            this.color = savedColor;
+        }
+        return drawImage(img, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2,
+                observer);
+    }
+
+    @Override
+    public boolean drawImage(Image img, AffineTransform xform,
+            ImageObserver obs) {
+        AffineTransform saved = getTransform();
+        if (xform != null) {
+            transform(xform);
+        }
+        boolean result = drawImage(img, 0, 0, obs);
+        setTransform(saved);
+        return result;
+    }
+
+    @Override
+    public void drawImage(BufferedImage img, BufferedImageOp op, int x,
+            int y) {
+        BufferedImage image = (op == null) ? img : op.filter(img, null);
+        drawImage(image, x, y, null);
+    }
+
+    @Override
+    public void drawRenderedImage(RenderedImage img, AffineTransform xform) {
+        BufferedImage image;
+        if (img instanceof BufferedImage) {
+            image = (BufferedImage) img;
+        } else {
+            ColorModel cm = img.getColorModel();
+            WritableRaster raster = cm.createCompatibleWritableRaster(
+                    img.getWidth(), img.getHeight());
+            img.copyData(raster);
+            image = new BufferedImage(cm, raster, cm.isAlphaPremultiplied(),
+                    null);
+        }
+        drawImage(image, xform, null);
+    }
+
+    @Override
+    public void drawRenderableImage(RenderableImage img,
+            AffineTransform xform) {
+        drawRenderedImage(img.createDefaultRendering(), xform);
+    }
+
+    /**
+     * Does nothing (copying an area is not supported).
+     *
+     * @param x  ignored.
+     * @param y  ignored.
+     * @param width  ignored.
+     * @param height  ignored.
+     * @param dx  ignored.
+     * @param dy  ignored.
+     */
+    @Override
+    public void copyArea(int x, int y, int width, int height, int dx,
+            int dy) {
+        // not supported
+    }
+
+    /**
+     * Returns an image (drawing {@code img} into a new image if it is not
+     * already a {@code BufferedImage}).
+     *
+     * @param img  the image.
+     * @param observer  the image observer.
+     *
+     * @return The image, or {@code null} if the image is not available yet.
+     */
+    private static BufferedImage toBufferedImage(Image img,
+            ImageObserver observer) {
+        if (img instanceof BufferedImage) {
+            return (BufferedImage) img;
+        }
+        int w = img.getWidth(observer);
+        int h = img.getHeight(observer);
+        if (w <= 0 || h <= 0) {
+            return null;
+        }
+        BufferedImage image = new BufferedImage(w, h,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        g2.drawImage(img, 0, 0, observer);
+        g2.dispose();
+        return image;
+    }
+
+    /**
+     * Writes an image element containing the image in PNG format.
+     *
+     * @param image  the image.
+     * @param x  the x-coordinate.
+     * @param y  the y-coordinate.
+     * @param w  the width.
+     * @param h  the height.
+     */
+    private void writeImage(BufferedImage image, double x, double y,
+            double w, double h) {
+        if (w <= 0.0 || h <= 0.0 || isClippedOut()) {
+            return;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "png", bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        StringBuilder sb = new StringBuilder("<image");
+        String opacity = opacityStyle();
+        if (!opacity.isEmpty()) {
+            sb.append(" style=\"").append(opacity, 1, opacity.length());
+            sb.append('"');
+        }
+        sb.append(transformAttr()).append(" x=\"");
+        appendNumber(sb, x, 2);
+        sb.append("\" y=\"");
+        appendNumber(sb, y, 2);
+        sb.append("\" width=\"");
+        appendNumber(sb, w, 2);
+        sb.append("\" height=\"");
+        appendNumber(sb, h, 2);
+        sb.append("\" preserveAspectRatio=\"none\" ");
+        sb.append("xlink:href=\"data:image/png;base64,");
+        sb.append(Base64.getEncoder().encodeToString(bytes.toByteArray()));
+        sb.append("\"/>\n");
+        writeElement(sb.toString());
+    }
+
+    /**
+     * Writes an element (inside a group for the current clip).
+     *
+     * @param element  the element.
+     */
+    private void writeElement(String element) {
+        this.document.element(clipId(), element);
+    }
+
+    /**
+     * Returns {@code true} if the current clip is empty, so that nothing
+     * will be visible.
+     *
+     * @return A boolean.
+     */
+    private boolean isClippedOut() {
+        return this.clip instanceof Rectangle2D
+                && ((Rectangle2D) this.clip).isEmpty();
+    }
+
+    /**
+     * Clears the cached style classes (called when the paint, stroke,
+     * composite or rendering hints change).
+     */
+    private void invalidateStyles() {
+        this.strokeClass = null;
+        this.fillClass[0] = null;
+        this.fillClass[1] = null;
+        this.textClass = null;
+        this.linePrefix = null;
+    }
+
+    /**
+     * Clears the cached transform attribute.
+     */
+    private void invalidateTransform() {
+        this.transformAttr = null;
+        this.linePrefix = null;
+    }
+
+    /**
+     * Returns the transform attribute (with a leading space) for the current
+     * transform, or an empty string for the identity transform.
+     *
+     * @return The attribute (never {@code null}).
+     */
+    private String transformAttr() {
+        if (this.transformAttr == null) {
+            AffineTransform t = this.transform;
+            StringBuilder sb = new StringBuilder();
+            if (t.isIdentity()) {
+                // no attribute
+            } else if (t.getType() == AffineTransform.TYPE_TRANSLATION) {
+                sb.append(" transform=\"translate(");
+                appendNumber(sb, t.getTranslateX(), 2);
+                sb.append(' ');
+                appendNumber(sb, t.getTranslateY(), 2);
+                sb.append(")\"");
+            } else {
+                sb.append(" transform=\"matrix(");
+                appendNumber(sb, t.getScaleX(), 4);
+                sb.append(' ');
+                appendNumber(sb, t.getShearY(), 4);
+                sb.append(' ');
+                appendNumber(sb, t.getShearX(), 4);
+                sb.append(' ');
+                appendNumber(sb, t.getScaleY(), 4);
+                sb.append(' ');
+                appendNumber(sb, t.getTranslateX(), 2);
+                sb.append(' ');
+                appendNumber(sb, t.getTranslateY(), 2);
+                sb.append(")\"");
+            }
+            this.transformAttr = sb.toString();
+        }
+        return this.transformAttr;
+    }
+
+    /**
+     * Returns the id of the clip path for the current clip (writing the
+     * definition the first time the clip is used).
+     *
+     * @return The id ({@code null} if there is no clip).
+     */
+    private String clipId() {
+        if (!this.clipIdValid) {
+            if (this.clip == null) {
+                this.clipId = null;
+            } else {
+                StringBuilder sb = new StringBuilder();
+                if (this.clip instanceof Rectangle2D) {
+                    Rectangle2D r = (Rectangle2D) this.clip;
+                    sb.append("<rect x=\"");
+                    appendNumber(sb, r.getX(), 2);
+                    sb.append("\" y=\"");
+                    appendNumber(sb, r.getY(), 2);
+                    sb.append("\" width=\"");
+                    appendNumber(sb, r.getWidth(), 2);
+                    sb.append("\" height=\"");
+                    appendNumber(sb, r.getHeight(), 2);
+                    sb.append("\"/>");
+                } else {
+                    sb.append("<path d=\"");
+                    appendPathData(sb, this.clip);
+                    sb.append("\"/>");
+                }
+                this.clipId = this.document.clipId(sb.toString());
+            }
+            this.clipIdValid = true;
+        }
+        return this.clipId;
+    }
+
+    /**
+     * Returns the style class for drawing with the current paint and stroke.
+     *
+     * @return The class name.
+     */
+    private String strokeClass() {
+        if (this.strokeClass == null) {
+            StringBuilder sb = new StringBuilder("fill:none;");
+            sb.append(paintStyle("stroke"));
+            BasicStroke bs = (BasicStroke) this.stroke;
+            if (bs.getLineWidth() > 0.0f) {
+                sb.append(";stroke-width:");
+                appendNumber(sb, bs.getLineWidth(), 2);
+            } else {
+                // the thinnest line possible, as for Java2D
+                sb.append(";stroke-width:1;vector-effect:non-scaling-stroke");
+            }
+            if (bs.getEndCap() == BasicStroke.CAP_ROUND) {
+                sb.append(";stroke-linecap:round");
+            } else if (bs.getEndCap() == BasicStroke.CAP_SQUARE) {
+                sb.append(";stroke-linecap:square");
+            }
+            if (bs.getLineJoin() == BasicStroke.JOIN_ROUND) {
+                sb.append(";stroke-linejoin:round");
+            } else if (bs.getLineJoin() == BasicStroke.JOIN_BEVEL) {
+                sb.append(";stroke-linejoin:bevel");
+            } else if (bs.getMiterLimit() != 4.0f) {
+                sb.append(";stroke-miterlimit:");
+                appendNumber(sb, bs.getMiterLimit(), 2);
+            }
+            float[] dashes = bs.getDashArray();
+            if (dashes != null && dashes.length > 0) {
+                sb.append(";stroke-dasharray:");
+                for (int i = 0; i < dashes.length; i++) {
+                    if (i > 0) {
+                        sb.append(',');
+                    }
+                    appendNumber(sb, dashes[i], 2);
+                }
+                if (bs.getDashPhase() != 0.0f) {
+                    sb.append(";stroke-dashoffset:");
+                    appendNumber(sb, bs.getDashPhase(), 2);
+                }
+            }
+            sb.append(opacityStyle()).append(renderingStyle());
+            this.strokeClass = this.document.styleClass(sb.toString());
+        }
+        return this.strokeClass;
+    }
+
+    /**
+     * Returns the style class for filling with the current paint.
+     *
+     * @param evenOdd  use the even-odd fill rule?
+     *
+     * @return The class name.
+     */
+    private String fillClass(boolean evenOdd) {
+        int i = evenOdd ? 1 : 0;
+        if (this.fillClass[i] == null) {
+            StringBuilder sb = new StringBuilder(paintStyle("fill"));
+            if (evenOdd) {
+                sb.append(";fill-rule:evenodd");
+            }
+            sb.append(opacityStyle()).append(renderingStyle());
+            this.fillClass[i] = this.document.styleClass(sb.toString());
+        }
+        return this.fillClass[i];
+    }
+
+    /**
+     * Returns the style class for text with the current paint and font.
+     *
+     * @return The class name.
+     */
+    private String textClass() {
+        if (this.textClass == null) {
+            StringBuilder sb = new StringBuilder(paintStyle("fill"));
+            sb.append(";font-family:");
+            String family = this.font.getFamily();
+            if (Font.SANS_SERIF.equals(family) || Font.DIALOG.equals(family)) {
+                sb.append("sans-serif");
+            } else if (Font.SERIF.equals(family)) {
+                sb.append("serif");
+            } else if (Font.MONOSPACED.equals(family)
+                    || Font.DIALOG_INPUT.equals(family)) {
+                sb.append("monospace");
+            } else {
+                sb.append('\'').append(family.replaceAll("['\"<&]", ""));
+                sb.append('\'');
+            }
+            sb.append(";font-size:");
+            appendNumber(sb, this.font.getSize2D(), 2);
+            sb.append("px");
+            if (this.font.isBold()) {
+                sb.append(";font-weight:bold");
+            }
+            if (this.font.isItalic()) {
+                sb.append(";font-style:italic");
+            }
+            sb.append(";white-space:pre").append(opacityStyle());
+            this.textClass = this.document.styleClass(sb.toString());
+        }
+        return this.textClass;
+    }
+
+    /**
+     * Returns the CSS declaration(s) that apply the current paint to the
+     * specified property ("fill" or "stroke").
+     *
+     * @param property  the property.
+     *
+     * @return The declarations.
+     */
+    private String paintStyle(String property) {
+        if (this.paint instanceof Color) {
+            Color c = (Color) this.paint;
+            StringBuilder sb = new StringBuilder(property).append(':');
+            appendColor(sb, c);
+            if (c.getAlpha() < 255) {
+                sb.append(';').append(property).append("-opacity:");
+                appendNumber(sb, c.getAlpha() / 255.0, 3);
+            }
+            return sb.toString();
+        }
+        String def = gradientDef(this.paint);
+        if (def == null) {
+            return property + ":#000000";
+        }
+        return property + ":url(#" + this.document.paintId(def) + ")";
+    }
+
+    /**
+     * Returns the CSS declaration (with a leading semicolon) for the
+     * opacity of the current composite, or an empty string if the
+     * composite is opaque.
+     *
+     * @return The declaration.
+     */
+    private String opacityStyle() {
+        if (this.composite instanceof AlphaComposite) {
+            float alpha = ((AlphaComposite) this.composite).getAlpha();
+            if (alpha < 1.0f) {
+                StringBuilder sb = new StringBuilder(";opacity:");
+                appendNumber(sb, alpha, 3);
+                return sb.toString();
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Returns the CSS declaration (with a leading semicolon) for the
+     * antialiasing rendering hint, or an empty string.
+     *
+     * @return The declaration.
+     */
+    private String renderingStyle() {
+        if (this.hints.get(RenderingHints.KEY_ANTIALIASING)
+                == RenderingHints.VALUE_ANTIALIAS_OFF) {
+            return ";shape-rendering:crispEdges";
+        }
+        return "";
+    }
+
+    /**
+     * Returns the definition of a gradient paint, without the id
+     * attribute, or {@code null} if the paint is not a gradient.
+     *
+     * @param paint  the paint.
+     *
+     * @return The definition (possibly {@code null}).
+     */
+    private static String gradientDef(Paint paint) {
+        StringBuilder sb = new StringBuilder();
+        if (paint instanceof GradientPaint) {
+            GradientPaint gp = (GradientPaint) paint;
+            sb.append("linearGradient");
+            appendPoints(sb, gp.getPoint1(), gp.getPoint2());
+            if (gp.isCyclic()) {
+                sb.append(" spreadMethod=\"reflect\"");
+            }
+            sb.append('>');
+            appendStop(sb, 0.0f, gp.getColor1());
+            appendStop(sb, 1.0f, gp.getColor2());
+            sb.append("</linearGradient>");
+        } else if (paint instanceof LinearGradientPaint) {
+            LinearGradientPaint lgp = (LinearGradientPaint) paint;
+            sb.append("linearGradient");
+            appendPoints(sb, lgp.getStartPoint(), lgp.getEndPoint());
+            appendMultipleGradient(sb, lgp);
+            sb.append("</linearGradient>");
+        } else if (paint instanceof RadialGradientPaint) {
+            RadialGradientPaint rgp = (RadialGradientPaint) paint;
+            sb.append("radialGradient gradientUnits=\"userSpaceOnUse\"");
+            sb.append(" cx=\"");
+            appendNumber(sb, rgp.getCenterPoint().getX(), 2);
+            sb.append("\" cy=\"");
+            appendNumber(sb, rgp.getCenterPoint().getY(), 2);
+            sb.append("\" r=\"");
+            appendNumber(sb, rgp.getRadius(), 2);
+            sb.append("\" fx=\"");
+            appendNumber(sb, rgp.getFocusPoint().getX(), 2);
+            sb.append("\" fy=\"");
+            appendNumber(sb, rgp.getFocusPoint().getY(), 2);
+            sb.append('"');
+            appendMultipleGradient(sb, rgp);
+            sb.append("</radialGradient>");
+        } else {
+            return null;
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Appends the user space attributes for a linear gradient.
+     *
+     * @param sb  the string builder.
+     * @param p1  the start point.
+     * @param p2  the end point.
+     */
+    private static void appendPoints(StringBuilder sb, Point2D p1,
+            Point2D p2) {
+        sb.append(" gradientUnits=\"userSpaceOnUse\" x1=\"");
+        appendNumber(sb, p1.getX(), 2);
+        sb.append("\" y1=\"");
+        appendNumber(sb, p1.getY(), 2);
+        sb.append("\" x2=\"");
+        appendNumber(sb, p2.getX(), 2);
+        sb.append("\" y2=\"");
+        appendNumber(sb, p2.getY(), 2);
+        sb.append('"');
+    }
+
+    /**
+     * Appends the spread method, transform and stops for a multiple
+     * gradient paint (and closes the start tag).
+     *
+     * @param sb  the string builder.
+     * @param paint  the paint.
+     */
+    private static void appendMultipleGradient(StringBuilder sb,
+            MultipleGradientPaint paint) {
+        if (paint.getCycleMethod() == MultipleGradientPaint.CycleMethod.REFLECT) {
+            sb.append(" spreadMethod=\"reflect\"");
+        } else if (paint.getCycleMethod()
+                == MultipleGradientPaint.CycleMethod.REPEAT) {
+            sb.append(" spreadMethod=\"repeat\"");
+        }
+        AffineTransform t = paint.getTransform();
+        if (!t.isIdentity()) {
+            sb.append(" gradientTransform=\"matrix(");
+            appendNumber(sb, t.getScaleX(), 4);
+            sb.append(' ');
+            appendNumber(sb, t.getShearY(), 4);
+            sb.append(' ');
+            appendNumber(sb, t.getShearX(), 4);
+            sb.append(' ');
+            appendNumber(sb, t.getScaleY(), 4);
+            sb.append(' ');
+            appendNumber(sb, t.getTranslateX(), 2);
+            sb.append(' ');
+            appendNumber(sb, t.getTranslateY(), 2);
+            sb.append(")\"");
+        }
+        sb.append('>');
+        float[] fractions = paint.getFractions();
+        Color[] colors = paint.getColors();
+        for (int i = 0; i < fractions.length; i++) {
+            appendStop(sb, fractions[i], colors[i]);
+        }
+    }
+
+    /**
+     * Appends a gradient stop element.
+     *
+     * @param sb  the string builder.
+     * @param offset  the offset (in the range 0 to 1).
+     * @param c  the color.
+     */
+    private static void appendStop(StringBuilder sb, float offset, Color c) {
+        sb.append("<stop offset=\"");
+        appendNumber(sb, offset, 4);
+        sb.append("\" stop-color=\"");
+        appendColor(sb, c);
+        sb.append('"');
+        if (c.getAlpha() < 255) {
+            sb.append(" stop-opacity=\"");
+            appendNumber(sb, c.getAlpha() / 255.0, 3);
+            sb.append('"');
+        }
+        sb.append("/>");
+    }
+
+    /**
+     * Appends a color in the form {@code #rrggbb}.
+     *
+     * @param sb  the string builder.
+     * @param c  the color.
+     */
+    private static void appendColor(StringBuilder sb, Color c) {
+        String hex = Integer.toHexString(c.getRGB() & 0xFFFFFF);
+        sb.append('#');
+        for (int i = hex.length(); i < 6; i++) {
+            sb.append('0');
+        }
+        sb.append(hex);
+    }
+
+    /**
+     * Returns a shape transformed by {@code t}, preserving rectangles when
+     * the transform has no rotation or shear.
+     *
+     * @param t  the transform.
+     * @param s  the shape.
+     *
+     * @return The transformed shape.
+     */
+    private static Shape transformShape(AffineTransform t, Shape s) {
+        if (s instanceof Rectangle2D && (t.getType()
+                & (AffineTransform.TYPE_GENERAL_ROTATION
+                | AffineTransform.TYPE_QUADRANT_ROTATION
+                | AffineTransform.TYPE_GENERAL_TRANSFORM)) == 0) {
+            Rectangle2D r = (Rectangle2D) s;
+            double[] pts = {r.getMinX(), r.getMinY(), r.getMaxX(),
+                    r.getMaxY()};
+            t.transform(pts, 0, pts, 0, 2);
+            return new Rectangle2D.Double(Math.min(pts[0], pts[2]),
+                    Math.min(pts[1], pts[3]), Math.abs(pts[2] - pts[0]),
+                    Math.abs(pts[3] - pts[1]));
+        }
+        return t.createTransformedShape(s);
+    }
+
+    /**
+     * Appends the path data for a shape.
+     *
+     * @param sb  the string builder.
+     * @param s  the shape.
+     */
+    private static void appendPathData(StringBuilder sb, Shape s) {
+        appendPathData(sb, s.getPathIterator(null));
+    }
+
+    /**
+     * Appends the path data for a path iterator.
+     *
+     * @param sb  the string builder.
+     * @param pi  the path iterator.
+     */
+    private static void appendPathData(StringBuilder sb, PathIterator pi) {
+        double[] c = new double[6];
+        while (!pi.isDone()) {
+            int type = pi.currentSegment(c);
+            int points;
+            switch (type) {
+                case PathIterator.SEG_MOVETO:
+                    sb.append('M');
+                    points = 1;
+                    break;
+                case PathIterator.SEG_LINETO:
+                    sb.append('L');
+                    points = 1;
+                    break;
+                case PathIterator.SEG_QUADTO:
+                    sb.append('Q');
+                    points = 2;
+                    break;
+                case PathIterator.SEG_CUBICTO:
+                    sb.append('C');
+                    points = 3;
+                    break;
+                default:
+                    sb.append('Z');
+                    points = 0;
+            }
+            for (int i = 0; i < points * 2; i++) {
+                if (i > 0) {
+                    sb.append(' ');
+                }
+                appendNumber(sb, c[i], 2);
+            }
+            pi.next();
+        }
+    }
+
+    /**
+     * Appends a number rounded to the specified number of decimal places,
+     * without trailing zeros.
+     *
+     * @param sb  the string builder.
+     * @param value  the value.
+     * @param dp  the number of decimal places (0 to 4).
+     */
+    static void appendNumber(StringBuilder sb, double value, int dp) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            sb.append('0');
+            return;
+        }
+        long scale = POW10[dp];
+        long scaled = Math.round(value * scale);
+        if (scaled < 0) {
+            sb.append('-');
+            scaled = -scaled;
+        }
+        sb.append(scaled / scale);
+        long fraction = scaled % scale;
+        if (fraction != 0) {
+            sb.append('.');
+            for (long f = scale / 10; fraction != 0; f /= 10) {
+                sb.append((char) ('0' + fraction / f));
+                fraction = fraction % f;
+            }
+        }
+    }
+
+    /**
+     * Appends a string with the XML special characters escaped.
+     *
+     * @param sb  the string builder.
+     * @param s  the string.
+     */
+    static void appendEscaped(StringBuilder sb, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '&':
+                    sb.append("&amp;");
+                    break;
+                case '<':
+                    sb.append("&lt;");
+                    break;
+                case '>':
+                    sb.append("&gt;");
+                    break;
+                case '"':
+                    sb.append("&quot;");
+                    break;
+                case '\'':
+                    sb.append("&apos;");
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+    }
+
+    /**
+     * The output state that is shared by a graphics object and those
+     * created from it: the writer, the definitions written so far, the
+     * open group elements and the pending path for coalesced lines.
+     */
+    private static final class Document {
+
+        /** The writer. */
+        private final Writer writer;
+
+        /** The style class names, keyed by CSS declarations. */
+        private final Map<String, String> styles = new HashMap<>();
+
+        /** The paint ids, keyed by definition. */
+        private final Map<String, String> paints = new HashMap<>();
+
+        /** The clip path ids, keyed by definition. */
+        private final Map<String, String> clips = new HashMap<>();
+
+        /** The id of the clip for the open clip group (or {@code null}). */
+        private String openClip;
+
+        /** The number of open element groups. */
+        private int groups;
+
+        /** The path data for the pending coalesced lines. */
+        private final StringBuilder path = new StringBuilder();
+
+        /** The start of the element for the pending path. */
+        private String pathPrefix;
+
+        /** The clip id for the pending path. */
+        private String pathClip;
+
+        /** The x-coordinate of the end of the pending path. */
+        private double pathX;
+
+        /** The y-coordinate of the end of the pending path. */
+        private double pathY;
+
+        /** A graphics object for font metrics (created on first use). */
+        private Graphics2D scratch;
+
+        /**
+         * Creates a new document.
+         *
+         * @param writer  the writer.
+         */
+        Document(Writer writer) {
+            this.writer = writer;
+        }
+
+        /**
+         * Writes a string.
+         *
+         * @param s  the string.
+         */
+        void write(CharSequence s) {
+            try {
+                this.writer.append(s);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Returns a graphics object for an in-memory image with the
+         * specified rendering hints.
+         *
+         * @param hints  the hints.
+         *
+         * @return The graphics object.
+         */
+        Graphics2D scratch(RenderingHints hints) {
+            if (this.scratch == null) {
+                this.scratch = new BufferedImage(1, 1,
+                        BufferedImage.TYPE_INT_ARGB).createGraphics();
+            }
+            this.scratch.setRenderingHints(hints);
+            return this.scratch;
+        }
+
+        /**
+         * Returns the class name for a style, writing the rule the first
+         * time the style is used.
+         *
+         * @param css  the CSS declarations.
+         *
+         * @return The class name.
+         */
+        String styleClass(String css) {
+            String name = this.styles.get(css);
+            if (name == null) {
+                name = "s" + this.styles.size();
+                this.styles.put(css, name);
+                write("<style>." + name + "{" + css + "}</style>\n");
+            }
+            return name;
+        }
+
+        /**
+         * Returns the id for a gradient paint, writing the definition the
+         * first time it is used.
+         *
+         * @param def  the definition (without the id).
+         *
+         * @return The id.
+         */
+        String paintId(String def) {
+            String id = this.paints.get(def);
+            if (id == null) {
+                id = "g" + this.paints.size();
+                this.paints.put(def, id);
+                write("<defs><" + def.replaceFirst(" ", " id=\"" + id
+                        + "\" ") + "</defs>\n");
+            }
+            return id;
+        }
+
+        /**
+         * Returns the id for a clip path, writing the definition the first
+         * time it is used.
+         *
+         * @param def  the clip shape element (in device space).
+         *
+         * @return The id.
+         */
+        String clipId(String def) {
+            String id = this.clips.get(def);
+            if (id == null) {
+                id = "c" + this.clips.size();
+                this.clips.put(def, id);
+                write("<clipPath id=\"" + id + "\">" + def + "</clipPath>\n");
+            }
+            return id;
+        }
+
+        /**
+         * Writes an element inside a group for the specified clip.
+         *
+         * @param clipId  the clip id ({@code null} permitted).
+         * @param element  the element.
+         */
+        void element(String clipId, String element) {
+            flushPath();
+            selectClip(clipId);
+            write(element);
+        }
+
+        /**
+         * Adds a line segment to the pending path, first writing the
+         * pending path if it has a different style, transform or clip.
+         *
+         * @param prefix  the start of the path element.
+         * @param clipId  the clip id ({@code null} permitted).
+         * @param x1  the x-coordinate of the start point.
+         * @param y1  the y-coordinate of the start point.
+         * @param x2  the x-coordinate of the end point.
+         * @param y2  the y-coordinate of the end point.
+         */
+        void line(String prefix, String clipId, double x1, double y1,
+                double x2, double y2) {
+            if (this.path.length() > MAX_PATH_LENGTH
+                    || !prefix.equals(this.pathPrefix)
+                    || !Objects.equals(clipId, this.pathClip)) {
+                flushPath();
+            }
+            if (this.path.length() == 0) {
+                this.pathPrefix = prefix;
+                this.pathClip = clipId;
+            }
+            if (this.path.length() == 0 || x1 != this.pathX
+                    || y1 != this.pathY) {
+                this.path.append('M');
+                appendNumber(this.path, x1, 2);
+                this.path.append(' ');
+                appendNumber(this.path, y1, 2);
+            }
+            this.path.append('L');
+            appendNumber(this.path, x2, 2);
+            this.path.append(' ');
+            appendNumber(this.path, y2, 2);
+            this.pathX = x2;
+            this.pathY = y2;
+        }
+
+        /**
+         * Writes the pending path, if there is one.
+         */
+        void flushPath() {
+            if (this.path.length() == 0) {
+                return;
+            }
+            selectClip(this.pathClip);
+            write(this.pathPrefix);
+            write(" d=\"");
+            write(this.path);
+            write("\"/>\n");
+            this.path.setLength(0);
+        }
+
+        /**
+         * Ensures that the open clip group is the one for the specified
+         * clip.
+         *
+         * @param clipId  the clip id ({@code null} permitted).
+         */
+        private void selectClip(String clipId) {
+            if (Objects.equals(clipId, this.openClip)) {
+                return;
+            }
+            if (this.openClip != null) {
+                write("</g>\n");
+            }
+            if (clipId != null) {
+                write("<g clip-path=\"url(#" + clipId + ")\">\n");
+            }
+            this.openClip = clipId;
+        }
+
+        /**
+         * Writes the start of an element group.
+         *
+         * @param id  the id ({@code null} permitted).
+         * @param ref  the reference ({@code null} permitted).
+         */
+        void beginGroup(String id, String ref) {
+            flushPath();
+            selectClip(null);
+            StringBuilder sb = new StringBuilder("<g");
+            if (id != null) {
+                sb.append(" id=\"");
+                appendEscaped(sb, id);
+                sb.append('"');
+            }
+            if (ref != null) {
+                sb.append(" data-ref=\"");
+                appendEscaped(sb, ref);
+                sb.append('"');
+            }
+            sb.append(">\n");
+            write(sb);
+            this.groups++;
+        }
+
+        /**
+         * Writes the end of an element group.
+         */
+        void endGroup() {
+            if (this.groups == 0) {
+                return;
+            }
+            flushPath();
+            selectClip(null);
+            write("</g>\n");
+            this.groups--;
+        }
+
+        /**
+         * Writes any pending output and the end of the document, then
+         * flushes the writer.
+         */
+        void finish() {
+            flushPath();
+            selectClip(null);
+            while (this.groups > 0) {
+                endGroup();
+            }
+            write("</svg>\n");
+            try {
+                this.writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,531 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------------
+ * CategoryDatasetView.java
+ * ------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.category;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.jfree.chart.api.PublicCloneable;
+import org.jfree.chart.internal.Args;
+import org.jfree.data.UnknownKeyException;
+import org.jfree.data.function.Function2D;
+import org.jfree.data.general.AbstractDataset;
+import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.general.DatasetChangeListener;
+
+/**
+ * A read-only view of a {@link CategoryDataset} that can select a subset of
+ * the rows and columns (in any order) and transform the values through a
+ * {@link Function2D}.  No data is copied: values are read from the source
+ * dataset (and transformed) on demand, and the view forwards change events
+ * from the source to its own listeners.
+ *
+ * @param <R>  the row key type.
+ * @param <C>  the column key type.
+ *
+ * @see SlidingCategoryDataset
+ */
+public class CategoryDatasetView<R extends Comparable<R>,
+        C extends Comparable<C>> extends AbstractDataset
+        implements CategoryDataset<R, C>, DatasetChangeListener,
+        PublicCloneable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -2287411532941270953L;
+
+    /** The source dataset. */
+    private CategoryDataset<R, C> source;
+
+    /** The keys for the visible rows ({@code null} for all rows). */
+    private List<R> rowKeys;
+
+    /** The keys for the visible columns ({@code null} for all columns). */
+    private List<C> columnKeys;
+
+    /** The function applied to the values ({@code null} for none). */
+    private Function2D valueFunction;
+
+    /** The source row index for each visible row (calculated on demand). */
+    private transient int[] rowMap;
+
+    /**
+     * The source column index for each visible column (calculated on
+     * demand).
+     */
+    private transient int[] columnMap;
+
+    /**
+     * The view index for each visible row key, when the visible rows are
+     * selected (calculated with the row map).
+     */
+    private transient Map<R, Integer> rowIndices;
+
+    /**
+     * The view index for each visible column key, when the visible columns
+     * are selected (calculated with the column map).
+     */
+    private transient Map<C, Integer> columnIndices;
+
+    /**
+     * Creates a new view that presents all the data in the source dataset.
+     *
+     * @param source  the source dataset ({@code null} not permitted).
+     */
+    public CategoryDatasetView(CategoryDataset<R, C> source) {
+        Args.nullNotPermitted(source, "source");
+        this.source = source;
+        this.source.addChangeListener(this);
+    }
+
+    /**
+     * Returns the source dataset.
+     *
+     * @return The source dataset (never {@code null}).
+     */
+    public CategoryDataset<R, C> getSource() {
+        return this.source;
+    }
+
+    /**
+     * Returns the keys for the rows that are visible in this view, or
+     * {@code null} if all the rows are visible.
+     *
+     * @return The row keys (possibly {@code null}).
+     *
+     * @see #setVisibleRowKeys(List)
+     */
+    public List<R> getVisibleRowKeys() {
+        return this.rowKeys == null ? null
+                : Collections.unmodifiableList(this.rowKeys);
+    }
+
+    /**
+     * Sets the keys for the rows that are visible in this view and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.  The rows are
+     * presented in the order of the keys, and keys that are not present in
+     * the source dataset are ignored.
+     *
+     * @param keys  the row keys ({@code null} for all rows).
+     *
+     * @see #getVisibleRowKeys()
+     */
+    public void setVisibleRowKeys(List<R> keys) {
+        this.rowKeys = keys == null ? null : new ArrayList<>(keys);
+        this.rowMap = null;
+        fireDatasetChanged();
+    }
+
+    /**
+     * Returns the keys for the columns that are visible in this view, or
+     * {@code null} if all the columns are visible.
+     *
+     * @return The column keys (possibly {@code null}).
+     *
+     * @see #setVisibleColumnKeys(List)
+     */
+    public List<C> getVisibleColumnKeys() {
+        return this.columnKeys == null ? null
+                : Collections.unmodifiableList(this.columnKeys);
+    }
+
+    /**
+     * Sets the keys for the columns that are visible in this view and sends
+     * a {@link DatasetChangeEvent} to all registered listeners.  The
+     * columns are presented in the order of the keys, and keys that are not
+     * present in the source dataset are ignored.
+     *
+     * @param keys  the column keys ({@code null} for all columns).
+     *
+     * @see #getVisibleColumnKeys()
+     */
+    public void setVisibleColumnKeys(List<C> keys) {
+        this.columnKeys = keys == null ? null : new ArrayList<>(keys);
+        this.columnMap = null;
+        fireDatasetChanged();
+    }
+
+    /**
+     * Returns the function that is applied to the values from the source
+     * dataset.
+     *
+     * @return The function (possibly {@code null}).
+     *
+     * @see #setValueFunction(Function2D)
+     */
+    public Function2D getValueFunction() {
+        return this.valueFunction;
+    }
+
+    /**
+     * Sets the function that is applied to the values from the source
+     * dataset and sends a {@link DatasetChangeEvent} to all registered
+     * listeners.  Missing ({@code null}) values are not transformed.
+     *
+     * @param function  the function ({@code null} to present the values
+     *     unchanged).
+     *
+     * @see #getValueFunction()
+     */
+    public void setValueFunction(Function2D function) {
+        this.valueFunction = function;
+        fireDatasetChanged();
+    }
+
+    /**
+     * Receives notification of a change to the source dataset, discards
+     * the cached row and column indices and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.
+     *
+     * @param event  the event.
+     */
+    @Override
+    public void datasetChanged(DatasetChangeEvent event) {
+        this.rowMap = null;
+        this.columnMap = null;
+        fireDatasetChanged();
+    }
+
+    /**
+     * Returns the source row index for each visible row, calculating it if
+     * necessary.
+     *
+     * @return The row map.
+     */
+    private int[] rowMap() {
+        if (this.rowMap == null) {
+            if (this.rowKeys == null) {
+                this.rowMap = identity(this.source.getRowCount());
+            }
+            else {
+                int[] map = new int[this.rowKeys.size()];
+                Map<R, Integer> indices = new HashMap<>();
+                int count = 0;
+                for (R key : this.rowKeys) {
+                    int index = this.source.getRowIndex(key);
+                    if (index >= 0) {
+                        indices.putIfAbsent(key, count);
+                        map[count++] = index;
+                    }
+                }
+                this.rowIndices = indices;
+                this.rowMap = trim(map, count);
+            }
+        }
+        return this.rowMap;
+    }
+
+    /**
+     * Returns the source column index for each visible column, calculating
+     * it if necessary.
+     *
+     * @return The column map.
+     */
+    private int[] columnMap() {
+        if (this.columnMap == null) {
+            if (this.columnKeys == null) {
+                this.columnMap = identity(this.source.getColumnCount());
+            }
+            else {
+                int[] map = new int[this.columnKeys.size()];
+                Map<C, Integer> indices = new HashMap<>();
+                int count = 0;
+                for (C key : this.columnKeys) {
+                    int index = this.source.getColumnIndex(key);
+                    if (index >= 0) {
+                        indices.putIfAbsent(key, count);
+                        map[count++] = index;
+                    }
+                }
+                this.columnIndices = indices;
+                this.columnMap = trim(map, count);
+            }
+        }
+        return this.columnMap;
+    }
+
+    /**
+     * Returns an array containing the values {@code 0} to {@code n - 1}.
+     *
+     * @param n  the array length.
+     *
+     * @return The array.
+     */
+    private static int[] identity(int n) {
+        int[] result = new int[n];
+        for (int i = 0; i < n; i++) {
+            result[i] = i;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the first {@code count} elements of an array.
+     *
+     * @param array  the array.
+     * @param count  the number of elements to keep.
+     *
+     * @return The array (the same instance if no elements are dropped).
+     */
+    private static int[] trim(int[] array, int count) {
+        if (count == array.length) {
+            return array;
+        }
+        int[] result = new int[count];
+        System.arraycopy(array, 0, result, 0, count);
+        return result;
+    }
+
+    /**
+     * Returns the number of rows in the view.
+     *
+     * @return The row count.
+     */
+    @Override
+    public int getRowCount() {
+        return rowMap().length;
+    }
+
+    /**
+     * Returns the number of columns in the view.
+     *
+     * @return The column count.
+     */
+    @Override
+    public int getColumnCount() {
+        return columnMap().length;
+    }
+
+    /**
+     * Returns the key for a row.
+     *
+     * @param row  the row index (zero-based).
+     *
+     * @return The row key.
+     */
+    @Override
+    public R getRowKey(int row) {
+        return this.source.getRowKey(rowMap()[row]);
+    }
+
+    /**
+     * Returns the index of a row key in this view.
+     *
+     * @param key  the row key.
+     *
+     * @return The row index, or {@code -1} if the row is not visible.
+     */
+    @Override
+    public int getRowIndex(R key) {
+        if (this.rowKeys == null) {
+            return this.source.getRowIndex(key);
+        }
+        rowMap();
+        Integer index = this.rowIndices.get(key);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Returns the keys for the visible rows.
+     *
+     * @return The row keys (never {@code null}).
+     */
+    @Override
+    public List<R> getRowKeys() {
+        int[] map = rowMap();
+        List<R> result = new ArrayList<>(map.length);
+        for (int r : map) {
+            result.add(this.source.getRowKey(r));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Returns the key for a column.
+     *
+     * @param column  the column index (zero-based).
+     *
+     * @return The column key.
+     */
+    @Override
+    public C getColumnKey(int column) {
+        return this.source.getColumnKey(columnMap()[column]);
+    }
+
+    /**
+     * Returns the index of a column key in this view.
+     *
+     * @param key  the column key.
+     *
+     * @return The column index, or {@code -1} if the column is not visible.
+     */
+    @Override
+    public int getColumnIndex(C key) {
+        if (this.columnKeys == null) {
+            return this.source.getColumnIndex(key);
+        }
+        columnMap();
+        Integer index = this.columnIndices.get(key);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Returns the keys for the visible columns.
+     *
+     * @return The column keys (never {@code null}).
+     */
+    @Override
+    public List<C> getColumnKeys() {
+        int[] map = columnMap();
+        List<C> result = new ArrayList<>(map.length);
+        for (int c : map) {
+            result.add(this.source.getColumnKey(c));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Returns a value from the view, after applying the value function (if
+     * there is one).
+     *
+     * @param row  the row index (zero-based).
+     * @param column  the column index (zero-based).
+     *
+     * @return The value (possibly {@code null}).
+     */
+    @Override
+    public Number getValue(int row, int column) {
+        Number value = this.source.getValue(rowMap()[row],
+                columnMap()[column]);
+        if (value == null || this.valueFunction == null) {
+            return value;
+        }
+        return this.valueFunction.getValue(value.doubleValue());
+    }
+
+    /**
+     * Returns the value for a pair of keys, after applying the value
+     * function (if there is one).
+     *
+     * @param rowKey  the row key ({@code null} not permitted).
+     * @param columnKey  the column key ({@code null} not permitted).
+     *
+     * @return The value (possibly {@code null}).
+     *
+     * @throws UnknownKeyException if either key is not visible in the view.
+     */
+    @Override
+    public Number getValue(R rowKey, C columnKey) {
+        int r = getRowIndex(rowKey);
+        if (r < 0) {
+            throw new UnknownKeyException("Unknown rowKey: " + rowKey);
+        }
+        int c = getColumnIndex(columnKey);
+        if (c < 0) {
+            throw new UnknownKeyException("Unknown columnKey: " + columnKey);
+        }
+        return getValue(r, c);
+    }
+
+    /**
+     * Tests this view for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof CategoryDatasetView)) {
+            return false;
+        }
+        CategoryDatasetView<?, ?> that = (CategoryDatasetView<?, ?>) obj;
+        if (!Objects.equals(this.source, that.source)) {
+            return false;
+        }
+        if (!Objects.equals(this.rowKeys, that.rowKeys)) {
+            return false;
+        }
+        if (!Objects.equals(this.columnKeys, that.columnKeys)) {
+            return false;
+        }
+        if (!Objects.equals(this.valueFunction, that.valueFunction)) {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 41 * hash + Objects.hashCode(this.source);
+        hash = 41 * hash + Objects.hashCode(this.rowKeys);
+        hash = 41 * hash + Objects.hashCode(this.columnKeys);
+        return hash;
+    }
+
+    /**
+     * Returns a clone of this view.  The clone shares the source dataset
+     * and is registered to receive change events from it.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        CategoryDatasetView<R, C> clone
+                = (CategoryDatasetView<R, C>) super.clone();
+        if (this.rowKeys != null) {
+            clone.rowKeys = new ArrayList<>(this.rowKeys);
+        }
+        if (this.columnKeys != null) {
+            clone.columnKeys = new ArrayList<>(this.columnKeys);
+        }
+        clone.rowMap = null;
+        clone.columnMap = null;
+        clone.source.addChangeListener(clone);
+        return clone;
+    }
+
+}
@@ -0,0 +1,298 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------------------
+ * NormalizedCategoryDataset.java
+ * ------------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.category;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.jfree.chart.api.PublicCloneable;
+import org.jfree.chart.api.TableOrder;
+import org.jfree.chart.internal.Args;
+import org.jfree.data.UnknownKeyException;
+import org.jfree.data.general.AbstractDataset;
+import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.general.DatasetChangeListener;
+
+/**
+ * A read-only view of a {@link CategoryDataset} that presents each value as
+ * a fraction of its row total ({@link TableOrder#BY_ROW}) or its column
+ * total ({@link TableOrder#BY_COLUMN}).  No data is copied: the totals are
+ * calculated once (on demand) after each change to the source dataset,
+ * and each value is then divided by its total when it is requested.  Change
+ * events from the source are forwarded to the listeners registered with
+ * this view.  Missing ({@code null}) values in the source are excluded from
+ * the totals and remain {@code null} in the view.
+ *
+ * @param <R>  the row key type.
+ * @param <C>  the column key type.
+ */
+public class NormalizedCategoryDataset<R extends Comparable<R>,
+        C extends Comparable<C>> extends AbstractDataset
+        implements CategoryDataset<R, C>, DatasetChangeListener,
+        PublicCloneable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 4930246316658710431L;
+
+    /** The source dataset. */
+    private CategoryDataset<R, C> source;
+
+    /** Normalise by row or by column total? */
+    private TableOrder order;
+
+    /** The row or column totals ({@code null} until required). */
+    private transient double[] totals;
+
+    /**
+     * Creates a new view.
+     *
+     * @param source  the source dataset ({@code null} not permitted).
+     * @param order  normalise each value by its row total
+     *     ({@link TableOrder#BY_ROW}) or its column total
+     *     ({@link TableOrder#BY_COLUMN}) ({@code null} not permitted).
+     */
+    public NormalizedCategoryDataset(CategoryDataset<R, C> source,
+            TableOrder order) {
+        Args.nullNotPermitted(source, "source");
+        Args.nullNotPermitted(order, "order");
+        this.source = source;
+        this.order = order;
+        this.source.addChangeListener(this);
+    }
+
+    /**
+     * Returns the source dataset.
+     *
+     * @return The source dataset (never {@code null}).
+     */
+    public CategoryDataset<R, C> getSource() {
+        return this.source;
+    }
+
+    /**
+     * Returns the flag that controls whether values are normalised by row
+     * or by column total.
+     *
+     * @return The order (never {@code null}).
+     */
+    public TableOrder getOrder() {
+        return this.order;
+    }
+
+    /**
+     * Receives notification of a change to the source dataset, discards
+     * the cached totals and sends a {@link DatasetChangeEvent} to all
+     * registered listeners.
+     *
+     * @param event  the event.
+     */
+    @Override
+    public void datasetChanged(DatasetChangeEvent event) {
+        this.totals = null;
+        fireDatasetChanged();
+    }
+
+    /**
+     * Returns the row or column totals, calculating them if necessary.
+     *
+     * @return The totals.
+     */
+    private double[] totals() {
+        if (this.totals == null) {
+            int rows = this.source.getRowCount();
+            int columns = this.source.getColumnCount();
+            boolean byRow = this.order == TableOrder.BY_ROW;
+            double[] result = new double[byRow ? rows : columns];
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < columns; c++) {
+                    Number n = this.source.getValue(r, c);
+                    if (n != null) {
+                        result[byRow ? r : c] += n.doubleValue();
+                    }
+                }
+            }
+            this.totals = result;
+        }
+        return this.totals;
+    }
+
+    /**
+     * Returns the total for the row (or column) containing a value.
+     *
+     * @param row  the row index.
+     * @param column  the column index.
+     *
+     * @return The total.
+     */
+    public double getTotal(int row, int column) {
+        return totals()[this.order == TableOrder.BY_ROW ? row : column];
+    }
+
+    @Override
+    public int getRowCount() {
+        return this.source.getRowCount();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return this.source.getColumnCount();
+    }
+
+    @Override
+    public R getRowKey(int row) {
+        return this.source.getRowKey(row);
+    }
+
+    @Override
+    public int getRowIndex(R key) {
+        return this.source.getRowIndex(key);
+    }
+
+    @Override
+    public List<R> getRowKeys() {
+        return this.source.getRowKeys();
+    }
+
+    @Override
+    public C getColumnKey(int column) {
+        return this.source.getColumnKey(column);
+    }
+
+    @Override
+    public int getColumnIndex(C key) {
+        return this.source.getColumnIndex(key);
+    }
+
+    @Override
+    public List<C> getColumnKeys() {
+        return this.source.getColumnKeys();
+    }
+
+    /**
+     * Returns a value as a fraction of its row or column total.  If the
+     * total is zero, the result is {@code Double.NaN}.
+     *
+     * @param row  the row index (zero-based).
+     * @param column  the column index (zero-based).
+     *
+     * @return The value (possibly {@code null}).
+     */
+    @Override
+    public Number getValue(int row, int column) {
+        Number value = this.source.getValue(row, column);
+        if (value == null) {
+            return null;
+        }
+        double total = getTotal(row, column);
+        return total == 0.0 ? Double.NaN : value.doubleValue() / total;
+    }
+
+    /**
+     * Returns a value as a fraction of its row or column total.
+     *
+     * @param rowKey  the row key ({@code null} not permitted).
+     * @param columnKey  the column key ({@code null} not permitted).
+     *
+     * @return The value (possibly {@code null}).
+     *
+     * @throws UnknownKeyException if either key is not recognised.
+     */
+    @Override
+    public Number getValue(R rowKey, C columnKey) {
+        int r = getRowIndex(rowKey);
+        if (r < 0) {
+            throw new UnknownKeyException("Unknown rowKey: " + rowKey);
+        }
+        int c = getColumnIndex(columnKey);
+        if (c < 0) {
+            throw new UnknownKeyException("Unknown columnKey: " + columnKey);
+        }
+        return getValue(r, c);
+    }
+
+    /**
+     * Tests this view for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof NormalizedCategoryDataset)) {
+            return false;
+        }
+        NormalizedCategoryDataset<?, ?> that
+                = (NormalizedCategoryDataset<?, ?>) obj;
+        if (!Objects.equals(this.source, that.source)) {
+            return false;
+        }
+        if (this.order != that.order) {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 3;
+        hash = 37 * hash + Objects.hashCode(this.source);
+        hash = 37 * hash + this.order.hashCode();
+        return hash;
+    }
+
+    /**
+     * Returns a clone of this view.  The clone shares the source dataset
+     * and is registered to receive change events from it.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        NormalizedCategoryDataset<R, C> clone
+                = (NormalizedCategoryDataset<R, C>) super.clone();
+        clone.totals = null;
+        clone.source.addChangeListener(clone);
+        return clone;
+    }
+
+}
@@ -36,6 +36,8 @@
 
 package org.jfree.data.flow;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -52,6 +54,13 @@ import org.jfree.data.general.AbstractDataset;
 
 /**
  * A dataset representing flows between source and destination nodes.
+ * <p>
+ * The dataset maintains an index of the inbound and outbound flows for each
+ * node, together with the node totals, and updates it incrementally as
+ * flows are added.  As a result, finding the flows for a node (and the
+ * total inflow and outflow used to size the node in a {@code FlowPlot})
+ * costs time proportional to the number of flows for that node rather than
+ * the number of flows in the dataset.
  * 
  * @param <K> the type for the keys used to identify sources and destinations 
  *     (instances should be immutable, {@code String} is a good default choice).
@@ -77,6 +86,13 @@ public class DefaultFlowDataset<K extends Comparable<K>> extends AbstractDataset
     /** Flow properties. */
     private Map<FlowKey, Map<String, Object>> flowProperties;
 
+    /**
+     * The index of the nodes at each stage (with the same layout as the
+     * {@code nodes} list).  This is derived from the nodes and flows, so it
+     * is rebuilt rather than serialized.
+     */
+    private transient List<Map<K, Node<K>>> index;
+
     /**
      * Creates a new dataset that is initially empty.
      */
@@ -87,6 +103,9 @@ public class DefaultFlowDataset<K extends Comparable<K>> extends AbstractDataset
         this.nodeProperties = new HashMap<>();
         this.flows = new HashMap<>();
         this.flowProperties = new HashMap<>();
+        this.index = new ArrayList<>();
+        this.index.add(new HashMap<>());
+        this.index.add(new HashMap<>());
     }
 
     /**
@@ -197,17 +216,209 @@ public class DefaultFlowDataset<K extends Comparable<K>> extends AbstractDataset
         Args.nullNotPermitted(destination, "destination");
         if (stage > this.nodes.size() - 2) {
             this.nodes.add(new ArrayList<>());
+            this.index.add(new HashMap<>());
         }
-        if (!getSources(stage).contains(source)) {
-            this.nodes.get(stage).add(source);
-        }
-        if (!getDestinations(stage).contains(destination)) {
-            this.nodes.get(stage + 1).add(destination);
+        Node<K> sourceNode = node(stage, source);
+        Node<K> destinationNode = node(stage + 1, destination);
+        Number old = this.flows.put(new FlowKey<>(stage, source, destination),
+                flow);
+        if (old == null) {
+            insert(sourceNode.out, destinationNode);
+            insert(destinationNode.in, sourceNode);
+            sourceNode.outflow += flow;
+            destinationNode.inflow += flow;
+        } else {
+            sourceNode.outflow = total(stage, sourceNode, true);
+            destinationNode.inflow = total(stage, destinationNode, false);
         }
-        this.flows.put(new FlowKey<>(stage, source, destination), flow);
         fireDatasetChanged();
     }
 
+    /**
+     * Returns the index entry for a node, adding the node to the dataset if
+     * it is not already present.
+     *
+     * @param stage  the stage for the node (0 to {@code getStageCount()}).
+     * @param key  the node key.
+     *
+     * @return The index entry.
+     */
+    private Node<K> node(int stage, K key) {
+        Map<K, Node<K>> stageIndex = this.index.get(stage);
+        Node<K> result = stageIndex.get(key);
+        if (result == null) {
+            List<K> stageNodes = this.nodes.get(stage);
+            result = new Node<>(key, stageNodes.size());
+            stageNodes.add(key);
+            stageIndex.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Inserts a node into an adjacency list, which is kept in the same order
+     * as the nodes for the stage.
+     *
+     * @param list  the adjacency list.
+     * @param node  the node.
+     */
+    private static <K> void insert(List<Node<K>> list, Node<K> node) {
+        int low = 0;
+        int high = list.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (list.get(mid).position < node.position) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        list.add(low, node);
+    }
+
+    /**
+     * Recalculates the total outflow (or inflow) for a node from its
+     * adjacency list.
+     *
+     * @param stage  the stage for the flows.
+     * @param node  the node.
+     * @param outflow  calculate the outflow ({@code true}) or the inflow
+     *     ({@code false})?
+     *
+     * @return The total.
+     */
+    private double total(int stage, Node<K> node, boolean outflow) {
+        double result = 0.0;
+        for (Node<K> other : outflow ? node.out : node.in) {
+            FlowKey<K> key = outflow ? new FlowKey<>(stage, node.key, other.key)
+                    : new FlowKey<>(stage, other.key, node.key);
+            result += this.flows.get(key).doubleValue();
+        }
+        return result;
+    }
+
+    /**
+     * Rebuilds the node index from the nodes and flows.
+     */
+    private void rebuildIndex() {
+        this.index = new ArrayList<>(this.nodes.size());
+        for (List<K> stageNodes : this.nodes) {
+            Map<K, Node<K>> stageIndex = new HashMap<>();
+            for (int i = 0; i < stageNodes.size(); i++) {
+                K key = stageNodes.get(i);
+                stageIndex.put(key, new Node<>(key, i));
+            }
+            this.index.add(stageIndex);
+        }
+        for (Map.Entry<FlowKey<K>, Number> entry : this.flows.entrySet()) {
+            FlowKey<K> key = entry.getKey();
+            Node<K> source = this.index.get(key.getStage()).get(
+                    key.getSource());
+            Node<K> destination = this.index.get(key.getStage() + 1).get(
+                    key.getDestination());
+            insert(source.out, destination);
+            insert(destination.in, source);
+        }
+        for (int stage = 0; stage < this.index.size(); stage++) {
+            for (Node<K> node : this.index.get(stage).values()) {
+                if (stage < this.index.size() - 1) {
+                    node.outflow = total(stage, node, true);
+                }
+                if (stage > 0) {
+                    node.inflow = total(stage - 1, node, false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the destination nodes that have a flow from the specified
+     * source node, in the same order as {@link #getDestinations(int)}.
+     *
+     * @param stage  the stage (0 to {@code getStageCount() - 1}).
+     * @param source  the source node ({@code null} not permitted).
+     *
+     * @return A list of destination nodes (possibly empty but never
+     *     {@code null}).
+     *
+     * @since 2.0
+     */
+    public List<K> getDestinations(int stage, K source) {
+        Args.nullNotPermitted(source, "source");
+        Node<K> node = this.index.get(stage).get(source);
+        if (node == null) {
+            return new ArrayList<>();
+        }
+        List<K> result = new ArrayList<>(node.out.size());
+        for (Node<K> destination : node.out) {
+            result.add(destination.key);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the source nodes that have a flow to the specified
+     * destination node, in the same order as {@link #getSources(int)}.
+     *
+     * @param stage  the stage (0 to {@code getStageCount() - 1}).
+     * @param destination  the destination node ({@code null} not permitted).
+     *
+     * @return A list of source nodes (possibly empty but never
+     *     {@code null}).
+     *
+     * @since 2.0
+     */
+    public List<K> getSources(int stage, K destination) {
+        Args.nullNotPermitted(destination, "destination");
+        Node<K> node = this.index.get(stage + 1).get(destination);
+        if (node == null) {
+            return new ArrayList<>();
+        }
+        List<K> result = new ArrayList<>(node.in.size());
+        for (Node<K> source : node.in) {
+            result.add(source.key);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the total inflow for a node (a destination node for the
+     * previous stage).  The total is maintained as flows are added, so this
+     * method does not iterate over the flows.
+     *
+     * @param node  the node ({@code null} not permitted).
+     * @param stage  the stage for the node (0 to {@code getStageCount()}).
+     *
+     * @return The total inflow.
+     *
+     * @since 2.0
+     */
+    public double getInflow(K node, int stage) {
+        Args.nullNotPermitted(node, "node");
+        Args.requireInRange(stage, "stage", 0, getStageCount());
+        Node<K> n = this.index.get(stage).get(node);
+        return n == null ? 0.0 : n.inflow;
+    }
+
+    /**
+     * Returns the total outflow for a node (a source node for the
+     * specified stage).  The total is maintained as flows are added, so
+     * this method does not iterate over the flows.
+     *
+     * @param node  the node ({@code null} not permitted).
+     * @param stage  the stage for the node (0 to {@code getStageCount()}).
+     *
+     * @return The total outflow.
+     *
+     * @since 2.0
+     */
+    public double getOutflow(K node, int stage) {
+        Args.nullNotPermitted(node, "node");
+        Args.requireInRange(stage, "stage", 0, getStageCount());
+        Node<K> n = this.index.get(stage).get(node);
+        return n == null ? 0.0 : n.outflow;
+    }
+
     /**
      * Returns the value of a property, if specified, for the specified flow.  
      * 
@@ -272,16 +483,16 @@ public class DefaultFlowDataset<K extends Comparable<K>> extends AbstractDataset
      * 
      * @return A list of flow keys (possibly empty but never {@code null}). 
      */
-    public List<FlowKey<K>> getInFlows(NodeKey nodeKey) {
+    public List<FlowKey<K>> getInFlows(NodeKey<K> nodeKey) {
         Args.nullNotPermitted(nodeKey, "nodeKey");
         if (nodeKey.getStage() == 0) {
-            return Collections.EMPTY_LIST;
+            return Collections.emptyList();
         }
+        int stage = nodeKey.getStage() - 1;
+        K destination = nodeKey.getNode();
         List<FlowKey<K>> result = new ArrayList<>();
-        for (FlowKey<K> flowKey : this.flows.keySet()) {
-            if (flowKey.getStage() == nodeKey.getStage() - 1 && flowKey.getDestination().equals(nodeKey.getNode())) {
-                result.add(flowKey);
-            }
+        for (K source : getSources(stage, destination)) {
+            result.add(new FlowKey<>(stage, source, destination));
         }
         return result;
     }
@@ -293,16 +504,16 @@ public class DefaultFlowDataset<K extends Comparable<K>> extends AbstractDataset
      * 
      * @return A list of flow keys (possibly empty but never {@code null}). 
      */
-    public List<FlowKey> getOutFlows(NodeKey nodeKey) {
+    public List<FlowKey> getOutFlows(NodeKey<K> nodeKey) {
         Args.nullNotPermitted(nodeKey, "nodeKey");
         if (nodeKey.getStage() == this.getStageCount()) {
-            return Collections.EMPTY_LIST;
+            return Collections.emptyList();
         }
+        int stage = nodeKey.getStage();
+        K source = nodeKey.getNode();
         List<FlowKey> result = new ArrayList<>();
-        for (FlowKey flowKey : this.flows.keySet()) {
-            if (flowKey.getStage() == nodeKey.getStage() && flowKey.getSource().equals(nodeKey.getNode())) {
-                result.add(flowKey);
-            }
+        for (K destination : getDestinations(stage, source)) {
+            result.add(new FlowKey<>(stage, source, destination));
         }
         return result;
     }
@@ -322,9 +533,24 @@ public class DefaultFlowDataset<K extends Comparable<K>> extends AbstractDataset
         for (List<?> list : nodes) {
             clone.nodes.add((List<K>) CloneUtils.cloneList(list));
         }
+        clone.rebuildIndex();
         return clone;
     }
 
+    /**
+     * Provides serialization support.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     * @throws ClassNotFoundException  if there is a classpath problem.
+     */
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        rebuildIndex();
+    }
+
     /**
      * Tests this dataset for equality with an arbitrary object.  This method
      * will return {@code true} if the object implements the 
@@ -373,4 +599,43 @@ public class DefaultFlowDataset<K extends Comparable<K>> extends AbstractDataset
         return hash;
     }
 
+    /**
+     * The index entry for a node: its position in the list of nodes for
+     * its stage, its adjacency lists and its flow totals.
+     */
+    private static final class Node<K> {
+
+        /** The node key. */
+        final K key;
+
+        /** The position of the node in the list of nodes for its stage. */
+        final int position;
+
+        /** The nodes with a flow from this node, ordered by position. */
+        final List<Node<K>> out;
+
+        /** The nodes with a flow to this node, ordered by position. */
+        final List<Node<K>> in;
+
+        /** The total inflow. */
+        double inflow;
+
+        /** The total outflow. */
+        double outflow;
+
+        /**
+         * Creates a new entry.
+         *
+         * @param key  the node key.
+         * @param position  the position of the node within its stage.
+         */
+        Node(K key, int position) {
+            this.key = key;
+            this.position = position;
+            this.out = new ArrayList<>();
+            this.in = new ArrayList<>();
+        }
+
+    }
+
 }
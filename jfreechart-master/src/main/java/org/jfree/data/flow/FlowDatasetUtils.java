@@ -36,6 +36,7 @@
 
 package org.jfree.data.flow;
 
+import java.util.ArrayList;
 import java.util.List;
 import org.jfree.chart.internal.Args;
 
@@ -68,6 +69,9 @@ public class FlowDatasetUtils {
         if (stage == 0) {
             return 0.0;  // there are no inflows for stage 0
         }
+        if (dataset instanceof DefaultFlowDataset) {
+            return ((DefaultFlowDataset<K>) dataset).getInflow(node, stage);
+        }
         double inflow = 0.0;
         List<K> sourceKeys = dataset.getSources(stage - 1);
         for (K key : sourceKeys) {
@@ -97,6 +101,9 @@ public class FlowDatasetUtils {
         if (stage == dataset.getStageCount()) {
             return 0.0;  // there are no outflows for the last stage
         }
+        if (dataset instanceof DefaultFlowDataset) {
+            return ((DefaultFlowDataset<K>) dataset).getOutflow(source, stage);
+        }
         double outflow = 0.0;
         List<K> destinationKeys = dataset.getDestinations(stage);
         for (K key : destinationKeys) {
@@ -108,6 +115,74 @@ public class FlowDatasetUtils {
         return outflow;
     }
 
+    /**
+     * Returns the destination nodes that have a (non-{@code null}) flow from
+     * the specified source node, in the same order as
+     * {@link FlowDataset#getDestinations(int)}.  For a
+     * {@link DefaultFlowDataset} this uses the dataset's index, so the cost
+     * is proportional to the number of flows from the source node.
+     *
+     * @param <K> the type for the flow identifiers.
+     * @param dataset  the dataset ({@code null} not permitted).
+     * @param stage  the stage.
+     * @param source  the source node ({@code null} not permitted).
+     *
+     * @return A list of destination nodes (possibly empty but never
+     *     {@code null}).
+     *
+     * @since 2.0
+     */
+    public static <K extends Comparable<K>> List<K> getFlowDestinations(
+            FlowDataset<K> dataset, int stage, K source) {
+        Args.nullNotPermitted(dataset, "dataset");
+        Args.nullNotPermitted(source, "source");
+        if (dataset instanceof DefaultFlowDataset) {
+            return ((DefaultFlowDataset<K>) dataset).getDestinations(stage,
+                    source);
+        }
+        List<K> result = new ArrayList<>();
+        for (K destination : dataset.getDestinations(stage)) {
+            if (dataset.getFlow(stage, source, destination) != null) {
+                result.add(destination);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the source nodes that have a (non-{@code null}) flow to the
+     * specified destination node, in the same order as
+     * {@link FlowDataset#getSources(int)}.  For a {@link DefaultFlowDataset}
+     * this uses the dataset's index, so the cost is proportional to the
+     * number of flows to the destination node.
+     *
+     * @param <K> the type for the flow identifiers.
+     * @param dataset  the dataset ({@code null} not permitted).
+     * @param stage  the stage.
+     * @param destination  the destination node ({@code null} not permitted).
+     *
+     * @return A list of source nodes (possibly empty but never
+     *     {@code null}).
+     *
+     * @since 2.0
+     */
+    public static <K extends Comparable<K>> List<K> getFlowSources(
+            FlowDataset<K> dataset, int stage, K destination) {
+        Args.nullNotPermitted(dataset, "dataset");
+        Args.nullNotPermitted(destination, "destination");
+        if (dataset instanceof DefaultFlowDataset) {
+            return ((DefaultFlowDataset<K>) dataset).getSources(stage,
+                    destination);
+        }
+        List<K> result = new ArrayList<>();
+        for (K source : dataset.getSources(stage)) {
+            if (dataset.getFlow(stage, source, destination) != null) {
+                result.add(source);
+            }
+        }
+        return result;
+    }
+
     /**
      * Returns the total flow from all sources to all destinations at the 
      * specified stage.
@@ -122,12 +197,7 @@ public class FlowDatasetUtils {
         Args.nullNotPermitted(dataset, "dataset");
         double total = 0.0;
         for (K source : dataset.getSources(stage)) {
-            for (K destination : dataset.getDestinations(stage)) {
-                Number flow = dataset.getFlow(stage, source, destination);
-                if (flow != null) {
-                    total = total + flow.doubleValue();
-                }
-            }
+            total = total + calculateOutflow(dataset, source, stage);
         }
         return total;
     }
@@ -191,7 +261,7 @@ public class FlowDatasetUtils {
         Args.nullNotPermitted(dataset, "dataset");
         for (int s = 0; s < dataset.getStageCount(); s++) { 
             for (K source : dataset.getSources(s)) {
-                for (K destination : dataset.getDestinations(s)) {
+                for (K destination : getFlowDestinations(dataset, s, source)) {
                     FlowKey<K> flowKey = new FlowKey<>(s, source, destination);
                     if (Boolean.TRUE.equals(dataset.getFlowProperty(flowKey, FlowKey.SELECTED_PROPERTY_KEY))) {
                         return true;
@@ -64,6 +64,7 @@ import org.jfree.data.statistics.BoxAndWhiskerCategoryDataset;
 import org.jfree.data.statistics.BoxAndWhiskerXYDataset;
 import org.jfree.data.statistics.MultiValueCategoryDataset;
 import org.jfree.data.statistics.StatisticalCategoryDataset;
+import org.jfree.data.xy.ArrayXYDataset;
 import org.jfree.data.xy.IntervalXYDataset;
 import org.jfree.data.xy.IntervalXYZDataset;
 import org.jfree.data.xy.OHLCDataset;
@@ -77,6 +78,11 @@ import org.jfree.data.xy.XYZDataset;
 
 /**
  * A collection of useful static methods relating to datasets.
+ * <p>
+ * The methods that iterate over the items in an {@link XYDataset} to find
+ * its bounds split the work into chunks that run in parallel once the
+ * dataset holds more than about 130,000 items, and read the values
+ * directly from the arrays of an {@link ArrayXYDataset}.
  */
 public final class DatasetUtils {
 
@@ -669,54 +675,28 @@ public final class DatasetUtils {
      */
     public static <S extends Comparable<S>> Range iterateDomainBounds(
             XYDataset<S> dataset, boolean includeInterval) {
+
         Args.nullNotPermitted(dataset, "dataset");
-        double minimum = Double.POSITIVE_INFINITY;
-        double maximum = Double.NEGATIVE_INFINITY;
-        int seriesCount = dataset.getSeriesCount();
-        double lvalue, uvalue;
+        ParallelBounds.Scanner scanner;
         if (includeInterval && dataset instanceof IntervalXYDataset) {
             @SuppressWarnings("unchecked")
             IntervalXYDataset<S> intervalXYData = (IntervalXYDataset) dataset;
-            for (int series = 0; series < seriesCount; series++) {
-                int itemCount = dataset.getItemCount(series);
-                for (int item = 0; item < itemCount; item++) {
-                    double value = intervalXYData.getXValue(series, item);
-                    lvalue = intervalXYData.getStartXValue(series, item);
-                    uvalue = intervalXYData.getEndXValue(series, item);
-                    if (!Double.isNaN(value)) {
-                        minimum = Math.min(minimum, value);
-                        maximum = Math.max(maximum, value);
-                    }
-                    if (!Double.isNaN(lvalue)) {
-                        minimum = Math.min(minimum, lvalue);
-                        maximum = Math.max(maximum, lvalue);
-                    }
-                    if (!Double.isNaN(uvalue)) {
-                        minimum = Math.min(minimum, uvalue);
-                        maximum = Math.max(maximum, uvalue);
-                    }
+            scanner = (series, start, end, bounds) -> {
+                for (int item = start; item < end; item++) {
+                    ParallelBounds.include(bounds,
+                            intervalXYData.getXValue(series, item));
+                    ParallelBounds.include(bounds,
+                            intervalXYData.getStartXValue(series, item));
+                    ParallelBounds.include(bounds,
+                            intervalXYData.getEndXValue(series, item));
                 }
-            }
-        }
-        else {
-            for (int series = 0; series < seriesCount; series++) {
-                int itemCount = dataset.getItemCount(series);
-                for (int item = 0; item < itemCount; item++) {
-                    lvalue = dataset.getXValue(series, item);
-                    uvalue = lvalue;
-                    if (!Double.isNaN(lvalue)) {
-                        minimum = Math.min(minimum, lvalue);
-                        maximum = Math.max(maximum, uvalue);
-                    }
-                }
-            }
-        }
-        if (minimum > maximum) {
-            return null;
+            };
         }
         else {
-            return new Range(minimum, maximum);
+            scanner = xValueScanner(dataset);
         }
+        return ParallelBounds.findBounds(dataset,
+                ParallelBounds.allSeries(dataset), scanner);
     }
 
     /**
@@ -1146,72 +1126,43 @@ public final class DatasetUtils {
      */
     public static <S extends Comparable<S>> Range iterateRangeBounds(
             XYDataset<S> dataset, boolean includeInterval) {
-        double minimum = Double.POSITIVE_INFINITY;
-        double maximum = Double.NEGATIVE_INFINITY;
-        int seriesCount = dataset.getSeriesCount();
+
+        ParallelBounds.Scanner scanner;
 
         // handle three cases by dataset type
         if (includeInterval && dataset instanceof IntervalXYDataset) {
             // handle special case of IntervalXYDataset
             @SuppressWarnings("unchecked")
             IntervalXYDataset<S> ixyd = (IntervalXYDataset) dataset;
-            for (int series = 0; series < seriesCount; series++) {
-                int itemCount = dataset.getItemCount(series);
-                for (int item = 0; item < itemCount; item++) {
-                    double value = ixyd.getYValue(series, item);
-                    double lvalue = ixyd.getStartYValue(series, item);
-                    double uvalue = ixyd.getEndYValue(series, item);
-                    if (!Double.isNaN(value)) {
-                        minimum = Math.min(minimum, value);
-                        maximum = Math.max(maximum, value);
-                    }
-                    if (!Double.isNaN(lvalue)) {
-                        minimum = Math.min(minimum, lvalue);
-                        maximum = Math.max(maximum, lvalue);
-                    }
-                    if (!Double.isNaN(uvalue)) {
-                        minimum = Math.min(minimum, uvalue);
-                        maximum = Math.max(maximum, uvalue);
-                    }
+            scanner = (series, start, end, bounds) -> {
+                for (int item = start; item < end; item++) {
+                    ParallelBounds.include(bounds,
+                            ixyd.getYValue(series, item));
+                    ParallelBounds.include(bounds,
+                            ixyd.getStartYValue(series, item));
+                    ParallelBounds.include(bounds,
+                            ixyd.getEndYValue(series, item));
                 }
-            }
+            };
         }
         else if (includeInterval && dataset instanceof OHLCDataset) {
             // handle special case of OHLCDataset
             OHLCDataset ohlc = (OHLCDataset) dataset;
-            for (int series = 0; series < seriesCount; series++) {
-                int itemCount = dataset.getItemCount(series);
-                for (int item = 0; item < itemCount; item++) {
-                    double lvalue = ohlc.getLowValue(series, item);
-                    double uvalue = ohlc.getHighValue(series, item);
-                    if (!Double.isNaN(lvalue)) {
-                        minimum = Math.min(minimum, lvalue);
-                    }
-                    if (!Double.isNaN(uvalue)) {
-                        maximum = Math.max(maximum, uvalue);
-                    }
+            scanner = (series, start, end, bounds) -> {
+                for (int item = start; item < end; item++) {
+                    ParallelBounds.includeLower(bounds,
+                            ohlc.getLowValue(series, item));
+                    ParallelBounds.includeUpper(bounds,
+                            ohlc.getHighValue(series, item));
                 }
-            }
+            };
         }
         else {
             // standard case - plain XYDataset
-            for (int series = 0; series < seriesCount; series++) {
-                int itemCount = dataset.getItemCount(series);
-                for (int item = 0; item < itemCount; item++) {
-                    double value = dataset.getYValue(series, item);
-                    if (!Double.isNaN(value)) {
-                        minimum = Math.min(minimum, value);
-                        maximum = Math.max(maximum, value);
-                    }
-                }
-            }
-        }
-        if (minimum == Double.POSITIVE_INFINITY) {
-            return null;
-        }
-        else {
-            return new Range(minimum, maximum);
+            scanner = yValueScanner(dataset, null);
         }
+        return ParallelBounds.findBounds(dataset,
+                ParallelBounds.allSeries(dataset), scanner);
     }
 
     /**
@@ -1305,53 +1256,33 @@ public final class DatasetUtils {
      */
     public static <S extends Comparable<S>> Range iterateZBounds(
             XYZDataset<S> dataset, boolean includeInterval) {
-        double minimum = Double.POSITIVE_INFINITY;
-        double maximum = Double.NEGATIVE_INFINITY;
-        int seriesCount = dataset.getSeriesCount();
 
+        ParallelBounds.Scanner scanner;
         if (includeInterval && dataset instanceof IntervalXYZDataset) {
             @SuppressWarnings("unchecked")
             IntervalXYZDataset<S> intervalDataset = (IntervalXYZDataset) dataset;
-            for (int series = 0; series < seriesCount; series++) {
-                int itemCount = dataset.getItemCount(series);
-                for (int item = 0; item < itemCount; item++) {
+            scanner = (series, start, end, bounds) -> {
+                for (int item = start; item < end; item++) {
                     // first apply the z-value itself
-                    double value = dataset.getZValue(series, item);
-                    if (!Double.isNaN(value)) {
-                        minimum = Math.min(minimum, value);
-                        maximum = Math.max(maximum, value);
-                    }
-                    
-                    Number start = intervalDataset.getStartZValue(series, item);
-                    if (start != null && !Double.isNaN(start.doubleValue())) {
-                        minimum = Math.min(minimum, start.doubleValue());
-                        maximum = Math.max(maximum, start.doubleValue());                        
-                    }
-                    Number end = intervalDataset.getEndZValue(series, item);
-                    if (end != null && !Double.isNaN(end.doubleValue())) {
-                        minimum = Math.min(minimum, end.doubleValue());
-                        maximum = Math.max(maximum, end.doubleValue());                        
+                    ParallelBounds.include(bounds,
+                            dataset.getZValue(series, item));
+                    Number lower = intervalDataset.getStartZValue(series,
+                            item);
+                    if (lower != null) {
+                        ParallelBounds.include(bounds, lower.doubleValue());
+                    }
+                    Number upper = intervalDataset.getEndZValue(series,
+                            item);
+                    if (upper != null) {
+                        ParallelBounds.include(bounds, upper.doubleValue());
                     }
                 }
-            }            
+            };
         } else {
-            for (int series = 0; series < seriesCount; series++) {
-                int itemCount = dataset.getItemCount(series);
-                for (int item = 0; item < itemCount; item++) {
-                    double value = dataset.getZValue(series, item);
-                    if (!Double.isNaN(value)) {
-                        minimum = Math.min(minimum, value);
-                        maximum = Math.max(maximum, value);
-                    }
-                }
-            }
-        }
-
-        if (minimum == Double.POSITIVE_INFINITY) {
-            return null;
-        } else {
-            return new Range(minimum, maximum);
+            scanner = zValueScanner(dataset, null);
         }
+        return ParallelBounds.findBounds(dataset,
+                ParallelBounds.allSeries(dataset), scanner);
     }
 
     /**
@@ -1374,55 +1305,31 @@ public final class DatasetUtils {
     public static <S extends Comparable<S>> Range iterateToFindDomainBounds(
             XYDataset<S> dataset, List<S> visibleSeriesKeys, 
             boolean includeInterval) {
+
         Args.nullNotPermitted(dataset, "dataset");
         Args.nullNotPermitted(visibleSeriesKeys, "visibleSeriesKeys");
 
-        double minimum = Double.POSITIVE_INFINITY;
-        double maximum = Double.NEGATIVE_INFINITY;
-
+        ParallelBounds.Scanner scanner;
         if (includeInterval && dataset instanceof IntervalXYDataset) {
             // handle special case of IntervalXYDataset
             @SuppressWarnings("unchecked")
             IntervalXYDataset<S> ixyd = (IntervalXYDataset) dataset;
-            for (S seriesKey : visibleSeriesKeys) {
-                int series = dataset.indexOf(seriesKey);
-                int itemCount = dataset.getItemCount(series);
-                for (int item = 0; item < itemCount; item++) {
-                    double xvalue = ixyd.getXValue(series, item);
-                    double lvalue = ixyd.getStartXValue(series, item);
-                    double uvalue = ixyd.getEndXValue(series, item);
-                    if (!Double.isNaN(xvalue)) {
-                        minimum = Math.min(minimum, xvalue);
-                        maximum = Math.max(maximum, xvalue);
-                    }
-                    if (!Double.isNaN(lvalue)) {
-                        minimum = Math.min(minimum, lvalue);
-                    }
-                    if (!Double.isNaN(uvalue)) {
-                        maximum = Math.max(maximum, uvalue);
-                    }
+            scanner = (series, start, end, bounds) -> {
+                for (int item = start; item < end; item++) {
+                    ParallelBounds.include(bounds,
+                            ixyd.getXValue(series, item));
+                    ParallelBounds.includeLower(bounds,
+                            ixyd.getStartXValue(series, item));
+                    ParallelBounds.includeUpper(bounds,
+                            ixyd.getEndXValue(series, item));
                 }
-            }
+            };
         } else {
             // standard case - plain XYDataset
-            for (S seriesKey : visibleSeriesKeys) {
-                int series = dataset.indexOf(seriesKey);
-                int itemCount = dataset.getItemCount(series);
-                for (int item = 0; item < itemCount; item++) {
-                    double x = dataset.getXValue(series, item);
-                    if (!Double.isNaN(x)) {
-                        minimum = Math.min(minimum, x);
-                        maximum = Math.max(maximum, x);
-                    }
-                }
-            }
-        }
-
-        if (minimum == Double.POSITIVE_INFINITY) {
-            return null;
-        } else {
-            return new Range(minimum, maximum);
+            scanner = xValueScanner(dataset);
         }
+        return ParallelBounds.findBounds(dataset,
+                seriesIndices(dataset, visibleSeriesKeys), scanner);
     }
 
     /**
@@ -1452,101 +1359,69 @@ public final class DatasetUtils {
         Args.nullNotPermitted(visibleSeriesKeys, "visibleSeriesKeys");
         Args.nullNotPermitted(xRange, "xRange");
 
-        double minimum = Double.POSITIVE_INFINITY;
-        double maximum = Double.NEGATIVE_INFINITY;
+        ParallelBounds.Scanner scanner;
 
         // handle three cases by dataset type
         if (includeInterval && dataset instanceof OHLCDataset) {
             // handle special case of OHLCDataset
             OHLCDataset ohlc = (OHLCDataset) dataset;
-            for (S seriesKey : visibleSeriesKeys) {
-                int series = dataset.indexOf(seriesKey);
-                int itemCount = dataset.getItemCount(series);
-                for (int item = 0; item < itemCount; item++) {
+            scanner = (series, start, end, bounds) -> {
+                for (int item = start; item < end; item++) {
                     double x = ohlc.getXValue(series, item);
                     if (xRange.contains(x)) {
-                        double lvalue = ohlc.getLowValue(series, item);
-                        double uvalue = ohlc.getHighValue(series, item);
-                        if (!Double.isNaN(lvalue)) {
-                            minimum = Math.min(minimum, lvalue);
-                        }
-                        if (!Double.isNaN(uvalue)) {
-                            maximum = Math.max(maximum, uvalue);
-                        }
+                        ParallelBounds.includeLower(bounds,
+                                ohlc.getLowValue(series, item));
+                        ParallelBounds.includeUpper(bounds,
+                                ohlc.getHighValue(series, item));
                     }
                 }
-            }
+            };
         }
         else if (includeInterval && dataset instanceof BoxAndWhiskerXYDataset) {
             // handle special case of BoxAndWhiskerXYDataset
             @SuppressWarnings("unchecked")
             BoxAndWhiskerXYDataset<S> bx = (BoxAndWhiskerXYDataset) dataset;
-            for (S seriesKey : visibleSeriesKeys) {
-                int series = dataset.indexOf(seriesKey);
-                int itemCount = dataset.getItemCount(series);
-                for (int item = 0; item < itemCount; item++) {
+            scanner = (series, start, end, bounds) -> {
+                for (int item = start; item < end; item++) {
                     double x = bx.getXValue(series, item);
                     if (xRange.contains(x)) {
                         Number lvalue = bx.getMinRegularValue(series, item);
                         Number uvalue = bx.getMaxRegularValue(series, item);
                         if (lvalue != null) {
-                            minimum = Math.min(minimum, lvalue.doubleValue());
+                            ParallelBounds.includeLower(bounds,
+                                    lvalue.doubleValue());
                         }
                         if (uvalue != null) {
-                            maximum = Math.max(maximum, uvalue.doubleValue());
+                            ParallelBounds.includeUpper(bounds,
+                                    uvalue.doubleValue());
                         }
                     }
                 }
-            }
+            };
         }
         else if (includeInterval && dataset instanceof IntervalXYDataset) {
             // handle special case of IntervalXYDataset
             @SuppressWarnings("unchecked")
             IntervalXYDataset<S> ixyd = (IntervalXYDataset) dataset;
-            for (S seriesKey : visibleSeriesKeys) {
-                int series = dataset.indexOf(seriesKey);
-                int itemCount = dataset.getItemCount(series);
-                for (int item = 0; item < itemCount; item++) {
+            scanner = (series, start, end, bounds) -> {
+                for (int item = start; item < end; item++) {
                     double x = ixyd.getXValue(series, item);
                     if (xRange.contains(x)) {
-                        double yvalue = ixyd.getYValue(series, item);
-                        double lvalue = ixyd.getStartYValue(series, item);
-                        double uvalue = ixyd.getEndYValue(series, item);
-                        if (!Double.isNaN(yvalue)) {
-                            minimum = Math.min(minimum, yvalue);
-                            maximum = Math.max(maximum, yvalue);
-                        }
-                        if (!Double.isNaN(lvalue)) {
-                            minimum = Math.min(minimum, lvalue);
-                        }
-                        if (!Double.isNaN(uvalue)) {
-                            maximum = Math.max(maximum, uvalue);
-                        }
+                        ParallelBounds.include(bounds,
+                                ixyd.getYValue(series, item));
+                        ParallelBounds.includeLower(bounds,
+                                ixyd.getStartYValue(series, item));
+                        ParallelBounds.includeUpper(bounds,
+                                ixyd.getEndYValue(series, item));
                     }
                 }
-            }
+            };
         } else {
             // standard case - plain XYDataset
-            for (S seriesKey : visibleSeriesKeys) {
-                int series = dataset.indexOf(seriesKey);
-                int itemCount = dataset.getItemCount(series);
-                for (int item = 0; item < itemCount; item++) {
-                    double x = dataset.getXValue(series, item);
-                    double y = dataset.getYValue(series, item);
-                    if (xRange.contains(x)) {
-                        if (!Double.isNaN(y)) {
-                            minimum = Math.min(minimum, y);
-                            maximum = Math.max(maximum, y);
-                        }
-                    }
-                }
-            }
-        }
-        if (minimum == Double.POSITIVE_INFINITY) {
-            return null;
-        } else {
-            return new Range(minimum, maximum);
+            scanner = yValueScanner(dataset, xRange);
         }
+        return ParallelBounds.findBounds(dataset,
+                seriesIndices(dataset, visibleSeriesKeys), scanner);
     }
 
     /**
@@ -1569,33 +1444,130 @@ public final class DatasetUtils {
     public static <S extends Comparable<S>> Range iterateToFindZBounds(
             XYZDataset<S> dataset, List<S> visibleSeriesKeys, Range xRange, 
             boolean includeInterval) {
+
         Args.nullNotPermitted(dataset, "dataset");
         Args.nullNotPermitted(visibleSeriesKeys, "visibleSeriesKeys");
         Args.nullNotPermitted(xRange, "xRange");
-    
-        double minimum = Double.POSITIVE_INFINITY;
-        double maximum = Double.NEGATIVE_INFINITY;
-    
-        for (S seriesKey : visibleSeriesKeys) {
-            int series = dataset.indexOf(seriesKey);
-            int itemCount = dataset.getItemCount(series);
-            for (int item = 0; item < itemCount; item++) {
-                double x = dataset.getXValue(series, item);
-                double z = dataset.getZValue(series, item);
-                if (xRange.contains(x)) {
-                    if (!Double.isNaN(z)) {
-                        minimum = Math.min(minimum, z);
-                        maximum = Math.max(maximum, z);
+        return ParallelBounds.findBounds(dataset,
+                seriesIndices(dataset, visibleSeriesKeys),
+                zValueScanner(dataset, xRange));
+    }
+
+    /**
+     * Returns the indices of the series with the specified keys.
+     *
+     * @param dataset  the dataset.
+     * @param seriesKeys  the series keys.
+     *
+     * @param <S>  the type for the series keys.
+     *
+     * @return The series indices.
+     */
+    private static <S extends Comparable<S>> int[] seriesIndices(
+            XYDataset<S> dataset, List<S> seriesKeys) {
+        int[] result = new int[seriesKeys.size()];
+        int i = 0;
+        for (S seriesKey : seriesKeys) {
+            result[i++] = dataset.indexOf(seriesKey);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a scanner that finds the bounds of the x-values in a dataset,
+     * reading the values directly from the arrays if the dataset is an
+     * {@link ArrayXYDataset}.
+     *
+     * @param dataset  the dataset.
+     *
+     * @return The scanner.
+     */
+    private static ParallelBounds.Scanner xValueScanner(
+            XYDataset<?> dataset) {
+        if (dataset instanceof ArrayXYDataset) {
+            ArrayXYDataset<?> ad = (ArrayXYDataset<?>) dataset;
+            return (series, start, end, bounds) -> {
+                double[] xValues = ad.getXValues(series);
+                for (int item = start; item < end; item++) {
+                    ParallelBounds.include(bounds, xValues[item]);
+                }
+            };
+        }
+        return (series, start, end, bounds) -> {
+            for (int item = start; item < end; item++) {
+                ParallelBounds.include(bounds,
+                        dataset.getXValue(series, item));
+            }
+        };
+    }
+
+    /**
+     * Returns a scanner that finds the bounds of the y-values in a dataset,
+     * reading the values directly from the arrays if the dataset is an
+     * {@link ArrayXYDataset}.
+     *
+     * @param dataset  the dataset.
+     * @param xRange  if not {@code null}, only items with an x-value in
+     *     this range are included.
+     *
+     * @return The scanner.
+     */
+    private static ParallelBounds.Scanner yValueScanner(
+            XYDataset<?> dataset, Range xRange) {
+        if (dataset instanceof ArrayXYDataset) {
+            ArrayXYDataset<?> ad = (ArrayXYDataset<?>) dataset;
+            if (xRange == null) {
+                return (series, start, end, bounds) -> {
+                    double[] yValues = ad.getYValues(series);
+                    for (int item = start; item < end; item++) {
+                        ParallelBounds.include(bounds, yValues[item]);
+                    }
+                };
+            }
+            double xLower = xRange.getLowerBound();
+            double xUpper = xRange.getUpperBound();
+            return (series, start, end, bounds) -> {
+                double[] xValues = ad.getXValues(series);
+                double[] yValues = ad.getYValues(series);
+                for (int item = start; item < end; item++) {
+                    double x = xValues[item];
+                    if (x >= xLower && x <= xUpper) {
+                        ParallelBounds.include(bounds, yValues[item]);
                     }
                 }
+            };
+        }
+        return (series, start, end, bounds) -> {
+            for (int item = start; item < end; item++) {
+                if (xRange == null
+                        || xRange.contains(dataset.getXValue(series, item))) {
+                    ParallelBounds.include(bounds,
+                            dataset.getYValue(series, item));
+                }
             }
-        }
+        };
+    }
 
-        if (minimum == Double.POSITIVE_INFINITY) {
-            return null;
-        } else {
-            return new Range(minimum, maximum);
-        }
+    /**
+     * Returns a scanner that finds the bounds of the z-values in a dataset.
+     *
+     * @param dataset  the dataset.
+     * @param xRange  if not {@code null}, only items with an x-value in
+     *     this range are included.
+     *
+     * @return The scanner.
+     */
+    private static ParallelBounds.Scanner zValueScanner(
+            XYZDataset<?> dataset, Range xRange) {
+        return (series, start, end, bounds) -> {
+            for (int item = start; item < end; item++) {
+                if (xRange == null
+                        || xRange.contains(dataset.getXValue(series, item))) {
+                    ParallelBounds.include(bounds,
+                            dataset.getZValue(series, item));
+                }
+            }
+        };
     }
 
     /**
@@ -2187,37 +2159,32 @@ public final class DatasetUtils {
      */
     public static <S extends Comparable<S>> Range findStackedRangeBounds(
             TableXYDataset<S> dataset, double base) {
+
         Args.nullNotPermitted(dataset, "dataset");
-        double minimum = base;
-        double maximum = base;
-        for (int itemNo = 0; itemNo < dataset.getItemCount(); itemNo++) {
-            double positive = base;
-            double negative = base;
-            int seriesCount = dataset.getSeriesCount();
-            for (int seriesNo = 0; seriesNo < seriesCount; seriesNo++) {
-                double y = dataset.getYValue(seriesNo, itemNo);
-                if (!Double.isNaN(y)) {
+        int seriesCount = dataset.getSeriesCount();
+        Range range = ParallelBounds.findBounds(dataset.getItemCount(),
+                (series, start, end, bounds) -> {
+            for (int item = start; item < end; item++) {
+                double positive = base;
+                double negative = base;
+                for (int s = 0; s < seriesCount; s++) {
+                    double y = dataset.getYValue(s, item);
                     if (y > 0.0) {
                         positive += y;
                     }
-                    else {
+                    else if (y < 0.0) {
                         negative += y;
                     }
                 }
+                ParallelBounds.includeUpper(bounds, positive);
+                ParallelBounds.includeLower(bounds, negative);
             }
-            if (positive > maximum) {
-                maximum = positive;
-            }
-            if (negative < minimum) {
-                minimum = negative;
-            }
-        }
-        if (minimum <= maximum) {
-            return new Range(minimum, maximum);
-        }
-        else {
-            return null;
+        });
+        if (range == null) {
+            return new Range(base, base);
         }
+        return new Range(Math.min(base, range.getLowerBound()),
+                Math.max(base, range.getUpperBound()));
     }
 
     /**
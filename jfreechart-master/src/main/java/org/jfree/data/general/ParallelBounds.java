@@ -0,0 +1,290 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------
+ * ParallelBounds.java
+ * -------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.general;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.jfree.data.Range;
+import org.jfree.data.xy.XYDataset;
+
+/**
+ * Runs the bounds calculations for {@link DatasetUtils}.  A calculation is
+ * described by a {@link Scanner} that finds the bounds for a block of items
+ * in one series.  Small datasets are scanned one series at a time on the
+ * calling thread.  When the number of items reaches {@link #THRESHOLD},
+ * the series are split into chunks of {@link #CHUNK_SIZE} items that are
+ * scanned in parallel in the common {@link ForkJoinPool}.
+ * <p>
+ * The item counts are read on the calling thread before any work is
+ * forked, but the values themselves are read from the worker threads, so
+ * the dataset must not be modified while a calculation is running (the
+ * same requirement as for drawing a chart).
+ */
+final class ParallelBounds {
+
+    /** The number of items at which the scan is run in parallel. */
+    static final int THRESHOLD = 1 << 17;
+
+    /** The number of items scanned by each parallel task. */
+    static final int CHUNK_SIZE = 1 << 14;
+
+    /**
+     * Finds the bounds for a block of items in one series.
+     */
+    @FunctionalInterface
+    interface Scanner {
+
+        /**
+         * Includes the values for items {@code start} (inclusive) to
+         * {@code end} (exclusive) of a series in the bounds.
+         *
+         * @param series  the series index.
+         * @param start  the index of the first item.
+         * @param end  the index after the last item.
+         * @param bounds  the bounds, the minimum in element 0 and the
+         *     maximum in element 1 (updated by this method).
+         */
+        void scan(int series, int start, int end, double[] bounds);
+
+    }
+
+    private ParallelBounds() {
+        // no requirement to instantiate
+    }
+
+    /**
+     * Includes a value in the bounds, ignoring {@code Double.NaN}.
+     *
+     * @param bounds  the bounds.
+     * @param value  the value.
+     */
+    static void include(double[] bounds, double value) {
+        if (value < bounds[0]) {
+            bounds[0] = value;
+        }
+        if (value > bounds[1]) {
+            bounds[1] = value;
+        }
+    }
+
+    /**
+     * Includes a value in the lower bound only, ignoring {@code Double.NaN}.
+     *
+     * @param bounds  the bounds.
+     * @param value  the value.
+     */
+    static void includeLower(double[] bounds, double value) {
+        if (value < bounds[0]) {
+            bounds[0] = value;
+        }
+    }
+
+    /**
+     * Includes a value in the upper bound only, ignoring {@code Double.NaN}.
+     *
+     * @param bounds  the bounds.
+     * @param value  the value.
+     */
+    static void includeUpper(double[] bounds, double value) {
+        if (value > bounds[1]) {
+            bounds[1] = value;
+        }
+    }
+
+    /**
+     * Returns the indices of all the series in a dataset.
+     *
+     * @param dataset  the dataset.
+     *
+     * @return The series indices.
+     */
+    static int[] allSeries(SeriesDataset<?> dataset) {
+        int[] result = new int[dataset.getSeriesCount()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = i;
+        }
+        return result;
+    }
+
+    /**
+     * Finds the bounds for the items in some of the series in a dataset.
+     *
+     * @param dataset  the dataset.
+     * @param series  the series indices.
+     * @param scanner  the scanner.
+     *
+     * @return The bounds ({@code null} if no value was included).
+     */
+    static Range findBounds(XYDataset<?> dataset, int[] series,
+            Scanner scanner) {
+        int[] itemCounts = new int[series.length];
+        long total = 0;
+        for (int i = 0; i < series.length; i++) {
+            itemCounts[i] = dataset.getItemCount(series[i]);
+            total += itemCounts[i];
+        }
+        return findBounds(series, itemCounts, total, scanner);
+    }
+
+    /**
+     * Finds the bounds for the items in a single block of items (used for
+     * calculations that span all the series, with the series index passed
+     * to the scanner always zero).
+     *
+     * @param itemCount  the number of items.
+     * @param scanner  the scanner.
+     *
+     * @return The bounds ({@code null} if no value was included).
+     */
+    static Range findBounds(int itemCount, Scanner scanner) {
+        return findBounds(new int[] {0}, new int[] {itemCount}, itemCount,
+                scanner);
+    }
+
+    /**
+     * Finds the bounds, scanning in parallel if the item count is large
+     * enough.
+     *
+     * @param series  the series indices.
+     * @param itemCounts  the item count for each series.
+     * @param total  the total item count.
+     * @param scanner  the scanner.
+     *
+     * @return The bounds ({@code null} if no value was included).
+     */
+    private static Range findBounds(int[] series, int[] itemCounts,
+            long total, Scanner scanner) {
+        double[] bounds;
+        if (total < THRESHOLD
+                || ForkJoinPool.getCommonPoolParallelism() < 2) {
+            bounds = emptyBounds();
+            for (int i = 0; i < series.length; i++) {
+                scanner.scan(series[i], 0, itemCounts[i], bounds);
+            }
+        } else {
+            int chunks = 0;
+            for (int count : itemCounts) {
+                chunks += (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            }
+            int[] blocks = new int[chunks * 3];
+            int b = 0;
+            for (int i = 0; i < series.length; i++) {
+                for (int start = 0; start < itemCounts[i];
+                        start += CHUNK_SIZE) {
+                    blocks[b++] = series[i];
+                    blocks[b++] = start;
+                    blocks[b++] = Math.min(start + CHUNK_SIZE,
+                            itemCounts[i]);
+                }
+            }
+            bounds = ForkJoinPool.commonPool().invoke(
+                    new ScanTask(scanner, blocks, 0, chunks));
+        }
+        if (bounds[0] > bounds[1]) {
+            return null;
+        }
+        return new Range(bounds[0], bounds[1]);
+    }
+
+    /**
+     * Returns new bounds that contain no values.
+     *
+     * @return The bounds.
+     */
+    private static double[] emptyBounds() {
+        return new double[] {Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY};
+    }
+
+    /**
+     * A task that scans a run of blocks, splitting the run in two until it
+     * contains a single block.
+     */
+    private static final class ScanTask extends RecursiveTask<double[]> {
+
+        /** The scanner. */
+        private final Scanner scanner;
+
+        /** The blocks (series index, start and end for each block). */
+        private final int[] blocks;
+
+        /** The index of the first block in the run. */
+        private final int from;
+
+        /** The index after the last block in the run. */
+        private final int to;
+
+        /**
+         * Creates a new task.
+         *
+         * @param scanner  the scanner.
+         * @param blocks  the blocks.
+         * @param from  the index of the first block.
+         * @param to  the index after the last block.
+         */
+        ScanTask(Scanner scanner, int[] blocks, int from, int to) {
+            this.scanner = scanner;
+            this.blocks = blocks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (this.to - this.from == 1) {
+                double[] bounds = emptyBounds();
+                int i = this.from * 3;
+                this.scanner.scan(this.blocks[i], this.blocks[i + 1],
+                        this.blocks[i + 2], bounds);
+                return bounds;
+            }
+            int mid = (this.from + this.to) >>> 1;
+            ScanTask left = new ScanTask(this.scanner, this.blocks,
+                    this.from, mid);
+            left.fork();
+            double[] bounds = new ScanTask(this.scanner, this.blocks, mid,
+                    this.to).compute();
+            double[] other = left.join();
+            bounds[0] = Math.min(bounds[0], other[0]);
+            bounds[1] = Math.max(bounds[1], other[1]);
+            return bounds;
+        }
+
+    }
+
+}
@@ -0,0 +1,320 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------------
+ * SeriesSnapshotBuffer.java
+ * -------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.general;
+
+import java.util.Arrays;
+
+import org.jfree.chart.internal.Args;
+
+/**
+ * An incrementally maintained copy of the data in a series, from which
+ * immutable {@link Snapshot} views can be taken while the series continues
+ * to change.  The buffer holds a number of {@code double} columns and
+ * (optionally) a column of object references, in arrays that are only ever
+ * written beyond the end of the last published snapshot, so a snapshot
+ * remains consistent without any locking once it has been taken.
+ * <p>
+ * The series records each change in the buffer as it is made: items
+ * appended at the end need no record, items removed from the start are
+ * recorded with {@link #itemsDropped(int)} and any other change with
+ * {@link #itemsChanged(int)}.  The next call to
+ * {@link #sync(int, ItemReader)} then copies only the items that are new or
+ * changed, so a series that is appended to (and perhaps trimmed at the
+ * start to a maximum item count) costs O(new items) per snapshot.  Changes
+ * before the end of the buffered data copy the unchanged prefix into new
+ * arrays rather than overwriting data that a snapshot might be reading.
+ * <p>
+ * This class is not thread-safe: the series calls all of its methods while
+ * holding its own lock.
+ *
+ * @since 2.0
+ */
+public final class SeriesSnapshotBuffer {
+
+    /**
+     * Reads one item from a series into the buffer.
+     */
+    public interface ItemReader {
+
+        /**
+         * Reads the values for an item into {@code values} and returns the
+         * object reference (if any) for the item.
+         *
+         * @param item  the item index.
+         * @param values  the array to receive the column values.
+         *
+         * @return The object reference for the item (possibly
+         *     {@code null}).
+         */
+        Object read(int item, double[] values);
+
+    }
+
+    /** The minimum capacity for the arrays. */
+    private static final int MIN_CAPACITY = 16;
+
+    /** The number of {@code double} columns. */
+    private final int columnCount;
+
+    /** A flag that controls whether object references are stored. */
+    private final boolean references;
+
+    /** The column arrays. */
+    private double[][] columns;
+
+    /** The object references ({@code null} if not stored). */
+    private Object[] objects;
+
+    /** The array index of the first buffered item. */
+    private int offset;
+
+    /** The number of buffered items. */
+    private int count;
+
+    /** The number of buffered items to drop from the start at the next sync. */
+    private int dropped;
+
+    /**
+     * The number of items at the start of the series that are buffered and
+     * unchanged (in the series' current item indexing).
+     */
+    private int valid;
+
+    /** A work array for the item reader. */
+    private final double[] row;
+
+    /** The last snapshot published (or {@code null}). */
+    private Snapshot snapshot;
+
+    /**
+     * Creates a new empty buffer.
+     *
+     * @param columnCount  the number of {@code double} columns (at least 1).
+     * @param references  store an object reference for each item?
+     */
+    public SeriesSnapshotBuffer(int columnCount, boolean references) {
+        if (columnCount < 1) {
+            throw new IllegalArgumentException("Requires 'columnCount' >= 1.");
+        }
+        this.columnCount = columnCount;
+        this.references = references;
+        this.columns = new double[columnCount][0];
+        this.objects = references ? new Object[0] : null;
+        this.row = new double[columnCount];
+    }
+
+    /**
+     * Records that items have been removed from the start of the series.
+     *
+     * @param n  the number of items removed.
+     */
+    public void itemsDropped(int n) {
+        if (n <= 0) {
+            return;
+        }
+        if (n <= this.valid) {
+            this.dropped += n;
+            this.valid -= n;
+        } else {
+            // some of the items removed were never buffered
+            this.dropped = 0;
+            this.valid = 0;
+        }
+    }
+
+    /**
+     * Records that the series has changed at or after the specified item
+     * (an item inserted, removed or updated).  Appending items to the end of
+     * the series does not need to be recorded.
+     *
+     * @param index  the index of the first changed item.
+     */
+    public void itemsChanged(int index) {
+        this.valid = Math.min(this.valid, Math.max(index, 0));
+    }
+
+    /**
+     * Records that the whole series has changed.
+     */
+    public void invalidate() {
+        itemsChanged(0);
+    }
+
+    /**
+     * Brings the buffer up to date with the series and returns a snapshot
+     * of it.  When the series has not changed since the last call, the
+     * same snapshot is returned.
+     *
+     * @param itemCount  the number of items now in the series.
+     * @param reader  reads items from the series ({@code null} not
+     *     permitted).
+     *
+     * @return The snapshot (never {@code null}).
+     */
+    public Snapshot sync(int itemCount, ItemReader reader) {
+        Args.nullNotPermitted(reader, "reader");
+        boolean changed = this.snapshot == null || this.dropped > 0;
+        this.offset += this.dropped;
+        this.count -= this.dropped;
+        this.dropped = 0;
+        int keep = Math.min(this.valid, itemCount);
+        if (keep < this.count) {
+            // the tail has changed: never overwrite published items
+            reallocate(Math.max(itemCount, MIN_CAPACITY), keep);
+            changed = true;
+        }
+        int add = itemCount - keep;
+        if (add > 0) {
+            if (this.offset + keep + add > this.columns[0].length) {
+                reallocate(Math.max(2 * itemCount, MIN_CAPACITY), keep);
+            }
+            int base = this.offset + keep;
+            for (int i = 0; i < add; i++) {
+                Object ref = reader.read(keep + i, this.row);
+                for (int c = 0; c < this.columnCount; c++) {
+                    this.columns[c][base + i] = this.row[c];
+                }
+                if (this.references) {
+                    this.objects[base + i] = ref;
+                }
+            }
+            changed = true;
+        }
+        this.count = itemCount;
+        this.valid = itemCount;
+        if (changed) {
+            this.snapshot = new Snapshot(this.columns, this.objects,
+                    this.offset, this.count);
+        }
+        return this.snapshot;
+    }
+
+    /**
+     * Moves the first {@code keep} buffered items into new arrays.
+     *
+     * @param capacity  the capacity of the new arrays.
+     * @param keep  the number of items to keep.
+     */
+    private void reallocate(int capacity, int keep) {
+        double[][] c = new double[this.columnCount][];
+        for (int i = 0; i < this.columnCount; i++) {
+            c[i] = Arrays.copyOfRange(this.columns[i], this.offset,
+                    this.offset + capacity);
+        }
+        this.columns = c;
+        if (this.references) {
+            Object[] o = Arrays.copyOfRange(this.objects, this.offset,
+                    this.offset + capacity);
+            // clear the references to items that are not kept
+            Arrays.fill(o, keep, Math.min(this.count, capacity), null);
+            this.objects = o;
+        }
+        this.offset = 0;
+        this.count = keep;
+    }
+
+    /**
+     * An immutable view of the data in a series at a point in time.
+     */
+    public static final class Snapshot {
+
+        /** The column arrays (shared, only read within the range). */
+        private final double[][] columns;
+
+        /** The object references (possibly {@code null}). */
+        private final Object[] objects;
+
+        /** The array index of the first item. */
+        private final int offset;
+
+        /** The number of items. */
+        private final int count;
+
+        /**
+         * Creates a new snapshot.
+         *
+         * @param columns  the column arrays.
+         * @param objects  the object references ({@code null} permitted).
+         * @param offset  the array index of the first item.
+         * @param count  the number of items.
+         */
+        Snapshot(double[][] columns, Object[] objects, int offset,
+                int count) {
+            this.columns = columns;
+            this.objects = objects;
+            this.offset = offset;
+            this.count = count;
+        }
+
+        /**
+         * Returns the number of items in the snapshot.
+         *
+         * @return The item count.
+         */
+        public int getItemCount() {
+            return this.count;
+        }
+
+        /**
+         * Returns a value from the snapshot.
+         *
+         * @param column  the column index.
+         * @param item  the item index (zero-based).
+         *
+         * @return The value.
+         */
+        public double getValue(int column, int item) {
+            Args.requireInRange(item, "item", 0, this.count - 1);
+            return this.columns[column][this.offset + item];
+        }
+
+        /**
+         * Returns the object reference for an item.
+         *
+         * @param item  the item index (zero-based).
+         *
+         * @return The object reference (possibly {@code null}).
+         */
+        public Object getObject(int item) {
+            Args.requireInRange(item, "item", 0, this.count - 1);
+            return this.objects == null ? null
+                    : this.objects[this.offset + item];
+        }
+
+    }
+
+}
@@ -0,0 +1,61 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------
+ * SnapshotSource.java
+ * -------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.general;
+
+/**
+ * A dataset that can provide an immutable snapshot of its current state,
+ * so that a chart can be drawn from a consistent view of the data while
+ * other threads continue to update the dataset.  The {@code XYPlot} draws
+ * from a snapshot when its {@code datasetSnapshots} flag is set.
+ *
+ * @param <D>  the type of the snapshot.
+ *
+ * @since 2.0
+ */
+public interface SnapshotSource<D extends DatasetSnapshot> {
+
+    /**
+     * Returns a snapshot of the dataset.  The snapshot does not change when
+     * the dataset is subsequently updated and does not send change events.
+     * Implementations are expected to make this cheap when little has
+     * changed since the last snapshot.
+     *
+     * @return The snapshot (never {@code null}).
+     */
+    D snapshot();
+
+}
@@ -0,0 +1,402 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -----------------
+ * StackBuffers.java
+ * -----------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.general;
+
+import java.util.Arrays;
+
+import org.jfree.chart.internal.Args;
+import org.jfree.data.Range;
+import org.jfree.data.category.CategoryDataset;
+import org.jfree.data.xy.TableXYDataset;
+
+/**
+ * The cumulative positive and negative values for a stacked dataset, held
+ * as running totals in primitive arrays.  The stacked renderers look up the
+ * base of every item here instead of adding up the values of all earlier
+ * series each time an item is drawn, which takes the cost of drawing a
+ * stacked chart from O(series&sup2; &times; items) down to
+ * O(series &times; items).
+ * <p>
+ * Only one running total per item (for each group) is kept, along with the
+ * series it has reached, so the memory used is O(items) whatever the number
+ * of series.  The total for an item is moved forwards (or backwards) to the
+ * requested series by adding (or subtracting) the values in between, which
+ * costs one step per series when the items are drawn a series at a time in
+ * either direction, as the plots do.
+ * <p>
+ * The series that take part in the stack can be restricted (typically to
+ * the visible series), and the series can be split into groups that are
+ * stacked independently (as in the {@code GroupedStackedBarRenderer}).
+ * Values that are {@code null} or {@code NaN} are ignored.
+ * <p>
+ * The values are read from the dataset as the running totals move, and the
+ * totals for percentages are calculated when the buffers are created, so
+ * the dataset should not change while the buffers are in use; the
+ * renderers create them once per drawing pass.  Instances are not
+ * thread-safe.
+ *
+ * @since 2.0
+ */
+public final class StackBuffers {
+
+    /** The category dataset ({@code null} for a table XY dataset). */
+    private final CategoryDataset<?, ?> categoryDataset;
+
+    /** The table XY dataset ({@code null} for a category dataset). */
+    private final TableXYDataset<?> tableDataset;
+
+    /** The number of series (rows) in the dataset. */
+    private final int seriesCount;
+
+    /** The number of items (columns) in the dataset. */
+    private final int itemCount;
+
+    /** A flag for each series that is {@code true} if it is stacked. */
+    private final boolean[] included;
+
+    /** The group index for each series. */
+    private final int[] groups;
+
+    /**
+     * The running totals for each group (element {@code 2g} holds the
+     * positive totals and element {@code 2g + 1} the negative totals for
+     * group {@code g}), indexed by item.
+     */
+    private final double[][] running;
+
+    /**
+     * For each item, the series that the running totals have reached (the
+     * totals include the values of all the series before it).
+     */
+    private final int[] cursor;
+
+    /**
+     * The total of the included values for each item ({@code null} unless
+     * the values are stacked as percentages).
+     */
+    private final double[] totals;
+
+    /**
+     * Creates the buffers.
+     *
+     * @param categoryDataset  the category dataset ({@code null} permitted).
+     * @param tableDataset  the table XY dataset ({@code null} permitted).
+     * @param seriesCount  the series count.
+     * @param itemCount  the item count.
+     * @param series  the indices of the series included in the stack
+     *     ({@code null} for all series).
+     * @param groups  the group index for each series ({@code null} if all
+     *     the series belong to a single group).
+     * @param percentages  calculate totals?
+     */
+    private StackBuffers(CategoryDataset<?, ?> categoryDataset,
+            TableXYDataset<?> tableDataset, int seriesCount, int itemCount,
+            int[] series, int[] groups, boolean percentages) {
+        this.categoryDataset = categoryDataset;
+        this.tableDataset = tableDataset;
+        this.seriesCount = seriesCount;
+        this.itemCount = itemCount;
+        this.included = new boolean[seriesCount];
+        if (series == null) {
+            Arrays.fill(this.included, true);
+        } else {
+            for (int s : series) {
+                if (s >= 0 && s < seriesCount) {
+                    this.included[s] = true;
+                }
+            }
+        }
+        this.groups = new int[seriesCount];
+        int groupCount = 1;
+        if (groups != null) {
+            for (int s = 0; s < Math.min(seriesCount, groups.length); s++) {
+                this.groups[s] = Math.max(groups[s], 0);
+                groupCount = Math.max(groupCount, this.groups[s] + 1);
+            }
+        }
+        this.running = new double[groupCount * 2][itemCount];
+        this.cursor = new int[itemCount];
+        this.totals = percentages ? new double[itemCount] : null;
+        if (percentages) {
+            for (int s = 0; s < seriesCount; s++) {
+                if (this.included[s]) {
+                    for (int i = 0; i < itemCount; i++) {
+                        double v = value(s, i);
+                        if (!Double.isNaN(v)) {
+                            this.totals[i] += v;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the stack buffers for a category dataset, where the rows
+     * are the series and the columns are the items.
+     *
+     * @param dataset  the dataset ({@code null} not permitted).
+     * @param rows  the indices of the rows included in the stack
+     *     ({@code null} for all rows).
+     * @param groups  the group index for each row ({@code null} if all the
+     *     rows belong to a single group).
+     * @param percentages  if {@code true}, each value is divided by the
+     *     total of the included values in the same column.
+     *
+     * @return The stack buffers.
+     */
+    public static StackBuffers create(CategoryDataset<?, ?> dataset,
+            int[] rows, int[] groups, boolean percentages) {
+        Args.nullNotPermitted(dataset, "dataset");
+        return new StackBuffers(dataset, null, dataset.getRowCount(),
+                dataset.getColumnCount(), rows, groups, percentages);
+    }
+
+    /**
+     * Creates the stack buffers for a table XY dataset.
+     *
+     * @param dataset  the dataset ({@code null} not permitted).
+     * @param series  the indices of the series included in the stack
+     *     ({@code null} for all series).
+     * @param percentages  if {@code true}, each value is divided by the
+     *     total of the included values for the same item.
+     *
+     * @return The stack buffers.
+     */
+    public static StackBuffers create(TableXYDataset<?> dataset,
+            int[] series, boolean percentages) {
+        Args.nullNotPermitted(dataset, "dataset");
+        return new StackBuffers(null, dataset, dataset.getSeriesCount(),
+                dataset.getItemCount(), series, null, percentages);
+    }
+
+    /**
+     * Returns the value for an item in the dataset.
+     *
+     * @param series  the series (row) index.
+     * @param item  the item (column) index.
+     *
+     * @return The value ({@code Double.NaN} if it is missing).
+     */
+    private double value(int series, int item) {
+        if (this.categoryDataset != null) {
+            Number n = this.categoryDataset.getValue(series, item);
+            return (n != null) ? n.doubleValue() : Double.NaN;
+        }
+        return this.tableDataset.getYValue(series, item);
+    }
+
+    /**
+     * Returns the value that a series adds to the stack for an item.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The value ({@code Double.NaN} if the series is not included
+     *     or the value is missing).
+     */
+    private double stackValue(int series, int item) {
+        if (!this.included[series]) {
+            return Double.NaN;
+        }
+        double v = value(series, item);
+        if (this.totals != null) {
+            v = v / this.totals[item];
+        }
+        return v;
+    }
+
+    /**
+     * Moves the running totals for an item to the specified series, so that
+     * they hold the values of all the earlier included series.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     */
+    private void moveTo(int series, int item) {
+        if (series < 0 || series >= this.seriesCount) {
+            throw new IndexOutOfBoundsException("Invalid series: " + series);
+        }
+        int s = this.cursor[item];
+        while (s < series) {
+            double v = stackValue(s, item);
+            if (v > 0.0) {
+                this.running[2 * this.groups[s]][item] += v;
+            } else if (v < 0.0) {
+                this.running[2 * this.groups[s] + 1][item] += v;
+            }
+            s++;
+        }
+        while (s > series) {
+            s--;
+            double v = stackValue(s, item);
+            if (v > 0.0) {
+                this.running[2 * this.groups[s]][item] -= v;
+            } else if (v < 0.0) {
+                this.running[2 * this.groups[s] + 1][item] -= v;
+            }
+        }
+        if (series == 0) {
+            // remove any rounding left over from the subtractions
+            for (double[] t : this.running) {
+                t[item] = 0.0;
+            }
+        }
+        this.cursor[item] = s;
+    }
+
+    /**
+     * Returns {@code true} if these buffers were created for the
+     * specified dataset and its size has not changed since.
+     *
+     * @param dataset  the dataset ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    public boolean isFor(CategoryDataset<?, ?> dataset) {
+        return dataset != null && dataset == this.categoryDataset
+                && dataset.getRowCount() == this.seriesCount
+                && dataset.getColumnCount() == this.itemCount;
+    }
+
+    /**
+     * Returns {@code true} if these buffers were created for the
+     * specified dataset and its size has not changed since.
+     *
+     * @param dataset  the dataset ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    public boolean isFor(TableXYDataset<?> dataset) {
+        return dataset != null && dataset == this.tableDataset
+                && dataset.getSeriesCount() == this.seriesCount
+                && dataset.getItemCount() == this.itemCount;
+    }
+
+    /**
+     * Returns the number of series (rows).
+     *
+     * @return The series count.
+     */
+    public int getSeriesCount() {
+        return this.seriesCount;
+    }
+
+    /**
+     * Returns the number of items (columns).
+     *
+     * @return The item count.
+     */
+    public int getItemCount() {
+        return this.itemCount;
+    }
+
+    /**
+     * Returns the sum of the positive values for the specified item in all
+     * the included series, in the same group, before {@code series}.
+     *
+     * @param series  the series (row) index.
+     * @param item  the item (column) index.
+     *
+     * @return The positive base (zero or greater).
+     */
+    public double getPositiveBase(int series, int item) {
+        moveTo(series, item);
+        return this.running[2 * this.groups[series]][item];
+    }
+
+    /**
+     * Returns the sum of the negative values for the specified item in all
+     * the included series, in the same group, before {@code series}.
+     *
+     * @param series  the series (row) index.
+     * @param item  the item (column) index.
+     *
+     * @return The negative base (zero or less).
+     */
+    public double getNegativeBase(int series, int item) {
+        moveTo(series, item);
+        return this.running[2 * this.groups[series] + 1][item];
+    }
+
+    /**
+     * Returns the total of the included values for an item.  This is only
+     * available when the buffers are calculated for percentages.
+     *
+     * @param item  the item (column) index.
+     *
+     * @return The total.
+     */
+    public double getTotal(int item) {
+        if (this.totals == null) {
+            throw new IllegalStateException("Totals are only calculated "
+                    + "for percentages.");
+        }
+        return this.totals[item];
+    }
+
+    /**
+     * Returns the range of the stacked values, or {@code null} if there are
+     * no items.  The range always includes zero.  This reads every value in
+     * the dataset (without changing the running totals).
+     *
+     * @return The range (possibly {@code null}).
+     */
+    public Range getRange() {
+        if (this.itemCount == 0) {
+            return null;
+        }
+        double minimum = 0.0;
+        double maximum = 0.0;
+        double[] sums = new double[this.running.length];
+        for (int i = 0; i < this.itemCount; i++) {
+            Arrays.fill(sums, 0.0);
+            for (int s = 0; s < this.seriesCount; s++) {
+                double v = stackValue(s, i);
+                if (v > 0.0) {
+                    sums[2 * this.groups[s]] += v;
+                    maximum = Math.max(maximum, sums[2 * this.groups[s]]);
+                } else if (v < 0.0) {
+                    sums[2 * this.groups[s] + 1] += v;
+                    minimum = Math.min(minimum, sums[2 * this.groups[s] + 1]);
+                }
+            }
+        }
+        return new Range(minimum, maximum);
+    }
+
+}
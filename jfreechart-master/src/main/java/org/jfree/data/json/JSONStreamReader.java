@@ -0,0 +1,547 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------
+ * JSONStreamReader.java
+ * ---------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+import org.jfree.chart.internal.Args;
+
+/**
+ * A pull-style JSON tokenizer that reads directly from a {@link Reader}
+ * through a fixed size buffer.  No document tree is built: the caller asks
+ * for the next array, object, name or value and the reader consumes just
+ * enough input to return it, so arbitrarily large documents can be read in
+ * constant memory.
+ * <br><br>
+ * Elements of arrays and members of objects are visited with
+ * {@link #hasNext()}, which also consumes the separating commas:
+ * <pre>
+ * reader.beginArray();
+ * while (reader.hasNext()) {
+ *     double d = reader.nextDouble();
+ * }
+ * reader.endArray();
+ * </pre>
+ * Syntax errors are reported as an {@link IOException} that includes the
+ * character offset of the problem.
+ */
+final class JSONStreamReader {
+
+    /** The size of the character buffer. */
+    private static final int BUFFER_SIZE = 8192;
+
+    /** The nesting state for a container that has no elements yet. */
+    private static final int EMPTY = 0;
+
+    /** The nesting state for a container that has at least one element. */
+    private static final int NONEMPTY = 1;
+
+    /** The source of the characters. */
+    private final Reader in;
+
+    /** The character buffer. */
+    private final char[] buffer = new char[BUFFER_SIZE];
+
+    /** The position of the next character in the buffer. */
+    private int pos;
+
+    /** The number of valid characters in the buffer. */
+    private int limit;
+
+    /** The number of characters consumed before the current buffer. */
+    private long offset;
+
+    /** The nesting stack (one entry per open array or object). */
+    private int[] stack = new int[16];
+
+    /** The current nesting depth. */
+    private int depth;
+
+    /**
+     * A flag that records that {@link #hasNext()} has already consumed the
+     * separator for the next element.
+     */
+    private boolean separated;
+
+    /** A reusable buffer for strings and numbers. */
+    private final StringBuilder scratch = new StringBuilder();
+
+    /**
+     * Creates a new reader.
+     *
+     * @param in  the character source ({@code null} not permitted).
+     */
+    JSONStreamReader(Reader in) {
+        Args.nullNotPermitted(in, "in");
+        this.in = in;
+    }
+
+    /**
+     * Consumes the start of an array.
+     *
+     * @throws IOException if there is an I/O problem or the next token is
+     *     not the start of an array.
+     */
+    void beginArray() throws IOException {
+        expect('[');
+        push();
+    }
+
+    /**
+     * Consumes the end of an array.
+     *
+     * @throws IOException if there is an I/O problem or the next token is
+     *     not the end of an array.
+     */
+    void endArray() throws IOException {
+        expect(']');
+        pop();
+    }
+
+    /**
+     * Consumes the start of an object.
+     *
+     * @throws IOException if there is an I/O problem or the next token is
+     *     not the start of an object.
+     */
+    void beginObject() throws IOException {
+        expect('{');
+        push();
+    }
+
+    /**
+     * Consumes the end of an object.
+     *
+     * @throws IOException if there is an I/O problem or the next token is
+     *     not the end of an object.
+     */
+    void endObject() throws IOException {
+        expect('}');
+        pop();
+    }
+
+    /**
+     * Returns {@code true} if the current array or object has another
+     * element, consuming the comma that precedes it if necessary.  Calling
+     * this method repeatedly without reading the element is harmless.
+     *
+     * @return A boolean.
+     *
+     * @throws IOException if there is an I/O problem or a syntax error.
+     */
+    boolean hasNext() throws IOException {
+        if (this.separated) {
+            return true;
+        }
+        int c = peekNonWhitespace();
+        if (c == ']' || c == '}') {
+            return false;
+        }
+        if (c == -1) {
+            throw syntaxError("Unexpected end of input");
+        }
+        if (this.depth > 0 && this.stack[this.depth - 1] == NONEMPTY) {
+            if (c != ',') {
+                throw syntaxError("Expected ',' but found '" + (char) c + "'");
+            }
+            this.pos++;
+            if (peekNonWhitespace() == -1) {
+                throw syntaxError("Unexpected end of input");
+            }
+        }
+        if (this.depth > 0) {
+            this.stack[this.depth - 1] = NONEMPTY;
+        }
+        this.separated = true;
+        return true;
+    }
+
+    /**
+     * Checks that the current array has another element, consuming the
+     * comma that precedes it if necessary.
+     *
+     * @param description  a description of the element, for the error
+     *     message.
+     *
+     * @throws IOException if there is an I/O problem, a syntax error or the
+     *     array has no more elements.
+     */
+    void nextElement(String description) throws IOException {
+        if (!hasNext()) {
+            throw syntaxError("Expected " + description
+                    + " but found the end of the array");
+        }
+    }
+
+    /**
+     * Consumes an object member name and the colon that follows it.
+     *
+     * @return The name.
+     *
+     * @throws IOException if there is an I/O problem or a syntax error.
+     */
+    String nextName() throws IOException {
+        String name = nextString();
+        expect(':');
+        return name;
+    }
+
+    /**
+     * Returns {@code true} if the next value is the literal {@code null},
+     * without consuming it.
+     *
+     * @return A boolean.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    boolean peekNull() throws IOException {
+        return peekNonWhitespace() == 'n';
+    }
+
+    /**
+     * Consumes the literal {@code null}.
+     *
+     * @throws IOException if there is an I/O problem or the next value is
+     *     not {@code null}.
+     */
+    void nextNull() throws IOException {
+        expectLiteral("null");
+    }
+
+    /**
+     * Consumes a string value.
+     *
+     * @return The string.
+     *
+     * @throws IOException if there is an I/O problem or the next value is
+     *     not a string.
+     */
+    String nextString() throws IOException {
+        expect('"');
+        StringBuilder sb = this.scratch;
+        sb.setLength(0);
+        while (true) {
+            if (this.pos == this.limit && !fill()) {
+                throw syntaxError("Unterminated string");
+            }
+            // copy runs of plain characters in one go
+            int start = this.pos;
+            while (this.pos < this.limit) {
+                char c = this.buffer[this.pos];
+                if (c == '"' || c == '\\') {
+                    break;
+                }
+                this.pos++;
+            }
+            sb.append(this.buffer, start, this.pos - start);
+            if (this.pos == this.limit) {
+                continue;
+            }
+            char c = this.buffer[this.pos++];
+            if (c == '"') {
+                return sb.toString();
+            }
+            sb.append(readEscape());
+        }
+    }
+
+    /**
+     * Consumes a number value.
+     *
+     * @return The number.
+     *
+     * @throws IOException if there is an I/O problem or the next value is
+     *     not a number.
+     */
+    double nextDouble() throws IOException {
+        int c = peekNonWhitespace();
+        if (c != '-' && (c < '0' || c > '9')) {
+            throw syntaxError("Expected a number");
+        }
+        this.separated = false;
+        StringBuilder sb = this.scratch;
+        sb.setLength(0);
+        while (true) {
+            if (this.pos == this.limit && !fill()) {
+                break;
+            }
+            char ch = this.buffer[this.pos];
+            if ((ch >= '0' && ch <= '9') || ch == '-' || ch == '+'
+                    || ch == '.' || ch == 'e' || ch == 'E') {
+                sb.append(ch);
+                this.pos++;
+            } else {
+                break;
+            }
+        }
+        try {
+            return Double.parseDouble(sb.toString());
+        } catch (NumberFormatException e) {
+            throw syntaxError("Malformed number '" + sb + "'");
+        }
+    }
+
+    /**
+     * Consumes a number value or {@code null}.
+     *
+     * @return The number (possibly {@code null}).
+     *
+     * @throws IOException if there is an I/O problem or the next value is
+     *     neither a number nor {@code null}.
+     */
+    Double nextNullableDouble() throws IOException {
+        if (peekNull()) {
+            nextNull();
+            return null;
+        }
+        return nextDouble();
+    }
+
+    /**
+     * Consumes and discards the next value, including any nested arrays
+     * and objects.
+     *
+     * @throws IOException if there is an I/O problem or a syntax error.
+     */
+    void skipValue() throws IOException {
+        int c = peekNonWhitespace();
+        switch (c) {
+            case '[':
+                beginArray();
+                while (hasNext()) {
+                    skipValue();
+                }
+                endArray();
+                break;
+            case '{':
+                beginObject();
+                while (hasNext()) {
+                    nextName();
+                    skipValue();
+                }
+                endObject();
+                break;
+            case '"':
+                nextString();
+                break;
+            case 't':
+                expectLiteral("true");
+                break;
+            case 'f':
+                expectLiteral("false");
+                break;
+            case 'n':
+                nextNull();
+                break;
+            default:
+                nextDouble();
+        }
+    }
+
+    /**
+     * Checks that only whitespace remains in the input.
+     *
+     * @throws IOException if there is an I/O problem or trailing content.
+     */
+    void endDocument() throws IOException {
+        if (peekNonWhitespace() != -1) {
+            throw syntaxError("Unexpected content after the end of the "
+                    + "document");
+        }
+    }
+
+    /**
+     * Skips whitespace and consumes the specified character.
+     *
+     * @param expected  the expected character.
+     *
+     * @throws IOException if there is an I/O problem or the next character
+     *     is not the one expected.
+     */
+    private void expect(char expected) throws IOException {
+        int c = peekNonWhitespace();
+        if (c != expected) {
+            throw syntaxError("Expected '" + expected + "' but found "
+                    + (c == -1 ? "end of input" : "'" + (char) c + "'"));
+        }
+        this.pos++;
+        this.separated = false;
+    }
+
+    /**
+     * Consumes a literal ({@code true}, {@code false} or {@code null}).
+     *
+     * @param literal  the literal.
+     *
+     * @throws IOException if there is an I/O problem or the input does not
+     *     match.
+     */
+    private void expectLiteral(String literal) throws IOException {
+        peekNonWhitespace();
+        for (int i = 0; i < literal.length(); i++) {
+            if (this.pos == this.limit && !fill()) {
+                throw syntaxError("Unexpected end of input");
+            }
+            if (this.buffer[this.pos] != literal.charAt(i)) {
+                throw syntaxError("Expected '" + literal + "'");
+            }
+            this.pos++;
+        }
+        this.separated = false;
+    }
+
+    /**
+     * Reads the remainder of an escape sequence (the backslash has already
+     * been consumed).
+     *
+     * @return The escaped character.
+     *
+     * @throws IOException if there is an I/O problem or a malformed escape.
+     */
+    private char readEscape() throws IOException {
+        int c = read();
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return (char) c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int result = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(read(), 16);
+                    if (digit < 0) {
+                        throw syntaxError("Malformed unicode escape");
+                    }
+                    result = (result << 4) | digit;
+                }
+                return (char) result;
+            default:
+                throw syntaxError("Invalid escape sequence");
+        }
+    }
+
+    /**
+     * Consumes and returns the next character.
+     *
+     * @return The character.
+     *
+     * @throws IOException if there is an I/O problem or no more input.
+     */
+    private int read() throws IOException {
+        if (this.pos == this.limit && !fill()) {
+            throw syntaxError("Unexpected end of input");
+        }
+        return this.buffer[this.pos++];
+    }
+
+    /**
+     * Skips whitespace and returns the next character without consuming it.
+     *
+     * @return The next character, or -1 at the end of the input.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private int peekNonWhitespace() throws IOException {
+        while (true) {
+            if (this.pos == this.limit && !fill()) {
+                return -1;
+            }
+            char c = this.buffer[this.pos];
+            if (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                this.pos++;
+            } else {
+                return c;
+            }
+        }
+    }
+
+    /**
+     * Refills the buffer.
+     *
+     * @return {@code false} if the end of the input has been reached.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private boolean fill() throws IOException {
+        this.offset += this.limit;
+        this.pos = 0;
+        this.limit = 0;
+        int n = this.in.read(this.buffer, 0, this.buffer.length);
+        if (n <= 0) {
+            return false;
+        }
+        this.limit = n;
+        return true;
+    }
+
+    private void push() {
+        if (this.depth == this.stack.length) {
+            this.stack = Arrays.copyOf(this.stack, this.depth * 2);
+        }
+        this.stack[this.depth++] = EMPTY;
+    }
+
+    private void pop() {
+        this.depth--;
+    }
+
+    /**
+     * Creates an exception describing a syntax error at the current
+     * position.
+     *
+     * @param message  the message.
+     *
+     * @return The exception.
+     */
+    private IOException syntaxError(String message) {
+        return new IOException(message + " at character "
+                + (this.offset + this.pos) + ".");
+    }
+
+}
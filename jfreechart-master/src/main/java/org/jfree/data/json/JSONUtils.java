@@ -40,16 +40,37 @@ import org.jfree.chart.internal.Args;
 import org.jfree.data.KeyedValues;
 import org.jfree.data.KeyedValues2D;
 import org.jfree.data.category.CategoryDataset;
+import org.jfree.data.category.DefaultCategoryDataset;
 import org.jfree.data.general.PieDataset;
 import org.jfree.data.json.impl.JSONValue;
+import org.jfree.data.time.RegularTimePeriod;
+import org.jfree.data.time.TimeSeries;
+import org.jfree.data.time.TimeSeriesCollection;
+import org.jfree.data.xy.XYDataset;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
 import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
 
 /**
  * A utility class that can read and write data in specific JSON formats.
+ * <br><br>
+ * The {@code read} methods are streaming: values are parsed from the
+ * supplied {@link Reader} token by token and added directly to the target
+ * dataset, without building an intermediate document tree, so large
+ * payloads can be loaded without holding anything beyond the dataset itself
+ * in memory.  The {@code write} methods likewise write each value straight
+ * to the supplied {@link Writer}.
  * 
  * @since 1.0.20
  */
@@ -103,9 +124,9 @@ public class JSONUtils {
                 first = false;
             }
             writer.write("[");
-            writer.write(JSONValue.toJSONString(key.toString()));
+            writeString(key.toString(), writer);
             writer.write(", ");
-            writer.write(JSONValue.toJSONString(data.getValue(key)));
+            writeNumber(data.getValue(key), writer);
             writer.write("]");
         }
         writer.write("]");
@@ -159,7 +180,7 @@ public class JSONUtils {
                 } else {
                     first = false;
                 }
-                writer.write(JSONValue.toJSONString(columnKey.toString()));
+                writeString(columnKey.toString(), writer);
             }
             writer.write("]");
         }
@@ -174,7 +195,7 @@ public class JSONUtils {
                     firstRow = false;
                 }
                 // write the row data 
-                writer.write(JSONValue.toJSONString(rowKey.toString()));
+                writeString(rowKey.toString(), writer);
                 writer.write(", [");
                 boolean first = true;
                 for (Comparable<?> columnKey : columnKeys) {
@@ -183,8 +204,7 @@ public class JSONUtils {
                     } else {
                         first = false;
                     }
-                    writer.write(JSONValue.toJSONString(data.getValue(rowKey, 
-                            columnKey)));
+                    writeNumber(data.getValue(rowKey, columnKey), writer);
                 }
                 writer.write("]]");
             }
@@ -192,5 +212,568 @@ public class JSONUtils {
         }
         writer.write("}");    
     }
-    
+
+    /**
+     * Returns a string containing the data in JSON format.  The format is
+     * an object with a single {@code "series"} member, an array holding one
+     * object per series.  Each series object has a {@code "key"} and an
+     * {@code "items"} array of {@code [x, y]} pairs, for example:
+     * {@code {"series": [{"key": "S1", "items": [[1.0, 2.0], [2.0, null]]}]}}
+     * <br><br>
+     * Y-values that are {@code NaN} or infinite are written as {@code null}.
+     * Items with an x-value that is {@code NaN} or infinite are skipped,
+     * since they could not be read back.
+     *
+     * @param data  the data ({@code null} not permitted).
+     *
+     * @return A string in JSON format.
+     *
+     * @since 2.0
+     */
+    public static String writeXYDataset(XYDataset<?> data) {
+        Args.nullNotPermitted(data, "data");
+        StringWriter sw = new StringWriter();
+        try {
+            writeXYDataset(data, sw);
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+        return sw.toString();
+    }
+
+    /**
+     * Writes the data in JSON format to the supplied writer (see
+     * {@link #writeXYDataset(XYDataset)} for the format).
+     *
+     * @param data  the data ({@code null} not permitted).
+     * @param writer  the writer ({@code null} not permitted).
+     *
+     * @throws IOException if there is an I/O problem.
+     *
+     * @since 2.0
+     */
+    public static void writeXYDataset(XYDataset<?> data, Writer writer)
+            throws IOException {
+        Args.nullNotPermitted(data, "data");
+        Args.nullNotPermitted(writer, "writer");
+        writer.write("{\"series\": [");
+        for (int s = 0; s < data.getSeriesCount(); s++) {
+            if (s > 0) {
+                writer.write(", ");
+            }
+            writer.write("{\"key\": ");
+            writeString(data.getSeriesKey(s).toString(), writer);
+            writer.write(", \"items\": [");
+            int itemCount = data.getItemCount(s);
+            boolean first = true;
+            for (int i = 0; i < itemCount; i++) {
+                double x = data.getXValue(s, i);
+                if (Double.isNaN(x) || Double.isInfinite(x)) {
+                    continue;
+                }
+                if (!first) {
+                    writer.write(", ");
+                }
+                first = false;
+                writer.write("[");
+                writeDouble(x, writer);
+                writer.write(", ");
+                writeDouble(data.getYValue(s, i), writer);
+                writer.write("]");
+            }
+            writer.write("]}");
+        }
+        writer.write("]}");
+    }
+
+    /**
+     * Reads a dataset in the format written by
+     * {@link #writeXYDataset(XYDataset, Writer)}.
+     *
+     * @param reader  the reader ({@code null} not permitted).
+     *
+     * @return The dataset (never {@code null}).
+     *
+     * @throws IOException if there is an I/O problem or the input is not in
+     *     the expected format.
+     *
+     * @since 2.0
+     */
+    public static XYSeriesCollection<String> readXYDataset(Reader reader)
+            throws IOException {
+        XYSeriesCollection<String> result = new XYSeriesCollection<>();
+        readXYDataset(reader, result);
+        return result;
+    }
+
+    /**
+     * Reads series in the format written by
+     * {@link #writeXYDataset(XYDataset, Writer)} and adds them to the target
+     * dataset.  Each series is filled before it is added to the target, so
+     * listeners receive one change event per series rather than one per
+     * item.  Within a series object the {@code "key"} member must precede
+     * the {@code "items"} member.
+     *
+     * @param reader  the reader ({@code null} not permitted).
+     * @param target  the dataset to add the series to ({@code null} not
+     *     permitted).
+     *
+     * @throws IOException if there is an I/O problem or the input is not in
+     *     the expected format.
+     *
+     * @since 2.0
+     */
+    public static void readXYDataset(Reader reader,
+            XYSeriesCollection<String> target) throws IOException {
+        Args.nullNotPermitted(reader, "reader");
+        Args.nullNotPermitted(target, "target");
+        JSONStreamReader in = new JSONStreamReader(reader);
+        in.beginObject();
+        while (in.hasNext()) {
+            if (!"series".equals(in.nextName())) {
+                in.skipValue();
+                continue;
+            }
+            in.beginArray();
+            while (in.hasNext()) {
+                XYSeries<String> series = null;
+                in.beginObject();
+                while (in.hasNext()) {
+                    String name = in.nextName();
+                    if ("key".equals(name)) {
+                        series = new XYSeries<>(in.nextString());
+                    } else if ("items".equals(name)) {
+                        if (series == null) {
+                            throw new IOException(
+                                    "Series \"items\" found before \"key\".");
+                        }
+                        in.beginArray();
+                        while (in.hasNext()) {
+                            in.beginArray();
+                            in.nextElement("an item x-value");
+                            double x = in.nextDouble();
+                            in.nextElement("an item y-value");
+                            Double y = in.nextNullableDouble();
+                            in.endArray();
+                            series.add(x, y, false);
+                        }
+                        in.endArray();
+                    } else {
+                        in.skipValue();
+                    }
+                }
+                in.endObject();
+                if (series == null) {
+                    throw new IOException("Series without a \"key\".");
+                }
+                target.addSeries(series);
+            }
+            in.endArray();
+        }
+        in.endObject();
+        in.endDocument();
+    }
+
+    /**
+     * Writes the data in JSON format to the supplied writer, using the
+     * default time zone to convert time periods to milliseconds (see
+     * {@link #writeTimeSeriesCollection(TimeSeriesCollection, Writer,
+     * TimeZone)}).
+     *
+     * @param data  the data ({@code null} not permitted).
+     * @param writer  the writer ({@code null} not permitted).
+     *
+     * @throws IOException if there is an I/O problem.
+     *
+     * @since 2.0
+     */
+    public static void writeTimeSeriesCollection(TimeSeriesCollection<?> data,
+            Writer writer) throws IOException {
+        writeTimeSeriesCollection(data, writer, TimeZone.getDefault());
+    }
+
+    /**
+     * Writes the data in JSON format to the supplied writer.  The format
+     * is the same as for {@link #writeXYDataset(XYDataset)}, with each
+     * series object also carrying a {@code "timePeriod"} member that names
+     * the time period class (for example {@code "Day"}) and the x-value of
+     * each item being the first millisecond of its time period in the
+     * specified time zone, for example:
+     * {@code {"series": [{"key": "S1", "timePeriod": "Day",
+     * "items": [[1640995200000, 1.0]]}]}}
+     *
+     * @param data  the data ({@code null} not permitted).
+     * @param writer  the writer ({@code null} not permitted).
+     * @param zone  the time zone ({@code null} not permitted).
+     *
+     * @throws IOException if there is an I/O problem.
+     *
+     * @since 2.0
+     */
+    public static void writeTimeSeriesCollection(TimeSeriesCollection<?> data,
+            Writer writer, TimeZone zone) throws IOException {
+        Args.nullNotPermitted(data, "data");
+        Args.nullNotPermitted(writer, "writer");
+        Args.nullNotPermitted(zone, "zone");
+        Calendar calendar = Calendar.getInstance(zone);
+        writer.write("{\"series\": [");
+        boolean first = true;
+        for (TimeSeries<?> series : data.getSeries()) {
+            if (!first) {
+                writer.write(", ");
+            } else {
+                first = false;
+            }
+            writer.write("{\"key\": ");
+            writeString(series.getKey().toString(), writer);
+            Class<?> periodClass = series.getTimePeriodClass();
+            if (periodClass != null) {
+                writer.write(", \"timePeriod\": ");
+                writeString(periodClass.getSimpleName(), writer);
+            }
+            writer.write(", \"items\": [");
+            int itemCount = series.getItemCount();
+            for (int i = 0; i < itemCount; i++) {
+                if (i > 0) {
+                    writer.write(", ");
+                }
+                writer.write("[");
+                writer.write(Long.toString(
+                        series.getTimePeriod(i).getFirstMillisecond(calendar)));
+                writer.write(", ");
+                writeNumber(series.getValue(i), writer);
+                writer.write("]");
+            }
+            writer.write("]}");
+        }
+        writer.write("]}");
+    }
+
+    /**
+     * Reads a dataset in the format written by
+     * {@link #writeTimeSeriesCollection(TimeSeriesCollection, Writer)},
+     * using the default time zone.
+     *
+     * @param reader  the reader ({@code null} not permitted).
+     *
+     * @return The dataset (never {@code null}).
+     *
+     * @throws IOException if there is an I/O problem or the input is not in
+     *     the expected format.
+     *
+     * @since 2.0
+     */
+    public static TimeSeriesCollection<String> readTimeSeriesCollection(
+            Reader reader) throws IOException {
+        TimeZone zone = TimeZone.getDefault();
+        TimeSeriesCollection<String> result = new TimeSeriesCollection<>(zone);
+        readTimeSeriesCollection(reader, result, zone);
+        return result;
+    }
+
+    /**
+     * Reads series in the format written by
+     * {@link #writeTimeSeriesCollection(TimeSeriesCollection, Writer,
+     * TimeZone)} and adds them to the target dataset.  Each series is filled
+     * before it is added to the target, so listeners receive one change
+     * event per series.  Within a series object the {@code "key"} and
+     * {@code "timePeriod"} members must precede the {@code "items"} member.
+     *
+     * @param reader  the reader ({@code null} not permitted).
+     * @param target  the dataset to add the series to ({@code null} not
+     *     permitted).
+     * @param zone  the time zone used to map milliseconds to time periods
+     *     ({@code null} not permitted).
+     *
+     * @throws IOException if there is an I/O problem or the input is not in
+     *     the expected format.
+     *
+     * @since 2.0
+     */
+    public static void readTimeSeriesCollection(Reader reader,
+            TimeSeriesCollection<String> target, TimeZone zone)
+            throws IOException {
+        Args.nullNotPermitted(reader, "reader");
+        Args.nullNotPermitted(target, "target");
+        Args.nullNotPermitted(zone, "zone");
+        Locale locale = Locale.getDefault();
+        JSONStreamReader in = new JSONStreamReader(reader);
+        in.beginObject();
+        while (in.hasNext()) {
+            if (!"series".equals(in.nextName())) {
+                in.skipValue();
+                continue;
+            }
+            in.beginArray();
+            while (in.hasNext()) {
+                TimeSeries<String> series = null;
+                Constructor<?> periodConstructor = null;
+                in.beginObject();
+                while (in.hasNext()) {
+                    String name = in.nextName();
+                    if ("key".equals(name)) {
+                        series = new TimeSeries<>(in.nextString());
+                    } else if ("timePeriod".equals(name)) {
+                        periodConstructor = timePeriodConstructor(
+                                in.nextString());
+                    } else if ("items".equals(name)) {
+                        if (series == null || periodConstructor == null) {
+                            throw new IOException("Series \"items\" found "
+                                    + "before \"key\" and \"timePeriod\".");
+                        }
+                        in.beginArray();
+                        while (in.hasNext()) {
+                            in.beginArray();
+                            in.nextElement("an item time period");
+                            long millis = (long) in.nextDouble();
+                            in.nextElement("an item value");
+                            Double y = in.nextNullableDouble();
+                            in.endArray();
+                            series.add(createTimePeriod(periodConstructor,
+                                    millis, zone, locale), y, false);
+                        }
+                        in.endArray();
+                    } else {
+                        in.skipValue();
+                    }
+                }
+                in.endObject();
+                if (series == null) {
+                    throw new IOException("Series without a \"key\".");
+                }
+                target.addSeries(series);
+            }
+            in.endArray();
+        }
+        in.endObject();
+        in.endDocument();
+    }
+
+    /**
+     * Reads a dataset in the format written by
+     * {@link #writeKeyedValues2D(KeyedValues2D, Writer)}.
+     *
+     * @param reader  the reader ({@code null} not permitted).
+     *
+     * @return The dataset (never {@code null}).
+     *
+     * @throws IOException if there is an I/O problem or the input is not in
+     *     the expected format.
+     *
+     * @since 2.0
+     */
+    public static DefaultCategoryDataset<String, String> readCategoryDataset(
+            Reader reader) throws IOException {
+        DefaultCategoryDataset<String, String> result
+                = new DefaultCategoryDataset<>();
+        readCategoryDataset(reader, result);
+        return result;
+    }
+
+    /**
+     * Reads data in the format written by
+     * {@link #writeKeyedValues2D(KeyedValues2D, Writer)} and adds each value
+     * to the target dataset as it is parsed.  Change notifications are
+     * suspended while reading and a single {@code DatasetChangeEvent} is
+     * sent at the end.  The {@code "columnKeys"} member must precede the
+     * {@code "rows"} member.
+     *
+     * @param reader  the reader ({@code null} not permitted).
+     * @param target  the dataset to add the values to ({@code null} not
+     *     permitted).
+     *
+     * @throws IOException if there is an I/O problem or the input is not in
+     *     the expected format.
+     *
+     * @since 2.0
+     */
+    public static void readCategoryDataset(Reader reader,
+            DefaultCategoryDataset<String, String> target) throws IOException {
+        Args.nullNotPermitted(reader, "reader");
+        Args.nullNotPermitted(target, "target");
+        JSONStreamReader in = new JSONStreamReader(reader);
+        List<String> columnKeys = new ArrayList<>();
+        boolean notify = target.getNotify();
+        target.setNotify(false);
+        try {
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if ("columnKeys".equals(name)) {
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        columnKeys.add(in.nextString());
+                    }
+                    in.endArray();
+                } else if ("rows".equals(name)) {
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        in.beginArray();
+                        in.nextElement("a row key");
+                        String rowKey = in.nextString();
+                        in.nextElement("the values for row \"" + rowKey
+                                + "\"");
+                        in.beginArray();
+                        int column = 0;
+                        while (in.hasNext()) {
+                            if (column >= columnKeys.size()) {
+                                throw new IOException("Row \"" + rowKey
+                                        + "\" has more values than there "
+                                        + "are column keys.");
+                            }
+                            target.addValue(in.nextNullableDouble(), rowKey,
+                                    columnKeys.get(column++));
+                        }
+                        in.endArray();
+                        in.endArray();
+                    }
+                    in.endArray();
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            in.endDocument();
+        } finally {
+            target.setNotify(notify);
+        }
+    }
+
+    /**
+     * Returns the constructor for the named time period class.
+     *
+     * @param name  the simple name of a {@link RegularTimePeriod} subclass
+     *     in the {@code org.jfree.data.time} package.
+     *
+     * @return The constructor.
+     *
+     * @throws IOException if the name does not identify a time period class.
+     */
+    private static Constructor<?> timePeriodConstructor(String name)
+            throws IOException {
+        try {
+            Class<?> c = Class.forName("org.jfree.data.time." + name);
+            if (!RegularTimePeriod.class.isAssignableFrom(c)) {
+                throw new IOException("Unknown time period class '" + name
+                        + "'.");
+            }
+            return c.getDeclaredConstructor(Date.class, TimeZone.class,
+                    Locale.class);
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            throw new IOException("Unknown time period class '" + name
+                    + "'.", e);
+        }
+    }
+
+    /**
+     * Creates the time period containing the specified millisecond.
+     *
+     * @param constructor  the time period constructor.
+     * @param millis  the millisecond.
+     * @param zone  the time zone.
+     * @param locale  the locale.
+     *
+     * @return The time period.
+     *
+     * @throws IOException if the time period cannot be created.
+     */
+    private static RegularTimePeriod createTimePeriod(Constructor<?> constructor,
+            long millis, TimeZone zone, Locale locale) throws IOException {
+        try {
+            return (RegularTimePeriod) constructor.newInstance(
+                    new Date(millis), zone, locale);
+        } catch (ReflectiveOperationException e) {
+            throw new IOException("Cannot create time period for " + millis
+                    + ".", e);
+        }
+    }
+
+    /**
+     * Writes a string in JSON format, escaping characters directly to the
+     * writer.  The escaping matches {@link JSONValue#escape(String)}.
+     *
+     * @param s  the string ({@code null} not permitted).
+     * @param writer  the writer ({@code null} not permitted).
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private static void writeString(String s, Writer writer)
+            throws IOException {
+        writer.write('"');
+        int start = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            String replacement;
+            switch (ch) {
+                case '"':
+                    replacement = "\\\"";
+                    break;
+                case '\\':
+                    replacement = "\\\\";
+                    break;
+                case '\b':
+                    replacement = "\\b";
+                    break;
+                case '\f':
+                    replacement = "\\f";
+                    break;
+                case '\n':
+                    replacement = "\\n";
+                    break;
+                case '\r':
+                    replacement = "\\r";
+                    break;
+                case '\t':
+                    replacement = "\\t";
+                    break;
+                case '/':
+                    replacement = "\\/";
+                    break;
+                default:
+                    if (ch <= '\u001F' || (ch >= '\u007F' && ch <= '\u009F')
+                            || (ch >= '\u2000' && ch <= '\u20FF')) {
+                        replacement = String.format("\\u%04X", (int) ch);
+                    } else {
+                        continue;
+                    }
+            }
+            writer.write(s, start, i - start);
+            writer.write(replacement);
+            start = i + 1;
+        }
+        writer.write(s, start, s.length() - start);
+        writer.write('"');
+    }
+
+    /**
+     * Writes a number in JSON format, writing {@code null} for {@code NaN}
+     * and infinite values.
+     *
+     * @param d  the number.
+     * @param writer  the writer ({@code null} not permitted).
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private static void writeDouble(double d, Writer writer)
+            throws IOException {
+        if (Double.isNaN(d) || Double.isInfinite(d)) {
+            writer.write("null");
+        } else {
+            writer.write(Double.toString(d));
+        }
+    }
+
+    /**
+     * Writes a number in JSON format (see {@link JSONValue#toJSONString}).
+     *
+     * @param n  the number ({@code null} permitted).
+     * @param writer  the writer ({@code null} not permitted).
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private static void writeNumber(Number n, Writer writer)
+            throws IOException {
+        writer.write(JSONValue.toJSONString(n));
+    }
+
 }
@@ -0,0 +1,485 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------------
+ * BoxAndWhiskerSketch.java
+ * ------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.statistics;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jfree.chart.api.PublicCloneable;
+import org.jfree.chart.internal.Args;
+
+/**
+ * Accumulates the statistics for one box-and-whisker item from a stream of
+ * values, using a constant amount of memory.  Quartiles and the median are
+ * estimated with a {@link QuantileSketch}, while the mean, minimum and
+ * maximum are exact.  Outliers are bounded by a reservoir sample of the
+ * values that fell outside the whisker fences when they were added.
+ * <p>
+ * The {@link BoxAndWhiskerItem} is recomputed on read (see
+ * {@link #getItem()}) and cached until the next value is added, so values
+ * can be added continuously.  Two sketches (for example, from different
+ * threads or hosts) can be combined with {@link #merge(BoxAndWhiskerSketch)}.
+ * Instances of this class are not thread-safe.
+ *
+ * @see BoxAndWhiskerCalculator
+ */
+public class BoxAndWhiskerSketch implements Cloneable, PublicCloneable,
+        Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -2870217519625396314L;
+
+    /** The default number of outliers retained. */
+    public static final int DEFAULT_OUTLIER_CAPACITY = 64;
+
+    /** The outlier coefficient (Tukey's default). */
+    private static final double OUTLIER_COEFFICIENT = 1.5;
+
+    /** The farout coefficient. */
+    private static final double FAROUT_COEFFICIENT = 2.0;
+
+    /** The minimum number of values before the fences are estimated. */
+    private static final int MIN_FENCE_COUNT = 32;
+
+    /** The quantile sketch. */
+    private QuantileSketch sketch;
+
+    /** The maximum number of outliers retained. */
+    private final int outlierCapacity;
+
+    /** The reservoir of outlier candidates. */
+    private double[] reservoir;
+
+    /** The number of values in the reservoir. */
+    private int reservoirSize;
+
+    /** The number of outlier candidates seen (for reservoir sampling). */
+    private long candidateCount;
+
+    /** The lower outlier fence used when screening new values. */
+    private double lowerFence;
+
+    /** The upper outlier fence used when screening new values. */
+    private double upperFence;
+
+    /** The value count at which the fences will next be re-estimated. */
+    private long nextFenceUpdate;
+
+    /** The state of the generator used for reservoir sampling. */
+    private long randomState;
+
+    /** The cached item (recalculated on read after an update). */
+    private transient BoxAndWhiskerItem item;
+
+    /**
+     * Creates a new sketch with the default accuracy and outlier capacity.
+     */
+    public BoxAndWhiskerSketch() {
+        this(QuantileSketch.DEFAULT_K, DEFAULT_OUTLIER_CAPACITY);
+    }
+
+    /**
+     * Creates a new sketch.
+     *
+     * @param k  the accuracy parameter for the quantile sketch (at least 8).
+     * @param outlierCapacity  the maximum number of outliers retained
+     *     (zero or greater).
+     */
+    public BoxAndWhiskerSketch(int k, int outlierCapacity) {
+        Args.requireNonNegative(outlierCapacity, "outlierCapacity");
+        this.sketch = new QuantileSketch(k);
+        this.outlierCapacity = outlierCapacity;
+        this.reservoir = new double[outlierCapacity];
+        this.reservoirSize = 0;
+        this.candidateCount = 0;
+        this.lowerFence = Double.NaN;
+        this.upperFence = Double.NaN;
+        this.nextFenceUpdate = MIN_FENCE_COUNT;
+        this.randomState = 0x2545F4914F6CDD1DL;
+    }
+
+    /**
+     * Returns the maximum number of outliers retained by this sketch.
+     *
+     * @return The outlier capacity.
+     */
+    public int getOutlierCapacity() {
+        return this.outlierCapacity;
+    }
+
+    /**
+     * Returns the number of values added to this sketch.
+     *
+     * @return The count.
+     */
+    public long getCount() {
+        return this.sketch.getCount();
+    }
+
+    /**
+     * Returns the smallest value added to this sketch.
+     *
+     * @return The minimum (or {@code Double.NaN} if the sketch is empty).
+     */
+    public double getMinimum() {
+        return this.sketch.getMinimum();
+    }
+
+    /**
+     * Returns the largest value added to this sketch.
+     *
+     * @return The maximum (or {@code Double.NaN} if the sketch is empty).
+     */
+    public double getMaximum() {
+        return this.sketch.getMaximum();
+    }
+
+    /**
+     * Adds a value to the sketch.  {@code Double.NaN} values are ignored.
+     *
+     * @param value  the value.
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        this.sketch.add(value);
+        this.item = null;
+        long n = this.sketch.getCount();
+        if (n >= this.nextFenceUpdate) {
+            updateFences();
+            // re-estimate after every 1/8th growth, amortised O(1) per value
+            this.nextFenceUpdate = n + Math.max(MIN_FENCE_COUNT, n / 8);
+        }
+        if (Double.isNaN(this.lowerFence) || value < this.lowerFence
+                || value > this.upperFence) {
+            offerCandidate(value);
+        }
+    }
+
+    /**
+     * Adds all the values in an array to the sketch.
+     *
+     * @param values  the values ({@code null} not permitted).
+     */
+    public void add(double[] values) {
+        Args.nullNotPermitted(values, "values");
+        for (double v : values) {
+            add(v);
+        }
+    }
+
+    /**
+     * Merges another sketch into this one.  The other sketch is not
+     * modified.
+     *
+     * @param other  the other sketch ({@code null} not permitted).
+     */
+    public void merge(BoxAndWhiskerSketch other) {
+        Args.nullNotPermitted(other, "other");
+        if (other.getCount() == 0) {
+            return;
+        }
+        double[] otherReservoir = Arrays.copyOf(other.reservoir,
+                other.reservoirSize);
+        long otherCandidates = other.candidateCount;
+        this.sketch.merge(other.sketch);
+        mergeReservoir(otherReservoir, otherCandidates);
+        updateFences();
+        this.nextFenceUpdate = this.sketch.getCount() + Math.max(
+                MIN_FENCE_COUNT, this.sketch.getCount() / 8);
+        this.item = null;
+    }
+
+    /**
+     * Clears all values from this sketch.
+     */
+    public void clear() {
+        this.sketch.clear();
+        this.reservoirSize = 0;
+        this.candidateCount = 0;
+        this.lowerFence = Double.NaN;
+        this.upperFence = Double.NaN;
+        this.nextFenceUpdate = MIN_FENCE_COUNT;
+        this.item = null;
+    }
+
+    /**
+     * Returns a box-and-whisker item summarising the values added so far.
+     * The item is calculated on the first call after an update and cached
+     * until the next update.  Outliers and the outlier/farout limits follow
+     * the same rules as
+     * {@link BoxAndWhiskerCalculator#calculateBoxAndWhiskerStatistics(List)}
+     * but are derived from the retained values only.
+     *
+     * @return A box-and-whisker item (never {@code null}).
+     */
+    public BoxAndWhiskerItem getItem() {
+        if (this.item == null) {
+            this.item = calculateItem();
+        }
+        return this.item;
+    }
+
+    /**
+     * Calculates the box-and-whisker item from the current state.
+     *
+     * @return The item.
+     */
+    private BoxAndWhiskerItem calculateItem() {
+        if (this.sketch.isEmpty()) {
+            return new BoxAndWhiskerItem(Double.NaN, Double.NaN, Double.NaN,
+                    Double.NaN, Double.NaN, Double.NaN, Double.NaN,
+                    Double.NaN, new ArrayList<>());
+        }
+        double[] q = this.sketch.getQuantiles(new double[] {0.25, 0.5, 0.75});
+        double q1 = q[0];
+        double median = q[1];
+        double q3 = q[2];
+        double iqr = q3 - q1;
+        double upperOutlierThreshold = q3 + (iqr * OUTLIER_COEFFICIENT);
+        double lowerOutlierThreshold = q1 - (iqr * OUTLIER_COEFFICIENT);
+        double upperFaroutThreshold = q3 + (iqr * FAROUT_COEFFICIENT);
+        double lowerFaroutThreshold = q1 - (iqr * FAROUT_COEFFICIENT);
+
+        double minRegularValue = this.sketch.ceilingValue(
+                lowerOutlierThreshold);
+        double maxRegularValue = this.sketch.floorValue(
+                upperOutlierThreshold);
+        double minOutlier = this.sketch.ceilingValue(lowerFaroutThreshold);
+        double maxOutlier = this.sketch.floorValue(upperFaroutThreshold);
+        minOutlier = Math.min(minOutlier, minRegularValue);
+        maxOutlier = Math.max(maxOutlier, maxRegularValue);
+
+        List<Number> outliers = new ArrayList<>();
+        for (int i = 0; i < this.reservoirSize; i++) {
+            double v = this.reservoir[i];
+            if (v < lowerOutlierThreshold || v > upperOutlierThreshold) {
+                outliers.add(v);
+            }
+        }
+        // the extremes are known exactly, so always report them
+        double min = this.sketch.getMinimum();
+        double max = this.sketch.getMaximum();
+        if (min < lowerOutlierThreshold && !outliers.contains(min)) {
+            outliers.add(min);
+        }
+        if (max > upperOutlierThreshold && !outliers.contains(max)) {
+            outliers.add(max);
+        }
+        return new BoxAndWhiskerItem(this.sketch.getMean(), median, q1, q3,
+                minRegularValue, maxRegularValue, minOutlier, maxOutlier,
+                outliers);
+    }
+
+    /**
+     * Re-estimates the outlier fences used to screen new values.
+     */
+    private void updateFences() {
+        double[] q = this.sketch.getQuantiles(new double[] {0.25, 0.75});
+        double iqr = q[1] - q[0];
+        this.lowerFence = q[0] - (iqr * OUTLIER_COEFFICIENT);
+        this.upperFence = q[1] + (iqr * OUTLIER_COEFFICIENT);
+    }
+
+    /**
+     * Offers a value to the outlier reservoir (reservoir sampling,
+     * algorithm R).
+     *
+     * @param value  the value.
+     */
+    private void offerCandidate(double value) {
+        if (this.outlierCapacity == 0) {
+            return;
+        }
+        this.candidateCount++;
+        if (this.reservoirSize < this.outlierCapacity) {
+            this.reservoir[this.reservoirSize++] = value;
+        }
+        else {
+            long j = nextLong(this.candidateCount);
+            if (j < this.outlierCapacity) {
+                this.reservoir[(int) j] = value;
+            }
+        }
+    }
+
+    /**
+     * Merges another reservoir into this one, so that each value in the
+     * result is drawn with probability proportional to the number of
+     * candidates that its source reservoir represents.
+     *
+     * @param other  the values in the other reservoir.
+     * @param otherCandidates  the number of candidates the other reservoir
+     *     represents.
+     */
+    private void mergeReservoir(double[] other, long otherCandidates) {
+        if (this.outlierCapacity == 0) {
+            return;
+        }
+        int n = this.reservoirSize + other.length;
+        if (n <= this.outlierCapacity) {
+            System.arraycopy(other, 0, this.reservoir, this.reservoirSize,
+                    other.length);
+            this.reservoirSize = n;
+        }
+        else {
+            // weighted sampling without replacement (Efraimidis-Spirakis)
+            double[] values = new double[n];
+            double[] keys = new double[n];
+            double w1 = (double) this.candidateCount / this.reservoirSize;
+            double w2 = (double) otherCandidates / other.length;
+            for (int i = 0; i < n; i++) {
+                boolean mine = i < this.reservoirSize;
+                values[i] = mine ? this.reservoir[i]
+                        : other[i - this.reservoirSize];
+                keys[i] = Math.pow(nextDouble(), 1.0 / (mine ? w1 : w2));
+            }
+            Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(keys[b], keys[a]));
+            for (int i = 0; i < this.outlierCapacity; i++) {
+                this.reservoir[i] = values[order[i]];
+            }
+            this.reservoirSize = this.outlierCapacity;
+        }
+        this.candidateCount += otherCandidates;
+    }
+
+    /**
+     * Returns the next pseudo-random {@code long} (xorshift generator).
+     *
+     * @return A pseudo-random long.
+     */
+    private long nextRandom() {
+        long x = this.randomState;
+        x ^= x << 13;
+        x ^= x >>> 7;
+        x ^= x << 17;
+        this.randomState = x;
+        return x;
+    }
+
+    /**
+     * Returns a pseudo-random value in the range 0 (inclusive) to
+     * {@code bound} (exclusive).
+     *
+     * @param bound  the upper bound (must be positive).
+     *
+     * @return A pseudo-random value.
+     */
+    private long nextLong(long bound) {
+        return (nextRandom() >>> 1) % bound;
+    }
+
+    /**
+     * Returns a pseudo-random value in the range 0.0 (exclusive) to 1.0
+     * (exclusive).
+     *
+     * @return A pseudo-random value.
+     */
+    private double nextDouble() {
+        return ((nextRandom() >>> 11) + 0.5) / (1L << 53);
+    }
+
+    /**
+     * Tests this sketch for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof BoxAndWhiskerSketch)) {
+            return false;
+        }
+        BoxAndWhiskerSketch that = (BoxAndWhiskerSketch) obj;
+        if (this.outlierCapacity != that.outlierCapacity) {
+            return false;
+        }
+        if (this.candidateCount != that.candidateCount) {
+            return false;
+        }
+        if (!Arrays.equals(this.reservoir, 0, this.reservoirSize,
+                that.reservoir, 0, that.reservoirSize)) {
+            return false;
+        }
+        if (!this.sketch.equals(that.sketch)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code for this instance.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        int hash = 3;
+        hash = 53 * hash + this.outlierCapacity;
+        hash = 53 * hash + Long.hashCode(this.candidateCount);
+        hash = 53 * hash + this.sketch.hashCode();
+        return hash;
+    }
+
+    /**
+     * Returns an independent copy of this sketch.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException not thrown by this class, but
+     *     subclasses may differ.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        BoxAndWhiskerSketch clone = (BoxAndWhiskerSketch) super.clone();
+        clone.sketch = (QuantileSketch) this.sketch.clone();
+        clone.reservoir = this.reservoir.clone();
+        return clone;
+    }
+
+}
@@ -41,6 +41,7 @@ import java.util.List;
 import java.util.Objects;
 
 import org.jfree.chart.api.PublicCloneable;
+import org.jfree.chart.internal.Args;
 
 import org.jfree.data.KeyedObjects2D;
 import org.jfree.data.Range;
@@ -135,14 +136,8 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
         }
         else {
 
-            double minval = Double.NaN;
-            if (item.getMinOutlier() != null) {
-                minval = item.getMinOutlier().doubleValue();
-            }
-            double maxval = Double.NaN;
-            if (item.getMaxOutlier() != null) {
-                maxval = item.getMaxOutlier().doubleValue();
-            }
+            double minval = lowerBound(item);
+            double maxval = upperBound(item);
 
             if (Double.isNaN(this.maximumRangeValue)) {
                 this.maximumRangeValue = maxval;
@@ -171,6 +166,172 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
 
     }
 
+    /**
+     * Adds a single value to the box-and-whisker item for the specified
+     * cell and sends a {@link DatasetChangeEvent} to all registered
+     * listeners.  The values for the cell are accumulated in a
+     * {@link BoxAndWhiskerSketch}, so the memory used is constant no matter
+     * how many values are added, and the item statistics are recomputed
+     * (approximately) only when they are read.  If the cell currently holds
+     * an item that was added with {@link #add(BoxAndWhiskerItem, Comparable,
+     * Comparable)}, that item is replaced.
+     *
+     * @param value  the value ({@code Double.NaN} values are ignored).
+     * @param rowKey  the row key ({@code null} not permitted).
+     * @param columnKey  the column key ({@code null} not permitted).
+     *
+     * @see #add(BoxAndWhiskerSketch, Comparable, Comparable)
+     */
+    public void add(double value, R rowKey, C columnKey) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        BoxAndWhiskerSketch sketch = getSketch(rowKey, columnKey);
+        sketch.add(value);
+        updateBoundsForSketch(sketch, rowKey, columnKey);
+        fireDatasetChanged();
+    }
+
+    /**
+     * Merges the values summarised by a sketch into the box-and-whisker item
+     * for the specified cell and sends a {@link DatasetChangeEvent} to all
+     * registered listeners.  The supplied sketch is not modified (and later
+     * changes to it do not affect this dataset).
+     *
+     * @param sketch  the sketch ({@code null} not permitted).
+     * @param rowKey  the row key ({@code null} not permitted).
+     * @param columnKey  the column key ({@code null} not permitted).
+     *
+     * @see #add(double, Comparable, Comparable)
+     */
+    public void add(BoxAndWhiskerSketch sketch, R rowKey, C columnKey) {
+        Args.nullNotPermitted(sketch, "sketch");
+        BoxAndWhiskerSketch target = getSketch(rowKey, columnKey);
+        target.merge(sketch);
+        updateBoundsForSketch(target, rowKey, columnKey);
+        fireDatasetChanged();
+    }
+
+    /**
+     * Returns the sketch that accumulates values for a cell, creating it
+     * (and replacing any fixed item in the cell) if necessary.
+     *
+     * @param rowKey  the row key ({@code null} not permitted).
+     * @param columnKey  the column key ({@code null} not permitted).
+     *
+     * @return The sketch.
+     */
+    private BoxAndWhiskerSketch getSketch(R rowKey, C columnKey) {
+        Args.nullNotPermitted(rowKey, "rowKey");
+        Args.nullNotPermitted(columnKey, "columnKey");
+        Object obj = null;
+        if (this.data.getRowIndex(rowKey) >= 0
+                && this.data.getColumnIndex(columnKey) >= 0) {
+            obj = this.data.getObject(rowKey, columnKey);
+        }
+        if (obj instanceof BoxAndWhiskerSketch) {
+            return (BoxAndWhiskerSketch) obj;
+        }
+        BoxAndWhiskerSketch sketch = new BoxAndWhiskerSketch();
+        this.data.addObject(sketch, rowKey, columnKey);
+        if (obj != null) {
+            // the replaced item may have defined the cached bounds
+            updateBounds();
+        }
+        return sketch;
+    }
+
+    /**
+     * Updates the cached bounds after values have been added to the sketch
+     * for a cell.  The values held by a sketch only ever widen its extent,
+     * so the bounds can be extended without a full scan.  The bounds for the
+     * cell are found as in {@link #updateBounds()}.
+     *
+     * @param sketch  the sketch.
+     * @param rowKey  the row key.
+     * @param columnKey  the column key.
+     */
+    private void updateBoundsForSketch(BoxAndWhiskerSketch sketch, R rowKey,
+            C columnKey) {
+        int r = this.data.getRowIndex(rowKey);
+        int c = this.data.getColumnIndex(columnKey);
+        double minval = lowerBound(sketch);
+        double maxval = upperBound(sketch);
+        if (Double.isNaN(this.maximumRangeValue)
+                || maxval > this.maximumRangeValue) {
+            this.maximumRangeValue = maxval;
+            this.maximumRangeValueRow = r;
+            this.maximumRangeValueColumn = c;
+        }
+        if (Double.isNaN(this.minimumRangeValue)
+                || minval < this.minimumRangeValue) {
+            this.minimumRangeValue = minval;
+            this.minimumRangeValueRow = r;
+            this.minimumRangeValueColumn = c;
+        }
+    }
+
+    /**
+     * Returns the lower bound of the range covered by an object stored in
+     * the data table.  For a {@link BoxAndWhiskerSketch} this is the exact
+     * minimum of the values added (so the item statistics are not needed),
+     * and for a {@link BoxAndWhiskerItem} it is the minimum outlier.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return The lower bound (possibly {@code Double.NaN}).
+     */
+    private static double lowerBound(Object obj) {
+        if (obj instanceof BoxAndWhiskerSketch) {
+            return ((BoxAndWhiskerSketch) obj).getMinimum();
+        }
+        if (obj instanceof BoxAndWhiskerItem) {
+            Number min = ((BoxAndWhiskerItem) obj).getMinOutlier();
+            if (min != null) {
+                return min.doubleValue();
+            }
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Returns the upper bound of the range covered by an object stored in
+     * the data table.  For a {@link BoxAndWhiskerSketch} this is the exact
+     * maximum of the values added, and for a {@link BoxAndWhiskerItem} it is
+     * the maximum outlier.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return The upper bound (possibly {@code Double.NaN}).
+     */
+    private static double upperBound(Object obj) {
+        if (obj instanceof BoxAndWhiskerSketch) {
+            return ((BoxAndWhiskerSketch) obj).getMaximum();
+        }
+        if (obj instanceof BoxAndWhiskerItem) {
+            Number max = ((BoxAndWhiskerItem) obj).getMaxOutlier();
+            if (max != null) {
+                return max.doubleValue();
+            }
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Returns the item for an object stored in the data table, which may be
+     * either a {@link BoxAndWhiskerItem} or a {@link BoxAndWhiskerSketch}.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return The item (possibly {@code null}).
+     */
+    private static BoxAndWhiskerItem toItem(Object obj) {
+        if (obj instanceof BoxAndWhiskerSketch) {
+            return ((BoxAndWhiskerSketch) obj).getItem();
+        }
+        return (BoxAndWhiskerItem) obj;
+    }
+
     /**
      * Removes an item from the dataset and sends a {@link DatasetChangeEvent}
      * to all registered listeners.
@@ -284,7 +445,7 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
      * @return The item.
      */
     public BoxAndWhiskerItem getItem(int row, int column) {
-        return (BoxAndWhiskerItem) this.data.getObject(row, column);
+        return toItem(this.data.getObject(row, column));
     }
 
     /**
@@ -332,8 +493,8 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
     @Override
     public Number getMeanValue(int row, int column) {
         Number result = null;
-        BoxAndWhiskerItem item = (BoxAndWhiskerItem) this.data.getObject(row,
-                column);
+        BoxAndWhiskerItem item = toItem(this.data.getObject(row,
+                column));
         if (item != null) {
             result = item.getMean();
         }
@@ -353,8 +514,8 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
     @Override
     public Number getMeanValue(R rowKey, C columnKey) {
         Number result = null;
-        BoxAndWhiskerItem item = (BoxAndWhiskerItem) this.data.getObject(
-                rowKey, columnKey);
+        BoxAndWhiskerItem item = toItem(this.data.getObject(
+                rowKey, columnKey));
         if (item != null) {
             result = item.getMean();
         }
@@ -374,8 +535,8 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
     @Override
     public Number getMedianValue(int row, int column) {
         Number result = null;
-        BoxAndWhiskerItem item = (BoxAndWhiskerItem) this.data.getObject(row,
-                column);
+        BoxAndWhiskerItem item = toItem(this.data.getObject(row,
+                column));
         if (item != null) {
             result = item.getMedian();
         }
@@ -395,8 +556,8 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
     @Override
     public Number getMedianValue(R rowKey, C columnKey) {
         Number result = null;
-        BoxAndWhiskerItem item = (BoxAndWhiskerItem) this.data.getObject(
-                rowKey, columnKey);
+        BoxAndWhiskerItem item = toItem(this.data.getObject(
+                rowKey, columnKey));
         if (item != null) {
             result = item.getMedian();
         }
@@ -416,8 +577,8 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
     @Override
     public Number getQ1Value(int row, int column) {
         Number result = null;
-        BoxAndWhiskerItem item = (BoxAndWhiskerItem) this.data.getObject(
-                row, column);
+        BoxAndWhiskerItem item = toItem(this.data.getObject(
+                row, column));
         if (item != null) {
             result = item.getQ1();
         }
@@ -437,8 +598,8 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
     @Override
     public Number getQ1Value(R rowKey, C columnKey) {
         Number result = null;
-        BoxAndWhiskerItem item = (BoxAndWhiskerItem) this.data.getObject(
-                rowKey, columnKey);
+        BoxAndWhiskerItem item = toItem(this.data.getObject(
+                rowKey, columnKey));
         if (item != null) {
             result = item.getQ1();
         }
@@ -458,8 +619,8 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
     @Override
     public Number getQ3Value(int row, int column) {
         Number result = null;
-        BoxAndWhiskerItem item = (BoxAndWhiskerItem) this.data.getObject(
-                row, column);
+        BoxAndWhiskerItem item = toItem(this.data.getObject(
+                row, column));
         if (item != null) {
             result = item.getQ3();
         }
@@ -479,8 +640,8 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
     @Override
     public Number getQ3Value(R rowKey, C columnKey) {
         Number result = null;
-        BoxAndWhiskerItem item = (BoxAndWhiskerItem) this.data.getObject(
-                rowKey, columnKey);
+        BoxAndWhiskerItem item = toItem(this.data.getObject(
+                rowKey, columnKey));
         if (item != null) {
             result = item.getQ3();
         }
@@ -648,8 +809,8 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
     @Override
     public Number getMinRegularValue(int row, int column) {
         Number result = null;
-        BoxAndWhiskerItem item = (BoxAndWhiskerItem) this.data.getObject(
-                row, column);
+        BoxAndWhiskerItem item = toItem(this.data.getObject(
+                row, column));
         if (item != null) {
             result = item.getMinRegularValue();
         }
@@ -669,8 +830,8 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
     @Override
     public Number getMinRegularValue(R rowKey, C columnKey) {
         Number result = null;
-        BoxAndWhiskerItem item = (BoxAndWhiskerItem) this.data.getObject(
-                rowKey, columnKey);
+        BoxAndWhiskerItem item = toItem(this.data.getObject(
+                rowKey, columnKey));
         if (item != null) {
             result = item.getMinRegularValue();
         }
@@ -690,8 +851,8 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
     @Override
     public Number getMaxRegularValue(int row, int column) {
         Number result = null;
-        BoxAndWhiskerItem item = (BoxAndWhiskerItem) this.data.getObject(
-                row, column);
+        BoxAndWhiskerItem item = toItem(this.data.getObject(
+                row, column));
         if (item != null) {
             result = item.getMaxRegularValue();
         }
@@ -711,8 +872,8 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
     @Override
     public Number getMaxRegularValue(R rowKey, C columnKey) {
         Number result = null;
-        BoxAndWhiskerItem item = (BoxAndWhiskerItem) this.data.getObject(
-                rowKey, columnKey);
+        BoxAndWhiskerItem item = toItem(this.data.getObject(
+                rowKey, columnKey));
         if (item != null) {
             result = item.getMaxRegularValue();
         }
@@ -732,8 +893,8 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
     @Override
     public Number getMinOutlier(int row, int column) {
         Number result = null;
-        BoxAndWhiskerItem item = (BoxAndWhiskerItem) this.data.getObject(
-                row, column);
+        BoxAndWhiskerItem item = toItem(this.data.getObject(
+                row, column));
         if (item != null) {
             result = item.getMinOutlier();
         }
@@ -753,8 +914,8 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
     @Override
     public Number getMinOutlier(R rowKey, C columnKey) {
         Number result = null;
-        BoxAndWhiskerItem item = (BoxAndWhiskerItem) this.data.getObject(
-                rowKey, columnKey);
+        BoxAndWhiskerItem item = toItem(this.data.getObject(
+                rowKey, columnKey));
         if (item != null) {
             result = item.getMinOutlier();
         }
@@ -774,8 +935,8 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
     @Override
     public Number getMaxOutlier(int row, int column) {
         Number result = null;
-        BoxAndWhiskerItem item = (BoxAndWhiskerItem) this.data.getObject(
-                row, column);
+        BoxAndWhiskerItem item = toItem(this.data.getObject(
+                row, column));
         if (item != null) {
             result = item.getMaxOutlier();
         }
@@ -795,8 +956,8 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
     @Override
     public Number getMaxOutlier(R rowKey, C columnKey) {
         Number result = null;
-        BoxAndWhiskerItem item = (BoxAndWhiskerItem) this.data.getObject(
-                rowKey, columnKey);
+        BoxAndWhiskerItem item = toItem(this.data.getObject(
+                rowKey, columnKey));
         if (item != null) {
             result = item.getMaxOutlier();
         }
@@ -816,8 +977,8 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
     @Override
     public List<? extends Number> getOutliers(int row, int column) {
         List result = null;
-        BoxAndWhiskerItem item = (BoxAndWhiskerItem) this.data.getObject(
-                row, column);
+        BoxAndWhiskerItem item = toItem(this.data.getObject(
+                row, column));
         if (item != null) {
             result = item.getOutliers();
         }
@@ -837,8 +998,8 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
     @Override
     public List<? extends Number> getOutliers(R rowKey, C columnKey) {
         List result = null;
-        BoxAndWhiskerItem item = (BoxAndWhiskerItem) this.data.getObject(
-                rowKey, columnKey);
+        BoxAndWhiskerItem item = toItem(this.data.getObject(
+                rowKey, columnKey));
         if (item != null) {
             result = item.getOutliers();
         }
@@ -860,31 +1021,24 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
         int columnCount = getColumnCount();
         for (int r = 0; r < rowCount; r++) {
             for (int c = 0; c < columnCount; c++) {
-                BoxAndWhiskerItem item = getItem(r, c);
-                if (item != null) {
-                    Number min = item.getMinOutlier();
-                    if (min != null) {
-                        double minv = min.doubleValue();
-                        if (!Double.isNaN(minv)) {
-                            if (minv < this.minimumRangeValue || Double.isNaN(
-                                    this.minimumRangeValue)) {
-                                this.minimumRangeValue = minv;
-                                this.minimumRangeValueRow = r;
-                                this.minimumRangeValueColumn = c;
-                            }
-                        }
+                // sketches give their bounds without calculating the item
+                Object obj = this.data.getObject(r, c);
+                double minv = lowerBound(obj);
+                if (!Double.isNaN(minv)) {
+                    if (minv < this.minimumRangeValue || Double.isNaN(
+                            this.minimumRangeValue)) {
+                        this.minimumRangeValue = minv;
+                        this.minimumRangeValueRow = r;
+                        this.minimumRangeValueColumn = c;
                     }
-                    Number max = item.getMaxOutlier();
-                    if (max != null) {
-                        double maxv = max.doubleValue();
-                        if (!Double.isNaN(maxv)) {
-                            if (maxv > this.maximumRangeValue || Double.isNaN(
-                                    this.maximumRangeValue)) {
-                                this.maximumRangeValue = maxv;
-                                this.maximumRangeValueRow = r;
-                                this.maximumRangeValueColumn = c;
-                            }
-                        }
+                }
+                double maxv = upperBound(obj);
+                if (!Double.isNaN(maxv)) {
+                    if (maxv > this.maximumRangeValue || Double.isNaN(
+                            this.maximumRangeValue)) {
+                        this.maximumRangeValue = maxv;
+                        this.maximumRangeValueRow = r;
+                        this.maximumRangeValueColumn = c;
                     }
                 }
             }
@@ -42,6 +42,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 
+import org.jfree.chart.internal.Args;
 import org.jfree.data.Range;
 import org.jfree.data.RangeInfo;
 import org.jfree.data.general.DatasetChangeEvent;
@@ -64,6 +65,12 @@ public class DefaultBoxAndWhiskerXYDataset<S extends Comparable<S>>
     /** Storage for the box and whisker statistics. */
     private List<BoxAndWhiskerItem> items;
 
+    /**
+     * Storage for the sketches that accumulate values for items added with
+     * {@link #add(Date, double)} ({@code null} entries for fixed items).
+     */
+    private List<BoxAndWhiskerSketch> sketches;
+
     /** The minimum range value. */
     private Number minimumRangeValue;
 
@@ -101,6 +108,7 @@ public class DefaultBoxAndWhiskerXYDataset<S extends Comparable<S>>
         this.seriesKey = seriesKey;
         this.dates = new ArrayList();
         this.items = new ArrayList<>();
+        this.sketches = new ArrayList<>();
         this.minimumRangeValue = null;
         this.maximumRangeValue = null;
         this.rangeBounds = null;
@@ -204,6 +212,7 @@ public class DefaultBoxAndWhiskerXYDataset<S extends Comparable<S>>
     public void add(Date date, BoxAndWhiskerItem item) {
         this.dates.add(date);
         this.items.add(item);
+        this.sketches.add(null);
         if (this.minimumRangeValue == null) {
             this.minimumRangeValue = item.getMinRegularValue();
         }
@@ -227,6 +236,52 @@ public class DefaultBoxAndWhiskerXYDataset<S extends Comparable<S>>
         fireDatasetChanged();
     }
 
+    /**
+     * Adds a single value to the item for the specified date and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.  If the last
+     * item in the dataset has the same date and was created by this method,
+     * the value is added to that item, otherwise a new item is appended.
+     * <p>
+     * The values for each item are accumulated in a
+     * {@link BoxAndWhiskerSketch}, so memory use per item is constant no
+     * matter how many values are added, and the item statistics are
+     * recomputed (approximately) only when they are read.  The range bounds
+     * for such items are taken from the minimum and maximum values added,
+     * since the regular value limits are not known until the item is read.
+     *
+     * @param date  the date ({@code null} not permitted).
+     * @param value  the value ({@code Double.NaN} values are ignored).
+     */
+    public void add(Date date, double value) {
+        Args.nullNotPermitted(date, "date");
+        if (Double.isNaN(value)) {
+            return;
+        }
+        int last = this.dates.size() - 1;
+        BoxAndWhiskerSketch sketch = null;
+        if (last >= 0 && date.equals(this.dates.get(last))) {
+            sketch = this.sketches.get(last);
+        }
+        if (sketch == null) {
+            sketch = new BoxAndWhiskerSketch();
+            this.dates.add(date);
+            this.items.add(null);
+            this.sketches.add(sketch);
+        }
+        sketch.add(value);
+        if (this.minimumRangeValue == null
+                || value < this.minimumRangeValue.doubleValue()) {
+            this.minimumRangeValue = value;
+        }
+        if (this.maximumRangeValue == null
+                || value > this.maximumRangeValue.doubleValue()) {
+            this.maximumRangeValue = value;
+        }
+        this.rangeBounds = new Range(this.minimumRangeValue.doubleValue(),
+                this.maximumRangeValue.doubleValue());
+        fireDatasetChanged();
+    }
+
     /**
      * Returns the name of the series stored in this dataset.
      *
@@ -249,6 +304,10 @@ public class DefaultBoxAndWhiskerXYDataset<S extends Comparable<S>>
      * @return The item.
      */
     public BoxAndWhiskerItem getItem(int series, int item) {
+        BoxAndWhiskerSketch sketch = this.sketches.get(item);
+        if (sketch != null) {
+            return sketch.getItem();
+        }
         return this.items.get(item);
     }
 
@@ -309,7 +368,7 @@ public class DefaultBoxAndWhiskerXYDataset<S extends Comparable<S>>
     @Override
     public Number getMeanValue(int series, int item) {
         Number result = null;
-        BoxAndWhiskerItem stats = this.items.get(item);
+        BoxAndWhiskerItem stats = getItem(series, item);
         if (stats != null) {
             result = stats.getMean();
         }
@@ -327,7 +386,7 @@ public class DefaultBoxAndWhiskerXYDataset<S extends Comparable<S>>
     @Override
     public Number getMedianValue(int series, int item) {
         Number result = null;
-        BoxAndWhiskerItem stats = this.items.get(item);
+        BoxAndWhiskerItem stats = getItem(series, item);
         if (stats != null) {
             result = stats.getMedian();
         }
@@ -345,7 +404,7 @@ public class DefaultBoxAndWhiskerXYDataset<S extends Comparable<S>>
     @Override
     public Number getQ1Value(int series, int item) {
         Number result = null;
-        BoxAndWhiskerItem stats = this.items.get(item);
+        BoxAndWhiskerItem stats = getItem(series, item);
         if (stats != null) {
             result = stats.getQ1();
         }
@@ -363,7 +422,7 @@ public class DefaultBoxAndWhiskerXYDataset<S extends Comparable<S>>
     @Override
     public Number getQ3Value(int series, int item) {
         Number result = null;
-        BoxAndWhiskerItem stats = this.items.get(item);
+        BoxAndWhiskerItem stats = getItem(series, item);
         if (stats != null) {
             result = stats.getQ3();
         }
@@ -381,7 +440,7 @@ public class DefaultBoxAndWhiskerXYDataset<S extends Comparable<S>>
     @Override
     public Number getMinRegularValue(int series, int item) {
         Number result = null;
-        BoxAndWhiskerItem stats = this.items.get(item);
+        BoxAndWhiskerItem stats = getItem(series, item);
         if (stats != null) {
             result = stats.getMinRegularValue();
         }
@@ -399,7 +458,7 @@ public class DefaultBoxAndWhiskerXYDataset<S extends Comparable<S>>
     @Override
     public Number getMaxRegularValue(int series, int item) {
         Number result = null;
-        BoxAndWhiskerItem stats = this.items.get(item);
+        BoxAndWhiskerItem stats = getItem(series, item);
         if (stats != null) {
             result = stats.getMaxRegularValue();
         }
@@ -416,7 +475,7 @@ public class DefaultBoxAndWhiskerXYDataset<S extends Comparable<S>>
     @Override
     public Number getMinOutlier(int series, int item) {
         Number result = null;
-        BoxAndWhiskerItem stats = this.items.get(item);
+        BoxAndWhiskerItem stats = getItem(series, item);
         if (stats != null) {
             result = stats.getMinOutlier();
         }
@@ -435,7 +494,7 @@ public class DefaultBoxAndWhiskerXYDataset<S extends Comparable<S>>
     @Override
     public Number getMaxOutlier(int series, int item) {
         Number result = null;
-        BoxAndWhiskerItem stats = this.items.get(item);
+        BoxAndWhiskerItem stats = getItem(series, item);
         if (stats != null) {
             result = stats.getMaxOutlier();
         }
@@ -454,7 +513,7 @@ public class DefaultBoxAndWhiskerXYDataset<S extends Comparable<S>>
     @Override
     public List getOutliers(int series, int item) {
         List result = null;
-        BoxAndWhiskerItem stats = this.items.get(item);
+        BoxAndWhiskerItem stats = getItem(series, item);
         if (stats != null) {
             result = stats.getOutliers();
         }
@@ -534,6 +593,9 @@ public class DefaultBoxAndWhiskerXYDataset<S extends Comparable<S>>
         if (!this.items.equals(that.items)) {
             return false;
         }
+        if (!this.sketches.equals(that.sketches)) {
+            return false;
+        }
         return true;
     }
 
@@ -559,6 +621,11 @@ public class DefaultBoxAndWhiskerXYDataset<S extends Comparable<S>>
                 = (DefaultBoxAndWhiskerXYDataset) super.clone();
         clone.dates = new java.util.ArrayList(this.dates);
         clone.items = new java.util.ArrayList(this.items);
+        clone.sketches = new java.util.ArrayList<>(this.sketches.size());
+        for (BoxAndWhiskerSketch sketch : this.sketches) {
+            clone.sketches.add(sketch == null ? null
+                    : (BoxAndWhiskerSketch) sketch.clone());
+        }
         return clone;
     }
 
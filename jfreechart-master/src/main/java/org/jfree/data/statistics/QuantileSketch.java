@@ -0,0 +1,653 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------
+ * QuantileSketch.java
+ * -------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.statistics;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.jfree.chart.api.PublicCloneable;
+import org.jfree.chart.internal.Args;
+
+/**
+ * A mergeable sketch that estimates the quantiles of a stream of
+ * {@code double} values using a bounded amount of memory.  The sketch is a
+ * stack of compactors in the style of Karnin, Lang and Liberty (KLL): values
+ * are appended to level 0 and, whenever a level fills up, it is sorted and
+ * every second value is promoted to the next level (where it carries twice
+ * the weight).  The number of values retained grows only logarithmically
+ * with the number of values added, and the rank error of a quantile
+ * estimate is roughly {@code 1.7 / k} for the accuracy parameter {@code k}.
+ * <p>
+ * The minimum, maximum, count and sum of the values are tracked exactly.
+ * Instances of this class are not thread-safe.
+ *
+ * @see BoxAndWhiskerSketch
+ */
+public class QuantileSketch implements Cloneable, PublicCloneable,
+        Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 4719213846204950317L;
+
+    /** The default accuracy parameter. */
+    public static final int DEFAULT_K = 200;
+
+    /** The smallest capacity for any level. */
+    private static final int MIN_LEVEL_CAPACITY = 8;
+
+    /** The factor by which level capacities shrink moving down the stack. */
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+
+    /** The accuracy parameter (the capacity of the top level). */
+    private final int k;
+
+    /** The values retained at each level. */
+    private double[][] levels;
+
+    /** The number of values used in each level buffer. */
+    private int[] sizes;
+
+    /** The number of levels in use. */
+    private int levelCount;
+
+    /** The number of values added to the sketch. */
+    private long count;
+
+    /** The sum of the values added to the sketch. */
+    private double sum;
+
+    /** The smallest value added to the sketch. */
+    private double min;
+
+    /** The largest value added to the sketch. */
+    private double max;
+
+    /** The state of the generator used to pick the values to promote. */
+    private long randomState;
+
+    /**
+     * Creates a new sketch with the default accuracy.
+     */
+    public QuantileSketch() {
+        this(DEFAULT_K);
+    }
+
+    /**
+     * Creates a new sketch.
+     *
+     * @param k  the accuracy parameter (must be at least 8).  Larger values
+     *     give more accurate quantiles at the cost of more memory.
+     */
+    public QuantileSketch(int k) {
+        Args.requireInRange(k, "k", MIN_LEVEL_CAPACITY, Integer.MAX_VALUE);
+        this.k = k;
+        this.levels = new double[1][];
+        this.levels[0] = new double[k];
+        this.sizes = new int[1];
+        this.levelCount = 1;
+        this.count = 0;
+        this.sum = 0.0;
+        this.min = Double.NaN;
+        this.max = Double.NaN;
+        this.randomState = 0x9E3779B97F4A7C15L;
+    }
+
+    /**
+     * Returns the accuracy parameter for the sketch.
+     *
+     * @return The accuracy parameter.
+     */
+    public int getK() {
+        return this.k;
+    }
+
+    /**
+     * Returns the number of values that have been added to the sketch.
+     *
+     * @return The count.
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Returns {@code true} if no values have been added to the sketch.
+     *
+     * @return A boolean.
+     */
+    public boolean isEmpty() {
+        return this.count == 0;
+    }
+
+    /**
+     * Returns the smallest value added to the sketch.
+     *
+     * @return The minimum (or {@code Double.NaN} if the sketch is empty).
+     */
+    public double getMinimum() {
+        return this.min;
+    }
+
+    /**
+     * Returns the largest value added to the sketch.
+     *
+     * @return The maximum (or {@code Double.NaN} if the sketch is empty).
+     */
+    public double getMaximum() {
+        return this.max;
+    }
+
+    /**
+     * Returns the arithmetic mean of the values added to the sketch.
+     *
+     * @return The mean (or {@code Double.NaN} if the sketch is empty).
+     */
+    public double getMean() {
+        if (this.count == 0) {
+            return Double.NaN;
+        }
+        return this.sum / this.count;
+    }
+
+    /**
+     * Returns the number of values currently retained by the sketch.  This
+     * is a measure of the memory used by the sketch and is always much
+     * smaller than {@link #getCount()} for large streams.
+     *
+     * @return The number of retained values.
+     */
+    public int getRetainedCount() {
+        int result = 0;
+        for (int h = 0; h < this.levelCount; h++) {
+            result += this.sizes[h];
+        }
+        return result;
+    }
+
+    /**
+     * Adds a value to the sketch.  {@code Double.NaN} values are ignored.
+     *
+     * @param value  the value.
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (this.count == 0) {
+            this.min = value;
+            this.max = value;
+        }
+        else {
+            this.min = Math.min(this.min, value);
+            this.max = Math.max(this.max, value);
+        }
+        this.count++;
+        this.sum += value;
+        append(0, value);
+        if (this.sizes[0] >= capacity(0)) {
+            compress();
+        }
+    }
+
+    /**
+     * Merges the values summarised by another sketch into this sketch.  The
+     * other sketch is not modified.
+     *
+     * @param other  the other sketch ({@code null} not permitted).
+     */
+    public void merge(QuantileSketch other) {
+        Args.nullNotPermitted(other, "other");
+        if (other.count == 0) {
+            return;
+        }
+        // copy the other sketch's state first, in case other == this
+        int otherLevelCount = other.levelCount;
+        double[][] otherLevels = new double[otherLevelCount][];
+        for (int h = 0; h < otherLevelCount; h++) {
+            otherLevels[h] = Arrays.copyOf(other.levels[h], other.sizes[h]);
+        }
+        if (this.count == 0) {
+            this.min = other.min;
+            this.max = other.max;
+        }
+        else {
+            this.min = Math.min(this.min, other.min);
+            this.max = Math.max(this.max, other.max);
+        }
+        this.count += other.count;
+        this.sum += other.sum;
+        while (this.levelCount < otherLevelCount) {
+            addLevel();
+        }
+        for (int h = 0; h < otherLevelCount; h++) {
+            for (double v : otherLevels[h]) {
+                append(h, v);
+            }
+        }
+        compress();
+    }
+
+    /**
+     * Returns an estimate of the value at the specified quantile.  A
+     * quantile of 0.0 returns the exact minimum and 1.0 the exact maximum.
+     *
+     * @param quantile  the quantile (in the range 0.0 to 1.0).
+     *
+     * @return The estimated value (or {@code Double.NaN} if the sketch is
+     *     empty).
+     */
+    public double getQuantile(double quantile) {
+        return getQuantiles(new double[] {quantile})[0];
+    }
+
+    /**
+     * Returns estimates of the values at several quantiles.  This is more
+     * efficient than calling {@link #getQuantile(double)} repeatedly, since
+     * the retained values are sorted only once.
+     *
+     * @param quantiles  the quantiles, each in the range 0.0 to 1.0
+     *     ({@code null} not permitted).
+     *
+     * @return An array of estimated values, in the same order as the
+     *     requested quantiles.
+     */
+    public double[] getQuantiles(double[] quantiles) {
+        Args.nullNotPermitted(quantiles, "quantiles");
+        for (double q : quantiles) {
+            if (!(q >= 0.0 && q <= 1.0)) {
+                throw new IllegalArgumentException(
+                        "Requires 'quantiles' in the range 0.0 to 1.0.");
+            }
+        }
+        double[] result = new double[quantiles.length];
+        if (this.count == 0) {
+            Arrays.fill(result, Double.NaN);
+            return result;
+        }
+        int n = getRetainedCount();
+        double[] values = new double[n];
+        long[] weights = new long[n];
+        sortedItems(values, weights);
+        long totalWeight = 0;
+        for (long w : weights) {
+            totalWeight += w;
+        }
+        for (int i = 0; i < quantiles.length; i++) {
+            double q = quantiles[i];
+            if (q <= 0.0) {
+                result[i] = this.min;
+            }
+            else if (q >= 1.0) {
+                result[i] = this.max;
+            }
+            else {
+                double target = q * totalWeight;
+                long cumulative = 0;
+                double v = this.max;
+                for (int j = 0; j < n; j++) {
+                    cumulative += weights[j];
+                    if (cumulative >= target) {
+                        v = values[j];
+                        break;
+                    }
+                }
+                result[i] = Math.max(this.min, Math.min(this.max, v));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns an estimate of the fraction of values that are less than or
+     * equal to the specified value.
+     *
+     * @param value  the value.
+     *
+     * @return The estimated rank, in the range 0.0 to 1.0 (or
+     *     {@code Double.NaN} if the sketch is empty).
+     */
+    public double getRank(double value) {
+        if (this.count == 0) {
+            return Double.NaN;
+        }
+        long below = 0;
+        long total = 0;
+        for (int h = 0; h < this.levelCount; h++) {
+            long weight = 1L << h;
+            double[] level = this.levels[h];
+            for (int i = 0; i < this.sizes[h]; i++) {
+                if (level[i] <= value) {
+                    below += weight;
+                }
+                total += weight;
+            }
+        }
+        return (double) below / total;
+    }
+
+    /**
+     * Returns the smallest retained value that is greater than or equal to
+     * the specified value, or {@code Double.NaN} if there is no such value.
+     * The exact minimum and maximum are considered as well as the values
+     * held in the compactors.
+     *
+     * @param value  the value.
+     *
+     * @return The smallest retained value not less than {@code value}.
+     */
+    double ceilingValue(double value) {
+        double result = Double.NaN;
+        if (this.count == 0) {
+            return result;
+        }
+        if (this.min >= value) {
+            return this.min;
+        }
+        if (this.max >= value) {
+            result = this.max;
+        }
+        for (int h = 0; h < this.levelCount; h++) {
+            double[] level = this.levels[h];
+            for (int i = 0; i < this.sizes[h]; i++) {
+                double v = level[i];
+                if (v >= value && !(v >= result)) {
+                    result = v;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the largest retained value that is less than or equal to the
+     * specified value, or {@code Double.NaN} if there is no such value.
+     * The exact minimum and maximum are considered as well as the values
+     * held in the compactors.
+     *
+     * @param value  the value.
+     *
+     * @return The largest retained value not greater than {@code value}.
+     */
+    double floorValue(double value) {
+        double result = Double.NaN;
+        if (this.count == 0) {
+            return result;
+        }
+        if (this.max <= value) {
+            return this.max;
+        }
+        if (this.min <= value) {
+            result = this.min;
+        }
+        for (int h = 0; h < this.levelCount; h++) {
+            double[] level = this.levels[h];
+            for (int i = 0; i < this.sizes[h]; i++) {
+                double v = level[i];
+                if (v <= value && !(v <= result)) {
+                    result = v;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Clears all values from the sketch.
+     */
+    public void clear() {
+        this.levels = new double[1][];
+        this.levels[0] = new double[this.k];
+        this.sizes = new int[1];
+        this.levelCount = 1;
+        this.count = 0;
+        this.sum = 0.0;
+        this.min = Double.NaN;
+        this.max = Double.NaN;
+    }
+
+    /**
+     * Fills the supplied arrays with the retained values (in ascending
+     * order) and their weights.
+     *
+     * @param values  the array for the values.
+     * @param weights  the array for the weights.
+     */
+    private void sortedItems(double[] values, long[] weights) {
+        // each level is sorted independently, then the levels are merged
+        int n = 0;
+        for (int h = 0; h < this.levelCount; h++) {
+            int size = this.sizes[h];
+            double[] sorted = Arrays.copyOf(this.levels[h], size);
+            Arrays.sort(sorted);
+            long weight = 1L << h;
+            int i = n - 1;
+            int j = size - 1;
+            int dest = n + size - 1;
+            while (j >= 0) {
+                if (i >= 0 && values[i] > sorted[j]) {
+                    values[dest] = values[i];
+                    weights[dest] = weights[i];
+                    i--;
+                }
+                else {
+                    values[dest] = sorted[j];
+                    weights[dest] = weight;
+                    j--;
+                }
+                dest--;
+            }
+            n += size;
+        }
+    }
+
+    /**
+     * Returns the capacity of a level, given the current number of levels.
+     *
+     * @param level  the level.
+     *
+     * @return The capacity.
+     */
+    private int capacity(int level) {
+        int depth = this.levelCount - level - 1;
+        int c = (int) Math.ceil(this.k * Math.pow(CAPACITY_DECAY, depth));
+        return Math.max(MIN_LEVEL_CAPACITY, c);
+    }
+
+    /**
+     * Appends a value to the buffer for a level, growing it if necessary.
+     *
+     * @param level  the level.
+     * @param value  the value.
+     */
+    private void append(int level, double value) {
+        double[] buffer = this.levels[level];
+        int size = this.sizes[level];
+        if (size == buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(MIN_LEVEL_CAPACITY,
+                    size * 2));
+            this.levels[level] = buffer;
+        }
+        buffer[size] = value;
+        this.sizes[level] = size + 1;
+    }
+
+    /**
+     * Adds a new (empty) level at the top of the stack.
+     */
+    private void addLevel() {
+        if (this.levelCount == this.levels.length) {
+            this.levels = Arrays.copyOf(this.levels, this.levelCount + 1);
+            this.sizes = Arrays.copyOf(this.sizes, this.levelCount + 1);
+        }
+        this.levels[this.levelCount] = new double[MIN_LEVEL_CAPACITY];
+        this.sizes[this.levelCount] = 0;
+        this.levelCount++;
+    }
+
+    /**
+     * Compacts every level that has reached its capacity, working from the
+     * bottom of the stack to the top.
+     */
+    private void compress() {
+        for (int h = 0; h < this.levelCount; h++) {
+            if (this.sizes[h] >= capacity(h)) {
+                if (h + 1 == this.levelCount) {
+                    addLevel();
+                }
+                compact(h);
+            }
+        }
+    }
+
+    /**
+     * Sorts the values in a level and promotes every second value (starting
+     * at a randomly chosen offset) to the level above.  If the level holds
+     * an odd number of values, the largest is kept back.
+     *
+     * @param level  the level.
+     */
+    private void compact(int level) {
+        double[] buffer = this.levels[level];
+        int size = this.sizes[level];
+        Arrays.sort(buffer, 0, size);
+        int kept = size % 2;
+        int offset = nextBit();
+        for (int i = offset; i < size - kept; i += 2) {
+            append(level + 1, buffer[i]);
+        }
+        if (kept == 1) {
+            buffer[0] = buffer[size - 1];
+        }
+        this.sizes[level] = kept;
+    }
+
+    /**
+     * Returns a pseudo-random bit (xorshift generator), used to choose which
+     * values are promoted during a compaction.
+     *
+     * @return 0 or 1.
+     */
+    private int nextBit() {
+        long x = this.randomState;
+        x ^= x << 13;
+        x ^= x >>> 7;
+        x ^= x << 17;
+        this.randomState = x;
+        return (int) (x >>> 63);
+    }
+
+    /**
+     * Tests this sketch for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof QuantileSketch)) {
+            return false;
+        }
+        QuantileSketch that = (QuantileSketch) obj;
+        if (this.k != that.k) {
+            return false;
+        }
+        if (this.count != that.count) {
+            return false;
+        }
+        if (Double.doubleToLongBits(this.sum)
+                != Double.doubleToLongBits(that.sum)) {
+            return false;
+        }
+        if (Double.doubleToLongBits(this.min)
+                != Double.doubleToLongBits(that.min)) {
+            return false;
+        }
+        if (Double.doubleToLongBits(this.max)
+                != Double.doubleToLongBits(that.max)) {
+            return false;
+        }
+        if (this.levelCount != that.levelCount) {
+            return false;
+        }
+        for (int h = 0; h < this.levelCount; h++) {
+            if (!Arrays.equals(this.levels[h], 0, this.sizes[h],
+                    that.levels[h], 0, that.sizes[h])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code for this instance.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 41 * hash + this.k;
+        hash = 41 * hash + Long.hashCode(this.count);
+        hash = 41 * hash + Double.hashCode(this.min);
+        hash = 41 * hash + Double.hashCode(this.max);
+        return hash;
+    }
+
+    /**
+     * Returns an independent copy of this sketch.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException not thrown by this class, but
+     *     subclasses may differ.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        QuantileSketch clone = (QuantileSketch) super.clone();
+        clone.levels = new double[this.levels.length][];
+        for (int h = 0; h < this.levelCount; h++) {
+            clone.levels[h] = this.levels[h].clone();
+        }
+        clone.sizes = this.sizes.clone();
+        return clone;
+    }
+
+}
@@ -0,0 +1,497 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -----------------------
+ * StreamingHistogram.java
+ * -----------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.statistics;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jfree.chart.api.PublicCloneable;
+import org.jfree.chart.internal.Args;
+
+/**
+ * A histogram with a fixed set of bins that can absorb new values at any
+ * time, using memory proportional to the number of bins only.  The bins are
+ * either of equal width (see {@link #createLinear(double, double, int)}) or
+ * of equal width on a logarithmic scale, in the style of an HDR histogram
+ * (see {@link #createLogarithmic(double, double, int)}).  Values below the
+ * lowest bin are counted in the first bin and values above the highest bin
+ * are counted in the last bin, as in {@link HistogramDataset}.
+ * <p>
+ * Counts are held in {@code long} arrays that are striped across threads,
+ * so that {@link #add(double)} can be called concurrently from many threads
+ * with little contention.  Reads sum the stripes and are therefore
+ * consistent for each bin but not across bins while updates are in
+ * progress.
+ *
+ * @see StreamingHistogramDataset
+ */
+public class StreamingHistogram implements Cloneable, PublicCloneable,
+        Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -1264860453918236270L;
+
+    /** The maximum number of stripes. */
+    private static final int MAX_STRIPES = 64;
+
+    /** A flag that indicates logarithmic bins. */
+    private final boolean logarithmic;
+
+    /** The lower bound of the first bin. */
+    private final double lowerBound;
+
+    /** The upper bound of the last bin. */
+    private final double upperBound;
+
+    /** The number of bins. */
+    private final int binCount;
+
+    /**
+     * The bin width (for linear bins) or the log10 of the bin width ratio
+     * (for logarithmic bins).
+     */
+    private final double binWidth;
+
+    /** The counts, indexed by {@code stripe * binCount + bin}. */
+    private AtomicLongArray counts;
+
+    /** The number of stripes (a power of 2). */
+    private final int stripes;
+
+    /** The total count. */
+    private LongAdder total;
+
+    /**
+     * Creates a new histogram.
+     *
+     * @param logarithmic  use logarithmic bins?
+     * @param lowerBound  the lower bound of the first bin.
+     * @param upperBound  the upper bound of the last bin.
+     * @param binCount  the number of bins.
+     * @param binWidth  the bin width (or log10 ratio).
+     */
+    private StreamingHistogram(boolean logarithmic, double lowerBound,
+            double upperBound, int binCount, double binWidth) {
+        this.logarithmic = logarithmic;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.binCount = binCount;
+        this.binWidth = binWidth;
+        int n = Integer.highestOneBit(Math.max(1, Math.min(MAX_STRIPES,
+                Runtime.getRuntime().availableProcessors())));
+        this.stripes = n;
+        this.counts = new AtomicLongArray(n * binCount);
+        this.total = new LongAdder();
+    }
+
+    /**
+     * Creates a histogram with bins of equal width.
+     *
+     * @param lowerBound  the lower bound of the first bin.
+     * @param upperBound  the upper bound of the last bin (must be greater
+     *     than {@code lowerBound}).
+     * @param binCount  the number of bins (at least 1).
+     *
+     * @return A new histogram.
+     */
+    public static StreamingHistogram createLinear(double lowerBound,
+            double upperBound, int binCount) {
+        Args.requireFinite(lowerBound, "lowerBound");
+        Args.requireFinite(upperBound, "upperBound");
+        Args.requireInRange(binCount, "binCount", 1, Integer.MAX_VALUE);
+        if (upperBound <= lowerBound) {
+            throw new IllegalArgumentException(
+                    "Requires 'upperBound' > 'lowerBound'.");
+        }
+        return new StreamingHistogram(false, lowerBound, upperBound, binCount,
+                (upperBound - lowerBound) / binCount);
+    }
+
+    /**
+     * Creates a histogram with bins of equal width on a logarithmic scale,
+     * so that every bin covers the same relative range of values.  This
+     * suits latency data, which spans several orders of magnitude.
+     *
+     * @param lowerBound  the lower bound of the first bin (must be
+     *     positive).
+     * @param upperBound  the upper bound of the last bin (must be greater
+     *     than {@code lowerBound}).
+     * @param binsPerDecade  the number of bins for each factor of 10 (at
+     *     least 1).
+     *
+     * @return A new histogram.
+     */
+    public static StreamingHistogram createLogarithmic(double lowerBound,
+            double upperBound, int binsPerDecade) {
+        Args.requireFinite(lowerBound, "lowerBound");
+        Args.requireFinite(upperBound, "upperBound");
+        Args.requireInRange(binsPerDecade, "binsPerDecade", 1,
+                Integer.MAX_VALUE);
+        if (lowerBound <= 0.0) {
+            throw new IllegalArgumentException(
+                    "Requires 'lowerBound' > 0.");
+        }
+        if (upperBound <= lowerBound) {
+            throw new IllegalArgumentException(
+                    "Requires 'upperBound' > 'lowerBound'.");
+        }
+        double decades = Math.log10(upperBound / lowerBound);
+        int binCount = Math.max(1, (int) Math.ceil(decades * binsPerDecade
+                - 1e-9));
+        return new StreamingHistogram(true, lowerBound,
+                lowerBound * Math.pow(10.0, (double) binCount / binsPerDecade),
+                binCount, 1.0 / binsPerDecade);
+    }
+
+    /**
+     * Returns {@code true} if the bins are logarithmic.
+     *
+     * @return A boolean.
+     */
+    public boolean isLogarithmic() {
+        return this.logarithmic;
+    }
+
+    /**
+     * Returns the number of bins.
+     *
+     * @return The bin count.
+     */
+    public int getBinCount() {
+        return this.binCount;
+    }
+
+    /**
+     * Returns the lower bound of the first bin.
+     *
+     * @return The lower bound.
+     */
+    public double getLowerBound() {
+        return this.lowerBound;
+    }
+
+    /**
+     * Returns the upper bound of the last bin.
+     *
+     * @return The upper bound.
+     */
+    public double getUpperBound() {
+        return this.upperBound;
+    }
+
+    /**
+     * Returns the start boundary for a bin.
+     *
+     * @param bin  the bin index.
+     *
+     * @return The start boundary.
+     */
+    public double getStartBoundary(int bin) {
+        Args.requireInRange(bin, "bin", 0, this.binCount - 1);
+        return boundary(bin);
+    }
+
+    /**
+     * Returns the end boundary for a bin.
+     *
+     * @param bin  the bin index.
+     *
+     * @return The end boundary.
+     */
+    public double getEndBoundary(int bin) {
+        Args.requireInRange(bin, "bin", 0, this.binCount - 1);
+        return (bin == this.binCount - 1) ? this.upperBound : boundary(bin + 1);
+    }
+
+    /**
+     * Returns the start boundary for a bin, without argument checks.
+     *
+     * @param bin  the bin index (may equal the bin count).
+     *
+     * @return The boundary.
+     */
+    private double boundary(int bin) {
+        if (this.logarithmic) {
+            return this.lowerBound * Math.pow(10.0, bin * this.binWidth);
+        }
+        return this.lowerBound + bin * this.binWidth;
+    }
+
+    /**
+     * Returns the index of the bin that a value is counted in.  Values on
+     * the boundary between two bins are assigned to the higher bin.
+     *
+     * @param value  the value (not {@code Double.NaN}).
+     *
+     * @return The bin index.
+     */
+    public int getBinIndex(double value) {
+        if (!(value > this.lowerBound)) {
+            return 0;
+        }
+        if (value >= this.upperBound) {
+            return this.binCount - 1;
+        }
+        double pos;
+        if (this.logarithmic) {
+            pos = Math.log10(value / this.lowerBound) / this.binWidth;
+        }
+        else {
+            pos = (value - this.lowerBound) / this.binWidth;
+        }
+        int bin = Math.min(this.binCount - 1, (int) pos);
+        // correct for rounding near the bin boundaries
+        if (bin > 0 && value < boundary(bin)) {
+            bin--;
+        }
+        else if (bin < this.binCount - 1 && value >= boundary(bin + 1)) {
+            bin++;
+        }
+        return bin;
+    }
+
+    /**
+     * Adds a value to the histogram.  This method can be called
+     * concurrently from any number of threads.  {@code Double.NaN} values
+     * are ignored.
+     *
+     * @param value  the value.
+     */
+    public void add(double value) {
+        add(value, 1L);
+    }
+
+    /**
+     * Adds a value to the histogram a number of times.  This method can be
+     * called concurrently from any number of threads.  {@code Double.NaN}
+     * values are ignored.
+     *
+     * @param value  the value.
+     * @param count  the number of occurrences (zero or greater).
+     */
+    public void add(double value, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Requires 'count' >= 0.");
+        }
+        if (Double.isNaN(value) || count == 0) {
+            return;
+        }
+        int bin = getBinIndex(value);
+        this.counts.getAndAdd(stripe() * this.binCount + bin, count);
+        this.total.add(count);
+    }
+
+    /**
+     * Adds all the values in an array to the histogram.
+     *
+     * @param values  the values ({@code null} not permitted).
+     */
+    public void add(double[] values) {
+        Args.nullNotPermitted(values, "values");
+        int base = stripe() * this.binCount;
+        long n = 0;
+        for (double v : values) {
+            if (!Double.isNaN(v)) {
+                this.counts.getAndIncrement(base + getBinIndex(v));
+                n++;
+            }
+        }
+        this.total.add(n);
+    }
+
+    /**
+     * Adds the counts from another histogram to this one.  The other
+     * histogram must have the same bins as this histogram.
+     *
+     * @param other  the other histogram ({@code null} not permitted).
+     *
+     * @throws IllegalArgumentException if the bins are different.
+     */
+    public void merge(StreamingHistogram other) {
+        Args.nullNotPermitted(other, "other");
+        if (!hasSameBins(other)) {
+            throw new IllegalArgumentException(
+                    "The histograms have different bins.");
+        }
+        int base = stripe() * this.binCount;
+        for (int bin = 0; bin < this.binCount; bin++) {
+            long c = other.getCount(bin);
+            if (c != 0) {
+                this.counts.getAndAdd(base + bin, c);
+                this.total.add(c);
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} if the other histogram has the same bins as this
+     * one.
+     *
+     * @param other  the other histogram ({@code null} not permitted).
+     *
+     * @return A boolean.
+     */
+    public boolean hasSameBins(StreamingHistogram other) {
+        return this.logarithmic == other.logarithmic
+                && this.binCount == other.binCount
+                && Double.compare(this.lowerBound, other.lowerBound) == 0
+                && Double.compare(this.upperBound, other.upperBound) == 0;
+    }
+
+    /**
+     * Returns the number of values counted in a bin.
+     *
+     * @param bin  the bin index.
+     *
+     * @return The count.
+     */
+    public long getCount(int bin) {
+        Args.requireInRange(bin, "bin", 0, this.binCount - 1);
+        long result = 0;
+        for (int s = 0; s < this.stripes; s++) {
+            result += this.counts.get(s * this.binCount + bin);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the counts for all the bins.
+     *
+     * @return A new array containing the counts.
+     */
+    public long[] getCounts() {
+        long[] result = new long[this.binCount];
+        for (int s = 0; s < this.stripes; s++) {
+            int base = s * this.binCount;
+            for (int bin = 0; bin < this.binCount; bin++) {
+                result[bin] += this.counts.get(base + bin);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the total number of values counted.
+     *
+     * @return The total count.
+     */
+    public long getTotalCount() {
+        return this.total.sum();
+    }
+
+    /**
+     * Resets all the counts to zero.
+     */
+    public void clear() {
+        for (int i = 0; i < this.counts.length(); i++) {
+            this.counts.set(i, 0L);
+        }
+        this.total.reset();
+    }
+
+    /**
+     * Returns the stripe for the calling thread.
+     *
+     * @return The stripe index.
+     */
+    private int stripe() {
+        long id = Thread.currentThread().getId();
+        return (int) (id ^ (id >>> 16)) & (this.stripes - 1);
+    }
+
+    /**
+     * Tests this histogram for equality with an arbitrary object.  Two
+     * histograms are equal if they have the same bins and counts.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof StreamingHistogram)) {
+            return false;
+        }
+        StreamingHistogram that = (StreamingHistogram) obj;
+        if (!hasSameBins(that)) {
+            return false;
+        }
+        return Arrays.equals(getCounts(), that.getCounts());
+    }
+
+    /**
+     * Returns a hash code for this instance.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        int hash = 5;
+        hash = 29 * hash + (this.logarithmic ? 1 : 0);
+        hash = 29 * hash + this.binCount;
+        hash = 29 * hash + Double.hashCode(this.lowerBound);
+        hash = 29 * hash + Double.hashCode(this.upperBound);
+        return hash;
+    }
+
+    /**
+     * Returns an independent copy of this histogram.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException not thrown by this class, but
+     *     subclasses may differ.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        StreamingHistogram clone = (StreamingHistogram) super.clone();
+        long[] c = new long[this.counts.length()];
+        for (int i = 0; i < c.length; i++) {
+            c[i] = this.counts.get(i);
+        }
+        clone.counts = new AtomicLongArray(c);
+        clone.total = new LongAdder();
+        clone.total.add(this.total.sum());
+        return clone;
+    }
+
+}
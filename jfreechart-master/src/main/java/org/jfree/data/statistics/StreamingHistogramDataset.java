@@ -0,0 +1,507 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------------------
+ * StreamingHistogramDataset.java
+ * ------------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.statistics;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.jfree.chart.api.PublicCloneable;
+import org.jfree.chart.internal.Args;
+
+import org.jfree.data.DomainOrder;
+import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.xy.AbstractIntervalXYDataset;
+import org.jfree.data.xy.IntervalXYDataset;
+
+/**
+ * A histogram dataset that absorbs new observations at any time, with each
+ * series backed by a {@link StreamingHistogram}.  Unlike
+ * {@link HistogramDataset}, the raw values are not retained and the bins
+ * are fixed when a series is added, so the memory used does not grow with
+ * the number of observations.  The dataset can be used directly with an
+ * {@code XYBarRenderer}.
+ * <p>
+ * Observations can be added from many threads at once by calling
+ * {@link #addObservation(int, double, boolean)} with {@code notify} set to
+ * {@code false}, and then calling {@link #setNotify(boolean)} with
+ * {@code true} (on the event dispatch thread, for a chart displayed in
+ * Swing) when the chart should be refreshed.
+ *
+ * @param <S>  the type for the series keys.
+ *
+ * @see HistogramDataset
+ */
+public class StreamingHistogramDataset<S extends Comparable<S>>
+        extends AbstractIntervalXYDataset<S> implements IntervalXYDataset<S>,
+        Cloneable, PublicCloneable, Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 3580412398470117259L;
+
+    /** The series keys. */
+    private List<S> keys;
+
+    /** The histograms, one per series. */
+    private List<StreamingHistogram> histograms;
+
+    /** The histogram type. */
+    private HistogramType type;
+
+    /**
+     * Creates a new (empty) dataset with a default type of
+     * {@link HistogramType}.FREQUENCY.
+     */
+    public StreamingHistogramDataset() {
+        this.keys = new ArrayList<>();
+        this.histograms = new ArrayList<>();
+        this.type = HistogramType.FREQUENCY;
+    }
+
+    /**
+     * Returns the histogram type.
+     *
+     * @return The type (never {@code null}).
+     */
+    public HistogramType getType() {
+        return this.type;
+    }
+
+    /**
+     * Sets the histogram type and sends a {@link DatasetChangeEvent} to all
+     * registered listeners.
+     *
+     * @param type  the type ({@code null} not permitted).
+     */
+    public void setType(HistogramType type) {
+        Args.nullNotPermitted(type, "type");
+        this.type = type;
+        fireDatasetChanged();
+    }
+
+    /**
+     * Adds a series to the dataset and sends a {@link DatasetChangeEvent} to
+     * all registered listeners.  The dataset keeps a reference to the
+     * histogram, so values added to it directly will appear in the dataset
+     * (after the next change event).
+     *
+     * @param key  the series key ({@code null} not permitted).
+     * @param histogram  the histogram ({@code null} not permitted).
+     */
+    public void addSeries(S key, StreamingHistogram histogram) {
+        Args.nullNotPermitted(key, "key");
+        Args.nullNotPermitted(histogram, "histogram");
+        if (this.keys.contains(key)) {
+            throw new IllegalArgumentException("Duplicate key: " + key);
+        }
+        this.keys.add(key);
+        this.histograms.add(histogram);
+        fireDatasetChanged();
+    }
+
+    /**
+     * Returns the histogram for a series.
+     *
+     * @param series  the series index (in the range {@code 0} to
+     *     {@code getSeriesCount() - 1}).
+     *
+     * @return The histogram.
+     */
+    public StreamingHistogram getHistogram(int series) {
+        return this.histograms.get(series);
+    }
+
+    /**
+     * Returns the index of the series with the specified key, or -1.
+     *
+     * @param key  the key ({@code null} permitted).
+     *
+     * @return The series index.
+     */
+    @Override
+    public int indexOf(S key) {
+        return this.keys.indexOf(key);
+    }
+
+    /**
+     * Adds an observation to a series and sends a {@link DatasetChangeEvent}
+     * to all registered listeners.
+     *
+     * @param series  the series index.
+     * @param value  the value.
+     */
+    public void addObservation(int series, double value) {
+        addObservation(series, value, true);
+    }
+
+    /**
+     * Adds an observation to a series.  When {@code notify} is
+     * {@code false}, this method can be called concurrently from any number
+     * of threads.
+     *
+     * @param series  the series index.
+     * @param value  the value.
+     * @param notify  send {@link DatasetChangeEvent} to listeners?
+     */
+    public void addObservation(int series, double value, boolean notify) {
+        this.histograms.get(series).add(value);
+        if (notify) {
+            fireDatasetChanged();
+        }
+    }
+
+    /**
+     * Adds a set of observations to a series and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.
+     *
+     * @param series  the series index.
+     * @param values  the values ({@code null} not permitted).
+     */
+    public void addObservations(int series, double[] values) {
+        this.histograms.get(series).add(values);
+        fireDatasetChanged();
+    }
+
+    /**
+     * Merges the counts from a histogram into a series and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.
+     *
+     * @param series  the series index.
+     * @param histogram  the histogram, which must have the same bins as the
+     *     series ({@code null} not permitted).
+     */
+    public void merge(int series, StreamingHistogram histogram) {
+        this.histograms.get(series).merge(histogram);
+        fireDatasetChanged();
+    }
+
+    /**
+     * Resets the counts for all series to zero and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.
+     */
+    public void clearObservations() {
+        for (StreamingHistogram h : this.histograms) {
+            h.clear();
+        }
+        fireDatasetChanged();
+    }
+
+    /**
+     * Returns the number of series in the dataset.
+     *
+     * @return The series count.
+     */
+    @Override
+    public int getSeriesCount() {
+        return this.keys.size();
+    }
+
+    /**
+     * Returns the key for a series.
+     *
+     * @param series  the series index (in the range {@code 0} to
+     *     {@code getSeriesCount() - 1}).
+     *
+     * @return The series key.
+     */
+    @Override
+    public S getSeriesKey(int series) {
+        return this.keys.get(series);
+    }
+
+    /**
+     * Returns the order of the domain (or X) values returned by the dataset.
+     *
+     * @return The order (never {@code null}).
+     */
+    @Override
+    public DomainOrder getDomainOrder() {
+        return DomainOrder.ASCENDING;
+    }
+
+    /**
+     * Returns the number of data items (bins) for a series.
+     *
+     * @param series  the series index (in the range {@code 0} to
+     *     {@code getSeriesCount() - 1}).
+     *
+     * @return The item count.
+     */
+    @Override
+    public int getItemCount(int series) {
+        return this.histograms.get(series).getBinCount();
+    }
+
+    /**
+     * Returns the x-value (the middle of the bin) for an item.
+     *
+     * @param series  the series index.
+     * @param item  the item (bin) index.
+     *
+     * @return The x-value.
+     */
+    @Override
+    public Number getX(int series, int item) {
+        return getXValue(series, item);
+    }
+
+    /**
+     * Returns the x-value (the middle of the bin) for an item.
+     *
+     * @param series  the series index.
+     * @param item  the item (bin) index.
+     *
+     * @return The x-value.
+     */
+    @Override
+    public double getXValue(int series, int item) {
+        StreamingHistogram h = this.histograms.get(series);
+        return (h.getStartBoundary(item) + h.getEndBoundary(item)) / 2.0;
+    }
+
+    /**
+     * Returns the y-value for a bin (calculated to take into account the
+     * histogram type).
+     *
+     * @param series  the series index.
+     * @param item  the item (bin) index.
+     *
+     * @return The y-value.
+     */
+    @Override
+    public Number getY(int series, int item) {
+        return getYValue(series, item);
+    }
+
+    /**
+     * Returns the y-value for a bin (calculated to take into account the
+     * histogram type).
+     *
+     * @param series  the series index.
+     * @param item  the item (bin) index.
+     *
+     * @return The y-value.
+     */
+    @Override
+    public double getYValue(int series, int item) {
+        StreamingHistogram h = this.histograms.get(series);
+        long count = h.getCount(item);
+        if (this.type == HistogramType.FREQUENCY) {
+            return count;
+        }
+        double total = h.getTotalCount();
+        if (this.type == HistogramType.RELATIVE_FREQUENCY) {
+            return count / total;
+        }
+        else if (this.type == HistogramType.SCALE_AREA_TO_1) {
+            double binWidth = h.getEndBoundary(item)
+                    - h.getStartBoundary(item);
+            return count / (binWidth * total);
+        }
+        else { // pretty sure this shouldn't ever happen
+            throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * Returns the start value for a bin.
+     *
+     * @param series  the series index.
+     * @param item  the item (bin) index.
+     *
+     * @return The start value.
+     */
+    @Override
+    public Number getStartX(int series, int item) {
+        return getStartXValue(series, item);
+    }
+
+    /**
+     * Returns the start value for a bin.
+     *
+     * @param series  the series index.
+     * @param item  the item (bin) index.
+     *
+     * @return The start value.
+     */
+    @Override
+    public double getStartXValue(int series, int item) {
+        return this.histograms.get(series).getStartBoundary(item);
+    }
+
+    /**
+     * Returns the end value for a bin.
+     *
+     * @param series  the series index.
+     * @param item  the item (bin) index.
+     *
+     * @return The end value.
+     */
+    @Override
+    public Number getEndX(int series, int item) {
+        return getEndXValue(series, item);
+    }
+
+    /**
+     * Returns the end value for a bin.
+     *
+     * @param series  the series index.
+     * @param item  the item (bin) index.
+     *
+     * @return The end value.
+     */
+    @Override
+    public double getEndXValue(int series, int item) {
+        return this.histograms.get(series).getEndBoundary(item);
+    }
+
+    /**
+     * Returns the start y-value for a bin (which is the same as the y-value).
+     *
+     * @param series  the series index.
+     * @param item  the item (bin) index.
+     *
+     * @return The y-value.
+     */
+    @Override
+    public Number getStartY(int series, int item) {
+        return getY(series, item);
+    }
+
+    /**
+     * Returns the start y-value for a bin (which is the same as the y-value).
+     *
+     * @param series  the series index.
+     * @param item  the item (bin) index.
+     *
+     * @return The y-value.
+     */
+    @Override
+    public double getStartYValue(int series, int item) {
+        return getYValue(series, item);
+    }
+
+    /**
+     * Returns the end y-value for a bin (which is the same as the y-value).
+     *
+     * @param series  the series index.
+     * @param item  the item (bin) index.
+     *
+     * @return The y-value.
+     */
+    @Override
+    public Number getEndY(int series, int item) {
+        return getY(series, item);
+    }
+
+    /**
+     * Returns the end y-value for a bin (which is the same as the y-value).
+     *
+     * @param series  the series index.
+     * @param item  the item (bin) index.
+     *
+     * @return The y-value.
+     */
+    @Override
+    public double getEndYValue(int series, int item) {
+        return getYValue(series, item);
+    }
+
+    /**
+     * Tests this dataset for equality with an arbitrary object.
+     *
+     * @param obj  the object to test against ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof StreamingHistogramDataset)) {
+            return false;
+        }
+        StreamingHistogramDataset<?> that = (StreamingHistogramDataset<?>) obj;
+        if (!Objects.equals(this.type, that.type)) {
+            return false;
+        }
+        if (!this.keys.equals(that.keys)) {
+            return false;
+        }
+        if (!this.histograms.equals(that.histograms)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code for this instance.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 43 * hash + this.keys.hashCode();
+        hash = 43 * hash + this.histograms.hashCode();
+        hash = 43 * hash + Objects.hashCode(this.type);
+        return hash;
+    }
+
+    /**
+     * Returns a clone of the dataset.  The histograms are copied, so the
+     * clone is independent of the original.
+     *
+     * @return A clone of the dataset.
+     *
+     * @throws CloneNotSupportedException if the object cannot be cloned.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        StreamingHistogramDataset<S> clone
+                = (StreamingHistogramDataset<S>) super.clone();
+        clone.keys = new ArrayList<>(this.keys);
+        clone.histograms = new ArrayList<>(this.histograms.size());
+        for (StreamingHistogram h : this.histograms) {
+            clone.histograms.add((StreamingHistogram) h.clone());
+        }
+        return clone;
+    }
+
+}
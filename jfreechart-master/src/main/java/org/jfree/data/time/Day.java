@@ -459,12 +459,14 @@ public class Day extends RegularTimePeriod implements Serializable {
      *      string, the day otherwise.
      */
     public static Day parseDay(String s) {
+        // the shared formatters are not thread-safe, so parse with copies
         try {
-            return new Day (Day.DATE_FORMAT.parse(s));
+            return new Day(((DateFormat) Day.DATE_FORMAT.clone()).parse(s));
         }
         catch (ParseException e1) {
             try {
-                return new Day (Day.DATE_FORMAT_SHORT.parse(s));
+                return new Day(((DateFormat) Day.DATE_FORMAT_SHORT.clone())
+                        .parse(s));
             }
             catch (ParseException e2) {
               // ignore
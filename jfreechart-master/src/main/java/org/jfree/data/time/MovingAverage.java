@@ -42,7 +42,11 @@ import org.jfree.data.xy.XYSeries;
 import org.jfree.data.xy.XYSeriesCollection;
 
 /**
- * A utility class for calculating moving averages of time series data.
+ * A utility class for calculating moving averages of time series data.  Each
+ * method makes a single pass over the source data, using a
+ * {@link MovingWindow}, and returns a new series.  To keep a moving average
+ * up to date as the source data changes, use a {@link MovingWindowDataset}
+ * instead.
  */
 public class MovingAverage {
 
@@ -112,47 +116,34 @@ public class MovingAverage {
             // first data item to have an average calculated...
             long firstSerial = source.getTimePeriod(0).getSerialIndex() + skip;
 
-            for (int i = source.getItemCount() - 1; i >= 0; i--) {
-
-                // get the current data item...
-                RegularTimePeriod period = source.getTimePeriod(i);
+            // a single pass with a sliding window, the window holds the
+            // items with a serial index in (serial - periodCount, serial];
+            // a second window tracks NaN values (as opposed to nulls),
+            // which make the average NaN as in earlier versions
+            MovingWindow window = MovingWindow.createPeriodWindow(
+                    MovingWindowType.MEAN, periodCount);
+            MovingWindow nans = MovingWindow.createPeriodWindow(
+                    MovingWindowType.MAXIMUM, periodCount);
+            for (int i = 0; i < source.getItemCount(); i++) {
+                TimeSeriesDataItem item = source.getRawDataItem(i);
+                RegularTimePeriod period = item.getPeriod();
                 long serial = period.getSerialIndex();
-
+                Number v = item.getValue();
+                double y = v != null ? v.doubleValue() : Double.NaN;
+                double average = window.add(serial, y);
+                boolean nan = nans.add(serial,
+                        v != null && Double.isNaN(y) ? 1.0 : 0.0) > 0.0;
+                if (nan) {
+                    average = Double.NaN;
+                }
                 if (serial >= firstSerial) {
-                    // work out the average for the earlier values...
-                    int n = 0;
-                    double sum = 0.0;
-                    long serialLimit = period.getSerialIndex() - periodCount;
-                    int offset = 0;
-                    boolean finished = false;
-
-                    while ((offset < periodCount) && (!finished)) {
-                        if ((i - offset) >= 0) {
-                            TimeSeriesDataItem item = source.getRawDataItem(
-                                    i - offset);
-                            RegularTimePeriod p = item.getPeriod();
-                            Number v = item.getValue();
-                            long currentIndex = p.getSerialIndex();
-                            if (currentIndex > serialLimit) {
-                                if (v != null) {
-                                    sum = sum + v.doubleValue();
-                                    n = n + 1;
-                                }
-                            }
-                            else {
-                                finished = true;
-                            }
-                        }
-                        offset = offset + 1;
-                    }
-                    if (n > 0) {
-                        result.add(period, sum / n);
+                    if (window.getValidCount() > 0 || nan) {
+                        result.add(period, average);
                     }
                     else {
                         result.add(period, null);
                     }
                 }
-
             }
         }
         return result;
@@ -279,52 +270,43 @@ public class MovingAverage {
 
         XYSeries result = new XYSeries(name);
 
-        if (source.getItemCount(series) > 0) {
+        int itemCount = source.getItemCount(series);
+        if (itemCount > 0) {
 
             // if the initial averaging period is to be excluded, then
             // calculate the lowest x-value to have an average calculated...
             double first = source.getXValue(series, 0) + skip;
 
-            for (int i = source.getItemCount(series) - 1; i >= 0; i--) {
-
-                // get the current data item...
+            // a single pass with a sliding window, the window holds the
+            // items with an x-value in (x - period, x]; a second window
+            // tracks NaN values (as opposed to nulls), which make the
+            // average NaN as in earlier versions
+            MovingWindow window = MovingWindow.createPeriodWindow(
+                    MovingWindowType.MEAN, period);
+            MovingWindow nans = MovingWindow.createPeriodWindow(
+                    MovingWindowType.MAXIMUM, period);
+            Double[] averages = new Double[itemCount];
+            for (int i = 0; i < itemCount; i++) {
                 double x = source.getXValue(series, i);
+                Number y = source.getY(series, i);
+                double yy = y != null ? y.doubleValue() : Double.NaN;
+                double average = window.add(x, yy);
+                if (nans.add(x, y != null && Double.isNaN(yy) ? 1.0 : 0.0)
+                        > 0.0) {
+                    averages[i] = Double.NaN;
+                }
+                else if (window.getValidCount() > 0) {
+                    averages[i] = average;
+                }
+            }
 
+            // add the items in reverse order, as in earlier versions, so
+            // that items with duplicate x-values keep the same order
+            for (int i = itemCount - 1; i >= 0; i--) {
+                double x = source.getXValue(series, i);
                 if (x >= first) {
-                    // work out the average for the earlier values...
-                    int n = 0;
-                    double sum = 0.0;
-                    double limit = x - period;
-                    int offset = 0;
-                    boolean finished = false;
-
-                    while (!finished) {
-                        if ((i - offset) >= 0) {
-                            double xx = source.getXValue(series, i - offset);
-                            Number yy = source.getY(series, i - offset);
-                            if (xx > limit) {
-                                if (yy != null) {
-                                    sum = sum + yy.doubleValue();
-                                    n = n + 1;
-                                }
-                            }
-                            else {
-                                finished = true;
-                            }
-                        }
-                        else {
-                            finished = true;
-                        }
-                        offset = offset + 1;
-                    }
-                    if (n > 0) {
-                        result.add(x, sum / n);
-                    }
-                    else {
-                        result.add(x, null);
-                    }
+                    result.add(x, averages[i]);
                 }
-
             }
         }
 
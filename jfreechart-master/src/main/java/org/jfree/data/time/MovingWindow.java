@@ -0,0 +1,546 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -----------------
+ * MovingWindow.java
+ * -----------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.time;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.jfree.chart.api.PublicCloneable;
+import org.jfree.chart.internal.Args;
+
+/**
+ * Calculates a statistic (see {@link MovingWindowType}) over a window that
+ * slides along a sequence of (x, y) values, in constant amortised time per
+ * value.  The window holds either a fixed number of the most recent points
+ * or the points whose x-value lies within a fixed period of the most recent
+ * x-value.  Means and standard deviations are maintained with running
+ * sums, while minimums and maximums use a monotonic deque.
+ * <p>
+ * Values must be added in order of ascending x-value.  {@code Double.NaN}
+ * y-values are treated as missing: they occupy a place in the window but
+ * are ignored by the statistic.
+ *
+ * @see MovingAverage
+ * @see MovingWindowDataset
+ */
+public class MovingWindow implements Cloneable, PublicCloneable, Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 8017462287046211349L;
+
+    /** The initial buffer capacity for period-based windows. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The statistic. */
+    private final MovingWindowType type;
+
+    /** The number of points in the window (0 for a period-based window). */
+    private final int pointCount;
+
+    /** The window period (0.0 for a point-based window). */
+    private final double period;
+
+    /** The x-values in the window (a ring buffer). */
+    private double[] xs;
+
+    /** The y-values in the window (a ring buffer). */
+    private double[] ys;
+
+    /** The index of the oldest value in the ring buffers. */
+    private int head;
+
+    /** The number of values in the window. */
+    private int size;
+
+    /** The number of non-missing y-values in the window. */
+    private int validCount;
+
+    /** The sum of the non-missing y-values, less the shift. */
+    private double sum;
+
+    /** The sum of squares of the non-missing y-values, less the shift. */
+    private double sumOfSquares;
+
+    /** A shift applied to the y-values to reduce rounding in the sums. */
+    private double shift;
+
+    /** The number of removals since the sums were last recalculated. */
+    private int removalCount;
+
+    /** The values in the min/max deque (a ring buffer). */
+    private double[] dequeValues;
+
+    /** The sequence numbers for the min/max deque (a ring buffer). */
+    private long[] dequeSequence;
+
+    /** The index of the first entry in the deque. */
+    private int dequeHead;
+
+    /** The number of entries in the deque. */
+    private int dequeSize;
+
+    /** The sequence number of the next value added. */
+    private long nextSequence;
+
+    /** The exponential mean. */
+    private double ema;
+
+    /** The x-value for the last non-missing value in the exponential mean. */
+    private double emaX;
+
+    /**
+     * Creates a new window.
+     *
+     * @param type  the statistic.
+     * @param pointCount  the point count.
+     * @param period  the period.
+     */
+    private MovingWindow(MovingWindowType type, int pointCount,
+            double period) {
+        Args.nullNotPermitted(type, "type");
+        this.type = type;
+        this.pointCount = pointCount;
+        this.period = period;
+        int capacity = pointCount > 0 ? pointCount + 1 : INITIAL_CAPACITY;
+        this.xs = new double[capacity];
+        this.ys = new double[capacity];
+        this.dequeValues = new double[capacity];
+        this.dequeSequence = new long[capacity];
+        clear();
+    }
+
+    /**
+     * Creates a window that holds a fixed number of the most recent points.
+     * For the {@link MovingWindowType#EXPONENTIAL_MEAN} statistic, the weight
+     * of each new value is {@code 2 / (pointCount + 1)}.
+     *
+     * @param type  the statistic ({@code null} not permitted).
+     * @param pointCount  the number of points (at least 1).
+     *
+     * @return A new window.
+     */
+    public static MovingWindow createPointWindow(MovingWindowType type,
+            int pointCount) {
+        Args.requireInRange(pointCount, "pointCount", 1, Integer.MAX_VALUE - 1);
+        return new MovingWindow(type, pointCount, 0.0);
+    }
+
+    /**
+     * Creates a window that holds the points with x-values greater than
+     * {@code x - period}, where {@code x} is the most recent x-value.  For
+     * the {@link MovingWindowType#EXPONENTIAL_MEAN} statistic, the weight of
+     * earlier values decays by a factor of {@code e} over each period.
+     *
+     * @param type  the statistic ({@code null} not permitted).
+     * @param period  the period (must be positive).
+     *
+     * @return A new window.
+     */
+    public static MovingWindow createPeriodWindow(MovingWindowType type,
+            double period) {
+        if (!(period > 0.0) || Double.isInfinite(period)) {
+            throw new IllegalArgumentException("Requires 'period' > 0.");
+        }
+        return new MovingWindow(type, 0, period);
+    }
+
+    /**
+     * Returns the statistic calculated by this window.
+     *
+     * @return The statistic (never {@code null}).
+     */
+    public MovingWindowType getType() {
+        return this.type;
+    }
+
+    /**
+     * Returns the number of points for a point-based window.
+     *
+     * @return The point count (zero for a period-based window).
+     */
+    public int getPointCount() {
+        return this.pointCount;
+    }
+
+    /**
+     * Returns the period for a period-based window.
+     *
+     * @return The period (zero for a point-based window).
+     */
+    public double getPeriod() {
+        return this.period;
+    }
+
+    /**
+     * Returns the number of points currently in the window (including
+     * points with missing y-values).
+     *
+     * @return The size.
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+    /**
+     * Returns the number of points in the window with a y-value that is
+     * not missing.
+     *
+     * @return The count.
+     */
+    public int getValidCount() {
+        return this.validCount;
+    }
+
+    /**
+     * Removes all values from the window.
+     */
+    public void clear() {
+        this.head = 0;
+        this.size = 0;
+        this.validCount = 0;
+        this.sum = 0.0;
+        this.sumOfSquares = 0.0;
+        this.shift = Double.NaN;
+        this.removalCount = 0;
+        this.dequeHead = 0;
+        this.dequeSize = 0;
+        this.nextSequence = 0;
+        this.ema = Double.NaN;
+        this.emaX = Double.NaN;
+    }
+
+    /**
+     * Adds a value to the window (removing any values that slide out of the
+     * window) and returns the updated statistic.
+     *
+     * @param x  the x-value (must not be less than the previous x-value).
+     * @param y  the y-value ({@code Double.NaN} for a missing value).
+     *
+     * @return The statistic for the window ending at this value (possibly
+     *     {@code Double.NaN}).
+     */
+    public double add(double x, double y) {
+        if (this.type == MovingWindowType.EXPONENTIAL_MEAN) {
+            addToExponentialMean(x, y);
+        }
+        // evict old values
+        if (this.pointCount > 0) {
+            if (this.size == this.pointCount) {
+                removeOldest();
+            }
+        }
+        else {
+            double limit = x - this.period;
+            while (this.size > 0 && this.xs[this.head] <= limit) {
+                removeOldest();
+            }
+            if (this.size == this.xs.length) {
+                grow();
+            }
+        }
+        long seq = this.nextSequence++;
+        int tail = (this.head + this.size) % this.xs.length;
+        this.xs[tail] = x;
+        this.ys[tail] = y;
+        this.size++;
+        if (!Double.isNaN(y)) {
+            this.validCount++;
+            if (Double.isNaN(this.shift)) {
+                this.shift = y;
+            }
+            double d = y - this.shift;
+            this.sum += d;
+            this.sumOfSquares += d * d;
+            if (this.type == MovingWindowType.MINIMUM
+                    || this.type == MovingWindowType.MAXIMUM) {
+                pushDeque(y, seq);
+            }
+        }
+        return getValue();
+    }
+
+    /**
+     * Returns the statistic for the values currently in the window.
+     *
+     * @return The statistic (possibly {@code Double.NaN}).
+     */
+    public double getValue() {
+        switch (this.type) {
+            case MEAN:
+                if (this.validCount == 0) {
+                    return Double.NaN;
+                }
+                return this.shift + this.sum / this.validCount;
+            case EXPONENTIAL_MEAN:
+                return this.ema;
+            case MINIMUM:
+            case MAXIMUM:
+                if (this.dequeSize == 0) {
+                    return Double.NaN;
+                }
+                return this.dequeValues[this.dequeHead];
+            case STANDARD_DEVIATION:
+                if (this.validCount < 2) {
+                    return Double.NaN;
+                }
+                double n = this.validCount;
+                double variance = (this.sumOfSquares - this.sum * this.sum / n)
+                        / (n - 1);
+                return Math.sqrt(Math.max(0.0, variance));
+            default:
+                throw new IllegalStateException("Unrecognised type.");
+        }
+    }
+
+    /**
+     * Updates the exponential mean with a new value.
+     *
+     * @param x  the x-value.
+     * @param y  the y-value.
+     */
+    private void addToExponentialMean(double x, double y) {
+        if (Double.isNaN(y)) {
+            return;
+        }
+        if (Double.isNaN(this.ema)) {
+            this.ema = y;
+        }
+        else {
+            double alpha;
+            if (this.pointCount > 0) {
+                alpha = 2.0 / (this.pointCount + 1.0);
+            }
+            else {
+                alpha = 1.0 - Math.exp(-(x - this.emaX) / this.period);
+            }
+            this.ema += alpha * (y - this.ema);
+        }
+        this.emaX = x;
+    }
+
+    /**
+     * Removes the oldest value from the window.
+     */
+    private void removeOldest() {
+        double y = this.ys[this.head];
+        long seq = this.nextSequence - this.size;
+        this.head = (this.head + 1) % this.xs.length;
+        this.size--;
+        if (!Double.isNaN(y)) {
+            this.validCount--;
+            if (this.validCount == 0) {
+                // reset the sums, discarding accumulated rounding error
+                this.sum = 0.0;
+                this.sumOfSquares = 0.0;
+                this.shift = Double.NaN;
+            }
+            else if (++this.removalCount >= this.xs.length) {
+                recalculateSums();
+            }
+            else {
+                double d = y - this.shift;
+                this.sum -= d;
+                this.sumOfSquares -= d * d;
+            }
+            if (this.dequeSize > 0
+                    && this.dequeSequence[this.dequeHead] == seq) {
+                this.dequeHead = (this.dequeHead + 1)
+                        % this.dequeValues.length;
+                this.dequeSize--;
+            }
+        }
+    }
+
+    /**
+     * Recalculates the running sums from the values in the window, so that
+     * rounding errors from the incremental updates do not accumulate.  This
+     * is called once per buffer length of removals, so the amortised cost
+     * per value is constant.
+     */
+    private void recalculateSums() {
+        this.sum = 0.0;
+        this.sumOfSquares = 0.0;
+        this.shift = Double.NaN;
+        int capacity = this.xs.length;
+        for (int i = 0; i < this.size; i++) {
+            double y = this.ys[(this.head + i) % capacity];
+            if (!Double.isNaN(y)) {
+                if (Double.isNaN(this.shift)) {
+                    this.shift = y;
+                }
+                double d = y - this.shift;
+                this.sum += d;
+                this.sumOfSquares += d * d;
+            }
+        }
+        this.removalCount = 0;
+    }
+
+    /**
+     * Pushes a value onto the back of the min/max deque, first removing all
+     * values that can no longer be the window minimum (or maximum).
+     *
+     * @param y  the value.
+     * @param seq  the sequence number of the value.
+     */
+    private void pushDeque(double y, long seq) {
+        int capacity = this.dequeValues.length;
+        boolean min = this.type == MovingWindowType.MINIMUM;
+        while (this.dequeSize > 0) {
+            int last = (this.dequeHead + this.dequeSize - 1) % capacity;
+            double v = this.dequeValues[last];
+            if (min ? v >= y : v <= y) {
+                this.dequeSize--;
+            }
+            else {
+                break;
+            }
+        }
+        int tail = (this.dequeHead + this.dequeSize) % capacity;
+        this.dequeValues[tail] = y;
+        this.dequeSequence[tail] = seq;
+        this.dequeSize++;
+    }
+
+    /**
+     * Doubles the capacity of the ring buffers.
+     */
+    private void grow() {
+        int capacity = this.xs.length;
+        int newCapacity = capacity * 2;
+        this.xs = unwrap(this.xs, this.head, this.size, newCapacity);
+        this.ys = unwrap(this.ys, this.head, this.size, newCapacity);
+        this.head = 0;
+        double[] dv = new double[newCapacity];
+        long[] ds = new long[newCapacity];
+        for (int i = 0; i < this.dequeSize; i++) {
+            int j = (this.dequeHead + i) % capacity;
+            dv[i] = this.dequeValues[j];
+            ds[i] = this.dequeSequence[j];
+        }
+        this.dequeValues = dv;
+        this.dequeSequence = ds;
+        this.dequeHead = 0;
+    }
+
+    /**
+     * Copies the contents of a ring buffer into a new array, starting at
+     * index 0.
+     *
+     * @param buffer  the ring buffer.
+     * @param head  the index of the first element.
+     * @param size  the number of elements.
+     * @param capacity  the capacity of the new array.
+     *
+     * @return The new array.
+     */
+    private static double[] unwrap(double[] buffer, int head, int size,
+            int capacity) {
+        double[] result = new double[capacity];
+        for (int i = 0; i < size; i++) {
+            result[i] = buffer[(head + i) % buffer.length];
+        }
+        return result;
+    }
+
+    /**
+     * Tests this window for equality with an arbitrary object.  Two windows
+     * are equal if they calculate the same statistic over the same window
+     * (the values currently in the window are not compared).
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof MovingWindow)) {
+            return false;
+        }
+        MovingWindow that = (MovingWindow) obj;
+        if (this.type != that.type) {
+            return false;
+        }
+        if (this.pointCount != that.pointCount) {
+            return false;
+        }
+        if (Double.doubleToLongBits(this.period)
+                != Double.doubleToLongBits(that.period)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code for this instance.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 37 * hash + this.type.hashCode();
+        hash = 37 * hash + this.pointCount;
+        hash = 37 * hash + Double.hashCode(this.period);
+        return hash;
+    }
+
+    /**
+     * Returns an independent copy of this window, including its current
+     * state.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException not thrown by this class, but
+     *     subclasses may differ.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        MovingWindow clone = (MovingWindow) super.clone();
+        clone.xs = Arrays.copyOf(this.xs, this.xs.length);
+        clone.ys = Arrays.copyOf(this.ys, this.ys.length);
+        clone.dequeValues = Arrays.copyOf(this.dequeValues,
+                this.dequeValues.length);
+        clone.dequeSequence = Arrays.copyOf(this.dequeSequence,
+                this.dequeSequence.length);
+        return clone;
+    }
+
+}
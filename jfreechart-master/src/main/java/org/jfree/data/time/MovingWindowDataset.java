@@ -0,0 +1,489 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------------
+ * MovingWindowDataset.java
+ * ------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.time;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import org.jfree.chart.internal.Args;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.general.DatasetChangeListener;
+import org.jfree.data.xy.AbstractXYDataset;
+import org.jfree.data.xy.XYDataset;
+
+/**
+ * An {@link XYDataset} that presents a moving window statistic (for example
+ * a moving average or a rolling maximum, see {@link MovingWindow}) for each
+ * series in a source dataset.  Unlike the methods in {@link MovingAverage},
+ * the results are not copied into a new dataset: they are kept up to date
+ * as the source dataset changes.  When items are appended to a source
+ * series, only the new items are processed, so each append costs constant
+ * (amortised) time regardless of the length of the series.
+ * <p>
+ * The x-values are read from the source dataset, and each item has the
+ * same x-value as the corresponding source item.  The source series must
+ * be in ascending order of x-value (as for a {@link TimeSeriesCollection}
+ * or an auto-sorted {@code XYSeriesCollection}).  Appends are recognised
+ * by finding the last item processed in the source series, either at the
+ * same index or, where items have been removed from the start of the series
+ * (for example by a series with a maximum item count), at a lower index.
+ * In the second case the values for the remaining items are kept, so they
+ * still include the removed items in their windows.  Any other change
+ * causes the series to be recalculated.  A change to an earlier item that
+ * leaves the last item in place cannot be detected this way; call
+ * {@link #recalculate()} after such a change.
+ *
+ * @param <S>  the type for the series keys.
+ */
+public class MovingWindowDataset<S extends Comparable<S>>
+        extends AbstractXYDataset<S> implements DatasetChangeListener {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -3418840924410268631L;
+
+    /** The source dataset. */
+    private XYDataset<S> source;
+
+    /** The window definition (a template for the per-series windows). */
+    private MovingWindow window;
+
+    /** The state for each series. */
+    private List<SeriesState> states;
+
+    /**
+     * Creates a new dataset that calculates the specified statistic for each
+     * series in the source dataset.
+     *
+     * @param source  the source dataset ({@code null} not permitted).
+     * @param window  the window, which is used as a template for the window
+     *     for each series ({@code null} not permitted).
+     */
+    public MovingWindowDataset(XYDataset<S> source, MovingWindow window) {
+        Args.nullNotPermitted(source, "source");
+        Args.nullNotPermitted(window, "window");
+        this.source = source;
+        this.window = window;
+        this.states = new ArrayList<>();
+        recalculate();
+        this.source.addChangeListener(this);
+    }
+
+    /**
+     * Returns the source dataset.
+     *
+     * @return The source dataset (never {@code null}).
+     */
+    public XYDataset<S> getSource() {
+        return this.source;
+    }
+
+    /**
+     * Returns a copy of the window definition.
+     *
+     * @return The window (never {@code null}).
+     */
+    public MovingWindow getWindow() {
+        return copyWindow(this.window);
+    }
+
+    /**
+     * Recalculates all the values from the source dataset and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.
+     */
+    public void recalculate() {
+        this.states.clear();
+        for (int s = 0; s < this.source.getSeriesCount(); s++) {
+            SeriesState state = new SeriesState(copyWindow(this.window));
+            state.update(this.source, s);
+            this.states.add(state);
+        }
+        fireDatasetChanged();
+    }
+
+    /**
+     * Receives notification of a change to the source dataset, updates the
+     * values (processing only the new items where the change is an append,
+     * possibly with items removed from the start of a series) and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.
+     *
+     * @param event  the event.
+     */
+    @Override
+    public void datasetChanged(DatasetChangeEvent event) {
+        if (this.source.getSeriesCount() != this.states.size()) {
+            recalculate();
+            return;
+        }
+        for (int s = 0; s < this.states.size(); s++) {
+            this.states.get(s).update(this.source, s);
+        }
+        fireDatasetChanged();
+    }
+
+    /**
+     * Returns the number of series in the dataset.
+     *
+     * @return The series count.
+     */
+    @Override
+    public int getSeriesCount() {
+        return this.states.size();
+    }
+
+    /**
+     * Returns the key for a series (the same as the key for the
+     * corresponding series in the source dataset).
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The key.
+     */
+    @Override
+    public S getSeriesKey(int series) {
+        return this.source.getSeriesKey(series);
+    }
+
+    /**
+     * Returns the order of the domain values (the same as for the source
+     * dataset).
+     *
+     * @return The domain order.
+     */
+    @Override
+    public DomainOrder getDomainOrder() {
+        return this.source.getDomainOrder();
+    }
+
+    /**
+     * Returns the number of items in a series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The item count.
+     */
+    @Override
+    public int getItemCount(int series) {
+        return this.states.get(series).count;
+    }
+
+    /**
+     * Returns the x-value for an item (read from the source dataset).
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public Number getX(int series, int item) {
+        return this.source.getX(series, item);
+    }
+
+    /**
+     * Returns the x-value for an item (read from the source dataset).
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public double getXValue(int series, int item) {
+        return this.source.getXValue(series, item);
+    }
+
+    /**
+     * Returns the statistic for the window ending at an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The value (possibly {@code null}).
+     */
+    @Override
+    public Number getY(int series, int item) {
+        double y = getYValue(series, item);
+        return Double.isNaN(y) ? null : y;
+    }
+
+    /**
+     * Returns the statistic for the window ending at an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The value (possibly {@code Double.NaN}).
+     */
+    @Override
+    public double getYValue(int series, int item) {
+        SeriesState state = this.states.get(series);
+        if (item < 0 || item >= state.count) {
+            throw new IndexOutOfBoundsException("Invalid item: " + item);
+        }
+        return state.values[item];
+    }
+
+    /**
+     * Tests this dataset for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof MovingWindowDataset)) {
+            return false;
+        }
+        MovingWindowDataset<?> that = (MovingWindowDataset<?>) obj;
+        if (!Objects.equals(this.source, that.source)) {
+            return false;
+        }
+        if (!this.window.equals(that.window)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code for this instance.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        int hash = 3;
+        hash = 31 * hash + Objects.hashCode(this.source);
+        hash = 31 * hash + this.window.hashCode();
+        return hash;
+    }
+
+    /**
+     * Returns a clone of this dataset.  The clone shares the source dataset
+     * and is registered to receive change events from it.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        MovingWindowDataset<S> clone = (MovingWindowDataset<S>) super.clone();
+        clone.states = new ArrayList<>(this.states.size());
+        for (SeriesState state : this.states) {
+            clone.states.add(state.copy());
+        }
+        clone.source.addChangeListener(clone);
+        return clone;
+    }
+
+    /**
+     * Returns an independent copy of a window.
+     *
+     * @param window  the window.
+     *
+     * @return The copy.
+     */
+    private static MovingWindow copyWindow(MovingWindow window) {
+        try {
+            return (MovingWindow) window.clone();
+        }
+        catch (CloneNotSupportedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * The calculated values and the window state for one series.
+     */
+    private static class SeriesState implements Serializable {
+
+        /** The window (holding the values up to the last item processed). */
+        private MovingWindow window;
+
+        /** The calculated values. */
+        private double[] values;
+
+        /** The number of source items processed. */
+        private int count;
+
+        /** The x-value of the last item processed. */
+        private double lastX;
+
+        /** The y-value of the last item processed. */
+        private double lastY;
+
+        /**
+         * Creates a new (empty) state.
+         *
+         * @param window  the window.
+         */
+        SeriesState(MovingWindow window) {
+            this.window = window;
+            this.values = new double[16];
+            this.count = 0;
+        }
+
+        /**
+         * Brings the state up to date with a source series, processing only
+         * the new items if the series has been appended to (with or without
+         * items being removed from the start).
+         *
+         * @param source  the source dataset.
+         * @param series  the series index.
+         */
+        void update(XYDataset<?> source, int series) {
+            int n = source.getItemCount(series);
+            int removed = removedCount(source, series, n);
+            if (removed < 0) {
+                this.window.clear();
+                this.count = 0;
+            }
+            else if (removed > 0) {
+                this.count -= removed;
+                System.arraycopy(this.values, removed, this.values, 0,
+                        this.count);
+            }
+            if (n > this.values.length) {
+                this.values = Arrays.copyOf(this.values,
+                        Math.max(n, this.values.length * 2));
+            }
+            for (int i = this.count; i < n; i++) {
+                double x = source.getXValue(series, i);
+                double y = source.getYValue(series, i);
+                this.values[i] = this.window.add(x, y);
+                this.lastX = x;
+                this.lastY = y;
+            }
+            this.count = n;
+        }
+
+        /**
+         * Returns the number of items that have been removed from the start
+         * of the source series since the last update, found by locating the
+         * last item processed, or {@code -1} if the items processed do not
+         * appear to be unchanged.
+         *
+         * @param source  the source dataset.
+         * @param series  the series index.
+         * @param n  the item count for the source series.
+         *
+         * @return The number of items removed (0 for a plain append) or
+         *     {@code -1}.
+         */
+        private int removedCount(XYDataset<?> source, int series, int n) {
+            if (this.count == 0) {
+                return 0;
+            }
+            int last = this.count - 1;
+            if (last < n && isLast(source, series, last)) {
+                return 0;
+            }
+            // the series is in ascending order of x-value, so a binary
+            // search finds the first item with the last x-value processed
+            int low = 0;
+            int high = Math.min(last, n);
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (source.getXValue(series, mid) < this.lastX) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            int index = -1;
+            for (int i = low; i < Math.min(last, n)
+                    && same(source.getXValue(series, i), this.lastX); i++) {
+                if (same(source.getYValue(series, i), this.lastY)) {
+                    index = i;
+                }
+            }
+            return index < 0 ? -1 : last - index;
+        }
+
+        /**
+         * Returns {@code true} if a source item has the x- and y-values of
+         * the last item processed.
+         *
+         * @param source  the source dataset.
+         * @param series  the series index.
+         * @param item  the item index.
+         *
+         * @return A boolean.
+         */
+        private boolean isLast(XYDataset<?> source, int series, int item) {
+            return same(source.getXValue(series, item), this.lastX)
+                    && same(source.getYValue(series, item), this.lastY);
+        }
+
+        /**
+         * Returns {@code true} if two values are equal (treating NaN as
+         * equal to NaN).
+         *
+         * @param a  the first value.
+         * @param b  the second value.
+         *
+         * @return A boolean.
+         */
+        private static boolean same(double a, double b) {
+            return Double.doubleToLongBits(a) == Double.doubleToLongBits(b);
+        }
+
+        /**
+         * Returns an independent copy of this state.
+         *
+         * @return The copy.
+         */
+        SeriesState copy() {
+            SeriesState copy = new SeriesState(copyWindow(this.window));
+            copy.values = this.values.clone();
+            copy.count = this.count;
+            copy.lastX = this.lastX;
+            copy.lastY = this.lastY;
+            return copy;
+        }
+
+    }
+
+}
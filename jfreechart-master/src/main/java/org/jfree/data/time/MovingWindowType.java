@@ -0,0 +1,63 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------
+ * MovingWindowType.java
+ * ---------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.time;
+
+/**
+ * The statistics that can be calculated over a {@link MovingWindow}.
+ */
+public enum MovingWindowType {
+
+    /** The (simple) mean of the values in the window. */
+    MEAN,
+
+    /**
+     * The exponentially weighted mean.  This does not depend on the values
+     * leaving the window, the window size only sets the weight of the most
+     * recent value.
+     */
+    EXPONENTIAL_MEAN,
+
+    /** The minimum value in the window. */
+    MINIMUM,
+
+    /** The maximum value in the window. */
+    MAXIMUM,
+
+    /** The (sample) standard deviation of the values in the window. */
+    STANDARD_DEVIATION
+
+}
@@ -36,6 +36,9 @@
 
 package org.jfree.data.time;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.util.Calendar;
 import java.util.Date;
@@ -60,6 +63,42 @@ public abstract class RegularTimePeriod implements TimePeriod, Comparable,
 
     private static final ThreadLocal<Calendar> threadLocalCalendar = new ThreadLocal<>();
 
+    /**
+     * The {@code Thread.isVirtual()} method, or {@code null} when running on
+     * a Java version without virtual threads.
+     */
+    private static final MethodHandle IS_VIRTUAL = findIsVirtual();
+
+    /**
+     * Looks up the {@code Thread.isVirtual()} method.
+     *
+     * @return The method handle, or {@code null} if there is no such method.
+     */
+    private static MethodHandle findIsVirtual() {
+        try {
+            return MethodHandles.publicLookup().findVirtual(Thread.class,
+                    "isVirtual", MethodType.methodType(boolean.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns {@code true} if the current thread is a virtual thread.
+     *
+     * @return A boolean.
+     */
+    private static boolean isVirtualThread() {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(Thread.currentThread());
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
     /**
      * Creates a time period that includes the specified millisecond, assuming
      * the given time zone.
@@ -133,6 +172,9 @@ public abstract class RegularTimePeriod implements TimePeriod, Comparable,
      * Otherwise, If a global calendar prototype was set with {@link #setCalendarInstancePrototype(Calendar)},
      * then it is cloned and set as the thread-local calendar instance for future use,
      * as if it was set with {@link #setThreadLocalCalendarInstance(Calendar)}.
+     * On a virtual thread the clone is not kept, since virtual threads are
+     * typically short-lived and numerous and the thread-local copies would
+     * only add to the memory footprint.
      * <p>
      * Otherwise, if neither is set, a new instance will be created every
      * time with {@link Calendar#getInstance()}, resorting to JFreeChart 1.5.0
@@ -147,7 +189,9 @@ public abstract class RegularTimePeriod implements TimePeriod, Comparable,
             Calendar prototype = calendarPrototype.get();
             if (prototype != null) {
                 calendar = (Calendar) prototype.clone();
-                threadLocalCalendar.set(calendar);
+                if (!isVirtualThread()) {
+                    threadLocalCalendar.set(calendar);
+                }
             }
         }
         return calendar != null ? calendar : Calendar.getInstance();
@@ -56,6 +56,7 @@ import org.jfree.data.Range;
 import org.jfree.data.general.Series;
 import org.jfree.data.general.SeriesChangeEvent;
 import org.jfree.data.general.SeriesException;
+import org.jfree.data.general.SeriesSnapshotBuffer;
 
 /**
  * Represents a sequence of zero or more data items in the form (period, value)
@@ -63,6 +64,10 @@ import org.jfree.data.general.SeriesException;
  * The time series will ensure that (a) all data items have the same type of
  * period (for example, {@link Day}) and (b) that each period appears at
  * most one time in the series.
+ * <p>
+ * The methods that change the data items synchronize on the series, and
+ * {@link #snapshot()} returns an immutable copy of the data that can be
+ * read by another thread while the series continues to be updated.
  * 
  * @param <S>  the type for the series keys ({@code String} is commonly used).
  */
@@ -101,6 +106,12 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
      */
     private double maxY;
 
+    /**
+     * The buffer that {@link #snapshot()} maintains ({@code null} until the
+     * first snapshot is taken).
+     */
+    private transient SeriesSnapshotBuffer snapshotBuffer;
+
     /**
      * Creates a new (empty) time series.  By default, a daily time series is
      * created.  Use one of the other constructors if you require a different
@@ -555,50 +566,55 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
 
         // make the change (if it's not a duplicate time period)...
         boolean added = false;
-        int count = getItemCount();
-        if (count == 0) {
-            this.data.add(item);
-            added = true;
-        }
-        else {
-            RegularTimePeriod last = getTimePeriod(getItemCount() - 1);
-            if (item.getPeriod().compareTo(last) > 0) {
+        synchronized (this) {
+            int count = getItemCount();
+            if (count == 0) {
                 this.data.add(item);
                 added = true;
             }
             else {
-                int index = Collections.binarySearch(this.data, item);
-                if (index < 0) {
-                    this.data.add(-index - 1, item);
+                RegularTimePeriod last = getTimePeriod(getItemCount() - 1);
+                if (item.getPeriod().compareTo(last) > 0) {
+                    this.data.add(item);
                     added = true;
                 }
                 else {
-                    StringBuilder b = new StringBuilder();
-                    b.append("You are attempting to add an observation for ");
-                    b.append("the time period ");
-                    b.append(item.getPeriod().toString());
-                    b.append(" but the series already contains an observation");
-                    b.append(" for that time period. Duplicates are not ");
-                    b.append("permitted.  Try using the addOrUpdate() method.");
-                    throw new SeriesException(b.toString());
+                    int index = Collections.binarySearch(this.data, item);
+                    if (index < 0) {
+                        this.data.add(-index - 1, item);
+                        snapshotItemsChanged(-index - 1);
+                        added = true;
+                    }
+                    else {
+                        StringBuilder b = new StringBuilder();
+                        b.append("You are attempting to add an observation ");
+                        b.append("for the time period ");
+                        b.append(item.getPeriod().toString());
+                        b.append(" but the series already contains an ");
+                        b.append("observation for that time period. ");
+                        b.append("Duplicates are not permitted.  Try using ");
+                        b.append("the addOrUpdate() method.");
+                        throw new SeriesException(b.toString());
+                    }
                 }
             }
-        }
-        if (added) {
-            updateBoundsForAddedItem(item);
-            // check if this addition will exceed the maximum item count...
-            if (getItemCount() > this.maximumItemCount) {
-                TimeSeriesDataItem d = this.data.remove(0);
-                updateBoundsForRemovedItem(d);
-            }
+            if (added) {
+                updateBoundsForAddedItem(item);
+                // check if this addition will exceed the maximum item count...
+                if (getItemCount() > this.maximumItemCount) {
+                    TimeSeriesDataItem d = this.data.remove(0);
+                    snapshotItemsDropped(1);
+                    updateBoundsForRemovedItem(d);
+                }
 
-            removeAgedItems(false);  // remove old items if necessary, but
-                                     // don't notify anyone, because that
-                                     // happens next anyway...
-            if (notify) {
-                fireSeriesChanged();
+                removeAgedItems(false);  // remove old items if necessary, but
+                                         // don't notify anyone, because that
+                                         // happens next anyway...
             }
         }
+        if (added && notify) {
+            fireSeriesChanged();
+        }
 
     }
 
@@ -692,23 +708,26 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
      * @param value  the new value ({@code null} permitted).
      */
     public void update(int index, Number value) {
-        TimeSeriesDataItem item = this.data.get(index);
-        boolean iterate = false;
-        Number oldYN = item.getValue();
-        if (oldYN != null) {
-            double oldY = oldYN.doubleValue();
-            if (!Double.isNaN(oldY)) {
-                iterate = oldY <= this.minY || oldY >= this.maxY;
+        synchronized (this) {
+            TimeSeriesDataItem item = this.data.get(index);
+            boolean iterate = false;
+            Number oldYN = item.getValue();
+            if (oldYN != null) {
+                double oldY = oldYN.doubleValue();
+                if (!Double.isNaN(oldY)) {
+                    iterate = oldY <= this.minY || oldY >= this.maxY;
+                }
+            }
+            item.setValue(value);
+            snapshotItemsChanged(index);
+            if (iterate) {
+                updateMinMaxYByIteration();
+            }
+            else if (value != null) {
+                double yy = value.doubleValue();
+                this.minY = minIgnoreNaN(this.minY, yy);
+                this.maxY = maxIgnoreNaN(this.maxY, yy);
             }
-        }
-        item.setValue(value);
-        if (iterate) {
-            updateMinMaxYByIteration();
-        }
-        else if (value != null) {
-            double yy = value.doubleValue();
-            this.minY = minIgnoreNaN(this.minY, yy);
-            this.maxY = maxIgnoreNaN(this.maxY, yy);
         }
         fireSeriesChanged();
     }
@@ -792,42 +811,47 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
             throw new SeriesException(msg);
         }
         TimeSeriesDataItem overwritten = null;
-        int index = Collections.binarySearch(this.data, item);
-        if (index >= 0) {
-            TimeSeriesDataItem existing = this.data.get(index);
-            overwritten = (TimeSeriesDataItem) existing.clone();
-            // figure out if we need to iterate through all the y-values
-            // to find the revised minY / maxY
-            boolean iterate = false;
-            Number oldYN = existing.getValue();
-            double oldY = oldYN != null ? oldYN.doubleValue() : Double.NaN;
-            if (!Double.isNaN(oldY)) {
-                iterate = oldY <= this.minY || oldY >= this.maxY;
-            }
-            existing.setValue(item.getValue());
-            if (iterate) {
-                updateMinMaxYByIteration();
-            }
-            else if (item.getValue() != null) {
-                double yy = item.getValue().doubleValue();
-                this.minY = minIgnoreNaN(this.minY, yy);
-                this.maxY = maxIgnoreNaN(this.maxY, yy);
+        synchronized (this) {
+            int index = Collections.binarySearch(this.data, item);
+            if (index >= 0) {
+                TimeSeriesDataItem existing = this.data.get(index);
+                overwritten = (TimeSeriesDataItem) existing.clone();
+                // figure out if we need to iterate through all the y-values
+                // to find the revised minY / maxY
+                boolean iterate = false;
+                Number oldYN = existing.getValue();
+                double oldY = oldYN != null ? oldYN.doubleValue() : Double.NaN;
+                if (!Double.isNaN(oldY)) {
+                    iterate = oldY <= this.minY || oldY >= this.maxY;
+                }
+                existing.setValue(item.getValue());
+                snapshotItemsChanged(index);
+                if (iterate) {
+                    updateMinMaxYByIteration();
+                }
+                else if (item.getValue() != null) {
+                    double yy = item.getValue().doubleValue();
+                    this.minY = minIgnoreNaN(this.minY, yy);
+                    this.maxY = maxIgnoreNaN(this.maxY, yy);
+                }
             }
-        }
-        else {
-            item = (TimeSeriesDataItem) item.clone();
-            this.data.add(-index - 1, item);
-            updateBoundsForAddedItem(item);
-
-            // check if this addition will exceed the maximum item count...
-            if (getItemCount() > this.maximumItemCount) {
-                TimeSeriesDataItem d = this.data.remove(0);
-                updateBoundsForRemovedItem(d);
+            else {
+                item = (TimeSeriesDataItem) item.clone();
+                this.data.add(-index - 1, item);
+                snapshotItemsChanged(-index - 1);
+                updateBoundsForAddedItem(item);
+
+                // check if this addition will exceed the maximum item count...
+                if (getItemCount() > this.maximumItemCount) {
+                    TimeSeriesDataItem d = this.data.remove(0);
+                    snapshotItemsDropped(1);
+                    updateBoundsForRemovedItem(d);
+                }
             }
+            removeAgedItems(false);  // remove old items if necessary, but
+                                     // don't notify anyone, because that
+                                     // happens next anyway...
         }
-        removeAgedItems(false);  // remove old items if necessary, but
-                                 // don't notify anyone, because that
-                                 // happens next anyway...
         fireSeriesChanged();
         return overwritten;
 
@@ -844,21 +868,24 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
     public void removeAgedItems(boolean notify) {
         // check if there are any values earlier than specified by the history
         // count...
-        if (getItemCount() > 1) {
-            long latest = getTimePeriod(getItemCount() - 1).getSerialIndex();
-            boolean removed = false;
-            while ((latest - getTimePeriod(0).getSerialIndex())
-                    > this.maximumItemAge) {
-                this.data.remove(0);
-                removed = true;
-            }
-            if (removed) {
-                updateMinMaxYByIteration();
-                if (notify) {
-                    fireSeriesChanged();
+        boolean removed = false;
+        synchronized (this) {
+            if (getItemCount() > 1) {
+                long latest = getTimePeriod(getItemCount() - 1).getSerialIndex();
+                while ((latest - getTimePeriod(0).getSerialIndex())
+                        > this.maximumItemAge) {
+                    this.data.remove(0);
+                    snapshotItemsDropped(1);
+                    removed = true;
+                }
+                if (removed) {
+                    updateMinMaxYByIteration();
                 }
             }
         }
+        if (removed && notify) {
+            fireSeriesChanged();
+        }
     }
 
     /**
@@ -899,17 +926,20 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
         // check if there are any values earlier than specified by the history
         // count...
         boolean removed = false;
-        while (getItemCount() > 0 && (index
-                - getTimePeriod(0).getSerialIndex()) > this.maximumItemAge) {
-            this.data.remove(0);
-            removed = true;
-        }
-        if (removed) {
-            updateMinMaxYByIteration();
-            if (notify) {
-                fireSeriesChanged();
+        synchronized (this) {
+            while (getItemCount() > 0 && (index
+                    - getTimePeriod(0).getSerialIndex()) > this.maximumItemAge) {
+                this.data.remove(0);
+                snapshotItemsDropped(1);
+                removed = true;
+            }
+            if (removed) {
+                updateMinMaxYByIteration();
             }
         }
+        if (removed && notify) {
+            fireSeriesChanged();
+        }
     }
 
     /**
@@ -917,11 +947,18 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
      * {@link SeriesChangeEvent} to all registered listeners.
      */
     public void clear() {
-        if (this.data.size() > 0) {
-            this.data.clear();
-            this.timePeriodClass = null;
-            this.minY = Double.NaN;
-            this.maxY = Double.NaN;
+        boolean cleared = false;
+        synchronized (this) {
+            if (this.data.size() > 0) {
+                this.data.clear();
+                snapshotItemsChanged(0);
+                this.timePeriodClass = null;
+                this.minY = Double.NaN;
+                this.maxY = Double.NaN;
+                cleared = true;
+            }
+        }
+        if (cleared) {
             fireSeriesChanged();
         }
     }
@@ -935,13 +972,23 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
      *                permitted).
      */
     public void delete(RegularTimePeriod period) {
-        int index = getIndex(period);
-        if (index >= 0) {
-            TimeSeriesDataItem item = this.data.remove(index);
-            updateBoundsForRemovedItem(item);
-            if (this.data.isEmpty()) {
-                this.timePeriodClass = null;
+        int index;
+        synchronized (this) {
+            index = getIndex(period);
+            if (index >= 0) {
+                TimeSeriesDataItem item = this.data.remove(index);
+                if (index == 0) {
+                    snapshotItemsDropped(1);
+                } else {
+                    snapshotItemsChanged(index);
+                }
+                updateBoundsForRemovedItem(item);
+                if (this.data.isEmpty()) {
+                    this.timePeriodClass = null;
+                }
             }
+        }
+        if (index >= 0) {
             fireSeriesChanged();
         }
     }
@@ -969,18 +1016,77 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
         if (end < start) {
             throw new IllegalArgumentException("Requires start <= end.");
         }
-        for (int i = 0; i <= (end - start); i++) {
-            this.data.remove(start);
-        }
-        updateMinMaxYByIteration();
-        if (this.data.isEmpty()) {
-            this.timePeriodClass = null;
+        synchronized (this) {
+            for (int i = 0; i <= (end - start); i++) {
+                this.data.remove(start);
+            }
+            if (start == 0) {
+                snapshotItemsDropped(end + 1);
+            } else {
+                snapshotItemsChanged(start);
+            }
+            updateMinMaxYByIteration();
+            if (this.data.isEmpty()) {
+                this.timePeriodClass = null;
+            }
         }
         if (notify) {
             fireSeriesChanged();
         }
     }
 
+    /**
+     * Returns an immutable snapshot of the data in this series, with the
+     * time period of each item as its object reference and the value in
+     * column 0 ({@code NaN} for {@code null}).  The series keeps the
+     * snapshot data up to date incrementally, so that when items are only
+     * appended (and perhaps removed from the start as they age) the cost is
+     * proportional to the number of new items.  Changes made directly to
+     * the {@code data} list or to the data items are not tracked.
+     *
+     * @return The snapshot (never {@code null}).
+     *
+     * @since 2.0
+     */
+    public SeriesSnapshotBuffer.Snapshot snapshot() {
+        synchronized (this) {
+            if (this.snapshotBuffer == null) {
+                this.snapshotBuffer = new SeriesSnapshotBuffer(1, true);
+            }
+            return this.snapshotBuffer.sync(this.data.size(),
+                    (int item, double[] values) -> {
+                TimeSeriesDataItem dataItem = this.data.get(item);
+                Number value = dataItem.getValue();
+                values[0] = value != null ? value.doubleValue() : Double.NaN;
+                return dataItem.getPeriod();
+            });
+        }
+    }
+
+    /**
+     * Records in the snapshot buffer (if there is one) that items have been
+     * removed from the start of the series.
+     *
+     * @param n  the number of items removed.
+     */
+    private void snapshotItemsDropped(int n) {
+        if (this.snapshotBuffer != null) {
+            this.snapshotBuffer.itemsDropped(n);
+        }
+    }
+
+    /**
+     * Records in the snapshot buffer (if there is one) that the items from
+     * the specified index onwards have changed.
+     *
+     * @param index  the index of the first changed item.
+     */
+    private void snapshotItemsChanged(int index) {
+        if (this.snapshotBuffer != null) {
+            this.snapshotBuffer.itemsChanged(index);
+        }
+    }
+
     /**
      * Returns a clone of the time series.
      * <P>
@@ -1000,6 +1106,7 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
     public Object clone() throws CloneNotSupportedException {
         TimeSeries<S> clone = (TimeSeries) super.clone();
         clone.data = CloneUtils.cloneList(this.data);
+        clone.snapshotBuffer = null;
         return clone;
     }
 
@@ -1027,6 +1134,7 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
         copy.minY = Double.NaN;
         copy.maxY = Double.NaN;
         copy.data = new java.util.ArrayList();
+        copy.snapshotBuffer = null;
         if (this.data.size() > 0) {
             for (int index = start; index <= end; index++) {
                 TimeSeriesDataItem item = this.data.get(index);
@@ -1083,6 +1191,7 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
         if (emptyRange) {
             TimeSeries<S> copy = (TimeSeries) super.clone();
             copy.data = new java.util.ArrayList();
+            copy.snapshotBuffer = null;
             return copy;
         }
         return createCopy(startIndex, endIndex);
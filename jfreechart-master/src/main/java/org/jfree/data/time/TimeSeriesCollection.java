@@ -43,6 +43,8 @@ import org.jfree.data.DomainOrder;
 import org.jfree.data.Range;
 import org.jfree.data.general.DatasetChangeEvent;
 import org.jfree.data.general.Series;
+import org.jfree.data.general.SeriesSnapshotBuffer;
+import org.jfree.data.general.SnapshotSource;
 import org.jfree.data.xy.*;
 
 import java.beans.PropertyChangeEvent;
@@ -60,7 +62,8 @@ import java.util.*;
 public class TimeSeriesCollection<S extends Comparable<S>> 
         extends AbstractIntervalXYDataset
         implements XYDataset, IntervalXYDataset, DomainInfo, XYDomainInfo,
-        XYRangeInfo, VetoableChangeListener, Serializable {
+        XYRangeInfo, VetoableChangeListener,
+        SnapshotSource<TimeSeriesCollectionSnapshot<S>>, Serializable {
 
     /** For serialization. */
     private static final long serialVersionUID = 834149929022371137L;
@@ -139,6 +142,35 @@ public class TimeSeriesCollection<S extends Comparable<S>>
         return DomainOrder.ASCENDING;
     }
 
+    /**
+     * Returns an immutable snapshot of the data in the collection.  Each
+     * series is copied consistently (see {@link TimeSeries#snapshot()})
+     * while other threads continue to update it, and only the changes since
+     * the previous snapshot are copied.  Adding or removing series is not
+     * synchronized and should be done on the thread that draws the chart.
+     *
+     * @return The snapshot (never {@code null}).
+     *
+     * @since 2.0
+     */
+    @Override
+    public TimeSeriesCollectionSnapshot<S> snapshot() {
+        List<TimeSeries<S>> seriesList = new ArrayList<>(this.data);
+        List<S> keys = new ArrayList<>(seriesList.size());
+        List<SeriesSnapshotBuffer.Snapshot> snapshots
+                = new ArrayList<>(seriesList.size());
+        for (TimeSeries<S> series : seriesList) {
+            keys.add(series.getKey());
+            snapshots.add(series.snapshot());
+        }
+        Calendar calendar;
+        synchronized (this) {
+            calendar = (Calendar) this.workingCalendar.clone();
+        }
+        return new TimeSeriesCollectionSnapshot<>(this, keys, snapshots,
+                calendar, this.xPosition);
+    }
+
     /**
      * Returns the position within each time period that is used for the X
      * value when the collection is used as an
@@ -0,0 +1,348 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------------------
+ * TimeSeriesCollectionSnapshot.java
+ * ---------------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.time;
+
+import java.util.Calendar;
+import java.util.List;
+
+import org.jfree.chart.internal.Args;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.general.Dataset;
+import org.jfree.data.general.DatasetSnapshot;
+import org.jfree.data.general.SeriesSnapshotBuffer;
+import org.jfree.data.xy.AbstractIntervalXYDataset;
+import org.jfree.data.xy.IntervalXYDataset;
+
+/**
+ * An immutable snapshot of a {@link TimeSeriesCollection}, as returned by
+ * {@link TimeSeriesCollection#snapshot()}.  The snapshot presents the data
+ * that the collection held when the snapshot was taken, using the time
+ * zone and x-position that the collection had at that time, however the
+ * collection and its series change afterwards.  A snapshot never sends
+ * change events.
+ *
+ * @param <S>  the type for the series keys.
+ *
+ * @since 2.0
+ */
+public final class TimeSeriesCollectionSnapshot<S extends Comparable<S>>
+        extends AbstractIntervalXYDataset<S>
+        implements IntervalXYDataset<S>, DatasetSnapshot {
+
+    /** The collection that the snapshot was taken from. */
+    private final TimeSeriesCollection<S> source;
+
+    /** The series keys. */
+    private final List<S> keys;
+
+    /**
+     * The series data (time periods as the object references, values in
+     * column 0).
+     */
+    private final List<SeriesSnapshotBuffer.Snapshot> series;
+
+    /** A working calendar (guarded by this snapshot). */
+    private final Calendar workingCalendar;
+
+    /** The position within each time period used for the x-value. */
+    private final TimePeriodAnchor xPosition;
+
+    /**
+     * Creates a new snapshot.
+     *
+     * @param source  the source collection ({@code null} not permitted).
+     * @param keys  the series keys ({@code null} not permitted).
+     * @param series  the series data ({@code null} not permitted).
+     * @param calendar  a calendar for the collection's time zone, that the
+     *     snapshot takes ownership of ({@code null} not permitted).
+     * @param xPosition  the x-position ({@code null} not permitted).
+     */
+    TimeSeriesCollectionSnapshot(TimeSeriesCollection<S> source,
+            List<S> keys, List<SeriesSnapshotBuffer.Snapshot> series,
+            Calendar calendar, TimePeriodAnchor xPosition) {
+        Args.nullNotPermitted(source, "source");
+        Args.nullNotPermitted(keys, "keys");
+        Args.nullNotPermitted(series, "series");
+        Args.nullNotPermitted(calendar, "calendar");
+        Args.nullNotPermitted(xPosition, "xPosition");
+        this.source = source;
+        this.keys = keys;
+        this.series = series;
+        this.workingCalendar = calendar;
+        this.xPosition = xPosition;
+    }
+
+    /**
+     * Returns the collection that the snapshot was taken from.
+     *
+     * @return The source collection (never {@code null}).
+     */
+    @Override
+    public Dataset getSource() {
+        return this.source;
+    }
+
+    /**
+     * Returns the order of the domain values in this dataset.
+     *
+     * @return {@link DomainOrder#ASCENDING}
+     */
+    @Override
+    public DomainOrder getDomainOrder() {
+        return DomainOrder.ASCENDING;
+    }
+
+    /**
+     * Returns the number of series in the snapshot.
+     *
+     * @return The series count.
+     */
+    @Override
+    public int getSeriesCount() {
+        return this.keys.size();
+    }
+
+    /**
+     * Returns the key for a series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The series key.
+     */
+    @Override
+    public S getSeriesKey(int series) {
+        return this.keys.get(series);
+    }
+
+    /**
+     * Returns the number of items in a series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The item count.
+     */
+    @Override
+    public int getItemCount(int series) {
+        return this.series.get(series).getItemCount();
+    }
+
+    /**
+     * Returns the time period for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The time period.
+     */
+    private RegularTimePeriod getPeriod(int series, int item) {
+        return (RegularTimePeriod) this.series.get(series).getObject(item);
+    }
+
+    /**
+     * Returns the x-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public synchronized double getXValue(int series, int item) {
+        RegularTimePeriod period = getPeriod(series, item);
+        if (this.xPosition == TimePeriodAnchor.START) {
+            return period.getFirstMillisecond(this.workingCalendar);
+        }
+        else if (this.xPosition == TimePeriodAnchor.MIDDLE) {
+            return period.getMiddleMillisecond(this.workingCalendar);
+        }
+        else if (this.xPosition == TimePeriodAnchor.END) {
+            return period.getLastMillisecond(this.workingCalendar);
+        }
+        return 0L;
+    }
+
+    /**
+     * Returns the x-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value (never {@code null}).
+     */
+    @Override
+    public Number getX(int series, int item) {
+        return (long) getXValue(series, item);
+    }
+
+    /**
+     * Returns the start x-value for an item (the first millisecond of the
+     * time period).
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The start x-value.
+     */
+    @Override
+    public synchronized double getStartXValue(int series, int item) {
+        return getPeriod(series, item).getFirstMillisecond(
+                this.workingCalendar);
+    }
+
+    /**
+     * Returns the start x-value for an item (the first millisecond of the
+     * time period).
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The start x-value (never {@code null}).
+     */
+    @Override
+    public Number getStartX(int series, int item) {
+        return (long) getStartXValue(series, item);
+    }
+
+    /**
+     * Returns the end x-value for an item (the last millisecond of the
+     * time period).
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The end x-value.
+     */
+    @Override
+    public synchronized double getEndXValue(int series, int item) {
+        return getPeriod(series, item).getLastMillisecond(
+                this.workingCalendar);
+    }
+
+    /**
+     * Returns the end x-value for an item (the last millisecond of the
+     * time period).
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The end x-value (never {@code null}).
+     */
+    @Override
+    public Number getEndX(int series, int item) {
+        return (long) getEndXValue(series, item);
+    }
+
+    /**
+     * Returns the y-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value ({@code NaN} for a {@code null} value).
+     */
+    @Override
+    public double getYValue(int series, int item) {
+        return this.series.get(series).getValue(0, item);
+    }
+
+    /**
+     * Returns the y-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value (possibly {@code null}).
+     */
+    @Override
+    public Number getY(int series, int item) {
+        double y = getYValue(series, item);
+        return Double.isNaN(y) ? null : y;
+    }
+
+    /**
+     * Returns the start y-value for an item (the same as the y-value).
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value ({@code NaN} for a {@code null} value).
+     */
+    @Override
+    public double getStartYValue(int series, int item) {
+        return getYValue(series, item);
+    }
+
+    /**
+     * Returns the start y-value for an item (the same as the y-value).
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value (possibly {@code null}).
+     */
+    @Override
+    public Number getStartY(int series, int item) {
+        return getY(series, item);
+    }
+
+    /**
+     * Returns the end y-value for an item (the same as the y-value).
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value ({@code NaN} for a {@code null} value).
+     */
+    @Override
+    public double getEndYValue(int series, int item) {
+        return getYValue(series, item);
+    }
+
+    /**
+     * Returns the end y-value for an item (the same as the y-value).
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value (possibly {@code null}).
+     */
+    @Override
+    public Number getEndY(int series, int item) {
+        return getY(series, item);
+    }
+
+}
@@ -0,0 +1,59 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------------
+ * DatasetLoadListener.java
+ * ------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.xml;
+
+import java.util.EventListener;
+
+/**
+ * A listener that receives progress notifications while a
+ * {@link StreamingDatasetReader} loads a dataset.
+ *
+ * @since 2.0
+ */
+public interface DatasetLoadListener extends EventListener {
+
+    /**
+     * Receives notification of the progress of a load.  This method is
+     * called on the loading thread, at the interval configured on the
+     * reader and once more when the load completes.
+     *
+     * @param itemCount  the number of data items read so far.
+     * @param bytesRead  the number of bytes consumed from the input so far.
+     */
+    void loadProgress(long itemCount, long bytesRead);
+
+}
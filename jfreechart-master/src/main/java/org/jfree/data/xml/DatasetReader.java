@@ -37,7 +37,6 @@
 package org.jfree.data.xml;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
@@ -49,24 +48,32 @@ import javax.xml.parsers.SAXParserFactory;
 import org.jfree.chart.internal.Args;
 import org.jfree.data.category.CategoryDataset;
 import org.jfree.data.general.PieDataset;
-import org.xml.sax.SAXException;
 import org.xml.sax.SAXNotRecognizedException;
 import org.xml.sax.SAXNotSupportedException;
 
 /**
- * A utility class for reading datasets from XML.
+ * A utility class for reading datasets from XML.  The read methods delegate
+ * to {@link StreamingDatasetReader}, which also supports XY and time series
+ * data, progress reporting and loading into an existing dataset.
  */
 public class DatasetReader {
 
-    /** A factory for creating new parser instances. */
+    /**
+     * A factory for creating new parser instances (created on first use,
+     * guarded by the class lock).
+     */
     static SAXParserFactory factory;
 
     /**
      * Returns the {@link SAXParserFactory} used to create {@link SAXParser} instances.
      * 
      * @return The {@link SAXParserFactory} (never {@code null}).
+     * 
+     * @deprecated The read methods in this class no longer use a SAX parser,
+     *     see {@link StreamingDatasetReader#getXMLInputFactory()}.
      */
-    public static SAXParserFactory getSAXParserFactory() {
+    @Deprecated
+    public static synchronized SAXParserFactory getSAXParserFactory() {
     	if (factory == null) {
             SAXParserFactory f = SAXParserFactory.newInstance();
             try {
@@ -87,8 +94,12 @@ public class DatasetReader {
      * the default does not meet requirements.
      * 
      * @param f  the new factory ({@code null} not permitted).
+     * 
+     * @deprecated The read methods in this class no longer use a SAX parser,
+     *     see {@link StreamingDatasetReader#setXMLInputFactory}.
      */
-    public static void setSAXParserFactory(SAXParserFactory f) {
+    @Deprecated
+    public static synchronized void setSAXParserFactory(SAXParserFactory f) {
     	Args.nullNotPermitted(f, "f");
         factory = f;
     }
@@ -104,8 +115,7 @@ public class DatasetReader {
      */
     public static PieDataset readPieDatasetFromXML(File file)
             throws IOException {
-        InputStream in = new FileInputStream(file);
-        return readPieDatasetFromXML(in);
+        return new StreamingDatasetReader().readPieDataset(file);
     }
 
     /**
@@ -119,17 +129,7 @@ public class DatasetReader {
      */
     public static PieDataset readPieDatasetFromXML(InputStream in)
              throws IOException {
-        PieDataset result = null;
-        try {
-            SAXParser parser = getSAXParserFactory().newSAXParser();
-            PieDatasetHandler handler = new PieDatasetHandler();
-            parser.parse(in, handler);
-            result = handler.getDataset();
-        }
-        catch (SAXException | ParserConfigurationException e) {
-            throw new RuntimeException(e);
-        }
-        return result;
+        return new StreamingDatasetReader().readPieDataset(in);
     }
 
     /**
@@ -143,8 +143,7 @@ public class DatasetReader {
      */
     public static CategoryDataset readCategoryDatasetFromXML(File file)
             throws IOException {
-        InputStream in = new FileInputStream(file);
-        return readCategoryDatasetFromXML(in);
+        return new StreamingDatasetReader().readCategoryDataset(file);
     }
 
     /**
@@ -158,17 +157,7 @@ public class DatasetReader {
      */
     public static CategoryDataset readCategoryDatasetFromXML(InputStream in)
             throws IOException {
-        CategoryDataset result = null;
-        try {
-            SAXParser parser = getSAXParserFactory().newSAXParser();
-            CategoryDatasetHandler handler = new CategoryDatasetHandler();
-            parser.parse(in, handler);
-            result = handler.getDataset();
-        }
-        catch (SAXException | ParserConfigurationException e) {
-            throw new RuntimeException(e);
-        }
-        return result;
+        return new StreamingDatasetReader().readCategoryDataset(in);
     }
 
 }
\ No newline at end of file
@@ -51,6 +51,12 @@ public interface DatasetTags {
     /** The 'CategoryDataset' element name. */
     String CATEGORYDATASET_TAG = "CategoryDataset";
 
+    /** The 'XYDataset' element name. */
+    String XYDATASET_TAG = "XYDataset";
+
+    /** The 'TimeSeriesDataset' element name. */
+    String TIMESERIESDATASET_TAG = "TimeSeriesDataset";
+
     /** The 'Series' element name. */
     String SERIES_TAG = "Series";
 
@@ -63,4 +69,13 @@ public interface DatasetTags {
     /** The 'Value' element name. */
     String VALUE_TAG = "Value";
 
+    /** The 'X' element name. */
+    String X_TAG = "X";
+
+    /** The 'Y' element name. */
+    String Y_TAG = "Y";
+
+    /** The 'Period' element name. */
+    String PERIOD_TAG = "Period";
+
 }
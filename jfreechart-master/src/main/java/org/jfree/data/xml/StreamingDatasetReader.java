@@ -0,0 +1,1010 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------------
+ * StreamingDatasetReader.java
+ * ---------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.xml;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.jfree.chart.internal.Args;
+import org.jfree.data.category.DefaultCategoryDataset;
+import org.jfree.data.general.DefaultPieDataset;
+import org.jfree.data.time.RegularTimePeriod;
+import org.jfree.data.time.TimeSeries;
+import org.jfree.data.time.TimeSeriesCollection;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+
+/**
+ * Reads datasets from XML using a StAX pull parser.  Compared with the SAX
+ * handler classes in this package, the reader keeps no handler stack and
+ * allocates no intermediate strings for numeric content: element text is
+ * copied into a reusable character buffer and numbers are parsed directly
+ * from it.  Change notification on the target dataset is suspended while
+ * loading (series are filled before they are added to their collection),
+ * and progress can be reported to a {@link DatasetLoadListener}.
+ * <br><br>
+ * Pie and category datasets use the same format as {@link DatasetReader}.
+ * XY datasets use an {@code XYDataset} root element with {@code Series}
+ * elements holding {@code <Item><X>1.0</X><Y>2.0</Y></Item>} items.  Time
+ * series use a {@code TimeSeriesDataset} root element; each {@code Series}
+ * has a {@code timePeriod} attribute naming the time period class (for
+ * example {@code "Day"}) and items of the form
+ * {@code <Item><Period>1640995200000</Period><Value>1.0</Value></Item>},
+ * where the period is given by any millisecond within it.
+ * <br><br>
+ * Values that are empty, {@code NaN} or cannot be parsed are read as
+ * {@code null}, as they are by {@link DatasetReader}.  Instances of this
+ * class are not thread-safe.
+ *
+ * @since 2.0
+ */
+public class StreamingDatasetReader implements DatasetTags {
+
+    /** Powers of ten that can be represented exactly as doubles. */
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4,
+            1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+            1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    /**
+     * A factory for creating new stream readers (created on first use,
+     * guarded by the class lock).
+     */
+    private static XMLInputFactory factory;
+
+    /** The listener for progress notifications ({@code null} permitted). */
+    private DatasetLoadListener listener;
+
+    /** The number of items between progress notifications. */
+    private int progressInterval;
+
+    /** The time zone used to map milliseconds to time periods. */
+    private TimeZone timeZone;
+
+    /** The locale used to create time periods. */
+    private Locale locale;
+
+    /** A reusable buffer for element text. */
+    private char[] text = new char[64];
+
+    /** The number of valid characters in the text buffer. */
+    private int textLength;
+
+    /** The number of items read during the current load. */
+    private long itemCount;
+
+    /** The input for the current load. */
+    private CountingInputStream input;
+
+    /**
+     * Creates a new reader that uses the default time zone and locale and
+     * reports progress every 10,000 items.
+     */
+    public StreamingDatasetReader() {
+        this.progressInterval = 10000;
+        this.timeZone = TimeZone.getDefault();
+        this.locale = Locale.getDefault();
+    }
+
+    /**
+     * Returns the {@link XMLInputFactory} used to create stream readers.
+     * The default factory has DTD processing and external entities
+     * disabled.
+     *
+     * @return The factory (never {@code null}).
+     */
+    public static synchronized XMLInputFactory getXMLInputFactory() {
+        if (factory == null) {
+            XMLInputFactory f = XMLInputFactory.newInstance();
+            f.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            f.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES,
+                    false);
+            factory = f;
+        }
+        return factory;
+    }
+
+    /**
+     * Sets the {@link XMLInputFactory} used to create stream readers.  You
+     * would only call this method if the default factory does not meet your
+     * requirements.
+     *
+     * @param f  the new factory ({@code null} not permitted).
+     */
+    public static synchronized void setXMLInputFactory(XMLInputFactory f) {
+        Args.nullNotPermitted(f, "f");
+        factory = f;
+    }
+
+    /**
+     * Returns the listener that receives progress notifications.
+     *
+     * @return The listener (possibly {@code null}).
+     */
+    public DatasetLoadListener getLoadListener() {
+        return this.listener;
+    }
+
+    /**
+     * Sets the listener that receives progress notifications.
+     *
+     * @param listener  the listener ({@code null} permitted).
+     */
+    public void setLoadListener(DatasetLoadListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Returns the number of items read between progress notifications.
+     *
+     * @return The interval.
+     */
+    public int getProgressInterval() {
+        return this.progressInterval;
+    }
+
+    /**
+     * Sets the number of items read between progress notifications.
+     *
+     * @param interval  the interval (must be positive).
+     */
+    public void setProgressInterval(int interval) {
+        Args.requireInRange(interval, "interval", 1, Integer.MAX_VALUE);
+        this.progressInterval = interval;
+    }
+
+    /**
+     * Returns the time zone used to map milliseconds to time periods.
+     *
+     * @return The time zone (never {@code null}).
+     */
+    public TimeZone getTimeZone() {
+        return this.timeZone;
+    }
+
+    /**
+     * Sets the time zone used to map milliseconds to time periods.
+     *
+     * @param zone  the time zone ({@code null} not permitted).
+     */
+    public void setTimeZone(TimeZone zone) {
+        Args.nullNotPermitted(zone, "zone");
+        this.timeZone = zone;
+    }
+
+    /**
+     * Reads a pie dataset from a file.
+     *
+     * @param file  the file ({@code null} not permitted).
+     *
+     * @return The dataset.
+     *
+     * @throws IOException if there is an I/O problem or the file is not in
+     *     the expected format.
+     */
+    public DefaultPieDataset<String> readPieDataset(File file)
+            throws IOException {
+        Args.nullNotPermitted(file, "file");
+        try (InputStream in = new FileInputStream(file)) {
+            return readPieDataset(in);
+        }
+    }
+
+    /**
+     * Reads a pie dataset from a stream.  The stream is not closed.
+     *
+     * @param in  the stream ({@code null} not permitted).
+     *
+     * @return The dataset.
+     *
+     * @throws IOException if there is an I/O problem or the input is not in
+     *     the expected format.
+     */
+    public DefaultPieDataset<String> readPieDataset(InputStream in)
+            throws IOException {
+        DefaultPieDataset<String> result = new DefaultPieDataset<>();
+        readPieDataset(in, result);
+        return result;
+    }
+
+    /**
+     * Reads pie data from a stream into the target dataset.  The stream is
+     * not closed.
+     *
+     * @param in  the stream ({@code null} not permitted).
+     * @param target  the target dataset ({@code null} not permitted).
+     *
+     * @throws IOException if there is an I/O problem or the input is not in
+     *     the expected format.
+     */
+    public void readPieDataset(InputStream in,
+            DefaultPieDataset<String> target) throws IOException {
+        Args.nullNotPermitted(target, "target");
+        XMLStreamReader reader = open(in);
+        boolean notify = target.getNotify();
+        target.setNotify(false);
+        try {
+            requireRoot(reader, PIEDATASET_TAG);
+            while (nextChild(reader)) {
+                requireElement(reader, ITEM_TAG);
+                String key = null;
+                Double value = null;
+                while (nextChild(reader)) {
+                    String name = reader.getLocalName();
+                    if (KEY_TAG.equals(name)) {
+                        key = reader.getElementText();
+                    } else if (VALUE_TAG.equals(name)) {
+                        value = readValue(reader);
+                    } else {
+                        throw unexpected(reader);
+                    }
+                }
+                target.setValue(requireKey(reader, key), value);
+                itemRead();
+            }
+            finish(reader);
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        } finally {
+            target.setNotify(notify);
+        }
+    }
+
+    /**
+     * Reads a category dataset from a file.
+     *
+     * @param file  the file ({@code null} not permitted).
+     *
+     * @return The dataset.
+     *
+     * @throws IOException if there is an I/O problem or the file is not in
+     *     the expected format.
+     */
+    public DefaultCategoryDataset<String, String> readCategoryDataset(
+            File file) throws IOException {
+        Args.nullNotPermitted(file, "file");
+        try (InputStream in = new FileInputStream(file)) {
+            return readCategoryDataset(in);
+        }
+    }
+
+    /**
+     * Reads a category dataset from a stream.  The stream is not closed.
+     *
+     * @param in  the stream ({@code null} not permitted).
+     *
+     * @return The dataset.
+     *
+     * @throws IOException if there is an I/O problem or the input is not in
+     *     the expected format.
+     */
+    public DefaultCategoryDataset<String, String> readCategoryDataset(
+            InputStream in) throws IOException {
+        DefaultCategoryDataset<String, String> result
+                = new DefaultCategoryDataset<>();
+        readCategoryDataset(in, result);
+        return result;
+    }
+
+    /**
+     * Reads category data from a stream into the target dataset.  The
+     * stream is not closed.
+     *
+     * @param in  the stream ({@code null} not permitted).
+     * @param target  the target dataset ({@code null} not permitted).
+     *
+     * @throws IOException if there is an I/O problem or the input is not in
+     *     the expected format.
+     */
+    public void readCategoryDataset(InputStream in,
+            DefaultCategoryDataset<String, String> target) throws IOException {
+        Args.nullNotPermitted(target, "target");
+        XMLStreamReader reader = open(in);
+        boolean notify = target.getNotify();
+        target.setNotify(false);
+        try {
+            requireRoot(reader, CATEGORYDATASET_TAG);
+            while (nextChild(reader)) {
+                requireElement(reader, SERIES_TAG);
+                String seriesKey = requireKey(reader,
+                        reader.getAttributeValue(null, "name"));
+                while (nextChild(reader)) {
+                    requireElement(reader, ITEM_TAG);
+                    String key = null;
+                    Double value = null;
+                    while (nextChild(reader)) {
+                        String name = reader.getLocalName();
+                        if (KEY_TAG.equals(name)) {
+                            key = reader.getElementText();
+                        } else if (VALUE_TAG.equals(name)) {
+                            value = readValue(reader);
+                        } else {
+                            throw unexpected(reader);
+                        }
+                    }
+                    target.addValue(value, seriesKey, requireKey(reader, key));
+                    itemRead();
+                }
+            }
+            finish(reader);
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        } finally {
+            target.setNotify(notify);
+        }
+    }
+
+    /**
+     * Reads an XY dataset from a file.
+     *
+     * @param file  the file ({@code null} not permitted).
+     *
+     * @return The dataset.
+     *
+     * @throws IOException if there is an I/O problem or the file is not in
+     *     the expected format.
+     */
+    public XYSeriesCollection<String> readXYDataset(File file)
+            throws IOException {
+        Args.nullNotPermitted(file, "file");
+        try (InputStream in = new FileInputStream(file)) {
+            return readXYDataset(in);
+        }
+    }
+
+    /**
+     * Reads an XY dataset from a stream.  The stream is not closed.
+     *
+     * @param in  the stream ({@code null} not permitted).
+     *
+     * @return The dataset.
+     *
+     * @throws IOException if there is an I/O problem or the input is not in
+     *     the expected format.
+     */
+    public XYSeriesCollection<String> readXYDataset(InputStream in)
+            throws IOException {
+        XYSeriesCollection<String> result = new XYSeriesCollection<>();
+        readXYDataset(in, result);
+        return result;
+    }
+
+    /**
+     * Reads XY series from a stream and adds them to the target dataset.
+     * Each series is filled before it is added, so the target sends one
+     * change event per series.  The stream is not closed.
+     *
+     * @param in  the stream ({@code null} not permitted).
+     * @param target  the target dataset ({@code null} not permitted).
+     *
+     * @throws IOException if there is an I/O problem or the input is not in
+     *     the expected format.
+     */
+    public void readXYDataset(InputStream in,
+            XYSeriesCollection<String> target) throws IOException {
+        Args.nullNotPermitted(target, "target");
+        XMLStreamReader reader = open(in);
+        try {
+            requireRoot(reader, XYDATASET_TAG);
+            while (nextChild(reader)) {
+                requireElement(reader, SERIES_TAG);
+                XYSeries<String> series = new XYSeries<>(requireKey(reader,
+                        reader.getAttributeValue(null, "name")));
+                while (nextChild(reader)) {
+                    requireElement(reader, ITEM_TAG);
+                    double x = Double.NaN;
+                    Double y = null;
+                    while (nextChild(reader)) {
+                        String name = reader.getLocalName();
+                        if (X_TAG.equals(name)) {
+                            readText(reader);
+                            x = parseDouble(this.text, 0, this.textLength);
+                        } else if (Y_TAG.equals(name)) {
+                            y = readValue(reader);
+                        } else {
+                            throw unexpected(reader);
+                        }
+                    }
+                    if (Double.isNaN(x)) {
+                        throw error(reader, "Item without a valid <X> value");
+                    }
+                    series.add(x, y, false);
+                    itemRead();
+                }
+                target.addSeries(series);
+            }
+            finish(reader);
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads a time series collection from a file.
+     *
+     * @param file  the file ({@code null} not permitted).
+     *
+     * @return The dataset.
+     *
+     * @throws IOException if there is an I/O problem or the file is not in
+     *     the expected format.
+     */
+    public TimeSeriesCollection<String> readTimeSeriesCollection(File file)
+            throws IOException {
+        Args.nullNotPermitted(file, "file");
+        try (InputStream in = new FileInputStream(file)) {
+            return readTimeSeriesCollection(in);
+        }
+    }
+
+    /**
+     * Reads a time series collection from a stream.  The stream is not
+     * closed.
+     *
+     * @param in  the stream ({@code null} not permitted).
+     *
+     * @return The dataset.
+     *
+     * @throws IOException if there is an I/O problem or the input is not in
+     *     the expected format.
+     */
+    public TimeSeriesCollection<String> readTimeSeriesCollection(
+            InputStream in) throws IOException {
+        TimeSeriesCollection<String> result
+                = new TimeSeriesCollection<>(this.timeZone);
+        readTimeSeriesCollection(in, result);
+        return result;
+    }
+
+    /**
+     * Reads time series from a stream and adds them to the target dataset.
+     * Each series is filled before it is added, so the target sends one
+     * change event per series.  The stream is not closed.
+     *
+     * @param in  the stream ({@code null} not permitted).
+     * @param target  the target dataset ({@code null} not permitted).
+     *
+     * @throws IOException if there is an I/O problem or the input is not in
+     *     the expected format.
+     */
+    public void readTimeSeriesCollection(InputStream in,
+            TimeSeriesCollection<String> target) throws IOException {
+        Args.nullNotPermitted(target, "target");
+        XMLStreamReader reader = open(in);
+        try {
+            requireRoot(reader, TIMESERIESDATASET_TAG);
+            while (nextChild(reader)) {
+                requireElement(reader, SERIES_TAG);
+                TimeSeries<String> series = new TimeSeries<>(requireKey(
+                        reader, reader.getAttributeValue(null, "name")));
+                Constructor<?> periodConstructor = timePeriodConstructor(
+                        reader, reader.getAttributeValue(null, "timePeriod"));
+                while (nextChild(reader)) {
+                    requireElement(reader, ITEM_TAG);
+                    RegularTimePeriod period = null;
+                    Double value = null;
+                    while (nextChild(reader)) {
+                        String name = reader.getLocalName();
+                        if (PERIOD_TAG.equals(name)) {
+                            readText(reader);
+                            period = createTimePeriod(reader,
+                                    periodConstructor, parseLong(reader));
+                        } else if (VALUE_TAG.equals(name)) {
+                            value = readValue(reader);
+                        } else {
+                            throw unexpected(reader);
+                        }
+                    }
+                    if (period == null) {
+                        throw error(reader, "Item without a <Period>");
+                    }
+                    series.add(period, value, false);
+                    itemRead();
+                }
+                target.addSeries(series);
+            }
+            finish(reader);
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Starts a load from the specified stream.
+     *
+     * @param in  the stream ({@code null} not permitted).
+     *
+     * @return The stream reader.
+     *
+     * @throws IOException if the stream reader cannot be created.
+     */
+    private XMLStreamReader open(InputStream in) throws IOException {
+        Args.nullNotPermitted(in, "in");
+        this.itemCount = 0;
+        this.input = new CountingInputStream(new BufferedInputStream(in));
+        XMLInputFactory f = getXMLInputFactory();
+        try {
+            // factories are not specified to be thread-safe, but once the
+            // stream reader is created it is only used by this thread
+            synchronized (f) {
+                return f.createXMLStreamReader(this.input);
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Completes a load, sending a final progress notification.
+     *
+     * @param reader  the stream reader.
+     *
+     * @throws XMLStreamException if there is a parsing problem.
+     */
+    private void finish(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            reader.next();
+        }
+        reader.close();
+        if (this.listener != null) {
+            this.listener.loadProgress(this.itemCount, this.input.count);
+        }
+        this.input = null;
+    }
+
+    /**
+     * Records that an item has been read, sending a progress notification
+     * if the interval has been reached.
+     */
+    private void itemRead() {
+        this.itemCount++;
+        if (this.listener != null
+                && this.itemCount % this.progressInterval == 0) {
+            this.listener.loadProgress(this.itemCount, this.input.count);
+        }
+    }
+
+    /**
+     * Advances to the root element and checks its name.
+     *
+     * @param reader  the stream reader.
+     * @param name  the expected element name.
+     *
+     * @throws XMLStreamException if there is a parsing problem.
+     * @throws IOException if the root element has a different name.
+     */
+    private static void requireRoot(XMLStreamReader reader, String name)
+            throws XMLStreamException, IOException {
+        reader.nextTag();
+        requireElement(reader, name);
+    }
+
+    /**
+     * Checks the name of the current element.
+     *
+     * @param reader  the stream reader.
+     * @param name  the expected element name.
+     *
+     * @throws IOException if the element has a different name.
+     */
+    private static void requireElement(XMLStreamReader reader, String name)
+            throws IOException {
+        if (!name.equals(reader.getLocalName())) {
+            throw error(reader, "Expecting <" + name + "> but found <"
+                    + reader.getLocalName() + ">");
+        }
+    }
+
+    /**
+     * Advances to the next child element of the current element, returning
+     * {@code false} (positioned on the end tag of the current element) if
+     * there are no more.
+     *
+     * @param reader  the stream reader.
+     *
+     * @return A boolean.
+     *
+     * @throws XMLStreamException if there is a parsing problem or
+     *     non-whitespace text between elements.
+     */
+    private static boolean nextChild(XMLStreamReader reader)
+            throws XMLStreamException {
+        return reader.nextTag() == XMLStreamConstants.START_ELEMENT;
+    }
+
+    /**
+     * Checks that a key is present.
+     *
+     * @param reader  the stream reader.
+     * @param key  the key.
+     *
+     * @return The key.
+     *
+     * @throws IOException if the key is {@code null}.
+     */
+    private static String requireKey(XMLStreamReader reader, String key)
+            throws IOException {
+        if (key == null) {
+            throw error(reader, "Missing key");
+        }
+        return key;
+    }
+
+    /**
+     * Reads the text of the current element into the text buffer, leaving
+     * the reader positioned on the end tag.
+     *
+     * @param reader  the stream reader.
+     *
+     * @throws XMLStreamException if there is a parsing problem or the
+     *     element has child elements.
+     */
+    private void readText(XMLStreamReader reader) throws XMLStreamException {
+        this.textLength = 0;
+        while (true) {
+            int event = reader.next();
+            switch (event) {
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    int length = reader.getTextLength();
+                    if (this.textLength + length > this.text.length) {
+                        this.text = Arrays.copyOf(this.text, Math.max(
+                                this.text.length * 2, this.textLength + length));
+                    }
+                    System.arraycopy(reader.getTextCharacters(),
+                            reader.getTextStart(), this.text, this.textLength,
+                            length);
+                    this.textLength += length;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    return;
+                case XMLStreamConstants.START_ELEMENT:
+                    throw new XMLStreamException("Unexpected element <"
+                            + reader.getLocalName() + ">",
+                            reader.getLocation());
+                default:
+                    // comments and processing instructions are ignored
+            }
+        }
+    }
+
+    /**
+     * Reads a value element, returning {@code null} for empty, {@code NaN}
+     * or unparseable text.
+     *
+     * @param reader  the stream reader.
+     *
+     * @return The value (possibly {@code null}).
+     *
+     * @throws XMLStreamException if there is a parsing problem.
+     */
+    private Double readValue(XMLStreamReader reader)
+            throws XMLStreamException {
+        readText(reader);
+        double d = parseDouble(this.text, 0, this.textLength);
+        return Double.isNaN(d) ? null : d;
+    }
+
+    /**
+     * Parses the text buffer as a long integer.
+     *
+     * @param reader  the stream reader (used for error locations).
+     *
+     * @return The value.
+     *
+     * @throws IOException if the text is not an integer.
+     */
+    private long parseLong(XMLStreamReader reader) throws IOException {
+        char[] c = this.text;
+        int i = 0;
+        int end = this.textLength;
+        while (i < end && Character.isWhitespace(c[i])) {
+            i++;
+        }
+        while (end > i && Character.isWhitespace(c[end - 1])) {
+            end--;
+        }
+        boolean negative = i < end && c[i] == '-';
+        if (negative || (i < end && c[i] == '+')) {
+            i++;
+        }
+        if (i == end || end - i > 18) {
+            try {
+                return Long.parseLong(new String(c, 0, this.textLength).trim());
+            } catch (NumberFormatException e) {
+                throw error(reader, "Invalid period '"
+                        + new String(c, 0, this.textLength) + "'");
+            }
+        }
+        long result = 0;
+        for (; i < end; i++) {
+            char ch = c[i];
+            if (ch < '0' || ch > '9') {
+                throw error(reader, "Invalid period '"
+                        + new String(c, 0, this.textLength) + "'");
+            }
+            result = result * 10 + (ch - '0');
+        }
+        return negative ? -result : result;
+    }
+
+    /**
+     * Parses a decimal number from a character array.  Numbers with at most
+     * 15 significant digits and a decimal exponent within +/-22 (which
+     * covers almost all data files) are converted exactly without creating a
+     * string; anything else falls back to {@link Double#parseDouble(String)}.
+     *
+     * @param c  the characters.
+     * @param start  the start index.
+     * @param length  the number of characters.
+     *
+     * @return The value, or {@code NaN} if the text is empty or is not a
+     *     number.
+     */
+    static double parseDouble(char[] c, int start, int length) {
+        int i = start;
+        int end = start + length;
+        while (i < end && Character.isWhitespace(c[i])) {
+            i++;
+        }
+        while (end > i && Character.isWhitespace(c[end - 1])) {
+            end--;
+        }
+        if (i == end) {
+            return Double.NaN;
+        }
+        int first = i;
+        boolean negative = c[i] == '-';
+        if (negative || c[i] == '+') {
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean anyDigits = false;
+        boolean point = false;
+        for (; i < end; i++) {
+            char ch = c[i];
+            if (ch >= '0' && ch <= '9') {
+                anyDigits = true;
+                if (mantissa != 0 || ch != '0') {
+                    if (digits == 15) {
+                        return parseSlow(c, first, end);
+                    }
+                    mantissa = mantissa * 10 + (ch - '0');
+                    digits++;
+                }
+                if (point) {
+                    exponent--;
+                }
+            } else if (ch == '.' && !point) {
+                point = true;
+            } else {
+                break;
+            }
+        }
+        if (!anyDigits) {
+            return parseSlow(c, first, end);
+        }
+        if (i < end) {
+            if (c[i] != 'e' && c[i] != 'E') {
+                return parseSlow(c, first, end);
+            }
+            i++;
+            boolean negativeExponent = i < end && c[i] == '-';
+            if (negativeExponent || (i < end && c[i] == '+')) {
+                i++;
+            }
+            if (i == end || end - i > 3) {
+                return parseSlow(c, first, end);
+            }
+            int e = 0;
+            for (; i < end; i++) {
+                char ch = c[i];
+                if (ch < '0' || ch > '9') {
+                    return parseSlow(c, first, end);
+                }
+                e = e * 10 + (ch - '0');
+            }
+            exponent += negativeExponent ? -e : e;
+        }
+        double result;
+        if (mantissa == 0) {
+            result = 0.0;
+        } else if (exponent == 0) {
+            result = mantissa;
+        } else if (exponent > 0 && exponent <= 22) {
+            result = mantissa * POWERS_OF_TEN[exponent];
+        } else if (exponent < 0 && exponent >= -22) {
+            result = mantissa / POWERS_OF_TEN[-exponent];
+        } else {
+            return parseSlow(c, first, end);
+        }
+        return negative ? -result : result;
+    }
+
+    /**
+     * Parses a number with {@link Double#parseDouble(String)}.
+     *
+     * @param c  the characters.
+     * @param start  the start index.
+     * @param end  the end index (exclusive).
+     *
+     * @return The value, or {@code NaN} if the text is not a number.
+     */
+    private static double parseSlow(char[] c, int start, int end) {
+        try {
+            return Double.parseDouble(new String(c, start, end - start));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Returns the constructor for the named time period class.
+     *
+     * @param reader  the stream reader (used for error locations).
+     * @param name  the simple name of a {@link RegularTimePeriod} subclass
+     *     in the {@code org.jfree.data.time} package.
+     *
+     * @return The constructor.
+     *
+     * @throws IOException if the name does not identify a time period class.
+     */
+    private static Constructor<?> timePeriodConstructor(XMLStreamReader reader,
+            String name) throws IOException {
+        if (name == null) {
+            throw error(reader, "Series without a timePeriod attribute");
+        }
+        try {
+            Class<?> c = Class.forName("org.jfree.data.time." + name);
+            if (RegularTimePeriod.class.isAssignableFrom(c)) {
+                return c.getDeclaredConstructor(Date.class, TimeZone.class,
+                        Locale.class);
+            }
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            // fall through to the error below
+        }
+        throw error(reader, "Unknown time period class '" + name + "'");
+    }
+
+    /**
+     * Creates the time period containing the specified millisecond.
+     *
+     * @param reader  the stream reader (used for error locations).
+     * @param constructor  the time period constructor.
+     * @param millis  the millisecond.
+     *
+     * @return The time period.
+     *
+     * @throws IOException if the time period cannot be created.
+     */
+    private RegularTimePeriod createTimePeriod(XMLStreamReader reader,
+            Constructor<?> constructor, long millis) throws IOException {
+        try {
+            return (RegularTimePeriod) constructor.newInstance(
+                    new Date(millis), this.timeZone, this.locale);
+        } catch (ReflectiveOperationException e) {
+            throw error(reader, "Cannot create time period for " + millis);
+        }
+    }
+
+    /**
+     * Creates an exception for an unexpected element.
+     *
+     * @param reader  the stream reader.
+     *
+     * @return The exception.
+     */
+    private static IOException unexpected(XMLStreamReader reader) {
+        return error(reader, "Element not recognised: <"
+                + reader.getLocalName() + ">");
+    }
+
+    /**
+     * Creates an exception that includes the current location.
+     *
+     * @param reader  the stream reader.
+     * @param message  the message.
+     *
+     * @return The exception.
+     */
+    private static IOException error(XMLStreamReader reader, String message) {
+        return new IOException(message + " at line "
+                + reader.getLocation().getLineNumber() + ", column "
+                + reader.getLocation().getColumnNumber() + ".");
+    }
+
+    /**
+     * An input stream that counts the bytes read through it.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        /** The number of bytes read. */
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                this.count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                this.count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            this.count += skipped;
+            return skipped;
+        }
+
+        @Override
+        public void close() {
+            // the caller owns the underlying stream
+        }
+
+    }
+
+}
@@ -0,0 +1,75 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------
+ * ArrayXYDataset.java
+ * -------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.xy;
+
+/**
+ * An {@link XYDataset} that stores the x- and y-values for each series in
+ * arrays of double primitives, and gives direct (read-only) access to those
+ * arrays.  Utility methods such as the bounds calculations in
+ * {@code DatasetUtils} use this to scan large datasets without a method
+ * call per value.
+ *
+ * @param <S>  the type for the series keys.
+ */
+public interface ArrayXYDataset<S extends Comparable<S>>
+        extends XYDataset<S> {
+
+    /**
+     * Returns the array holding the x-values for a series.  The x-value for
+     * item {@code i} is at index {@code i} in the array, for {@code i} in
+     * the range {@code 0} to {@code getItemCount(series) - 1}.  The array
+     * may be the dataset's own storage, so callers must not modify it.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The x-values (never {@code null}).
+     */
+    double[] getXValues(int series);
+
+    /**
+     * Returns the array holding the y-values for a series.  The y-value for
+     * item {@code i} is at index {@code i} in the array, for {@code i} in
+     * the range {@code 0} to {@code getItemCount(series) - 1}.  The array
+     * may be the dataset's own storage, so callers must not modify it.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The y-values (never {@code null}).
+     */
+    double[] getYValues(int series);
+
+}
@@ -0,0 +1,914 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------------
+ * ColumnarTableXYDataset.java
+ * ----------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.xy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jfree.chart.api.PublicCloneable;
+import org.jfree.chart.internal.Args;
+import org.jfree.data.DomainInfo;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.Range;
+import org.jfree.data.general.DatasetChangeEvent;
+
+/**
+ * A {@link TableXYDataset} that stores one shared, sorted column of x-values
+ * and one column of y-values per series, all in arrays of double
+ * primitives.  A y-value of {@code Double.NaN} marks a gap (the
+ * {@link #getY(int, int)} method returns {@code null} for these items).
+ * <p>
+ * New x-values are merged into the x-column in a single linear pass, so
+ * adding a series of N points to a dataset with S series costs
+ * O(S &times; (N + itemCount)) rather than the O(S &times; N&sup2;) of
+ * {@link DefaultTableXYDataset}, and rows whose x-values are all greater
+ * than the current last x-value are appended with no copying beyond the
+ * occasional growth of the arrays.  This makes the dataset suitable for
+ * stacked charts with hundreds of series and millions of rows.
+ *
+ * @param <S>  the type for the series keys.
+ *
+ * @since 2.0
+ */
+public class ColumnarTableXYDataset<S extends Comparable<S>>
+        extends AbstractIntervalXYDataset<S>
+        implements TableXYDataset<S>, IntervalXYDataset<S>,
+        ArrayXYDataset<S>, DomainInfo, PublicCloneable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 4178253519432386502L;
+
+    /** The initial capacity of the columns. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The series keys. */
+    private List<S> seriesKeys;
+
+    /**
+     * The x-values in ascending order, with no duplicates.  Only the first
+     * {@code itemCount} elements are in use.
+     */
+    private double[] xValues;
+
+    /**
+     * The y-values for each series (each array has the same length as
+     * {@code xValues}, unused elements are {@code NaN}).
+     */
+    private List<double[]> yValues;
+
+    /** The number of x-values in use. */
+    private int itemCount;
+
+    /** The fixed interval width. */
+    private double intervalWidth;
+
+    /**
+     * A flag that controls whether the interval width is calculated
+     * automatically (as the smallest gap between two x-values).
+     */
+    private boolean autoWidth;
+
+    /** The interval position factor. */
+    private double intervalPositionFactor;
+
+    /**
+     * The calculated interval width ({@code NaN} if it needs to be
+     * recalculated).
+     */
+    private double autoIntervalWidth;
+
+    /**
+     * Creates a new empty dataset.
+     */
+    public ColumnarTableXYDataset() {
+        this.seriesKeys = new ArrayList<>();
+        this.xValues = new double[INITIAL_CAPACITY];
+        this.yValues = new ArrayList<>();
+        this.itemCount = 0;
+        this.intervalWidth = 1.0;
+        this.autoWidth = false;
+        this.intervalPositionFactor = 0.5;
+        this.autoIntervalWidth = Double.NaN;
+    }
+
+    /**
+     * Returns the number of series in the dataset.
+     *
+     * @return The series count.
+     */
+    @Override
+    public int getSeriesCount() {
+        return this.seriesKeys.size();
+    }
+
+    /**
+     * Returns the key for a series.
+     *
+     * @param series  the series index (in the range {@code 0} to
+     *     {@code getSeriesCount() - 1}).
+     *
+     * @return The key for the series.
+     */
+    @Override
+    public S getSeriesKey(int series) {
+        Args.requireInRange(series, "series", 0, this.seriesKeys.size() - 1);
+        return this.seriesKeys.get(series);
+    }
+
+    /**
+     * Returns the index of the series with the specified key, or -1 if there
+     * is no such series in the dataset.
+     *
+     * @param seriesKey  the series key ({@code null} permitted).
+     *
+     * @return The index, or -1.
+     */
+    @Override
+    public int indexOf(S seriesKey) {
+        return this.seriesKeys.indexOf(seriesKey);
+    }
+
+    /**
+     * Returns the order of the domain (x-) values in the dataset, which is
+     * always {@code DomainOrder.ASCENDING}.
+     *
+     * @return {@code DomainOrder.ASCENDING}.
+     */
+    @Override
+    public DomainOrder getDomainOrder() {
+        return DomainOrder.ASCENDING;
+    }
+
+    /**
+     * Returns the number of x-values in the dataset (this is the same for
+     * every series).
+     *
+     * @return The item count.
+     */
+    @Override
+    public int getItemCount() {
+        return this.itemCount;
+    }
+
+    /**
+     * Returns the number of items in the specified series, which is the
+     * same as {@link #getItemCount()}.
+     *
+     * @param series  the series index.
+     *
+     * @return The item count.
+     */
+    @Override
+    public int getItemCount(int series) {
+        Args.requireInRange(series, "series", 0, this.seriesKeys.size() - 1);
+        return this.itemCount;
+    }
+
+    /**
+     * Returns the index of an x-value, or {@code -(insertionPoint + 1)} if
+     * the x-value is not in the dataset.
+     *
+     * @param x  the x-value.
+     *
+     * @return The index.
+     */
+    public int indexOfX(double x) {
+        return Arrays.binarySearch(this.xValues, 0, this.itemCount, x);
+    }
+
+    /**
+     * Returns the x-value for an item.
+     *
+     * @param series  the series index (ignored, all series share the same
+     *     x-values).
+     * @param item  the item index.
+     *
+     * @return The x-value.
+     */
+    @Override
+    public double getXValue(int series, int item) {
+        return this.xValues[item];
+    }
+
+    /**
+     * Returns the x-value for an item.
+     *
+     * @param series  the series index (ignored, all series share the same
+     *     x-values).
+     * @param item  the item index.
+     *
+     * @return The x-value.
+     */
+    @Override
+    public Number getX(int series, int item) {
+        return getXValue(series, item);
+    }
+
+    /**
+     * Returns the y-value for an item.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The y-value ({@code NaN} for a gap).
+     */
+    @Override
+    public double getYValue(int series, int item) {
+        return this.yValues.get(series)[item];
+    }
+
+    /**
+     * Returns the y-value for an item.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The y-value ({@code null} for a gap).
+     */
+    @Override
+    public Number getY(int series, int item) {
+        double y = getYValue(series, item);
+        return Double.isNaN(y) ? null : y;
+    }
+
+    /**
+     * Returns the shared x-column.  Only the first {@link #getItemCount()}
+     * elements are in use.  This is the dataset's own storage, so callers
+     * must not modify it.
+     *
+     * @param series  the series index (ignored).
+     *
+     * @return The x-values.
+     */
+    @Override
+    public double[] getXValues(int series) {
+        return this.xValues;
+    }
+
+    /**
+     * Returns the y-column for a series.  Only the first
+     * {@link #getItemCount()} elements are in use.  This is the dataset's
+     * own storage, so callers must not modify it.
+     *
+     * @param series  the series index.
+     *
+     * @return The y-values.
+     */
+    @Override
+    public double[] getYValues(int series) {
+        return this.yValues.get(series);
+    }
+
+    /**
+     * Returns the start x-value for an item.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The start x-value.
+     */
+    @Override
+    public double getStartXValue(int series, int item) {
+        return this.xValues[item]
+                - this.intervalPositionFactor * getIntervalWidth();
+    }
+
+    /**
+     * Returns the start x-value for an item.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The start x-value.
+     */
+    @Override
+    public Number getStartX(int series, int item) {
+        return getStartXValue(series, item);
+    }
+
+    /**
+     * Returns the end x-value for an item.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The end x-value.
+     */
+    @Override
+    public double getEndXValue(int series, int item) {
+        return this.xValues[item]
+                + (1.0 - this.intervalPositionFactor) * getIntervalWidth();
+    }
+
+    /**
+     * Returns the end x-value for an item.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The end x-value.
+     */
+    @Override
+    public Number getEndX(int series, int item) {
+        return getEndXValue(series, item);
+    }
+
+    /**
+     * Returns the start y-value for an item (the same as the y-value).
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The start y-value ({@code null} for a gap).
+     */
+    @Override
+    public Number getStartY(int series, int item) {
+        return getY(series, item);
+    }
+
+    /**
+     * Returns the end y-value for an item (the same as the y-value).
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The end y-value ({@code null} for a gap).
+     */
+    @Override
+    public Number getEndY(int series, int item) {
+        return getY(series, item);
+    }
+
+    /**
+     * Adds a series to the dataset (or replaces the values for an existing
+     * series with the same key) and sends a {@link DatasetChangeEvent} to
+     * all registered listeners.  The x-values are merged into the shared
+     * x-column, and the series has a gap at any x-value it does not
+     * specify.  If an x-value appears more than once, the last y-value for
+     * it is used.
+     *
+     * @param seriesKey  the series key ({@code null} not permitted).
+     * @param x  the x-values ({@code null} not permitted, {@code NaN}
+     *     not permitted).
+     * @param y  the y-values ({@code null} not permitted, must have the
+     *     same length as {@code x}).
+     */
+    public void addSeries(S seriesKey, double[] x, double[] y) {
+        Args.nullNotPermitted(seriesKey, "seriesKey");
+        Args.nullNotPermitted(x, "x");
+        Args.nullNotPermitted(y, "y");
+        if (x.length != y.length) {
+            throw new IllegalArgumentException(
+                    "The 'x' and 'y' arrays must have the same length.");
+        }
+        int series = indexOf(seriesKey);
+        if (series < 0) {
+            double[] column = new double[this.xValues.length];
+            Arrays.fill(column, Double.NaN);
+            this.seriesKeys.add(seriesKey);
+            this.yValues.add(column);
+            series = this.seriesKeys.size() - 1;
+        } else {
+            Arrays.fill(this.yValues.get(series), Double.NaN);
+        }
+        merge(x, new double[][] {y}, new int[] {series});
+        fireDatasetChanged();
+    }
+
+    /**
+     * Adds a block of rows to the dataset and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.  The array
+     * {@code y} holds one column of y-values for each series in the dataset
+     * (use {@code Double.NaN} for gaps).  An x-value that is already in the
+     * dataset has its y-values replaced.  This is fastest when all the new
+     * x-values are greater than the current last x-value, in which case the
+     * rows are simply appended.
+     *
+     * @param x  the x-values ({@code null} not permitted, {@code NaN}
+     *     not permitted).
+     * @param y  the y-values, indexed by {@code [series][row]}
+     *     ({@code null} not permitted).
+     */
+    public void appendRows(double[] x, double[][] y) {
+        Args.nullNotPermitted(x, "x");
+        Args.nullNotPermitted(y, "y");
+        int seriesCount = this.seriesKeys.size();
+        if (y.length != seriesCount) {
+            throw new IllegalArgumentException("The 'y' array must contain "
+                    + "one column for each of the " + seriesCount
+                    + " series.");
+        }
+        int[] series = new int[seriesCount];
+        for (int s = 0; s < seriesCount; s++) {
+            if (y[s] == null || y[s].length != x.length) {
+                throw new IllegalArgumentException("The 'y' columns must "
+                        + "have the same length as 'x'.");
+            }
+            series[s] = s;
+        }
+        merge(x, y, series);
+        fireDatasetChanged();
+    }
+
+    /**
+     * Sets the y-value for an existing item and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     * @param y  the new y-value ({@code NaN} for a gap).
+     */
+    public void updateYValue(int series, int item, double y) {
+        Args.requireInRange(series, "series", 0, this.seriesKeys.size() - 1);
+        Args.requireInRange(item, "item", 0, this.itemCount - 1);
+        this.yValues.get(series)[item] = y;
+        fireDatasetChanged();
+    }
+
+    /**
+     * Removes a series from the dataset and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.  The x-values
+     * are not changed (unless this is the last series, in which case the
+     * dataset is cleared).
+     *
+     * @param series  the series index.
+     */
+    public void removeSeries(int series) {
+        Args.requireInRange(series, "series", 0, this.seriesKeys.size() - 1);
+        this.seriesKeys.remove(series);
+        this.yValues.remove(series);
+        if (this.seriesKeys.isEmpty()) {
+            clearValues();
+        }
+        fireDatasetChanged();
+    }
+
+    /**
+     * Removes a series from the dataset and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.  If there is
+     * no series with the specified key, this method does nothing.
+     *
+     * @param seriesKey  the series key ({@code null} permitted).
+     */
+    public void removeSeries(S seriesKey) {
+        int series = indexOf(seriesKey);
+        if (series >= 0) {
+            removeSeries(series);
+        }
+    }
+
+    /**
+     * Removes all the series and x-values from the dataset and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.
+     */
+    public void removeAllSeries() {
+        this.seriesKeys.clear();
+        this.yValues.clear();
+        clearValues();
+        fireDatasetChanged();
+    }
+
+    /**
+     * Clears the x-column.
+     */
+    private void clearValues() {
+        this.xValues = new double[INITIAL_CAPACITY];
+        this.itemCount = 0;
+        this.autoIntervalWidth = Double.NaN;
+    }
+
+    /**
+     * Merges new values into the dataset.
+     *
+     * @param x  the x-values (in any order).
+     * @param y  the y-values for each series being updated.
+     * @param series  the index of each series being updated.
+     */
+    private void merge(double[] x, double[][] y, int[] series) {
+        int n = x.length;
+        if (n == 0) {
+            return;
+        }
+        for (int i = 0; i < n; i++) {
+            if (Double.isNaN(x[i])) {
+                throw new IllegalArgumentException(
+                        "The 'x' values cannot be NaN.");
+            }
+        }
+        int[] order = sortOrder(x);
+
+        // the distinct new x-values, in ascending order
+        double[] newX = new double[n];
+        int distinct = 0;
+        for (int i = 0; i < n; i++) {
+            double v = x[order == null ? i : order[i]];
+            if (distinct == 0 || newX[distinct - 1] != v) {
+                newX[distinct++] = v;
+            }
+        }
+
+        // find where each of the new x-values goes, and where each of the
+        // existing x-values moves to
+        int[] position = new int[distinct];
+        int added = 0;
+        if (this.itemCount == 0 || newX[0] > this.xValues[this.itemCount - 1]) {
+            for (int j = 0; j < distinct; j++) {
+                position[j] = this.itemCount + j;
+            }
+            added = distinct;
+            ensureCapacity(this.itemCount + added);
+        } else {
+            int[] target = new int[this.itemCount];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < this.itemCount || j < distinct) {
+                if (j == distinct || (i < this.itemCount
+                        && this.xValues[i] < newX[j])) {
+                    target[i++] = k++;
+                } else if (i == this.itemCount || newX[j] < this.xValues[i]) {
+                    position[j++] = k++;
+                    added++;
+                } else {
+                    target[i++] = k;
+                    position[j++] = k++;
+                }
+            }
+            if (added > 0) {
+                int capacity = this.xValues.length;
+                if (this.itemCount + added > capacity) {
+                    capacity = Math.max(this.itemCount + added,
+                            capacity + (capacity >> 1));
+                }
+                this.xValues = move(this.xValues, target, capacity, 0.0);
+                for (int s = 0; s < this.yValues.size(); s++) {
+                    this.yValues.set(s, move(this.yValues.get(s), target,
+                            capacity, Double.NaN));
+                }
+            }
+        }
+        for (int j = 0; j < distinct; j++) {
+            this.xValues[position[j]] = newX[j];
+        }
+        this.itemCount += added;
+
+        // copy the y-values (the last one wins for duplicate x-values)
+        for (int k = 0; k < series.length; k++) {
+            double[] column = this.yValues.get(series[k]);
+            double[] source = y[k];
+            int j = -1;
+            double prev = Double.NaN;
+            for (int i = 0; i < n; i++) {
+                int index = order == null ? i : order[i];
+                if (j < 0 || x[index] != prev) {
+                    j++;
+                    prev = x[index];
+                }
+                column[position[j]] = source[index];
+            }
+        }
+        this.autoIntervalWidth = Double.NaN;
+    }
+
+    /**
+     * Returns a new array with the existing values moved to their target
+     * positions and all other elements set to {@code fill}.
+     *
+     * @param values  the current values.
+     * @param target  the target index for each value in use.
+     * @param capacity  the length of the new array.
+     * @param fill  the value for the other elements.
+     *
+     * @return The new array.
+     */
+    private static double[] move(double[] values, int[] target, int capacity,
+            double fill) {
+        double[] result = new double[capacity];
+        Arrays.fill(result, fill);
+        for (int i = 0; i < target.length; i++) {
+            result[target[i]] = values[i];
+        }
+        return result;
+    }
+
+    /**
+     * Grows the columns (if necessary) to hold at least {@code required}
+     * items.
+     *
+     * @param required  the required capacity.
+     */
+    private void ensureCapacity(int required) {
+        int length = this.xValues.length;
+        if (required <= length) {
+            return;
+        }
+        int capacity = Math.max(required, length + (length >> 1));
+        this.xValues = Arrays.copyOf(this.xValues, capacity);
+        for (int s = 0; s < this.yValues.size(); s++) {
+            double[] column = Arrays.copyOf(this.yValues.get(s), capacity);
+            Arrays.fill(column, length, capacity, Double.NaN);
+            this.yValues.set(s, column);
+        }
+    }
+
+    /**
+     * Returns the indices of the values in ascending order (equal values
+     * keep their original order), or {@code null} if the values are already
+     * in ascending order.
+     *
+     * @param x  the values.
+     *
+     * @return The sort order (possibly {@code null}).
+     */
+    private static int[] sortOrder(double[] x) {
+        int n = x.length;
+        boolean sorted = true;
+        for (int i = 1; i < n && sorted; i++) {
+            sorted = x[i - 1] <= x[i];
+        }
+        if (sorted) {
+            return null;
+        }
+        // a bottom-up merge sort of the indices
+        int[] a = new int[n];
+        int[] b = new int[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = i;
+        }
+        for (int width = 1; width < n; width *= 2) {
+            for (int lo = 0; lo < n; lo += 2 * width) {
+                int mid = Math.min(lo + width, n);
+                int hi = Math.min(lo + 2 * width, n);
+                int i = lo;
+                int j = mid;
+                for (int k = lo; k < hi; k++) {
+                    if (i < mid && (j >= hi || x[a[i]] <= x[a[j]])) {
+                        b[k] = a[i++];
+                    } else {
+                        b[k] = a[j++];
+                    }
+                }
+            }
+            int[] t = a;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    /**
+     * Returns the interval width.  This is the fixed interval width unless
+     * auto width is enabled and the dataset has at least two x-values.
+     *
+     * @return The interval width.
+     */
+    public double getIntervalWidth() {
+        if (this.autoWidth && this.itemCount > 1) {
+            if (Double.isNaN(this.autoIntervalWidth)) {
+                double w = Double.POSITIVE_INFINITY;
+                for (int i = 1; i < this.itemCount; i++) {
+                    w = Math.min(w, this.xValues[i] - this.xValues[i - 1]);
+                }
+                this.autoIntervalWidth = w;
+            }
+            return this.autoIntervalWidth;
+        }
+        return this.intervalWidth;
+    }
+
+    /**
+     * Sets the interval width to a fixed value (which also switches off the
+     * auto width) and sends a {@link DatasetChangeEvent} to all registered
+     * listeners.
+     *
+     * @param width  the new interval width (must be &gt;= 0).
+     */
+    public void setIntervalWidth(double width) {
+        if (width < 0.0) {
+            throw new IllegalArgumentException("Negative 'width' argument.");
+        }
+        this.intervalWidth = width;
+        this.autoWidth = false;
+        fireDatasetChanged();
+    }
+
+    /**
+     * Returns the flag that controls whether the interval width is
+     * calculated automatically (as the smallest gap between x-values).
+     *
+     * @return A boolean.
+     */
+    public boolean isAutoWidth() {
+        return this.autoWidth;
+    }
+
+    /**
+     * Sets the flag that controls whether the interval width is calculated
+     * automatically and sends a {@link DatasetChangeEvent} to all
+     * registered listeners.
+     *
+     * @param auto  the new flag value.
+     */
+    public void setAutoWidth(boolean auto) {
+        this.autoWidth = auto;
+        fireDatasetChanged();
+    }
+
+    /**
+     * Returns the interval position factor.
+     *
+     * @return The interval position factor.
+     */
+    public double getIntervalPositionFactor() {
+        return this.intervalPositionFactor;
+    }
+
+    /**
+     * Sets the interval position factor (in the range 0.0 to 1.0, where
+     * 0.5 centres the interval on the x-value) and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.
+     *
+     * @param factor  the new factor.
+     */
+    public void setIntervalPositionFactor(double factor) {
+        if (factor < 0.0 || 1.0 < factor) {
+            throw new IllegalArgumentException(
+                    "Argument 'factor' outside valid range.");
+        }
+        this.intervalPositionFactor = factor;
+        fireDatasetChanged();
+    }
+
+    /**
+     * Returns the minimum x-value in the dataset.
+     *
+     * @param includeInterval  a flag that determines whether or not the
+     *     x-interval is taken into account.
+     *
+     * @return The minimum value ({@code NaN} if the dataset is empty).
+     */
+    @Override
+    public double getDomainLowerBound(boolean includeInterval) {
+        if (this.itemCount == 0) {
+            return Double.NaN;
+        }
+        if (includeInterval) {
+            return getStartXValue(0, 0);
+        }
+        return this.xValues[0];
+    }
+
+    /**
+     * Returns the maximum x-value in the dataset.
+     *
+     * @param includeInterval  a flag that determines whether or not the
+     *     x-interval is taken into account.
+     *
+     * @return The maximum value ({@code NaN} if the dataset is empty).
+     */
+    @Override
+    public double getDomainUpperBound(boolean includeInterval) {
+        if (this.itemCount == 0) {
+            return Double.NaN;
+        }
+        if (includeInterval) {
+            return getEndXValue(0, this.itemCount - 1);
+        }
+        return this.xValues[this.itemCount - 1];
+    }
+
+    /**
+     * Returns the range of the x-values in the dataset.
+     *
+     * @param includeInterval  a flag that determines whether or not the
+     *     x-interval is taken into account.
+     *
+     * @return The range ({@code null} if the dataset is empty).
+     */
+    @Override
+    public Range getDomainBounds(boolean includeInterval) {
+        if (this.itemCount == 0) {
+            return null;
+        }
+        return new Range(getDomainLowerBound(includeInterval),
+                getDomainUpperBound(includeInterval));
+    }
+
+    /**
+     * Tests this dataset for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof ColumnarTableXYDataset)) {
+            return false;
+        }
+        ColumnarTableXYDataset<?> that = (ColumnarTableXYDataset<?>) obj;
+        if (!this.seriesKeys.equals(that.seriesKeys)) {
+            return false;
+        }
+        if (this.itemCount != that.itemCount) {
+            return false;
+        }
+        if (this.intervalWidth != that.intervalWidth) {
+            return false;
+        }
+        if (this.autoWidth != that.autoWidth) {
+            return false;
+        }
+        if (this.intervalPositionFactor != that.intervalPositionFactor) {
+            return false;
+        }
+        if (!Arrays.equals(this.xValues, 0, this.itemCount, that.xValues, 0,
+                this.itemCount)) {
+            return false;
+        }
+        for (int s = 0; s < this.yValues.size(); s++) {
+            if (!Arrays.equals(this.yValues.get(s), 0, this.itemCount,
+                    that.yValues.get(s), 0, this.itemCount)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code for this instance.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        int result = this.seriesKeys.hashCode();
+        result = 29 * result + this.itemCount;
+        if (this.itemCount > 0) {
+            result = 29 * result + Double.hashCode(this.xValues[0]);
+            result = 29 * result + Double.hashCode(
+                    this.xValues[this.itemCount - 1]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns an independent copy of this dataset.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning the
+     *     dataset.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        ColumnarTableXYDataset<S> clone
+                = (ColumnarTableXYDataset<S>) super.clone();
+        clone.seriesKeys = new ArrayList<>(this.seriesKeys);
+        clone.xValues = this.xValues.clone();
+        clone.yValues = new ArrayList<>(this.yValues.size());
+        for (double[] column : this.yValues) {
+            clone.yValues.add(column.clone());
+        }
+        return clone;
+    }
+
+}
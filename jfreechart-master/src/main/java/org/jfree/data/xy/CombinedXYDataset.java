@@ -0,0 +1,328 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------
+ * CombinedXYDataset.java
+ * ----------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.xy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import org.jfree.chart.internal.Args;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.general.DatasetChangeListener;
+
+/**
+ * A read-only {@link XYDataset} that presents the series from several
+ * source datasets, one after another, as a single dataset.  No data is
+ * copied: each request is forwarded to the source dataset that holds the
+ * series, and change events from any of the sources are forwarded to the
+ * listeners registered with this dataset.
+ *
+ * @param <S>  the type for the series keys.
+ */
+public class CombinedXYDataset<S extends Comparable<S>>
+        extends AbstractXYDataset<S> implements DatasetChangeListener {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 2784396571059387604L;
+
+    /** The source datasets. */
+    private List<XYDataset<S>> datasets;
+
+    /**
+     * The index of the first series from each source dataset, followed by
+     * the total series count ({@code null} until required).
+     */
+    private transient int[] offsets;
+
+    /**
+     * Creates a new dataset with no sources.
+     */
+    public CombinedXYDataset() {
+        this.datasets = new ArrayList<>();
+    }
+
+    /**
+     * Adds a source dataset, after the existing sources, and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.
+     *
+     * @param dataset  the dataset ({@code null} not permitted).
+     */
+    public void addDataset(XYDataset<S> dataset) {
+        Args.nullNotPermitted(dataset, "dataset");
+        this.datasets.add(dataset);
+        dataset.addChangeListener(this);
+        this.offsets = null;
+        fireDatasetChanged();
+    }
+
+    /**
+     * Removes a source dataset and sends a {@link DatasetChangeEvent} to
+     * all registered listeners.  If the dataset is not one of the sources,
+     * this method does nothing.
+     *
+     * @param dataset  the dataset ({@code null} not permitted).
+     */
+    public void removeDataset(XYDataset<S> dataset) {
+        Args.nullNotPermitted(dataset, "dataset");
+        if (this.datasets.remove(dataset)) {
+            dataset.removeChangeListener(this);
+            this.offsets = null;
+            fireDatasetChanged();
+        }
+    }
+
+    /**
+     * Returns an unmodifiable list of the source datasets.
+     *
+     * @return The source datasets (never {@code null}).
+     */
+    public List<XYDataset<S>> getDatasets() {
+        return Collections.unmodifiableList(this.datasets);
+    }
+
+    /**
+     * Receives notification of a change to a source dataset and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.
+     *
+     * @param event  the event.
+     */
+    @Override
+    public void datasetChanged(DatasetChangeEvent event) {
+        this.offsets = null;
+        fireDatasetChanged();
+    }
+
+    /**
+     * Returns the series offsets, calculating them if necessary.
+     *
+     * @return The offsets.
+     */
+    private int[] offsets() {
+        if (this.offsets == null) {
+            int[] result = new int[this.datasets.size() + 1];
+            for (int i = 0; i < this.datasets.size(); i++) {
+                result[i + 1] = result[i]
+                        + this.datasets.get(i).getSeriesCount();
+            }
+            this.offsets = result;
+        }
+        return this.offsets;
+    }
+
+    /**
+     * Returns the index of the source dataset that holds a series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The source dataset index.
+     */
+    private int datasetIndex(int series) {
+        int[] o = offsets();
+        if (series < 0 || series >= o[o.length - 1]) {
+            throw new IndexOutOfBoundsException("Invalid series: " + series);
+        }
+        int i = Arrays.binarySearch(o, series);
+        if (i < 0) {
+            return -i - 2;
+        }
+        // skip over any source datasets that have no series
+        while (o[i + 1] == series) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the number of series in the dataset (the total for all the
+     * source datasets).
+     *
+     * @return The series count.
+     */
+    @Override
+    public int getSeriesCount() {
+        int[] o = offsets();
+        return o[o.length - 1];
+    }
+
+    /**
+     * Returns the key for a series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The key.
+     */
+    @Override
+    public S getSeriesKey(int series) {
+        int d = datasetIndex(series);
+        return this.datasets.get(d).getSeriesKey(series - this.offsets[d]);
+    }
+
+    /**
+     * Returns {@link DomainOrder#ASCENDING} if all the source datasets
+     * are in ascending order, and {@link DomainOrder#NONE} otherwise.
+     *
+     * @return The domain order.
+     */
+    @Override
+    public DomainOrder getDomainOrder() {
+        if (this.datasets.isEmpty()) {
+            return DomainOrder.NONE;
+        }
+        for (XYDataset<S> dataset : this.datasets) {
+            if (dataset.getDomainOrder() != DomainOrder.ASCENDING) {
+                return DomainOrder.NONE;
+            }
+        }
+        return DomainOrder.ASCENDING;
+    }
+
+    /**
+     * Returns the number of items in a series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The item count.
+     */
+    @Override
+    public int getItemCount(int series) {
+        int d = datasetIndex(series);
+        return this.datasets.get(d).getItemCount(series - this.offsets[d]);
+    }
+
+    /**
+     * Returns the x-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public Number getX(int series, int item) {
+        int d = datasetIndex(series);
+        return this.datasets.get(d).getX(series - this.offsets[d], item);
+    }
+
+    /**
+     * Returns the x-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public double getXValue(int series, int item) {
+        int d = datasetIndex(series);
+        return this.datasets.get(d).getXValue(series - this.offsets[d], item);
+    }
+
+    /**
+     * Returns the y-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value (possibly {@code null}).
+     */
+    @Override
+    public Number getY(int series, int item) {
+        int d = datasetIndex(series);
+        return this.datasets.get(d).getY(series - this.offsets[d], item);
+    }
+
+    /**
+     * Returns the y-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value (possibly {@code Double.NaN}).
+     */
+    @Override
+    public double getYValue(int series, int item) {
+        int d = datasetIndex(series);
+        return this.datasets.get(d).getYValue(series - this.offsets[d], item);
+    }
+
+    /**
+     * Tests this dataset for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof CombinedXYDataset)) {
+            return false;
+        }
+        CombinedXYDataset<?> that = (CombinedXYDataset<?>) obj;
+        return this.datasets.equals(that.datasets);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(this.datasets);
+    }
+
+    /**
+     * Returns a clone of this dataset.  The clone shares the source
+     * datasets and is registered to receive change events from them.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        CombinedXYDataset<S> clone = (CombinedXYDataset<S>) super.clone();
+        clone.datasets = new ArrayList<>(this.datasets);
+        clone.offsets = null;
+        for (XYDataset<S> dataset : clone.datasets) {
+            dataset.addChangeListener(clone);
+        }
+        return clone;
+    }
+
+}
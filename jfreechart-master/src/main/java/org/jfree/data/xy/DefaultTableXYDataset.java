@@ -54,7 +54,9 @@ import java.util.Objects;
 
 /**
  * An {@link XYDataset} where every series shares the same x-values (required
- * for generating stacked area charts).
+ * for generating stacked area charts).  Adding x-values is slow when there
+ * are many series or many items; for large tables use
+ * {@link ColumnarTableXYDataset}, which holds the values in primitive arrays.
  * 
  * @param <S> The type for the series keys.
  */
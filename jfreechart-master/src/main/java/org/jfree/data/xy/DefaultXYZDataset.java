@@ -52,7 +52,8 @@ import org.jfree.data.general.DatasetChangeEvent;
  * @since 1.0.2
  */
 public class DefaultXYZDataset<S extends Comparable<S>> extends AbstractXYZDataset<S>
-        implements XYZDataset<S>, PublicCloneable {
+        implements XYZDataset<S>, ArrayXYDataset<S>,
+        PublicCloneable {
 
     /**
      * Storage for the series keys.  This list must be kept in sync with the
@@ -214,6 +215,34 @@ public class DefaultXYZDataset<S extends Comparable<S>> extends AbstractXYZDatas
         return seriesData[1][item];
     }
 
+    /**
+     * Returns the array holding the x-values for a series.  This is the
+     * dataset's own storage, so it must not be modified.
+     *
+     * @param series  the series index (in the range {@code 0} to
+     *     {@code getSeriesCount() - 1}).
+     *
+     * @return The x-values.
+     */
+    @Override
+    public double[] getXValues(int series) {
+        return this.seriesList.get(series)[0];
+    }
+
+    /**
+     * Returns the array holding the y-values for a series.  This is the
+     * dataset's own storage, so it must not be modified.
+     *
+     * @param series  the series index (in the range {@code 0} to
+     *     {@code getSeriesCount() - 1}).
+     *
+     * @return The y-values.
+     */
+    @Override
+    public double[] getYValues(int series) {
+        return this.seriesList.get(series)[1];
+    }
+
     /**
      * Returns the y-value for an item within a series.
      *
@@ -0,0 +1,1442 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------------
+ * LevelOfDetailXYDataset.java
+ * ---------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.xy;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import org.jfree.chart.internal.Args;
+import org.jfree.data.DomainInfo;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.Range;
+import org.jfree.data.RangeInfo;
+import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.general.DatasetChangeListener;
+import org.jfree.data.general.DatasetView;
+
+/**
+ * An {@link IntervalXYDataset} that presents a source dataset at a level of
+ * detail to suit the current zoom level of a chart.  For each series, a
+ * pyramid of aggregated levels is built once from the source data: level 0
+ * is the source data itself and each item at level {@code k} summarises
+ * {@code factor} items from level {@code k - 1}, so that an item at level
+ * {@code k} covers {@code factor^k} source items.  When the source series
+ * are appended to, only the new items (and the last item at each level)
+ * are processed.
+ * <p>
+ * The dataset itself presents the source data (level 0).  When an
+ * {@code XYPlot} draws the dataset, it calls
+ * {@link #getLevelView(Range, double)} with the visible x-range and the
+ * width of the data area in pixels, and draws the returned view, which
+ * presents, for each series, the most detailed level with no more than
+ * {@link #getItemsPerPixel()} visible items per pixel.  The levels are
+ * fixed when the view is created, so plots that share the dataset (or draw
+ * it on several threads) do not interfere with each other.  Together with
+ * the renderers' binary search for the visible items, this keeps the cost
+ * of drawing (and so of zooming and panning) roughly constant, however many
+ * source items fall within the visible range.
+ * <p>
+ * At levels above 0, the x-value for an item is the midpoint of the
+ * x-values it covers (the start and end x-values give the full extent),
+ * the y-value is the mean of the (non-{@code NaN}) y-values and the start
+ * and end y-values are the minimum and maximum.  Use a renderer that draws
+ * the y-intervals (for example a {@code DeviationRenderer}) to show the
+ * minimum and maximum values.  The domain and range bounds reported by the
+ * dataset are those of the source data, so the axis ranges do not change
+ * as the level changes.
+ * <p>
+ * The source series must be in ascending order of x-value.  Appends are
+ * recognised by comparing the last item processed with the source item at
+ * the same index, and any other change causes the series to be rebuilt.  A
+ * change to an earlier item that leaves the item count and the last item
+ * unchanged cannot be detected this way; call {@link #recalculate()} after
+ * such a change.
+ *
+ * @param <S>  the type for the series keys.
+ */
+public class LevelOfDetailXYDataset<S extends Comparable<S>>
+        extends AbstractIntervalXYDataset<S>
+        implements DatasetChangeListener, DomainInfo, RangeInfo,
+        XYDomainInfo<S>, XYRangeInfo {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 8203342279157631529L;
+
+    /** The source dataset. */
+    private XYDataset<S> source;
+
+    /** The number of items from one level that make up an item above. */
+    private int factor;
+
+    /** The maximum number of visible items per pixel. */
+    private double itemsPerPixel;
+
+    /** The pyramid for each series. */
+    private transient List<Pyramid> pyramids;
+
+    /**
+     * Creates a new dataset with an aggregation factor of 4.
+     *
+     * @param source  the source dataset ({@code null} not permitted).
+     */
+    public LevelOfDetailXYDataset(XYDataset<S> source) {
+        this(source, 4);
+    }
+
+    /**
+     * Creates a new dataset.
+     *
+     * @param source  the source dataset ({@code null} not permitted).
+     * @param factor  the number of items from one level that are combined
+     *     into each item at the level above (at least 2).
+     */
+    public LevelOfDetailXYDataset(XYDataset<S> source, int factor) {
+        Args.nullNotPermitted(source, "source");
+        if (factor < 2) {
+            throw new IllegalArgumentException("Require 'factor' >= 2.");
+        }
+        this.source = source;
+        this.factor = factor;
+        this.itemsPerPixel = 1.0;
+        this.pyramids = new ArrayList<>();
+        recalculate();
+        this.source.addChangeListener(this);
+    }
+
+    /**
+     * Returns the source dataset.
+     *
+     * @return The source dataset (never {@code null}).
+     */
+    public XYDataset<S> getSource() {
+        return this.source;
+    }
+
+    /**
+     * Returns the number of items from one level that are combined into
+     * each item at the level above.
+     *
+     * @return The factor.
+     */
+    public int getFactor() {
+        return this.factor;
+    }
+
+    /**
+     * Returns the maximum number of visible items per pixel that is used to
+     * select the level for each series.  The default value is 1.0.
+     *
+     * @return The number of items per pixel.
+     */
+    public double getItemsPerPixel() {
+        return this.itemsPerPixel;
+    }
+
+    /**
+     * Sets the maximum number of visible items per pixel that is used to
+     * select the level for each series, and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.
+     *
+     * @param itemsPerPixel  the number of items per pixel (must be
+     *     positive).
+     */
+    public void setItemsPerPixel(double itemsPerPixel) {
+        if (!(itemsPerPixel > 0.0) || Double.isInfinite(itemsPerPixel)) {
+            throw new IllegalArgumentException(
+                    "Require 'itemsPerPixel' to be finite and positive.");
+        }
+        this.itemsPerPixel = itemsPerPixel;
+        fireDatasetChanged();
+    }
+
+    /**
+     * Returns the number of levels for a series (level 0 is the source
+     * data).
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The level count (at least 1).
+     */
+    public int getLevelCount(int series) {
+        return this.pyramids.get(series).levels.size() + 1;
+    }
+
+    /**
+     * Returns the most detailed level for a series that has no more than
+     * {@code getItemsPerPixel() * pixels} items within the specified
+     * x-range.
+     *
+     * @param series  the series index (zero-based).
+     * @param xRange  the visible x-range ({@code null} not permitted).
+     * @param pixels  the length of the x-axis in pixels.
+     *
+     * @return The level (0 for the source data).
+     */
+    public int selectLevel(int series, Range xRange, double pixels) {
+        Args.nullNotPermitted(xRange, "xRange");
+        double limit = Math.max(this.itemsPerPixel * pixels, 1.0);
+        Pyramid p = this.pyramids.get(series);
+        int first = firstItemAtOrAbove(series, xRange.getLowerBound());
+        int last = firstItemAtOrAbove(series, Math.nextUp(
+                xRange.getUpperBound())) - 1;
+        double visible = Math.max(last - first + 1, 0);
+        int level = 0;
+        while (visible > limit && level < p.levels.size()) {
+            visible = visible / this.factor;
+            level++;
+        }
+        return level;
+    }
+
+    /**
+     * Returns a view of this dataset that presents, for each series, the
+     * level selected by {@link #selectLevel(int, Range, double)}.  This
+     * dataset is not changed, so the view can be drawn while other views
+     * of the same dataset are drawn.
+     *
+     * @param xRange  the visible x-range ({@code null} not permitted).
+     * @param pixels  the length of the x-axis in pixels.
+     *
+     * @return The view (never {@code null}).
+     */
+    public IntervalXYDataset<S> getLevelView(Range xRange, double pixels) {
+        Args.nullNotPermitted(xRange, "xRange");
+        int[] levels = new int[this.pyramids.size()];
+        for (int s = 0; s < levels.length; s++) {
+            levels[s] = selectLevel(s, xRange, pixels);
+        }
+        return new LevelView(levels);
+    }
+
+    /**
+     * Returns a view of this dataset that presents the specified level for
+     * each series.
+     *
+     * @param levels  the level for each series ({@code null} not
+     *     permitted), each in the range 0 to
+     *     {@code getLevelCount(series) - 1}.
+     *
+     * @return The view (never {@code null}).
+     */
+    public IntervalXYDataset<S> getLevelView(int... levels) {
+        Args.nullNotPermitted(levels, "levels");
+        if (levels.length != this.pyramids.size()) {
+            throw new IllegalArgumentException(
+                    "Require one level for each series.");
+        }
+        for (int s = 0; s < levels.length; s++) {
+            Args.requireInRange(levels[s], "level", 0,
+                    getLevelCount(s) - 1);
+        }
+        return new LevelView(levels.clone());
+    }
+
+    /**
+     * Returns the index of the first source item in a series with an
+     * x-value greater than or equal to {@code x}.
+     *
+     * @param series  the series index.
+     * @param x  the x-value.
+     *
+     * @return The item index (the item count if there is no such item).
+     */
+    private int firstItemAtOrAbove(int series, double x) {
+        int low = 0;
+        int high = this.pyramids.get(series).count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (this.source.getXValue(series, mid) < x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Rebuilds the pyramids for all series from the source dataset and sends
+     * a {@link DatasetChangeEvent} to all registered listeners.
+     */
+    public void recalculate() {
+        this.pyramids.clear();
+        for (int s = 0; s < this.source.getSeriesCount(); s++) {
+            Pyramid p = new Pyramid();
+            p.update(this.source, s, this.factor);
+            this.pyramids.add(p);
+        }
+        fireDatasetChanged();
+    }
+
+    /**
+     * Receives notification of a change to the source dataset, updates the
+     * pyramids (processing only the new items where the change is an
+     * append) and sends a {@link DatasetChangeEvent} to all registered
+     * listeners.
+     *
+     * @param event  the event.
+     */
+    @Override
+    public void datasetChanged(DatasetChangeEvent event) {
+        if (this.source.getSeriesCount() != this.pyramids.size()) {
+            recalculate();
+            return;
+        }
+        for (int s = 0; s < this.pyramids.size(); s++) {
+            this.pyramids.get(s).update(this.source, s, this.factor);
+        }
+        fireDatasetChanged();
+    }
+
+    /**
+     * Returns the number of series in the dataset.
+     *
+     * @return The series count.
+     */
+    @Override
+    public int getSeriesCount() {
+        return this.pyramids.size();
+    }
+
+    /**
+     * Returns the key for a series (the same as the key for the
+     * corresponding series in the source dataset).
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The key.
+     */
+    @Override
+    public S getSeriesKey(int series) {
+        return this.source.getSeriesKey(series);
+    }
+
+    /**
+     * Returns {@link DomainOrder#ASCENDING}, since the source series are
+     * required to be in ascending order of x-value.
+     *
+     * @return The domain order.
+     */
+    @Override
+    public DomainOrder getDomainOrder() {
+        return DomainOrder.ASCENDING;
+    }
+
+    /**
+     * Returns the number of items in a series of the source data.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The item count.
+     */
+    @Override
+    public int getItemCount(int series) {
+        return itemCount(series, 0);
+    }
+
+    /**
+     * Returns the number of items in a series at the specified level.  If
+     * the series has fewer levels (because the source has changed), the
+     * top level is used.
+     *
+     * @param series  the series index.
+     * @param level  the level.
+     *
+     * @return The item count.
+     */
+    private int itemCount(int series, int level) {
+        Pyramid p = this.pyramids.get(series);
+        int k = Math.min(level, p.levels.size());
+        return k == 0 ? p.count : p.levels.get(k - 1).size;
+    }
+
+    /**
+     * Returns the specified level for a series, or {@code null} for the
+     * source data, after checking the item index.
+     *
+     * @param series  the series index.
+     * @param level  the level.
+     * @param item  the item index.
+     *
+     * @return The level (possibly {@code null}).
+     */
+    private Level level(int series, int level, int item) {
+        Pyramid p = this.pyramids.get(series);
+        int k = Math.min(level, p.levels.size());
+        int size = k == 0 ? p.count : p.levels.get(k - 1).size;
+        if (item < 0 || item >= size) {
+            throw new IndexOutOfBoundsException("Invalid item: " + item);
+        }
+        return k == 0 ? null : p.levels.get(k - 1);
+    }
+
+    /**
+     * Returns the x-value for an item at the specified level.
+     *
+     * @param series  the series index.
+     * @param level  the level.
+     * @param item  the item index.
+     *
+     * @return The x-value.
+     */
+    private double xValue(int series, int level, int item) {
+        Level lv = level(series, level, item);
+        if (lv == null) {
+            return this.source.getXValue(series, item);
+        }
+        return (lv.startX[item] + lv.endX[item]) / 2.0;
+    }
+
+    /**
+     * Returns the first x-value covered by an item at the specified level.
+     *
+     * @param series  the series index.
+     * @param level  the level.
+     * @param item  the item index.
+     *
+     * @return The start x-value.
+     */
+    private double startXValue(int series, int level, int item) {
+        Level lv = level(series, level, item);
+        if (lv == null) {
+            return this.source.getXValue(series, item);
+        }
+        return lv.startX[item];
+    }
+
+    /**
+     * Returns the last x-value covered by an item at the specified level.
+     *
+     * @param series  the series index.
+     * @param level  the level.
+     * @param item  the item index.
+     *
+     * @return The end x-value.
+     */
+    private double endXValue(int series, int level, int item) {
+        Level lv = level(series, level, item);
+        if (lv == null) {
+            return this.source.getXValue(series, item);
+        }
+        return lv.endX[item];
+    }
+
+    /**
+     * Returns the (mean) y-value for an item at the specified level.
+     *
+     * @param series  the series index.
+     * @param level  the level.
+     * @param item  the item index.
+     *
+     * @return The y-value (possibly {@code Double.NaN}).
+     */
+    private double yValue(int series, int level, int item) {
+        Level lv = level(series, level, item);
+        if (lv == null) {
+            return this.source.getYValue(series, item);
+        }
+        int n = lv.count[item];
+        return n == 0 ? Double.NaN : lv.sumY[item] / n;
+    }
+
+    /**
+     * Returns the minimum y-value for an item at the specified level.
+     *
+     * @param series  the series index.
+     * @param level  the level.
+     * @param item  the item index.
+     *
+     * @return The start y-value (possibly {@code Double.NaN}).
+     */
+    private double startYValue(int series, int level, int item) {
+        Level lv = level(series, level, item);
+        if (lv == null) {
+            return this.source.getYValue(series, item);
+        }
+        return lv.count[item] == 0 ? Double.NaN : lv.minY[item];
+    }
+
+    /**
+     * Returns the maximum y-value for an item at the specified level.
+     *
+     * @param series  the series index.
+     * @param level  the level.
+     * @param item  the item index.
+     *
+     * @return The end y-value (possibly {@code Double.NaN}).
+     */
+    private double endYValue(int series, int level, int item) {
+        Level lv = level(series, level, item);
+        if (lv == null) {
+            return this.source.getYValue(series, item);
+        }
+        return lv.count[item] == 0 ? Double.NaN : lv.maxY[item];
+    }
+
+    /**
+     * Returns the x-value for an item in the source data.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public Number getX(int series, int item) {
+        return getXValue(series, item);
+    }
+
+    /**
+     * Returns the x-value for an item in the source data.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public double getXValue(int series, int item) {
+        return xValue(series, 0, item);
+    }
+
+    /**
+     * Returns the start x-value (the x-value) for an item in the source data.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The start x-value.
+     */
+    @Override
+    public Number getStartX(int series, int item) {
+        return getStartXValue(series, item);
+    }
+
+    /**
+     * Returns the start x-value (the x-value) for an item in the source data.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The start x-value.
+     */
+    @Override
+    public double getStartXValue(int series, int item) {
+        return startXValue(series, 0, item);
+    }
+
+    /**
+     * Returns the end x-value (the x-value) for an item in the source data.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The end x-value.
+     */
+    @Override
+    public Number getEndX(int series, int item) {
+        return getEndXValue(series, item);
+    }
+
+    /**
+     * Returns the end x-value (the x-value) for an item in the source data.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The end x-value.
+     */
+    @Override
+    public double getEndXValue(int series, int item) {
+        return endXValue(series, 0, item);
+    }
+
+    /**
+     * Returns the y-value for an item in the source data.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value (possibly {@code null}).
+     */
+    @Override
+    public Number getY(int series, int item) {
+        double y = getYValue(series, item);
+        return Double.isNaN(y) ? null : y;
+    }
+
+    /**
+     * Returns the y-value for an item in the source data.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value (possibly {@code Double.NaN}).
+     */
+    @Override
+    public double getYValue(int series, int item) {
+        return yValue(series, 0, item);
+    }
+
+    /**
+     * Returns the start y-value (the y-value) for an item in the source data.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The start y-value (possibly {@code null}).
+     */
+    @Override
+    public Number getStartY(int series, int item) {
+        double y = getStartYValue(series, item);
+        return Double.isNaN(y) ? null : y;
+    }
+
+    /**
+     * Returns the start y-value (the y-value) for an item in the source data.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The start y-value (possibly {@code Double.NaN}).
+     */
+    @Override
+    public double getStartYValue(int series, int item) {
+        return startYValue(series, 0, item);
+    }
+
+    /**
+     * Returns the end y-value (the y-value) for an item in the source data.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The end y-value (possibly {@code null}).
+     */
+    @Override
+    public Number getEndY(int series, int item) {
+        double y = getEndYValue(series, item);
+        return Double.isNaN(y) ? null : y;
+    }
+
+    /**
+     * Returns the end y-value (the y-value) for an item in the source data.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The end y-value (possibly {@code Double.NaN}).
+     */
+    @Override
+    public double getEndYValue(int series, int item) {
+        return endYValue(series, 0, item);
+    }
+
+    /**
+     * Returns the minimum x-value in the source data.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The minimum value ({@code Double.NaN} if there is no data).
+     */
+    @Override
+    public double getDomainLowerBound(boolean includeInterval) {
+        Range r = getDomainBounds(includeInterval);
+        return r == null ? Double.NaN : r.getLowerBound();
+    }
+
+    /**
+     * Returns the maximum x-value in the source data.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The maximum value ({@code Double.NaN} if there is no data).
+     */
+    @Override
+    public double getDomainUpperBound(boolean includeInterval) {
+        Range r = getDomainBounds(includeInterval);
+        return r == null ? Double.NaN : r.getUpperBound();
+    }
+
+    /**
+     * Returns the range of x-values in the source data.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The range ({@code null} if there is no data).
+     */
+    @Override
+    public Range getDomainBounds(boolean includeInterval) {
+        return getDomainBounds(allSeriesKeys(), includeInterval);
+    }
+
+    /**
+     * Returns the range of x-values in the source data for the specified
+     * series.  The first and last items in each series are used, since the
+     * series are in ascending order of x-value.
+     *
+     * @param visibleSeriesKeys  the keys of the visible series
+     *     ({@code null} not permitted).
+     * @param includeInterval  ignored.
+     *
+     * @return The range ({@code null} if there is no data).
+     */
+    @Override
+    public Range getDomainBounds(List<S> visibleSeriesKeys,
+            boolean includeInterval) {
+        Args.nullNotPermitted(visibleSeriesKeys, "visibleSeriesKeys");
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (S key : visibleSeriesKeys) {
+            int s = indexOf(key);
+            if (s < 0 || this.pyramids.get(s).count == 0) {
+                continue;
+            }
+            min = Math.min(min, this.source.getXValue(s, 0));
+            max = Math.max(max, this.source.getXValue(s,
+                    this.pyramids.get(s).count - 1));
+        }
+        return min <= max ? new Range(min, max) : null;
+    }
+
+    /**
+     * Returns the minimum y-value in the source data.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The minimum value ({@code Double.NaN} if there is no data).
+     */
+    @Override
+    public double getRangeLowerBound(boolean includeInterval) {
+        Range r = getRangeBounds(includeInterval);
+        return r == null ? Double.NaN : r.getLowerBound();
+    }
+
+    /**
+     * Returns the maximum y-value in the source data.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The maximum value ({@code Double.NaN} if there is no data).
+     */
+    @Override
+    public double getRangeUpperBound(boolean includeInterval) {
+        Range r = getRangeBounds(includeInterval);
+        return r == null ? Double.NaN : r.getUpperBound();
+    }
+
+    /**
+     * Returns the range of y-values in the source data.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The range ({@code null} if there is no data).
+     */
+    @Override
+    public Range getRangeBounds(boolean includeInterval) {
+        return getRangeBounds(allSeriesKeys(), null, includeInterval);
+    }
+
+    /**
+     * Returns the range of y-values in the source data for the items in the
+     * specified series that have an x-value in the specified range.  The
+     * pyramids are used, so the cost grows with the logarithm of the number
+     * of items rather than the number of items.
+     *
+     * @param visibleSeriesKeys  the keys of the visible series
+     *     ({@code null} not permitted).
+     * @param xRange  the x-range ({@code null} for all items).
+     * @param includeInterval  ignored.
+     *
+     * @return The range ({@code null} if there is no data).
+     */
+    @Override
+    public Range getRangeBounds(List visibleSeriesKeys, Range xRange,
+            boolean includeInterval) {
+        Args.nullNotPermitted(visibleSeriesKeys, "visibleSeriesKeys");
+        double[] bounds = {Double.POSITIVE_INFINITY,
+            Double.NEGATIVE_INFINITY};
+        for (Object key : visibleSeriesKeys) {
+            @SuppressWarnings("unchecked")
+            int s = indexOf((S) key);
+            if (s < 0) {
+                continue;
+            }
+            int first = 0;
+            int last = this.pyramids.get(s).count - 1;
+            if (xRange != null) {
+                first = firstItemAtOrAbove(s, xRange.getLowerBound());
+                last = firstItemAtOrAbove(s,
+                        Math.nextUp(xRange.getUpperBound())) - 1;
+            }
+            if (first <= last) {
+                accumulateYBounds(s, 0, first, last, bounds);
+            }
+        }
+        return bounds[0] <= bounds[1] ? new Range(bounds[0], bounds[1])
+                : null;
+    }
+
+    /**
+     * Updates {@code bounds} with the minimum and maximum y-values of the
+     * items (at the specified level) in the range {@code first} to
+     * {@code last}, using the level above for the items that it covers
+     * completely.
+     *
+     * @param series  the series index.
+     * @param level  the level.
+     * @param first  the index of the first item.
+     * @param last  the index of the last item.
+     * @param bounds  the bounds (minimum and maximum) to update.
+     */
+    private void accumulateYBounds(int series, int level, int first,
+            int last, double[] bounds) {
+        Pyramid p = this.pyramids.get(series);
+        int firstFull = (first + this.factor - 1) / this.factor;
+        int lastFull = (last + 1) / this.factor - 1;
+        if (level == p.levels.size() || firstFull > lastFull) {
+            includeYBounds(series, level, first, last, bounds);
+            return;
+        }
+        includeYBounds(series, level, first, firstFull * this.factor - 1,
+                bounds);
+        includeYBounds(series, level, (lastFull + 1) * this.factor, last,
+                bounds);
+        accumulateYBounds(series, level + 1, firstFull, lastFull, bounds);
+    }
+
+    /**
+     * Updates {@code bounds} with the minimum and maximum y-values of the
+     * items (at the specified level) in the range {@code first} to
+     * {@code last}, by iterating over the items.
+     *
+     * @param series  the series index.
+     * @param level  the level.
+     * @param first  the index of the first item.
+     * @param last  the index of the last item.
+     * @param bounds  the bounds (minimum and maximum) to update.
+     */
+    private void includeYBounds(int series, int level, int first, int last,
+            double[] bounds) {
+        for (int i = first; i <= last; i++) {
+            if (level == 0) {
+                double y = this.source.getYValue(series, i);
+                if (!Double.isNaN(y)) {
+                    bounds[0] = Math.min(bounds[0], y);
+                    bounds[1] = Math.max(bounds[1], y);
+                }
+            } else {
+                Level lv = this.pyramids.get(series).levels.get(level - 1);
+                bounds[0] = Math.min(bounds[0], lv.minY[i]);
+                bounds[1] = Math.max(bounds[1], lv.maxY[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the keys for all the series in the dataset.
+     *
+     * @return The keys.
+     */
+    private List<S> allSeriesKeys() {
+        List<S> result = new ArrayList<>();
+        for (int s = 0; s < getSeriesCount(); s++) {
+            result.add(getSeriesKey(s));
+        }
+        return result;
+    }
+
+    /**
+     * Tests this dataset for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof LevelOfDetailXYDataset)) {
+            return false;
+        }
+        LevelOfDetailXYDataset<?> that = (LevelOfDetailXYDataset<?>) obj;
+        if (!Objects.equals(this.source, that.source)) {
+            return false;
+        }
+        if (this.factor != that.factor) {
+            return false;
+        }
+        if (Double.doubleToLongBits(this.itemsPerPixel)
+                != Double.doubleToLongBits(that.itemsPerPixel)) {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 41 * hash + Objects.hashCode(this.source);
+        hash = 41 * hash + this.factor;
+        hash = 41 * hash + Double.hashCode(this.itemsPerPixel);
+        return hash;
+    }
+
+    /**
+     * Returns a clone of this dataset.  The clone shares the source dataset
+     * and is registered to receive change events from it.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        LevelOfDetailXYDataset<S> clone
+                = (LevelOfDetailXYDataset<S>) super.clone();
+        clone.pyramids = new ArrayList<>(this.pyramids.size());
+        for (Pyramid p : this.pyramids) {
+            clone.pyramids.add(p.copy());
+        }
+        clone.source.addChangeListener(clone);
+        return clone;
+    }
+
+    /**
+     * Provides serialization support.  The pyramids are rebuilt from the
+     * source dataset.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     * @throws ClassNotFoundException  if there is a classpath problem.
+     */
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        this.pyramids = new ArrayList<>();
+        recalculate();
+        this.source.addChangeListener(this);
+    }
+
+    /**
+     * A view of the dataset that presents a fixed level for each series.
+     * The view is live: it reads the dataset's levels on each call.  It is a
+     * {@link DatasetView} so that a plot drawing the view finds the index of
+     * the dataset itself.
+     */
+    private class LevelView extends AbstractIntervalXYDataset<S>
+            implements DatasetView {
+
+        /** The level for each series. */
+        private final int[] levels;
+
+        /**
+         * Creates a new view.
+         *
+         * @param levels  the level for each series.
+         */
+        LevelView(int[] levels) {
+            this.levels = levels;
+        }
+
+        /**
+         * Returns the level presented for a series.
+         *
+         * @param series  the series index.
+         *
+         * @return The level.
+         */
+        private int levelFor(int series) {
+            return series < this.levels.length ? this.levels[series] : 0;
+        }
+
+        /**
+         * Returns the dataset that this view presents.
+         *
+         * @return The dataset (never {@code null}).
+         */
+        @Override
+        public LevelOfDetailXYDataset<S> getSource() {
+            return LevelOfDetailXYDataset.this;
+        }
+
+        /**
+         * Returns the number of series in the dataset.
+         *
+         * @return The series count.
+         */
+        @Override
+        public int getSeriesCount() {
+            return LevelOfDetailXYDataset.this.getSeriesCount();
+        }
+
+        /**
+         * Returns the key for a series.
+         *
+         * @param series  the series index.
+         *
+         * @return The series key.
+         */
+        @Override
+        public S getSeriesKey(int series) {
+            return LevelOfDetailXYDataset.this.getSeriesKey(series);
+        }
+
+        /**
+         * Returns the order of the x-values, which is always ascending.
+         *
+         * @return {@link DomainOrder#ASCENDING}.
+         */
+        @Override
+        public DomainOrder getDomainOrder() {
+            return DomainOrder.ASCENDING;
+        }
+
+        /**
+         * Returns the number of items in a series at the series' level.
+         *
+         * @param series  the series index.
+         *
+         * @return The item count.
+         */
+        @Override
+        public int getItemCount(int series) {
+            return itemCount(series, levelFor(series));
+        }
+
+        /**
+         * Returns the x-value for an item.
+         *
+         * @param series  the series index.
+         * @param item  the item index.
+         *
+         * @return The x-value.
+         */
+        @Override
+        public Number getX(int series, int item) {
+            return getXValue(series, item);
+        }
+
+        /**
+         * Returns the x-value for an item as a double primitive.
+         *
+         * @param series  the series index.
+         * @param item  the item index.
+         *
+         * @return The x-value.
+         */
+        @Override
+        public double getXValue(int series, int item) {
+            return xValue(series, levelFor(series), item);
+        }
+
+        /**
+         * Returns the start x-value for an item.
+         *
+         * @param series  the series index.
+         * @param item  the item index.
+         *
+         * @return The start x-value.
+         */
+        @Override
+        public Number getStartX(int series, int item) {
+            return getStartXValue(series, item);
+        }
+
+        /**
+         * Returns the start x-value for an item as a double primitive.
+         *
+         * @param series  the series index.
+         * @param item  the item index.
+         *
+         * @return The start x-value.
+         */
+        @Override
+        public double getStartXValue(int series, int item) {
+            return startXValue(series, levelFor(series), item);
+        }
+
+        /**
+         * Returns the end x-value for an item.
+         *
+         * @param series  the series index.
+         * @param item  the item index.
+         *
+         * @return The end x-value.
+         */
+        @Override
+        public Number getEndX(int series, int item) {
+            return getEndXValue(series, item);
+        }
+
+        /**
+         * Returns the end x-value for an item as a double primitive.
+         *
+         * @param series  the series index.
+         * @param item  the item index.
+         *
+         * @return The end x-value.
+         */
+        @Override
+        public double getEndXValue(int series, int item) {
+            return endXValue(series, levelFor(series), item);
+        }
+
+        /**
+         * Returns the y-value for an item.
+         *
+         * @param series  the series index.
+         * @param item  the item index.
+         *
+         * @return The y-value (possibly {@code null}).
+         */
+        @Override
+        public Number getY(int series, int item) {
+            double y = getYValue(series, item);
+            return Double.isNaN(y) ? null : y;
+        }
+
+        /**
+         * Returns the y-value for an item as a double primitive.
+         *
+         * @param series  the series index.
+         * @param item  the item index.
+         *
+         * @return The y-value (possibly {@code Double.NaN}).
+         */
+        @Override
+        public double getYValue(int series, int item) {
+            return yValue(series, levelFor(series), item);
+        }
+
+        /**
+         * Returns the start y-value for an item.
+         *
+         * @param series  the series index.
+         * @param item  the item index.
+         *
+         * @return The start y-value (possibly {@code null}).
+         */
+        @Override
+        public Number getStartY(int series, int item) {
+            double y = getStartYValue(series, item);
+            return Double.isNaN(y) ? null : y;
+        }
+
+        /**
+         * Returns the start y-value for an item as a double primitive.
+         *
+         * @param series  the series index.
+         * @param item  the item index.
+         *
+         * @return The start y-value (possibly {@code Double.NaN}).
+         */
+        @Override
+        public double getStartYValue(int series, int item) {
+            return startYValue(series, levelFor(series), item);
+        }
+
+        /**
+         * Returns the end y-value for an item.
+         *
+         * @param series  the series index.
+         * @param item  the item index.
+         *
+         * @return The end y-value (possibly {@code null}).
+         */
+        @Override
+        public Number getEndY(int series, int item) {
+            double y = getEndYValue(series, item);
+            return Double.isNaN(y) ? null : y;
+        }
+
+        /**
+         * Returns the end y-value for an item as a double primitive.
+         *
+         * @param series  the series index.
+         * @param item  the item index.
+         *
+         * @return The end y-value (possibly {@code Double.NaN}).
+         */
+        @Override
+        public double getEndYValue(int series, int item) {
+            return endYValue(series, levelFor(series), item);
+        }
+
+    }
+
+    /**
+     * The aggregated items at one level of a pyramid.
+     */
+    private static class Level implements Serializable {
+
+        /** The number of items. */
+        private int size;
+
+        /** The first x-value for each item. */
+        private double[] startX = new double[16];
+
+        /** The last x-value for each item. */
+        private double[] endX = new double[16];
+
+        /** The minimum y-value for each item. */
+        private double[] minY = new double[16];
+
+        /** The maximum y-value for each item. */
+        private double[] maxY = new double[16];
+
+        /** The sum of the (non-{@code NaN}) y-values for each item. */
+        private double[] sumY = new double[16];
+
+        /** The number of (non-{@code NaN}) y-values for each item. */
+        private int[] count = new int[16];
+
+        /**
+         * Sets the number of items, growing the arrays as required.
+         *
+         * @param size  the new size.
+         */
+        void resize(int size) {
+            if (size > this.startX.length) {
+                int capacity = Math.max(size, this.startX.length * 2);
+                this.startX = Arrays.copyOf(this.startX, capacity);
+                this.endX = Arrays.copyOf(this.endX, capacity);
+                this.minY = Arrays.copyOf(this.minY, capacity);
+                this.maxY = Arrays.copyOf(this.maxY, capacity);
+                this.sumY = Arrays.copyOf(this.sumY, capacity);
+                this.count = Arrays.copyOf(this.count, capacity);
+            }
+            this.size = size;
+        }
+
+        /**
+         * Returns an independent copy of this level.
+         *
+         * @return The copy.
+         */
+        Level copy() {
+            Level copy = new Level();
+            copy.size = this.size;
+            copy.startX = this.startX.clone();
+            copy.endX = this.endX.clone();
+            copy.minY = this.minY.clone();
+            copy.maxY = this.maxY.clone();
+            copy.sumY = this.sumY.clone();
+            copy.count = this.count.clone();
+            return copy;
+        }
+
+    }
+
+    /**
+     * The levels for one series, above the source data.
+     */
+    private static class Pyramid implements Serializable {
+
+        /** Levels 1 and above. */
+        private List<Level> levels = new ArrayList<>();
+
+        /** The number of source items processed. */
+        private int count;
+
+        /** The x-value of the last source item processed. */
+        private double lastX;
+
+        /** The y-value of the last source item processed. */
+        private double lastY;
+
+        /**
+         * Brings the pyramid up to date with a source series, processing
+         * only the new items if the series has been appended to.
+         *
+         * @param source  the source dataset.
+         * @param series  the series index.
+         * @param factor  the aggregation factor.
+         */
+        void update(XYDataset<?> source, int series, int factor) {
+            int n = source.getItemCount(series);
+            int from = this.count;
+            if (!isAppend(source, series, n)) {
+                this.levels.clear();
+                from = 0;
+            }
+            this.count = n;
+            if (n > 0) {
+                this.lastX = source.getXValue(series, n - 1);
+                this.lastY = source.getYValue(series, n - 1);
+            }
+            if (from == n && from > 0) {
+                return;
+            }
+            // rebuild the items at each level that cover the new items
+            int below = n;
+            int changed = from;
+            int k = 0;
+            while (below > 1) {
+                Level level;
+                if (k < this.levels.size()) {
+                    level = this.levels.get(k);
+                } else {
+                    level = new Level();
+                    this.levels.add(level);
+                }
+                int size = (below + factor - 1) / factor;
+                int first = changed / factor;
+                level.resize(size);
+                for (int i = first; i < size; i++) {
+                    aggregate(source, series, k, i, below, factor);
+                }
+                below = size;
+                changed = first;
+                k++;
+            }
+            while (this.levels.size() > k) {
+                this.levels.remove(this.levels.size() - 1);
+            }
+        }
+
+        /**
+         * Calculates one item at level {@code k + 1} from the items at the
+         * level below.
+         *
+         * @param source  the source dataset.
+         * @param series  the series index.
+         * @param k  the index of the level in {@code levels}.
+         * @param item  the item index.
+         * @param below  the number of items at the level below.
+         * @param factor  the aggregation factor.
+         */
+        private void aggregate(XYDataset<?> source, int series, int k,
+                int item, int below, int factor) {
+            Level target = this.levels.get(k);
+            int first = item * factor;
+            int last = Math.min(first + factor, below) - 1;
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            double sum = 0.0;
+            int n = 0;
+            if (k == 0) {
+                target.startX[item] = source.getXValue(series, first);
+                target.endX[item] = source.getXValue(series, last);
+                for (int i = first; i <= last; i++) {
+                    double y = source.getYValue(series, i);
+                    if (!Double.isNaN(y)) {
+                        min = Math.min(min, y);
+                        max = Math.max(max, y);
+                        sum += y;
+                        n++;
+                    }
+                }
+            } else {
+                Level lower = this.levels.get(k - 1);
+                target.startX[item] = lower.startX[first];
+                target.endX[item] = lower.endX[last];
+                for (int i = first; i <= last; i++) {
+                    min = Math.min(min, lower.minY[i]);
+                    max = Math.max(max, lower.maxY[i]);
+                    sum += lower.sumY[i];
+                    n += lower.count[i];
+                }
+            }
+            target.minY[item] = min;
+            target.maxY[item] = max;
+            target.sumY[item] = sum;
+            target.count[item] = n;
+        }
+
+        /**
+         * Returns {@code true} if the items already processed appear to be
+         * unchanged in the source series.
+         *
+         * @param source  the source dataset.
+         * @param series  the series index.
+         * @param n  the item count for the source series.
+         *
+         * @return A boolean.
+         */
+        private boolean isAppend(XYDataset<?> source, int series, int n) {
+            if (this.count == 0) {
+                return true;
+            }
+            if (n < this.count) {
+                return false;
+            }
+            int last = this.count - 1;
+            return same(source.getXValue(series, last), this.lastX)
+                    && same(source.getYValue(series, last), this.lastY);
+        }
+
+        /**
+         * Returns {@code true} if two values are equal (treating NaN as
+         * equal to NaN).
+         *
+         * @param a  the first value.
+         * @param b  the second value.
+         *
+         * @return A boolean.
+         */
+        private static boolean same(double a, double b) {
+            return Double.doubleToLongBits(a) == Double.doubleToLongBits(b);
+        }
+
+        /**
+         * Returns an independent copy of this pyramid.
+         *
+         * @return The copy.
+         */
+        Pyramid copy() {
+            Pyramid copy = new Pyramid();
+            for (Level level : this.levels) {
+                copy.levels.add(level.copy());
+            }
+            copy.count = this.count;
+            copy.lastX = this.lastX;
+            copy.lastY = this.lastY;
+            return copy;
+        }
+
+    }
+
+}
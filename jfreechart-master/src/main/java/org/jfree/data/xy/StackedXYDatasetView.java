@@ -0,0 +1,330 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------------
+ * StackedXYDatasetView.java
+ * -------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.xy;
+
+import java.util.Objects;
+
+import org.jfree.chart.internal.Args;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.general.DatasetChangeListener;
+
+/**
+ * A read-only view of a {@link TableXYDataset} that presents the cumulative
+ * (stacked) y-values for each series, optionally normalised so that the
+ * top series has the value 1.0 at every x-value.  The view can be drawn
+ * with any {@link XYDataset} renderer to give a stacked chart, without
+ * copying the source data.  Values are calculated on demand from the
+ * source dataset, and change events from the source are forwarded to the
+ * listeners registered with the view.  Missing ({@code null} or NaN)
+ * y-values in the source are treated as zero.
+ *
+ * @param <S>  the type for the series keys.
+ */
+public class StackedXYDatasetView<S extends Comparable<S>>
+        extends AbstractXYDataset<S>
+        implements TableXYDataset<S>, DatasetChangeListener {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -6409518213342437870L;
+
+    /** The source dataset. */
+    private TableXYDataset<S> source;
+
+    /** A flag that controls whether the stacked values are normalised. */
+    private boolean normalised;
+
+    /**
+     * Creates a new view that stacks the series in the source dataset.
+     *
+     * @param source  the source dataset ({@code null} not permitted).
+     */
+    public StackedXYDatasetView(TableXYDataset<S> source) {
+        this(source, false);
+    }
+
+    /**
+     * Creates a new view that stacks the series in the source dataset.
+     *
+     * @param source  the source dataset ({@code null} not permitted).
+     * @param normalised  normalise the stacked values to the range 0.0 to
+     *     1.0?
+     */
+    public StackedXYDatasetView(TableXYDataset<S> source, boolean normalised) {
+        Args.nullNotPermitted(source, "source");
+        this.source = source;
+        this.normalised = normalised;
+        this.source.addChangeListener(this);
+    }
+
+    /**
+     * Returns the source dataset.
+     *
+     * @return The source dataset (never {@code null}).
+     */
+    public TableXYDataset<S> getSource() {
+        return this.source;
+    }
+
+    /**
+     * Returns the flag that controls whether the stacked values are
+     * normalised (divided by the total of all the series at the same
+     * x-value).
+     *
+     * @return A boolean.
+     *
+     * @see #setNormalised(boolean)
+     */
+    public boolean isNormalised() {
+        return this.normalised;
+    }
+
+    /**
+     * Sets the flag that controls whether the stacked values are normalised
+     * and sends a {@link DatasetChangeEvent} to all registered listeners.
+     *
+     * @param normalised  the new flag value.
+     *
+     * @see #isNormalised()
+     */
+    public void setNormalised(boolean normalised) {
+        this.normalised = normalised;
+        fireDatasetChanged();
+    }
+
+    /**
+     * Receives notification of a change to the source dataset and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.
+     *
+     * @param event  the event.
+     */
+    @Override
+    public void datasetChanged(DatasetChangeEvent event) {
+        fireDatasetChanged();
+    }
+
+    /**
+     * Returns the number of series in the view (the same as the source
+     * dataset).
+     *
+     * @return The series count.
+     */
+    @Override
+    public int getSeriesCount() {
+        return this.source.getSeriesCount();
+    }
+
+    /**
+     * Returns the key for a series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The key.
+     */
+    @Override
+    public S getSeriesKey(int series) {
+        return this.source.getSeriesKey(series);
+    }
+
+    /**
+     * Returns the order of the domain values (the same as for the source
+     * dataset).
+     *
+     * @return The domain order.
+     */
+    @Override
+    public DomainOrder getDomainOrder() {
+        return this.source.getDomainOrder();
+    }
+
+    /**
+     * Returns the number of items in every series.
+     *
+     * @return The item count.
+     */
+    @Override
+    public int getItemCount() {
+        return this.source.getItemCount();
+    }
+
+    /**
+     * Returns the number of items in a series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The item count.
+     */
+    @Override
+    public int getItemCount(int series) {
+        return this.source.getItemCount();
+    }
+
+    /**
+     * Returns the x-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public Number getX(int series, int item) {
+        return this.source.getX(series, item);
+    }
+
+    /**
+     * Returns the x-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public double getXValue(int series, int item) {
+        return this.source.getXValue(series, item);
+    }
+
+    /**
+     * Returns the stacked y-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value (possibly {@code null}).
+     */
+    @Override
+    public Number getY(int series, int item) {
+        double y = getYValue(series, item);
+        return Double.isNaN(y) ? null : y;
+    }
+
+    /**
+     * Returns the stacked y-value for an item: the sum of the y-values for
+     * the item in this series and all the series before it, divided by the
+     * total for the item if the view is normalised.  If the total is zero,
+     * the normalised value is {@code Double.NaN}.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value (possibly {@code Double.NaN}).
+     */
+    @Override
+    public double getYValue(int series, int item) {
+        int seriesCount = this.source.getSeriesCount();
+        if (series < 0 || series >= seriesCount) {
+            throw new IndexOutOfBoundsException("Invalid series: " + series);
+        }
+        double sum = 0.0;
+        for (int s = 0; s <= series; s++) {
+            sum += valueOrZero(s, item);
+        }
+        if (!this.normalised) {
+            return sum;
+        }
+        double total = sum;
+        for (int s = series + 1; s < seriesCount; s++) {
+            total += valueOrZero(s, item);
+        }
+        return total == 0.0 ? Double.NaN : sum / total;
+    }
+
+    /**
+     * Returns the y-value for an item in the source dataset, or zero if the
+     * value is missing.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The value.
+     */
+    private double valueOrZero(int series, int item) {
+        double y = this.source.getYValue(series, item);
+        return Double.isNaN(y) ? 0.0 : y;
+    }
+
+    /**
+     * Tests this view for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof StackedXYDatasetView)) {
+            return false;
+        }
+        StackedXYDatasetView<?> that = (StackedXYDatasetView<?>) obj;
+        if (!Objects.equals(this.source, that.source)) {
+            return false;
+        }
+        if (this.normalised != that.normalised) {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 5;
+        hash = 29 * hash + Objects.hashCode(this.source);
+        hash = 29 * hash + (this.normalised ? 1 : 0);
+        return hash;
+    }
+
+    /**
+     * Returns a clone of this view.  The clone shares the source dataset
+     * and is registered to receive change events from it.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        StackedXYDatasetView<S> clone
+                = (StackedXYDatasetView<S>) super.clone();
+        clone.source.addChangeListener(clone);
+        return clone;
+    }
+
+}
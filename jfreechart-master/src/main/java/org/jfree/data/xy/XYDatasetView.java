@@ -0,0 +1,573 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------
+ * XYDatasetView.java
+ * ------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.xy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import org.jfree.chart.internal.Args;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.Range;
+import org.jfree.data.function.Function2D;
+import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.general.DatasetChangeListener;
+
+/**
+ * A read-only view of an {@link XYDataset} that can select a subset of the
+ * series, restrict the items to a range of x-values and transform the
+ * y-values through a {@link Function2D}.  No data is copied: values are
+ * read from the source dataset (and transformed) on demand, and the view
+ * forwards change events from the source to its own listeners.
+ * <p>
+ * When the source dataset reports a {@link DomainOrder#ASCENDING} domain
+ * order, the items inside the x-range are located by binary search, so
+ * slicing a large series costs O(log n).  Otherwise the matching item
+ * indices are found with a single scan of the series.  In both cases the
+ * result is cached until the source dataset or the view changes.
+ *
+ * @param <S>  the type for the series keys.
+ */
+public class XYDatasetView<S extends Comparable<S>>
+        extends AbstractXYDataset<S> implements DatasetChangeListener {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 6131478211403126245L;
+
+    /** The source dataset. */
+    private XYDataset<S> source;
+
+    /** The keys for the visible series ({@code null} for all series). */
+    private List<S> seriesKeys;
+
+    /** The range of x-values for the visible items ({@code null} for all). */
+    private Range xRange;
+
+    /** The function applied to the y-values ({@code null} for none). */
+    private Function2D yFunction;
+
+    /**
+     * The source series index for each visible series ({@code null} until
+     * it is required).
+     */
+    private transient int[] seriesMap;
+
+    /**
+     * The visible items for each visible series ({@code null} until it is
+     * required, individual elements are also calculated on demand).
+     */
+    private transient Slice[] slices;
+
+    /**
+     * Creates a new view that presents all the data in the source dataset.
+     *
+     * @param source  the source dataset ({@code null} not permitted).
+     */
+    public XYDatasetView(XYDataset<S> source) {
+        Args.nullNotPermitted(source, "source");
+        this.source = source;
+        this.source.addChangeListener(this);
+    }
+
+    /**
+     * Returns the source dataset.
+     *
+     * @return The source dataset (never {@code null}).
+     */
+    public XYDataset<S> getSource() {
+        return this.source;
+    }
+
+    /**
+     * Returns the keys for the series that are visible in this view, or
+     * {@code null} if all the series in the source dataset are visible.
+     *
+     * @return The series keys (possibly {@code null}).
+     *
+     * @see #setSeriesKeys(List)
+     */
+    public List<S> getSeriesKeys() {
+        return this.seriesKeys == null ? null
+                : Collections.unmodifiableList(this.seriesKeys);
+    }
+
+    /**
+     * Sets the keys for the series that are visible in this view and sends
+     * a {@link DatasetChangeEvent} to all registered listeners.  The series
+     * are presented in the order of the keys, and keys that are not present
+     * in the source dataset are ignored.
+     *
+     * @param keys  the series keys ({@code null} for all series).
+     *
+     * @see #getSeriesKeys()
+     */
+    public void setSeriesKeys(List<S> keys) {
+        this.seriesKeys = keys == null ? null : new ArrayList<>(keys);
+        invalidate();
+        fireDatasetChanged();
+    }
+
+    /**
+     * Returns the range of x-values for the items that are visible in this
+     * view.
+     *
+     * @return The range (possibly {@code null}).
+     *
+     * @see #setXRange(Range)
+     */
+    public Range getXRange() {
+        return this.xRange;
+    }
+
+    /**
+     * Sets the range of x-values for the items that are visible in this view
+     * and sends a {@link DatasetChangeEvent} to all registered listeners.
+     * The bounds of the range are inclusive.
+     *
+     * @param range  the range ({@code null} for all items).
+     *
+     * @see #getXRange()
+     */
+    public void setXRange(Range range) {
+        this.xRange = range;
+        invalidate();
+        fireDatasetChanged();
+    }
+
+    /**
+     * Returns the function that is applied to the y-values from the source
+     * dataset.
+     *
+     * @return The function (possibly {@code null}).
+     *
+     * @see #setYFunction(Function2D)
+     */
+    public Function2D getYFunction() {
+        return this.yFunction;
+    }
+
+    /**
+     * Sets the function that is applied to the y-values from the source
+     * dataset and sends a {@link DatasetChangeEvent} to all registered
+     * listeners.
+     *
+     * @param function  the function ({@code null} to present the y-values
+     *     unchanged).
+     *
+     * @see #getYFunction()
+     */
+    public void setYFunction(Function2D function) {
+        this.yFunction = function;
+        fireDatasetChanged();
+    }
+
+    /**
+     * Receives notification of a change to the source dataset, discards
+     * any cached item indices and sends a {@link DatasetChangeEvent} to all
+     * registered listeners.
+     *
+     * @param event  the event.
+     */
+    @Override
+    public void datasetChanged(DatasetChangeEvent event) {
+        invalidate();
+        fireDatasetChanged();
+    }
+
+    /**
+     * Discards the cached series and item indices.
+     */
+    private void invalidate() {
+        this.seriesMap = null;
+        this.slices = null;
+    }
+
+    /**
+     * Returns the source series index for each visible series, calculating
+     * it if necessary.
+     *
+     * @return The series map.
+     */
+    private int[] seriesMap() {
+        if (this.seriesMap == null) {
+            int[] map;
+            if (this.seriesKeys == null) {
+                map = new int[this.source.getSeriesCount()];
+                for (int i = 0; i < map.length; i++) {
+                    map[i] = i;
+                }
+            }
+            else {
+                map = new int[this.seriesKeys.size()];
+                int count = 0;
+                for (S key : this.seriesKeys) {
+                    int index = this.source.indexOf(key);
+                    if (index >= 0) {
+                        map[count++] = index;
+                    }
+                }
+                if (count < map.length) {
+                    int[] trimmed = new int[count];
+                    System.arraycopy(map, 0, trimmed, 0, count);
+                    map = trimmed;
+                }
+            }
+            this.seriesMap = map;
+            this.slices = new Slice[map.length];
+        }
+        return this.seriesMap;
+    }
+
+    /**
+     * Returns the visible items for a series, calculating them if
+     * necessary.
+     *
+     * @param series  the series index (zero-based) in this view.
+     *
+     * @return The slice.
+     */
+    private Slice slice(int series) {
+        int s = seriesMap()[series];
+        Slice slice = this.slices[series];
+        if (slice == null) {
+            slice = createSlice(s);
+            this.slices[series] = slice;
+        }
+        return slice;
+    }
+
+    /**
+     * Finds the items in a source series that are inside the x-range.
+     *
+     * @param s  the series index in the source dataset.
+     *
+     * @return The slice.
+     */
+    private Slice createSlice(int s) {
+        int n = this.source.getItemCount(s);
+        if (this.xRange == null) {
+            return new Slice(0, n, null);
+        }
+        double lower = this.xRange.getLowerBound();
+        double upper = this.xRange.getUpperBound();
+        if (this.source.getDomainOrder() == DomainOrder.ASCENDING) {
+            int start = firstIndexNotBelow(s, n, lower);
+            int end = firstIndexAbove(s, n, upper);
+            return new Slice(start, Math.max(end - start, 0), null);
+        }
+        int[] indices = new int[n];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            double x = this.source.getXValue(s, i);
+            if (x >= lower && x <= upper) {
+                indices[count++] = i;
+            }
+        }
+        int[] trimmed = new int[count];
+        System.arraycopy(indices, 0, trimmed, 0, count);
+        return new Slice(0, count, trimmed);
+    }
+
+    /**
+     * Returns the index of the first item in an ascending series with an
+     * x-value greater than or equal to {@code x}.
+     *
+     * @param s  the series index in the source dataset.
+     * @param n  the item count for the series.
+     * @param x  the x-value.
+     *
+     * @return The index (in the range {@code 0} to {@code n}).
+     */
+    private int firstIndexNotBelow(int s, int n, double x) {
+        int low = 0;
+        int high = n;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (this.source.getXValue(s, mid) < x) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the first item in an ascending series with an
+     * x-value greater than {@code x}.
+     *
+     * @param s  the series index in the source dataset.
+     * @param n  the item count for the series.
+     * @param x  the x-value.
+     *
+     * @return The index (in the range {@code 0} to {@code n}).
+     */
+    private int firstIndexAbove(int s, int n, double x) {
+        int low = 0;
+        int high = n;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (this.source.getXValue(s, mid) <= x) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index in the source dataset for an item in this view.
+     *
+     * @param slice  the slice for the series.
+     * @param item  the item index (zero-based) in this view.
+     *
+     * @return The item index in the source dataset.
+     */
+    private static int sourceItem(Slice slice, int item) {
+        if (item < 0 || item >= slice.count) {
+            throw new IndexOutOfBoundsException("Invalid item: " + item);
+        }
+        return slice.indices == null ? slice.start + item
+                : slice.indices[item];
+    }
+
+    /**
+     * Returns the number of series in the view.
+     *
+     * @return The series count.
+     */
+    @Override
+    public int getSeriesCount() {
+        return seriesMap().length;
+    }
+
+    /**
+     * Returns the key for a series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The key.
+     */
+    @Override
+    public S getSeriesKey(int series) {
+        return this.source.getSeriesKey(seriesMap()[series]);
+    }
+
+    /**
+     * Returns the order of the domain values (the same as for the source
+     * dataset, since slicing preserves the order of the items).
+     *
+     * @return The domain order.
+     */
+    @Override
+    public DomainOrder getDomainOrder() {
+        return this.source.getDomainOrder();
+    }
+
+    /**
+     * Returns the number of items in a series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The item count.
+     */
+    @Override
+    public int getItemCount(int series) {
+        return slice(series).count;
+    }
+
+    /**
+     * Returns the x-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public Number getX(int series, int item) {
+        return this.source.getX(seriesMap()[series],
+                sourceItem(slice(series), item));
+    }
+
+    /**
+     * Returns the x-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public double getXValue(int series, int item) {
+        return this.source.getXValue(seriesMap()[series],
+                sourceItem(slice(series), item));
+    }
+
+    /**
+     * Returns the y-value for an item, after applying the y-function (if
+     * there is one).
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value (possibly {@code null}).
+     */
+    @Override
+    public Number getY(int series, int item) {
+        int s = seriesMap()[series];
+        int i = sourceItem(slice(series), item);
+        if (this.yFunction == null) {
+            return this.source.getY(s, i);
+        }
+        double y = this.source.getYValue(s, i);
+        return Double.isNaN(y) ? null : this.yFunction.getValue(y);
+    }
+
+    /**
+     * Returns the y-value for an item, after applying the y-function (if
+     * there is one).
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value (possibly {@code Double.NaN}).
+     */
+    @Override
+    public double getYValue(int series, int item) {
+        double y = this.source.getYValue(seriesMap()[series],
+                sourceItem(slice(series), item));
+        if (this.yFunction == null || Double.isNaN(y)) {
+            return y;
+        }
+        return this.yFunction.getValue(y);
+    }
+
+    /**
+     * Tests this view for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof XYDatasetView)) {
+            return false;
+        }
+        XYDatasetView<?> that = (XYDatasetView<?>) obj;
+        if (!Objects.equals(this.source, that.source)) {
+            return false;
+        }
+        if (!Objects.equals(this.seriesKeys, that.seriesKeys)) {
+            return false;
+        }
+        if (!Objects.equals(this.xRange, that.xRange)) {
+            return false;
+        }
+        if (!Objects.equals(this.yFunction, that.yFunction)) {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 53 * hash + Objects.hashCode(this.source);
+        hash = 53 * hash + Objects.hashCode(this.seriesKeys);
+        hash = 53 * hash + Objects.hashCode(this.xRange);
+        return hash;
+    }
+
+    /**
+     * Returns a clone of this view.  The clone shares the source dataset
+     * and is registered to receive change events from it.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        XYDatasetView<S> clone = (XYDatasetView<S>) super.clone();
+        if (this.seriesKeys != null) {
+            clone.seriesKeys = new ArrayList<>(this.seriesKeys);
+        }
+        clone.invalidate();
+        clone.source.addChangeListener(clone);
+        return clone;
+    }
+
+    /**
+     * The items in the source dataset that are visible for one series:
+     * either a contiguous block of items or an explicit list of indices.
+     */
+    private static final class Slice {
+
+        /** The index of the first item (for a contiguous block). */
+        final int start;
+
+        /** The number of visible items. */
+        final int count;
+
+        /** The item indices ({@code null} for a contiguous block). */
+        final int[] indices;
+
+        /**
+         * Creates a new slice.
+         *
+         * @param start  the first item index.
+         * @param count  the item count.
+         * @param indices  the item indices ({@code null} permitted).
+         */
+        Slice(int start, int count, int[] indices) {
+            this.start = start;
+            this.count = count;
+            this.indices = indices;
+        }
+
+    }
+
+}
@@ -52,6 +52,7 @@ import org.jfree.chart.internal.CloneUtils;
 import org.jfree.data.general.Series;
 import org.jfree.data.general.SeriesChangeEvent;
 import org.jfree.data.general.SeriesException;
+import org.jfree.data.general.SeriesSnapshotBuffer;
 
 /**
  * Represents a sequence of zero or more data items in the form (x, y).  By
@@ -59,6 +60,11 @@ import org.jfree.data.general.SeriesException;
  * and duplicate x-values are permitted.  Both the sorting and duplicate
  * defaults can be changed in the constructor.  Y-values can be
  * {@code null} to represent missing values.
+ * <p>
+ * The methods that change the data items synchronize on the series, and
+ * {@link #snapshot()} returns an immutable copy of the data that can be
+ * read by another thread (for example, to draw a chart) while the series
+ * continues to be updated.
  */
 public class XYSeries<K extends Comparable<K>> extends Series<K> 
         implements Cloneable, Serializable {
@@ -97,6 +103,12 @@ public class XYSeries<K extends Comparable<K>> extends Series<K>
     /** The highest y-value in the series, excluding Double.NaN values. */
     private double maxY;
 
+    /**
+     * The buffer that {@link #snapshot()} maintains ({@code null} until the
+     * first snapshot is taken).
+     */
+    private transient SeriesSnapshotBuffer snapshotBuffer;
+
     /**
      * Creates a new empty series.  By default, items added to the series will
      * be sorted into ascending order by x-value, and duplicate x-values will
@@ -344,11 +356,17 @@ public class XYSeries<K extends Comparable<K>> extends Series<K>
      * @param maximum  the maximum number of items for the series.
      */
     public void setMaximumItemCount(int maximum) {
-        this.maximumItemCount = maximum;
-        int remove = this.data.size() - maximum;
+        int remove;
+        synchronized (this) {
+            this.maximumItemCount = maximum;
+            remove = this.data.size() - maximum;
+            if (remove > 0) {
+                this.data.subList(0, remove).clear();
+                snapshotItemsDropped(remove);
+                findBoundsByIteration();
+            }
+        }
         if (remove > 0) {
-            this.data.subList(0, remove).clear();
-            findBoundsByIteration();
             fireSeriesChanged();
         }
     }
@@ -466,46 +484,52 @@ public class XYSeries<K extends Comparable<K>> extends Series<K>
     public void add(XYDataItem item, boolean notify) {
         Args.nullNotPermitted(item, "item");
         item = (XYDataItem) item.clone();
-        if (this.autoSort) {
-            int index = Collections.binarySearch(this.data, item);
-            if (index < 0) {
-                this.data.add(-index - 1, item);
-            }
-            else {
-                if (this.allowDuplicateXValues) {
-                    // need to make sure we are adding *after* any duplicates
-                    int size = this.data.size();
-                    while (index < size && item.compareTo(
-                            this.data.get(index)) == 0) {
-                        index++;
-                    }
-                    if (index < this.data.size()) {
-                        this.data.add(index, item);
+        synchronized (this) {
+            if (this.autoSort) {
+                int index = Collections.binarySearch(this.data, item);
+                if (index < 0) {
+                    this.data.add(-index - 1, item);
+                    snapshotItemsChanged(-index - 1);
+                }
+                else {
+                    if (this.allowDuplicateXValues) {
+                        // need to make sure we are adding *after* any
+                        // duplicates
+                        int size = this.data.size();
+                        while (index < size && item.compareTo(
+                                this.data.get(index)) == 0) {
+                            index++;
+                        }
+                        if (index < this.data.size()) {
+                            this.data.add(index, item);
+                        }
+                        else {
+                            this.data.add(item);
+                        }
+                        snapshotItemsChanged(index);
                     }
                     else {
-                        this.data.add(item);
+                        throw new SeriesException("X-value already exists.");
                     }
                 }
-                else {
-                    throw new SeriesException("X-value already exists.");
-                }
             }
-        }
-        else {
-            if (!this.allowDuplicateXValues) {
-                // can't allow duplicate values, so we need to check whether
-                // there is an item with the given x-value already
-                int index = indexOf(item.getX());
-                if (index >= 0) {
-                    throw new SeriesException("X-value already exists.");
+            else {
+                if (!this.allowDuplicateXValues) {
+                    // can't allow duplicate values, so we need to check
+                    // whether there is an item with the given x-value already
+                    int index = indexOf(item.getX());
+                    if (index >= 0) {
+                        throw new SeriesException("X-value already exists.");
+                    }
                 }
+                this.data.add(item);
+            }
+            updateBoundsForAddedItem(item);
+            if (getItemCount() > this.maximumItemCount) {
+                XYDataItem removed = this.data.remove(0);
+                snapshotItemsDropped(1);
+                updateBoundsForRemovedItem(removed);
             }
-            this.data.add(item);
-        }
-        updateBoundsForAddedItem(item);
-        if (getItemCount() > this.maximumItemCount) {
-            XYDataItem removed = this.data.remove(0);
-            updateBoundsForRemovedItem(removed);
         }
         if (notify) {
             fireSeriesChanged();
@@ -520,8 +544,15 @@ public class XYSeries<K extends Comparable<K>> extends Series<K>
      * @param end  the end index (zero-based).
      */
     public void delete(int start, int end) {
-        this.data.subList(start, end + 1).clear();
-        findBoundsByIteration();
+        synchronized (this) {
+            this.data.subList(start, end + 1).clear();
+            if (start == 0) {
+                snapshotItemsDropped(end + 1);
+            } else {
+                snapshotItemsChanged(start);
+            }
+            findBoundsByIteration();
+        }
         fireSeriesChanged();
     }
 
@@ -534,8 +565,16 @@ public class XYSeries<K extends Comparable<K>> extends Series<K>
      * @return The item removed.
      */
     public XYDataItem remove(int index) {
-        XYDataItem removed = this.data.remove(index);
-        updateBoundsForRemovedItem(removed);
+        XYDataItem removed;
+        synchronized (this) {
+            removed = this.data.remove(index);
+            if (index == 0) {
+                snapshotItemsDropped(1);
+            } else {
+                snapshotItemsChanged(index);
+            }
+            updateBoundsForRemovedItem(removed);
+        }
         fireSeriesChanged();
         return removed;
     }
@@ -559,12 +598,19 @@ public class XYSeries<K extends Comparable<K>> extends Series<K>
      * {@link SeriesChangeEvent} to all registered listeners.
      */
     public void clear() {
-        if (this.data.size() > 0) {
-            this.data.clear();
-            this.minX = Double.NaN;
-            this.maxX = Double.NaN;
-            this.minY = Double.NaN;
-            this.maxY = Double.NaN;
+        boolean cleared = false;
+        synchronized (this) {
+            if (this.data.size() > 0) {
+                this.data.clear();
+                snapshotItemsChanged(0);
+                this.minX = Double.NaN;
+                this.maxX = Double.NaN;
+                this.minY = Double.NaN;
+                this.maxY = Double.NaN;
+                cleared = true;
+            }
+        }
+        if (cleared) {
             fireSeriesChanged();
         }
     }
@@ -664,23 +710,26 @@ public class XYSeries<K extends Comparable<K>> extends Series<K>
      * @since 1.0.1
      */
     public void updateByIndex(int index, Number y) {
-        XYDataItem item = getRawDataItem(index);
+        synchronized (this) {
+            XYDataItem item = getRawDataItem(index);
 
-        // figure out if we need to iterate through all the y-values
-        boolean iterate = false;
-        double oldY = item.getYValue();
-        if (!Double.isNaN(oldY)) {
-            iterate = oldY <= this.minY || oldY >= this.maxY;
-        }
-        item.setY(y);
+            // figure out if we need to iterate through all the y-values
+            boolean iterate = false;
+            double oldY = item.getYValue();
+            if (!Double.isNaN(oldY)) {
+                iterate = oldY <= this.minY || oldY >= this.maxY;
+            }
+            item.setY(y);
+            snapshotItemsChanged(index);
 
-        if (iterate) {
-            findBoundsByIteration();
-        }
-        else if (y != null) {
-            double yy = y.doubleValue();
-            this.minY = minIgnoreNaN(this.minY, yy);
-            this.maxY = maxIgnoreNaN(this.maxY, yy);
+            if (iterate) {
+                findBoundsByIteration();
+            }
+            else if (y != null) {
+                double yy = y.doubleValue();
+                this.minY = minIgnoreNaN(this.minY, yy);
+                this.maxY = maxIgnoreNaN(this.maxY, yy);
+            }
         }
         fireSeriesChanged();
     }
@@ -752,45 +801,50 @@ public class XYSeries<K extends Comparable<K>> extends Series<K>
 
         // if we get to here, we know that duplicate X values are not permitted
         XYDataItem overwritten = null;
-        int index = indexOf(item.getX());
-        if (index >= 0) {
-            XYDataItem existing = this.data.get(index);
-            overwritten = (XYDataItem) existing.clone();
-            // figure out if we need to iterate through all the y-values
-            boolean iterate = false;
-            double oldY = existing.getYValue();
-            if (!Double.isNaN(oldY)) {
-                iterate = oldY <= this.minY || oldY >= this.maxY;
-            }
-            existing.setY(item.getY());
+        synchronized (this) {
+            int index = indexOf(item.getX());
+            if (index >= 0) {
+                XYDataItem existing = this.data.get(index);
+                overwritten = (XYDataItem) existing.clone();
+                // figure out if we need to iterate through all the y-values
+                boolean iterate = false;
+                double oldY = existing.getYValue();
+                if (!Double.isNaN(oldY)) {
+                    iterate = oldY <= this.minY || oldY >= this.maxY;
+                }
+                existing.setY(item.getY());
+                snapshotItemsChanged(index);
 
-            if (iterate) {
-                findBoundsByIteration();
-            }
-            else if (item.getY() != null) {
-                double yy = item.getY().doubleValue();
-                this.minY = minIgnoreNaN(this.minY, yy);
-                this.maxY = maxIgnoreNaN(this.maxY, yy);
-            }
-        }
-        else {
-            // if the series is sorted, the negative index is a result from
-            // Collections.binarySearch() and tells us where to insert the
-            // new item...otherwise it will be just -1 and we should just
-            // append the value to the list...
-            item = (XYDataItem) item.clone();
-            if (this.autoSort) {
-                this.data.add(-index - 1, item);
+                if (iterate) {
+                    findBoundsByIteration();
+                }
+                else if (item.getY() != null) {
+                    double yy = item.getY().doubleValue();
+                    this.minY = minIgnoreNaN(this.minY, yy);
+                    this.maxY = maxIgnoreNaN(this.maxY, yy);
+                }
             }
             else {
-                this.data.add(item);
-            }
-            updateBoundsForAddedItem(item);
+                // if the series is sorted, the negative index is a result
+                // from Collections.binarySearch() and tells us where to
+                // insert the new item...otherwise it will be just -1 and we
+                // should just append the value to the list...
+                item = (XYDataItem) item.clone();
+                if (this.autoSort) {
+                    this.data.add(-index - 1, item);
+                    snapshotItemsChanged(-index - 1);
+                }
+                else {
+                    this.data.add(item);
+                }
+                updateBoundsForAddedItem(item);
 
-            // check if this addition will exceed the maximum item count...
-            if (getItemCount() > this.maximumItemCount) {
-                XYDataItem removed = this.data.remove(0);
-                updateBoundsForRemovedItem(removed);
+                // check if this addition will exceed the maximum item count...
+                if (getItemCount() > this.maximumItemCount) {
+                    XYDataItem removed = this.data.remove(0);
+                    snapshotItemsDropped(1);
+                    updateBoundsForRemovedItem(removed);
+                }
             }
         }
         fireSeriesChanged();
@@ -822,6 +876,58 @@ public class XYSeries<K extends Comparable<K>> extends Series<K>
         }
     }
 
+    /**
+     * Returns an immutable snapshot of the data in this series, with the
+     * x-values in column 0 and the y-values in column 1 ({@code NaN} for
+     * {@code null}).  The series keeps the snapshot data up to date
+     * incrementally, so that when items are only appended (and perhaps
+     * removed from the start to respect the maximum item count) the cost
+     * is proportional to the number of new items.  Changes made directly to
+     * the {@code data} list or to the data items are not tracked.
+     *
+     * @return The snapshot (never {@code null}).
+     *
+     * @since 2.0
+     */
+    public SeriesSnapshotBuffer.Snapshot snapshot() {
+        synchronized (this) {
+            if (this.snapshotBuffer == null) {
+                this.snapshotBuffer = new SeriesSnapshotBuffer(2, false);
+            }
+            return this.snapshotBuffer.sync(this.data.size(),
+                    (int item, double[] values) -> {
+                XYDataItem dataItem = this.data.get(item);
+                values[0] = dataItem.getXValue();
+                values[1] = dataItem.getYValue();
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Records in the snapshot buffer (if there is one) that items have been
+     * removed from the start of the series.
+     *
+     * @param n  the number of items removed.
+     */
+    private void snapshotItemsDropped(int n) {
+        if (this.snapshotBuffer != null) {
+            this.snapshotBuffer.itemsDropped(n);
+        }
+    }
+
+    /**
+     * Records in the snapshot buffer (if there is one) that the items from
+     * the specified index onwards have changed.
+     *
+     * @param index  the index of the first changed item.
+     */
+    private void snapshotItemsChanged(int index) {
+        if (this.snapshotBuffer != null) {
+            this.snapshotBuffer.itemsChanged(index);
+        }
+    }
+
     /**
      * Returns a new array containing the x and y values from this series.
      *
@@ -857,6 +963,7 @@ public class XYSeries<K extends Comparable<K>> extends Series<K>
     public Object clone() throws CloneNotSupportedException {
         XYSeries<K> clone = (XYSeries) super.clone();
         clone.data = CloneUtils.cloneList(this.data);
+        clone.snapshotBuffer = null;
         return clone;
     }
 
@@ -876,6 +983,7 @@ public class XYSeries<K extends Comparable<K>> extends Series<K>
 
         XYSeries<K> copy = (XYSeries) super.clone();
         copy.data = new ArrayList<>();
+        copy.snapshotBuffer = null;
         if (!this.data.isEmpty()) {
             for (int index = start; index <= end; index++) {
                 XYDataItem item = this.data.get(index);
@@ -59,6 +59,8 @@ import org.jfree.data.UnknownKeyException;
 import org.jfree.data.gantt.TaskSeries;
 import org.jfree.data.general.DatasetChangeEvent;
 import org.jfree.data.general.Series;
+import org.jfree.data.general.SeriesSnapshotBuffer;
+import org.jfree.data.general.SnapshotSource;
 
 /**
  * Represents a collection of {@link XYSeries} objects that can be used as a
@@ -67,7 +69,8 @@ import org.jfree.data.general.Series;
 public class XYSeriesCollection<S extends Comparable<S>> 
         extends AbstractIntervalXYDataset<S>
         implements IntervalXYDataset<S>, DomainInfo, RangeInfo, 
-        VetoableChangeListener, PublicCloneable, Serializable {
+        VetoableChangeListener, SnapshotSource<XYSeriesCollectionSnapshot<S>>,
+        PublicCloneable, Serializable {
 
     /** For serialization. */
     private static final long serialVersionUID = -7590013825931496766L;
@@ -183,6 +186,32 @@ public class XYSeriesCollection<S extends Comparable<S>>
         fireDatasetChanged();
     }
 
+    /**
+     * Returns an immutable snapshot of the data in the collection.  Each
+     * series is copied consistently (see {@link XYSeries#snapshot()}) while
+     * other threads continue to update it, and only the changes since the
+     * previous snapshot are copied.  Adding or removing series is not
+     * synchronized and should be done on the thread that draws the chart.
+     *
+     * @return The snapshot (never {@code null}).
+     *
+     * @since 2.0
+     */
+    @Override
+    public XYSeriesCollectionSnapshot<S> snapshot() {
+        List<XYSeries<S>> seriesList = new ArrayList<>(this.data);
+        List<S> keys = new ArrayList<>(seriesList.size());
+        List<SeriesSnapshotBuffer.Snapshot> snapshots
+                = new ArrayList<>(seriesList.size());
+        for (XYSeries<S> series : seriesList) {
+            keys.add(series.getKey());
+            snapshots.add(series.snapshot());
+        }
+        return new XYSeriesCollectionSnapshot<>(this, keys, snapshots,
+                getDomainOrder(), getIntervalWidth(),
+                getIntervalPositionFactor());
+    }
+
     /**
      * Returns the number of series in the collection.
      *
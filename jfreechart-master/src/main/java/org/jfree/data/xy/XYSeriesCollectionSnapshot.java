@@ -0,0 +1,321 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------------------
+ * XYSeriesCollectionSnapshot.java
+ * -------------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.xy;
+
+import java.util.List;
+
+import org.jfree.chart.internal.Args;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.general.Dataset;
+import org.jfree.data.general.DatasetSnapshot;
+import org.jfree.data.general.SeriesSnapshotBuffer;
+
+/**
+ * An immutable snapshot of an {@link XYSeriesCollection}, as returned by
+ * {@link XYSeriesCollection#snapshot()}.  The snapshot presents the data
+ * (and the interval width and position) that the collection held when the
+ * snapshot was taken, however the collection and its series change
+ * afterwards, so it can be read by one thread while others update the
+ * collection.  A snapshot never sends change events.
+ *
+ * @param <S>  the type for the series keys.
+ *
+ * @since 2.0
+ */
+public final class XYSeriesCollectionSnapshot<S extends Comparable<S>>
+        extends AbstractIntervalXYDataset<S>
+        implements IntervalXYDataset<S>, DatasetSnapshot {
+
+    /** The collection that the snapshot was taken from. */
+    private final XYSeriesCollection<S> source;
+
+    /** The series keys. */
+    private final List<S> keys;
+
+    /** The series data (x-values in column 0, y-values in column 1). */
+    private final List<SeriesSnapshotBuffer.Snapshot> series;
+
+    /** The domain order. */
+    private final DomainOrder domainOrder;
+
+    /** The interval width. */
+    private final double intervalWidth;
+
+    /** The interval position factor. */
+    private final double intervalPositionFactor;
+
+    /**
+     * Creates a new snapshot.
+     *
+     * @param source  the source collection ({@code null} not permitted).
+     * @param keys  the series keys ({@code null} not permitted).
+     * @param series  the series data ({@code null} not permitted).
+     * @param domainOrder  the domain order ({@code null} not permitted).
+     * @param intervalWidth  the interval width.
+     * @param intervalPositionFactor  the interval position factor.
+     */
+    XYSeriesCollectionSnapshot(XYSeriesCollection<S> source, List<S> keys,
+            List<SeriesSnapshotBuffer.Snapshot> series,
+            DomainOrder domainOrder, double intervalWidth,
+            double intervalPositionFactor) {
+        Args.nullNotPermitted(source, "source");
+        Args.nullNotPermitted(keys, "keys");
+        Args.nullNotPermitted(series, "series");
+        Args.nullNotPermitted(domainOrder, "domainOrder");
+        this.source = source;
+        this.keys = keys;
+        this.series = series;
+        this.domainOrder = domainOrder;
+        this.intervalWidth = intervalWidth;
+        this.intervalPositionFactor = intervalPositionFactor;
+    }
+
+    /**
+     * Returns the collection that the snapshot was taken from.
+     *
+     * @return The source collection (never {@code null}).
+     */
+    @Override
+    public Dataset getSource() {
+        return this.source;
+    }
+
+    /**
+     * Returns the order of the domain (x) values when the snapshot was
+     * taken.
+     *
+     * @return The domain order.
+     */
+    @Override
+    public DomainOrder getDomainOrder() {
+        return this.domainOrder;
+    }
+
+    /**
+     * Returns the number of series in the snapshot.
+     *
+     * @return The series count.
+     */
+    @Override
+    public int getSeriesCount() {
+        return this.keys.size();
+    }
+
+    /**
+     * Returns the key for a series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The series key.
+     */
+    @Override
+    public S getSeriesKey(int series) {
+        return this.keys.get(series);
+    }
+
+    /**
+     * Returns the number of items in a series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The item count.
+     */
+    @Override
+    public int getItemCount(int series) {
+        return this.series.get(series).getItemCount();
+    }
+
+    /**
+     * Returns the x-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public double getXValue(int series, int item) {
+        return this.series.get(series).getValue(0, item);
+    }
+
+    /**
+     * Returns the x-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value (never {@code null}).
+     */
+    @Override
+    public Number getX(int series, int item) {
+        return getXValue(series, item);
+    }
+
+    /**
+     * Returns the start x-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The start x-value.
+     */
+    @Override
+    public double getStartXValue(int series, int item) {
+        return getXValue(series, item)
+                - this.intervalPositionFactor * this.intervalWidth;
+    }
+
+    /**
+     * Returns the start x-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The start x-value (never {@code null}).
+     */
+    @Override
+    public Number getStartX(int series, int item) {
+        return getStartXValue(series, item);
+    }
+
+    /**
+     * Returns the end x-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The end x-value.
+     */
+    @Override
+    public double getEndXValue(int series, int item) {
+        return getXValue(series, item)
+                + (1.0 - this.intervalPositionFactor) * this.intervalWidth;
+    }
+
+    /**
+     * Returns the end x-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The end x-value (never {@code null}).
+     */
+    @Override
+    public Number getEndX(int series, int item) {
+        return getEndXValue(series, item);
+    }
+
+    /**
+     * Returns the y-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value ({@code NaN} for a {@code null} value).
+     */
+    @Override
+    public double getYValue(int series, int item) {
+        return this.series.get(series).getValue(1, item);
+    }
+
+    /**
+     * Returns the y-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value (possibly {@code null}).
+     */
+    @Override
+    public Number getY(int series, int item) {
+        double y = getYValue(series, item);
+        return Double.isNaN(y) ? null : y;
+    }
+
+    /**
+     * Returns the start y-value for an item (the same as the y-value).
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value ({@code NaN} for a {@code null} value).
+     */
+    @Override
+    public double getStartYValue(int series, int item) {
+        return getYValue(series, item);
+    }
+
+    /**
+     * Returns the start y-value for an item (the same as the y-value).
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value (possibly {@code null}).
+     */
+    @Override
+    public Number getStartY(int series, int item) {
+        return getY(series, item);
+    }
+
+    /**
+     * Returns the end y-value for an item (the same as the y-value).
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value ({@code NaN} for a {@code null} value).
+     */
+    @Override
+    public double getEndYValue(int series, int item) {
+        return getYValue(series, item);
+    }
+
+    /**
+     * Returns the end y-value for an item (the same as the y-value).
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value (possibly {@code null}).
+     */
+    @Override
+    public Number getEndY(int series, int item) {
+        return getY(series, item);
+    }
+
+}
@@ -0,0 +1,230 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------------
+ * ConcurrentRenderingTest.java
+ * ----------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart;
+
+import java.awt.image.BufferedImage;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.compass.CompassPlot;
+import org.jfree.chart.plot.CategoryPlot;
+import org.jfree.chart.renderer.category.CategoryItemRenderer;
+import org.jfree.data.category.DefaultCategoryDataset;
+import org.jfree.data.general.DefaultPieDataset;
+import org.jfree.data.general.DefaultValueDataset;
+import org.jfree.data.time.Day;
+import org.jfree.data.time.TimeSeries;
+import org.jfree.data.time.TimeSeriesCollection;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Stress tests that draw many independent charts at the same time and
+ * check that each image is identical to the same chart drawn on its own.
+ * The tasks run on virtual threads when the Java runtime supports them.
+ */
+public class ConcurrentRenderingTest {
+
+    /** The number of kinds of chart. */
+    private static final int KINDS = 5;
+
+    /** The number of variants (data sets) of each kind of chart. */
+    private static final int VARIANTS = 4;
+
+    /** The image width. */
+    private static final int WIDTH = 160;
+
+    /** The image height. */
+    private static final int HEIGHT = 120;
+
+    /**
+     * Creates a chart.  Every call creates new datasets, plots and axes, so
+     * that charts share no state apart from what the library shares.
+     *
+     * @param kind  the kind of chart.
+     * @param variant  the variant.
+     *
+     * @return A chart.
+     */
+    private static JFreeChart createChart(int kind, int variant) {
+        switch (kind) {
+            case 0: {
+                TimeSeries<String> s = new TimeSeries<>("S" + variant);
+                Day day = new Day(1, 1 + variant, 2022);
+                for (int i = 0; i < 60; i++) {
+                    s.add(day, Math.sin(i / (3.0 + variant)) * 100);
+                    day = (Day) day.next();
+                }
+                return ChartFactory.createTimeSeriesChart("Time " + variant,
+                        "Date", "Value", new TimeSeriesCollection<>(s));
+            }
+            case 1: {
+                XYSeries<String> s = new XYSeries<>("S" + variant);
+                for (int i = 0; i < 200; i++) {
+                    s.add(i * 0.37, Math.cos(i / (5.0 + variant)) * variant);
+                }
+                return ChartFactory.createXYLineChart("XY " + variant, "X",
+                        "Y", new XYSeriesCollection<>(s),
+                        PlotOrientation.VERTICAL, true, false, false);
+            }
+            case 2: {
+                DefaultCategoryDataset<String, String> d
+                        = new DefaultCategoryDataset<>();
+                for (int i = 0; i < 6; i++) {
+                    d.addValue(i * 1.25 + variant, "R" + variant, "C" + i);
+                }
+                JFreeChart chart = ChartFactory.createBarChart("Bar",
+                        "Category", "Value", d);
+                CategoryItemRenderer r = ((CategoryPlot) chart.getPlot())
+                        .getRenderer();
+                r.setDefaultItemLabelsVisible(true);
+                return chart;
+            }
+            case 3: {
+                CompassPlot plot = new CompassPlot(
+                        new DefaultValueDataset(35.0 + 70.0 * variant));
+                plot.setSeriesNeedle(0, variant == 0 ? 0 : 2 * variant);
+                return new JFreeChart(plot);
+            }
+            default: {
+                DefaultPieDataset<String> d = new DefaultPieDataset<>();
+                for (int i = 0; i < 5; i++) {
+                    d.setValue("P" + i, 1.0 + (i + variant) % 4);
+                }
+                return ChartFactory.createPieChart("Pie " + variant, d);
+            }
+        }
+    }
+
+    /**
+     * Draws a chart and returns its pixels.
+     *
+     * @param kind  the kind of chart.
+     * @param variant  the variant.
+     *
+     * @return The pixels.
+     */
+    private static int[] render(int kind, int variant) {
+        BufferedImage image = createChart(kind, variant).createBufferedImage(
+                WIDTH, HEIGHT);
+        return image.getRGB(0, 0, WIDTH, HEIGHT, null, 0, WIDTH);
+    }
+
+    /**
+     * Creates an executor that runs each task on a new virtual thread if
+     * the runtime supports them, or a fixed pool of platform threads if not.
+     *
+     * @return The executor.
+     */
+    private static ExecutorService createExecutor() {
+        try {
+            Method m = Executors.class.getMethod(
+                    "newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) m.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Math.max(4,
+                    Runtime.getRuntime().availableProcessors()));
+        }
+    }
+
+    /**
+     * Draws thousands of charts in parallel and checks that every image
+     * matches the reference image drawn on a single thread.
+     *
+     * @throws Exception if there is a problem.
+     */
+    @Test
+    public void testParallelChartsArePixelIdentical() throws Exception {
+        int[][] expected = new int[KINDS * VARIANTS][];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = render(i / VARIANTS, i % VARIANTS);
+        }
+        int taskCount = 2000;
+        ExecutorService executor = createExecutor();
+        try {
+            List<Future<int[]>> results = new ArrayList<>(taskCount);
+            for (int t = 0; t < taskCount; t++) {
+                int index = (t * 7) % expected.length;
+                results.add(executor.submit(
+                        () -> render(index / VARIANTS, index % VARIANTS)));
+            }
+            for (int t = 0; t < taskCount; t++) {
+                int index = (t * 7) % expected.length;
+                assertArrayEquals(expected[index], results.get(t).get(),
+                        "Task " + t + " (chart " + index + ")");
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Parses days on many threads at once.
+     *
+     * @throws Exception if there is a problem.
+     */
+    @Test
+    public void testParallelParseDay() throws Exception {
+        ExecutorService executor = createExecutor();
+        try {
+            List<Future<Day>> results = new ArrayList<>();
+            for (int t = 0; t < 2000; t++) {
+                String s = String.format("20%02d-%02d-%02d", t % 50,
+                        1 + t % 12, 1 + t % 28);
+                results.add(executor.submit(() -> Day.parseDay(s)));
+            }
+            for (int t = 0; t < 2000; t++) {
+                Day day = results.get(t).get();
+                assertEquals(2000 + t % 50, day.getYear());
+                assertEquals(1 + t % 12, day.getMonth());
+                assertEquals(1 + t % 28, day.getDayOfMonth());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
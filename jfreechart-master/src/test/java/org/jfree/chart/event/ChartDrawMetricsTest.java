@@ -0,0 +1,282 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------------
+ * ChartDrawMetricsTest.java
+ * -------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.event;
+
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.ChartHints;
+import org.jfree.chart.ChartRenderingInfo;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.entity.EntityCollection;
+import org.jfree.chart.plot.CategoryPlot;
+import org.jfree.chart.plot.CrosshairState;
+import org.jfree.chart.plot.PlotRenderingInfo;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.XYItemRendererState;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+import org.jfree.data.category.DefaultCategoryDataset;
+import org.jfree.data.xy.XYDataset;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link ChartDrawMetrics} class.
+ */
+public class ChartDrawMetricsTest {
+
+    private static JFreeChart createXYChart() {
+        XYSeries<String> series = new XYSeries<>("S1");
+        for (int i = 0; i < 100; i++) {
+            series.add(i, Math.sin(i / 10.0));
+        }
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>(series);
+        JFreeChart chart = ChartFactory.createXYLineChart("Title", "X", "Y",
+                dataset);
+        // show only part of the data, so that some items are skipped
+        ((XYPlot<?>) chart.getPlot()).getDomainAxis().setRange(40.0, 60.0);
+        return chart;
+    }
+
+    private static JFreeChart createCategoryChart() {
+        DefaultCategoryDataset<String, String> dataset
+                = new DefaultCategoryDataset<>();
+        for (int r = 0; r < 3; r++) {
+            for (int c = 0; c < 4; c++) {
+                dataset.addValue(r + c + 1.0, "R" + r, "C" + c);
+            }
+        }
+        return ChartFactory.createBarChart("Title", "Category", "Value",
+                dataset);
+    }
+
+    private static List<ChartDrawMetrics> draw(JFreeChart chart,
+            ChartRenderingInfo info) {
+        List<ChartDrawMetrics> results = new ArrayList<>();
+        ChartDrawMetricsListener listener = results::add;
+        chart.addDrawMetricsListener(listener);
+        BufferedImage image = new BufferedImage(400, 300,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 400, 300), null, info);
+        assertNull(g2.getRenderingHint(ChartHints.KEY_DRAW_METRICS));
+        g2.dispose();
+        chart.removeDrawMetricsListener(listener);
+        return results;
+    }
+
+    /**
+     * Draws an XY chart and checks the phases, passes and counts.
+     */
+    @Test
+    public void testXYChart() {
+        JFreeChart chart = createXYChart();
+        ChartRenderingInfo info = new ChartRenderingInfo();
+        EntityCollection entities = info.getEntityCollection();
+        List<ChartDrawMetrics> results = draw(chart, info);
+        assertEquals(1, results.size());
+        ChartDrawMetrics metrics = results.get(0);
+        assertSame(chart, metrics.getChart());
+        assertSame(entities, info.getEntityCollection());
+
+        assertTrue(metrics.getNanos(ChartDrawMetrics.Phase.TITLES) > 0);
+        assertTrue(metrics.getNanos(ChartDrawMetrics.Phase.LEGEND) > 0);
+        assertTrue(metrics.getNanos(ChartDrawMetrics.Phase.AXIS_LAYOUT) > 0);
+        assertTrue(metrics.getNanos(ChartDrawMetrics.Phase.AXES) > 0);
+        assertTrue(metrics.getNanos(ChartDrawMetrics.Phase.RENDERING) > 0);
+        assertTrue(metrics.getNanos(ChartDrawMetrics.Phase.ANNOTATIONS) > 0);
+        assertTrue(metrics.getNanos(ChartDrawMetrics.Phase.ENTITIES) > 0);
+        assertTrue(metrics.getTotalNanos()
+                >= metrics.getNanos(ChartDrawMetrics.Phase.RENDERING));
+
+        XYPlot<?> plot = (XYPlot<?>) chart.getPlot();
+        int passCount = plot.getRenderer().getPassCount();
+        List<ChartDrawMetrics.RenderPass> passes = metrics.getPasses();
+        assertEquals(passCount, passes.size());
+        long drawn = 0L;
+        long skipped = 0L;
+        for (ChartDrawMetrics.RenderPass pass : passes) {
+            assertSame(plot, pass.getPlot());
+            assertEquals(0, pass.getDatasetIndex());
+            assertEquals(100, pass.getItemsDrawn() + pass.getItemsSkipped());
+            drawn += pass.getItemsDrawn();
+            skipped += pass.getItemsSkipped();
+        }
+        assertEquals(drawn, metrics.getItemsDrawn());
+        assertEquals(skipped, metrics.getItemsSkipped());
+        assertTrue(metrics.getItemsSkipped() > 0);
+        assertTrue(metrics.getItemsDrawn() > 0);
+
+        assertEquals(entities.getEntityCount(), metrics.getEntityCount());
+        assertTrue(metrics.getAllocatedBytes() != 0);
+    }
+
+    /**
+     * Draws a category chart and checks the passes and counts.
+     */
+    @Test
+    public void testCategoryChart() {
+        JFreeChart chart = createCategoryChart();
+        ChartRenderingInfo info = new ChartRenderingInfo();
+        List<ChartDrawMetrics> results = draw(chart, info);
+        assertEquals(1, results.size());
+        ChartDrawMetrics metrics = results.get(0);
+        CategoryPlot<?, ?> plot = (CategoryPlot<?, ?>) chart.getPlot();
+        int passCount = plot.getRenderer().getPassCount();
+        assertEquals(passCount, metrics.getPasses().size());
+        assertEquals(12L * passCount, metrics.getItemsDrawn());
+        assertEquals(0L, metrics.getItemsSkipped());
+        assertTrue(metrics.getNanos(ChartDrawMetrics.Phase.ENTITIES) > 0);
+        assertEquals(info.getEntityCollection().getEntityCount(),
+                metrics.getEntityCount());
+    }
+
+    /**
+     * Without entity collection, nothing is recorded for entities.
+     */
+    @Test
+    public void testNoEntities() {
+        List<ChartDrawMetrics> results = draw(createXYChart(), null);
+        ChartDrawMetrics metrics = results.get(0);
+        assertEquals(0L, metrics.getEntityCount());
+        assertEquals(0L, metrics.getNanos(ChartDrawMetrics.Phase.ENTITIES));
+        assertTrue(metrics.getItemsDrawn() > 0);
+    }
+
+    /**
+     * An exception while drawing leaves neither the recorder hint nor the
+     * metered entity collection behind.
+     */
+    @Test
+    public void testDrawFailure() {
+        JFreeChart chart = createXYChart();
+        ((XYPlot<?>) chart.getPlot()).setRenderer(
+                new XYLineAndShapeRenderer() {
+            @Override
+            public void drawItem(Graphics2D g2, XYItemRendererState state,
+                    Rectangle2D dataArea, PlotRenderingInfo info,
+                    XYPlot plot, ValueAxis domainAxis, ValueAxis rangeAxis,
+                    XYDataset dataset, int series, int item,
+                    CrosshairState crosshairState, int pass) {
+                throw new IllegalStateException("Failed.");
+            }
+        });
+        List<ChartDrawMetrics> results = new ArrayList<>();
+        chart.addDrawMetricsListener(results::add);
+        ChartRenderingInfo info = new ChartRenderingInfo();
+        EntityCollection entities = info.getEntityCollection();
+        BufferedImage image = new BufferedImage(400, 300,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        assertThrows(IllegalStateException.class, () -> chart.draw(g2,
+                new Rectangle2D.Double(0, 0, 400, 300), null, info));
+        assertNull(g2.getRenderingHint(ChartHints.KEY_DRAW_METRICS));
+        assertSame(entities, info.getEntityCollection());
+        assertTrue(results.isEmpty());
+        g2.dispose();
+    }
+
+    /**
+     * A listener that has been removed is not notified.
+     */
+    @Test
+    public void testRemoveListener() {
+        JFreeChart chart = createXYChart();
+        List<ChartDrawMetrics> results = new ArrayList<>();
+        ChartDrawMetricsListener listener = results::add;
+        chart.addDrawMetricsListener(listener);
+        chart.removeDrawMetricsListener(listener);
+        chart.createBufferedImage(200, 100);
+        assertTrue(results.isEmpty());
+        assertNull(ChartDrawMetrics.start(chart, false));
+    }
+
+    /**
+     * The flight recorder event is committed while it is enabled.
+     *
+     * @throws Exception if there is a problem with the recording.
+     */
+    @Test
+    public void testFlightRecorderEvent() throws Exception {
+        JFreeChart chart = createCategoryChart();
+        CategoryPlot<?, ?> plot = (CategoryPlot<?, ?>) chart.getPlot();
+        int passCount = plot.getRenderer().getPassCount();
+        Path file = Files.createTempFile("chart-draw", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                recording.enable("org.jfree.chart.ChartDraw");
+                recording.start();
+                chart.createBufferedImage(400, 300);
+                recording.stop();
+                recording.dump(file);
+            }
+            List<RecordedEvent> events = new ArrayList<>();
+            for (RecordedEvent e : RecordingFile.readAllEvents(file)) {
+                if (e.getEventType().getName().equals(
+                        "org.jfree.chart.ChartDraw")) {
+                    events.add(e);
+                }
+            }
+            assertEquals(1, events.size());
+            RecordedEvent event = events.get(0);
+            assertEquals(12L * passCount, event.getLong("itemsDrawn"));
+            assertFalse(event.getDuration().isNegative());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+}
@@ -0,0 +1,120 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------
+ * IntervalIndexTest.java
+ * ----------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.jfree.data.Range;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link IntervalIndex} class.
+ */
+public class IntervalIndexTest {
+
+    @Test
+    public void testQuery() {
+        List<Range> items = Arrays.asList(new Range(5.0, 6.0),
+                new Range(0.0, 10.0), null, new Range(1.0, 2.0),
+                new Range(8.0, 8.0));
+        IntervalIndex<Range> index = new IntervalIndex<>(items, r -> r);
+        assertEquals(5, index.size());
+        assertEquals(Arrays.asList(items.get(1), null, items.get(3)),
+                index.query(new Range(1.5, 3.0)));
+        // bounds are included
+        assertEquals(Arrays.asList(items.get(0), items.get(1), null,
+                items.get(4)), index.query(new Range(6.0, 8.0)));
+        assertEquals(Arrays.asList((Range) null),
+                index.query(new Range(11.0, 12.0)));
+    }
+
+    @Test
+    public void testNaNBounds() {
+        List<Range> items = Arrays.asList(new Range(Double.NaN, Double.NaN),
+                new Range(1.0, 2.0));
+        IntervalIndex<Range> index = new IntervalIndex<>(items, r -> r);
+        // items with a NaN bound are always returned
+        List<Range> result = index.query(new Range(0.0, 3.0));
+        assertEquals(2, result.size());
+        assertSame(items.get(0), result.get(0));
+        assertSame(items.get(1), result.get(1));
+        result = index.query(new Range(5.0, 6.0));
+        assertEquals(1, result.size());
+        assertSame(items.get(0), result.get(0));
+    }
+
+    @Test
+    public void testEmpty() {
+        IntervalIndex<Range> index = new IntervalIndex<>(
+                new ArrayList<>(), r -> r);
+        assertTrue(index.query(new Range(0.0, 1.0)).isEmpty());
+    }
+
+    /**
+     * Compares the results of random queries against a linear scan.
+     */
+    @Test
+    public void testRandomQueries() {
+        Random random = new Random(123L);
+        List<Range> items = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            double lower = random.nextDouble() * 100.0;
+            items.add(new Range(lower, lower + random.nextDouble() * 20.0));
+        }
+        IntervalIndex<Range> index = new IntervalIndex<>(items, r -> r);
+        for (int q = 0; q < 200; q++) {
+            double lower = random.nextDouble() * 120.0 - 10.0;
+            Range range = new Range(lower, lower + random.nextDouble() * 10);
+            List<Range> expected = new ArrayList<>();
+            for (Range r : items) {
+                if (r.getLowerBound() <= range.getUpperBound()
+                        && r.getUpperBound() >= range.getLowerBound()) {
+                    expected.add(r);
+                }
+            }
+            assertEquals(expected, index.query(range));
+        }
+    }
+
+}
@@ -38,12 +38,16 @@ package org.jfree.chart.plot;
 
 import java.awt.Font;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.jfree.chart.JFreeChart;
+import org.jfree.chart.ChartRenderingInfo;
 import org.jfree.chart.TestUtils;
 import org.jfree.chart.annotations.XYTextAnnotation;
 import org.jfree.chart.axis.AxisLocation;
@@ -53,6 +57,7 @@ import org.jfree.chart.event.ChartChangeListener;
 import org.jfree.chart.renderer.xy.StandardXYItemRenderer;
 import org.jfree.chart.renderer.xy.XYItemRenderer;
 import org.jfree.chart.internal.CloneUtils;
+import org.jfree.chart.util.StreamingSVGGraphics2D;
 import org.jfree.data.xy.XYDataset;
 import org.jfree.data.xy.XYSeries;
 import org.jfree.data.xy.XYSeriesCollection;
@@ -275,4 +280,96 @@ public class CombinedDomainXYPlotTest implements ChartChangeListener {
         plot.setOrientation(PlotOrientation.VERTICAL);
         return plot;
     }
+
+    /**
+     * Drawing the subplots in parallel gives the same rendering info and
+     * the same image (allowing for rounding in the compositing of the
+     * tiles) as drawing them in sequence.
+     */
+    @Test
+    public void testParallelRendering() {
+        CombinedDomainXYPlot<String> plot1 = createPlot();
+        CombinedDomainXYPlot<String> plot2 = createPlot();
+        plot1.setParallelRendering(true);
+        assertTrue(plot1.isParallelRendering());
+        assertNotEquals(plot1, plot2);
+        plot2.setParallelRendering(true);
+        assertEquals(plot1, plot2);
+
+        plot2.setParallelRendering(false);
+        ChartRenderingInfo info1 = new ChartRenderingInfo();
+        ChartRenderingInfo info2 = new ChartRenderingInfo();
+        BufferedImage image1 = new JFreeChart(plot1).createBufferedImage(
+                400, 600, info1);
+        BufferedImage image2 = new JFreeChart(plot2).createBufferedImage(
+                400, 600, info2);
+        assertEquals(2, info1.getPlotInfo().getSubplotCount());
+        assertSame(info1,
+                info1.getPlotInfo().getSubplotInfo(1).getOwner());
+        assertEquals(info2.getPlotInfo().getSubplotInfo(1).getDataArea(),
+                info1.getPlotInfo().getSubplotInfo(1).getDataArea());
+        assertEquals(info2.getEntityCollection().getEntityCount(),
+                info1.getEntityCollection().getEntityCount());
+        for (int x = 0; x < 400; x++) {
+            for (int y = 0; y < 600; y++) {
+                int rgb1 = image1.getRGB(x, y);
+                int rgb2 = image2.getRGB(x, y);
+                for (int shift = 0; shift < 32; shift += 8) {
+                    assertEquals((rgb2 >> shift) & 0xFF,
+                            (rgb1 >> shift) & 0xFF, 2);
+                }
+            }
+        }
+    }
+
+    /**
+     * The parallel tiles respect the clip of the target.
+     */
+    @Test
+    public void testParallelRenderingClip() {
+        CombinedDomainXYPlot<String> plot1 = createPlot();
+        CombinedDomainXYPlot<String> plot2 = createPlot();
+        plot1.setParallelRendering(true);
+        BufferedImage image1 = drawClipped(new JFreeChart(plot1));
+        BufferedImage image2 = drawClipped(new JFreeChart(plot2));
+        for (int x = 0; x < 400; x++) {
+            for (int y = 0; y < 600; y++) {
+                int rgb1 = image1.getRGB(x, y);
+                int rgb2 = image2.getRGB(x, y);
+                for (int shift = 0; shift < 32; shift += 8) {
+                    assertEquals((rgb2 >> shift) & 0xFF,
+                            (rgb1 >> shift) & 0xFF, 2);
+                }
+            }
+        }
+        assertEquals(0, image1.getRGB(10, 10));
+    }
+
+    private static BufferedImage drawClipped(JFreeChart chart) {
+        BufferedImage image = new BufferedImage(400, 600,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        g2.clip(new Rectangle(50, 100, 200, 300));
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 400, 600));
+        g2.dispose();
+        return image;
+    }
+
+    /**
+     * The subplots are drawn in sequence for vector targets, even when the
+     * parallel rendering flag is set, so that the output contains no
+     * bitmaps.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    @Test
+    public void testParallelRenderingVectorTarget() throws IOException {
+        CombinedDomainXYPlot<String> plot = createPlot();
+        plot.setParallelRendering(true);
+        StringWriter out = new StringWriter();
+        StreamingSVGGraphics2D g2 = new StreamingSVGGraphics2D(out, 400, 600);
+        new JFreeChart(plot).draw(g2, new Rectangle2D.Double(0, 0, 400, 600));
+        g2.finish();
+        assertFalse(out.toString().contains("<image"));
+    }
 }
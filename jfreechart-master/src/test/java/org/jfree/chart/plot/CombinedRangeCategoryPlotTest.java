@@ -42,6 +42,7 @@ import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.jfree.chart.ChartRenderingInfo;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.TestUtils;
 import org.jfree.chart.axis.CategoryAxis;
@@ -271,4 +272,42 @@ public class CombinedRangeCategoryPlotTest implements ChartChangeListener {
         return plot;
     }
 
+    /**
+     * Drawing the subplots in parallel gives the same rendering info and
+     * the same image (allowing for rounding in the compositing of the
+     * tiles) as drawing them in sequence.
+     */
+    @Test
+    public void testParallelRendering() {
+        CombinedRangeCategoryPlot plot1 = createPlot();
+        CombinedRangeCategoryPlot plot2 = createPlot();
+        plot1.setParallelRendering(true);
+        assertTrue(plot1.isParallelRendering());
+        assertNotEquals(plot1, plot2);
+        plot2.setParallelRendering(true);
+        assertEquals(plot1, plot2);
+
+        plot2.setParallelRendering(false);
+        ChartRenderingInfo info1 = new ChartRenderingInfo();
+        ChartRenderingInfo info2 = new ChartRenderingInfo();
+        BufferedImage image1 = new JFreeChart(plot1).createBufferedImage(
+                400, 600, info1);
+        BufferedImage image2 = new JFreeChart(plot2).createBufferedImage(
+                400, 600, info2);
+        assertEquals(2, info1.getPlotInfo().getSubplotCount());
+        assertEquals(info2.getPlotInfo().getSubplotInfo(1).getDataArea(),
+                info1.getPlotInfo().getSubplotInfo(1).getDataArea());
+        assertEquals(info2.getEntityCollection().getEntityCount(),
+                info1.getEntityCollection().getEntityCount());
+        for (int x = 0; x < 400; x++) {
+            for (int y = 0; y < 600; y++) {
+                int rgb1 = image1.getRGB(x, y);
+                int rgb2 = image2.getRGB(x, y);
+                for (int shift = 0; shift < 32; shift += 8) {
+                    assertEquals((rgb2 >> shift) & 0xFF,
+                            (rgb1 >> shift) & 0xFF, 2);
+                }
+            }
+        }
+    }
 }
@@ -46,6 +46,7 @@ import org.jfree.chart.TestUtils;
 import org.jfree.chart.axis.NumberAxis;
 import org.jfree.chart.axis.ValueAxis;
 import org.jfree.chart.internal.CloneUtils;
+import org.jfree.chart.renderer.ScatterRasterizer;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -119,6 +120,11 @@ public class FastScatterPlotTest {
         plot2.setRangePannable(true);
         assertEquals(plot1, plot2);
 
+        plot1.setRasterizer(new ScatterRasterizer());
+        assertNotEquals(plot1, plot2);
+        plot2.setRasterizer(new ScatterRasterizer());
+        assertEquals(plot1, plot2);
+
     }
 
     /**
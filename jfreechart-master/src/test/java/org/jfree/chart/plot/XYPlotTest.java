@@ -49,16 +49,20 @@ import java.awt.image.BufferedImage;
 import java.util.Arrays;
 import java.util.EventListener;
 import java.util.List;
+import java.util.function.BooleanSupplier;
 
 import org.jfree.chart.ChartFactory;
+import org.jfree.chart.ChartHints;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.legend.LegendItem;
 import org.jfree.chart.legend.LegendItemCollection;
 import org.jfree.chart.TestUtils;
+import org.jfree.chart.annotations.XYLineAnnotation;
 import org.jfree.chart.annotations.XYTextAnnotation;
 import org.jfree.chart.axis.AxisLocation;
 import org.jfree.chart.axis.DateAxis;
 import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.axis.ValueAxis;
 import org.jfree.chart.date.MonthConstants;
 import org.jfree.chart.event.MarkerChangeListener;
 import org.jfree.chart.labels.StandardXYToolTipGenerator;
@@ -66,6 +70,7 @@ import org.jfree.chart.renderer.xy.DefaultXYItemRenderer;
 import org.jfree.chart.renderer.xy.StandardXYItemRenderer;
 import org.jfree.chart.renderer.xy.XYBarRenderer;
 import org.jfree.chart.renderer.xy.XYItemRenderer;
+import org.jfree.chart.renderer.xy.XYItemRendererState;
 import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
 import org.jfree.chart.api.Layer;
 import org.jfree.chart.api.RectangleInsets;
@@ -409,6 +414,11 @@ public class XYPlotTest {
         plot2.setShadowGenerator(null);
         assertEquals(plot1, plot2);
 
+        plot1.setDatasetSnapshots(true);
+        assertNotEquals(plot1, plot2);
+        plot2.setDatasetSnapshots(true);
+        assertEquals(plot1, plot2);
+
         LegendItemCollection lic1 = new LegendItemCollection();
         lic1.add(new LegendItem("XYZ", Color.RED));
         plot1.setFixedLegendItems(lic1);
@@ -1049,6 +1059,33 @@ public class XYPlotTest {
         }
     }
 
+    /**
+     * Drawing from a dataset snapshot gives the same result as drawing from
+     * the dataset, and the renderer finds the dataset index through the
+     * snapshot.
+     */
+    @Test
+    public void testDrawFromSnapshot() {
+        XYSeries<String> series = new XYSeries<>("S1");
+        for (int i = 0; i < 50; i++) {
+            series.add(i, Math.sin(i / 5.0));
+        }
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>(series);
+        JFreeChart chart = ChartFactory.createXYLineChart("Title", "X", "Y",
+                dataset, PlotOrientation.VERTICAL, true, false, false);
+        XYPlot<String> plot = (XYPlot<String>) chart.getPlot();
+        plot.setDomainCrosshairVisible(true);
+        BufferedImage expected = chart.createBufferedImage(300, 200);
+        plot.setDatasetSnapshots(true);
+        assertEquals(0, plot.indexOf(dataset.snapshot()));
+        BufferedImage actual = chart.createBufferedImage(300, 200);
+        for (int x = 0; x < 300; x++) {
+            for (int y = 0; y < 200; y++) {
+                assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+
     /**
      * Check that removing a marker that isn't assigned to the plot returns
      * false.
@@ -1415,4 +1452,99 @@ public class XYPlotTest {
         assertEquals(new Range(1.0, 6.0), plot.getDataRange(xAxis));
         assertEquals(new Range(2.0, 10.0), plot.getDataRange(yAxis)); // only y-values for items in the x-range        
     }    
+
+    /**
+     * Annotations and markers that lie outside the axis ranges are not
+     * drawn, and changes to them are picked up by the next drawing.
+     */
+    @Test
+    public void testOffscreenOverlaysSkipped() {
+        int[] annotationCount = new int[1];
+        int[] markerCount = new int[1];
+        XYItemRenderer renderer = new XYLineAndShapeRenderer() {
+            @Override
+            public void drawDomainMarker(Graphics2D g2, XYPlot plot,
+                    ValueAxis domainAxis, Marker marker,
+                    Rectangle2D dataArea) {
+                markerCount[0]++;
+            }
+        };
+        NumberAxis xAxis = new NumberAxis("X");
+        xAxis.setRange(0.0, 10.0);
+        NumberAxis yAxis = new NumberAxis("Y");
+        yAxis.setRange(0.0, 10.0);
+        XYPlot<String> plot = new XYPlot<>(new XYSeriesCollection<String>(),
+                xAxis, yAxis, renderer);
+        plot.addAnnotation(countingAnnotation(1, 1, 2, 2, annotationCount));
+        plot.addAnnotation(countingAnnotation(1, 20, 2, 30, annotationCount));
+        plot.addAnnotation(countingAnnotation(20, 1, 30, 2, annotationCount));
+        ValueMarker marker = new ValueMarker(50.0);
+        plot.addDomainMarker(marker);
+        JFreeChart chart = new JFreeChart(plot);
+        chart.createBufferedImage(300, 200);
+        assertEquals(1, annotationCount[0]);
+        assertEquals(0, markerCount[0]);
+
+        annotationCount[0] = 0;
+        plot.addAnnotation(countingAnnotation(-5, -5, 5, 5, annotationCount),
+                false);
+        marker.setValue(5.0);
+        chart.createBufferedImage(300, 200);
+        assertEquals(2, annotationCount[0]);
+        assertEquals(1, markerCount[0]);
+    }
+
+    /**
+     * The plot stops drawing items once the draw is cancelled.
+     */
+    @Test
+    public void testDrawCancelled() {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        for (int i = 0; i < 5000; i++) {
+            s1.add(i, i % 7);
+        }
+        int[] items = new int[1];
+        boolean[] cancelled = new boolean[1];
+        XYLineAndShapeRenderer renderer = new XYLineAndShapeRenderer() {
+            @Override
+            public void drawItem(Graphics2D g2, XYItemRendererState state,
+                    Rectangle2D dataArea, PlotRenderingInfo info,
+                    XYPlot plot, ValueAxis domainAxis, ValueAxis rangeAxis,
+                    XYDataset dataset, int series, int item,
+                    CrosshairState crosshairState, int pass) {
+                items[0]++;
+                if (item == 1500) {
+                    cancelled[0] = true;
+                }
+                super.drawItem(g2, state, dataArea, info, plot, domainAxis,
+                        rangeAxis, dataset, series, item, crosshairState,
+                        pass);
+            }
+        };
+        XYPlot<String> plot = new XYPlot<>(new XYSeriesCollection<>(s1),
+                new NumberAxis("X"), new NumberAxis("Y"), renderer);
+        JFreeChart chart = new JFreeChart(plot);
+        BufferedImage image = new BufferedImage(300, 200,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        g2.setRenderingHint(ChartHints.KEY_DRAW_CANCELLED,
+                (BooleanSupplier) () -> cancelled[0]);
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 300, 200));
+        g2.dispose();
+        // the hint is checked every 1024 items
+        assertEquals(2048, items[0]);
+    }
+
+    private static XYLineAnnotation countingAnnotation(double x1, double y1,
+            double x2, double y2, int[] count) {
+        return new XYLineAnnotation(x1, y1, x2, y2) {
+            @Override
+            public void draw(Graphics2D g2, XYPlot plot, Rectangle2D dataArea,
+                    ValueAxis domainAxis, ValueAxis rangeAxis,
+                    int rendererIndex, PlotRenderingInfo info) {
+                count[0]++;
+            }
+        };
+    }
+
 }
@@ -38,13 +38,21 @@ package org.jfree.chart.plot.flow;
 
 import java.awt.Color;
 import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 import java.util.Arrays;
 import java.util.List;
+import org.jfree.chart.ChartRenderingInfo;
+import org.jfree.chart.JFreeChart;
 import org.jfree.chart.TestUtils;
 import org.jfree.chart.api.VerticalAlignment;
+import org.jfree.chart.entity.FlowEntity;
+import org.jfree.chart.entity.NodeEntity;
 import org.jfree.chart.event.PlotChangeEvent;
 import org.jfree.chart.event.PlotChangeListener;
 import org.jfree.chart.labels.StandardFlowLabelGenerator;
+import org.jfree.data.flow.DefaultFlowDataset;
 import org.jfree.data.flow.NodeKey;
 import org.junit.jupiter.api.Test;
 
@@ -273,5 +281,36 @@ public class FlowPlotTest implements PlotChangeListener {
         FlowPlot p2 = TestUtils.serialised(p1);
         assertEquals(p1, p2);
     }
+
+    /**
+     * Drawing the plot adds an entity for every node and every flow.
+     */
+    @Test
+    public void testDrawEntities() {
+        DefaultFlowDataset<String> d = new DefaultFlowDataset<>();
+        d.setFlow(0, "A", "X", 2.0);
+        d.setFlow(0, "A", "Y", 3.0);
+        d.setFlow(0, "B", "Y", 1.0);
+        d.setFlow(1, "X", "Z", 2.0);
+        d.setFlow(1, "Y", "Z", 4.0);
+        JFreeChart chart = new JFreeChart(new FlowPlot(d));
+        BufferedImage image = new BufferedImage(400, 300,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        ChartRenderingInfo info = new ChartRenderingInfo();
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 400, 300), info);
+        g2.dispose();
+        int nodes = 0;
+        int flows = 0;
+        for (Object entity : info.getEntityCollection().getEntities()) {
+            if (entity instanceof NodeEntity) {
+                nodes++;
+            } else if (entity instanceof FlowEntity) {
+                flows++;
+            }
+        }
+        assertEquals(5, nodes);
+        assertEquals(5, flows);
+    }
  
 }
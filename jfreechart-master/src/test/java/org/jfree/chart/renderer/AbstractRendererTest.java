@@ -804,4 +804,52 @@ public class AbstractRendererTest {
         assertNotNull(r.getSeriesOutlinePaint(0));
     }
 
+    /**
+     * The resolved series attributes are cached, so check that every way of
+     * changing them (with or without an event) is picked up.
+     */
+    @Test
+    public void testResolvedAttributesFollowChanges() {
+        BarRenderer r = new BarRenderer();
+        r.setAutoPopulateSeriesPaint(false);
+        r.setAutoPopulateSeriesStroke(false);
+        r.setAutoPopulateSeriesShape(false);
+        assertEquals(Color.BLUE, r.lookupSeriesPaint(2));
+        assertEquals(Color.BLUE, r.getItemPaint(2, 0));
+        r.setSeriesPaint(2, Color.RED, false);
+        assertEquals(Color.RED, r.getItemPaint(2, 0));
+        r.setDefaultPaint(Color.GREEN, false);
+        assertEquals(Color.GREEN, r.lookupSeriesPaint(1));
+        r.clearSeriesPaints(false);
+        assertEquals(Color.GREEN, r.lookupSeriesPaint(2));
+
+        Stroke s = new BasicStroke(2.0f);
+        assertEquals(AbstractRenderer.DEFAULT_STROKE, r.lookupSeriesStroke(0));
+        r.setSeriesStroke(0, s, false);
+        assertEquals(s, r.getItemStroke(0, 0));
+        r.setDefaultShape(new Rectangle(1, 2, 3, 4), false);
+        assertEquals(new Rectangle(1, 2, 3, 4), r.lookupSeriesShape(5));
+
+        assertTrue(r.isSeriesVisible(1));
+        r.setSeriesVisible(1, false, false);
+        assertFalse(r.getItemVisible(1, 0));
+        r.setDefaultSeriesVisible(false, false);
+        assertFalse(r.isSeriesVisible(0));
+
+        assertFalse(r.isItemLabelVisible(0, 0));
+        r.setSeriesItemLabelsVisible(0, true, false);
+        assertTrue(r.isItemLabelVisible(0, 0));
+        r.setDefaultItemLabelsVisible(true, false);
+        assertTrue(r.isSeriesItemLabelsVisible(3));
+
+        // with auto-populate on, a paint looked up before the renderer has
+        // a drawing supplier is not kept
+        BarRenderer r2 = new BarRenderer();
+        assertEquals(Color.BLUE, r2.lookupSeriesPaint(0));
+        CategoryPlot<String, String> plot = new CategoryPlot<>(null,
+                new CategoryAxis("Category"), new NumberAxis("Value"), r2);
+        assertEquals(DefaultDrawingSupplier.DEFAULT_PAINT_SEQUENCE[0],
+                r2.lookupSeriesPaint(0));
+    }
+
 }
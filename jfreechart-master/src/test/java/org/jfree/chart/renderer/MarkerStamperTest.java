@@ -0,0 +1,233 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------
+ * MarkerStamperTest.java
+ * ----------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.renderer;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.StringWriter;
+
+import org.jfree.chart.ChartRenderingInfo;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.internal.ShapeUtils;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+import org.jfree.chart.util.StreamingSVGGraphics2D;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link MarkerStamper} class.
+ */
+public class MarkerStamperTest {
+
+    /**
+     * Returns the largest difference between two images in any channel.
+     *
+     * @param a  image A.
+     * @param b  image B.
+     *
+     * @return The largest difference.
+     */
+    private static int maxDifference(BufferedImage a, BufferedImage b) {
+        int max = 0;
+        for (int y = 0; y < a.getHeight(); y++) {
+            for (int x = 0; x < a.getWidth(); x++) {
+                int p = a.getRGB(x, y);
+                int q = b.getRGB(x, y);
+                for (int shift = 0; shift < 32; shift += 8) {
+                    int d = Math.abs(((p >> shift) & 0xFF)
+                            - ((q >> shift) & 0xFF));
+                    max = Math.max(max, d);
+                }
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns the number of pixels that differ between two images.
+     *
+     * @param a  image A.
+     * @param b  image B.
+     *
+     * @return The number of differing pixels.
+     */
+    private static int countDifferences(BufferedImage a, BufferedImage b) {
+        int count = 0;
+        for (int y = 0; y < a.getHeight(); y++) {
+            for (int x = 0; x < a.getWidth(); x++) {
+                if (a.getRGB(x, y) != b.getRGB(x, y)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static BufferedImage createImage() {
+        BufferedImage image = new BufferedImage(60, 40,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        g2.setPaint(Color.WHITE);
+        g2.fillRect(0, 0, 60, 40);
+        g2.dispose();
+        return image;
+    }
+
+    /**
+     * Image targets are raster targets, SVG targets are not.
+     */
+    @Test
+    public void testIsRasterTarget() {
+        BufferedImage image = createImage();
+        Graphics2D g2 = image.createGraphics();
+        assertTrue(MarkerStamper.isRasterTarget(g2));
+        g2.dispose();
+        StreamingSVGGraphics2D svg = new StreamingSVGGraphics2D(
+                new StringWriter(), 60, 40);
+        assertFalse(MarkerStamper.isRasterTarget(svg));
+        MarkerStamper stamper = new MarkerStamper();
+        assertFalse(stamper.stamp(svg, new Rectangle2D.Double(-3, -3, 6, 6),
+                10.0, 10.0, Color.RED, null, null));
+        assertEquals(0, stamper.getSpriteCount());
+    }
+
+    /**
+     * Stamping at whole and quarter pixel locations matches vector drawing,
+     * with and without antialiasing, and sprites are shared between items.
+     */
+    @Test
+    public void testStampMatchesVectorDrawing() {
+        Shape shape = new Ellipse2D.Double(-4.0, -4.0, 8.0, 8.0);
+        BasicStroke stroke = new BasicStroke(1.5f);
+        double[][] points = {{10.0, 10.0}, {25.0, 12.0}, {40.25, 20.75},
+                {13.5, 30.0}, {50.0, 33.25}, {-2.0, 20.0}};
+        for (Object aa : new Object[] {RenderingHints.VALUE_ANTIALIAS_ON,
+                RenderingHints.VALUE_ANTIALIAS_OFF}) {
+            BufferedImage expected = createImage();
+            BufferedImage actual = createImage();
+            Graphics2D g2e = expected.createGraphics();
+            Graphics2D g2a = actual.createGraphics();
+            g2e.setRenderingHint(RenderingHints.KEY_ANTIALIASING, aa);
+            g2a.setRenderingHint(RenderingHints.KEY_ANTIALIASING, aa);
+            MarkerStamper stamper = new MarkerStamper();
+            for (double[] p : points) {
+                Shape s = ShapeUtils.createTranslatedShape(shape, p[0], p[1]);
+                // sprites are filled with the default stroke in place
+                g2e.setStroke(new BasicStroke());
+                g2e.setPaint(Color.ORANGE);
+                g2e.fill(s);
+                g2e.setPaint(Color.BLUE);
+                g2e.setStroke(stroke);
+                g2e.draw(s);
+                assertTrue(stamper.stamp(g2a, shape, p[0], p[1],
+                        Color.ORANGE, Color.BLUE, stroke));
+            }
+            g2e.dispose();
+            g2a.dispose();
+            assertTrue(maxDifference(expected, actual) <= 2);
+            // (10, 10), (25, 12) and (-2, 20) share a sprite
+            assertEquals(4, stamper.getSpriteCount());
+        }
+    }
+
+    /**
+     * Stamping is declined when it cannot match vector drawing.
+     */
+    @Test
+    public void testStampDeclined() {
+        Shape shape = new Rectangle2D.Double(-3, -3, 6, 6);
+        MarkerStamper stamper = new MarkerStamper();
+        BufferedImage image = createImage();
+        Graphics2D g2 = image.createGraphics();
+        assertFalse(stamper.stamp(g2, shape, 10.0, 10.0, new GradientPaint(
+                0f, 0f, Color.RED, 10f, 10f, Color.BLUE), null, null));
+        g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER,
+                0.5f));
+        assertFalse(stamper.stamp(g2, shape, 10.0, 10.0, Color.RED, null,
+                null));
+        g2.setComposite(AlphaComposite.SrcOver);
+        g2.scale(2.0, 2.0);
+        assertFalse(stamper.stamp(g2, shape, 10.0, 10.0, Color.RED, null,
+                null));
+        assertFalse(stamper.stamp(g2, new Rectangle2D.Double(-50, -50, 100,
+                100), 10.0, 10.0, Color.RED, null, null));
+        g2.dispose();
+        assertEquals(0, stamper.getSpriteCount());
+    }
+
+    /**
+     * A chart drawn with marker stamping on matches the same chart drawn
+     * with vector shapes (apart from the odd shape edge that moves by one
+     * pixel, since locations are rounded to a quarter pixel), and still
+     * collects item entities.
+     */
+    @Test
+    public void testXYLineAndShapeRendererStamping() {
+        XYSeries<String> series = new XYSeries<>("S1");
+        for (int i = 0; i < 50; i++) {
+            series.add(i, Math.sin(i / 5.0));
+        }
+        XYLineAndShapeRenderer renderer = new XYLineAndShapeRenderer(false,
+                true);
+        XYPlot<String> plot = new XYPlot<>(new XYSeriesCollection<>(series),
+                new NumberAxis("X"), new NumberAxis("Y"), renderer);
+        JFreeChart chart = new JFreeChart(plot);
+        chart.setAntiAlias(false);
+        ChartRenderingInfo info1 = new ChartRenderingInfo();
+        BufferedImage expected = chart.createBufferedImage(400, 300, info1);
+        renderer.setMarkerStamping(true);
+        ChartRenderingInfo info2 = new ChartRenderingInfo();
+        BufferedImage actual = chart.createBufferedImage(400, 300, info2);
+        assertTrue(countDifferences(expected, actual) < 400 * 300 / 200);
+        assertEquals(info1.getEntityCollection().getEntityCount(),
+                info2.getEntityCollection().getEntityCount());
+    }
+
+}
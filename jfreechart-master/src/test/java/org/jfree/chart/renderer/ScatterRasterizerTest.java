@@ -0,0 +1,248 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------------
+ * ScatterRasterizerTest.java
+ * --------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.renderer;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.api.PublicCloneable;
+import org.jfree.chart.axis.LogAxis;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.internal.CloneUtils;
+import org.jfree.chart.plot.FastScatterPlot;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.XYDotRenderer;
+import org.jfree.data.xy.DefaultXYDataset;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link ScatterRasterizer} class.
+ */
+public class ScatterRasterizerTest {
+
+    /**
+     * Creates some random data, with a few {@code NaN} values.
+     *
+     * @param n  the number of points.
+     *
+     * @return The data.
+     */
+    private static float[][] createData(int n) {
+        Random random = new Random(42);
+        float[][] data = new float[2][n];
+        for (int i = 0; i < n; i++) {
+            data[0][i] = (float) (1.0 + random.nextDouble() * 99.0);
+            data[1][i] = (float) (random.nextGaussian() * 10.0);
+        }
+        data[0][3] = Float.NaN;
+        data[1][7] = Float.NaN;
+        return data;
+    }
+
+    /**
+     * Draws a chart to an image.
+     *
+     * @param chart  the chart.
+     *
+     * @return The image.
+     */
+    private static BufferedImage draw(JFreeChart chart) {
+        BufferedImage image = new BufferedImage(400, 300,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 400, 300), null, null);
+        g2.dispose();
+        return image;
+    }
+
+    /**
+     * Returns {@code true} if two images have the same pixels.
+     *
+     * @param a  the first image.
+     * @param b  the second image.
+     *
+     * @return A boolean.
+     */
+    private static boolean samePixels(BufferedImage a, BufferedImage b) {
+        for (int y = 0; y < a.getHeight(); y++) {
+            for (int x = 0; x < a.getWidth(); x++) {
+                if (a.getRGB(x, y) != b.getRGB(x, y)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A fast scatter plot drawn with a rasterizer should look the same as
+     * one drawn a point at a time, for linear and logarithmic axes.
+     */
+    @Test
+    public void testFastScatterPlot() {
+        float[][] data = createData(20000);
+        for (boolean log : new boolean[] {false, true}) {
+            FastScatterPlot plot = new FastScatterPlot(data,
+                    log ? new LogAxis("X") : new NumberAxis("X"),
+                    new NumberAxis("Y"));
+            JFreeChart chart = new JFreeChart(plot);
+            BufferedImage expected = draw(chart);
+            plot.setRasterizer(new ScatterRasterizer());
+            assertTrue(samePixels(expected, draw(chart)));
+        }
+    }
+
+    /**
+     * An {@link XYDotRenderer} with a rasterizer should draw the same dots,
+     * in both orientations.
+     */
+    @Test
+    public void testXYDotRenderer() {
+        float[][] f = createData(5000);
+        double[][] d = new double[2][f[0].length];
+        for (int i = 0; i < f[0].length; i++) {
+            d[0][i] = f[0][i];
+            d[1][i] = f[1][i];
+        }
+        DefaultXYDataset<String> dataset = new DefaultXYDataset<>();
+        dataset.addSeries("S1", d);
+        for (PlotOrientation orientation : new PlotOrientation[] {
+                PlotOrientation.VERTICAL, PlotOrientation.HORIZONTAL}) {
+            XYDotRenderer renderer = new XYDotRenderer();
+            renderer.setDotWidth(3);
+            renderer.setDotHeight(2);
+            XYPlot<String> plot = new XYPlot<>(dataset, new NumberAxis("X"),
+                    new NumberAxis("Y"), renderer);
+            plot.setOrientation(orientation);
+            JFreeChart chart = new JFreeChart(plot);
+            BufferedImage expected = draw(chart);
+            renderer.setRasterizer(new ScatterRasterizer());
+            assertTrue(samePixels(expected, draw(chart)));
+        }
+    }
+
+    /**
+     * With a density paint scale, the pixels are colored by the number of
+     * points that fall on them, counted in parallel for large inputs.
+     */
+    @Test
+    public void testDensity() {
+        int n = ScatterRasterizer.THRESHOLD * 4;
+        float[][] data = new float[2][n];
+        for (int i = 0; i < n; i++) {
+            // most of the points on one spot, the rest on another
+            data[0][i] = (i % 4 == 0) ? 2.5f : 7.5f;
+            data[1][i] = (i % 4 == 0) ? 2.5f : 7.5f;
+        }
+        data[0][0] = 5.05f;
+        data[1][0] = 5.05f;
+        NumberAxis xAxis = new NumberAxis("X");
+        xAxis.setRange(0.0, 10.0);
+        NumberAxis yAxis = new NumberAxis("Y");
+        yAxis.setRange(0.0, 10.0);
+        BufferedImage image = new BufferedImage(100, 100,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        ScatterRasterizer r = new ScatterRasterizer(new GrayPaintScale());
+        r.setLogDensity(false);
+        r.draw(g2, new Rectangle2D.Double(0, 0, 100, 100), xAxis, yAxis, data,
+                Color.RED);
+        g2.dispose();
+        // the busiest pixel gets the upper bound of the scale (white) and a
+        // pixel with a single point the lower bound (black)
+        assertEquals(Color.WHITE.getRGB(), image.getRGB(75, 25));
+        assertEquals(new Color(85, 85, 85).getRGB(), image.getRGB(25, 75));
+        assertEquals(Color.BLACK.getRGB(), image.getRGB(50, 49));
+        assertEquals(0, image.getRGB(10, 10));
+    }
+
+    /**
+     * Confirm that the equals method can distinguish all the required fields.
+     */
+    @Test
+    public void testEquals() {
+        ScatterRasterizer r1 = new ScatterRasterizer();
+        ScatterRasterizer r2 = new ScatterRasterizer();
+        assertEquals(r1, r2);
+        assertEquals(r1.hashCode(), r2.hashCode());
+
+        r1.setDensityPaintScale(new GrayPaintScale(1.0, 2.0));
+        assertNotEquals(r1, r2);
+        r2.setDensityPaintScale(new GrayPaintScale(1.0, 2.0));
+        assertEquals(r1, r2);
+
+        r1.setLogDensity(false);
+        assertNotEquals(r1, r2);
+        r2.setLogDensity(false);
+        assertEquals(r1, r2);
+        assertEquals(r1.hashCode(), r2.hashCode());
+    }
+
+    /**
+     * Confirm that cloning works.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        ScatterRasterizer r1 = new ScatterRasterizer(new LookupPaintScale());
+        ScatterRasterizer r2 = CloneUtils.clone(r1);
+        assertNotSame(r1, r2);
+        assertSame(r1.getClass(), r2.getClass());
+        assertEquals(r1, r2);
+        assertNotSame(r1.getDensityPaintScale(), r2.getDensityPaintScale());
+        assertTrue(r1 instanceof PublicCloneable);
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        ScatterRasterizer r1 = new ScatterRasterizer(new GrayPaintScale());
+        r1.setLogDensity(false);
+        ScatterRasterizer r2 = TestUtils.serialised(r1);
+        assertEquals(r1, r2);
+    }
+
+}
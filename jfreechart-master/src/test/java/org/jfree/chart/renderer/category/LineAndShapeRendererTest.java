@@ -108,6 +108,11 @@ public class LineAndShapeRendererTest {
         assertNotEquals(r1, r2);
         r2.setItemMargin(0.14);
         assertEquals(r1, r2);
+
+        r1.setMarkerStamping(true);
+        assertNotEquals(r1, r2);
+        r2.setMarkerStamping(true);
+        assertEquals(r1, r2);
     }
 
     /**
@@ -0,0 +1,194 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------------------
+ * BatchingXYLineRendererTest.java
+ * --------------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.renderer.xy;
+
+import java.awt.geom.PathIterator;
+import java.awt.image.BufferedImage;
+
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.api.PublicCloneable;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.internal.CloneUtils;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link BatchingXYLineRenderer} class.
+ */
+public class BatchingXYLineRendererTest {
+
+    /**
+     * Check that the equals() method distinguishes all fields.
+     */
+    @Test
+    public void testEquals() {
+        BatchingXYLineRenderer r1 = new BatchingXYLineRenderer();
+        BatchingXYLineRenderer r2 = new BatchingXYLineRenderer();
+        assertEquals(r1, r2);
+
+        r1.setTolerance(0.0);
+        assertNotEquals(r1, r2);
+        r2.setTolerance(0.0);
+        assertEquals(r1, r2);
+
+        // try something from the base class
+        r1.setDefaultCreateEntities(false);
+        assertNotEquals(r1, r2);
+        r2.setDefaultCreateEntities(false);
+        assertEquals(r1, r2);
+    }
+
+    /**
+     * Two objects that are equal are required to return the same hashCode.
+     */
+    @Test
+    public void testHashcode() {
+        BatchingXYLineRenderer r1 = new BatchingXYLineRenderer();
+        r1.setTolerance(0.25);
+        BatchingXYLineRenderer r2 = new BatchingXYLineRenderer();
+        r2.setTolerance(0.25);
+        assertEquals(r1, r2);
+        assertEquals(r1.hashCode(), r2.hashCode());
+    }
+
+    /**
+     * Confirm that cloning works.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        BatchingXYLineRenderer r1 = new BatchingXYLineRenderer();
+        BatchingXYLineRenderer r2 = CloneUtils.clone(r1);
+        assertNotSame(r1, r2);
+        assertSame(r1.getClass(), r2.getClass());
+        assertEquals(r1, r2);
+    }
+
+    /**
+     * Verify that this class implements {@link PublicCloneable}.
+     */
+    @Test
+    public void testPublicCloneable() {
+        BatchingXYLineRenderer r1 = new BatchingXYLineRenderer();
+        assertTrue(r1 instanceof PublicCloneable);
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        BatchingXYLineRenderer r1 = new BatchingXYLineRenderer();
+        r1.setTolerance(1.5);
+        BatchingXYLineRenderer r2 = TestUtils.serialised(r1);
+        assertEquals(r1, r2);
+    }
+
+    /**
+     * Points that are collinear or within the tolerance of the previous
+     * vertex are merged, and gaps in the data break the line.
+     */
+    @Test
+    public void testSimplification() {
+        BatchingXYLineRenderer.State s = new BatchingXYLineRenderer.State(
+                null);
+        s.tolerance = 0.5;
+        s.clip.setRect(0.0, 0.0, 100.0, 100.0);
+        s.resetPath(16);
+        s.addPoint(0.0, 0.0);
+        s.addPoint(10.0, 10.0);
+        s.addPoint(20.0, 20.1);
+        s.addPoint(20.2, 20.1);
+        s.addPoint(30.0, 10.0);
+        s.endLine();
+        s.addPoint(50.0, 50.0);
+        s.addPoint(60.0, 50.0);
+        s.endLine();
+        // moveTo, lineTo, lineTo, moveTo, lineTo
+        int segments = 0;
+        for (PathIterator it = s.path.getPathIterator(null); !it.isDone();
+                it.next()) {
+            segments++;
+        }
+        assertEquals(5, segments);
+    }
+
+    /**
+     * Segments outside the data area are not added to the path.
+     */
+    @Test
+    public void testClipping() {
+        BatchingXYLineRenderer.State s = new BatchingXYLineRenderer.State(
+                null);
+        s.clip.setRect(0.0, 0.0, 100.0, 100.0);
+        s.resetPath(16);
+        s.addPoint(-500.0, -50.0);
+        s.addPoint(-400.0, -50.0);
+        s.addPoint(50.0, 50.0);
+        s.addPoint(1000.0, 50.0);
+        s.endLine();
+        assertTrue(s.path.getBounds2D().getMinX() >= 0.0);
+        assertTrue(s.path.getBounds2D().getMaxX() <= 100.0);
+    }
+
+    /**
+     * Draws charts with {@code null} values in both orientations to make
+     * sure that no exceptions are thrown.
+     */
+    @Test
+    public void testDrawWithNullValue() {
+        XYSeries<String> s1 = new XYSeries<>("Series 1");
+        for (int i = 0; i < 1000; i++) {
+            s1.add(i, i % 97 == 0 ? null : Double.valueOf(Math.sin(i / 10.0)));
+        }
+        XYPlot<String> plot = new XYPlot<>(new XYSeriesCollection<>(s1),
+                new NumberAxis("X"), new NumberAxis("Y"),
+                new BatchingXYLineRenderer());
+        JFreeChart chart = new JFreeChart(plot);
+        BufferedImage image = chart.createBufferedImage(300, 200, null);
+        assertNotNull(image);
+        plot.setOrientation(PlotOrientation.HORIZONTAL);
+        image = chart.createBufferedImage(300, 200, null);
+        assertNotNull(image);
+    }
+
+}
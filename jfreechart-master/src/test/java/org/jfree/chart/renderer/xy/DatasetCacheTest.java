@@ -0,0 +1,159 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------
+ * DatasetCacheTest.java
+ * ---------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.renderer.xy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.data.general.DatasetChangeListener;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link DatasetCache} class.
+ */
+public class DatasetCacheTest {
+
+    /**
+     * A dataset that keeps track of the listeners registered by caches.
+     */
+    static class TrackingDataset extends XYSeriesCollection<String> {
+
+        final List<DatasetChangeListener> listeners = new ArrayList<>();
+
+        TrackingDataset(double y) {
+            XYSeries<String> series = new XYSeries<>("S1");
+            series.add(1.0, y);
+            addSeries(series);
+        }
+
+        @Override
+        public void addChangeListener(DatasetChangeListener listener) {
+            super.addChangeListener(listener);
+            if (isCacheListener(listener)) {
+                this.listeners.add(listener);
+            }
+        }
+
+        @Override
+        public void removeChangeListener(DatasetChangeListener listener) {
+            super.removeChangeListener(listener);
+            this.listeners.remove(listener);
+        }
+
+        private static boolean isCacheListener(Object listener) {
+            return listener.getClass().getEnclosingClass()
+                    == DatasetCache.class;
+        }
+
+    }
+
+    /**
+     * An entry is created once per dataset and is marked as changed when
+     * its dataset changes.
+     */
+    @Test
+    public void testGet() {
+        DatasetCache<StringBuilder> cache = new DatasetCache<>();
+        TrackingDataset d1 = new TrackingDataset(1.0);
+        DatasetCache.Entry<StringBuilder> e1 = cache.get(d1, null,
+                StringBuilder::new);
+        assertSame(e1, cache.get(d1, null, StringBuilder::new));
+        assertEquals(1, d1.listeners.size());
+        assertFalse(e1.changed);
+        d1.getSeries(0).add(2.0, 2.0);
+        assertTrue(e1.changed);
+    }
+
+    /**
+     * Entries for datasets that have left the plot are purged, and their
+     * listeners are removed.
+     */
+    @Test
+    public void testPurge() {
+        TrackingDataset d1 = new TrackingDataset(1.0);
+        TrackingDataset d2 = new TrackingDataset(2.0);
+        XYPlot<String> plot = new XYPlot<>(d1, new NumberAxis("X"),
+                new NumberAxis("Y"), new XYSplineRenderer());
+        DatasetCache<StringBuilder> cache = new DatasetCache<>();
+        cache.get(d1, plot, StringBuilder::new);
+        assertEquals(1, d1.listeners.size());
+        plot.setDataset(d2);
+        cache.get(d2, plot, StringBuilder::new);
+        assertEquals(1, cache.size());
+        assertTrue(d1.listeners.isEmpty());
+        assertEquals(1, d2.listeners.size());
+    }
+
+    /**
+     * Releasing the cache removes the listeners.
+     */
+    @Test
+    public void testRelease() {
+        TrackingDataset d1 = new TrackingDataset(1.0);
+        TrackingDataset d2 = new TrackingDataset(2.0);
+        DatasetCache<StringBuilder> cache = new DatasetCache<>();
+        cache.get(d1, null, StringBuilder::new);
+        cache.get(d2, null, StringBuilder::new);
+        assertEquals(2, cache.size());
+        cache.release();
+        assertEquals(0, cache.size());
+        assertTrue(d1.listeners.isEmpty());
+        assertTrue(d2.listeners.isEmpty());
+    }
+
+    /**
+     * Snapshots are not cached.
+     */
+    @Test
+    public void testSnapshot() {
+        TrackingDataset d1 = new TrackingDataset(1.0);
+        DatasetCache<StringBuilder> cache = new DatasetCache<>();
+        assertNull(cache.get(d1.snapshot(), null, StringBuilder::new));
+        assertEquals(0, cache.size());
+    }
+
+}
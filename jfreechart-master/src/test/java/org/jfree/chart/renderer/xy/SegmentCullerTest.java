@@ -0,0 +1,381 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------
+ * SegmentCullerTest.java
+ * ----------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.renderer.xy;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.StringWriter;
+
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.PlotRenderingInfo;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.util.StreamingSVGGraphics2D;
+import org.jfree.data.xy.XYDataset;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link SegmentCuller} class.
+ */
+public class SegmentCullerTest {
+
+    /**
+     * Creates a plot with axes from 0 to 100 (x) and 0 to 10 (y).
+     *
+     * @param dataset  the dataset.
+     * @param renderer  the renderer.
+     *
+     * @return The plot.
+     */
+    private static XYPlot<String> createPlot(XYDataset<String> dataset,
+            XYItemRenderer renderer) {
+        NumberAxis xAxis = new NumberAxis("X");
+        xAxis.setRange(0.0, 100.0);
+        NumberAxis yAxis = new NumberAxis("Y");
+        yAxis.setRange(0.0, 10.0);
+        return new XYPlot<>(dataset, xAxis, yAxis, renderer);
+    }
+
+    /**
+     * A series that leaves the top of the plot, has a run of items in one
+     * pixel, and a missing value.
+     *
+     * @return The dataset.
+     */
+    private static XYSeriesCollection<String> createDataset() {
+        XYSeries<String> s = new XYSeries<>("S", false, true);
+        s.add(0.0, 5.0);     // 0
+        s.add(10.0, 50.0);   // 1 (above)
+        s.add(20.0, 60.0);   // 2 (above, culled)
+        s.add(30.0, 5.0);    // 3
+        s.add(30.01, 4.999); // 4 (same pixel, collapsed)
+        s.add(30.02, 4.998); // 5 (same pixel, collapsed)
+        s.add(40.0, null);   // 6
+        s.add(50.0, 5.0);    // 7
+        s.add(50.01, 5.0);   // 8 (same pixel, but 7 isn't painted)
+        s.add(60.0, 5.0);    // 9
+        return new XYSeriesCollection<>(s);
+    }
+
+    /**
+     * Returns a graphics target for an image (with an identity transform).
+     *
+     * @return The graphics target.
+     */
+    private static Graphics2D imageGraphics() {
+        return new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB)
+                .createGraphics();
+    }
+
+    /**
+     * Returns the segment culler for the first series pass over the items
+     * from 0 to 9.
+     *
+     * @param g2  the graphics target.
+     * @param renderer  the renderer.
+     * @param collapse  the collapse flag.
+     *
+     * @return The culler.
+     */
+    private static SegmentCuller culler(Graphics2D g2,
+            XYItemRenderer renderer, boolean collapse) {
+        XYSeriesCollection<String> dataset = createDataset();
+        XYPlot<String> plot = createPlot(dataset, renderer);
+        Rectangle2D area = new Rectangle2D.Double(10, 10, 200, 100);
+        XYItemRendererState state = new XYItemRendererState(null);
+        state.startSeriesPass(dataset, 0, 0, 9, 0, 1);
+        return state.getSegmentCuller(g2, plot, renderer, dataset, 0, area,
+                plot.getDomainAxis(), plot.getRangeAxis(), 0.0, collapse);
+    }
+
+    /**
+     * Check the classification of segments.
+     */
+    @Test
+    public void testClassification() {
+        XYSeriesCollection<String> dataset = createDataset();
+        XYLineAndShapeRenderer renderer = new XYLineAndShapeRenderer();
+        XYPlot<String> plot = createPlot(dataset, renderer);
+        Rectangle2D area = new Rectangle2D.Double(10, 10, 200, 100);
+        XYItemRendererState state = new XYItemRendererState(null);
+        state.startSeriesPass(dataset, 0, 0, 9, 0, 1);
+        Graphics2D g2 = imageGraphics();
+        SegmentCuller c = state.getSegmentCuller(g2, plot, renderer, dataset,
+                0, area, plot.getDomainAxis(), plot.getRangeAxis(), 0.0,
+                true);
+        assertTrue(c.contains(0));
+        assertTrue(c.contains(9));
+        assertFalse(c.contains(10));
+        assertEquals(10.0, c.getTransX(0), 1e-9);
+        assertEquals(60.0, c.getTransY(0), 1e-9);
+        assertTrue(Double.isNaN(c.getTransY(6)));
+
+        boolean[] skipped = new boolean[10];
+        for (int i = 0; i < 10; i++) {
+            skipped[i] = c.canSkipSegment(i, 0.0);
+        }
+        assertArrayEquals(new boolean[] {false, false, true, false, true,
+                true, false, false, false, false}, skipped);
+        assertTrue(c.isCulled(2, 0.0));
+        assertTrue(c.isCollapsed(4));
+        assertFalse(c.isCulled(4, 0.0));
+
+        // the same culler is returned for the rest of the pass
+        assertSame(c, state.getSegmentCuller(g2, plot, renderer, dataset, 0,
+                area, plot.getDomainAxis(), plot.getRangeAxis(), 0.0, true));
+
+        // the segment from 1 to 2 is 360 units above the area
+        assertTrue(c.isCulled(2, 300.0));
+        assertFalse(c.isCulled(2, 400.0));
+    }
+
+    /**
+     * The region codes swap with the plot orientation.
+     */
+    @Test
+    public void testHorizontal() {
+        XYSeriesCollection<String> dataset = createDataset();
+        XYLineAndShapeRenderer renderer = new XYLineAndShapeRenderer();
+        XYPlot<String> plot = createPlot(dataset, renderer);
+        plot.setOrientation(PlotOrientation.HORIZONTAL);
+        Rectangle2D area = new Rectangle2D.Double(10, 10, 100, 200);
+        XYItemRendererState state = new XYItemRendererState(null);
+        state.startSeriesPass(dataset, 0, 1, 5, 0, 1);
+        SegmentCuller c = state.getSegmentCuller(imageGraphics(), plot,
+                renderer, dataset, 0, area, plot.getDomainAxis(),
+                plot.getRangeAxis(), 0.0, true);
+        assertFalse(c.contains(0));
+        assertFalse(c.canSkipSegment(1, 0.0));
+        assertTrue(c.isCulled(2, 0.0));
+        assertFalse(c.isCulled(3, 0.0));
+    }
+
+    /**
+     * Segments are only collapsed when requested, on a raster target with
+     * a transform that is at most a translation.
+     */
+    @Test
+    public void testCollapseTargets() {
+        XYLineAndShapeRenderer renderer = new XYLineAndShapeRenderer();
+        assertTrue(culler(imageGraphics(), renderer, true).isCollapsed(4));
+        assertFalse(culler(imageGraphics(), renderer, false).isCollapsed(4));
+
+        Graphics2D g2 = imageGraphics();
+        g2.translate(3.0, 2.0);
+        assertTrue(culler(g2, renderer, true).isCollapsed(4));
+        g2.scale(2.0, 2.0);
+        SegmentCuller c = culler(g2, renderer, true);
+        assertFalse(c.isCollapsed(4));
+        assertFalse(c.isCollapsed(5));
+        assertTrue(c.isCulled(2, 0.0));
+
+        g2 = new StreamingSVGGraphics2D(new StringWriter(), 10, 10);
+        assertFalse(culler(g2, renderer, true).isCollapsed(4));
+    }
+
+    /**
+     * A segment is only collapsed if it has the same item paint and stroke
+     * as the previous segment.
+     */
+    @Test
+    public void testCollapseItemStyle() {
+        XYLineAndShapeRenderer renderer = new XYLineAndShapeRenderer() {
+            @Override
+            public Paint getItemPaint(int row, int column) {
+                return column == 5 ? Color.RED : Color.BLUE;
+            }
+        };
+        SegmentCuller c = culler(imageGraphics(), renderer, true);
+        assertTrue(c.isCollapsed(4));
+        assertFalse(c.isCollapsed(5));
+
+        renderer = new XYLineAndShapeRenderer() {
+            @Override
+            public Stroke getItemStroke(int row, int column) {
+                return new BasicStroke(column == 4 ? 2.0f : 1.0f);
+            }
+        };
+        c = culler(imageGraphics(), renderer, true);
+        assertFalse(c.isCollapsed(4));
+        assertFalse(c.isCollapsed(5));
+    }
+
+    /**
+     * Collapsing is off by default, and when the renderer's flag is set it
+     * skips the segments in a dense series that add nothing visible.
+     */
+    @Test
+    public void testCollapsing() {
+        int[] segments = new int[1];
+        XYLineAndShapeRenderer renderer = new XYLineAndShapeRenderer(true,
+                false) {
+            @Override
+            protected void drawFirstPassShape(Graphics2D g2, int pass,
+                    int series, int item, Shape shape) {
+                segments[0]++;
+                super.drawFirstPassShape(g2, pass, series, item, shape);
+            }
+        };
+        XYSeries<String> s = new XYSeries<>("S");
+        for (int i = 0; i <= 1000; i++) {
+            s.add(i / 10.0, 5.0);
+        }
+        JFreeChart chart = new JFreeChart(createPlot(
+                new XYSeriesCollection<>(s), renderer));
+        assertFalse(renderer.getSegmentCollapsing());
+        chart.createBufferedImage(400, 300);
+        assertEquals(1000, segments[0]);
+
+        segments[0] = 0;
+        renderer.setSegmentCollapsing(true);
+        chart.createBufferedImage(400, 300);
+        assertTrue(segments[0] < 500);
+    }
+
+    /**
+     * Check the stroke margins.
+     */
+    @Test
+    public void testMargin() {
+        assertEquals(1.0 + 10.0, SegmentCuller.margin(new BasicStroke(2.0f)),
+                1e-9);
+        assertEquals(1.0 + Math.sqrt(2.0) * 2.0, SegmentCuller.margin(
+                new BasicStroke(4.0f, BasicStroke.CAP_SQUARE,
+                BasicStroke.JOIN_ROUND)), 1e-9);
+        Stroke custom = s -> new BasicStroke().createStrokedShape(s);
+        assertTrue(Double.isInfinite(SegmentCuller.margin(custom)));
+        Rectangle2D area = new Rectangle2D.Double(0, 0, 10, 10);
+        assertTrue(SegmentCuller.isOutside(-5, 0, -2, 20, area, 1.0));
+        assertFalse(SegmentCuller.isOutside(-5, 0, -2, 20, area, 3.0));
+        assertFalse(SegmentCuller.isOutside(-5, -5, 20, 20, area, 0.0));
+    }
+
+    /**
+     * Renders a chart.
+     *
+     * @param renderer  the renderer.
+     *
+     * @return The image.
+     */
+    private static BufferedImage draw(XYItemRenderer renderer) {
+        XYSeries<String> s = new XYSeries<>("S", false, true);
+        for (int i = 0; i <= 100; i++) {
+            s.add(i, (i % 20 < 10) ? 5.0 + i % 3 : 500.0 + i % 7);
+        }
+        JFreeChart chart = new JFreeChart(createPlot(
+                new XYSeriesCollection<>(s), renderer));
+        return chart.createBufferedImage(400, 300);
+    }
+
+    /**
+     * Returns a state whose segment culler covers no items, so that the
+     * renderers fall back to their unculled drawing.
+     *
+     * @param info  the plot rendering info.
+     *
+     * @return The state.
+     */
+    private static XYLineAndShapeRenderer.State unculledState(
+            PlotRenderingInfo info) {
+        return new XYLineAndShapeRenderer.State(info) {
+            @Override
+            public SegmentCuller getSegmentCuller(Graphics2D g2,
+                    XYPlot plot, XYItemRenderer renderer, XYDataset dataset,
+                    int series, Rectangle2D dataArea,
+                    org.jfree.chart.axis.ValueAxis domainAxis,
+                    org.jfree.chart.axis.ValueAxis rangeAxis, double margin,
+                    boolean collapse) {
+                return new SegmentCuller();
+            }
+        };
+    }
+
+    /**
+     * Culling segments above the data area does not change the output of
+     * the line and step renderers.
+     */
+    @Test
+    public void testCullingIsInvisible() {
+        for (boolean asPath : new boolean[] {false, true}) {
+            XYLineAndShapeRenderer r1 = new XYLineAndShapeRenderer(true,
+                    false);
+            r1.setDrawSeriesLineAsPath(asPath);
+            XYLineAndShapeRenderer r2 = new XYLineAndShapeRenderer(true,
+                    false) {
+                @Override
+                public XYItemRendererState initialise(Graphics2D g2,
+                        Rectangle2D dataArea, XYPlot plot, XYDataset data,
+                        PlotRenderingInfo info) {
+                    return unculledState(info);
+                }
+            };
+            r2.setDrawSeriesLineAsPath(asPath);
+            assertImagesEqual(draw(r2), draw(r1));
+        }
+        XYStepRenderer r1 = new XYStepRenderer();
+        XYStepRenderer r2 = new XYStepRenderer() {
+            @Override
+            public XYItemRendererState initialise(Graphics2D g2,
+                    Rectangle2D dataArea, XYPlot plot, XYDataset data,
+                    PlotRenderingInfo info) {
+                return unculledState(info);
+            }
+        };
+        assertImagesEqual(draw(r2), draw(r1));
+    }
+
+    private static void assertImagesEqual(BufferedImage expected,
+            BufferedImage actual) {
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,341 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------------
+ * XYAggregateRendererTest.java
+ * ----------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.renderer.xy;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.api.PublicCloneable;
+import org.jfree.chart.api.RectangleEdge;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.internal.CloneUtils;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.GrayPaintScale;
+import org.jfree.data.xy.DefaultXYZDataset;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link XYAggregateRenderer} class.
+ */
+public class XYAggregateRendererTest {
+
+    private static final double EPSILON = 0.0000000001;
+
+    /**
+     * Aggregates a dataset over a 10 x 10 pixel area where the axes run
+     * from 0 to 10, so that each unit square is one pixel.
+     *
+     * @param r  the renderer.
+     * @param dataset  the dataset.
+     * @param xAxis  the x-axis.
+     * @param yAxis  the y-axis.
+     *
+     * @return The aggregate.
+     */
+    private static XYAggregateRenderer.Aggregate aggregate(
+            XYAggregateRenderer r, XYSeriesCollection<String> dataset,
+            NumberAxis xAxis, NumberAxis yAxis) {
+        return r.aggregate(dataset, new Rectangle2D.Double(0, 0, 10, 10),
+                PlotOrientation.VERTICAL, xAxis, RectangleEdge.BOTTOM, yAxis,
+                RectangleEdge.LEFT);
+    }
+
+    /**
+     * Items are counted in the cell they fall in, and items appended to an
+     * append-only dataset are added to the cached grid.
+     */
+    @Test
+    public void testCountAndAppend() {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        s1.add(0.5, 9.5);
+        s1.add(0.6, 9.6);
+        s1.add(5.5, 4.5);
+        s1.add(7.0, Double.NaN);
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>(s1);
+        NumberAxis xAxis = new NumberAxis("X");
+        xAxis.setRange(0.0, 10.0);
+        NumberAxis yAxis = new NumberAxis("Y");
+        yAxis.setRange(0.0, 10.0);
+        XYAggregateRenderer r = new XYAggregateRenderer();
+        XYAggregateRenderer.Aggregate a = aggregate(r, dataset, xAxis, yAxis);
+        assertEquals(2, a.counts[0]);
+        assertEquals(1, a.counts[5 * 10 + 5]);
+        assertEquals(0, a.counts[7 * 10 + 7]);
+
+        // the same view reuses the grid
+        assertSame(a, aggregate(r, dataset, xAxis, yAxis));
+
+        // by default a change to the dataset aggregates everything again
+        s1.add(9.5, 0.5);
+        XYAggregateRenderer.Aggregate a2 = aggregate(r, dataset, xAxis, yAxis);
+        assertNotSame(a, a2);
+        assertEquals(1, a2.counts[99]);
+        assertEquals(2, a2.counts[0]);
+
+        // with appendOnly only the new items are added
+        r.setAppendOnly(true);
+        s1.add(9.6, 0.6);
+        XYAggregateRenderer.Aggregate a3 = aggregate(r, dataset, xAxis, yAxis);
+        assertSame(a2, a3);
+        assertEquals(2, a3.counts[99]);
+        assertEquals(2, a3.counts[0]);
+
+        // removing items or changing the view starts again
+        s1.remove(0);
+        XYAggregateRenderer.Aggregate a4 = aggregate(r, dataset, xAxis, yAxis);
+        assertNotSame(a3, a4);
+        assertEquals(1, a4.counts[0]);
+        xAxis.setRange(0.0, 20.0);
+        assertNotSame(a4, aggregate(r, dataset, xAxis, yAxis));
+    }
+
+    /**
+     * Large series are aggregated in parallel, with the same result.
+     */
+    @Test
+    public void testParallel() {
+        XYSeries<String> s1 = new XYSeries<>("S1", false, true);
+        int n = XYAggregateRenderer.THRESHOLD * 3;
+        for (int i = 0; i < n; i++) {
+            s1.add((i * 7919L % 1000) / 100.0, (i % 997) / 99.7);
+        }
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>(s1);
+        NumberAxis xAxis = new NumberAxis("X");
+        xAxis.setRange(0.0, 10.0);
+        NumberAxis yAxis = new NumberAxis("Y");
+        yAxis.setRange(0.0, 10.0);
+        XYAggregateRenderer r = new XYAggregateRenderer();
+        r.setFunction(AggregateFunction.MEAN);
+        XYAggregateRenderer.Aggregate a = aggregate(r, dataset, xAxis, yAxis);
+        int[] counts = new int[100];
+        double[] sums = new double[100];
+        XYAggregateRenderer.accumulate(a.view, dataset, 0, 0, n, counts,
+                sums);
+        assertArrayEquals(counts, a.counts);
+        for (int i = 0; i < sums.length; i++) {
+            assertEquals(sums[i], a.sums[i], 1e-6);
+        }
+    }
+
+    /**
+     * The sum and mean use the z-values of an XYZ dataset.
+     */
+    @Test
+    public void testSumAndMean() {
+        DefaultXYZDataset<String> dataset = new DefaultXYZDataset<>();
+        dataset.addSeries("S1", new double[][] {{0.5, 0.6, 0.7},
+                {9.5, 9.5, 9.5}, {1.0, 2.0, Double.NaN}});
+        NumberAxis xAxis = new NumberAxis("X");
+        xAxis.setRange(0.0, 10.0);
+        NumberAxis yAxis = new NumberAxis("Y");
+        yAxis.setRange(0.0, 10.0);
+        XYAggregateRenderer r = new XYAggregateRenderer();
+        r.setFunction(AggregateFunction.SUM);
+        XYAggregateRenderer.Aggregate a = r.aggregate(dataset,
+                new Rectangle2D.Double(0, 0, 10, 10), PlotOrientation.VERTICAL,
+                xAxis, RectangleEdge.BOTTOM, yAxis, RectangleEdge.LEFT);
+        assertEquals(3.0, a.values()[0], EPSILON);
+        r.setFunction(AggregateFunction.MEAN);
+        a = r.aggregate(dataset, new Rectangle2D.Double(0, 0, 10, 10),
+                PlotOrientation.VERTICAL, xAxis, RectangleEdge.BOTTOM, yAxis,
+                RectangleEdge.LEFT);
+        assertEquals(1.5, a.values()[0], EPSILON);
+        assertTrue(Double.isNaN(a.values()[1]));
+    }
+
+    /**
+     * Some checks for the mapping of values onto the paint scale.
+     */
+    @Test
+    public void testShade() {
+        double[] values = {Double.NaN, 1.0, 1.0, 1.0, 2.0, 101.0};
+        double[] t = XYAggregateRenderer.shade(values,
+                AggregateShading.LINEAR);
+        assertTrue(Double.isNaN(t[0]));
+        assertEquals(0.0, t[1], EPSILON);
+        assertEquals(0.01, t[4], EPSILON);
+        assertEquals(1.0, t[5], EPSILON);
+
+        t = XYAggregateRenderer.shade(values, AggregateShading.LOG);
+        assertEquals(0.0, t[1], EPSILON);
+        assertEquals(Math.log(2.0) / Math.log(101.0), t[4], EPSILON);
+        assertEquals(1.0, t[5], EPSILON);
+
+        t = XYAggregateRenderer.shade(values, AggregateShading.EQ_HIST);
+        assertEquals(0.0, t[1], EPSILON);
+        assertEquals(0.5, t[4], EPSILON);
+        assertEquals(1.0, t[5], EPSILON);
+
+        t = XYAggregateRenderer.shade(new double[] {3.0, 3.0},
+                AggregateShading.EQ_HIST);
+        assertEquals(0.0, t[0], EPSILON);
+    }
+
+    /**
+     * Draws a chart to check that the grid is drawn with the paint scale.
+     */
+    @Test
+    public void testDraw() {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        for (int i = 0; i < 1000; i++) {
+            s1.add(i % 10, i % 7);
+        }
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>(s1);
+        XYAggregateRenderer r = new XYAggregateRenderer();
+        r.setPaintScale(new GrayPaintScale());
+        XYPlot<String> plot = new XYPlot<>(dataset, new NumberAxis("X"),
+                new NumberAxis("Y"), r);
+        plot.setBackgroundPaint(Color.RED);
+        JFreeChart chart = new JFreeChart(plot);
+        BufferedImage image = new BufferedImage(300, 200,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 300, 200), null, null);
+        g2.dispose();
+        int gray = 0;
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                Color c = new Color(image.getRGB(x, y));
+                if (c.getRed() == c.getGreen() && c.getGreen() == c.getBlue()
+                        && c.getRed() < 128) {
+                    gray++;
+                }
+            }
+        }
+        assertTrue(gray >= 70);
+    }
+
+    /**
+     * Test that the equals() method distinguishes all fields.
+     */
+    @Test
+    public void testEquals() {
+        XYAggregateRenderer r1 = new XYAggregateRenderer();
+        XYAggregateRenderer r2 = new XYAggregateRenderer();
+        assertEquals(r1, r2);
+
+        r1.setFunction(AggregateFunction.SUM);
+        assertNotEquals(r1, r2);
+        r2.setFunction(AggregateFunction.SUM);
+        assertEquals(r1, r2);
+
+        r1.setShading(AggregateShading.LOG);
+        assertNotEquals(r1, r2);
+        r2.setShading(AggregateShading.LOG);
+        assertEquals(r1, r2);
+
+        r1.setPaintScale(new GrayPaintScale(0.0, 5.0));
+        assertNotEquals(r1, r2);
+        r2.setPaintScale(new GrayPaintScale(0.0, 5.0));
+        assertEquals(r1, r2);
+
+        r1.setAppendOnly(true);
+        assertNotEquals(r1, r2);
+        r2.setAppendOnly(true);
+        assertEquals(r1, r2);
+    }
+
+    /**
+     * The renderer caches one aggregate per dataset, does not cache
+     * snapshots and removes its listener from the dataset when it leaves
+     * the plot.
+     */
+    @Test
+    public void testAggregateCache() {
+        DatasetCacheTest.TrackingDataset dataset
+                = new DatasetCacheTest.TrackingDataset(1.0);
+        dataset.getSeries(0).add(2.0, 3.0);
+        XYAggregateRenderer renderer = new XYAggregateRenderer();
+        XYPlot<String> plot = new XYPlot<>(dataset, new NumberAxis("X"),
+                new NumberAxis("Y"), renderer);
+        JFreeChart chart = new JFreeChart(plot);
+        chart.createBufferedImage(300, 200, null);
+        chart.createBufferedImage(300, 200, null);
+        assertEquals(1, dataset.listeners.size());
+
+        plot.setDatasetSnapshots(true);
+        chart.createBufferedImage(300, 200, null);
+        chart.createBufferedImage(300, 200, null);
+        assertEquals(1, renderer.aggregateCache.size());
+
+        renderer.setPlot(null);
+        assertTrue(dataset.listeners.isEmpty());
+    }
+
+    /**
+     * Confirm that cloning works.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        XYAggregateRenderer r1 = new XYAggregateRenderer();
+        XYAggregateRenderer r2 = CloneUtils.clone(r1);
+        assertNotSame(r1, r2);
+        assertSame(r1.getClass(), r2.getClass());
+        assertEquals(r1, r2);
+        assertNotSame(r1.getPaintScale(), r2.getPaintScale());
+    }
+
+    /**
+     * Verify that this class implements {@link PublicCloneable}.
+     */
+    @Test
+    public void testPublicCloneable() {
+        XYAggregateRenderer r1 = new XYAggregateRenderer();
+        assertTrue(r1 instanceof PublicCloneable);
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        XYAggregateRenderer r1 = new XYAggregateRenderer();
+        r1.setShading(AggregateShading.LINEAR);
+        XYAggregateRenderer r2 = TestUtils.serialised(r1);
+        assertEquals(r1, r2);
+    }
+
+}
@@ -45,6 +45,7 @@ import org.jfree.chart.axis.NumberAxis;
 import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.internal.CloneUtils;
 import org.jfree.chart.api.PublicCloneable;
+import org.jfree.chart.renderer.ScatterRasterizer;
 import org.jfree.data.xy.XYSeries;
 import org.jfree.data.xy.XYSeriesCollection;
 import org.junit.jupiter.api.Test;
@@ -79,6 +80,11 @@ public class XYDotRendererTest {
         assertNotEquals(r1, r2);
         r2.setLegendShape(new Rectangle2D.Double(1.0, 2.0, 3.0, 4.0));
         assertEquals(r1, r2);
+
+        r1.setRasterizer(new ScatterRasterizer());
+        assertNotEquals(r1, r2);
+        r2.setRasterizer(new ScatterRasterizer());
+        assertEquals(r1, r2);
     }
 
     /**
@@ -36,17 +36,24 @@
 
 package org.jfree.chart.renderer.xy;
 
+import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.geom.Ellipse2D;
 
 import java.awt.geom.Line2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 
 import org.jfree.chart.ChartFactory;
+import org.jfree.chart.ChartRenderingInfo;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.legend.LegendItem;
 import org.jfree.chart.TestUtils;
 import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.entity.EntityCollection;
+import org.jfree.chart.entity.XYItemEntity;
+import org.jfree.chart.plot.CrosshairState;
 import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.urls.TimeSeriesURLGenerator;
@@ -54,6 +61,7 @@ import org.jfree.chart.internal.CloneUtils;
 import org.jfree.chart.api.PublicCloneable;
 import org.jfree.data.Range;
 import org.jfree.data.xy.TableXYDataset;
+import org.jfree.data.xy.XYDataset;
 import org.jfree.data.xy.XYSeries;
 import org.jfree.data.xy.XYSeriesCollection;
 import org.junit.jupiter.api.Test;
@@ -130,6 +138,16 @@ public class XYLineAndShapeRendererTest {
         assertNotEquals(r1, r2);
         r2.setDrawSeriesLineAsPath(true);
         assertEquals(r1, r2);
+
+        r1.setMarkerStamping(true);
+        assertNotEquals(r1, r2);
+        r2.setMarkerStamping(true);
+        assertEquals(r1, r2);
+
+        r1.setSegmentCollapsing(true);
+        assertNotEquals(r1, r2);
+        r2.setSegmentCollapsing(true);
+        assertEquals(r1, r2);
     }
 
     /**
@@ -295,4 +313,86 @@ public class XYLineAndShapeRendererTest {
         assertEquals(2, li.getSeriesIndex());
     }
 
+    /**
+     * Draws a chart with 20 items using the specified renderer.
+     *
+     * @param r  the renderer.
+     *
+     * @return The number of item entities added.
+     */
+    private static int drawItems(XYLineAndShapeRenderer r) {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        for (int i = 0; i < 20; i++) {
+            s1.add(i, i % 5);
+        }
+        XYPlot<String> plot = new XYPlot<>(new XYSeriesCollection<>(s1),
+                new NumberAxis("x"), new NumberAxis("y"), r);
+        JFreeChart chart = new JFreeChart(plot);
+        BufferedImage image = new BufferedImage(400, 300,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        ChartRenderingInfo info = new ChartRenderingInfo();
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 400, 300), info);
+        g2.dispose();
+        int items = 0;
+        for (Object entity : info.getEntityCollection().getEntities()) {
+            if (entity instanceof XYItemEntity) {
+                items++;
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Without marker stamping, the shapes are drawn through the original
+     * {@code drawSecondaryPass()} method.
+     */
+    @Test
+    public void testDrawSecondaryPass() {
+        int[] calls = new int[1];
+        XYLineAndShapeRenderer r = new XYLineAndShapeRenderer() {
+            @Override
+            protected void drawSecondaryPass(Graphics2D g2, XYPlot plot,
+                    XYDataset dataset, int pass, int series, int item,
+                    ValueAxis domainAxis, Rectangle2D dataArea,
+                    ValueAxis rangeAxis, CrosshairState crosshairState,
+                    EntityCollection entities) {
+                calls[0]++;
+                super.drawSecondaryPass(g2, plot, dataset, pass, series, item,
+                        domainAxis, dataArea, rangeAxis, crosshairState,
+                        entities);
+            }
+        };
+        assertEquals(20, drawItems(r));
+        assertEquals(20, calls[0]);
+    }
+
+    /**
+     * With marker stamping on, the shapes are drawn through the
+     * state-taking {@code drawSecondaryPass()} method, the stamper comes
+     * from the renderer state and the entities are still collected.
+     */
+    @Test
+    public void testMarkerStampingDrawSecondaryPass() {
+        int[] calls = new int[1];
+        XYLineAndShapeRenderer r = new XYLineAndShapeRenderer() {
+            @Override
+            protected void drawSecondaryPass(XYItemRendererState state,
+                    Graphics2D g2, XYPlot plot, XYDataset dataset, int pass,
+                    int series, int item, ValueAxis domainAxis,
+                    Rectangle2D dataArea, ValueAxis rangeAxis,
+                    CrosshairState crosshairState,
+                    EntityCollection entities) {
+                assertTrue(state instanceof XYLineAndShapeRenderer.State);
+                calls[0]++;
+                super.drawSecondaryPass(state, g2, plot, dataset, pass,
+                        series, item, domainAxis, dataArea, rangeAxis,
+                        crosshairState, entities);
+            }
+        };
+        r.setMarkerStamping(true);
+        assertEquals(20, drawItems(r));
+        assertEquals(20, calls[0]);
+    }
+
 }
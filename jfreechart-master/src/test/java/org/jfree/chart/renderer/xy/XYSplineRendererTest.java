@@ -38,11 +38,17 @@ package org.jfree.chart.renderer.xy;
 
 import java.awt.geom.Rectangle2D;
 
+import org.jfree.chart.JFreeChart;
 import org.jfree.chart.TestUtils;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.util.GradientPaintTransformType;
 import org.jfree.chart.util.StandardGradientPaintTransformer;
 import org.jfree.chart.internal.CloneUtils;
 import org.jfree.chart.api.PublicCloneable;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -131,4 +137,87 @@ public class XYSplineRendererTest {
         assertEquals(r1, r2);
     }
 
+    /**
+     * The spline passes through the knots, skips null values and duplicate
+     * x-values, and handles unsorted data.
+     */
+    @Test
+    public void testSpline() {
+        XYSeries<String> s1 = new XYSeries<>("S1", false, true);
+        s1.add(2.0, 4.0);
+        s1.add(0.0, 0.0);
+        s1.add(1.0, 1.0);
+        s1.add(1.0, 5.0);
+        s1.add(1.5, null);
+        s1.add(3.0, 9.0);
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>(s1);
+        XYSplineRenderer.Spline spline = new XYSplineRenderer.Spline(dataset,
+                0);
+        assertEquals(4, spline.count);
+        assertEquals(6, spline.itemCount);
+        assertEquals(0.0, spline.value(0, 0.0), 1e-12);
+        assertEquals(1.0, spline.value(0, 1.0), 1e-12);
+        assertEquals(4.0, spline.value(2, 2.0), 1e-12);
+        assertEquals(9.0, spline.value(2, 3.0), 1e-12);
+
+        // a natural spline through collinear points is a straight line
+        XYSeries<String> s2 = new XYSeries<>("S2");
+        for (int i = 0; i < 5; i++) {
+            s2.add(i, 2.0 * i + 1.0);
+        }
+        spline = new XYSplineRenderer.Spline(new XYSeriesCollection<>(s2), 0);
+        assertEquals(6.0, spline.value(2, 2.5), 1e-12);
+    }
+
+    /**
+     * Draws charts in both orientations, with a fill and with the domain
+     * axis zoomed in, to make sure that no exceptions are thrown.
+     */
+    @Test
+    public void testDraw() {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        for (int i = 0; i < 50; i++) {
+            s1.add(i, i % 7 == 0 ? null : Double.valueOf(Math.sin(i / 3.0)));
+        }
+        XYSplineRenderer renderer = new XYSplineRenderer(5,
+                XYSplineRenderer.FillType.TO_ZERO);
+        XYPlot<String> plot = new XYPlot<>(new XYSeriesCollection<>(s1),
+                new NumberAxis("X"), new NumberAxis("Y"), renderer);
+        JFreeChart chart = new JFreeChart(plot);
+        assertNotNull(chart.createBufferedImage(300, 200, null));
+        plot.getDomainAxis().setRange(10.5, 12.5);
+        assertNotNull(chart.createBufferedImage(300, 200, null));
+        plot.setOrientation(PlotOrientation.HORIZONTAL);
+        s1.add(50.0, 1.0);
+        assertNotNull(chart.createBufferedImage(300, 200, null));
+    }
+
+    /**
+     * The renderer caches one fit per dataset, does not cache snapshots and
+     * removes its listener from the dataset when it leaves the plot.
+     */
+    @Test
+    public void testSplineCache() {
+        DatasetCacheTest.TrackingDataset dataset
+                = new DatasetCacheTest.TrackingDataset(1.0);
+        dataset.getSeries(0).add(2.0, 3.0);
+        dataset.getSeries(0).add(3.0, 2.0);
+        XYSplineRenderer renderer = new XYSplineRenderer();
+        XYPlot<String> plot = new XYPlot<>(dataset, new NumberAxis("X"),
+                new NumberAxis("Y"), renderer);
+        JFreeChart chart = new JFreeChart(plot);
+        chart.createBufferedImage(300, 200, null);
+        chart.createBufferedImage(300, 200, null);
+        assertEquals(1, dataset.listeners.size());
+
+        plot.setDatasetSnapshots(true);
+        chart.createBufferedImage(300, 200, null);
+        chart.createBufferedImage(300, 200, null);
+        assertEquals(1, dataset.listeners.size());
+        assertEquals(1, renderer.splineCache.size());
+
+        renderer.setPlot(null);
+        assertTrue(dataset.listeners.isEmpty());
+    }
+
 }
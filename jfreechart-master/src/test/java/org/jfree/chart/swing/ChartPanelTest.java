@@ -37,6 +37,7 @@
 package org.jfree.chart.swing;
 
 import org.jfree.chart.ChartFactory;
+import org.jfree.chart.ChartRenderingInfo;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.axis.NumberAxis;
 import org.jfree.chart.event.ChartChangeEvent;
@@ -47,9 +48,11 @@ import org.jfree.data.xy.DefaultXYDataset;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import javax.swing.SwingUtilities;
 import javax.swing.event.CaretListener;
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 import java.io.*;
 import java.util.ArrayList;
 import java.util.EventListener;
@@ -355,5 +358,39 @@ public class ChartPanelTest implements ChartChangeListener, ChartMouseListener {
         assertEquals(Color.MAGENTA, readPanel.getZoomFillPaint());
         assertEquals(Color.CYAN, readPanel.getZoomOutlinePaint());
     }
-}
 
+    /**
+     * In async mode the chart is drawn on a background thread, and the
+     * rendering info is updated in place when the frame is complete.
+     */
+    @Test
+    public void testAsyncRendering() throws Exception {
+        DefaultXYDataset<String> dataset = new DefaultXYDataset<>();
+        dataset.addSeries("S1", new double[][] {{1.0, 2.0}, {3.0, 4.0}});
+        JFreeChart chart = ChartFactory.createXYLineChart("TestChart", "X",
+                "Y", dataset, PlotOrientation.VERTICAL, false, false, false);
+        ChartPanel panel = new ChartPanel(chart);
+        ChartRenderingInfo info = panel.getChartRenderingInfo();
+        assertFalse(panel.isAsyncRendering());
+        panel.setAsyncRendering(true);
+        assertTrue(panel.isAsyncRendering());
+        panel.setSize(400, 300);
+        BufferedImage image = new BufferedImage(400, 300,
+                BufferedImage.TYPE_INT_ARGB);
+        SwingUtilities.invokeAndWait(() -> {
+            Graphics2D g2 = image.createGraphics();
+            panel.paint(g2);
+            g2.dispose();
+        });
+        for (int i = 0; i < 100 && panel.getChartRenderingInfo()
+                .getChartArea().getWidth() == 0.0; i++) {
+            Thread.sleep(50);
+            SwingUtilities.invokeAndWait(() -> {});
+        }
+        assertSame(info, panel.getChartRenderingInfo());
+        assertEquals(400.0, info.getChartArea().getWidth());
+        assertSame(info, info.getPlotInfo().getOwner());
+        assertTrue(info.getPlotInfo().getDataArea().getWidth() > 0.0);
+        assertTrue(info.getEntityCollection().getEntityCount() > 0);
+    }
+}
@@ -0,0 +1,167 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------------------
+ * StreamingSVGGraphics2DTest.java
+ * -------------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.util;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Rectangle;
+import java.awt.geom.Line2D;
+import java.awt.geom.Rectangle2D;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.JFreeChart;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link StreamingSVGGraphics2D} class.
+ */
+public class StreamingSVGGraphics2DTest {
+
+    /**
+     * Counts the occurrences of a substring.
+     */
+    private static int count(String s, String sub) {
+        int result = 0;
+        for (int i = s.indexOf(sub); i >= 0; i = s.indexOf(sub, i + 1)) {
+            result++;
+        }
+        return result;
+    }
+
+    @Test
+    public void testAppendNumber() {
+        StringBuilder sb = new StringBuilder();
+        StreamingSVGGraphics2D.appendNumber(sb, 1.0, 2);
+        sb.append(' ');
+        StreamingSVGGraphics2D.appendNumber(sb, -2.505, 2);
+        sb.append(' ');
+        StreamingSVGGraphics2D.appendNumber(sb, 0.001, 2);
+        sb.append(' ');
+        StreamingSVGGraphics2D.appendNumber(sb, 3.05, 2);
+        sb.append(' ');
+        StreamingSVGGraphics2D.appendNumber(sb, 0.70711, 4);
+        assertEquals("1 -2.5 0 3.05 0.7071", sb.toString());
+    }
+
+    /**
+     * Consecutive segments with the same style are written as one path, and
+     * repeated styles are written once.
+     */
+    @Test
+    public void testCoalesceLines() throws IOException {
+        StringWriter out = new StringWriter();
+        StreamingSVGGraphics2D g2 = new StreamingSVGGraphics2D(out, 100, 50);
+        g2.setPaint(Color.RED);
+        g2.setStroke(new BasicStroke(2.0f));
+        for (int i = 0; i < 10; i++) {
+            g2.draw(new Line2D.Double(i, i, i + 1, i + 1));
+        }
+        g2.setPaint(Color.BLUE);
+        g2.drawLine(0, 0, 5, 5);
+        g2.setPaint(new Color(255, 0, 0));
+        g2.drawLine(10, 10, 20, 20);
+        g2.finish();
+        String svg = out.toString();
+        assertEquals(3, count(svg, "<path"));
+        assertEquals(2, count(svg, "<style>"));
+        assertTrue(svg.contains("d=\"M0 0L1 1L2 2L3 3L4 4L5 5L6 6L7 7L8 8"
+                + "L9 9L10 10\""));
+        assertTrue(svg.contains("d=\"M10 10L20 20\""));
+        assertTrue(svg.endsWith("</svg>\n"));
+    }
+
+    /**
+     * Gradients and clips are defined once and shared.
+     */
+    @Test
+    public void testSharedDefinitions() throws IOException {
+        StringWriter out = new StringWriter();
+        StreamingSVGGraphics2D g2 = new StreamingSVGGraphics2D(out, 100, 50);
+        g2.clip(new Rectangle(10, 10, 50, 20));
+        for (int i = 0; i < 5; i++) {
+            g2.setPaint(new GradientPaint(0f, 0f, Color.RED, 10f, 0f,
+                    Color.BLUE));
+            g2.fill(new Rectangle2D.Double(i * 10, 0, 5, 5));
+        }
+        g2.setClip(null);
+        g2.fillRect(0, 0, 5, 5);
+        g2.clip(new Rectangle(10, 10, 50, 20));
+        g2.fillRect(0, 0, 5, 5);
+        g2.finish();
+        String svg = out.toString();
+        assertEquals(1, count(svg, "<linearGradient"));
+        assertEquals(1, count(svg, "<clipPath"));
+        assertEquals(2, count(svg, "<g clip-path"));
+        assertEquals(7, count(svg, "<rect class"));
+    }
+
+    /**
+     * A chart with a long series is written as a well-formed document in
+     * which the series is drawn with a small number of path elements.
+     */
+    @Test
+    public void testChart() throws Exception {
+        XYSeries<String> s = new XYSeries<>("S1");
+        for (int i = 0; i < 10000; i++) {
+            s.add(i, Math.sin(i / 100.0));
+        }
+        JFreeChart chart = ChartFactory.createXYLineChart("Title", "X", "Y",
+                new XYSeriesCollection<>(s));
+        StringWriter out = new StringWriter();
+        ExportUtils.writeAsSVG(chart, 600, 400, out);
+        String svg = out.toString();
+        Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new ByteArrayInputStream(svg.getBytes(
+                        StandardCharsets.UTF_8)));
+        assertEquals("svg", doc.getDocumentElement().getTagName());
+        assertTrue(doc.getElementsByTagName("path").getLength() < 100);
+        assertTrue(doc.getElementsByTagName("text").getLength() > 0);
+    }
+
+}
@@ -0,0 +1,147 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------------
+ * CategoryDatasetViewTest.java
+ * ----------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.category;
+
+import java.util.Arrays;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.internal.CloneUtils;
+import org.jfree.data.UnknownKeyException;
+import org.jfree.data.function.LineFunction2D;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link CategoryDatasetView} class.
+ */
+public class CategoryDatasetViewTest {
+
+    private static final double EPSILON = 0.0000000001;
+
+    private static DefaultCategoryDataset<String, String> createSource() {
+        DefaultCategoryDataset<String, String> result
+                = new DefaultCategoryDataset<>();
+        result.addValue(1.0, "R1", "C1");
+        result.addValue(2.0, "R1", "C2");
+        result.addValue(3.0, "R1", "C3");
+        result.addValue(4.0, "R2", "C1");
+        result.addValue(null, "R2", "C2");
+        result.addValue(6.0, "R2", "C3");
+        return result;
+    }
+
+    /**
+     * Row and column selection.
+     */
+    @Test
+    public void testSelection() {
+        DefaultCategoryDataset<String, String> source = createSource();
+        CategoryDatasetView<String, String> v
+                = new CategoryDatasetView<>(source);
+        assertEquals(2, v.getRowCount());
+        assertEquals(3, v.getColumnCount());
+        v.setVisibleColumnKeys(Arrays.asList("C3", "XX", "C1"));
+        assertEquals(2, v.getColumnCount());
+        assertEquals(Arrays.asList("C3", "C1"), v.getColumnKeys());
+        assertEquals(0, v.getColumnIndex("C3"));
+        assertEquals(-1, v.getColumnIndex("C2"));
+        assertEquals(6.0, v.getValue(1, 0).doubleValue(), EPSILON);
+        assertEquals(1.0, v.getValue("R1", "C1").doubleValue(), EPSILON);
+        assertThrows(UnknownKeyException.class,
+                () -> v.getValue("R1", "C2"));
+        v.setVisibleRowKeys(Arrays.asList("R2"));
+        assertEquals(1, v.getRowCount());
+        assertEquals("R2", v.getRowKey(0));
+        assertEquals(-1, v.getRowIndex("R1"));
+
+        // changes to the source are reflected in the view
+        source.addValue(9.0, "R2", "C1");
+        assertEquals(9.0, v.getValue(0, 1).doubleValue(), EPSILON);
+        source.removeColumn("C3");
+        assertEquals(1, v.getColumnCount());
+        assertEquals("C1", v.getColumnKey(0));
+    }
+
+    /**
+     * The value function is applied to the non-null values.
+     */
+    @Test
+    public void testValueFunction() {
+        CategoryDatasetView<String, String> v
+                = new CategoryDatasetView<>(createSource());
+        v.setValueFunction(new LineFunction2D(0.0, 10.0));
+        assertEquals(20.0, v.getValue(0, 1).doubleValue(), EPSILON);
+        assertNull(v.getValue(1, 1));
+    }
+
+    /**
+     * Confirm that the equals method, cloning and serialization work.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Test
+    public void testEqualsCloningAndSerialization()
+            throws CloneNotSupportedException {
+        DefaultCategoryDataset<String, String> source = createSource();
+        CategoryDatasetView<String, String> v1
+                = new CategoryDatasetView<>(source);
+        CategoryDatasetView<String, String> v2
+                = new CategoryDatasetView<>(source);
+        assertEquals(v1, v2);
+        v1.setVisibleRowKeys(Arrays.asList("R1"));
+        assertNotEquals(v1, v2);
+        v2.setVisibleRowKeys(Arrays.asList("R1"));
+        assertEquals(v1, v2);
+        v1.setVisibleColumnKeys(Arrays.asList("C1"));
+        assertNotEquals(v1, v2);
+        v2.setVisibleColumnKeys(Arrays.asList("C1"));
+        assertEquals(v1, v2);
+        v1.setValueFunction(new LineFunction2D(1.0, 1.0));
+        assertNotEquals(v1, v2);
+        v2.setValueFunction(new LineFunction2D(1.0, 1.0));
+        assertEquals(v1, v2);
+
+        CategoryDatasetView<String, String> v3 = CloneUtils.clone(v1);
+        assertNotSame(v1, v3);
+        assertEquals(v1, v3);
+        CategoryDatasetView<String, String> v4 = TestUtils.serialised(v1);
+        assertEquals(v1, v4);
+        assertEquals(2.0, v4.getValue(0, 0).doubleValue(), EPSILON);
+    }
+
+}
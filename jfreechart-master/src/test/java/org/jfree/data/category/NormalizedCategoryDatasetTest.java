@@ -0,0 +1,109 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------------------
+ * NormalizedCategoryDatasetTest.java
+ * ----------------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.category;
+
+import org.jfree.chart.api.TableOrder;
+import org.jfree.chart.internal.CloneUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link NormalizedCategoryDataset} class.
+ */
+public class NormalizedCategoryDatasetTest {
+
+    private static final double EPSILON = 0.0000000001;
+
+    private static DefaultCategoryDataset<String, String> createSource() {
+        DefaultCategoryDataset<String, String> result
+                = new DefaultCategoryDataset<>();
+        result.addValue(1.0, "R1", "C1");
+        result.addValue(3.0, "R1", "C2");
+        result.addValue(3.0, "R2", "C1");
+        result.addValue(null, "R2", "C2");
+        return result;
+    }
+
+    /**
+     * Normalising by row and by column.
+     */
+    @Test
+    public void testValues() {
+        DefaultCategoryDataset<String, String> source = createSource();
+        NormalizedCategoryDataset<String, String> byRow
+                = new NormalizedCategoryDataset<>(source, TableOrder.BY_ROW);
+        NormalizedCategoryDataset<String, String> byColumn
+                = new NormalizedCategoryDataset<>(source,
+                TableOrder.BY_COLUMN);
+        assertEquals(0.25, byRow.getValue(0, 0).doubleValue(), EPSILON);
+        assertEquals(0.75, byRow.getValue("R1", "C2").doubleValue(),
+                EPSILON);
+        assertEquals(1.0, byRow.getValue(1, 0).doubleValue(), EPSILON);
+        assertNull(byRow.getValue(1, 1));
+        assertEquals(0.25, byColumn.getValue(0, 0).doubleValue(), EPSILON);
+        assertEquals(1.0, byColumn.getValue(0, 1).doubleValue(), EPSILON);
+
+        // the totals are recalculated after a change to the source
+        source.addValue(0.0, "R1", "C1");
+        source.addValue(0.0, "R2", "C1");
+        assertEquals(0.0, byRow.getValue(0, 0).doubleValue(), EPSILON);
+        assertTrue(Double.isNaN(byColumn.getValue(0, 0).doubleValue()));
+    }
+
+    /**
+     * Confirm that the equals method and cloning work.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Test
+    public void testEqualsAndCloning() throws CloneNotSupportedException {
+        DefaultCategoryDataset<String, String> source = createSource();
+        NormalizedCategoryDataset<String, String> d1
+                = new NormalizedCategoryDataset<>(source, TableOrder.BY_ROW);
+        NormalizedCategoryDataset<String, String> d2
+                = new NormalizedCategoryDataset<>(source,
+                TableOrder.BY_COLUMN);
+        assertNotEquals(d1, d2);
+        d2 = new NormalizedCategoryDataset<>(source, TableOrder.BY_ROW);
+        assertEquals(d1, d2);
+        NormalizedCategoryDataset<String, String> d3 = CloneUtils.clone(d1);
+        assertNotSame(d1, d3);
+        assertEquals(d1, d3);
+    }
+
+}
@@ -36,6 +36,7 @@
 
 package org.jfree.data.flow;
 
+import java.util.Arrays;
 
 import org.jfree.chart.TestUtils;
 import org.jfree.chart.api.PublicCloneable;
@@ -48,6 +49,8 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 public class DefaultFlowDatasetTest {
 
+    private static final double EPSILON = 0.0000000001;
+
     /**
      * Some checks for the getValue() method.
      */
@@ -130,5 +133,66 @@ public class DefaultFlowDatasetTest {
         assertTrue(d instanceof PublicCloneable);
     }
 
-}
+    /**
+     * The adjacency lists and node totals follow the flows as they are
+     * added and updated.
+     */
+    @Test
+    public void testAdjacency() {
+        DefaultFlowDataset<String> d = new DefaultFlowDataset<>();
+        d.setFlow(0, "A", "Z", 1.0);
+        d.setFlow(0, "B", "Y", 2.0);
+        d.setFlow(0, "A", "Y", 3.0);
+        d.setFlow(1, "Y", "P", 4.0);
+        assertEquals(Arrays.asList("Z", "Y"), d.getDestinations(0));
+        assertEquals(Arrays.asList("Z", "Y"), d.getDestinations(0, "A"));
+        assertEquals(Arrays.asList("A", "B"), d.getSources(0, "Y"));
+        assertEquals(Arrays.asList("Y"), d.getDestinations(0, "B"));
+        assertTrue(d.getDestinations(0, "X").isEmpty());
+        assertEquals(2, d.getInFlows(new NodeKey<>(1, "Y")).size());
+        assertEquals(Arrays.asList(new FlowKey<>(0, "A", "Z"),
+                new FlowKey<>(0, "A", "Y")),
+                d.getOutFlows(new NodeKey<>(0, "A")));
+
+        assertEquals(4.0, d.getOutflow("A", 0), EPSILON);
+        assertEquals(5.0, d.getInflow("Y", 1), EPSILON);
+        assertEquals(4.0, d.getOutflow("Y", 1), EPSILON);
+        assertEquals(0.0, d.getInflow("A", 0), EPSILON);
+
+        // updating an existing flow
+        d.setFlow(0, "A", "Y", 0.5);
+        assertEquals(1.5, d.getOutflow("A", 0), EPSILON);
+        assertEquals(2.5, d.getInflow("Y", 1), EPSILON);
+        assertEquals(2.5, FlowDatasetUtils.calculateInflow(d, "Y", 1),
+                EPSILON);
+        assertEquals(1.5, FlowDatasetUtils.calculateOutflow(d, "A", 0),
+                EPSILON);
+        assertEquals(3.5, FlowDatasetUtils.calculateTotalFlow(d, 0), EPSILON);
+        assertEquals(Arrays.asList("A", "B"),
+                FlowDatasetUtils.getFlowSources(d, 0, "Y"));
+    }
+
+    /**
+     * The index is rebuilt for clones and deserialized instances.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Test
+    public void testIndexCopies() throws CloneNotSupportedException {
+        DefaultFlowDataset<String> d1 = new DefaultFlowDataset<>();
+        d1.setFlow(0, "A", "Z", 1.0);
+        d1.setFlow(0, "B", "Z", 2.0);
+        d1.setFlow(1, "Z", "P", 3.0);
+        DefaultFlowDataset<String> d2 = (DefaultFlowDataset<String>) d1.clone();
+        DefaultFlowDataset<String> d3 = TestUtils.serialised(d1);
+        for (DefaultFlowDataset<String> d : Arrays.asList(d2, d3)) {
+            assertEquals(Arrays.asList("A", "B"), d.getSources(0, "Z"));
+            assertEquals(3.0, d.getInflow("Z", 1), EPSILON);
+            assertEquals(3.0, d.getOutflow("Z", 1), EPSILON);
+            d.setFlow(0, "C", "Z", 4.0);
+            assertEquals(7.0, d.getInflow("Z", 1), EPSILON);
+        }
+        assertEquals(3.0, d1.getInflow("Z", 1), EPSILON);
+    }
 
+}
@@ -53,6 +53,7 @@ import org.jfree.data.statistics.DefaultBoxAndWhiskerXYDataset;
 import org.jfree.data.statistics.DefaultMultiValueCategoryDataset;
 import org.jfree.data.statistics.DefaultStatisticalCategoryDataset;
 import org.jfree.data.statistics.MultiValueCategoryDataset;
+import org.jfree.data.xy.AbstractXYDataset;
 import org.jfree.data.xy.DefaultIntervalXYDataset;
 import org.jfree.data.xy.DefaultTableXYDataset;
 import org.jfree.data.xy.DefaultXYDataset;
@@ -1491,4 +1492,103 @@ public class DatasetUtilsTest {
         assertEquals(new Range(-2.5, 17.5), DatasetUtils.findZBounds(dataset));
         assertEquals(new Range(0.0, 15.0), DatasetUtils.findZBounds(dataset, false));
     }
+
+    /**
+     * Bounds for datasets large enough to be scanned in parallel, using
+     * both the array-based and the general code paths.
+     */
+    @Test
+    public void testBoundsForLargeDataset() {
+        int n = ParallelBounds.THRESHOLD + 1234;
+        DefaultXYDataset<String> d1 = new DefaultXYDataset<>();
+        XYSeriesCollection<String> d2 = new XYSeriesCollection<>();
+        for (int s = 0; s < 2; s++) {
+            double[] x = new double[n];
+            double[] y = new double[n];
+            XYSeries<String> series = new XYSeries<>("S" + s, false, true);
+            for (int i = 0; i < n; i++) {
+                x[i] = i + s * 10.0;
+                y[i] = (i % 100 == 0) ? Double.NaN : (i % 7) * (s + 1);
+                series.add(x[i], y[i]);
+            }
+            d1.addSeries("S" + s, new double[][] {x, y});
+            d2.addSeries(series);
+        }
+        d1.getYValues(1)[777] = -5.0;
+        d2.getSeries(1).updateByIndex(777, -5.0);
+        for (XYDataset<String> d : Arrays.asList(d1, d2)) {
+            assertEquals(new Range(0.0, n + 9.0),
+                    DatasetUtils.findDomainBounds(d, false));
+            assertEquals(new Range(-5.0, 12.0),
+                    DatasetUtils.findRangeBounds(d));
+            assertEquals(new Range(0.0, 6.0),
+                    DatasetUtils.findRangeBounds(d, Arrays.asList("S0"),
+                    new Range(0.0, n), false));
+            assertEquals(new Range(0.0, 12.0),
+                    DatasetUtils.findRangeBounds(d, Arrays.asList("S1"),
+                    new Range(1000.0, n), false));
+        }
+    }
+
+    /**
+     * Stacked bounds for a dataset large enough to be scanned in parallel.
+     */
+    @Test
+    public void testFindStackedRangeBoundsForLargeDataset() {
+        int n = ParallelBounds.THRESHOLD * 2;
+        TableXYDataset<String> d = new LargeTableXYDataset(n);
+        Range r = DatasetUtils.findStackedRangeBounds(d, 0.0);
+        assertEquals(-4.0, r.getLowerBound(), EPSILON);
+        assertEquals(9.0, r.getUpperBound(), EPSILON);
+        r = DatasetUtils.findStackedRangeBounds(d, -10.0);
+        assertEquals(-14.0, r.getLowerBound(), EPSILON);
+        assertEquals(-1.0, r.getUpperBound(), EPSILON);
+    }
+
+    /**
+     * A table dataset with three series where the y-value is calculated
+     * from the item index.
+     */
+    static class LargeTableXYDataset extends AbstractXYDataset<String>
+            implements TableXYDataset<String> {
+
+        private final int itemCount;
+
+        LargeTableXYDataset(int itemCount) {
+            this.itemCount = itemCount;
+        }
+
+        @Override
+        public int getItemCount() {
+            return this.itemCount;
+        }
+
+        @Override
+        public int getItemCount(int series) {
+            return this.itemCount;
+        }
+
+        @Override
+        public int getSeriesCount() {
+            return 3;
+        }
+
+        @Override
+        public String getSeriesKey(int series) {
+            return "S" + series;
+        }
+
+        @Override
+        public Number getX(int series, int item) {
+            return item;
+        }
+
+        @Override
+        public Number getY(int series, int item) {
+            if (series == 2) {
+                return (item % 3) * -2.0;
+            }
+            return (item % 4) * (series + 1.0);
+        }
+    }
 }
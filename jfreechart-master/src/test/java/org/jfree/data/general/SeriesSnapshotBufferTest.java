@@ -0,0 +1,235 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -----------------------------
+ * SeriesSnapshotBufferTest.java
+ * -----------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.general;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jfree.data.xy.XYSeries;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link SeriesSnapshotBuffer} class.
+ */
+public class SeriesSnapshotBufferTest {
+
+    /**
+     * Checks that a snapshot holds the same data as a series.
+     *
+     * @param series  the series.
+     * @param snapshot  the snapshot.
+     */
+    private static void assertSnapshot(XYSeries<String> series,
+            SeriesSnapshotBuffer.Snapshot snapshot) {
+        assertEquals(series.getItemCount(), snapshot.getItemCount());
+        for (int i = 0; i < series.getItemCount(); i++) {
+            assertEquals(series.getX(i).doubleValue(),
+                    snapshot.getValue(0, i));
+            Number y = series.getY(i);
+            if (y == null) {
+                assertTrue(Double.isNaN(snapshot.getValue(1, i)));
+            } else {
+                assertEquals(y.doubleValue(), snapshot.getValue(1, i));
+            }
+            assertNull(snapshot.getObject(i));
+        }
+    }
+
+    /**
+     * Creates a series with the x-values 0 to {@code n - 1} and y-values
+     * twice the x-values.
+     *
+     * @param n  the item count.
+     *
+     * @return The series.
+     */
+    private static XYSeries<String> createSeries(int n) {
+        XYSeries<String> s = new XYSeries<>("S");
+        for (int i = 0; i < n; i++) {
+            s.add(i, 2.0 * i);
+        }
+        return s;
+    }
+
+    /**
+     * Appending items extends the snapshot without changing earlier
+     * snapshots, and an unchanged series returns the same snapshot.
+     */
+    @Test
+    public void testAppend() {
+        XYSeries<String> s = createSeries(5);
+        SeriesSnapshotBuffer.Snapshot s1 = s.snapshot();
+        assertSnapshot(s, s1);
+        assertSame(s1, s.snapshot());
+
+        XYSeries<String> copy = createSeries(5);
+        for (int i = 5; i < 100; i++) {
+            s.add(i, 2.0 * i);
+        }
+        SeriesSnapshotBuffer.Snapshot s2 = s.snapshot();
+        assertSnapshot(s, s2);
+        assertSnapshot(copy, s1);
+    }
+
+    /**
+     * A series with a maximum item count drops items from the start.
+     */
+    @Test
+    public void testRollingWindow() {
+        XYSeries<String> s = createSeries(10);
+        s.setMaximumItemCount(10);
+        SeriesSnapshotBuffer.Snapshot s1 = s.snapshot();
+        XYSeries<String> copy = createSeries(10);
+        for (int i = 10; i < 1000; i++) {
+            s.add(i, 2.0 * i);
+            if (i % 7 == 0) {
+                assertSnapshot(s, s.snapshot());
+            }
+        }
+        assertSnapshot(s, s.snapshot());
+        assertSnapshot(copy, s1);
+
+        s.setMaximumItemCount(3);
+        assertSnapshot(s, s.snapshot());
+        s.delete(0, 1);
+        assertSnapshot(s, s.snapshot());
+    }
+
+    /**
+     * Inserts, updates and removals before the end of the data are
+     * reflected in new snapshots but not in earlier ones.
+     */
+    @Test
+    public void testChanges() {
+        XYSeries<String> s = createSeries(10);
+        SeriesSnapshotBuffer.Snapshot s1 = s.snapshot();
+        XYSeries<String> copy = createSeries(10);
+
+        s.add(4.5, 1.0);
+        assertSnapshot(s, s.snapshot());
+        s.updateByIndex(2, null);
+        assertSnapshot(s, s.snapshot());
+        s.addOrUpdate(7.0, 99.0);
+        assertSnapshot(s, s.snapshot());
+        s.remove(3);
+        assertSnapshot(s, s.snapshot());
+        s.remove(0);
+        assertSnapshot(s, s.snapshot());
+        s.delete(2, 4);
+        assertSnapshot(s, s.snapshot());
+        s.clear();
+        assertSnapshot(s, s.snapshot());
+        s.add(1.0, 2.0);
+        assertSnapshot(s, s.snapshot());
+        assertSnapshot(copy, s1);
+    }
+
+    /**
+     * Several changes between two snapshots.
+     */
+    @Test
+    public void testChangesBetweenSnapshots() {
+        XYSeries<String> s = createSeries(20);
+        s.snapshot();
+        s.add(20.0, 1.0);
+        s.setMaximumItemCount(15);
+        s.add(3.5, 1.0);
+        s.add(21.0, 1.0);
+        assertSnapshot(s, s.snapshot());
+        s.add(22.0, 1.0);
+        s.delete(0, 10);
+        s.add(23.0, 1.0);
+        assertSnapshot(s, s.snapshot());
+    }
+
+    /**
+     * A clone does not share the snapshot buffer.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Test
+    public void testClone() throws CloneNotSupportedException {
+        XYSeries<String> s = createSeries(10);
+        s.snapshot();
+        XYSeries<String> clone = (XYSeries<String>) s.clone();
+        clone.add(100.0, 1.0);
+        s.add(200.0, 2.0);
+        assertSnapshot(s, s.snapshot());
+        assertSnapshot(clone, clone.snapshot());
+    }
+
+    /**
+     * Snapshots taken while another thread appends to the series are each
+     * internally consistent.
+     *
+     * @throws InterruptedException if the test is interrupted.
+     */
+    @Test
+    public void testConcurrentAppend() throws InterruptedException {
+        XYSeries<String> s = new XYSeries<>("S");
+        s.setMaximumItemCount(500);
+        AtomicBoolean done = new AtomicBoolean();
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 200000; i++) {
+                s.add(i, 2.0 * i, false);
+            }
+            done.set(true);
+        });
+        writer.start();
+        int snapshots = 0;
+        while (!done.get() || snapshots == 0) {
+            SeriesSnapshotBuffer.Snapshot snapshot = s.snapshot();
+            int n = snapshot.getItemCount();
+            assertTrue(n <= 500);
+            for (int i = 0; i < n; i++) {
+                double x = snapshot.getValue(0, i);
+                assertEquals(2.0 * x, snapshot.getValue(1, i));
+                if (i > 0) {
+                    assertEquals(x - 1.0, snapshot.getValue(0, i - 1));
+                }
+            }
+            snapshots++;
+        }
+        writer.join();
+        assertSnapshot(s, s.snapshot());
+    }
+
+}
@@ -0,0 +1,231 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------
+ * StackBuffersTest.java
+ * ---------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.general;
+
+import org.jfree.data.Range;
+import org.jfree.data.category.DefaultCategoryDataset;
+import org.jfree.data.xy.DefaultTableXYDataset;
+import org.jfree.data.xy.XYSeries;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link StackBuffers} class.
+ */
+public class StackBuffersTest {
+
+    private static final double EPSILON = 0.0000000001;
+
+    /**
+     * Creates a dataset with three rows and two columns.
+     *
+     * @return The dataset.
+     */
+    private DefaultCategoryDataset<String, String> createCategoryDataset() {
+        DefaultCategoryDataset<String, String> d
+                = new DefaultCategoryDataset<>();
+        d.addValue(1.0, "R0", "C0");
+        d.addValue(-2.0, "R0", "C1");
+        d.addValue(3.0, "R1", "C0");
+        d.addValue(null, "R1", "C1");
+        d.addValue(-4.0, "R2", "C0");
+        d.addValue(5.0, "R2", "C1");
+        return d;
+    }
+
+    /**
+     * Some checks for the bases calculated from a category dataset.
+     */
+    @Test
+    public void testCategoryBases() {
+        DefaultCategoryDataset<String, String> d = createCategoryDataset();
+        StackBuffers b = StackBuffers.create(d, null, null, false);
+        assertEquals(3, b.getSeriesCount());
+        assertEquals(2, b.getItemCount());
+        assertEquals(0.0, b.getPositiveBase(0, 0), EPSILON);
+        assertEquals(0.0, b.getNegativeBase(0, 0), EPSILON);
+        assertEquals(1.0, b.getPositiveBase(1, 0), EPSILON);
+        assertEquals(4.0, b.getPositiveBase(2, 0), EPSILON);
+        assertEquals(0.0, b.getNegativeBase(2, 0), EPSILON);
+        assertEquals(0.0, b.getPositiveBase(2, 1), EPSILON);
+        assertEquals(-2.0, b.getNegativeBase(2, 1), EPSILON);
+        assertEquals(new Range(-4.0, 5.0), b.getRange());
+        assertTrue(b.isFor(d));
+
+        // a change in the size of the dataset invalidates the buffers
+        d.addValue(1.0, "R3", "C0");
+        assertFalse(b.isFor(d));
+        assertFalse(b.isFor(createCategoryDataset()));
+    }
+
+    /**
+     * Rows that are not included are skipped in the stack.
+     */
+    @Test
+    public void testCategoryIncludedRows() {
+        DefaultCategoryDataset<String, String> d = createCategoryDataset();
+        StackBuffers b = StackBuffers.create(d, new int[] {1, 2}, null, false);
+        assertEquals(0.0, b.getPositiveBase(1, 0), EPSILON);
+        assertEquals(3.0, b.getPositiveBase(2, 0), EPSILON);
+        assertEquals(0.0, b.getNegativeBase(2, 1), EPSILON);
+    }
+
+    /**
+     * Each group is stacked separately.
+     */
+    @Test
+    public void testCategoryGroups() {
+        DefaultCategoryDataset<String, String> d = createCategoryDataset();
+        StackBuffers b = StackBuffers.create(d, null, new int[] {0, 1, 0},
+                false);
+        assertEquals(0.0, b.getPositiveBase(1, 0), EPSILON);
+        assertEquals(1.0, b.getPositiveBase(2, 0), EPSILON);
+        assertEquals(-2.0, b.getNegativeBase(2, 1), EPSILON);
+    }
+
+    /**
+     * Check the values when stacking as percentages.
+     */
+    @Test
+    public void testCategoryPercentages() {
+        DefaultCategoryDataset<String, String> d
+                = new DefaultCategoryDataset<>();
+        d.addValue(1.0, "R0", "C0");
+        d.addValue(3.0, "R1", "C0");
+        d.addValue(4.0, "R2", "C0");
+        StackBuffers b = StackBuffers.create(d, null, null, true);
+        assertEquals(8.0, b.getTotal(0), EPSILON);
+        assertEquals(0.125, b.getPositiveBase(1, 0), EPSILON);
+        assertEquals(0.5, b.getPositiveBase(2, 0), EPSILON);
+        assertEquals(new Range(0.0, 1.0), b.getRange());
+    }
+
+    /**
+     * Some checks for the bases calculated from a table XY dataset.
+     */
+    @Test
+    public void testTableXYBases() {
+        DefaultTableXYDataset<String> d = new DefaultTableXYDataset<>();
+        XYSeries<String> s1 = new XYSeries<>("S1", true, false);
+        s1.add(1.0, 2.0);
+        s1.add(2.0, -1.0);
+        d.addSeries(s1);
+        XYSeries<String> s2 = new XYSeries<>("S2", true, false);
+        s2.add(1.0, Double.NaN);
+        s2.add(2.0, -3.0);
+        d.addSeries(s2);
+        XYSeries<String> s3 = new XYSeries<>("S3", true, false);
+        s3.add(1.0, 5.0);
+        s3.add(2.0, 7.0);
+        d.addSeries(s3);
+        StackBuffers b = StackBuffers.create(d, null, false);
+        assertEquals(2.0, b.getPositiveBase(2, 0), EPSILON);
+        assertEquals(-4.0, b.getNegativeBase(2, 1), EPSILON);
+        assertEquals(new Range(-4.0, 7.0), b.getRange());
+        assertEquals(DatasetUtils.findStackedRangeBounds(d), b.getRange());
+        assertTrue(b.isFor(d));
+
+        b = StackBuffers.create(d, new int[] {0, 2}, true);
+        assertEquals(7.0, b.getTotal(0), EPSILON);
+        assertEquals(6.0, b.getTotal(1), EPSILON);
+        assertEquals(2.0 / 7.0, b.getPositiveBase(2, 0), EPSILON);
+        assertEquals(-1.0 / 6.0, b.getNegativeBase(2, 1), EPSILON);
+    }
+
+    /**
+     * The bases are the same whatever order the items are visited in.
+     */
+    @Test
+    public void testVisitOrder() {
+        DefaultCategoryDataset<String, String> d
+                = new DefaultCategoryDataset<>();
+        for (int r = 0; r < 12; r++) {
+            for (int c = 0; c < 7; c++) {
+                double v = ((r * 31 + c * 17) % 23) - 9.5;
+                d.addValue(v, "R" + r, "C" + c);
+            }
+        }
+        StackBuffers b = StackBuffers.create(d, null, new int[] {0, 1, 0, 1,
+                0, 1, 0, 1, 0, 1, 0, 1}, false);
+        // rows in reverse order, then column by column in forward order
+        for (int r = 11; r >= 0; r--) {
+            for (int c = 0; c < 7; c++) {
+                checkBases(d, b, r, c);
+            }
+        }
+        for (int c = 0; c < 7; c++) {
+            for (int r = 0; r < 12; r++) {
+                checkBases(d, b, r, c);
+            }
+        }
+    }
+
+    /**
+     * Checks the bases for one item against sums of the dataset values for
+     * the earlier rows in the same group (the groups alternate).
+     */
+    private static void checkBases(DefaultCategoryDataset<String, String> d,
+            StackBuffers b, int row, int column) {
+        double pos = 0.0;
+        double neg = 0.0;
+        for (int r = row % 2; r < row; r += 2) {
+            double v = d.getValue(r, column).doubleValue();
+            if (v > 0.0) {
+                pos += v;
+            } else {
+                neg += v;
+            }
+        }
+        assertEquals(pos, b.getPositiveBase(row, column), EPSILON);
+        assertEquals(neg, b.getNegativeBase(row, column), EPSILON);
+    }
+
+    /**
+     * An empty dataset has no range.
+     */
+    @Test
+    public void testEmpty() {
+        StackBuffers b = StackBuffers.create(new DefaultTableXYDataset<>(),
+                null, false);
+        assertNull(b.getRange());
+    }
+
+}
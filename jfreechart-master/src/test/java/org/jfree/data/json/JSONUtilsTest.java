@@ -0,0 +1,172 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------
+ * JSONUtilsTest.java
+ * ------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.json;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.TimeZone;
+
+import org.jfree.data.category.DefaultCategoryDataset;
+import org.jfree.data.time.Day;
+import org.jfree.data.time.TimeSeries;
+import org.jfree.data.time.TimeSeriesCollection;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link JSONUtils} class.
+ */
+public class JSONUtilsTest {
+
+    /**
+     * Write an XY dataset and read it back.
+     */
+    @Test
+    public void testXYDatasetRoundTrip() throws IOException {
+        XYSeries<String> s1 = new XYSeries<>("S \"1\"");
+        s1.add(1.0, 2.0);
+        s1.add(2.0, (Number) null);
+        s1.add(3.0, -1.5E-5);
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>(s1);
+        dataset.addSeries(new XYSeries<>("S2"));
+        String json = JSONUtils.writeXYDataset(dataset);
+        assertEquals("{\"series\": [{\"key\": \"S \\\"1\\\"\", \"items\": "
+                + "[[1.0, 2.0], [2.0, null], [3.0, -1.5E-5]]}, "
+                + "{\"key\": \"S2\", \"items\": []}]}", json);
+        assertEquals(dataset, JSONUtils.readXYDataset(new StringReader(json)));
+    }
+
+    /**
+     * Write a time series collection and read it back.
+     */
+    @Test
+    public void testTimeSeriesCollectionRoundTrip() throws IOException {
+        TimeZone zone = TimeZone.getTimeZone("UTC");
+        TimeSeries<String> s1 = new TimeSeries<>("S1");
+        s1.add(new Day(1, 1, 2022), 1.0);
+        s1.add(new Day(2, 1, 2022), null);
+        TimeSeriesCollection<String> dataset = new TimeSeriesCollection<>(s1,
+                zone);
+        StringWriter sw = new StringWriter();
+        JSONUtils.writeTimeSeriesCollection(dataset, sw, zone);
+        assertEquals("{\"series\": [{\"key\": \"S1\", \"timePeriod\": \"Day\", "
+                + "\"items\": [[1640995200000, 1.0], [1641081600000, null]]}]}",
+                sw.toString());
+        TimeSeriesCollection<String> result = new TimeSeriesCollection<>(zone);
+        JSONUtils.readTimeSeriesCollection(new StringReader(sw.toString()),
+                result, zone);
+        assertEquals(dataset, result);
+    }
+
+    /**
+     * Write a category dataset and read it back.
+     */
+    @Test
+    public void testCategoryDatasetRoundTrip() throws IOException {
+        DefaultCategoryDataset<String, String> dataset
+                = new DefaultCategoryDataset<>();
+        dataset.addValue(1.0, "R1", "C1");
+        dataset.addValue(null, "R1", "C2");
+        dataset.addValue(3.0, "R2", "C1");
+        dataset.addValue(4.0, "R2", "C2");
+        String json = JSONUtils.writeKeyedValues2D(dataset);
+        assertEquals(dataset, JSONUtils.readCategoryDataset(
+                new StringReader(json)));
+    }
+
+    /**
+     * Unknown members are skipped and whitespace is ignored.
+     */
+    @Test
+    public void testReadSkipsUnknownMembers() throws IOException {
+        String json = "{ \"version\": {\"a\": [1, true, \"x\\u0041\"]},\n"
+                + "  \"series\": [ { \"key\": \"A\", \"note\": null,\n"
+                + "    \"items\": [ [1, 2e1] ] } ] }";
+        XYSeriesCollection<String> dataset = JSONUtils.readXYDataset(
+                new StringReader(json));
+        assertEquals(1, dataset.getSeriesCount());
+        assertEquals(20.0, dataset.getYValue(0, 0));
+    }
+
+    /**
+     * Malformed input is reported as an IOException.
+     */
+    @Test
+    public void testReadMalformed() {
+        assertThrows(IOException.class, () -> JSONUtils.readXYDataset(
+                new StringReader("{\"series\": [{\"key\": \"A\" \"items\": []}]}")));
+        assertThrows(IOException.class, () -> JSONUtils.readXYDataset(
+                new StringReader("{\"series\": [{\"items\": [[1, 2]]}]}")));
+        assertThrows(IOException.class, () -> JSONUtils.readCategoryDataset(
+                new StringReader("{\"columnKeys\": [\"C1\"], "
+                + "\"rows\": [[\"R1\", [1.0, 2.0]]]}")));
+    }
+
+    /**
+     * An item array without a y-value is reported clearly.
+     */
+    @Test
+    public void testReadShortItem() {
+        IOException e = assertThrows(IOException.class,
+                () -> JSONUtils.readXYDataset(new StringReader(
+                "{\"series\": [{\"key\": \"A\", \"items\": [[1]]}]}")));
+        assertTrue(e.getMessage().startsWith("Expected an item y-value"));
+        assertThrows(IOException.class, () -> JSONUtils.readCategoryDataset(
+                new StringReader("{\"columnKeys\": [\"C1\"], "
+                + "\"rows\": [[\"R1\"]]}")));
+    }
+
+    /**
+     * Items with a NaN x-value are not written, so the output can be read.
+     */
+    @Test
+    public void testWriteNaNX() throws IOException {
+        XYSeries<String> s1 = new XYSeries<>("S1", false);
+        s1.add(1.0, 2.0);
+        s1.add(Double.NaN, 3.0);
+        String json = JSONUtils.writeXYDataset(new XYSeriesCollection<>(s1));
+        assertEquals("{\"series\": [{\"key\": \"S1\", \"items\": "
+                + "[[1.0, 2.0]]}]}", json);
+        assertEquals(1, JSONUtils.readXYDataset(new StringReader(json))
+                .getItemCount(0));
+    }
+
+}
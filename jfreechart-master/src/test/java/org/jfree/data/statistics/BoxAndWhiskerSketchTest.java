@@ -0,0 +1,185 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------------
+ * BoxAndWhiskerSketchTest.java
+ * ----------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.statistics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.internal.CloneUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link BoxAndWhiskerSketch} class.
+ */
+public class BoxAndWhiskerSketchTest {
+
+    /**
+     * For a small number of values the sketch is exact, and matches the
+     * {@link BoxAndWhiskerCalculator}.
+     */
+    @Test
+    public void testMatchesCalculatorForSmallInput() {
+        BoxAndWhiskerSketch s = new BoxAndWhiskerSketch();
+        List<Double> values = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            values.add((double) i);
+            s.add(i);
+        }
+        s.add(100.0);
+        values.add(100.0);
+        BoxAndWhiskerItem expected = BoxAndWhiskerCalculator
+                .calculateBoxAndWhiskerStatistics(values);
+        BoxAndWhiskerItem item = s.getItem();
+        assertEquals(expected.getMean().doubleValue(),
+                item.getMean().doubleValue(), 1e-10);
+        assertEquals(expected.getMinRegularValue(), item.getMinRegularValue());
+        assertEquals(expected.getMaxRegularValue(), item.getMaxRegularValue());
+        assertEquals(1, item.getOutliers().size());
+        assertEquals(100.0, item.getOutliers().get(0).doubleValue());
+    }
+
+    /**
+     * Check the statistics for a large stream, with a bounded number of
+     * outliers.
+     */
+    @Test
+    public void testLargeStream() {
+        BoxAndWhiskerSketch s = new BoxAndWhiskerSketch(200, 10);
+        Random random = new Random(1L);
+        for (int i = 0; i < 500000; i++) {
+            s.add(random.nextGaussian());
+        }
+        BoxAndWhiskerItem item = s.getItem();
+        assertEquals(0.0, item.getMedian().doubleValue(), 0.05);
+        assertEquals(-0.674, item.getQ1().doubleValue(), 0.05);
+        assertEquals(0.674, item.getQ3().doubleValue(), 0.05);
+        assertEquals(0.0, item.getMean().doubleValue(), 0.01);
+        assertTrue(item.getOutliers().size() <= 12);
+        assertTrue(item.getOutliers().size() > 0);
+        for (Number n : item.getOutliers()) {
+            assertTrue(Math.abs(n.doubleValue()) > 2.0);
+        }
+        assertTrue(item.getMinOutlier().doubleValue()
+                <= item.getMinRegularValue().doubleValue());
+        assertTrue(item.getMaxOutlier().doubleValue()
+                >= item.getMaxRegularValue().doubleValue());
+    }
+
+    /**
+     * The item is cached until the next value is added.
+     */
+    @Test
+    public void testItemCaching() {
+        BoxAndWhiskerSketch s = new BoxAndWhiskerSketch();
+        s.add(1.0);
+        BoxAndWhiskerItem item = s.getItem();
+        assertSame(item, s.getItem());
+        s.add(2.0);
+        assertNotSame(item, s.getItem());
+        assertEquals(1.5, s.getItem().getMean().doubleValue(), 1e-10);
+    }
+
+    /**
+     * Merging two sketches.
+     */
+    @Test
+    public void testMerge() {
+        BoxAndWhiskerSketch s1 = new BoxAndWhiskerSketch(200, 5);
+        BoxAndWhiskerSketch s2 = new BoxAndWhiskerSketch(200, 5);
+        for (int i = 0; i < 10000; i++) {
+            s1.add(i % 100);
+            s2.add(i % 100);
+        }
+        s2.add(1000.0);
+        s1.merge(s2);
+        assertEquals(20001, s1.getCount());
+        assertEquals(1000.0, s1.getMaximum());
+        BoxAndWhiskerItem item = s1.getItem();
+        assertEquals(50.0, item.getMedian().doubleValue(), 3.0);
+        assertTrue(item.getOutliers().contains(1000.0));
+        assertTrue(item.getOutliers().size() <= 5);
+    }
+
+    /**
+     * Confirm that the equals method can distinguish all the required fields.
+     */
+    @Test
+    public void testEquals() {
+        BoxAndWhiskerSketch s1 = new BoxAndWhiskerSketch(100, 10);
+        BoxAndWhiskerSketch s2 = new BoxAndWhiskerSketch(100, 10);
+        assertEquals(s1, s2);
+        s1.add(3.0);
+        assertNotEquals(s1, s2);
+        s2.add(3.0);
+        assertEquals(s1, s2);
+        assertNotEquals(new BoxAndWhiskerSketch(100, 10),
+                new BoxAndWhiskerSketch(100, 11));
+    }
+
+    /**
+     * Confirm that cloning works.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        BoxAndWhiskerSketch s1 = new BoxAndWhiskerSketch();
+        s1.add(new double[] {1.0, 2.0, 3.0});
+        BoxAndWhiskerSketch s2 = CloneUtils.clone(s1);
+        assertNotSame(s1, s2);
+        assertEquals(s1, s2);
+        s1.add(4.0);
+        assertNotEquals(s1, s2);
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        BoxAndWhiskerSketch s1 = new BoxAndWhiskerSketch();
+        s1.add(new double[] {1.0, 2.0, 3.0, 50.0});
+        BoxAndWhiskerSketch s2 = TestUtils.serialised(s1);
+        assertEquals(s1, s2);
+        assertEquals(s1.getItem(), s2.getItem());
+    }
+
+}
@@ -193,6 +193,76 @@ public class DefaultBoxAndWhiskerCategoryDatasetTest {
         assertEquals(new Range(7.5, 8.5), dataset.getRangeBounds(false));
     }
 
+    /**
+     * Some checks for the add() method that accumulates single values.
+     */
+    @Test
+    public void testAddValue() {
+        DefaultBoxAndWhiskerCategoryDataset<String, String> dataset
+                = new DefaultBoxAndWhiskerCategoryDataset<>();
+        dataset.add(new BoxAndWhiskerItem(1.0, 2.0, 3.0, 4.0, 5.0, 6.0, 7.0,
+                80.0, new ArrayList<>()), "R1", "C1");
+        for (int i = 1; i <= 9; i++) {
+            dataset.add((double) i, "R1", "C2");
+        }
+        assertEquals(5.0, dataset.getMeanValue("R1", "C2").doubleValue(),
+                EPSILON);
+        assertEquals(5.0, dataset.getMedianValue(0, 1).doubleValue(),
+                EPSILON);
+        assertEquals(new Range(1.0, 80.0), dataset.getRangeBounds(false));
+
+        // replacing the fixed item with values updates the cached range
+        dataset.add(10.0, "R1", "C1");
+        assertEquals(10.0, dataset.getMedianValue(0, 0).doubleValue(),
+                EPSILON);
+        assertEquals(new Range(1.0, 10.0), dataset.getRangeBounds(false));
+
+        BoxAndWhiskerSketch sketch = new BoxAndWhiskerSketch();
+        sketch.add(new double[] {-5.0, 20.0});
+        dataset.add(sketch, "R1", "C1");
+        assertEquals(new Range(-5.0, 20.0), dataset.getRangeBounds(false));
+        assertEquals(25.0 / 3.0, dataset.getMeanValue(0, 0).doubleValue(),
+                EPSILON);
+    }
+
+    /**
+     * The bounds for a sketch cell are the same whether they are extended
+     * as values are added or recalculated after another cell is removed.
+     */
+    @Test
+    public void testSketchBounds() {
+        DefaultBoxAndWhiskerCategoryDataset<String, String> dataset
+                = new DefaultBoxAndWhiskerCategoryDataset<>();
+        for (int i = 1; i <= 20; i++) {
+            dataset.add((double) i, "R1", "C1");
+        }
+        dataset.add(1000.0, "R1", "C1");
+        assertEquals(new Range(1.0, 1000.0), dataset.getRangeBounds(false));
+        dataset.add(new BoxAndWhiskerItem(1.0, 2.0, 3.0, 4.0, 5.0, 6.0,
+                -50.0, 5000.0, new ArrayList<>()), "R1", "C2");
+        assertEquals(new Range(-50.0, 5000.0), dataset.getRangeBounds(false));
+        dataset.removeColumn("C2");
+        assertEquals(new Range(1.0, 1000.0), dataset.getRangeBounds(false));
+    }
+
+    /**
+     * Cloning a dataset that holds sketches gives an independent copy.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Test
+    public void testCloningWithSketch() throws CloneNotSupportedException {
+        DefaultBoxAndWhiskerCategoryDataset<String, String> d1
+                = new DefaultBoxAndWhiskerCategoryDataset<>();
+        d1.add(1.0, "R1", "C1");
+        DefaultBoxAndWhiskerCategoryDataset<String, String> d2
+                = CloneUtils.clone(d1);
+        assertEquals(d1, d2);
+        d1.add(2.0, "R1", "C1");
+        assertNotEquals(d1, d2);
+        assertEquals(1.0, d2.getMeanValue(0, 0).doubleValue(), EPSILON);
+    }
+
     /**
      * Some basic checks for the constructor.
      */
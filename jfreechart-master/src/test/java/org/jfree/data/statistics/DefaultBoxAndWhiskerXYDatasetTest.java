@@ -173,4 +173,29 @@ public class DefaultBoxAndWhiskerXYDatasetTest {
         assertEquals(new Range(5.0, 7.5), d1.getRangeBounds(true));
     }
 
+    /**
+     * Some checks for the add() method that accumulates single values.
+     */
+    @Test
+    public void testAddValue() {
+        DefaultBoxAndWhiskerXYDataset<String> d1
+                = new DefaultBoxAndWhiskerXYDataset<>("S");
+        for (int i = 1; i <= 5; i++) {
+            d1.add(new Date(1L), (double) i);
+        }
+        d1.add(new Date(2L), 10.0);
+        assertEquals(2, d1.getItemCount(0));
+        assertEquals(3.0, d1.getMeanValue(0, 0).doubleValue(), 0.000001);
+        assertEquals(3.0, d1.getMedianValue(0, 0).doubleValue(), 0.000001);
+        assertEquals(10.0, d1.getMeanValue(0, 1).doubleValue(), 0.000001);
+        assertEquals(new Range(1.0, 10.0), d1.getRangeBounds(false));
+
+        // a fixed item followed by a value for the same date
+        d1.add(new Date(3L), new BoxAndWhiskerItem(1.0, 2.0, 3.0, 4.0, 5.0,
+                6.0, 7.0, 8.0, new ArrayList<>()));
+        d1.add(new Date(3L), 4.0);
+        assertEquals(4, d1.getItemCount(0));
+        assertEquals(4.0, d1.getMeanValue(0, 3).doubleValue(), 0.000001);
+    }
+
 }
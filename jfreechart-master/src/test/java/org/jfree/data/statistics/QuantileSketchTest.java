@@ -0,0 +1,178 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -----------------------
+ * QuantileSketchTest.java
+ * -----------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.statistics;
+
+import java.util.Random;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.internal.CloneUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link QuantileSketch} class.
+ */
+public class QuantileSketchTest {
+
+    /**
+     * An empty sketch returns NaN for all statistics.
+     */
+    @Test
+    public void testEmpty() {
+        QuantileSketch s = new QuantileSketch();
+        assertTrue(s.isEmpty());
+        assertEquals(0, s.getCount());
+        assertTrue(Double.isNaN(s.getQuantile(0.5)));
+        assertTrue(Double.isNaN(s.getMinimum()));
+        assertTrue(Double.isNaN(s.getMean()));
+    }
+
+    /**
+     * A small number of values is held exactly.
+     */
+    @Test
+    public void testSmall() {
+        QuantileSketch s = new QuantileSketch();
+        for (int i = 1; i <= 5; i++) {
+            s.add(i);
+        }
+        s.add(Double.NaN);
+        assertEquals(5, s.getCount());
+        assertEquals(1.0, s.getQuantile(0.0));
+        assertEquals(3.0, s.getQuantile(0.5));
+        assertEquals(5.0, s.getQuantile(1.0));
+        assertEquals(3.0, s.getMean(), 1e-10);
+        assertEquals(0.6, s.getRank(3.0), 1e-10);
+    }
+
+    /**
+     * The quantiles for a large stream are estimated within the expected
+     * rank error while the memory used stays bounded.
+     */
+    @Test
+    public void testAccuracy() {
+        QuantileSketch s = new QuantileSketch();
+        Random random = new Random(123L);
+        int n = 1000000;
+        for (int i = 0; i < n; i++) {
+            s.add(random.nextDouble());
+        }
+        assertEquals(n, s.getCount());
+        assertTrue(s.getRetainedCount() < 2000);
+        double[] q = s.getQuantiles(new double[] {0.01, 0.25, 0.5, 0.75,
+                0.99});
+        assertEquals(0.01, q[0], 0.02);
+        assertEquals(0.25, q[1], 0.02);
+        assertEquals(0.5, q[2], 0.02);
+        assertEquals(0.75, q[3], 0.02);
+        assertEquals(0.99, q[4], 0.02);
+        assertEquals(0.5, s.getMean(), 0.01);
+    }
+
+    /**
+     * Merging two sketches summarises the union of their values.
+     */
+    @Test
+    public void testMerge() {
+        QuantileSketch s1 = new QuantileSketch();
+        QuantileSketch s2 = new QuantileSketch();
+        for (int i = 0; i < 50000; i++) {
+            s1.add(i);
+            s2.add(50000 + i);
+        }
+        s1.merge(s2);
+        assertEquals(100000, s1.getCount());
+        assertEquals(0.0, s1.getMinimum());
+        assertEquals(99999.0, s1.getMaximum());
+        assertEquals(50000.0, s1.getQuantile(0.5), 2000.0);
+        assertEquals(25000.0, s1.getQuantile(0.25), 2000.0);
+        assertEquals(50000, s2.getCount());
+
+        // merging a sketch with itself doubles the weights
+        s2.merge(s2);
+        assertEquals(100000, s2.getCount());
+        assertEquals(75000.0, s2.getQuantile(0.5), 2000.0);
+    }
+
+    /**
+     * Confirm that the equals method can distinguish all the required fields.
+     */
+    @Test
+    public void testEquals() {
+        QuantileSketch s1 = new QuantileSketch(50);
+        QuantileSketch s2 = new QuantileSketch(50);
+        assertEquals(s1, s2);
+        s1.add(1.0);
+        assertNotEquals(s1, s2);
+        s2.add(1.0);
+        assertEquals(s1, s2);
+        assertNotEquals(s1, new QuantileSketch(60));
+    }
+
+    /**
+     * Confirm that cloning works.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        QuantileSketch s1 = new QuantileSketch(20);
+        for (int i = 0; i < 1000; i++) {
+            s1.add(i);
+        }
+        QuantileSketch s2 = CloneUtils.clone(s1);
+        assertNotSame(s1, s2);
+        assertEquals(s1, s2);
+        s1.add(5.0);
+        assertNotEquals(s1, s2);
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        QuantileSketch s1 = new QuantileSketch(20);
+        for (int i = 0; i < 1000; i++) {
+            s1.add(i);
+        }
+        QuantileSketch s2 = TestUtils.serialised(s1);
+        assertEquals(s1, s2);
+    }
+
+}
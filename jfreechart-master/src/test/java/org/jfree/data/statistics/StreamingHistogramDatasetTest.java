@@ -0,0 +1,156 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------------------
+ * StreamingHistogramDatasetTest.java
+ * ----------------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.statistics;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.internal.CloneUtils;
+import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.general.DatasetChangeListener;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link StreamingHistogramDataset} class.
+ */
+public class StreamingHistogramDatasetTest implements DatasetChangeListener {
+
+    /** The last event received. */
+    private DatasetChangeEvent lastEvent;
+
+    /**
+     * Receives dataset change events.
+     *
+     * @param event  the event.
+     */
+    @Override
+    public void datasetChanged(DatasetChangeEvent event) {
+        this.lastEvent = event;
+    }
+
+    /**
+     * Some checks for the y-values.
+     */
+    @Test
+    public void testGetYValue() {
+        StreamingHistogramDataset<String> d = new StreamingHistogramDataset<>();
+        d.addSeries("S1", StreamingHistogram.createLinear(0.0, 4.0, 2));
+        d.addObservations(0, new double[] {1.0, 3.0, 3.5, 3.9});
+        assertEquals(2, d.getItemCount(0));
+        assertEquals(1.0, d.getXValue(0, 0), 1e-10);
+        assertEquals(2.0, d.getStartXValue(0, 1), 1e-10);
+        assertEquals(4.0, d.getEndXValue(0, 1), 1e-10);
+        assertEquals(3.0, d.getYValue(0, 1), 1e-10);
+        d.setType(HistogramType.RELATIVE_FREQUENCY);
+        assertEquals(0.75, d.getYValue(0, 1), 1e-10);
+        d.setType(HistogramType.SCALE_AREA_TO_1);
+        assertEquals(0.375, d.getYValue(0, 1), 1e-10);
+    }
+
+    /**
+     * Adding observations without notification does not fire events.
+     */
+    @Test
+    public void testNotify() {
+        StreamingHistogramDataset<String> d = new StreamingHistogramDataset<>();
+        d.addSeries("S1", StreamingHistogram.createLinear(0.0, 4.0, 2));
+        d.addChangeListener(this);
+        this.lastEvent = null;
+        d.addObservation(0, 1.0, false);
+        assertNull(this.lastEvent);
+        d.setNotify(true);
+        assertNotNull(this.lastEvent);
+        this.lastEvent = null;
+        d.addObservation(0, 1.0);
+        assertNotNull(this.lastEvent);
+        assertEquals(2.0, d.getYValue(0, 0), 1e-10);
+    }
+
+    /**
+     * Confirm that the equals method can distinguish all the required fields.
+     */
+    @Test
+    public void testEquals() {
+        StreamingHistogramDataset<String> d1
+                = new StreamingHistogramDataset<>();
+        StreamingHistogramDataset<String> d2
+                = new StreamingHistogramDataset<>();
+        assertEquals(d1, d2);
+        d1.addSeries("S1", StreamingHistogram.createLinear(0.0, 4.0, 2));
+        assertNotEquals(d1, d2);
+        d2.addSeries("S1", StreamingHistogram.createLinear(0.0, 4.0, 2));
+        assertEquals(d1, d2);
+        d1.addObservation(0, 1.0);
+        assertNotEquals(d1, d2);
+        d2.addObservation(0, 1.0);
+        assertEquals(d1, d2);
+        d1.setType(HistogramType.RELATIVE_FREQUENCY);
+        assertNotEquals(d1, d2);
+    }
+
+    /**
+     * Confirm that cloning works.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        StreamingHistogramDataset<String> d1
+                = new StreamingHistogramDataset<>();
+        d1.addSeries("S1", StreamingHistogram.createLinear(0.0, 4.0, 2));
+        d1.addObservation(0, 1.0);
+        StreamingHistogramDataset<String> d2 = CloneUtils.clone(d1);
+        assertNotSame(d1, d2);
+        assertEquals(d1, d2);
+        d1.addObservation(0, 1.0);
+        assertNotEquals(d1, d2);
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        StreamingHistogramDataset<String> d1
+                = new StreamingHistogramDataset<>();
+        d1.addSeries("S1", StreamingHistogram.createLinear(0.0, 4.0, 2));
+        d1.addObservation(0, 3.0);
+        StreamingHistogramDataset<String> d2 = TestUtils.serialised(d1);
+        assertEquals(d1, d2);
+    }
+
+}
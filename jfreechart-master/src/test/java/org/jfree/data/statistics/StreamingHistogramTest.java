@@ -0,0 +1,180 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------------
+ * StreamingHistogramTest.java
+ * ---------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.statistics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.internal.CloneUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link StreamingHistogram} class.
+ */
+public class StreamingHistogramTest {
+
+    /**
+     * Some checks for linear bins.
+     */
+    @Test
+    public void testLinear() {
+        StreamingHistogram h = StreamingHistogram.createLinear(0.0, 10.0, 5);
+        assertEquals(5, h.getBinCount());
+        assertEquals(2.0, h.getStartBoundary(1), 1e-10);
+        assertEquals(4.0, h.getEndBoundary(1), 1e-10);
+        h.add(-1.0);
+        h.add(0.0);
+        h.add(1.99);
+        h.add(2.0);
+        h.add(10.0);
+        h.add(99.0);
+        h.add(Double.NaN);
+        assertArrayEquals(new long[] {3, 1, 0, 0, 2}, h.getCounts());
+        assertEquals(6, h.getTotalCount());
+    }
+
+    /**
+     * Some checks for logarithmic bins.
+     */
+    @Test
+    public void testLogarithmic() {
+        StreamingHistogram h = StreamingHistogram.createLogarithmic(1.0,
+                1000.0, 10);
+        assertEquals(30, h.getBinCount());
+        assertEquals(1000.0, h.getUpperBound(), 1e-9);
+        assertEquals(10.0, h.getStartBoundary(10), 1e-9);
+        assertEquals(10, h.getBinIndex(10.0));
+        assertEquals(9, h.getBinIndex(9.99));
+        assertEquals(0, h.getBinIndex(-5.0));
+        assertEquals(29, h.getBinIndex(5000.0));
+    }
+
+    /**
+     * Merging requires identical bins.
+     */
+    @Test
+    public void testMerge() {
+        StreamingHistogram h1 = StreamingHistogram.createLinear(0.0, 4.0, 4);
+        StreamingHistogram h2 = StreamingHistogram.createLinear(0.0, 4.0, 4);
+        h1.add(new double[] {0.5, 1.5});
+        h2.add(1.5, 3L);
+        h1.merge(h2);
+        assertArrayEquals(new long[] {1, 4, 0, 0}, h1.getCounts());
+        assertEquals(5, h1.getTotalCount());
+        assertThrows(IllegalArgumentException.class, () -> h1.merge(
+                StreamingHistogram.createLinear(0.0, 4.0, 8)));
+    }
+
+    /**
+     * Values added concurrently from several threads are all counted.
+     *
+     * @throws InterruptedException if interrupted.
+     */
+    @Test
+    public void testConcurrentAdd() throws InterruptedException {
+        StreamingHistogram h = StreamingHistogram.createLinear(0.0, 100.0,
+                100);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 100000; i++) {
+                    h.add(i % 100);
+                }
+            }));
+        }
+        for (Thread t : threads) {
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        assertEquals(800000, h.getTotalCount());
+        for (int bin = 0; bin < 100; bin++) {
+            assertEquals(8000, h.getCount(bin));
+        }
+    }
+
+    /**
+     * Confirm that the equals method can distinguish all the required fields.
+     */
+    @Test
+    public void testEquals() {
+        StreamingHistogram h1 = StreamingHistogram.createLinear(0.0, 1.0, 2);
+        StreamingHistogram h2 = StreamingHistogram.createLinear(0.0, 1.0, 2);
+        assertEquals(h1, h2);
+        h1.add(0.1);
+        assertNotEquals(h1, h2);
+        h2.add(0.2);
+        assertEquals(h1, h2);
+        assertNotEquals(h1, StreamingHistogram.createLogarithmic(0.1, 1.0,
+                2));
+    }
+
+    /**
+     * Confirm that cloning works.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        StreamingHistogram h1 = StreamingHistogram.createLinear(0.0, 1.0, 2);
+        h1.add(0.7);
+        StreamingHistogram h2 = CloneUtils.clone(h1);
+        assertNotSame(h1, h2);
+        assertEquals(h1, h2);
+        h1.add(0.7);
+        assertNotEquals(h1, h2);
+        assertEquals(1, h2.getTotalCount());
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        StreamingHistogram h1 = StreamingHistogram.createLogarithmic(1.0,
+                100.0, 5);
+        h1.add(new double[] {1.0, 5.0, 50.0});
+        StreamingHistogram h2 = TestUtils.serialised(h1);
+        assertEquals(h1, h2);
+        assertEquals(3, h2.getTotalCount());
+    }
+
+}
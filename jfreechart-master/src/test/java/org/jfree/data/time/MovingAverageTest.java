@@ -37,7 +37,10 @@
 package org.jfree.data.time;
 
 import org.jfree.chart.date.MonthConstants;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
@@ -76,6 +79,41 @@ public class MovingAverageTest {
         assertEquals(12.5, value, EPSILON);
     }
 
+    /**
+     * A NaN value in the window gives a NaN average, while null values are
+     * skipped.
+     */
+    @Test
+    public void testNaN() {
+        TimeSeries<String> source = new TimeSeries<>("Series 1");
+        source.add(new Day(1, MonthConstants.AUGUST, 2003), 1.0);
+        source.add(new Day(2, MonthConstants.AUGUST, 2003), Double.NaN);
+        source.add(new Day(3, MonthConstants.AUGUST, 2003), 3.0);
+        source.add(new Day(4, MonthConstants.AUGUST, 2003), null);
+        source.add(new Day(5, MonthConstants.AUGUST, 2003), 5.0);
+        TimeSeries<String> maverage = MovingAverage.createMovingAverage(source,
+                "Moving Average", 2, 0);
+        assertEquals(1.0, maverage.getValue(0).doubleValue(), EPSILON);
+        assertTrue(Double.isNaN(maverage.getValue(1).doubleValue()));
+        assertTrue(Double.isNaN(maverage.getValue(2).doubleValue()));
+        assertEquals(3.0, maverage.getValue(3).doubleValue(), EPSILON);
+        assertEquals(5.0, maverage.getValue(4).doubleValue(), EPSILON);
+
+        XYSeries<String> s = new XYSeries<>("S");
+        s.add(1.0, 1.0);
+        s.add(2.0, Double.NaN);
+        s.add(3.0, 3.0);
+        s.add(4.0, null);
+        s.add(5.0, 5.0);
+        XYSeries<String> xy = MovingAverage.createMovingAverage(
+                new XYSeriesCollection<>(s), 0, "MA", 1.5, 0.0);
+        assertEquals(1.0, xy.getY(0).doubleValue(), EPSILON);
+        assertTrue(Double.isNaN(xy.getY(1).doubleValue()));
+        assertTrue(Double.isNaN(xy.getY(2).doubleValue()));
+        assertEquals(3.0, xy.getY(3).doubleValue(), EPSILON);
+        assertEquals(5.0, xy.getY(4).doubleValue(), EPSILON);
+    }
+
     /**
      * Creates a sample series.
      *
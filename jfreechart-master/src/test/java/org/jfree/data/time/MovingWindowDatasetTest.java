@@ -0,0 +1,162 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------------
+ * MovingWindowDatasetTest.java
+ * ----------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.time;
+
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link MovingWindowDataset} class.
+ */
+public class MovingWindowDatasetTest {
+
+    private static final double EPSILON = 0.0000000001;
+
+    /**
+     * The dataset follows appends to the source series.
+     */
+    @Test
+    public void testAppend() {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        XYSeriesCollection<String> source = new XYSeriesCollection<>(s1);
+        MovingWindowDataset<String> d = new MovingWindowDataset<>(source,
+                MovingWindow.createPointWindow(MovingWindowType.MEAN, 2));
+        assertEquals(1, d.getSeriesCount());
+        assertEquals(0, d.getItemCount(0));
+        s1.add(1.0, 2.0);
+        s1.add(2.0, 4.0);
+        s1.add(3.0, 8.0);
+        assertEquals(3, d.getItemCount(0));
+        assertEquals("S1", d.getSeriesKey(0));
+        assertEquals(2.0, d.getXValue(0, 1), EPSILON);
+        assertEquals(2.0, d.getYValue(0, 0), EPSILON);
+        assertEquals(3.0, d.getYValue(0, 1), EPSILON);
+        assertEquals(6.0, d.getYValue(0, 2), EPSILON);
+
+        // a null value is ignored by the statistic
+        s1.add(4.0, null);
+        assertEquals(8.0, d.getYValue(0, 3), EPSILON);
+        s1.add(5.0, null);
+        assertNull(d.getY(0, 4));
+    }
+
+    /**
+     * Changes other than appends cause a recalculation.
+     */
+    @Test
+    public void testUpdate() {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        s1.add(1.0, 1.0);
+        s1.add(2.0, 2.0);
+        s1.add(3.0, 3.0);
+        XYSeriesCollection<String> source = new XYSeriesCollection<>(s1);
+        MovingWindowDataset<String> d = new MovingWindowDataset<>(source,
+                MovingWindow.createPointWindow(MovingWindowType.MAXIMUM, 2));
+        assertEquals(3.0, d.getYValue(0, 2), EPSILON);
+        s1.updateByIndex(2, 0.5);
+        assertEquals(2.0, d.getYValue(0, 2), EPSILON);
+        s1.remove(0);
+        assertEquals(2, d.getItemCount(0));
+        assertEquals(2.0, d.getYValue(0, 1), EPSILON);
+
+        // insertion before the last item
+        s1.add(2.5, 10.0);
+        assertEquals(3, d.getItemCount(0));
+        assertEquals(10.0, d.getYValue(0, 1), EPSILON);
+        assertEquals(10.0, d.getYValue(0, 2), EPSILON);
+
+        // adding a series
+        XYSeries<String> s2 = new XYSeries<>("S2");
+        s2.add(1.0, 7.0);
+        source.addSeries(s2);
+        assertEquals(2, d.getSeriesCount());
+        assertEquals(7.0, d.getYValue(1, 0), EPSILON);
+    }
+
+    /**
+     * The dataset works with a time series collection.
+     */
+    @Test
+    public void testTimeSeries() {
+        TimeSeries<String> s1 = new TimeSeries<>("S1");
+        TimeSeriesCollection<String> source = new TimeSeriesCollection<>(s1);
+        MovingWindowDataset<String> d = new MovingWindowDataset<>(source,
+                MovingWindow.createPointWindow(MovingWindowType.MINIMUM, 3));
+        Day day = new Day(1, 1, 2022);
+        double[] values = {5.0, 3.0, 4.0, 6.0, 7.0};
+        for (double v : values) {
+            s1.add(day, v);
+            day = (Day) day.next();
+        }
+        assertEquals(3.0, d.getYValue(0, 2), EPSILON);
+        assertEquals(3.0, d.getYValue(0, 3), EPSILON);
+        assertEquals(4.0, d.getYValue(0, 4), EPSILON);
+    }
+
+    /**
+     * When the source series drops items from the head (because of its
+     * maximum item count) the existing values are shifted rather than
+     * recalculated, so they still reflect the full window.
+     */
+    @Test
+    public void testMaximumItemCount() {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        s1.setMaximumItemCount(10);
+        XYSeries<String> s2 = new XYSeries<>("S2");
+        MovingWindowDataset<String> d = new MovingWindowDataset<>(
+                new XYSeriesCollection<>(s1),
+                MovingWindow.createPointWindow(MovingWindowType.MEAN, 5));
+        MovingWindowDataset<String> reference = new MovingWindowDataset<>(
+                new XYSeriesCollection<>(s2),
+                MovingWindow.createPointWindow(MovingWindowType.MEAN, 5));
+        for (int i = 0; i < 30; i++) {
+            double y = (i * 7) % 11;
+            s1.add(i, y);
+            s2.add(i, y);
+            assertEquals(s1.getItemCount(), d.getItemCount(0));
+            int offset = s2.getItemCount() - s1.getItemCount();
+            for (int j = 0; j < s1.getItemCount(); j++) {
+                assertEquals(reference.getYValue(0, j + offset),
+                        d.getYValue(0, j), EPSILON);
+            }
+        }
+    }
+
+}
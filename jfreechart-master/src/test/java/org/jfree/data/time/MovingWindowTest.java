@@ -0,0 +1,227 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------
+ * MovingWindowTest.java
+ * ---------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.time;
+
+import java.util.Random;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.internal.CloneUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link MovingWindow} class.
+ */
+public class MovingWindowTest {
+
+    private static final double EPSILON = 0.0000001;
+
+    /**
+     * Calculates a statistic over y[from..to] by brute force.
+     */
+    private static double bruteForce(MovingWindowType type, double[] y,
+            int from, int to) {
+        int n = 0;
+        double sum = 0.0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = from; i <= to; i++) {
+            if (!Double.isNaN(y[i])) {
+                n++;
+                sum += y[i];
+                min = Math.min(min, y[i]);
+                max = Math.max(max, y[i]);
+            }
+        }
+        if (n == 0) {
+            return Double.NaN;
+        }
+        switch (type) {
+            case MEAN:
+                return sum / n;
+            case MINIMUM:
+                return min;
+            case MAXIMUM:
+                return max;
+            case STANDARD_DEVIATION:
+                if (n < 2) {
+                    return Double.NaN;
+                }
+                double mean = sum / n;
+                double ss = 0.0;
+                for (int i = from; i <= to; i++) {
+                    if (!Double.isNaN(y[i])) {
+                        ss += (y[i] - mean) * (y[i] - mean);
+                    }
+                }
+                return Math.sqrt(ss / (n - 1));
+            default:
+                throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Creates some random data with a few missing values.
+     */
+    private static double[] createData(int count) {
+        Random random = new Random(42L);
+        double[] y = new double[count];
+        for (int i = 0; i < count; i++) {
+            y[i] = (i % 17 == 5) ? Double.NaN : 1000.0 + random.nextGaussian();
+        }
+        return y;
+    }
+
+    /**
+     * Point-based windows agree with a brute force calculation.
+     */
+    @Test
+    public void testPointWindow() {
+        double[] y = createData(2000);
+        MovingWindowType[] types = {MovingWindowType.MEAN,
+            MovingWindowType.MINIMUM, MovingWindowType.MAXIMUM,
+            MovingWindowType.STANDARD_DEVIATION};
+        for (MovingWindowType type : types) {
+            MovingWindow w = MovingWindow.createPointWindow(type, 25);
+            for (int i = 0; i < y.length; i++) {
+                double v = w.add(i, y[i]);
+                double expected = bruteForce(type, y, Math.max(0, i - 24), i);
+                assertEquals(expected, v, EPSILON, type + " at " + i);
+            }
+            assertEquals(25, w.getSize());
+        }
+    }
+
+    /**
+     * Period-based windows agree with a brute force calculation, including
+     * when the number of points in the window varies.
+     */
+    @Test
+    public void testPeriodWindow() {
+        double[] y = createData(3000);
+        double[] x = new double[y.length];
+        for (int i = 1; i < x.length; i++) {
+            // gaps of 0 to 2 units, so duplicates occur
+            x[i] = x[i - 1] + (i * 7 % 3);
+        }
+        MovingWindowType[] types = {MovingWindowType.MEAN,
+            MovingWindowType.MINIMUM, MovingWindowType.MAXIMUM,
+            MovingWindowType.STANDARD_DEVIATION};
+        for (MovingWindowType type : types) {
+            MovingWindow w = MovingWindow.createPeriodWindow(type, 40.0);
+            int from = 0;
+            for (int i = 0; i < y.length; i++) {
+                double v = w.add(x[i], y[i]);
+                while (x[from] <= x[i] - 40.0) {
+                    from++;
+                }
+                double expected = bruteForce(type, y, from, i);
+                assertEquals(expected, v, EPSILON, type + " at " + i);
+            }
+        }
+    }
+
+    /**
+     * Some checks for the exponential mean.
+     */
+    @Test
+    public void testExponentialMean() {
+        MovingWindow w = MovingWindow.createPointWindow(
+                MovingWindowType.EXPONENTIAL_MEAN, 3);
+        assertTrue(Double.isNaN(w.getValue()));
+        assertEquals(4.0, w.add(0.0, 4.0), EPSILON);
+        assertEquals(6.0, w.add(1.0, 8.0), EPSILON);
+        assertEquals(6.0, w.add(2.0, Double.NaN), EPSILON);
+        assertEquals(5.0, w.add(3.0, 4.0), EPSILON);
+
+        w = MovingWindow.createPeriodWindow(MovingWindowType.EXPONENTIAL_MEAN,
+                1.0);
+        w.add(0.0, 0.0);
+        assertEquals(1.0 - Math.exp(-2.0), w.add(2.0, 1.0), EPSILON);
+    }
+
+    /**
+     * Confirm that the equals method can distinguish all the required fields.
+     */
+    @Test
+    public void testEquals() {
+        MovingWindow w1 = MovingWindow.createPointWindow(MovingWindowType.MEAN,
+                5);
+        MovingWindow w2 = MovingWindow.createPointWindow(MovingWindowType.MEAN,
+                5);
+        assertEquals(w1, w2);
+        assertNotEquals(w1, MovingWindow.createPointWindow(
+                MovingWindowType.MEAN, 6));
+        assertNotEquals(w1, MovingWindow.createPointWindow(
+                MovingWindowType.MAXIMUM, 5));
+        assertNotEquals(w1, MovingWindow.createPeriodWindow(
+                MovingWindowType.MEAN, 5.0));
+    }
+
+    /**
+     * Confirm that cloning works, and that the clone keeps its own state.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        MovingWindow w1 = MovingWindow.createPointWindow(
+                MovingWindowType.MAXIMUM, 2);
+        w1.add(0.0, 5.0);
+        MovingWindow w2 = CloneUtils.clone(w1);
+        assertEquals(w1, w2);
+        w1.add(1.0, 9.0);
+        assertEquals(9.0, w1.getValue(), EPSILON);
+        assertEquals(5.0, w2.getValue(), EPSILON);
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        MovingWindow w1 = MovingWindow.createPeriodWindow(
+                MovingWindowType.STANDARD_DEVIATION, 3.0);
+        w1.add(0.0, 1.0);
+        w1.add(1.0, 3.0);
+        MovingWindow w2 = TestUtils.serialised(w1);
+        assertEquals(w1, w2);
+        assertEquals(w1.getValue(), w2.getValue(), EPSILON);
+    }
+
+}
@@ -475,4 +475,35 @@ public class TimeSeriesCollectionTest {
         collection.setXPosition(TimePeriodAnchor.END);
         assertNull(collection.getRangeBounds(Collections.singletonList("S1"), range, true));
     }
+
+    /**
+     * A snapshot presents the data at the time it was taken, with the
+     * x-position and time zone of the collection.
+     */
+    @Test
+    public void testSnapshot() {
+        TimeSeries<String> s1 = new TimeSeries<>("S1");
+        s1.add(new Day(1, 3, 2022), 1.0);
+        s1.add(new Day(2, 3, 2022), null);
+        TimeSeriesCollection<String> c = new TimeSeriesCollection<>(s1,
+                TimeZone.getTimeZone("Europe/Paris"));
+        for (TimePeriodAnchor anchor : new TimePeriodAnchor[] {
+                TimePeriodAnchor.START, TimePeriodAnchor.MIDDLE,
+                TimePeriodAnchor.END}) {
+            c.setXPosition(anchor);
+            TimeSeriesCollectionSnapshot<String> snapshot = c.snapshot();
+            assertSame(c, snapshot.getSource());
+            assertEquals(c.getX(0, 1), snapshot.getX(0, 1));
+            assertEquals(c.getStartX(0, 1), snapshot.getStartX(0, 1));
+            assertEquals(c.getEndX(0, 1), snapshot.getEndX(0, 1));
+        }
+        TimeSeriesCollectionSnapshot<String> snapshot = c.snapshot();
+        s1.add(new Day(3, 3, 2022), 3.0);
+        s1.update(0, 5.0);
+        assertEquals(2, snapshot.getItemCount(0));
+        assertEquals(1.0, snapshot.getY(0, 0));
+        assertNull(snapshot.getY(0, 1));
+        assertEquals(5.0, c.snapshot().getYValue(0, 0));
+        assertEquals(3, c.snapshot().getItemCount(0));
+    }
 }
@@ -0,0 +1,182 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------------------
+ * StreamingDatasetReaderTest.java
+ * -------------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.xml;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+
+import org.jfree.data.category.DefaultCategoryDataset;
+import org.jfree.data.general.DefaultPieDataset;
+import org.jfree.data.time.Day;
+import org.jfree.data.time.TimeSeriesCollection;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link StreamingDatasetReader} class.
+ */
+public class StreamingDatasetReaderTest {
+
+    private static InputStream stream(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Read a pie dataset, including a value that cannot be parsed.
+     */
+    @Test
+    public void testReadPieDataset() throws IOException {
+        DefaultPieDataset<String> dataset = new StreamingDatasetReader()
+                .readPieDataset(stream("<?xml version=\"1.0\"?>\n"
+                + "<PieDataset>\n  <!-- comment -->\n"
+                + "  <Item><Key>A</Key><Value> 1.5 </Value></Item>\n"
+                + "  <Item><Key>B</Key><Value>NaN</Value></Item>\n"
+                + "</PieDataset>"));
+        assertEquals(2, dataset.getItemCount());
+        assertEquals(1.5, dataset.getValue("A"));
+        assertNull(dataset.getValue("B"));
+    }
+
+    /**
+     * Read a category dataset through the {@link DatasetReader} methods.
+     */
+    @Test
+    public void testReadCategoryDataset() throws IOException {
+        DefaultCategoryDataset<String, String> expected
+                = new DefaultCategoryDataset<>();
+        expected.addValue(1000.0, "S1", "C1");
+        expected.addValue(null, "S1", "C2");
+        expected.addValue(-2.25, "S2", "C1");
+        assertEquals(expected, DatasetReader.readCategoryDatasetFromXML(
+                stream("<CategoryDataset>"
+                + "<Series name=\"S1\">"
+                + "<Item><Key>C1</Key><Value>1e3</Value></Item>"
+                + "<Item><Key>C2</Key><Value></Value></Item>"
+                + "</Series><Series name=\"S2\">"
+                + "<Item><Key>C1</Key><Value>-2.25</Value></Item>"
+                + "</Series></CategoryDataset>")));
+    }
+
+    /**
+     * Read an XY dataset and check the progress notifications.
+     */
+    @Test
+    public void testReadXYDataset() throws IOException {
+        StringBuilder xml = new StringBuilder("<XYDataset><Series name=\"S\">");
+        for (int i = 0; i < 25; i++) {
+            xml.append("<Item><X>").append(i).append("</X><Y>")
+                    .append(i * 0.5).append("</Y></Item>");
+        }
+        xml.append("</Series></XYDataset>");
+        List<Long> counts = new ArrayList<>();
+        StreamingDatasetReader reader = new StreamingDatasetReader();
+        reader.setProgressInterval(10);
+        reader.setLoadListener((itemCount, bytesRead) -> counts.add(itemCount));
+        XYSeriesCollection<String> dataset = reader.readXYDataset(
+                stream(xml.toString()));
+        assertEquals(1, dataset.getSeriesCount());
+        assertEquals(25, dataset.getItemCount(0));
+        assertEquals(12.0, dataset.getYValue(0, 24));
+        assertEquals(List.of(10L, 20L, 25L), counts);
+    }
+
+    /**
+     * Read a time series collection.
+     */
+    @Test
+    public void testReadTimeSeriesCollection() throws IOException {
+        StreamingDatasetReader reader = new StreamingDatasetReader();
+        reader.setTimeZone(TimeZone.getTimeZone("UTC"));
+        TimeSeriesCollection<String> dataset = reader.readTimeSeriesCollection(
+                stream("<TimeSeriesDataset>"
+                + "<Series name=\"T\" timePeriod=\"Day\">"
+                + "<Item><Period>1640995200000</Period><Value>2</Value></Item>"
+                + "<Item><Period>1641081600000</Period><Value/></Item>"
+                + "</Series></TimeSeriesDataset>"));
+        assertEquals(2, dataset.getSeries(0).getItemCount());
+        assertEquals(new Day(1, 1, 2022), dataset.getSeries(0).getTimePeriod(0));
+        assertEquals(2.0, dataset.getSeries(0).getValue(0));
+        assertNull(dataset.getSeries(0).getValue(1));
+    }
+
+    /**
+     * Malformed input is reported as an IOException.
+     */
+    @Test
+    public void testReadMalformed() {
+        StreamingDatasetReader reader = new StreamingDatasetReader();
+        assertThrows(IOException.class, () -> reader.readXYDataset(
+                stream("<CategoryDataset></CategoryDataset>")));
+        assertThrows(IOException.class, () -> reader.readXYDataset(
+                stream("<XYDataset><Series name=\"S\"><Item><Y>1</Y></Item>"
+                + "</Series></XYDataset>")));
+        assertThrows(IOException.class, () -> reader.readTimeSeriesCollection(
+                stream("<TimeSeriesDataset><Series name=\"T\" "
+                + "timePeriod=\"Bogus\"></Series></TimeSeriesDataset>")));
+        assertThrows(IOException.class, () -> reader.readPieDataset(
+                stream("<PieDataset><Item>")));
+    }
+
+    /**
+     * Check the character-array number parser against
+     * {@link Double#parseDouble(String)}.
+     */
+    @Test
+    public void testParseDouble() {
+        String[] values = {"0", "-0", "1.25", "0.001", "123456789012345",
+                "1234567890123456789", "1e-300", "3.14159e2", " 7 ", "+5",
+                ".5", "5.", "1.7976931348623157E308", "0.1", "-2.5E-7"};
+        for (String s : values) {
+            char[] c = s.toCharArray();
+            assertEquals(Double.parseDouble(s),
+                    StreamingDatasetReader.parseDouble(c, 0, c.length), s);
+        }
+        for (String s : new String[] {"", "abc", "-", "1e"}) {
+            char[] c = s.toCharArray();
+            assertTrue(Double.isNaN(StreamingDatasetReader.parseDouble(c, 0,
+                    c.length)));
+        }
+    }
+
+}
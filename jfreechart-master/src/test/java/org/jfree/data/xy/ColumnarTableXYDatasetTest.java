@@ -0,0 +1,270 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------------------
+ * ColumnarTableXYDatasetTest.java
+ * --------------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.xy;
+
+import java.util.Random;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.api.PublicCloneable;
+import org.jfree.chart.internal.CloneUtils;
+import org.jfree.data.Range;
+import org.jfree.data.general.DatasetUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link ColumnarTableXYDataset} class.
+ */
+public class ColumnarTableXYDatasetTest {
+
+    private static final double EPSILON = 0.0000000001;
+
+    /**
+     * Adding series merges the x-values, with gaps where a series has no
+     * value.
+     */
+    @Test
+    public void testAddSeries() {
+        ColumnarTableXYDataset<String> d = new ColumnarTableXYDataset<>();
+        d.addSeries("S1", new double[] {1.0, 3.0, 5.0},
+                new double[] {10.0, 30.0, 50.0});
+        d.addSeries("S2", new double[] {4.0, 2.0, 3.0},
+                new double[] {40.0, 20.0, 33.0});
+        assertEquals(2, d.getSeriesCount());
+        assertEquals(5, d.getItemCount());
+        assertEquals(5, d.getItemCount(1));
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i + 1.0, d.getXValue(0, i), EPSILON);
+            assertEquals(i + 1.0, d.getXValue(1, i), EPSILON);
+        }
+        assertEquals(10.0, d.getYValue(0, 0), EPSILON);
+        assertNull(d.getY(0, 1));
+        assertEquals(30.0, d.getYValue(0, 2), EPSILON);
+        assertNull(d.getY(0, 3));
+        assertNull(d.getY(1, 0));
+        assertEquals(20.0, d.getYValue(1, 1), EPSILON);
+        assertEquals(33.0, d.getYValue(1, 2), EPSILON);
+        assertNull(d.getY(1, 4));
+        assertEquals(2, d.indexOfX(3.0));
+        assertTrue(d.indexOfX(3.5) < 0);
+
+        // replace the values for an existing series
+        d.addSeries("S1", new double[] {6.0}, new double[] {60.0});
+        assertEquals(2, d.getSeriesCount());
+        assertEquals(6, d.getItemCount());
+        assertNull(d.getY(0, 0));
+        assertEquals(60.0, d.getYValue(0, 5), EPSILON);
+    }
+
+    /**
+     * Rows can be appended in blocks, and a repeated x-value replaces the
+     * existing y-values.
+     */
+    @Test
+    public void testAppendRows() {
+        ColumnarTableXYDataset<String> d = new ColumnarTableXYDataset<>();
+        d.addSeries("S1", new double[0], new double[0]);
+        d.addSeries("S2", new double[0], new double[0]);
+        for (int block = 0; block < 10; block++) {
+            double[] x = new double[100];
+            double[][] y = new double[2][100];
+            for (int i = 0; i < 100; i++) {
+                x[i] = block * 100 + i;
+                y[0][i] = x[i];
+                y[1][i] = -x[i];
+            }
+            d.appendRows(x, y);
+        }
+        assertEquals(1000, d.getItemCount());
+        assertEquals(999.0, d.getXValue(0, 999), EPSILON);
+        assertEquals(-999.0, d.getYValue(1, 999), EPSILON);
+
+        d.appendRows(new double[] {500.0, 1000.5},
+                new double[][] {{1.0, 2.0}, {Double.NaN, 4.0}});
+        assertEquals(1001, d.getItemCount());
+        assertEquals(1.0, d.getYValue(0, 500), EPSILON);
+        assertNull(d.getY(1, 500));
+        assertEquals(4.0, d.getYValue(1, 1000), EPSILON);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> d.appendRows(new double[] {1.0}, new double[][] {{1.0}}));
+        assertThrows(IllegalArgumentException.class,
+                () -> d.appendRows(new double[] {Double.NaN},
+                        new double[][] {{1.0}, {2.0}}));
+    }
+
+    /**
+     * The values should match a {@link DefaultTableXYDataset} holding the
+     * same data.
+     */
+    @Test
+    public void testMatchesDefaultTableXYDataset() {
+        Random random = new Random(123);
+        ColumnarTableXYDataset<String> d1 = new ColumnarTableXYDataset<>();
+        DefaultTableXYDataset<String> d2 = new DefaultTableXYDataset<>();
+        for (int s = 0; s < 8; s++) {
+            int n = random.nextInt(40);
+            double[] x = new double[n];
+            double[] y = new double[n];
+            XYSeries<String> series = new XYSeries<>("S" + s, true, false);
+            for (int i = 0; i < n; i++) {
+                x[i] = random.nextInt(60);
+                y[i] = random.nextDouble();
+                series.addOrUpdate(x[i], y[i]);
+            }
+            d1.addSeries("S" + s, x, y);
+            d2.addSeries(series);
+        }
+        assertEquals(d2.getItemCount(), d1.getItemCount());
+        for (int s = 0; s < d2.getSeriesCount(); s++) {
+            for (int i = 0; i < d2.getItemCount(); i++) {
+                assertEquals(d2.getX(s, i).doubleValue(), d1.getXValue(s, i),
+                        EPSILON);
+                assertEquals(d2.getY(s, i), d1.getY(s, i));
+            }
+        }
+        assertEquals(DatasetUtils.findStackedRangeBounds(d2),
+                DatasetUtils.findStackedRangeBounds(d1));
+    }
+
+    /**
+     * Some checks for the interval settings.
+     */
+    @Test
+    public void testIntervals() {
+        ColumnarTableXYDataset<String> d = new ColumnarTableXYDataset<>();
+        assertNull(d.getDomainBounds(true));
+        d.addSeries("S1", new double[] {1.0, 3.0, 4.0},
+                new double[] {1.0, 2.0, 3.0});
+        assertEquals(0.5, d.getStartXValue(0, 0), EPSILON);
+        assertEquals(4.5, d.getEndXValue(0, 2), EPSILON);
+        d.setAutoWidth(true);
+        assertEquals(1.0, d.getIntervalWidth(), EPSILON);
+        d.appendRows(new double[] {4.25}, new double[][] {{1.0}});
+        assertEquals(0.25, d.getIntervalWidth(), EPSILON);
+        d.setIntervalPositionFactor(0.0);
+        assertEquals(new Range(1.0, 4.5), d.getDomainBounds(true));
+        assertEquals(new Range(1.0, 4.25), d.getDomainBounds(false));
+    }
+
+    /**
+     * Removing series.
+     */
+    @Test
+    public void testRemoveSeries() {
+        ColumnarTableXYDataset<String> d = new ColumnarTableXYDataset<>();
+        d.addSeries("S1", new double[] {1.0}, new double[] {1.0});
+        d.addSeries("S2", new double[] {2.0}, new double[] {2.0});
+        d.removeSeries("S1");
+        assertEquals(1, d.getSeriesCount());
+        assertEquals(2, d.getItemCount());
+        assertEquals(2.0, d.getYValue(0, 1), EPSILON);
+        d.removeSeries(0);
+        assertEquals(0, d.getItemCount());
+    }
+
+    /**
+     * Confirm that the equals method can distinguish all the required fields.
+     */
+    @Test
+    public void testEquals() {
+        ColumnarTableXYDataset<String> d1 = new ColumnarTableXYDataset<>();
+        ColumnarTableXYDataset<String> d2 = new ColumnarTableXYDataset<>();
+        assertEquals(d1, d2);
+        d1.addSeries("S1", new double[] {1.0, 2.0}, new double[] {3.0, 4.0});
+        assertNotEquals(d1, d2);
+        d2.addSeries("S1", new double[] {1.0, 2.0}, new double[] {3.0, 4.0});
+        assertEquals(d1, d2);
+        assertEquals(d1.hashCode(), d2.hashCode());
+        d1.updateYValue(0, 1, 5.0);
+        assertNotEquals(d1, d2);
+        d2.updateYValue(0, 1, 5.0);
+        assertEquals(d1, d2);
+        d1.setIntervalWidth(2.0);
+        assertNotEquals(d1, d2);
+        d2.setIntervalWidth(2.0);
+        assertEquals(d1, d2);
+        d1.setIntervalPositionFactor(0.25);
+        assertNotEquals(d1, d2);
+        d2.setIntervalPositionFactor(0.25);
+        assertEquals(d1, d2);
+        d1.setAutoWidth(true);
+        assertNotEquals(d1, d2);
+        d2.setAutoWidth(true);
+        assertEquals(d1, d2);
+    }
+
+    /**
+     * Confirm that cloning works.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        ColumnarTableXYDataset<String> d1 = new ColumnarTableXYDataset<>();
+        d1.addSeries("S1", new double[] {1.0, 2.0}, new double[] {3.0, 4.0});
+        ColumnarTableXYDataset<String> d2 = CloneUtils.clone(d1);
+        assertNotSame(d1, d2);
+        assertSame(d1.getClass(), d2.getClass());
+        assertEquals(d1, d2);
+
+        // check independence
+        d1.updateYValue(0, 0, 9.0);
+        assertNotEquals(d1, d2);
+    }
+
+    /**
+     * Verify that this class implements {@link PublicCloneable}.
+     */
+    @Test
+    public void testPublicCloneable() {
+        ColumnarTableXYDataset<String> d1 = new ColumnarTableXYDataset<>();
+        assertTrue(d1 instanceof PublicCloneable);
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        ColumnarTableXYDataset<String> d1 = new ColumnarTableXYDataset<>();
+        d1.addSeries("S1", new double[] {1.0, 2.0},
+                new double[] {3.0, Double.NaN});
+        ColumnarTableXYDataset<String> d2 = TestUtils.serialised(d1);
+        assertEquals(d1, d2);
+    }
+
+}
@@ -0,0 +1,121 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------------
+ * CombinedXYDatasetTest.java
+ * --------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.xy;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.internal.CloneUtils;
+import org.jfree.data.DomainOrder;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link CombinedXYDataset} class.
+ */
+public class CombinedXYDatasetTest {
+
+    private static final double EPSILON = 0.0000000001;
+
+    private static XYSeriesCollection<String> createSource(String... keys) {
+        XYSeriesCollection<String> result = new XYSeriesCollection<>();
+        for (String key : keys) {
+            XYSeries<String> s = new XYSeries<>(key);
+            s.add(1.0, key.length());
+            result.addSeries(s);
+        }
+        return result;
+    }
+
+    /**
+     * The series from the sources are presented in order, including when
+     * some sources are empty.
+     */
+    @Test
+    public void testSeries() {
+        CombinedXYDataset<String> d = new CombinedXYDataset<>();
+        assertEquals(0, d.getSeriesCount());
+        assertEquals(DomainOrder.NONE, d.getDomainOrder());
+        XYSeriesCollection<String> empty = createSource();
+        d.addDataset(createSource("A", "BB"));
+        d.addDataset(empty);
+        d.addDataset(createSource("CCC"));
+        assertEquals(3, d.getSeriesCount());
+        assertEquals("A", d.getSeriesKey(0));
+        assertEquals("BB", d.getSeriesKey(1));
+        assertEquals("CCC", d.getSeriesKey(2));
+        assertEquals(3.0, d.getYValue(2, 0), EPSILON);
+        assertEquals(1, d.getItemCount(2));
+        assertEquals(DomainOrder.ASCENDING, d.getDomainOrder());
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> d.getSeriesKey(3));
+
+        // a change to a source is reflected in the combined dataset
+        empty.addSeries(new XYSeries<>("DDDD"));
+        assertEquals(4, d.getSeriesCount());
+        assertEquals("DDDD", d.getSeriesKey(2));
+        assertEquals("CCC", d.getSeriesKey(3));
+
+        d.removeDataset(empty);
+        assertEquals(3, d.getSeriesCount());
+        assertEquals("CCC", d.getSeriesKey(2));
+    }
+
+    /**
+     * Confirm that the equals method, cloning and serialization work.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Test
+    public void testEqualsCloningAndSerialization()
+            throws CloneNotSupportedException {
+        XYSeriesCollection<String> source = createSource("A");
+        CombinedXYDataset<String> d1 = new CombinedXYDataset<>();
+        CombinedXYDataset<String> d2 = new CombinedXYDataset<>();
+        assertEquals(d1, d2);
+        d1.addDataset(source);
+        assertNotEquals(d1, d2);
+        d2.addDataset(source);
+        assertEquals(d1, d2);
+        CombinedXYDataset<String> d3 = CloneUtils.clone(d1);
+        assertNotSame(d1, d3);
+        assertEquals(d1, d3);
+        CombinedXYDataset<String> d4 = TestUtils.serialised(d1);
+        assertEquals(d1, d4);
+        assertEquals(1, d4.getSeriesCount());
+    }
+
+}
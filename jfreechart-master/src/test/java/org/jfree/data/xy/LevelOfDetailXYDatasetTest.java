@@ -0,0 +1,290 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------------------
+ * LevelOfDetailXYDatasetTest.java
+ * -------------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.xy;
+
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.internal.CloneUtils;
+import org.jfree.chart.plot.PlotRenderingInfo;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.XYItemRendererState;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+import org.jfree.data.Range;
+import org.jfree.data.general.DatasetSnapshot;
+import org.jfree.data.general.DatasetUtils;
+import org.jfree.data.general.DatasetView;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link LevelOfDetailXYDataset} class.
+ */
+public class LevelOfDetailXYDatasetTest {
+
+    private static final double EPSILON = 0.0000000001;
+
+    private static XYSeriesCollection<String> createSource(int count) {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        Random random = new Random(99L);
+        for (int i = 0; i < count; i++) {
+            s1.add(i, random.nextDouble() * 100.0 - 50.0);
+        }
+        XYSeriesCollection<String> source = new XYSeriesCollection<>();
+        source.addSeries(s1);
+        return source;
+    }
+
+    /**
+     * Checks every item at every level against the source data.
+     */
+    private static void checkLevels(LevelOfDetailXYDataset<String> d,
+            XYDataset<String> source) {
+        int n = source.getItemCount(0);
+        assertEquals(n, d.getItemCount(0));
+        int size = 1;
+        IntervalXYDataset<String> v = null;
+        for (int level = 0; level < d.getLevelCount(0); level++) {
+            v = d.getLevelView(level);
+            assertEquals((n + size - 1) / size, v.getItemCount(0));
+            for (int item = 0; item < v.getItemCount(0); item++) {
+                int first = item * size;
+                int last = Math.min(first + size, n) - 1;
+                double min = Double.POSITIVE_INFINITY;
+                double max = Double.NEGATIVE_INFINITY;
+                double sum = 0.0;
+                for (int i = first; i <= last; i++) {
+                    double y = source.getYValue(0, i);
+                    min = Math.min(min, y);
+                    max = Math.max(max, y);
+                    sum += y;
+                }
+                assertEquals(source.getXValue(0, first),
+                        v.getStartXValue(0, item), EPSILON);
+                assertEquals(source.getXValue(0, last),
+                        v.getEndXValue(0, item), EPSILON);
+                assertEquals(min, v.getStartYValue(0, item), EPSILON);
+                assertEquals(max, v.getEndYValue(0, item), EPSILON);
+                assertEquals(sum / (last - first + 1),
+                        v.getYValue(0, item), EPSILON);
+            }
+            size *= d.getFactor();
+        }
+        assertEquals(1, v.getItemCount(0));
+    }
+
+    @Test
+    public void testLevels() {
+        XYSeriesCollection<String> source = createSource(1000);
+        LevelOfDetailXYDataset<String> d
+                = new LevelOfDetailXYDataset<>(source);
+        // 1000 -> 250 -> 63 -> 16 -> 4 -> 1
+        assertEquals(6, d.getLevelCount(0));
+        assertEquals(1000, d.getItemCount(0));
+        checkLevels(d, source);
+    }
+
+    @Test
+    public void testSelectLevels() {
+        XYSeriesCollection<String> source = createSource(1000);
+        LevelOfDetailXYDataset<String> d
+                = new LevelOfDetailXYDataset<>(source);
+        assertEquals(2, d.selectLevel(0, new Range(0.0, 999.0), 100.0));
+        assertEquals(63, d.getLevelView(new Range(0.0, 999.0), 100.0)
+                .getItemCount(0));
+        // zooming in to 200 items gives 50 items at level 1
+        assertEquals(1, d.selectLevel(0, new Range(100.0, 299.0), 100.0));
+        assertEquals(0, d.selectLevel(0, new Range(100.0, 199.0), 100.0));
+        d.setItemsPerPixel(0.25);
+        assertEquals(1, d.selectLevel(0, new Range(100.0, 199.0), 100.0));
+        // selecting levels leaves the dataset presenting the source data
+        assertEquals(1000, d.getItemCount(0));
+    }
+
+    /**
+     * Views of the same dataset keep their own levels.
+     */
+    @Test
+    public void testLevelViews() {
+        LevelOfDetailXYDataset<String> d
+                = new LevelOfDetailXYDataset<>(createSource(1000));
+        IntervalXYDataset<String> v1 = d.getLevelView(
+                new Range(0.0, 999.0), 100.0);
+        IntervalXYDataset<String> v2 = d.getLevelView(
+                new Range(100.0, 199.0), 100.0);
+        assertEquals(63, v1.getItemCount(0));
+        assertEquals(1000, v2.getItemCount(0));
+        assertSame(d, ((DatasetView) v1).getSource());
+        assertFalse(v1 instanceof DatasetSnapshot);
+        assertThrows(IllegalArgumentException.class,
+                () -> d.getLevelView(6));
+        assertThrows(IllegalArgumentException.class,
+                () -> d.getLevelView(1, 1));
+    }
+
+    /**
+     * The plot draws a view at a suitable level, without changing the
+     * dataset.
+     */
+    @Test
+    public void testDrawSelectsLevel() {
+        LevelOfDetailXYDataset<String> d
+                = new LevelOfDetailXYDataset<>(createSource(10000));
+        JFreeChart chart = ChartFactory.createXYLineChart("Title", "X", "Y",
+                d);
+        XYPlot<String> plot = (XYPlot<String>) chart.getPlot();
+        int[] counts = new int[1];
+        plot.setRenderer(new XYLineAndShapeRenderer(true, false) {
+            @Override
+            public XYItemRendererState initialise(Graphics2D g2,
+                    Rectangle2D dataArea, XYPlot plot, XYDataset dataset,
+                    PlotRenderingInfo info) {
+                counts[0] = dataset.getItemCount(0);
+                assertEquals(0, plot.indexOf(dataset));
+                return super.initialise(g2, dataArea, plot, dataset, info);
+            }
+        });
+        chart.createBufferedImage(300, 200);
+        assertTrue(counts[0] > 0);
+        assertTrue(counts[0] <= 300);
+        assertEquals(10000, d.getItemCount(0));
+
+        // the levels are selected for the device resolution
+        BufferedImage image = new BufferedImage(75, 50,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        g2.scale(0.25, 0.25);
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 300, 200));
+        g2.dispose();
+        assertTrue(counts[0] > 0);
+        assertTrue(counts[0] <= 75);
+    }
+
+    /**
+     * Appending to the source updates the levels incrementally, with the
+     * same result as building them from scratch.
+     */
+    @Test
+    public void testAppend() {
+        XYSeriesCollection<String> source = createSource(37);
+        LevelOfDetailXYDataset<String> d
+                = new LevelOfDetailXYDataset<>(source, 3);
+        XYSeries<String> s1 = source.getSeries(0);
+        for (int i = 37; i < 300; i++) {
+            s1.add(i, Math.sin(i));
+            if (i % 29 == 0) {
+                checkLevels(d, source);
+            }
+        }
+        checkLevels(d, source);
+
+        // a change that is not an append rebuilds the levels
+        s1.remove(299);
+        checkLevels(d, source);
+        s1.updateByIndex(0, 1000.0);
+        d.recalculate();
+        checkLevels(d, source);
+        s1.clear();
+        assertEquals(1, d.getLevelCount(0));
+        assertEquals(0, d.getItemCount(0));
+    }
+
+    @Test
+    public void testBounds() {
+        XYSeriesCollection<String> source = createSource(500);
+        LevelOfDetailXYDataset<String> d
+                = new LevelOfDetailXYDataset<>(source);
+        assertTrue(d.selectLevel(0, new Range(0.0, 499.0), 10.0) > 0);
+        assertEquals(new Range(0.0, 499.0), d.getDomainBounds(false));
+        assertEquals(source.getRangeBounds(true), d.getRangeBounds(false));
+        Random random = new Random(7L);
+        for (int i = 0; i < 100; i++) {
+            double lower = random.nextDouble() * 520.0 - 10.0;
+            Range xRange = new Range(lower, lower + random.nextDouble() * 80);
+            Range expected = DatasetUtils.iterateToFindRangeBounds(source,
+                    Arrays.asList("S1"), xRange, false);
+            assertEquals(expected, d.getRangeBounds(Arrays.asList("S1"),
+                    xRange, true));
+        }
+    }
+
+    @Test
+    public void testEquals() {
+        XYSeriesCollection<String> source = createSource(10);
+        LevelOfDetailXYDataset<String> d1
+                = new LevelOfDetailXYDataset<>(source);
+        LevelOfDetailXYDataset<String> d2
+                = new LevelOfDetailXYDataset<>(source);
+        assertEquals(d1, d2);
+        assertEquals(d1.hashCode(), d2.hashCode());
+        d1.setItemsPerPixel(2.0);
+        assertNotEquals(d1, d2);
+        d2.setItemsPerPixel(2.0);
+        assertEquals(d1, d2);
+        assertNotEquals(d1, new LevelOfDetailXYDataset<>(source, 2));
+    }
+
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        XYSeriesCollection<String> source = createSource(100);
+        LevelOfDetailXYDataset<String> d1
+                = new LevelOfDetailXYDataset<>(source);
+        LevelOfDetailXYDataset<String> d2 = CloneUtils.clone(d1);
+        assertNotSame(d1, d2);
+        assertEquals(d1, d2);
+        // the clone is updated when the source changes
+        source.getSeries(0).add(100.0, 1.0);
+        checkLevels(d2, source);
+    }
+
+    @Test
+    public void testSerialization() {
+        LevelOfDetailXYDataset<String> d1
+                = new LevelOfDetailXYDataset<>(createSource(100));
+        LevelOfDetailXYDataset<String> d2 = TestUtils.serialised(d1);
+        assertEquals(d1, d2);
+        checkLevels(d2, d2.getSource());
+    }
+
+}
@@ -0,0 +1,143 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -----------------------------
+ * StackedXYDatasetViewTest.java
+ * -----------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.xy;
+
+import org.jfree.chart.internal.CloneUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link StackedXYDatasetView} class.
+ */
+public class StackedXYDatasetViewTest {
+
+    private static final double EPSILON = 0.0000000001;
+
+    private static DefaultTableXYDataset<String> createSource() {
+        XYSeries<String> s1 = new XYSeries<>("S1", true, false);
+        s1.add(1.0, 1.0);
+        s1.add(2.0, 2.0);
+        s1.add(3.0, 0.0);
+        XYSeries<String> s2 = new XYSeries<>("S2", true, false);
+        s2.add(1.0, 3.0);
+        s2.add(2.0, null);
+        s2.add(3.0, 0.0);
+        DefaultTableXYDataset<String> source = new DefaultTableXYDataset<>();
+        source.addSeries(s1);
+        source.addSeries(s2);
+        return source;
+    }
+
+    /**
+     * Check the stacked values.
+     */
+    @Test
+    public void testStacked() {
+        DefaultTableXYDataset<String> source = createSource();
+        StackedXYDatasetView<String> v = new StackedXYDatasetView<>(source);
+        assertEquals(2, v.getSeriesCount());
+        assertEquals(3, v.getItemCount());
+        assertEquals(3, v.getItemCount(1));
+        assertEquals(1.0, v.getYValue(0, 0), EPSILON);
+        assertEquals(4.0, v.getYValue(1, 0), EPSILON);
+        assertEquals(2.0, v.getYValue(1, 1), EPSILON);
+        assertEquals(2.0, v.getXValue(1, 1), EPSILON);
+
+        source.getSeries(1).updateByIndex(1, 5.0);
+        assertEquals(7.0, v.getYValue(1, 1), EPSILON);
+    }
+
+    /**
+     * Check the normalised values.
+     */
+    @Test
+    public void testNormalised() {
+        DefaultTableXYDataset<String> source = createSource();
+        StackedXYDatasetView<String> v = new StackedXYDatasetView<>(source,
+                true);
+        assertEquals(0.25, v.getYValue(0, 0), EPSILON);
+        assertEquals(1.0, v.getYValue(1, 0), EPSILON);
+        assertEquals(1.0, v.getYValue(0, 1), EPSILON);
+        assertNull(v.getY(1, 2));
+
+        source.getSeries(1).updateByIndex(1, 2.0);
+        assertEquals(0.5, v.getYValue(0, 1), EPSILON);
+        v.setNormalised(false);
+        assertEquals(4.0, v.getYValue(1, 1), EPSILON);
+    }
+
+    /**
+     * The stacked values follow items and series added to the source.
+     */
+    @Test
+    public void testSourceGrows() {
+        DefaultTableXYDataset<String> source = createSource();
+        StackedXYDatasetView<String> v = new StackedXYDatasetView<>(source);
+        assertEquals(4.0, v.getYValue(1, 0), EPSILON);
+        source.getSeries(0).add(4.0, 6.0);
+        assertEquals(4, v.getItemCount());
+        assertEquals(6.0, v.getYValue(1, 3), EPSILON);
+        XYSeries<String> s3 = new XYSeries<>("S3", true, false);
+        s3.add(1.0, 2.0);
+        source.addSeries(s3);
+        assertEquals(6.0, v.getYValue(2, 0), EPSILON);
+        assertEquals(6.0, v.getYValue(2, 3), EPSILON);
+    }
+
+    /**
+     * Confirm that the equals method can distinguish all the required
+     * fields, and that cloning works.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Test
+    public void testEqualsAndCloning() throws CloneNotSupportedException {
+        DefaultTableXYDataset<String> source = createSource();
+        StackedXYDatasetView<String> v1 = new StackedXYDatasetView<>(source);
+        StackedXYDatasetView<String> v2 = new StackedXYDatasetView<>(source);
+        assertEquals(v1, v2);
+        v1.setNormalised(true);
+        assertNotEquals(v1, v2);
+        v2.setNormalised(true);
+        assertEquals(v1, v2);
+        StackedXYDatasetView<String> v3 = CloneUtils.clone(v1);
+        assertNotSame(v1, v3);
+        assertEquals(v1, v3);
+    }
+
+}
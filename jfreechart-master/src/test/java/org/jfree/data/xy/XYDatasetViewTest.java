@@ -0,0 +1,198 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------
+ * XYDatasetViewTest.java
+ * ----------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.xy;
+
+import java.util.Arrays;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.internal.CloneUtils;
+import org.jfree.data.Range;
+import org.jfree.data.function.LineFunction2D;
+import org.jfree.data.general.DatasetChangeListener;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link XYDatasetView} class.
+ */
+public class XYDatasetViewTest {
+
+    private static final double EPSILON = 0.0000000001;
+
+    private static XYSeriesCollection<String> createSource(boolean sorted) {
+        XYSeries<String> s1 = new XYSeries<>("S1", sorted, true);
+        XYSeries<String> s2 = new XYSeries<>("S2", sorted, true);
+        for (int i = 0; i < 10; i++) {
+            s1.add(i, i * 10.0);
+            s2.add(9 - i, -i);
+        }
+        XYSeriesCollection<String> source = new XYSeriesCollection<>();
+        source.addSeries(s1);
+        source.addSeries(s2);
+        return source;
+    }
+
+    /**
+     * The view presents the source data unchanged by default.
+     */
+    @Test
+    public void testDefault() {
+        XYSeriesCollection<String> source = createSource(true);
+        XYDatasetView<String> v = new XYDatasetView<>(source);
+        assertEquals(2, v.getSeriesCount());
+        assertEquals("S2", v.getSeriesKey(1));
+        assertEquals(10, v.getItemCount(0));
+        assertEquals(30.0, v.getYValue(0, 3), EPSILON);
+        assertEquals(source.getX(1, 4), v.getX(1, 4));
+    }
+
+    /**
+     * Series selection and y-transformation.
+     */
+    @Test
+    public void testSeriesAndFunction() {
+        XYSeriesCollection<String> source = createSource(true);
+        XYDatasetView<String> v = new XYDatasetView<>(source);
+        v.setSeriesKeys(Arrays.asList("S2", "XX", "S1"));
+        assertEquals(2, v.getSeriesCount());
+        assertEquals("S2", v.getSeriesKey(0));
+        assertEquals("S1", v.getSeriesKey(1));
+        v.setYFunction(new LineFunction2D(1.0, 2.0));
+        assertEquals(61.0, v.getYValue(1, 3), EPSILON);
+        assertEquals(61.0, v.getY(1, 3).doubleValue(), EPSILON);
+        v.setSeriesKeys(null);
+        assertEquals("S1", v.getSeriesKey(0));
+    }
+
+    /**
+     * Slicing by x-range, for sorted and unsorted sources.
+     */
+    @Test
+    public void testXRange() {
+        for (boolean sorted : new boolean[] {true, false}) {
+            XYDatasetView<String> v = new XYDatasetView<>(
+                    createSource(sorted));
+            v.setXRange(new Range(2.5, 5.0));
+            assertEquals(3, v.getItemCount(0));
+            assertEquals(3.0, v.getXValue(0, 0), EPSILON);
+            assertEquals(50.0, v.getYValue(0, 2), EPSILON);
+            assertEquals(3, v.getItemCount(1));
+            for (int i = 0; i < 3; i++) {
+                double x = v.getXValue(1, i);
+                assertTrue(x >= 2.5 && x <= 5.0);
+            }
+            v.setXRange(new Range(20.0, 30.0));
+            assertEquals(0, v.getItemCount(0));
+            assertThrows(IndexOutOfBoundsException.class,
+                    () -> v.getXValue(0, 0));
+        }
+    }
+
+    /**
+     * Changes to the source are forwarded and the view is updated.
+     */
+    @Test
+    public void testSourceChange() {
+        XYSeriesCollection<String> source = createSource(true);
+        XYDatasetView<String> v = new XYDatasetView<>(source);
+        v.setXRange(new Range(0.0, 5.0));
+        int[] events = new int[1];
+        DatasetChangeListener listener = e -> events[0]++;
+        v.addChangeListener(listener);
+        assertEquals(6, v.getItemCount(0));
+        source.getSeries(0).add(4.5, 99.0);
+        assertEquals(1, events[0]);
+        assertEquals(7, v.getItemCount(0));
+        assertEquals(99.0, v.getYValue(0, 5), EPSILON);
+    }
+
+    /**
+     * Confirm that the equals method can distinguish all the required
+     * fields.
+     */
+    @Test
+    public void testEquals() {
+        XYSeriesCollection<String> source = createSource(true);
+        XYDatasetView<String> v1 = new XYDatasetView<>(source);
+        XYDatasetView<String> v2 = new XYDatasetView<>(source);
+        assertEquals(v1, v2);
+        v1.setXRange(new Range(1.0, 2.0));
+        assertNotEquals(v1, v2);
+        v2.setXRange(new Range(1.0, 2.0));
+        assertEquals(v1, v2);
+        v1.setSeriesKeys(Arrays.asList("S1"));
+        assertNotEquals(v1, v2);
+        v2.setSeriesKeys(Arrays.asList("S1"));
+        assertEquals(v1, v2);
+        v1.setYFunction(new LineFunction2D(1.0, 2.0));
+        assertNotEquals(v1, v2);
+        v2.setYFunction(new LineFunction2D(1.0, 2.0));
+        assertEquals(v1, v2);
+    }
+
+    /**
+     * Confirm that cloning works.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        XYSeriesCollection<String> source = createSource(true);
+        XYDatasetView<String> v1 = new XYDatasetView<>(source);
+        v1.setXRange(new Range(1.0, 2.0));
+        XYDatasetView<String> v2 = CloneUtils.clone(v1);
+        assertNotSame(v1, v2);
+        assertEquals(v1, v2);
+        assertEquals(2, v2.getItemCount(0));
+        source.getSeries(0).add(1.5, 1.0);
+        assertEquals(3, v2.getItemCount(0));
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        XYDatasetView<String> v1 = new XYDatasetView<>(createSource(true));
+        v1.setXRange(new Range(1.0, 2.0));
+        XYDatasetView<String> v2 = TestUtils.serialised(v1);
+        assertEquals(v1, v2);
+        assertEquals(2, v2.getItemCount(0));
+    }
+
+}
@@ -40,6 +40,7 @@ import org.jfree.chart.TestUtils;
 import org.jfree.chart.api.PublicCloneable;
 import org.jfree.chart.internal.CloneUtils;
 import org.jfree.data.DatasetChangeConfirmation;
+import org.jfree.data.DomainOrder;
 import org.jfree.data.Range;
 import org.jfree.data.UnknownKeyException;
 import org.junit.jupiter.api.Test;
@@ -481,4 +482,40 @@ public class XYSeriesCollectionTest {
         assertEquals(6.0, r.getUpperBound(), EPSILON);
     }
 
+    /**
+     * A snapshot presents the data at the time it was taken.
+     */
+    @Test
+    public void testSnapshot() {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        s1.add(1.0, 2.0);
+        s1.add(2.0, null);
+        XYSeries<String> s2 = new XYSeries<>("S2", false);
+        s2.add(5.0, 6.0);
+        XYSeriesCollection<String> c = new XYSeriesCollection<>(s1);
+        c.addSeries(s2);
+        c.setIntervalWidth(2.0);
+        c.setIntervalPositionFactor(0.25);
+        XYSeriesCollectionSnapshot<String> snapshot = c.snapshot();
+        assertSame(c, snapshot.getSource());
+        s1.add(3.0, 4.0);
+        s2.updateByIndex(0, 7.0);
+        c.setIntervalWidth(4.0);
+
+        assertEquals(2, snapshot.getSeriesCount());
+        assertEquals("S2", snapshot.getSeriesKey(1));
+        assertEquals(DomainOrder.NONE, snapshot.getDomainOrder());
+        assertEquals(2, snapshot.getItemCount(0));
+        assertEquals(2.0, snapshot.getX(0, 1).doubleValue(), EPSILON);
+        assertEquals(2.0, snapshot.getY(0, 0).doubleValue(), EPSILON);
+        assertNull(snapshot.getY(0, 1));
+        assertEquals(0.5, snapshot.getStartXValue(0, 0), EPSILON);
+        assertEquals(2.5, snapshot.getEndXValue(0, 0), EPSILON);
+        assertEquals(6.0, snapshot.getYValue(1, 0), EPSILON);
+
+        XYSeriesCollectionSnapshot<String> next = c.snapshot();
+        assertEquals(3, next.getItemCount(0));
+        assertEquals(7.0, next.getYValue(1, 0), EPSILON);
+    }
+
 }